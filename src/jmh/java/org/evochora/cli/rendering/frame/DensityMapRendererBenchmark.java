@@ -0,0 +1,141 @@
+package org.evochora.cli.rendering.frame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import picocli.CommandLine;
+
+/**
+ * JMH benchmark for {@link DensityMapRenderer}.
+ * <p>
+ * Compares a full sequential box blur of the density grid with the striped parallel blur,
+ * and measures complete delta frames where only a few organisms move per tick (the
+ * incremental path) against frames where every organism moves (the full-blur fallback).
+ * The world is 16:9 and rendered at scale 0.3, so a world width of 12800 gives a 4K frame.
+ * <p>
+ * Run with: {@code ./gradlew jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class DensityMapRendererBenchmark {
+
+    /** Organisms that move per tick in the incremental benchmark. */
+    private static final int MOVES_PER_TICK = 16;
+
+    @Param({"3200", "12800"})
+    private int worldWidth;
+
+    @Param({"1000", "10000"})
+    private int organismCount;
+
+    @Param({"5", "20"})
+    private int blurRadius;
+
+    private DensityMapRenderer renderer;
+    private int[] grid;
+    private int[] blurred;
+    private int[] temp;
+    private int outputWidth;
+    private int outputHeight;
+
+    private int[][] positions;
+    private Random random;
+    private long tick;
+
+    @Setup
+    public void setup() {
+        int worldHeight = worldWidth * 9 / 16;
+        renderer = new DensityMapRenderer();
+        new CommandLine(renderer).parseArgs("--scale", "0.3", "--blur-radius", String.valueOf(blurRadius));
+        renderer.init(new EnvironmentProperties(new int[]{worldWidth, worldHeight}, false));
+        outputWidth = renderer.getImageWidth();
+        outputHeight = renderer.getImageHeight();
+
+        random = new Random(42);
+        positions = new int[organismCount][2];
+        for (int[] position : positions) {
+            position[0] = random.nextInt(worldWidth);
+            position[1] = random.nextInt(worldHeight);
+        }
+
+        TickData.Builder snapshot = TickData.newBuilder()
+            .setTickNumber(0)
+            .setCellColumns(CellDataColumns.getDefaultInstance());
+        for (int id = 0; id < organismCount; id++) {
+            snapshot.addOrganisms(organism(id));
+        }
+        renderer.renderSnapshot(snapshot.build());
+
+        grid = renderer.getDensityGrid().clone();
+        blurred = new int[grid.length];
+        temp = new int[grid.length];
+    }
+
+    @Benchmark
+    public int[] blurSequential() {
+        DensityMapRenderer.boxBlur(grid, blurred, temp, outputWidth, outputHeight, blurRadius, false);
+        return blurred;
+    }
+
+    @Benchmark
+    public int[] blurParallel() {
+        DensityMapRenderer.boxBlur(grid, blurred, temp, outputWidth, outputHeight, blurRadius, true);
+        return blurred;
+    }
+
+    @Benchmark
+    public int[] renderDeltaIncremental() {
+        return renderer.renderDelta(nextDelta(MOVES_PER_TICK));
+    }
+
+    @Benchmark
+    public int[] renderDeltaAllMoved() {
+        return renderer.renderDelta(nextDelta(organismCount));
+    }
+
+    private TickDelta nextDelta(int moves) {
+        int worldHeight = worldWidth * 9 / 16;
+        for (int m = 0; m < moves; m++) {
+            int[] position = positions[random.nextInt(organismCount)];
+            position[0] = random.nextInt(worldWidth);
+            position[1] = random.nextInt(worldHeight);
+        }
+        TickDelta.Builder delta = TickDelta.newBuilder()
+            .setTickNumber(++tick)
+            .setChangedCells(CellDataColumns.getDefaultInstance());
+        for (int id = 0; id < organismCount; id++) {
+            delta.addOrganisms(organism(id));
+        }
+        return delta.build();
+    }
+
+    private OrganismState organism(int id) {
+        return OrganismState.newBuilder()
+            .setOrganismId(id)
+            .setIp(Vector.newBuilder().addComponents(positions[id][0]).addComponents(positions[id][1]))
+            .setDv(Vector.newBuilder().addComponents(1).addComponents(0))
+            .build();
+    }
+}
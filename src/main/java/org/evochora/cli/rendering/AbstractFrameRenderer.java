@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 
+import org.evochora.datapipeline.api.contracts.OrganismState;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDelta;
 import org.evochora.runtime.model.EnvironmentProperties;
@@ -239,6 +240,25 @@ public abstract class AbstractFrameRenderer implements IVideoFrameRenderer, Call
      */
     @Override
     public IVideoFrameRenderer createThreadInstance() {
+        return copyInstance(true);
+    }
+
+    /**
+     * Creates a new instance for rendering a separate video segment.
+     * <p>
+     * Same as {@link #createThreadInstance()}, but overlays are not initialized from this
+     * instance's overlays, so stateful overlays start with an empty history. Subclasses that
+     * share state in {@code createThreadInstance()} get fresh state from {@code init()}.
+     *
+     * @return A new, initialized renderer instance with the same configuration and fresh history.
+     * @throws IllegalStateException if init() has not been called or instance creation fails.
+     */
+    @Override
+    public IVideoFrameRenderer createSegmentInstance() {
+        return copyInstance(false);
+    }
+
+    private AbstractFrameRenderer copyInstance(boolean shareOverlayState) {
         if (envProps == null) {
             throw new IllegalStateException("Cannot create thread instance before init() is called");
         }
@@ -267,7 +287,9 @@ public abstract class AbstractFrameRenderer implements IVideoFrameRenderer, Call
             for (IOverlayRenderer overlay : this.overlays) {
                 // Create new instance of the same overlay class
                 IOverlayRenderer overlayInstance = overlay.getClass().getDeclaredConstructor().newInstance();
-                overlayInstance.initFromOriginal(overlay);
+                if (shareOverlayState) {
+                    overlayInstance.initFromOriginal(overlay);
+                }
                 threadOverlays.add(overlayInstance);
             }
             copy.setOverlays(threadOverlays);
@@ -278,6 +300,39 @@ public abstract class AbstractFrameRenderer implements IVideoFrameRenderer, Call
         }
     }
 
+    /**
+     * Replays a tick without drawing.
+     * <p>
+     * Template method: calls {@link #doReplayTick(List, boolean)}, then lets all overlays
+     * record the tick if it is drawn as a frame.
+     *
+     * @param tickNumber The tick number.
+     * @param organisms  The organisms of the tick.
+     * @param rendered   Whether the tick is drawn as a frame.
+     */
+    @Override
+    public final void replayTick(long tickNumber, List<OrganismState> organisms, boolean rendered) {
+        doReplayTick(organisms, rendered);
+        if (rendered) {
+            for (IOverlayRenderer overlay : overlays) {
+                overlay.replay(tickNumber, organisms);
+            }
+        }
+    }
+
+    /**
+     * Updates the renderer's history from a replayed tick. Subclasses whose colors depend on
+     * the order in which organisms were seen override this to mirror their render path.
+     * <p>
+     * Default implementation does nothing (suitable for renderers without history).
+     *
+     * @param organisms The organisms of the tick.
+     * @param rendered  Whether the tick is drawn as a frame.
+     */
+    protected void doReplayTick(List<OrganismState> organisms, boolean rendered) {
+        // Default: no history
+    }
+
     /**
      * Executes the video rendering pipeline using this renderer.
      * <p>
@@ -0,0 +1,138 @@
+package org.evochora.cli.rendering;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Renders chunks on several threads and writes their frames to the ffmpeg channel in chunk order.
+ * <p>
+ * Each slot owns one render thread's renderer and one {@link FrameBufferRing}. A submitted chunk
+ * goes to the next slot; once all slots are busy, the oldest chunk is written before its slot is
+ * reused. Rings should hold a whole chunk: then every thread renders its chunk to the end while
+ * the writer is still draining an earlier one, and only the writer waits. With smaller rings
+ * the threads behind the head block on a full ring and the pipeline degrades towards the speed
+ * of one thread.
+ * <p>
+ * If writing or rendering fails, the executor is shut down so render threads that wait for a
+ * free buffer are interrupted instead of hanging.
+ * <p>
+ * <strong>Thread Safety:</strong> {@link #submit(ChunkJob)} and {@link #finish()} must be called
+ * from one thread (the writer).
+ */
+final class ChunkRenderPipeline {
+
+    /**
+     * Renders one chunk into the ring of its slot. Must not call {@link FrameBufferRing#finish()}.
+     */
+    @FunctionalInterface
+    interface ChunkJob {
+        void render(int slot, FrameBufferRing ring) throws Exception;
+    }
+
+    private final ExecutorService executor;
+    private final WritableByteChannel channel;
+    private final FrameBufferRing[] rings;
+    private final Future<?>[] pending;
+    private int head = 0;  // Next slot to write
+    private int tail = 0;  // Next slot to submit
+    private int inFlight = 0;
+    private long framesWritten = 0;
+
+    /**
+     * Allocates the rings.
+     *
+     * @param executor      runs the render jobs (at least {@code slots} threads)
+     * @param channel       the ffmpeg input
+     * @param slots         number of chunks rendered at the same time
+     * @param framesPerRing off-heap frame buffers per slot
+     * @param frameSize     size of one frame in bytes
+     */
+    ChunkRenderPipeline(ExecutorService executor, WritableByteChannel channel, int slots,
+                        int framesPerRing, int frameSize) {
+        this.executor = executor;
+        this.channel = channel;
+        this.rings = new FrameBufferRing[slots];
+        this.pending = new Future<?>[slots];
+        for (int i = 0; i < slots; i++) {
+            rings[i] = new FrameBufferRing(framesPerRing, frameSize);
+        }
+    }
+
+    /**
+     * Starts rendering a chunk, first writing the oldest chunk if all slots are busy.
+     *
+     * @param job renders the chunk
+     * @return false if the executor no longer accepts jobs (shutdown)
+     * @throws Exception if writing the oldest chunk or rendering it failed
+     */
+    boolean submit(ChunkJob job) throws Exception {
+        if (inFlight >= rings.length) {
+            writeOldest();
+        }
+        int slot = tail;
+        FrameBufferRing ring = rings[slot];
+        try {
+            pending[slot] = executor.submit(() -> {
+                try {
+                    job.render(slot, ring);
+                } finally {
+                    ring.finish();
+                }
+                return null;
+            });
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            return false;
+        }
+        tail = (tail + 1) % rings.length;
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Writes all chunks that are still in the pipeline.
+     *
+     * @throws Exception if writing or rendering failed
+     */
+    void finish() throws Exception {
+        while (inFlight > 0) {
+            writeOldest();
+        }
+    }
+
+    /**
+     * Returns whether a chunk is waiting to be written.
+     *
+     * @return true if chunks are in flight
+     */
+    boolean hasPending() {
+        return inFlight > 0;
+    }
+
+    /**
+     * Writes the oldest chunk in the pipeline.
+     *
+     * @throws Exception if writing or rendering failed
+     */
+    void writeOldest() throws Exception {
+        try {
+            framesWritten += rings[head].drainTo(channel);
+            pending[head].get();
+        } catch (Exception e) {
+            // Render threads may be waiting for a free buffer that will never be returned
+            executor.shutdownNow();
+            throw e;
+        }
+        head = (head + 1) % rings.length;
+        inFlight--;
+    }
+
+    /**
+     * Returns the number of frames written so far.
+     *
+     * @return frames written
+     */
+    long getFramesWritten() {
+        return framesWritten;
+    }
+}
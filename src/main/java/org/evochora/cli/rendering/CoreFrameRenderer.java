@@ -0,0 +1,96 @@
+package org.evochora.cli.rendering;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.rendering.frame.FrameRendererCore;
+import org.evochora.runtime.model.EnvironmentProperties;
+
+/**
+ * Video frame renderer that draws with a {@link FrameRendererCore}.
+ * <p>
+ * The core is shared with the server-side frame endpoint and knows nothing of the command line.
+ * Subclasses declare the picocli options and build the core from them in
+ * {@link #createCore()}; this class adds the overlays on top of what the core draws.
+ * <p>
+ * A new core is created on every {@link #init(EnvironmentProperties)}, so thread and segment
+ * instances, which copy the options and call {@code init()}, get cores of their own.
+ * <p>
+ * <strong>Thread Safety:</strong> Not thread-safe. Use {@link #createThreadInstance()} to
+ * create separate instances for each thread.
+ */
+public abstract class CoreFrameRenderer extends AbstractFrameRenderer {
+
+    private FrameRendererCore core;
+
+    /**
+     * Creates an uninitialized core from this renderer's options.
+     *
+     * @return A new core.
+     * @throws IllegalArgumentException if an option is out of range.
+     */
+    protected abstract FrameRendererCore createCore();
+
+    @Override
+    public void init(EnvironmentProperties envProps) {
+        FrameRendererCore created = createCore();
+        created.init(envProps);
+        super.init(envProps);
+        this.core = created;
+    }
+
+    @Override
+    protected int[] doRenderSnapshot(TickData snapshot) {
+        return core().renderSnapshot(snapshot);
+    }
+
+    @Override
+    protected int[] doRenderDelta(TickDelta delta) {
+        return core().renderDelta(delta);
+    }
+
+    @Override
+    public void applySnapshotState(TickData snapshot) {
+        core().applySnapshotState(snapshot);
+    }
+
+    @Override
+    public void applyDeltaState(TickDelta delta) {
+        core().applyDeltaState(delta);
+    }
+
+    @Override
+    public int[] renderCurrentState() {
+        return core().renderCurrentState();
+    }
+
+    @Override
+    protected void doReplayTick(List<OrganismState> organisms, boolean rendered) {
+        core().replayTick(organisms, rendered);
+    }
+
+    @Override
+    public BufferedImage getFrame() {
+        return core().getFrame();
+    }
+
+    @Override
+    public int getImageWidth() {
+        return core().getImageWidth();
+    }
+
+    @Override
+    public int getImageHeight() {
+        return core().getImageHeight();
+    }
+
+    private FrameRendererCore core() {
+        if (core == null) {
+            throw new IllegalStateException("Renderer not initialized. Call init(EnvironmentProperties) first.");
+        }
+        return core;
+    }
+}
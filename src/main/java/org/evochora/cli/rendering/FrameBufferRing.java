@@ -0,0 +1,101 @@
+package org.evochora.cli.rendering;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded ring of off-heap frame buffers between one render thread and the writer thread.
+ * <p>
+ * The render thread leases a free buffer, copies a frame into it and publishes it
+ * ({@link #put(int[])}); the writer drains published frames in order to the ffmpeg channel
+ * and returns the buffers ({@link #drainTo(WritableByteChannel)}). With a full ring, the render
+ * thread waits for the writer, so memory stays at {@code capacity × frameSize} bytes no matter
+ * how many frames a chunk has.
+ * <p>
+ * Frames are stored as little-endian ints, which is the {@code bgr0} pixel format ffmpeg reads.
+ * Buffers are direct so the channel writes them without another copy.
+ * <p>
+ * A ring carries one chunk at a time: the render thread ends it with {@link #finish()}, after
+ * which {@link #drainTo(WritableByteChannel)} returns and the ring can be reused.
+ * <p>
+ * <strong>Thread Safety:</strong> One producer and one consumer thread.
+ */
+final class FrameBufferRing {
+
+    /**
+     * Marks the end of a chunk in the published queue.
+     */
+    private static final ByteBuffer END_OF_CHUNK = ByteBuffer.allocate(0);
+
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> published;
+
+    /**
+     * Allocates the ring's buffers.
+     *
+     * @param capacity  Number of frame buffers (at least 1).
+     * @param frameSize Size of one frame in bytes (width × height × 4).
+     */
+    FrameBufferRing(int capacity, int frameSize) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, got " + capacity);
+        }
+        this.free = new ArrayBlockingQueue<>(capacity);
+        // One extra slot for the end marker
+        this.published = new ArrayBlockingQueue<>(capacity + 1);
+        for (int i = 0; i < capacity; i++) {
+            free.add(ByteBuffer.allocateDirect(frameSize).order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    /**
+     * Copies a frame into a free buffer and publishes it, waiting for a free buffer if the
+     * writer is behind.
+     *
+     * @param pixels The frame's pixels; may be reused by the caller after the call.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    void put(int[] pixels) throws InterruptedException {
+        ByteBuffer buffer = free.take();
+        buffer.clear();
+        buffer.asIntBuffer().put(pixels);
+        published.put(buffer);
+    }
+
+    /**
+     * Ends the current chunk. Must be called exactly once per chunk, also if rendering failed
+     * or was interrupted.
+     */
+    void finish() {
+        // Never blocks: at most capacity buffers are published, plus this marker
+        published.offer(END_OF_CHUNK);
+    }
+
+    /**
+     * Writes the published frames of the current chunk in order, until the chunk is finished.
+     *
+     * @param channel The channel to write to.
+     * @return The number of frames written.
+     * @throws IOException if writing fails.
+     * @throws InterruptedException if interrupted while waiting for frames.
+     */
+    long drainTo(WritableByteChannel channel) throws IOException, InterruptedException {
+        long written = 0;
+        while (true) {
+            ByteBuffer buffer = published.take();
+            if (buffer == END_OF_CHUNK) {
+                return written;
+            }
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            free.put(buffer);
+            written++;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.evochora.cli.rendering;
+
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+
+/**
+ * Tick state sink that turns render calls into {@link IVideoFrameRenderer#replayTick} calls
+ * on target renderers.
+ * <p>
+ * Used to prime the renderers of video segments: the engine runs its normal chunk rendering
+ * over the ticks before a segment with this sink, so the targets see exactly the ticks,
+ * in exactly the order and with exactly the drawn/applied distinction, that a single pass
+ * would have rendered. Nothing is drawn; the returned pixel buffers are empty.
+ * <p>
+ * The target list is read on every replayed tick, so one pass over all chunks can prime every
+ * segment: the caller removes a segment's renderer from the list once the pass reaches the
+ * segment's first chunk (after {@link #flush()}).
+ * <p>
+ * A tick applied with {@code applySnapshotState}/{@code applyDeltaState} is replayed as drawn
+ * if {@link #renderCurrentState()} follows, otherwise as applied only.
+ * <p>
+ * <strong>Thread Safety:</strong> Not thread-safe.
+ */
+final class HistoryReplayRenderer implements ITickStateSink {
+
+    private static final int[] NO_PIXELS = new int[0];
+
+    private final List<IVideoFrameRenderer> targets;
+
+    private long currentTick = -1;
+    private List<OrganismState> currentOrganisms = List.of();
+    private boolean pending;
+
+    /**
+     * Creates a sink replaying into {@code targets}.
+     *
+     * @param targets The renderers to prime; may be modified between chunks.
+     */
+    HistoryReplayRenderer(List<IVideoFrameRenderer> targets) {
+        this.targets = targets;
+    }
+
+    @Override
+    public int[] renderSnapshot(TickData snapshot) {
+        setCurrent(snapshot.getTickNumber(), snapshot.getOrganismsList());
+        return renderCurrentState();
+    }
+
+    @Override
+    public int[] renderDelta(TickDelta delta) {
+        setCurrent(delta.getTickNumber(), delta.getOrganismsList());
+        return renderCurrentState();
+    }
+
+    @Override
+    public void applySnapshotState(TickData snapshot) {
+        setCurrent(snapshot.getTickNumber(), snapshot.getOrganismsList());
+        pending = true;
+    }
+
+    @Override
+    public void applyDeltaState(TickDelta delta) {
+        setCurrent(delta.getTickNumber(), delta.getOrganismsList());
+        pending = true;
+    }
+
+    @Override
+    public int[] renderCurrentState() {
+        replay(true);
+        pending = false;
+        return NO_PIXELS;
+    }
+
+    /**
+     * Replays a tick that was applied but not drawn as applied only. Call at a segment boundary
+     * before removing the segment's renderer, and after the last chunk.
+     */
+    void flush() {
+        if (pending) {
+            replay(false);
+            pending = false;
+        }
+    }
+
+    private void setCurrent(long tickNumber, List<OrganismState> organisms) {
+        flush();
+        currentTick = tickNumber;
+        currentOrganisms = organisms;
+    }
+
+    private void replay(boolean rendered) {
+        for (IVideoFrameRenderer target : targets) {
+            target.replayTick(currentTick, currentOrganisms, rendered);
+        }
+    }
+}
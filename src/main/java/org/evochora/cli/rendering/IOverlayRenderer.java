@@ -1,7 +1,9 @@
 package org.evochora.cli.rendering;
 
 import java.awt.image.BufferedImage;
+import java.util.List;
 
+import org.evochora.datapipeline.api.contracts.OrganismState;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDelta;
 
@@ -51,4 +53,20 @@ public interface IOverlayRenderer {
     default void initFromOriginal(IOverlayRenderer original) {
         // Default: do nothing — stateless overlays need no initialization
     }
+
+    /**
+     * Records a frame drawn before this overlay's first frame, without drawing.
+     * <p>
+     * Called when a renderer is primed for a video segment (see
+     * {@link IVideoFrameRenderer#replayTick(long, List, boolean)}). Overlays that accumulate
+     * history across frames override this to record the frame.
+     * <p>
+     * Default implementation does nothing (suitable for stateless overlays).
+     *
+     * @param tickNumber The tick number of the frame.
+     * @param organisms  The organisms of the frame.
+     */
+    default void replay(long tickNumber, List<OrganismState> organisms) {
+        // Default: do nothing — stateless overlays have no history
+    }
 }
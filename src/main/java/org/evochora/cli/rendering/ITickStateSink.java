@@ -0,0 +1,64 @@
+package org.evochora.cli.rendering;
+
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+
+/**
+ * The part of a renderer that the {@link VideoRenderEngine}'s chunk rendering drives: ticks
+ * either rendered as frames or only applied to the state.
+ * <p>
+ * Implemented by every {@link IVideoFrameRenderer}, and by {@link HistoryReplayRenderer} to
+ * prime segment renderers without drawing.
+ * <p>
+ * <strong>Thread Safety:</strong> Implementations are not required to be thread-safe.
+ */
+public interface ITickStateSink {
+
+    /**
+     * Renders a snapshot tick, initializing internal state.
+     *
+     * @param snapshot The snapshot tick data containing full environment state.
+     * @return The pixel buffer of the rendered frame.
+     */
+    int[] renderSnapshot(TickData snapshot);
+
+    /**
+     * Renders a delta tick incrementally.
+     *
+     * @param delta The delta containing only changed cells since the last sample.
+     * @return The pixel buffer of the rendered frame.
+     */
+    int[] renderDelta(TickDelta delta);
+
+    /**
+     * Applies snapshot state WITHOUT rendering.
+     * <p>
+     * Used for sampling mode optimization where multiple deltas need to be
+     * applied before rendering. Call {@link #renderCurrentState()} after
+     * applying all deltas to produce the frame.
+     *
+     * @param snapshot The snapshot tick data containing full environment state.
+     */
+    void applySnapshotState(TickData snapshot);
+
+    /**
+     * Applies delta state WITHOUT rendering.
+     * <p>
+     * Used for sampling mode optimization where multiple deltas need to be
+     * applied before rendering. Call {@link #renderCurrentState()} after
+     * applying all deltas to produce the frame.
+     *
+     * @param delta The delta containing only changed cells.
+     */
+    void applyDeltaState(TickDelta delta);
+
+    /**
+     * Renders the current internal state to pixels.
+     * <p>
+     * Call after {@link #applySnapshotState(TickData)} and/or
+     * {@link #applyDeltaState(TickDelta)} to produce the frame.
+     *
+     * @return The pixel buffer of the rendered frame.
+     */
+    int[] renderCurrentState();
+}
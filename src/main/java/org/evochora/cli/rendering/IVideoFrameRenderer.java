@@ -1,10 +1,11 @@
 package org.evochora.cli.rendering;
 
-import java.awt.image.BufferedImage;
 import java.util.List;
 
+import org.evochora.datapipeline.api.contracts.OrganismState;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.rendering.IFrameRenderer;
 import org.evochora.runtime.model.EnvironmentProperties;
 
 /**
@@ -14,22 +15,16 @@ import org.evochora.runtime.model.EnvironmentProperties;
  * can have its own visual style (exact pixel-per-cell, minimap aggregation, etc.)
  * and define its own CLI options via PicoCLI annotations.
  * <p>
+ * Extends the shared {@link IFrameRenderer} contract with overlays, the sampling-mode hooks of
+ * {@link ITickStateSink} and the BGRA conversion used by the {@link VideoRenderEngine}.
+ * <p>
  * <strong>Incremental Rendering:</strong> Use {@link #renderSnapshot(TickData)}
  * for the first frame and {@link #renderDelta(TickDelta)} for subsequent frames.
  * <p>
  * <strong>Thread Safety:</strong> Implementations are not required to be thread-safe.
  * Use one renderer instance per thread.
  */
-public interface IVideoFrameRenderer {
-
-    /**
-     * Initializes the renderer with environment properties.
-     * <p>
-     * Must be called after PicoCLI has parsed options and before rendering.
-     *
-     * @param envProps Environment properties (world shape, topology).
-     */
-    void init(EnvironmentProperties envProps);
+public interface IVideoFrameRenderer extends IFrameRenderer, ITickStateSink {
 
     /**
      * Sets the overlay renderers to apply after each frame.
@@ -52,83 +47,33 @@ public interface IVideoFrameRenderer {
      *
      * @return A new, initialized renderer instance with the same configuration.
      */
+    @Override
     IVideoFrameRenderer createThreadInstance();
 
     /**
-     * Renders a snapshot tick, initializing internal state.
-     * <p>
-     * Call this for the first frame of a video or when starting from a new snapshot.
-     *
-     * @param snapshot The snapshot tick data containing full environment state.
-     * @return The pixel buffer of the rendered frame.
-     */
-    int[] renderSnapshot(TickData snapshot);
-
-    /**
-     * Renders a delta tick incrementally.
-     * <p>
-     * Only updates changed cells from the delta. Must be called after
-     * {@link #renderSnapshot(TickData)} has initialized the internal state.
-     *
-     * @param delta The delta containing only changed cells since the last sample.
-     * @return The pixel buffer of the rendered frame.
-     */
-    int[] renderDelta(TickDelta delta);
-
-    /**
-     * Applies snapshot state WITHOUT rendering.
-     * <p>
-     * Used for sampling mode optimization where multiple deltas need to be
-     * applied before rendering. Call {@link #renderCurrentState()} after
-     * applying all deltas to produce the frame.
-     *
-     * @param snapshot The snapshot tick data containing full environment state.
-     */
-    void applySnapshotState(TickData snapshot);
-
-    /**
-     * Applies delta state WITHOUT rendering.
-     * <p>
-     * Used for sampling mode optimization where multiple deltas need to be
-     * applied before rendering. Call {@link #renderCurrentState()} after
-     * applying all deltas to produce the frame.
-     *
-     * @param delta The delta containing only changed cells.
-     */
-    void applyDeltaState(TickDelta delta);
-
-    /**
-     * Renders the current internal state to pixels.
+     * Creates a new instance for rendering a separate segment of the video.
      * <p>
-     * Call after {@link #applySnapshotState(TickData)} and/or
-     * {@link #applyDeltaState(TickDelta)} to produce the frame.
+     * Like {@link #createThreadInstance()}, but the new instance has its own history
+     * (color assignment, overlay history) instead of sharing it with this instance.
+     * Prime it with {@link #replayTick(long, List, boolean)} for the ticks before the segment.
      *
-     * @return The pixel buffer of the rendered frame.
+     * @return A new, initialized renderer instance with the same configuration and fresh history.
      */
-    int[] renderCurrentState();
+    IVideoFrameRenderer createSegmentInstance();
 
     /**
-     * Returns the underlying BufferedImage for overlay rendering.
+     * Replays a tick without drawing, updating only the history that carries over between
+     * chunks: genome color assignment and overlay history.
      * <p>
-     * Overlays can draw directly onto this image using Graphics2D.
-     *
-     * @return The frame BufferedImage.
-     */
-    BufferedImage getFrame();
-
-    /**
-     * Returns the output image width in pixels.
-     *
-     * @return Image width.
-     */
-    int getImageWidth();
-
-    /**
-     * Returns the output image height in pixels.
+     * Replaying the ticks before a segment in render order, with the same {@code rendered}
+     * flags, primes the renderer so that the segment's frames equal those of a single pass.
      *
-     * @return Image height.
+     * @param tickNumber The tick number.
+     * @param organisms  The organisms of the tick.
+     * @param rendered   {@code true} if the tick is drawn as a frame, {@code false} if it is only
+     *                   applied to the state (sampling mode).
      */
-    int getImageHeight();
+    void replayTick(long tickNumber, List<OrganismState> organisms, boolean rendered);
 
     /**
      * Returns a reusable buffer for BGRA pixel data conversion.
@@ -0,0 +1,173 @@
+package org.evochora.cli.rendering;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.DeltaType;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * A chunk whose deltas are parsed on demand, for rendering sampled ticks.
+ * <p>
+ * Reading a chunk only indexes the tick number and type of each delta; the snapshot and
+ * the deltas are parsed when the renderer needs them. When the sampling interval is much
+ * larger than the distance between accumulated deltas, most deltas of a chunk are never
+ * parsed, so the cost of a timelapse follows the number of frames rather than the number
+ * of ticks.
+ * <p>
+ * The index is built by scanning the wire format of the chunk (like the partial parse
+ * in {@code AbstractBatchStorageResource}); delta bytes are aliased, not copied.
+ * <p>
+ * <strong>Thread Safety:</strong> Immutable after parsing; parsed messages are new objects per call.
+ */
+final class SampledChunk {
+
+    private final ByteString snapshotBytes;
+    private final List<ByteString> deltaBytes;
+    private final long[] deltaTicks;
+    private final boolean[] deltaAccumulated;
+
+    private SampledChunk(ByteString snapshotBytes, List<ByteString> deltaBytes,
+                         long[] deltaTicks, boolean[] deltaAccumulated) {
+        this.snapshotBytes = snapshotBytes;
+        this.deltaBytes = deltaBytes;
+        this.deltaTicks = deltaTicks;
+        this.deltaAccumulated = deltaAccumulated;
+    }
+
+    /**
+     * Indexes the deltas of a serialized {@link TickDataChunk}.
+     *
+     * @param data The protobuf bytes of the chunk; must not be modified while the index is used.
+     * @return The indexed chunk.
+     * @throws IOException if the bytes are not a valid chunk.
+     */
+    static SampledChunk parse(byte[] data) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(data);
+        input.enableAliasing(true);
+
+        ByteString snapshot = ByteString.EMPTY;
+        List<ByteString> deltas = new ArrayList<>();
+        long[] ticks = new long[16];
+        boolean[] accumulated = new boolean[16];
+
+        while (true) {
+            int tag = input.readTag();
+            if (tag == 0) break;
+
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case TickDataChunk.SNAPSHOT_FIELD_NUMBER:
+                    snapshot = input.readBytes();
+                    break;
+                case TickDataChunk.DELTAS_FIELD_NUMBER: {
+                    ByteString delta = input.readBytes();
+                    int index = deltas.size();
+                    if (index == ticks.length) {
+                        ticks = Arrays.copyOf(ticks, index * 2);
+                        accumulated = Arrays.copyOf(accumulated, index * 2);
+                    }
+                    indexDelta(delta, ticks, accumulated, index);
+                    deltas.add(delta);
+                    break;
+                }
+                default:
+                    input.skipField(tag);
+                    break;
+            }
+        }
+
+        return new SampledChunk(snapshot, deltas, ticks, accumulated);
+    }
+
+    /**
+     * Reads the tick number and delta type of a delta, skipping its cell and organism data.
+     */
+    private static void indexDelta(ByteString delta, long[] ticks, boolean[] accumulated,
+                                   int index) throws IOException {
+        CodedInputStream input = delta.newCodedInput();
+        long tick = 0;
+        int type = 0;
+        int fieldsFound = 0;
+
+        while (fieldsFound < 2) {
+            int tag = input.readTag();
+            // Fields are written in field number order: stop at the cell data
+            if (tag == 0 || WireFormat.getTagFieldNumber(tag) > TickDelta.DELTA_TYPE_FIELD_NUMBER) break;
+
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case TickDelta.TICK_NUMBER_FIELD_NUMBER:
+                    tick = input.readInt64();
+                    fieldsFound++;
+                    break;
+                case TickDelta.DELTA_TYPE_FIELD_NUMBER:
+                    type = input.readEnum();
+                    fieldsFound++;
+                    break;
+                default:
+                    input.skipField(tag);
+                    break;
+            }
+        }
+
+        ticks[index] = tick;
+        accumulated[index] = type == DeltaType.ACCUMULATED_VALUE;
+    }
+
+    /**
+     * Parses the snapshot.
+     *
+     * @return The chunk's snapshot.
+     * @throws IOException if the snapshot bytes are invalid.
+     */
+    TickData snapshot() throws IOException {
+        return TickData.parseFrom(snapshotBytes);
+    }
+
+    /**
+     * Returns the number of deltas.
+     *
+     * @return The delta count.
+     */
+    int deltaCount() {
+        return deltaBytes.size();
+    }
+
+    /**
+     * Returns the tick number of a delta without parsing it.
+     *
+     * @param index The delta index.
+     * @return The tick number.
+     */
+    long deltaTick(int index) {
+        return deltaTicks[index];
+    }
+
+    /**
+     * Returns whether a delta is accumulated (contains all changes since the snapshot).
+     *
+     * @param index The delta index.
+     * @return {@code true} for an accumulated delta.
+     */
+    boolean isAccumulated(int index) {
+        return deltaAccumulated[index];
+    }
+
+    /**
+     * Parses a delta.
+     *
+     * @param index The delta index.
+     * @return The delta.
+     * @throws IOException if the delta bytes are invalid.
+     */
+    TickDelta delta(int index) throws IOException {
+        return TickDelta.parseFrom(deltaBytes.get(index));
+    }
+}
@@ -16,13 +16,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.evochora.cli.CliResourceFactory;
-import org.evochora.datapipeline.api.contracts.DeltaType;
 import org.evochora.datapipeline.api.contracts.SimulationMetadata;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
 import org.evochora.datapipeline.api.contracts.TickDelta;
 import org.evochora.datapipeline.api.resources.storage.BatchFileListResult;
+import org.evochora.datapipeline.api.resources.storage.ChunkFieldFilter;
 import org.evochora.datapipeline.api.resources.storage.IBatchStorageRead;
+import org.evochora.datapipeline.api.resources.storage.RawChunk;
 import org.evochora.datapipeline.api.resources.storage.StoragePath;
 import org.evochora.datapipeline.utils.MetadataConfigHelper;
 import org.evochora.runtime.model.EnvironmentProperties;
@@ -40,6 +41,17 @@ import org.evochora.cli.config.ConfigLoader;
  */
 public class VideoRenderEngine {
 
+    /**
+     * Off-heap budget for frame buffers between render threads and ffmpeg unless
+     * {@code --pipeline-frames} is given.
+     */
+    private static final long DEFAULT_PIPELINE_BYTES = 2L * 1024 * 1024 * 1024;
+
+    /**
+     * Sampled rendering position before any state has been applied.
+     */
+    private static final int NO_STATE = -2;
+
     private final VideoRenderOptions options;
     private final IVideoFrameRenderer frameRenderer;
 
@@ -82,6 +94,11 @@ public class VideoRenderEngine {
         File outputFile = resolveOutputFile();
         String format = resolveFormat(outputFile);
 
+        if (options.segmentCount > 1) {
+            return renderSegmented(storage, scanResult.batchPaths, outputFile, format,
+                effectiveStartTick, effectiveEndTick, totalFrames);
+        }
+
         // Start ffmpeg
         Process ffmpeg = startFfmpeg(outputFile, format);
         if (ffmpeg == null) return 1;
@@ -154,35 +171,42 @@ public class VideoRenderEngine {
     // ─────────────────────────────────────────────────────────────────────────────
 
     /**
-     * Processes a chunk and renders frames at sample tick intervals.
-     * Returns rendered frames as pixel arrays (int[]) for zero-copy writing.
+     * Receives rendered frames. The pixel array is the renderer's frame buffer and is only
+     * valid during the call.
      */
-    private List<int[]> renderChunkPixels(TickDataChunk chunk, IVideoFrameRenderer renderer,
-                                          long effectiveStartTick, long effectiveEndTick,
-                                          int samplingInterval) {
-        List<int[]> frames = new ArrayList<>();
+    @FunctionalInterface
+    interface FrameSink {
+        void accept(int[] pixels) throws java.io.IOException, InterruptedException;
+    }
 
+    /**
+     * Processes a chunk and passes the frames at sample tick intervals to the sink, in order.
+     * <p>
+     * Chunks are parsed here rather than when read, so parsing runs on the render threads.
+     */
+    static void renderChunk(RawChunk chunk, ITickStateSink renderer,
+                            long effectiveStartTick, long effectiveEndTick,
+                            int samplingInterval, FrameSink sink) throws java.io.IOException, InterruptedException {
         if (samplingInterval == 1) {
             // Incremental rendering - every tick
-            renderChunkIncremental(chunk, renderer, effectiveStartTick, effectiveEndTick, frames);
+            renderChunkIncremental(TickDataChunk.parseFrom(chunk.data()), renderer,
+                effectiveStartTick, effectiveEndTick, sink);
         } else {
             // Sampling mode - skip to sample ticks using accumulated deltas
-            renderChunkSampled(chunk, renderer, effectiveStartTick, effectiveEndTick, samplingInterval, frames);
+            renderChunkSampled(chunk, renderer, effectiveStartTick, effectiveEndTick, samplingInterval, sink);
         }
-
-        return frames;
     }
 
-    private void renderChunkIncremental(TickDataChunk chunk, IVideoFrameRenderer renderer,
-                                        long effectiveStartTick, long effectiveEndTick,
-                                        List<int[]> frames) {
+    private static void renderChunkIncremental(TickDataChunk chunk, ITickStateSink renderer,
+                                               long effectiveStartTick, long effectiveEndTick,
+                                               FrameSink sink) throws java.io.IOException, InterruptedException {
         // Render snapshot
         TickData snapshot = chunk.getSnapshot();
         long snapshotTick = snapshot.getTickNumber();
         int[] pixelData = renderer.renderSnapshot(snapshot);
 
         if (snapshotTick >= effectiveStartTick && snapshotTick <= effectiveEndTick) {
-            frames.add(pixelData.clone());  // Clone because frameBuffer is reused
+            sink.accept(pixelData);
         }
 
         // Render deltas
@@ -191,77 +215,73 @@ public class VideoRenderEngine {
             pixelData = renderer.renderDelta(delta);
 
             if (deltaTick >= effectiveStartTick && deltaTick <= effectiveEndTick) {
-                frames.add(pixelData.clone());
+                sink.accept(pixelData);
             }
         }
     }
 
-    private void renderChunkSampled(TickDataChunk chunk, IVideoFrameRenderer renderer,
-                                    long effectiveStartTick, long effectiveEndTick,
-                                    int samplingInterval, List<int[]> frames) {
-        long chunkFirstTick = chunk.getFirstTick();
-        long chunkLastTick = chunk.getLastTick();
-
+    /**
+     * Renders the sample ticks of a chunk, applying only the deltas needed to reach them.
+     * <p>
+     * Like {@code DeltaCodec.Decoder}, the state moves forward from the previous sample tick
+     * unless an accumulated delta lies in between, in which case it is rebuilt from the snapshot
+     * and that accumulated delta. Deltas that are skipped are never parsed (see {@link SampledChunk}).
+     */
+    private static void renderChunkSampled(RawChunk rawChunk, ITickStateSink renderer,
+                                           long effectiveStartTick, long effectiveEndTick,
+                                           int samplingInterval, FrameSink sink) throws java.io.IOException, InterruptedException {
         // Calculate sample tick range within this chunk
-        long rangeStart = Math.max(chunkFirstTick, effectiveStartTick);
-        long rangeEnd = Math.min(chunkLastTick, effectiveEndTick);
-        long firstSampleInRange = ceilToMultiple(rangeStart, samplingInterval);
+        long rangeStart = Math.max(rawChunk.firstTick(), effectiveStartTick);
+        long rangeEnd = Math.min(rawChunk.lastTick(), effectiveEndTick);
+        long currentSampleTick = ceilToMultiple(rangeStart, samplingInterval);
 
-        if (firstSampleInRange > rangeEnd) {
+        if (currentSampleTick > rangeEnd) {
             return; // No sample ticks in this chunk
         }
 
-        TickData snapshot = chunk.getSnapshot();
-        long snapshotTick = snapshot.getTickNumber();
+        SampledChunk chunk = SampledChunk.parse(rawChunk.data());
+        TickData snapshot = chunk.snapshot();
+
+        // Index of the last delta applied to the renderer state: -1 = snapshot state
+        int position = NO_STATE;
 
         // Check if snapshot is a sample tick
-        if (snapshotTick >= effectiveStartTick && snapshotTick <= effectiveEndTick
-                && snapshotTick % samplingInterval == 0) {
-            int[] pixelData = renderer.renderSnapshot(snapshot);
-            frames.add(pixelData.clone());
+        if (snapshot.getTickNumber() == currentSampleTick) {
+            sink.accept(renderer.renderSnapshot(snapshot));
+            position = -1;
+            currentSampleTick += samplingInterval;
         }
 
-        // Process remaining sample ticks
-        List<TickDelta> deltas = chunk.getDeltasList();
-        long currentSampleTick = (firstSampleInRange == snapshotTick)
-            ? firstSampleInRange + samplingInterval
-            : firstSampleInRange;
-
         while (currentSampleTick <= rangeEnd) {
-            // Reset state from snapshot
-            renderer.applySnapshotState(snapshot);
+            // Last delta at or before the sample tick, and the latest accumulated delta on the way
+            int target = Math.max(position, -1);
+            int accumulated = -1;
+            while (target + 1 < chunk.deltaCount() && chunk.deltaTick(target + 1) <= currentSampleTick) {
+                target++;
+                if (chunk.isAccumulated(target)) {
+                    accumulated = target;
+                }
+            }
 
-            // Find best starting point (latest accumulated delta <= currentSampleTick)
-            int startIdx = findAccumulatedDeltaIndex(deltas, currentSampleTick);
+            if (position == NO_STATE || accumulated >= 0) {
+                // Rebuild from snapshot, using the accumulated delta as shortcut
+                renderer.applySnapshotState(snapshot);
+                position = accumulated >= 0 ? accumulated - 1 : -1;
+            }
 
-            // Apply deltas up to current sample tick
-            for (int i = startIdx; i < deltas.size(); i++) {
-                TickDelta delta = deltas.get(i);
-                if (delta.getTickNumber() > currentSampleTick) break;
-                renderer.applyDeltaState(delta);
+            for (int i = position + 1; i <= target; i++) {
+                renderer.applyDeltaState(chunk.delta(i));
             }
+            position = target;
 
-            // Render and store
-            int[] pixelData = renderer.renderCurrentState();
-            frames.add(pixelData.clone());
+            // Render and pass on
+            sink.accept(renderer.renderCurrentState());
 
             currentSampleTick += samplingInterval;
         }
     }
 
-    private int findAccumulatedDeltaIndex(List<TickDelta> deltas, long targetTick) {
-        int startIdx = 0;
-        for (int i = 0; i < deltas.size(); i++) {
-            TickDelta d = deltas.get(i);
-            if (d.getTickNumber() > targetTick) break;
-            if (d.getDeltaType() == DeltaType.ACCUMULATED) {
-                startIdx = i;
-            }
-        }
-        return startIdx;
-    }
-
-    private long ceilToMultiple(long value, int multiple) {
+    private static long ceilToMultiple(long value, int multiple) {
         return ((value + multiple - 1) / multiple) * multiple;
     }
 
@@ -307,6 +327,28 @@ public class VideoRenderEngine {
         }
     }
 
+    /**
+     * Reads the chunks of a batch that contain ticks to render, as raw bytes.
+     * <p>
+     * The render loop needs random-access control flow (shutdown checks, progress tracking),
+     * so all chunks of the batch are collected. Chunks without sample ticks in the effective
+     * range are dropped using the metadata of the partial parse, before any protobuf parsing.
+     * Batch files are compressed streams, so skipped chunks are still decompressed.
+     */
+    private List<RawChunk> readChunks(IBatchStorageRead storage, StoragePath batchPath,
+                                      long effectiveStartTick, long effectiveEndTick,
+                                      int samplingInterval) throws Exception {
+        List<RawChunk> chunks = new ArrayList<>();
+        storage.forEachRawChunk(batchPath, chunk -> {
+            long rangeStart = Math.max(chunk.firstTick(), effectiveStartTick);
+            long rangeEnd = Math.min(chunk.lastTick(), effectiveEndTick);
+            if (ceilToMultiple(rangeStart, samplingInterval) <= rangeEnd) {
+                chunks.add(chunk);
+            }
+        });
+        return chunks;
+    }
+
     // ─────────────────────────────────────────────────────────────────────────────
     // Single-threaded rendering
     // ─────────────────────────────────────────────────────────────────────────────
@@ -330,15 +372,11 @@ public class VideoRenderEngine {
                 continue;
             }
 
-            // Collect all chunks: render loop needs random-access control flow (shutdown checks, progress tracking)
-            List<TickDataChunk> chunks = new ArrayList<>();
-            storage.forEachChunk(batchPath, chunks::add);
+            List<RawChunk> chunks = readChunks(storage, batchPath, effectiveStartTick, effectiveEndTick,
+                options.samplingInterval);
 
-            for (TickDataChunk chunk : chunks) {
+            for (RawChunk chunk : chunks) {
                 if (shutdownRequested.get()) break;
-                if (chunk.getLastTick() < effectiveStartTick || chunk.getFirstTick() > effectiveEndTick) {
-                    continue;
-                }
                 if (!ffmpeg.isAlive() || ffmpegDied.get()) {
                     System.err.println("\nffmpeg died unexpectedly");
                     throw new RuntimeException("ffmpeg died");
@@ -358,43 +396,16 @@ public class VideoRenderEngine {
      * Renders a chunk and writes frames directly to channel.
      * Uses zero-copy: int[] pixels written directly as bytes (bgr0 format).
      */
-    private long renderChunkDirect(TickDataChunk chunk, IVideoFrameRenderer renderer,
+    private long renderChunkDirect(RawChunk chunk, IVideoFrameRenderer renderer,
                                    WritableByteChannel channel, ByteBuffer directBuffer,
                                    long effectiveStartTick, long effectiveEndTick,
-                                   int samplingInterval) throws java.io.IOException {
-        long written = 0;
-
-        if (samplingInterval == 1) {
-            // Incremental: render and write each frame immediately
-            TickData snapshot = chunk.getSnapshot();
-            long snapshotTick = snapshot.getTickNumber();
-            int[] pixelData = renderer.renderSnapshot(snapshot);
-
-            if (snapshotTick >= effectiveStartTick && snapshotTick <= effectiveEndTick) {
-                writePixelsDirect(channel, directBuffer, pixelData);
-                written++;
-            }
-
-            for (TickDelta delta : chunk.getDeltasList()) {
-                long deltaTick = delta.getTickNumber();
-                pixelData = renderer.renderDelta(delta);
-
-                if (deltaTick >= effectiveStartTick && deltaTick <= effectiveEndTick) {
-                    writePixelsDirect(channel, directBuffer, pixelData);
-                    written++;
-                }
-            }
-        } else {
-            // Sampling mode: use pixel-based rendering with zero-copy write
-            List<int[]> frames = renderChunkPixels(chunk, renderer,
-                effectiveStartTick, effectiveEndTick, samplingInterval);
-            for (int[] pixelData : frames) {
-                writePixelsDirect(channel, directBuffer, pixelData);
-                written++;
-            }
-        }
-
-        return written;
+                                   int samplingInterval) throws java.io.IOException, InterruptedException {
+        long[] written = {0};
+        renderChunk(chunk, renderer, effectiveStartTick, effectiveEndTick, samplingInterval, pixelData -> {
+            writePixelsDirect(channel, directBuffer, pixelData);
+            written[0]++;
+        });
+        return written[0];
     }
 
     /**
@@ -425,108 +436,328 @@ public class VideoRenderEngine {
             renderers.add(frameRenderer.createThreadInstance());
         }
 
-        // Calculate safe in-flight limit based on memory
-        // Each chunk can have ~100 frames, each frame = width * height * 4 bytes
+        // Pipeline: submit chunks, write results in order as they are rendered.
+        // Slot i always uses renderer i; its ring is sized on the first batch (see sizeRings).
+        ChunkRenderPipeline pipeline = null;
+        long lastProgressUpdate = startTime;
+
+        try {
+            for (StoragePath batchPath : batchPaths) {
+                if (shutdownRequested.get()) break;
+                if (!shouldProcessBatch(batchPath, effectiveStartTick, effectiveEndTick, options.samplingInterval)) {
+                    continue;
+                }
+
+                List<RawChunk> chunks = readChunks(storage, batchPath, effectiveStartTick, effectiveEndTick,
+                    options.samplingInterval);
+                if (pipeline == null && !chunks.isEmpty()) {
+                    pipeline = createPipeline(executor, channel, chunks, effectiveStartTick, effectiveEndTick);
+                }
+
+                for (RawChunk chunk : chunks) {
+                    if (shutdownRequested.get()) break;
+                    checkFfmpeg(ffmpeg, ffmpegDied);
+
+                    final long effStart = effectiveStartTick;
+                    final long effEnd = effectiveEndTick;
+                    final int sampling = options.samplingInterval;
+                    boolean submitted = pipeline.submit((slot, ring) ->
+                        renderChunk(chunk, renderers.get(slot), effStart, effEnd, sampling, ring::put));
+                    framesWritten.set(pipeline.getFramesWritten());
+                    if (!submitted) {
+                        // Executor was shut down (shutdown hook) - exit gracefully
+                        break;
+                    }
+
+                    lastProgressUpdate = updateProgress(framesWritten.get(), totalFrames, startTime, lastProgressUpdate);
+                }
+            }
+
+            // Write remaining chunks in pipeline
+            while (pipeline != null && pipeline.hasPending() && !shutdownRequested.get()) {
+                checkFfmpeg(ffmpeg, ffmpegDied);
+                pipeline.writeOldest();
+                framesWritten.set(pipeline.getFramesWritten());
+            }
+        } catch (Exception e) {
+            // Render threads may be blocked on a full ring that is never drained
+            executor.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * Sizes the frame rings from the chunks of the first batch: each ring holds one whole chunk,
+     * so all threads render without waiting for the writer, bounded by {@code --pipeline-frames}
+     * (default: {@link #DEFAULT_PIPELINE_BYTES} off-heap) split over the threads.
+     */
+    private ChunkRenderPipeline createPipeline(ExecutorService executor, WritableByteChannel channel,
+                                               List<RawChunk> chunks, long effectiveStartTick,
+                                               long effectiveEndTick) {
         int frameSize = frameRenderer.getImageWidth() * frameRenderer.getImageHeight() * 4;
-        long estimatedChunkBytes = (long) frameSize * 100;  // ~100 frames per chunk
-        long maxHeap = Runtime.getRuntime().maxMemory();
-        long safeMemoryBudget = maxHeap / 2;  // Use at most half the heap for buffering
-        int maxInFlight = Math.max(2, (int) (safeMemoryBudget / estimatedChunkBytes));
-        int pipelineSize = Math.min(options.threadCount, maxInFlight);
-
-        if (pipelineSize < options.threadCount) {
-            System.out.println(String.format("Rendering: %d/%d thread(s), memory-limited (frame: %.1f MB)",
-                pipelineSize, options.threadCount, frameSize / 1e6));
-        } else {
-            System.out.println(String.format("Rendering: %d thread(s), incremental (delta-optimized)",
-                options.threadCount));
+        int threads = options.threadCount;
+        long framesPerChunk = 0;
+        for (RawChunk chunk : chunks) {
+            framesPerChunk = Math.max(framesPerChunk,
+                countFrames(chunk, effectiveStartTick, effectiveEndTick, options.samplingInterval));
+        }
+        long pipelineFrames = options.pipelineFrames != null
+            ? options.pipelineFrames
+            : Math.max(2L * threads, DEFAULT_PIPELINE_BYTES / frameSize);
+        // At least two frames per ring, so rendering and writing overlap
+        int framesPerRing = (int) Math.max(2, Math.min(framesPerChunk, pipelineFrames / threads));
+
+        System.out.println(String.format("Rendering: %d thread(s), incremental (delta-optimized), "
+                + "%d frame buffers (%.1f MB off-heap, %d of %d frames per chunk per thread)",
+            threads, framesPerRing * threads, (double) framesPerRing * threads * frameSize / 1e6,
+            framesPerRing, framesPerChunk));
+        if (framesPerRing < framesPerChunk) {
+            System.out.println("Note: frame buffers are smaller than a chunk, render threads will wait "
+                + "for the writer. Raise --pipeline-frames for full parallelism.");
         }
+        return new ChunkRenderPipeline(executor, channel, threads, framesPerRing, frameSize);
+    }
 
-        // Direct buffer for zero-copy writes (shared, used only by main thread)
-        ByteBuffer directBuffer = ByteBuffer.allocateDirect(frameSize).order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Counts the frames a chunk produces within the effective range.
+     */
+    private long countFrames(RawChunk chunk, long effectiveStartTick, long effectiveEndTick, int samplingInterval) {
+        long rangeStart = Math.max(chunk.firstTick(), effectiveStartTick);
+        long rangeEnd = Math.min(chunk.lastTick(), effectiveEndTick);
+        long firstSample = ceilToMultiple(rangeStart, samplingInterval);
+        if (firstSample > rangeEnd) {
+            return 0;
+        }
+        // Stored ticks may be sparser than the sampling interval
+        return Math.min(chunk.tickCount(), (rangeEnd - firstSample) / samplingInterval + 1);
+    }
 
-        // Pipeline: submit chunks, write results in order as they complete
-        @SuppressWarnings("unchecked")
-        Future<List<int[]>>[] pendingFutures = new Future[pipelineSize];
-        int head = 0;  // Next slot to write
-        int tail = 0;  // Next slot to submit
-        int inFlight = 0;
-        long lastProgressUpdate = startTime;
+    private void checkFfmpeg(Process ffmpeg, AtomicBoolean ffmpegDied) {
+        if (!ffmpeg.isAlive() || ffmpegDied.get()) {
+            System.err.println("\nffmpeg died");
+            throw new RuntimeException("ffmpeg died");
+        }
+    }
 
-        for (StoragePath batchPath : batchPaths) {
-            if (shutdownRequested.get()) break;
-            if (!shouldProcessBatch(batchPath, effectiveStartTick, effectiveEndTick, options.samplingInterval)) {
-                continue;
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Segmented rendering
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Renders the video as segments in parallel and concatenates them without re-encoding.
+     * <p>
+     * The batch files are split into contiguous segments, so segment boundaries are chunk
+     * boundaries and each segment starts from a snapshot. Each segment has its own renderer
+     * (with fresh history) and its own ffmpeg process. One pre-pass on the calling thread
+     * replays the organisms of all chunks in order through the normal chunk rendering path
+     * without drawing (see {@link HistoryReplayRenderer}), feeding every segment renderer whose
+     * segment lies ahead. At each boundary the segment's renderer holds exactly the history of a
+     * single-pass render, so its frames are identical; it leaves the pre-pass and starts
+     * rendering while the pre-pass continues. Every batch is read once by the pre-pass and once
+     * by its segment.
+     * <p>
+     * Each segment renders single-threaded; {@code --threads} does not apply.
+     *
+     * @return Exit code (0 for success, non-zero for failure).
+     */
+    private int renderSegmented(IBatchStorageRead storage, List<StoragePath> allBatchPaths,
+                                File outputFile, String format,
+                                long effectiveStartTick, long effectiveEndTick,
+                                long totalFrames) throws Exception {
+        List<StoragePath> batchPaths = new ArrayList<>();
+        for (StoragePath batchPath : allBatchPaths) {
+            if (shouldProcessBatch(batchPath, effectiveStartTick, effectiveEndTick, options.samplingInterval)) {
+                batchPaths.add(batchPath);
             }
+        }
+        int segmentCount = Math.max(1, Math.min(options.segmentCount, batchPaths.size()));
+
+        System.out.println(String.format("Video: %dx%d, %d frames, %d fps",
+            frameRenderer.getImageWidth(), frameRenderer.getImageHeight(), totalFrames, options.fps));
+        System.out.println(String.format("Rendering: %d segment(s) in parallel, 1 thread each", segmentCount));
+
+        List<File> segmentFiles = new ArrayList<>();
+        for (int i = 0; i < segmentCount; i++) {
+            segmentFiles.add(new File(outputFile.getParentFile(),
+                String.format(".%s.segment-%03d.%s", outputFile.getName(), i, format)));
+        }
 
-            // Collect all chunks: render loop needs random-access control flow (shutdown checks, progress tracking)
-            List<TickDataChunk> chunks = new ArrayList<>();
-            storage.forEachChunk(batchPath, chunks::add);
+        AtomicBoolean shutdownRequested = new AtomicBoolean(false);
+        AtomicLong framesWritten = new AtomicLong(0);
+        ExecutorService executor = Executors.newFixedThreadPool(segmentCount);
+        Thread shutdownHook = createShutdownHook(shutdownRequested, executor);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        try {
+            long startTime = System.currentTimeMillis();
+            List<List<StoragePath>> segments = new ArrayList<>();
+            List<IVideoFrameRenderer> renderers = new ArrayList<>();
+            for (int i = 0; i < segmentCount; i++) {
+                int from = (int) ((long) i * batchPaths.size() / segmentCount);
+                int to = (int) ((long) (i + 1) * batchPaths.size() / segmentCount);
+                segments.add(batchPaths.subList(from, to));
+                renderers.add(frameRenderer.createSegmentInstance());
+            }
 
-            for (TickDataChunk chunk : chunks) {
+            // Renderers of segments ahead of the pre-pass, in segment order
+            List<IVideoFrameRenderer> priming = new ArrayList<>(renderers.subList(1, segmentCount));
+            HistoryReplayRenderer replay = new HistoryReplayRenderer(priming);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < segmentCount; i++) {
                 if (shutdownRequested.get()) break;
-                if (chunk.getLastTick() < effectiveStartTick || chunk.getFirstTick() > effectiveEndTick) {
-                    continue;
+                if (i > 0) {
+                    // Pre-pass over the previous segment; the next renderer is then primed
+                    for (StoragePath batchPath : segments.get(i - 1)) {
+                        if (shutdownRequested.get()) break;
+                        replayBatch(storage, batchPath, replay, effectiveStartTick, effectiveEndTick);
+                    }
+                    replay.flush();
+                    priming.remove(0);
                 }
+                IVideoFrameRenderer renderer = renderers.get(i);
+                List<StoragePath> segmentBatches = segments.get(i);
+                File segmentFile = segmentFiles.get(i);
+                futures.add(executor.submit(() -> {
+                    renderSegment(storage, renderer, segmentBatches, segmentFile, format,
+                        effectiveStartTick, effectiveEndTick, framesWritten, shutdownRequested);
+                    return null;
+                }));
+            }
+            executor.shutdown();
 
-                // If pipeline is full, wait for oldest chunk and write it
-                if (inFlight >= pipelineSize) {
-                    if (!ffmpeg.isAlive() || ffmpegDied.get()) {
-                        System.err.println("\nffmpeg died");
-                        executor.shutdownNow();
-                        throw new RuntimeException("ffmpeg died");
+            long lastProgressUpdate = startTime;
+            while (!executor.awaitTermination(500, TimeUnit.MILLISECONDS)) {
+                for (Future<?> future : futures) {
+                    if (future.isDone()) {
+                        future.get(); // Fail fast if a segment failed
                     }
-
-                    writeCompletedPixels(pendingFutures[head].get(), channel, directBuffer, framesWritten);
-                    head = (head + 1) % pipelineSize;
-                    inFlight--;
                 }
+                lastProgressUpdate = updateProgress(framesWritten.get(), totalFrames, startTime, lastProgressUpdate);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            removeShutdownHook(shutdownHook);
+            if (shutdownRequested.get()) {
+                return 1;
+            }
 
-                // Submit new chunk (check shutdown to avoid RejectedExecutionException)
-                if (shutdownRequested.get()) break;
+            System.out.println("\nFinished rendering. Concatenating segments...");
+            int exitCode = concatSegments(segmentFiles, outputFile);
+            if (exitCode == 0) {
+                System.out.println("Video created: " + outputFile.getAbsolutePath());
+                return 0;
+            } else {
+                System.err.println("ffmpeg concat failed with exit code " + exitCode);
+                return 1;
+            }
+        } catch (Exception e) {
+            executor.shutdownNow();
+            removeShutdownHook(shutdownHook);
+            throw e;
+        } finally {
+            for (File segmentFile : segmentFiles) {
+                segmentFile.delete();
+            }
+        }
+    }
 
-                final TickDataChunk chunkToRender = chunk;
-                final IVideoFrameRenderer renderer = renderers.get(tail % renderers.size());
-                final long effStart = effectiveStartTick;
-                final long effEnd = effectiveEndTick;
-                final int sampling = options.samplingInterval;
-
-                try {
-                    pendingFutures[tail] = executor.submit(() ->
-                        renderChunkPixels(chunkToRender, renderer, effStart, effEnd, sampling));
-                    tail = (tail + 1) % pipelineSize;
-                    inFlight++;
-                } catch (java.util.concurrent.RejectedExecutionException e) {
-                    // Executor was shut down between check and submit - exit gracefully
-                    break;
+    /**
+     * Replays the chunks of one batch into the renderers that are being primed, without drawing.
+     */
+    private void replayBatch(IBatchStorageRead storage, StoragePath batchPath, HistoryReplayRenderer replay,
+                             long effectiveStartTick, long effectiveEndTick) throws Exception {
+        if (options.samplingInterval == 1) {
+            // Every tick is replayed: skip cell data at read time
+            storage.forEachChunk(batchPath, ChunkFieldFilter.SKIP_CELLS, chunk -> {
+                if (chunk.getLastTick() >= effectiveStartTick && chunk.getFirstTick() <= effectiveEndTick) {
+                    renderChunkIncremental(chunk, replay, effectiveStartTick, effectiveEndTick, pixels -> { });
                 }
-
-                lastProgressUpdate = updateProgress(framesWritten.get(), totalFrames, startTime, lastProgressUpdate);
+            });
+        } else {
+            // Only deltas on the path to sample ticks are parsed
+            for (RawChunk chunk : readChunks(storage, batchPath, effectiveStartTick, effectiveEndTick,
+                    options.samplingInterval)) {
+                renderChunk(chunk, replay, effectiveStartTick, effectiveEndTick, options.samplingInterval,
+                    pixels -> { });
             }
         }
+    }
+
+    /**
+     * Renders the segment's chunks into its own ffmpeg process with a renderer primed by the
+     * pre-pass.
+     */
+    private void renderSegment(IBatchStorageRead storage, IVideoFrameRenderer renderer,
+                               List<StoragePath> segmentBatches, File segmentFile, String format,
+                               long effectiveStartTick, long effectiveEndTick,
+                               AtomicLong framesWritten, AtomicBoolean shutdownRequested) throws Exception {
+        if (shutdownRequested.get()) return;
+        Process ffmpeg = startFfmpeg(segmentFile, format);
+        if (ffmpeg == null) {
+            throw new java.io.IOException("Failed to start ffmpeg for " + segmentFile.getName());
+        }
+        AtomicBoolean ffmpegDied = new AtomicBoolean(false);
+        Thread outputReader = startFfmpegOutputReader(ffmpeg, ffmpegDied);
+
+        int frameSize = renderer.getImageWidth() * renderer.getImageHeight() * 4;
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(frameSize).order(ByteOrder.LITTLE_ENDIAN);
 
-        // Write remaining chunks in pipeline
-        while (inFlight > 0 && !shutdownRequested.get()) {
-            if (!ffmpeg.isAlive() || ffmpegDied.get()) {
-                System.err.println("\nffmpeg died");
-                executor.shutdownNow();
-                throw new RuntimeException("ffmpeg died");
+        try (OutputStream ffmpegInput = ffmpeg.getOutputStream();
+             WritableByteChannel channel = Channels.newChannel(ffmpegInput)) {
+            for (StoragePath batchPath : segmentBatches) {
+                if (shutdownRequested.get()) break;
+                for (RawChunk chunk : readChunks(storage, batchPath, effectiveStartTick, effectiveEndTick,
+                        options.samplingInterval)) {
+                    if (shutdownRequested.get()) break;
+                    if (!ffmpeg.isAlive() || ffmpegDied.get()) {
+                        throw new RuntimeException("ffmpeg died while rendering " + segmentFile.getName());
+                    }
+                    framesWritten.addAndGet(renderChunkDirect(chunk, renderer, channel, directBuffer,
+                        effectiveStartTick, effectiveEndTick, options.samplingInterval));
+                }
             }
+        } catch (Exception e) {
+            ffmpeg.destroy();
+            throw e;
+        }
 
-            writeCompletedPixels(pendingFutures[head].get(), channel, directBuffer, framesWritten);
-            head = (head + 1) % pipelineSize;
-            inFlight--;
+        outputReader.join(1000);
+        int exitCode = ffmpeg.waitFor();
+        if (exitCode != 0) {
+            throw new java.io.IOException("ffmpeg failed with exit code " + exitCode + " for " + segmentFile.getName());
         }
     }
 
     /**
-     * Writes completed pixel frames using zero-copy DirectByteBuffer.
+     * Concatenates the segment files into the output file without re-encoding, using the
+     * ffmpeg concat demuxer. Every segment starts with a keyframe, so stream copy is lossless.
+     *
+     * @return ffmpeg's exit code.
      */
-    private void writeCompletedPixels(List<int[]> frames, WritableByteChannel channel,
-                                      ByteBuffer directBuffer, AtomicLong framesWritten) throws Exception {
-        for (int[] pixelData : frames) {
-            writePixelsDirect(channel, directBuffer, pixelData);
-            framesWritten.incrementAndGet();
+    private int concatSegments(List<File> segmentFiles, File outputFile) throws Exception {
+        File listFile = new File(outputFile.getParentFile(), "." + outputFile.getName() + ".segments.txt");
+        try {
+            StringBuilder list = new StringBuilder();
+            for (File segmentFile : segmentFiles) {
+                list.append("file '")
+                    .append(segmentFile.getAbsolutePath().replace("'", "'\\''"))
+                    .append("'\n");
+            }
+            java.nio.file.Files.writeString(listFile.toPath(), list);
+
+            List<String> args = List.of("ffmpeg", "-y", "-f", "concat", "-safe", "0",
+                "-i", listFile.getAbsolutePath(), "-c", "copy", outputFile.getAbsolutePath());
+            ProcessBuilder pb = new ProcessBuilder(args);
+            pb.redirectErrorStream(true);
+            Process ffmpeg = pb.start();
+            ffmpeg.getOutputStream().close();
+            Thread outputReader = startFfmpegOutputReader(ffmpeg, new AtomicBoolean(false));
+            int exitCode = ffmpeg.waitFor();
+            outputReader.join(1000);
+            return exitCode;
+        } finally {
+            listFile.delete();
         }
     }
 
@@ -49,6 +49,16 @@ public class VideoRenderOptions {
     @Option(names = "--threads", description = "Number of threads for parallel chunk rendering. Default: 1", defaultValue = "1")
     public int threadCount;
 
+    @Option(names = "--pipeline-frames",
+            description = "Frames buffered off-heap between render threads and ffmpeg (multi-threaded only). "
+                + "Default: one chunk per thread, at most 2 GB")
+    public Integer pipelineFrames;
+
+    @Option(names = "--segments",
+            description = "Render N segments in parallel (split at batch boundaries) and concatenate them without re-encoding. Default: 1",
+            defaultValue = "1")
+    public int segmentCount;
+
     @Option(names = "--overlay",
             description = "Overlays to apply (comma-separated): info",
             split = ",")
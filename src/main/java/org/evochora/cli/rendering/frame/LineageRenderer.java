@@ -19,6 +19,7 @@ import org.evochora.datapipeline.api.contracts.OrganismState;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDelta;
 import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.datapipeline.rendering.frame.EnvironmentBackgroundLayer;
 import org.evochora.runtime.model.EnvironmentProperties;
 
 import picocli.CommandLine.Command;
@@ -288,6 +289,15 @@ public class LineageRenderer extends AbstractFrameRenderer {
         return copy;
     }
 
+    /**
+     * Records the lineage of a replayed tick. Like {@link #applySnapshotState} and
+     * {@link #applyDeltaState}, every applied tick is processed, drawn or not.
+     */
+    @Override
+    protected void doReplayTick(List<OrganismState> organisms, boolean rendered) {
+        colorState.processOrganisms(organisms);
+    }
+
     // ─────────────────────────────────────────────────────────────────────────────
     // Organism processing and color assignment
     // ─────────────────────────────────────────────────────────────────────────────
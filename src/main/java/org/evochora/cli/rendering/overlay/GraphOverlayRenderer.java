@@ -104,6 +104,12 @@ public class GraphOverlayRenderer implements IOverlayRenderer {
         renderOverlay(frame);
     }
 
+    @Override
+    public void replay(long tickNumber, List<OrganismState> organisms) {
+        int[] counts = countOrganismsAndGenomes(organisms);
+        sharedHistory.addPoint(tickNumber, counts[0], counts[1]);
+    }
+
     /**
      * Counts alive organisms and unique genomes in a single pass.
      *
@@ -19,6 +19,7 @@ import java.util.stream.Collectors;
 import org.evochora.compiler.api.CompilationException;
 import org.evochora.datapipeline.resume.ResumeException;
 import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
+import org.evochora.datapipeline.api.services.IFastForwardControl;
 import org.evochora.datapipeline.api.services.ISimulationSource;
 import org.evochora.datapipeline.api.memory.MemoryEstimate;
 import org.evochora.datapipeline.api.memory.SimulationParameters;
@@ -652,6 +653,22 @@ public class ServiceManager implements IMonitorable {
         getServiceOrFail(serviceName).resume();
     }
 
+    /**
+     * Requests a fast-forward of a simulation service up to the given tick.
+     *
+     * @param serviceName the service name
+     * @param untilTick   the tick at which normal sampling resumes
+     * @throws IllegalArgumentException if the service does not exist
+     * @throws IllegalStateException if the service cannot fast-forward or is already past the tick
+     */
+    public void fastForwardService(String serviceName, long untilTick) {
+        IService service = getServiceOrFail(serviceName);
+        if (!(service instanceof IFastForwardControl control)) {
+            throw new IllegalStateException("Service '" + serviceName + "' does not support fast-forward");
+        }
+        control.fastForward(untilTick);
+    }
+
     public void restartService(String serviceName) {
         log.info("Restarting service '{}'...", serviceName);
         stopService(serviceName);
@@ -2,6 +2,7 @@ package org.evochora.datapipeline.api.analytics;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
@@ -38,7 +39,12 @@ import com.typesafe.config.Config;
  * }
  * }</pre>
  * <p>
- * Instances are created per-service, so they do NOT need to be thread-safe.
+ * <strong>Thread Safety:</strong> Instances are created per-service and are never called
+ * concurrently: {@link #extractRows(TickData)} is invoked for one tick at a time, in tick
+ * order, so plugins may keep unsynchronized per-run state. The indexer may however run
+ * {@code extractRows} of <em>different</em> plugins in parallel on the same {@link TickData}
+ * (see {@link #supportsParallelExtraction()}). The tick must therefore be treated as read-only,
+ * and plugins must not share mutable static state.
  */
 public interface IAnalyticsPlugin extends IMemoryEstimatable {
     
@@ -193,6 +199,27 @@ public interface IAnalyticsPlugin extends IMemoryEstimatable {
      */
     int getLodLevels();
 
+    /**
+     * Returns how each column is aggregated when deriving coarser LOD levels.
+     * <p>
+     * By default (empty map) every LOD level is produced by calling {@link #extractRows(TickData)}
+     * on the ticks matching that level's sampling interval, i.e. coarse levels are point samples.
+     * <p>
+     * Plugins returning a non-empty map opt into incremental LOD maintenance: only lod0 is
+     * extracted from ticks, and level N+1 is derived from level N by bucketing rows into
+     * {@code samplingInterval * lodFactor^(N+1)} tick windows and combining them with the given
+     * {@link LodAggregation}s. The {@code tick} column holds the bucket start. Columns not listed
+     * default to {@link LodAggregation#LAST}. Buckets span indexer flush windows; a bucket that is
+     * still open is published as a provisional row and replaced once it completes.
+     * <p>
+     * The schema must contain a {@code tick} column of type {@link ColumnType#BIGINT}.
+     *
+     * @return Aggregation per column name, or an empty map for sampled LOD levels
+     */
+    default Map<String, LodAggregation> getLodAggregations() {
+        return Map.of();
+    }
+
     /**
      * Returns the query specification for query-time transformations.
      * <p>
@@ -252,6 +279,25 @@ public interface IAnalyticsPlugin extends IMemoryEstimatable {
         return false;
     }
 
+    /**
+     * Indicates whether this plugin may extract rows concurrently with other plugins.
+     * <p>
+     * When the indexer is configured with {@code pluginParallelism > 1}, plugins returning
+     * {@code true} (the default) run on a shared worker pool while other plugins process the
+     * same tick. The indexer still guarantees that a single instance sees ticks one at a time
+     * and in order, and that all calls for one tick complete before the next tick starts, so
+     * instance fields need no synchronization.
+     * <p>
+     * Return {@code false} if the plugin touches state shared with other plugins (e.g. mutable
+     * static fields) or is otherwise unsafe to run off the indexer thread. Such plugins are
+     * executed on the indexer thread itself.
+     *
+     * @return {@code true} if {@link #extractRows(TickData)} may run on a worker thread
+     */
+    default boolean supportsParallelExtraction() {
+        return true;
+    }
+
     /**
      * Estimates the worst-case heap memory usage for this plugin's internal state.
      * <p>
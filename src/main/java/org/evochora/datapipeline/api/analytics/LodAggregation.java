@@ -0,0 +1,33 @@
+package org.evochora.datapipeline.api.analytics;
+
+/**
+ * How a column is combined when the indexer derives a coarser LOD level from a finer one.
+ * <p>
+ * All aggregations are mergeable: a level N+1 bucket is computed from the partial states of
+ * its level N buckets, so every coarse value is exact with respect to the raw lod0 rows.
+ * <p>
+ * Numeric aggregations ({@link #SUM}, {@link #MEAN}, {@link #MIN}, {@link #MAX}) require a
+ * {@link ColumnType#BIGINT}, {@link ColumnType#INTEGER} or {@link ColumnType#DOUBLE} column.
+ *
+ * @see IAnalyticsPlugin#getLodAggregations()
+ */
+public enum LodAggregation {
+
+    /** Sum of all values in the bucket (e.g. event counts). */
+    SUM,
+
+    /** Arithmetic mean over all raw values in the bucket (not a mean of means). */
+    MEAN,
+
+    /** Smallest value in the bucket. */
+    MIN,
+
+    /** Largest value in the bucket. */
+    MAX,
+
+    /** Value of the latest tick in the bucket (e.g. monotonic counters, gauges). */
+    LAST,
+
+    /** Grouping key: rows with different values are aggregated separately (multi-row plugins). */
+    GROUP
+}
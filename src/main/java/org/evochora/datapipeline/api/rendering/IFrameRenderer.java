@@ -0,0 +1,83 @@
+package org.evochora.datapipeline.api.rendering;
+
+import java.awt.image.BufferedImage;
+
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.runtime.model.EnvironmentProperties;
+
+/**
+ * Renders simulation ticks to an image.
+ * <p>
+ * This is the rendering contract shared by the video command and the server-side frame
+ * endpoint. Implementations keep the rendered state between calls:
+ * {@link #renderSnapshot(TickData)} draws a full frame, {@link #renderDelta(TickDelta)} updates
+ * it incrementally from the changed cells of the next sampled tick.
+ * <p>
+ * Implementations configured by class name, as by the frame endpoint, have a public
+ * constructor taking their options as a {@link com.typesafe.config.Config}.
+ * <p>
+ * <strong>Thread Safety:</strong> Implementations are not required to be thread-safe.
+ * Use {@link #createThreadInstance()} to obtain one instance per thread.
+ */
+public interface IFrameRenderer {
+
+    /**
+     * Initializes the renderer with environment properties.
+     * <p>
+     * Must be called after the renderer's options are set and before rendering.
+     *
+     * @param envProps Environment properties (world shape, topology).
+     */
+    void init(EnvironmentProperties envProps);
+
+    /**
+     * Creates a new instance for use in a separate thread.
+     * <p>
+     * The new instance has the same configuration as this instance and is already
+     * initialized with the same EnvironmentProperties.
+     *
+     * @return A new, initialized renderer instance with the same configuration.
+     */
+    IFrameRenderer createThreadInstance();
+
+    /**
+     * Renders a snapshot tick, initializing internal state.
+     *
+     * @param snapshot The snapshot tick data containing full environment state.
+     * @return The pixel buffer of the rendered frame.
+     */
+    int[] renderSnapshot(TickData snapshot);
+
+    /**
+     * Renders a delta tick incrementally.
+     * <p>
+     * Only updates changed cells from the delta. Must be called after
+     * {@link #renderSnapshot(TickData)} has initialized the internal state.
+     *
+     * @param delta The delta containing only changed cells since the last sample.
+     * @return The pixel buffer of the rendered frame.
+     */
+    int[] renderDelta(TickDelta delta);
+
+    /**
+     * Returns the image the renderer draws into.
+     *
+     * @return The frame BufferedImage.
+     */
+    BufferedImage getFrame();
+
+    /**
+     * Returns the output image width in pixels.
+     *
+     * @return Image width.
+     */
+    int getImageWidth();
+
+    /**
+     * Returns the output image height in pixels.
+     *
+     * @return Image height.
+     */
+    int getImageHeight();
+}
@@ -16,6 +16,7 @@ import java.sql.SQLException;
  * That method is only needed by wrappers/indexers via {@link IResourceSchemaAwareMetadataReader}.
  */
 public interface IDatabaseReader extends IEnvironmentDataReader, 
+                                        IEnvironmentTileReader,
                                         IOrganismDataReader,
                                         AutoCloseable {
     /**
@@ -0,0 +1,27 @@
+package org.evochora.datapipeline.api.resources.database;
+
+import java.sql.SQLException;
+
+import org.evochora.datapipeline.api.contracts.EnvironmentTile;
+
+/**
+ * Capability interface for reading the precomputed environment tile pyramid.
+ */
+public interface IEnvironmentTileReader {
+
+    /**
+     * Reads one tile of the latest tile tick at or before {@code tickNumber}.
+     * <p>
+     * Tiles are built for selected ticks only (e.g. snapshots), so the returned tile's
+     * {@code tick_number} may be earlier than the requested tick.
+     *
+     * @param tickNumber Requested tick
+     * @param zoom Zoom level
+     * @param tileX Tile column
+     * @param tileY Tile row
+     * @return The tile
+     * @throws SQLException if database read fails
+     * @throws TickNotFoundException if no tile exists at or before the tick (or no tiles are indexed)
+     */
+    EnvironmentTile readTile(long tickNumber, int zoom, int tileX, int tileY) throws SQLException, TickNotFoundException;
+}
@@ -0,0 +1,56 @@
+package org.evochora.datapipeline.api.resources.database;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.EnvironmentTile;
+
+/**
+ * Database capability for writing the precomputed environment tile pyramid.
+ * <p>
+ * Used by EnvironmentTileIndexer to persist the aggregated tiles of selected ticks, so zoomed-out
+ * views can be served without decoding and aggregating full environment chunks.
+ * <p>
+ * <strong>Pure Capability Interface:</strong> This interface defines only the tile writing
+ * operations, without resource management concerns. See
+ * {@link IResourceSchemaAwareEnvironmentTileWriter} for the wrapper-facing combination.
+ */
+public interface IEnvironmentTileWriter extends AutoCloseable {
+
+    /**
+     * Creates the environment_tiles table idempotently.
+     * <pre>
+     * CREATE TABLE environment_tiles (
+     *   zoom INT, tile_x INT, tile_y INT, tick_number BIGINT,
+     *   tile_blob BYTEA NOT NULL,
+     *   PRIMARY KEY (zoom, tile_x, tile_y, tick_number)
+     * )
+     * </pre>
+     *
+     * @throws SQLException if table creation fails
+     */
+    void createEnvironmentTileTable() throws SQLException;
+
+    /**
+     * Adds the tiles of one tick to the current write batch (MERGE, idempotent).
+     * <p>
+     * Call {@link #commitTiles()} to persist the accumulated batch atomically.
+     *
+     * @param tiles Tiles to write (all levels of one or more ticks)
+     * @throws SQLException if the write fails
+     */
+    void writeTiles(List<EnvironmentTile> tiles) throws SQLException;
+
+    /**
+     * Commits all tiles accumulated via {@link #writeTiles(List)}.
+     *
+     * @throws SQLException if commit fails (transaction is rolled back)
+     */
+    void commitTiles() throws SQLException;
+
+    /**
+     * Closes the database wrapper and releases its dedicated connection back to the pool.
+     */
+    @Override
+    void close();
+}
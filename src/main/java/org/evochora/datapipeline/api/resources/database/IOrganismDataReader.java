@@ -1,7 +1,9 @@
 package org.evochora.datapipeline.api.resources.database;
 
+import org.evochora.datapipeline.api.resources.database.dto.OrganismLineage;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickDetails;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickSummary;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -21,6 +23,19 @@ public interface IOrganismDataReader {
      */
     List<OrganismTickSummary> readOrganismsAtTick(long tickNumber) throws SQLException;
 
+    /**
+     * Reads the organisms whose IP or a data pointer lies in the given region at the given tick.
+     * <p>
+     * Uses the per-tick spatial grid index where the storage strategy provides one, so only
+     * organisms near the region are deserialized; otherwise all organisms are read and filtered.
+     *
+     * @param tickNumber Tick number to query (must be &gt;= 0).
+     * @param region Region to filter by (bounds inclusive).
+     * @return List of organism summaries touching the region (may be empty).
+     * @throws SQLException if database read fails.
+     */
+    List<OrganismTickSummary> readOrganismsAtTick(long tickNumber, SpatialRegion region) throws SQLException;
+
     /**
      * Reads static and dynamic state of a single organism at the given tick.
      *
@@ -53,6 +68,33 @@ public interface IOrganismDataReader {
      * @throws SQLException if database read fails.
      */
     Map<Long, Long> readGenomeLineageTree(long tickNumber) throws SQLException;
+
+    /**
+     * Reads an organism's position in the birth tree: ancestors, depth and descendants.
+     *
+     * @param organismId Organism identifier (must be &gt;= 0).
+     * @param tickNumber Only descendants born up to (and including) this tick are counted and listed.
+     * @param descendantLimit Maximum number of descendant IDs to return (must be &gt;= 0).
+     * @return Lineage of the organism. Never null.
+     * @throws SQLException if database read fails.
+     * @throws OrganismNotFoundException if the organism is not indexed.
+     */
+    OrganismLineage readOrganismLineage(int organismId, long tickNumber, int descendantLimit)
+            throws SQLException, OrganismNotFoundException;
+
+    /**
+     * Finds the most recent common ancestor of two organisms.
+     * <p>
+     * If one organism descends from the other, the older one is returned.
+     *
+     * @param organismId First organism (must be &gt;= 0).
+     * @param otherOrganismId Second organism (must be &gt;= 0).
+     * @return ID of the common ancestor, or null if the organisms descend from different initial organisms.
+     * @throws SQLException if database read fails.
+     * @throws OrganismNotFoundException if either organism is not indexed.
+     */
+    Integer readCommonAncestor(int organismId, int otherOrganismId)
+            throws SQLException, OrganismNotFoundException;
 }
 
 
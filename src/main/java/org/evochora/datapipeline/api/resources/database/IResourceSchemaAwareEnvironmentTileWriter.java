@@ -0,0 +1,14 @@
+package org.evochora.datapipeline.api.resources.database;
+
+import org.evochora.datapipeline.api.resources.IResource;
+
+/**
+ * Combination interface that provides both environment tile writing capability and resource management.
+ * <p>
+ * This interface combines {@link IEnvironmentTileWriter} with {@link IResource} and {@link ISchemaAwareDatabase}
+ * to provide a complete database capability for wrapper implementations.
+ */
+public interface IResourceSchemaAwareEnvironmentTileWriter extends IEnvironmentTileWriter, IResource, ISchemaAwareDatabase {
+    // Combination interface - inherits all methods from the three base interfaces
+    // No additional methods needed
+}
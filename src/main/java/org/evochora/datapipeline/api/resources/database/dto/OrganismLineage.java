@@ -0,0 +1,24 @@
+package org.evochora.datapipeline.api.resources.database.dto;
+
+import java.util.List;
+
+/**
+ * Position of an organism in the birth tree, as served by the lineage index.
+ *
+ * @param organismId      The organism.
+ * @param rootId          The oldest ancestor (the organism itself for initial organisms).
+ * @param depth           Number of generations below the root (0 for initial organisms).
+ * @param ancestors       Ancestry chain: direct parent first, oldest ancestor last.
+ * @param descendantCount Number of descendants born up to the requested tick.
+ * @param descendants     Descendant IDs in depth-first order (each subtree contiguous), possibly truncated.
+ * @param truncated       Whether {@code descendants} was cut off at the requested limit.
+ */
+public record OrganismLineage(
+    int organismId,
+    int rootId,
+    int depth,
+    List<LineageEntry> ancestors,
+    int descendantCount,
+    List<Integer> descendants,
+    boolean truncated
+) {}
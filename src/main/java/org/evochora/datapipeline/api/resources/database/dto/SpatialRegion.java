@@ -22,4 +22,23 @@ public class SpatialRegion {
     public int getDimensions() {
         return bounds.length / 2;
     }
+
+    /**
+     * Checks whether coordinates lie within the bounds (inclusive).
+     * <p>
+     * Only the dimensions present in both the region and the coordinates are compared, so a
+     * 2D region filters higher-dimensional coordinates by their first two components.
+     *
+     * @param coords Coordinates to check
+     * @return true if every compared component is within its min/max pair
+     */
+    public boolean contains(int[] coords) {
+        int dimensions = Math.min(getDimensions(), coords.length);
+        for (int d = 0; d < dimensions; d++) {
+            if (coords[d] < bounds[d * 2] || coords[d] > bounds[d * 2 + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
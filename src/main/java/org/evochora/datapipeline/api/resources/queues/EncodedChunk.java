@@ -0,0 +1,124 @@
+package org.evochora.datapipeline.api.resources.queues;
+
+import java.io.IOException;
+
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+
+/**
+ * A {@link TickDataChunk} that has already been serialized, together with the metadata needed
+ * for routing, file naming and idempotency.
+ * <p>
+ * Used by the serialize-once transport: the producer encodes the chunk once, queues carry the
+ * bytes unchanged (metadata travels in message headers), and storage appends the bytes to the
+ * batch file without parsing or re-encoding them.
+ * <p>
+ * The producer may additionally compress the chunk ({@code EncodedChunkCompression}). A
+ * compressed chunk's {@code data} is one self-contained codec frame holding the length-delimited
+ * chunk record exactly as it appears in a batch file, so storage using the same codec appends the
+ * frame without recompressing it.
+ *
+ * @param simulationRunId the simulation run the chunk belongs to
+ * @param firstTick       first tick number in the chunk
+ * @param lastTick        last tick number in the chunk
+ * @param tickCount       number of ticks in the chunk
+ * @param data            protobuf bytes of the TickDataChunk message (not length-delimited), or a
+ *                        compressed frame if {@code compression} is not {@value #UNCOMPRESSED}
+ * @param compression     name of the codec that compressed {@code data}, or {@value #UNCOMPRESSED}
+ */
+public record EncodedChunk(String simulationRunId, long firstTick, long lastTick, int tickCount, byte[] data,
+                           String compression) {
+
+    /** Codec name of uncompressed chunks. */
+    public static final String UNCOMPRESSED = "none";
+
+    /**
+     * Creates an uncompressed encoded chunk.
+     *
+     * @param simulationRunId the simulation run the chunk belongs to
+     * @param firstTick       first tick number in the chunk
+     * @param lastTick        last tick number in the chunk
+     * @param tickCount       number of ticks in the chunk
+     * @param data            protobuf bytes of the TickDataChunk message (not length-delimited)
+     */
+    public EncodedChunk(String simulationRunId, long firstTick, long lastTick, int tickCount, byte[] data) {
+        this(simulationRunId, firstTick, lastTick, tickCount, data, UNCOMPRESSED);
+    }
+
+    /**
+     * Returns whether {@code data} is a compressed frame rather than plain protobuf bytes.
+     *
+     * @return true if compressed
+     */
+    public boolean isCompressed() {
+        return !UNCOMPRESSED.equals(compression);
+    }
+
+    /**
+     * Serializes a chunk.
+     *
+     * @param chunk the chunk to encode
+     * @return the encoded chunk with metadata copied from the message
+     */
+    public static EncodedChunk of(TickDataChunk chunk) {
+        return new EncodedChunk(chunk.getSimulationRunId(), chunk.getFirstTick(), chunk.getLastTick(),
+            chunk.getTickCount(), chunk.toByteArray());
+    }
+
+    /**
+     * Wraps serialized TickDataChunk bytes, extracting the metadata fields via partial parse.
+     * <p>
+     * Only the leading metadata fields are read; snapshot and delta data are skipped.
+     *
+     * @param data protobuf bytes of a TickDataChunk message
+     * @return the encoded chunk
+     * @throws InvalidProtocolBufferException if the bytes are not a valid message
+     */
+    public static EncodedChunk fromBytes(byte[] data) throws InvalidProtocolBufferException {
+        try {
+            CodedInputStream cis = CodedInputStream.newInstance(data);
+            String simulationRunId = "";
+            long firstTick = 0;
+            long lastTick = 0;
+            int tickCount = 0;
+            int fieldsFound = 0;
+
+            while (fieldsFound < 4) {
+                int tag = cis.readTag();
+                if (tag == 0) {
+                    break;
+                }
+                switch (WireFormat.getTagFieldNumber(tag)) {
+                    case TickDataChunk.SIMULATION_RUN_ID_FIELD_NUMBER -> { simulationRunId = cis.readString(); fieldsFound++; }
+                    case TickDataChunk.FIRST_TICK_FIELD_NUMBER -> { firstTick = cis.readInt64(); fieldsFound++; }
+                    case TickDataChunk.LAST_TICK_FIELD_NUMBER -> { lastTick = cis.readInt64(); fieldsFound++; }
+                    case TickDataChunk.TICK_COUNT_FIELD_NUMBER -> { tickCount = cis.readInt32(); fieldsFound++; }
+                    default -> cis.skipField(tag);
+                }
+            }
+            return new EncodedChunk(simulationRunId, firstTick, lastTick, tickCount, data);
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+    }
+
+    /**
+     * Parses the full chunk.
+     *
+     * @return the decoded chunk
+     * @throws InvalidProtocolBufferException if the bytes are not a valid message
+     * @throws IllegalStateException if the chunk is compressed (decompress it first)
+     */
+    public TickDataChunk decode() throws InvalidProtocolBufferException {
+        if (isCompressed()) {
+            throw new IllegalStateException("Chunk " + firstTick + "-" + lastTick + " is compressed with '"
+                + compression + "', decompress it before decoding");
+        }
+        return TickDataChunk.parseFrom(data);
+    }
+}
@@ -0,0 +1,37 @@
+package org.evochora.datapipeline.api.resources.queues;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional capability of chunk input queues: delivers chunks as serialized bytes without parsing
+ * them.
+ * <p>
+ * Same batch semantics as {@link IInputQueueResource#receiveBatch(int, long, TimeUnit)}
+ * (consecutive ranges, commit/rollback), but the {@link EncodedChunk} metadata is taken from
+ * message headers. Chunks sent with a plain {@code put(TickDataChunk)} are delivered too.
+ * <p>
+ * Wrappers implement this interface unconditionally and report through
+ * {@link #supportsEncodedChunks()} whether the wrapped queue does.
+ */
+public interface IEncodedChunkInput {
+
+    /**
+     * Returns whether {@link #receiveEncodedBatch(int, long, TimeUnit)} is supported.
+     *
+     * @return true if chunks can be received in encoded form
+     */
+    boolean supportsEncodedChunks();
+
+    /**
+     * Receives a batch of up to {@code maxSize} encoded chunks.
+     *
+     * @param maxSize the maximum number of chunks to receive
+     * @param timeout how long to wait for at least one chunk
+     * @param unit    the time unit of the timeout parameter
+     * @return a {@link StreamingBatch} containing 0 to {@code maxSize} chunks (never null)
+     * @throws InterruptedException if interrupted while waiting
+     * @throws UnsupportedOperationException if {@link #supportsEncodedChunks()} is false
+     */
+    StreamingBatch<EncodedChunk> receiveEncodedBatch(int maxSize, long timeout, TimeUnit unit)
+        throws InterruptedException;
+}
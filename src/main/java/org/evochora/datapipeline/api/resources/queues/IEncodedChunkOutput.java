@@ -0,0 +1,30 @@
+package org.evochora.datapipeline.api.resources.queues;
+
+/**
+ * Optional capability of chunk output queues: accepts chunks that are already serialized.
+ * <p>
+ * Queues that would otherwise serialize each {@code TickDataChunk} themselves (e.g. broker-backed
+ * queues) send the bytes unchanged and put the {@link EncodedChunk} metadata into message headers.
+ * <p>
+ * Wrappers implement this interface unconditionally and report through
+ * {@link #supportsEncodedChunks()} whether the wrapped queue does. Producers should check it once
+ * and fall back to {@link IOutputQueueResource#put(Object)} otherwise.
+ */
+public interface IEncodedChunkOutput {
+
+    /**
+     * Returns whether {@link #putEncoded(EncodedChunk)} is supported.
+     *
+     * @return true if encoded chunks can be sent
+     */
+    boolean supportsEncodedChunks();
+
+    /**
+     * Sends a pre-serialized chunk, blocking while the queue is full.
+     *
+     * @param chunk the encoded chunk
+     * @throws InterruptedException if interrupted while waiting
+     * @throws UnsupportedOperationException if {@link #supportsEncodedChunks()} is false
+     */
+    void putEncoded(EncodedChunk chunk) throws InterruptedException;
+}
@@ -0,0 +1,23 @@
+package org.evochora.datapipeline.api.resources.queues;
+
+/**
+ * Optional capability of output queues: reports how full the queue is.
+ * <p>
+ * Complements {@code getUsageState("queue-out")}, which only turns to {@code WAITING} once the
+ * queue is full. Producers that want to react before they block (e.g. by degrading what they send)
+ * poll the fill ratio instead.
+ * <p>
+ * Wrappers implement this interface unconditionally and return {@code -1} if the wrapped queue
+ * does not report a fill level.
+ */
+public interface IQueueFillLevel {
+
+    /**
+     * Returns the current fill level relative to the queue's capacity.
+     * <p>
+     * Must be cheap enough to be called from a producer's hot loop at a modest rate.
+     *
+     * @return fill ratio in {@code [0, 1]}, or {@code -1} if unknown
+     */
+    double getFillRatio();
+}
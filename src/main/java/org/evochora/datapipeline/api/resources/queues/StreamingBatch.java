@@ -67,6 +67,42 @@ public interface StreamingBatch<T> extends Iterable<T>, AutoCloseable {
      */
     void commit();
 
+    /**
+     * Returns the producer-side sequence number of the first message, if the queue assigns one.
+     * <p>
+     * Partitioned queues number messages in send order. A batch then covers the consecutive
+     * range {@code [firstSequence(), firstSequence() + size())}, which lets consumers restore the
+     * global order of results produced by parallel consumers.
+     *
+     * @return the sequence number of the first message, or -1 if not tracked or the batch is empty
+     */
+    default long firstSequence() {
+        return -1;
+    }
+
+    /**
+     * Identifies the numbering that {@link #firstSequence()} belongs to.
+     * <p>
+     * A producer restarts its numbering at 0 for a new simulation run and after its own
+     * restart; each numbering has its own epoch, so consumers must only order batches of the
+     * same epoch against each other.
+     *
+     * @return the sequence epoch, or null if sequence numbers are not tracked
+     */
+    default String sequenceEpoch() {
+        return null;
+    }
+
+    /**
+     * Returns whether this is the last delivery attempt of the batch: if it is not committed,
+     * the broker moves its messages to the dead-letter address instead of redelivering them.
+     *
+     * @return true on the final attempt; false if further redeliveries follow or this is unknown
+     */
+    default boolean isFinalDeliveryAttempt() {
+        return false;
+    }
+
     /**
      * Releases this batch, rolling back unacknowledged messages for redelivery.
      * <p>
@@ -23,12 +23,30 @@ public interface IAnalyticsStorageRead extends IResource, IMonitorable {
      * @param runId The simulation run ID
      * @param path Relative path (e.g. "population/lod0/batch_001.parquet")
      * @return Stream to read data from. Caller must close it.
-     * @throws IOException If file not found or readable.
+     * @throws java.nio.file.NoSuchFileException If the file does not exist.
+     * @throws IOException If the file is not readable.
      */
     InputStream openAnalyticsInputStream(String runId, String path) throws IOException;
 
+    /**
+     * Returns the last-modified timestamp of an analysis artifact.
+     * <p>
+     * Used by readers that cache artifacts locally: together with the path, the timestamp
+     * identifies one version of a file, so a rewritten file is never served from a stale copy.
+     *
+     * @param runId The simulation run ID
+     * @param path Relative path (e.g. "population/lod0/batch_001.parquet")
+     * @return Last-modified time in epoch milliseconds
+     * @throws java.nio.file.NoSuchFileException If the file does not exist.
+     * @throws IOException If storage access fails.
+     */
+    long getAnalyticsLastModified(String runId, String path) throws IOException;
+
     /**
      * Lists all analytics artifacts matching a prefix.
+     * <p>
+     * Batch Parquet files whose tick range is fully covered by another batch file in the same
+     * directory (i.e. files superseded by a compacted file) are not listed.
      *
      * @param runId The simulation run ID
      * @param prefix Path prefix (e.g. "population/") or empty for root.
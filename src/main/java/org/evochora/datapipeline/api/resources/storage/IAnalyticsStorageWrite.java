@@ -27,6 +27,9 @@ public interface IAnalyticsStorageWrite extends IResource, IMonitorable {
      * <p>
      * The implementation handles path resolution relative to its analytics root.
      * Parent directories are created automatically.
+     * <p>
+     * The artifact becomes visible to readers atomically when the stream is closed;
+     * a partially written file is never listed.
      *
      * @param runId The simulation run ID (to separate artifacts by run)
      * @param metricId The metric/plugin identifier (e.g. "population")
@@ -54,6 +57,18 @@ public interface IAnalyticsStorageWrite extends IResource, IMonitorable {
         return openAnalyticsOutputStream(runId, metricId, lodLevel, null, filename);
     }
 
+    /**
+     * Deletes an analysis artifact. Deleting a file that does not exist is not an error.
+     * <p>
+     * Used by compaction to remove batch files after a merged replacement was published, and by
+     * the analytics indexer to retire provisional LOD files once no bucket is open.
+     *
+     * @param runId The simulation run ID
+     * @param path Relative path as returned by {@link IAnalyticsStorageRead#listAnalyticsFiles(String, String)}
+     * @throws IOException If the file exists but cannot be deleted.
+     */
+    void deleteAnalyticsFile(String runId, String path) throws IOException;
+
     /**
      * Writes a complete blob atomically (optional helper).
      *
@@ -3,6 +3,7 @@ package org.evochora.datapipeline.api.resources.storage;
 import com.google.protobuf.MessageLite;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
 import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
 
 import java.io.IOException;
 import java.util.Iterator;
@@ -99,4 +100,18 @@ public interface IBatchStorageWrite extends IResource {
      */
     StreamingWriteResult writeChunkBatchStreaming(Iterator<TickDataChunk> chunks) throws IOException;
 
+    /**
+     * Writes pre-serialized chunks from an iterator to storage without parsing or re-encoding them.
+     * <p>
+     * Same semantics and file format as {@link #writeChunkBatchStreaming(Iterator)}; folder, file
+     * name and result metadata are taken from the {@link EncodedChunk} fields. Used with queues that
+     * deliver encoded chunks ({@code IEncodedChunkInput}).
+     *
+     * @param chunks iterator over encoded chunks (must have at least one element)
+     * @return result containing storage path, tick range, chunk count, and bytes written
+     * @throws IOException if the write fails (temp file is cleaned up)
+     * @throws IllegalArgumentException if the iterator is null or empty
+     */
+    StreamingWriteResult writeEncodedChunkBatchStreaming(Iterator<EncodedChunk> chunks) throws IOException;
+
 }
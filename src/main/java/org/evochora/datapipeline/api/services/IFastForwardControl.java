@@ -0,0 +1,28 @@
+package org.evochora.datapipeline.api.services;
+
+/**
+ * Capability of a simulation service to fast-forward: simulate up to a target tick without
+ * observing or capturing anything, then continue in normal sampled mode.
+ * <p>
+ * Implementations must be thread-safe: the control API calls {@link #fastForward(long)} while
+ * the service's own thread simulates.
+ */
+public interface IFastForwardControl {
+
+    /**
+     * Requests a fast-forward up to {@code untilTick}. The request takes effect at the next tick
+     * boundary (implementations may first complete a unit of captured data, e.g. a chunk); the
+     * target tick itself is captured as a snapshot.
+     *
+     * @param untilTick the tick at which normal sampling resumes
+     * @throws IllegalStateException if {@code untilTick} is not after the current tick
+     */
+    void fastForward(long untilTick);
+
+    /**
+     * Returns the tick at which the active or pending fast-forward ends.
+     *
+     * @return the target tick, or -1 if no fast-forward is active or pending
+     */
+    long getFastForwardTarget();
+}
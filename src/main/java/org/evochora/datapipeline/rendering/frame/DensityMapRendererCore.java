@@ -0,0 +1,677 @@
+package org.evochora.datapipeline.rendering.frame;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.runtime.model.EnvironmentProperties;
+
+import com.typesafe.config.Config;
+
+/**
+ * Density heatmap renderer showing organism concentration as a Viridis colormap
+ * overlaid on the environment cell composition.
+ * <p>
+ * Renders in two layers:
+ * <ol>
+ *   <li><strong>Background:</strong> Environment cell types via majority voting
+ *       (delegated to {@link EnvironmentBackgroundLayer})</li>
+ *   <li><strong>Foreground:</strong> Organism density heatmap using Viridis colormap,
+ *       alpha-blended over the background</li>
+ * </ol>
+ * <p>
+ * Density is computed per output pixel then spatially smoothed using a separable
+ * box blur. This produces smooth "heat clouds" even when organisms are sparsely
+ * distributed.
+ * <p>
+ * <strong>Configuration:</strong>
+ * <ul>
+ *   <li>{@code scale} - Fraction of world size, 0 &lt; scale &lt; 1 (default: 0.3)</li>
+ *   <li>{@code count-dps} - Count data pointer positions in addition to instruction pointers
+ *       (default: false)</li>
+ *   <li>{@code blur-radius} - Blur kernel radius in output pixels (default: 5)</li>
+ * </ul>
+ * <p>
+ * <strong>Thread Safety:</strong> Not thread-safe. Use one renderer per thread.
+ */
+public class DensityMapRendererCore extends FrameRendererCore {
+
+    private final double scale;
+    private final boolean countDps;
+    private final int blurRadius;
+
+    /**
+     * Viridis colormap lookup table (256 entries, RGB packed as int).
+     */
+    private static final int[] VIRIDIS_LUT = generateViridisLUT();
+
+    /**
+     * Grids with at least this many pixels are blurred in parallel stripes.
+     */
+    private static final int PARALLEL_BLUR_MIN_PIXELS = 1 << 18;
+
+    /**
+     * Minimum rows per parallel blur stripe.
+     */
+    private static final int MIN_STRIPE_ROWS = 32;
+
+    /**
+     * Largest running maximum for which a blend table is used.
+     */
+    private static final int MAX_BLEND_LUT_SIZE = 1 << 20;
+
+    // Environment and dimensions
+    private EnvironmentProperties envProps;
+    private int outputWidth;
+    private int outputHeight;
+
+    // Frame buffer
+    private BufferedImage frame;
+    private int[] frameBuffer;
+
+    // Environment background layer (cell aggregation + rendering)
+    private EnvironmentBackgroundLayer background;
+
+    // Density state
+    private int[] densityGrid;      // raw organism counts per output pixel
+    private int[] blurredDensity;   // after box blur
+    private int[] blurTemp;         // temporary buffer for separable blur
+    private int maxBlurred;         // running maximum (monotonically increasing)
+
+    // Incremental density state
+    private int[] contributions;         // counted pixel indices of the previous tick
+    private int contributionCount;
+    private int[] nextContributions;     // counted pixel indices of the current tick
+    private int nextContributionCount;
+    private int[] countDelta;            // pending count change per pixel (zero between ticks)
+    private int[] touchStamp;            // generation in which a pixel was last touched
+    private int stampGeneration;
+    private int[] touched;               // pixels touched in the current tick
+
+    // Blend table for the current maximum
+    private int[] blendLut = new int[0];
+    private int blendLutMax;
+
+    private boolean initialized = false;
+
+    /**
+     * Creates a renderer from its HOCON options.
+     *
+     * @param options The renderer options (see class documentation).
+     * @throws IllegalArgumentException if an option is out of range.
+     */
+    public DensityMapRendererCore(Config options) {
+        this(options.hasPath("scale") ? options.getDouble("scale") : 0.3,
+             options.hasPath("count-dps") && options.getBoolean("count-dps"),
+             options.hasPath("blur-radius") ? options.getInt("blur-radius") : 5);
+    }
+
+    /**
+     * Creates a renderer.
+     *
+     * @param scale      Fraction of world size (0 &lt; scale &lt; 1).
+     * @param countDps   Whether data pointer positions count in addition to instruction pointers.
+     * @param blurRadius Blur kernel radius in output pixels.
+     * @throws IllegalArgumentException if {@code scale} is out of range.
+     */
+    public DensityMapRendererCore(double scale, boolean countDps, int blurRadius) {
+        if (scale <= 0 || scale >= 1) {
+            throw new IllegalArgumentException(
+                    "Density map scale must be between 0 and 1 (exclusive), got: " + scale);
+        }
+        this.scale = scale;
+        this.countDps = countDps;
+        this.blurRadius = blurRadius;
+    }
+
+    @Override
+    public void init(EnvironmentProperties envProps) {
+        this.envProps = envProps;
+        int worldWidth = envProps.getWorldShape()[0];
+        int worldHeight = envProps.getWorldShape()[1];
+        // Round down to even dimensions (required by H.264/H.265 macroblock alignment)
+        this.outputWidth = Math.max(2, (int) (worldWidth * scale) & ~1);
+        this.outputHeight = Math.max(2, (int) (worldHeight * scale) & ~1);
+
+        // Frame buffer
+        this.frame = new BufferedImage(outputWidth, outputHeight, BufferedImage.TYPE_INT_RGB);
+        this.frameBuffer = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+
+        // Environment background
+        this.background = new EnvironmentBackgroundLayer(worldWidth, worldHeight, outputWidth, outputHeight);
+
+        // Density state
+        int outputSize = outputWidth * outputHeight;
+        this.densityGrid = new int[outputSize];
+        this.blurredDensity = new int[outputSize];
+        this.blurTemp = new int[outputSize];
+        this.maxBlurred = 0;
+        this.contributions = new int[64];
+        this.contributionCount = 0;
+        this.nextContributions = new int[64];
+        this.nextContributionCount = 0;
+        this.countDelta = new int[outputSize];
+        this.touchStamp = new int[outputSize];
+        this.stampGeneration = 0;
+        this.touched = new int[128];
+        this.blendLutMax = 0;
+
+        this.initialized = true;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Core rendering API
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    @Override
+    public DensityMapRendererCore createThreadInstance() {
+        if (envProps == null) {
+            throw new IllegalStateException("Cannot create thread instance before init() is called");
+        }
+        DensityMapRendererCore copy = new DensityMapRendererCore(scale, countDps, blurRadius);
+        copy.init(envProps);
+        return copy;
+    }
+
+    @Override
+    public int[] renderSnapshot(TickData snapshot) {
+        applySnapshotState(snapshot);
+        return renderCurrentState();
+    }
+
+    @Override
+    public int[] renderDelta(TickDelta delta) {
+        applyDeltaState(delta);
+        return renderCurrentState();
+    }
+
+    @Override
+    public void applySnapshotState(TickData snapshot) {
+        ensureInitialized();
+        background.processSnapshotCells(snapshot.getCellColumns());
+        buildDensityGrid(snapshot.getOrganismsList());
+    }
+
+    @Override
+    public void applyDeltaState(TickDelta delta) {
+        ensureInitialized();
+        background.processDeltaCells(delta.getChangedCells());
+        buildDensityGrid(delta.getOrganismsList());
+    }
+
+    @Override
+    public int[] renderCurrentState() {
+        ensureInitialized();
+
+        // Layer 1: Cell background
+        background.renderTo(frameBuffer);
+
+        // Layer 2: Density heatmap alpha-blended on top
+        renderDensityOverlay();
+
+        return frameBuffer;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Density computation
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Updates the density grid and its blur from the organisms of the current tick.
+     * <p>
+     * Only pixels whose count changed since the previous tick are updated: the box blur is a
+     * sum, so a count change of {@code d} at one pixel adds {@code d} to the blurred values in
+     * the (clipped) square of side {@code 2 × radius + 1} around it. When so many pixels changed
+     * that this is more work than a full blur, the grid is blurred from scratch instead.
+     *
+     * @param organisms List of organisms from snapshot or delta.
+     */
+    private void buildDensityGrid(List<OrganismState> organisms) {
+        collectContributions(organisms);
+
+        // Net count change per pixel: previous contributions out, new ones in
+        stampGeneration++;
+        int touchedCount = 0;
+        for (int i = 0; i < contributionCount; i++) {
+            touchedCount = touch(contributions[i], -1, touchedCount);
+        }
+        for (int i = 0; i < nextContributionCount; i++) {
+            touchedCount = touch(nextContributions[i], 1, touchedCount);
+        }
+
+        // Keep the pixels whose count changed (pixels whose organisms stayed have a zero delta)
+        int changedCount = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int pixelIdx = touched[i];
+            if (countDelta[pixelIdx] != 0) {
+                touched[changedCount++] = pixelIdx;
+            }
+        }
+
+        long side = 2L * Math.max(0, blurRadius) + 1;
+        boolean fullBlur = changedCount * side * side >= densityGrid.length;
+
+        for (int i = 0; i < changedCount; i++) {
+            int pixelIdx = touched[i];
+            int delta = countDelta[pixelIdx];
+            countDelta[pixelIdx] = 0;
+            densityGrid[pixelIdx] += delta;
+            if (!fullBlur) {
+                addToBlurred(pixelIdx, delta);
+            }
+        }
+
+        if (fullBlur) {
+            boxBlur(densityGrid, blurredDensity, blurTemp, outputWidth, outputHeight, blurRadius,
+                    densityGrid.length >= PARALLEL_BLUR_MIN_PIXELS);
+            // Update running maximum
+            for (int v : blurredDensity) {
+                if (v > maxBlurred) {
+                    maxBlurred = v;
+                }
+            }
+        }
+
+        // The new contributions are the previous ones of the next tick
+        int[] swap = contributions;
+        contributions = nextContributions;
+        contributionCount = nextContributionCount;
+        nextContributions = swap;
+    }
+
+    /**
+     * Collects the output pixel of every counted position (IPs, and data pointers with
+     * {@code --count-dps}) of the living organisms into {@link #nextContributions}.
+     */
+    private void collectContributions(List<OrganismState> organisms) {
+        int totalPixels = densityGrid.length;
+        int count = 0;
+        for (OrganismState org : organisms) {
+            if (org.getIsDead()) continue;
+
+            int needed = count + 1 + (countDps ? org.getDataPointersCount() : 0);
+            if (needed > nextContributions.length) {
+                nextContributions = Arrays.copyOf(nextContributions, Math.max(needed, nextContributions.length * 2));
+            }
+
+            int pixelIdx = background.worldCoordsToPixelIndex(
+                    org.getIp().getComponents(0),
+                    org.getIp().getComponents(1));
+            if (pixelIdx >= 0 && pixelIdx < totalPixels) {
+                nextContributions[count++] = pixelIdx;
+            }
+
+            if (countDps) {
+                for (Vector dp : org.getDataPointersList()) {
+                    int dpIdx = background.worldCoordsToPixelIndex(
+                            dp.getComponents(0),
+                            dp.getComponents(1));
+                    if (dpIdx >= 0 && dpIdx < totalPixels) {
+                        nextContributions[count++] = dpIdx;
+                    }
+                }
+            }
+        }
+        nextContributionCount = count;
+    }
+
+    /**
+     * Adds {@code delta} to a pixel's pending count change and records the pixel once per tick.
+     *
+     * @return The new number of touched pixels.
+     */
+    private int touch(int pixelIdx, int delta, int touchedCount) {
+        if (touchStamp[pixelIdx] != stampGeneration) {
+            touchStamp[pixelIdx] = stampGeneration;
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touched.length * 2);
+            }
+            touched[touchedCount++] = pixelIdx;
+        }
+        countDelta[pixelIdx] += delta;
+        return touchedCount;
+    }
+
+    /**
+     * Adds a count change at one pixel to the blurred density of its neighborhood.
+     */
+    private void addToBlurred(int pixelIdx, int delta) {
+        int radius = Math.max(0, blurRadius);
+        int px = pixelIdx % outputWidth;
+        int py = pixelIdx / outputWidth;
+        int x0 = Math.max(0, px - radius);
+        int x1 = Math.min(outputWidth - 1, px + radius);
+        int y0 = Math.max(0, py - radius);
+        int y1 = Math.min(outputHeight - 1, py + radius);
+
+        for (int y = y0; y <= y1; y++) {
+            int rowOffset = y * outputWidth;
+            for (int i = rowOffset + x0; i <= rowOffset + x1; i++) {
+                blurredDensity[i] += delta;
+            }
+        }
+
+        if (delta > 0) {
+            // Only increased values can raise the running maximum
+            for (int y = y0; y <= y1; y++) {
+                int rowOffset = y * outputWidth;
+                for (int i = rowOffset + x0; i <= rowOffset + x1; i++) {
+                    if (blurredDensity[i] > maxBlurred) {
+                        maxBlurred = blurredDensity[i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Separable box blur (sum, not average) using sliding window.
+     * O(pixels) regardless of radius.
+     *
+     * @param src    Source array (raw counts).
+     * @param dst    Destination array (blurred result).
+     * @param temp   Temporary buffer for intermediate horizontal pass.
+     * @param width  Grid width.
+     * @param height Grid height.
+     * @param radius Blur radius in pixels.
+     */
+    static void boxBlur(int[] src, int[] dst, int[] temp,
+                        int width, int height, int radius) {
+        boxBlur(src, dst, temp, width, height, radius, false);
+    }
+
+    /**
+     * Separable box blur (sum, not average), optionally split into horizontal row stripes
+     * that are blurred in parallel.
+     * <p>
+     * Both passes work row by row: the vertical pass keeps a running sum per column and
+     * adds/removes whole rows, so its inner loops are plain array additions that the JIT
+     * vectorizes. A stripe seeds its column sums from the rows above it, so stripes are
+     * independent and the result does not depend on the stripe count.
+     *
+     * @param src      Source array (raw counts).
+     * @param dst      Destination array (blurred result).
+     * @param temp     Temporary buffer for intermediate horizontal pass.
+     * @param width    Grid width.
+     * @param height   Grid height.
+     * @param radius   Blur radius in pixels.
+     * @param parallel Whether to blur stripes on the common fork-join pool.
+     */
+    static void boxBlur(int[] src, int[] dst, int[] temp,
+                        int width, int height, int radius, boolean parallel) {
+        if (radius <= 0) {
+            System.arraycopy(src, 0, dst, 0, src.length);
+            return;
+        }
+
+        int stripes = parallel
+                ? Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), height / MIN_STRIPE_ROWS))
+                : 1;
+        if (stripes == 1) {
+            blurRowsHorizontal(src, temp, width, 0, height, radius);
+            blurRowsVertical(temp, dst, width, height, 0, height, radius);
+            return;
+        }
+
+        // Horizontal pass must be complete before the vertical pass reads neighbouring rows
+        IntStream.range(0, stripes).parallel().forEach(stripe ->
+                blurRowsHorizontal(src, temp, width,
+                        stripeStart(stripe, stripes, height), stripeStart(stripe + 1, stripes, height), radius));
+        IntStream.range(0, stripes).parallel().forEach(stripe ->
+                blurRowsVertical(temp, dst, width, height,
+                        stripeStart(stripe, stripes, height), stripeStart(stripe + 1, stripes, height), radius));
+    }
+
+    private static int stripeStart(int stripe, int stripes, int height) {
+        return (int) ((long) stripe * height / stripes);
+    }
+
+    /**
+     * Horizontal sliding-window sums of rows [y0, y1): src → temp.
+     */
+    private static void blurRowsHorizontal(int[] src, int[] temp, int width, int y0, int y1, int radius) {
+        for (int y = y0; y < y1; y++) {
+            int rowOffset = y * width;
+            int sum = 0;
+
+            // Seed window [0, radius]
+            for (int x = 0; x <= radius && x < width; x++) {
+                sum += src[rowOffset + x];
+            }
+
+            for (int x = 0; x < width; x++) {
+                temp[rowOffset + x] = sum;
+
+                // Expand right edge
+                int addX = x + radius + 1;
+                if (addX < width) sum += src[rowOffset + addX];
+
+                // Shrink left edge
+                int removeX = x - radius;
+                if (removeX >= 0) sum -= src[rowOffset + removeX];
+            }
+        }
+    }
+
+    /**
+     * Vertical sliding-window sums of rows [y0, y1): temp → dst, one whole row at a time.
+     */
+    private static void blurRowsVertical(int[] temp, int[] dst, int width, int height,
+                                         int y0, int y1, int radius) {
+        int[] columnSums = new int[width];
+
+        // Seed window [y0 - radius, y0 + radius]
+        for (int y = Math.max(0, y0 - radius); y <= y0 + radius && y < height; y++) {
+            int rowOffset = y * width;
+            for (int x = 0; x < width; x++) {
+                columnSums[x] += temp[rowOffset + x];
+            }
+        }
+
+        for (int y = y0; y < y1; y++) {
+            System.arraycopy(columnSums, 0, dst, y * width, width);
+
+            int addY = y + radius + 1;
+            if (addY < height) {
+                int addOffset = addY * width;
+                for (int x = 0; x < width; x++) {
+                    columnSums[x] += temp[addOffset + x];
+                }
+            }
+
+            int removeY = y - radius;
+            if (removeY >= 0) {
+                int removeOffset = removeY * width;
+                for (int x = 0; x < width; x++) {
+                    columnSums[x] -= temp[removeOffset + x];
+                }
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Density overlay rendering
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Alpha-blends the density heatmap over the cell background.
+     * <p>
+     * Color index and alpha only depend on the blurred value and the running maximum, so they
+     * are looked up from a table rebuilt when the maximum changes, instead of two divisions
+     * per pixel. Blending divides by 255 with an exact shift formula.
+     */
+    private void renderDensityOverlay() {
+        if (maxBlurred == 0) return;
+
+        int[] blendLut = blendLut();
+        int totalPixels = outputWidth * outputHeight;
+        for (int i = 0; i < totalPixels; i++) {
+            int blurred = blurredDensity[i];
+            if (blurred == 0) continue;
+
+            int entry = blendLut != null ? blendLut[blurred] : blendEntry(blurred, maxBlurred);
+            int alpha = entry >>> 8;
+
+            // Alpha blend Viridis color over cell background
+            int viridis = VIRIDIS_LUT[entry & 0xFF];
+            int bg = frameBuffer[i];
+
+            int invA = 255 - alpha;
+            int r = div255(((viridis >> 16) & 0xFF) * alpha + ((bg >> 16) & 0xFF) * invA);
+            int g = div255(((viridis >> 8) & 0xFF) * alpha + ((bg >> 8) & 0xFF) * invA);
+            int b = div255((viridis & 0xFF) * alpha + (bg & 0xFF) * invA);
+
+            frameBuffer[i] = (r << 16) | (g << 8) | b;
+        }
+    }
+
+    /**
+     * Returns the blend table for the current maximum ({@code alpha << 8 | colorIndex} per
+     * blurred value), or {@code null} if the maximum is too large for a table.
+     */
+    private int[] blendLut() {
+        if (maxBlurred > MAX_BLEND_LUT_SIZE) {
+            return null;
+        }
+        if (blendLutMax != maxBlurred) {
+            if (blendLut.length <= maxBlurred) {
+                blendLut = new int[Math.max(maxBlurred + 1, blendLut.length * 2)];
+            }
+            for (int v = 1; v <= maxBlurred; v++) {
+                blendLut[v] = blendEntry(v, maxBlurred);
+            }
+            blendLutMax = maxBlurred;
+        }
+        return blendLut;
+    }
+
+    /**
+     * Computes color index and alpha for a blurred value, packed as {@code alpha << 8 | colorIndex}.
+     */
+    private static int blendEntry(int blurred, int maxBlurred) {
+        // Map density to Viridis color index (1-255, skip 0 for transparency)
+        int colorIndex = (int) (((long) blurred * 255) / maxBlurred);
+        if (colorIndex > 255) colorIndex = 255;
+        if (colorIndex < 1) colorIndex = 1;
+
+        // Alpha: proportional to density (max 230 so background peeks through)
+        int alpha = (int) (((long) blurred * 230) / maxBlurred);
+        if (alpha > 230) alpha = 230;
+
+        return (alpha << 8) | colorIndex;
+    }
+
+    /**
+     * Exact {@code value / 255} for {@code 0 <= value <= 255 × 255}.
+     */
+    static int div255(int value) {
+        return (value + 1 + (value >> 8)) >> 8;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Viridis colormap
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Generates a 256-entry Viridis colormap lookup table.
+     * Uses linear interpolation between control points sampled from the
+     * standard matplotlib Viridis colormap.
+     *
+     * @return Array of 256 RGB-packed int values.
+     */
+    private static int[] generateViridisLUT() {
+        int[][] cp = {
+            {0,   68,  1,   84},
+            {16,  72,  26,  108},
+            {32,  68,  50,  126},
+            {48,  58,  72,  138},
+            {64,  49,  92,  142},
+            {80,  38,  112, 142},
+            {96,  31,  129, 141},
+            {112, 30,  148, 134},
+            {128, 34,  162, 126},
+            {144, 56,  176, 113},
+            {160, 86,  188, 97},
+            {176, 122, 198, 78},
+            {192, 160, 206, 57},
+            {208, 199, 212, 39},
+            {224, 232, 217, 35},
+            {240, 252, 225, 34},
+            {255, 253, 231, 37}
+        };
+
+        int[] lut = new int[256];
+        int cpIdx = 0;
+
+        for (int i = 0; i < 256; i++) {
+            while (cpIdx < cp.length - 2 && cp[cpIdx + 1][0] <= i) {
+                cpIdx++;
+            }
+
+            float t = (float) (i - cp[cpIdx][0]) / (cp[cpIdx + 1][0] - cp[cpIdx][0]);
+            t = Math.max(0, Math.min(1, t));
+
+            int r = Math.round(cp[cpIdx][1] + (cp[cpIdx + 1][1] - cp[cpIdx][1]) * t);
+            int g = Math.round(cp[cpIdx][2] + (cp[cpIdx + 1][2] - cp[cpIdx][2]) * t);
+            int b = Math.round(cp[cpIdx][3] + (cp[cpIdx + 1][3] - cp[cpIdx][3]) * t);
+
+            lut[i] = (r << 16) | (g << 8) | b;
+        }
+
+        return lut;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Utilities
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    private void ensureInitialized() {
+        if (!initialized) {
+            throw new IllegalStateException(
+                    "Renderer not initialized. Call init(EnvironmentProperties) first.");
+        }
+    }
+
+    /**
+     * Returns the raw density grid for testing.
+     *
+     * @return Organism counts per output pixel.
+     */
+    int[] getDensityGrid() {
+        return densityGrid;
+    }
+
+    /**
+     * Returns the blurred density for testing.
+     *
+     * @return Blurred counts per output pixel.
+     */
+    int[] getBlurredDensity() {
+        return blurredDensity;
+    }
+
+    @Override
+    public BufferedImage getFrame() {
+        ensureInitialized();
+        return frame;
+    }
+
+    @Override
+    public int getImageWidth() {
+        ensureInitialized();
+        return outputWidth;
+    }
+
+    @Override
+    public int getImageHeight() {
+        ensureInitialized();
+        return outputHeight;
+    }
+}
@@ -1,4 +1,4 @@
-package org.evochora.cli.rendering.frame;
+package org.evochora.datapipeline.rendering.frame;
 
 import org.evochora.datapipeline.api.contracts.CellDataColumns;
 import org.evochora.runtime.Config;
@@ -9,7 +9,7 @@ import org.evochora.runtime.Config;
  * Manages cell type state for a scaled-down output grid and renders the background
  * using majority voting among cell types that map to each output pixel. Used as a
  * composable layer by renderers that need an environment background (e.g.
- * {@link MinimapFrameRenderer}, {@link DensityMapRenderer}).
+ * {@link MinimapFrameRendererCore}, {@link DensityMapRendererCore}).
  * <p>
  * <strong>Performance:</strong> Uses generation numbers for O(1) state reset instead of
  * O(worldSize) Arrays.fill. Aggregation counts are built incrementally during cell processing.
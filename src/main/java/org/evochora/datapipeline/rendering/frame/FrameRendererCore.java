@@ -0,0 +1,70 @@
+package org.evochora.datapipeline.rendering.frame;
+
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.rendering.IFrameRenderer;
+
+/**
+ * Base class of the frame renderers shared by the {@code video} command and the server-side
+ * frame endpoint.
+ * <p>
+ * A core draws the environment and its organisms and nothing else: it has no overlays and no
+ * command-line options. Its options come from HOCON, through the public {@code (Config)}
+ * constructor every core provides, so it can be configured by class name. The {@code video}
+ * command wraps each core in a renderer that adds its picocli options and the overlays.
+ * <p>
+ * Besides the {@link IFrameRenderer} contract, cores support sampling mode: ticks applied with
+ * {@link #applySnapshotState(TickData)}/{@link #applyDeltaState(TickDelta)} are drawn at once
+ * by {@link #renderCurrentState()}.
+ * <p>
+ * <strong>Thread Safety:</strong> Not thread-safe. Use {@link #createThreadInstance()} to
+ * obtain one instance per thread.
+ */
+public abstract class FrameRendererCore implements IFrameRenderer {
+
+    /**
+     * Applies snapshot state WITHOUT rendering.
+     *
+     * @param snapshot The snapshot tick data containing full environment state.
+     */
+    public abstract void applySnapshotState(TickData snapshot);
+
+    /**
+     * Applies delta state WITHOUT rendering.
+     *
+     * @param delta The delta containing only changed cells.
+     */
+    public abstract void applyDeltaState(TickDelta delta);
+
+    /**
+     * Renders the current internal state to pixels.
+     *
+     * @return The pixel buffer of the rendered frame.
+     */
+    public abstract int[] renderCurrentState();
+
+    /**
+     * Updates the history that carries over between chunks from a tick that is not drawn.
+     * <p>
+     * Cores whose colors depend on the order in which organisms were seen override this to
+     * mirror their render path. Default implementation does nothing (no history).
+     *
+     * @param organisms The organisms of the tick.
+     * @param rendered  Whether the tick is drawn as a frame.
+     */
+    public void replayTick(List<OrganismState> organisms, boolean rendered) {
+        // Default: no history
+    }
+
+    /**
+     * Creates a new instance with the same options, initialized with the same environment.
+     *
+     * @return A new, initialized core.
+     * @throws IllegalStateException if init() has not been called.
+     */
+    @Override
+    public abstract FrameRendererCore createThreadInstance();
+}
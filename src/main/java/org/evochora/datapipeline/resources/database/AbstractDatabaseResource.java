@@ -58,8 +58,9 @@ public abstract class AbstractDatabaseResource extends AbstractResource
             case "db-meta-read" -> new MetadataReaderWrapper(this, context);
             case "db-env-write" -> new EnvironmentDataWriterWrapper(this, context);
             case "db-organism-write" -> new OrganismDataWriterWrapper(this, context);
+            case "db-env-tile-write" -> new EnvironmentTileWriterWrapper(this, context);
             default -> throw new IllegalArgumentException(
-                    "Unknown database usage type: " + usageType + ". Supported: db-meta-write, db-meta-read, db-env-write, db-organism-write");
+                    "Unknown database usage type: " + usageType + ". Supported: db-meta-write, db-meta-read, db-env-write, db-organism-write, db-env-tile-write");
         };
         
         // Track wrapper for cleanup
@@ -243,6 +244,50 @@ public abstract class AbstractDatabaseResource extends AbstractResource
      */
     protected abstract void doCommitOrganismWrites(Object connection) throws Exception;
 
+    // ========================================================================
+    // IEnvironmentTileWriter Capability
+    // ========================================================================
+
+    /**
+     * Creates the environment_tiles table in the current schema if it does not already exist.
+     * <p>
+     * <strong>Capability:</strong> {@link org.evochora.datapipeline.api.resources.database.IEnvironmentTileWriter#createEnvironmentTileTable()}
+     * <p>
+     * <strong>Transaction Handling:</strong> Must commit on success, rollback on failure.
+     *
+     * @param connection Database connection (from {@link #acquireDedicatedConnection()})
+     * @throws Exception if table creation fails
+     */
+    protected abstract void doCreateEnvironmentTileTable(Object connection) throws Exception;
+
+    /**
+     * Adds environment tiles to the current write batch.
+     * <p>
+     * <strong>Capability:</strong> {@link org.evochora.datapipeline.api.resources.database.IEnvironmentTileWriter#writeTiles(java.util.List)}
+     * <p>
+     * <strong>Transaction Handling:</strong> This method does NOT commit. The caller
+     * accumulates multiple ticks and calls {@link #doCommitEnvironmentTiles(Object)}
+     * to commit the batch.
+     *
+     * @param connection Database connection (from {@link #acquireDedicatedConnection()})
+     * @param tiles Tiles to write
+     * @throws SQLException if write fails
+     */
+    protected abstract void doWriteEnvironmentTiles(Object connection,
+            java.util.List<org.evochora.datapipeline.api.contracts.EnvironmentTile> tiles) throws SQLException;
+
+    /**
+     * Commits all tiles accumulated via {@link #doWriteEnvironmentTiles}.
+     * <p>
+     * <strong>Capability:</strong> {@link org.evochora.datapipeline.api.resources.database.IEnvironmentTileWriter#commitTiles()}
+     * <p>
+     * <strong>Transaction Handling:</strong> Must commit on success, rollback on failure.
+     *
+     * @param connection Database connection (from {@link #acquireDedicatedConnection()})
+     * @throws SQLException if commit fails
+     */
+    protected abstract void doCommitEnvironmentTiles(Object connection) throws SQLException;
+
     // ========================================================================
     // IMetadataReader Capability
     // ========================================================================
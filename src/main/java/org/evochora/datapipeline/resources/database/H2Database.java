@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.evochora.datapipeline.api.contracts.EnvironmentTile;
 import org.evochora.datapipeline.api.contracts.SimulationMetadata;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
@@ -60,6 +61,10 @@ public class H2Database extends AbstractDatabaseResource
     private final Map<String, SimulationMetadata> metadataCache;
     private final int maxCacheSize;
 
+    // Lineage indexes per run (LRU, refreshed incrementally from the organisms table)
+    private final Map<String, LineageIndex> lineageIndexes;
+    private final long lineageRefreshIntervalMs;
+
     // Reader connection tracking (only createReader connections, not wrapper connections)
     private final ConcurrentHashMap<Connection, Long> readerCheckoutTimes = new ConcurrentHashMap<>();
     private final long readerConnectionWarningThresholdMs;
@@ -159,6 +164,22 @@ public class H2Database extends AbstractDatabaseResource
                 }
             }
         );
+
+        // Initialize lineage index cache (one Euler-tour index per run)
+        int maxLineageRuns = options.hasPath("lineageIndexCacheSize")
+            ? options.getInt("lineageIndexCacheSize")
+            : 4;
+        this.lineageRefreshIntervalMs = options.hasPath("lineageRefreshIntervalMs")
+            ? options.getLong("lineageRefreshIntervalMs")
+            : 1000L;
+        this.lineageIndexes = Collections.synchronizedMap(
+            new LinkedHashMap<String, LineageIndex>(maxLineageRuns, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LineageIndex> eldest) {
+                    return size() > maxLineageRuns;
+                }
+            }
+        );
     }
 
     /**
@@ -583,6 +604,84 @@ public class H2Database extends AbstractDatabaseResource
         }
     }
 
+    // ========================================================================
+    // IEnvironmentTileWriter Capability
+    // ========================================================================
+
+    /**
+     * Creates the environment_tiles table (one row per tile and tick).
+     */
+    @Override
+    protected void doCreateEnvironmentTileTable(Object connection) throws Exception {
+        Connection conn = (Connection) connection;
+        try (Statement stmt = conn.createStatement()) {
+            H2SchemaUtil.executeDdlIfNotExists(
+                stmt,
+                "CREATE TABLE IF NOT EXISTS environment_tiles (" +
+                "  zoom INT NOT NULL," +
+                "  tile_x INT NOT NULL," +
+                "  tile_y INT NOT NULL," +
+                "  tick_number BIGINT NOT NULL," +
+                "  tile_blob BYTEA NOT NULL," +
+                "  PRIMARY KEY (zoom, tile_x, tile_y, tick_number)" +
+                ")",
+                "environment_tiles"
+            );
+        }
+        conn.commit();
+    }
+
+    /**
+     * Writes tiles via a batched MERGE (idempotent for redelivered chunks).
+     * <p>
+     * No commit — tiles are accumulated and committed via
+     * {@link #doCommitEnvironmentTiles(Object)}.
+     */
+    @Override
+    protected void doWriteEnvironmentTiles(Object connection, List<EnvironmentTile> tiles) throws SQLException {
+        Connection conn = (Connection) connection;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "MERGE INTO environment_tiles (zoom, tile_x, tile_y, tick_number, tile_blob) " +
+                "KEY (zoom, tile_x, tile_y, tick_number) VALUES (?, ?, ?, ?, ?)")) {
+            for (EnvironmentTile tile : tiles) {
+                stmt.setInt(1, tile.getZoom());
+                stmt.setInt(2, tile.getTileX());
+                stmt.setInt(3, tile.getTileY());
+                stmt.setLong(4, tile.getTickNumber());
+                stmt.setBytes(5, tile.toByteArray());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Commits the tiles written since the last commit.
+     * <p>
+     * Rolls back on failure and restores the interrupt flag if it was set.
+     */
+    @Override
+    protected void doCommitEnvironmentTiles(Object connection) throws SQLException {
+        Connection conn = (Connection) connection;
+
+        boolean wasInterrupted = Thread.interrupted();
+
+        try {
+            conn.commit();
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                log.warn("{}: rollback failed during environment tile commit: {}", getResourceName(), rollbackEx.getMessage());
+            }
+            throw e;
+        } finally {
+            if (wasInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     // ========================================================================
     // IMetadataReader Capability
     // ========================================================================
@@ -1058,6 +1157,24 @@ public class H2Database extends AbstractDatabaseResource
         }
     }
 
+    /**
+     * Returns the current lineage tree of a run, brought up to date with the organisms table.
+     * <p>
+     * The index is shared by all readers of the run and refreshed at most once per
+     * {@code lineageRefreshIntervalMs}. While one reader refreshes, the others get the
+     * previous tree instead of waiting.
+     *
+     * @param conn Connection with the run's schema set
+     * @param runId The simulation run ID
+     * @return The current (immutable) tree
+     * @throws SQLException if reading the organisms table fails
+     */
+    LineageIndex.Tree getLineageTreeInternal(Connection conn, String runId) throws SQLException {
+        LineageIndex index = lineageIndexes.computeIfAbsent(runId, key -> new LineageIndex(lineageRefreshIntervalMs));
+        index.refresh(conn);
+        return index.tree();
+    }
+
     boolean hasMetadataInternal(Connection conn, String runId) throws SQLException {
         try {
             return doHasMetadata(conn, runId);
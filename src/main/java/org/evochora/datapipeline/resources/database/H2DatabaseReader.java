@@ -5,10 +5,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.evochora.datapipeline.api.contracts.EnvironmentTile;
 import org.evochora.datapipeline.api.contracts.SimulationMetadata;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
 import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
@@ -17,10 +17,12 @@ import org.evochora.datapipeline.api.resources.database.TickNotFoundException;
 import org.evochora.datapipeline.api.resources.database.dto.InstructionView;
 import org.evochora.datapipeline.api.resources.database.dto.InstructionsView;
 import org.evochora.datapipeline.api.resources.database.dto.LineageEntry;
+import org.evochora.datapipeline.api.resources.database.dto.OrganismLineage;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismRuntimeView;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismStaticInfo;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickDetails;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickSummary;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
 import org.evochora.datapipeline.resources.database.h2.IH2EnvStorageStrategy;
 import org.evochora.datapipeline.resources.database.h2.IH2OrgStorageStrategy;
 
@@ -69,6 +71,37 @@ public class H2DatabaseReader implements IDatabaseReader {
         return envStrategy.readChunkContaining(connection, tickNumber);
     }
     
+    @Override
+    public EnvironmentTile readTile(long tickNumber, int zoom, int tileX, int tileY)
+            throws SQLException, TickNotFoundException {
+        ensureNotClosed();
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT tile_blob FROM environment_tiles " +
+                "WHERE zoom = ? AND tile_x = ? AND tile_y = ? AND tick_number <= ? " +
+                "ORDER BY tick_number DESC LIMIT 1")) {
+            stmt.setInt(1, zoom);
+            stmt.setInt(2, tileX);
+            stmt.setInt(3, tileY);
+            stmt.setLong(4, tickNumber);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new TickNotFoundException("No tile " + zoom + "/" + tileX + "/" + tileY
+                        + " indexed at or before tick " + tickNumber);
+                }
+                return EnvironmentTile.parseFrom(rs.getBytes("tile_blob"));
+            }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            throw new SQLException("Failed to parse environment tile " + zoom + "/" + tileX + "/" + tileY, e);
+        } catch (SQLException e) {
+            // Tile indexer not (yet) running for this run
+            if (e.getErrorCode() == 42104 || e.getErrorCode() == 42102
+                    || (e.getMessage().contains("Table") && e.getMessage().contains("not found"))) {
+                throw new TickNotFoundException("No environment tiles indexed for run " + runId);
+            }
+            throw e;
+        }
+    }
+
     private EnvironmentProperties extractEnvironmentProperties(SimulationMetadata metadata) {
         // Parse environment config from resolvedConfigJson
         Config resolvedConfig = ConfigFactory.parseString(metadata.getResolvedConfigJson());
@@ -138,6 +171,17 @@ public class H2DatabaseReader implements IDatabaseReader {
         return orgStrategy.readOrganismsAtTick(connection, tickNumber);
     }
 
+    @Override
+    public List<OrganismTickSummary> readOrganismsAtTick(long tickNumber, SpatialRegion region) throws SQLException {
+        ensureNotClosed();
+
+        if (tickNumber < 0) {
+            throw new IllegalArgumentException("tickNumber must be non-negative");
+        }
+
+        return orgStrategy.readOrganismsAtTick(connection, tickNumber, region);
+    }
+
     @Override
     public int readTotalOrganismsCreated(long tickNumber) throws SQLException {
         ensureNotClosed();
@@ -147,10 +191,11 @@ public class H2DatabaseReader implements IDatabaseReader {
     /**
      * {@inheritDoc}
      * <p>
-     * Queries the {@code organisms} static table directly (strategy-independent).
-     * Self-referencing rows (child genome equals parent genome, i.e. no mutation) are excluded
-     * by the SQL filter. When multiple organisms share the same genome hash, the first by
-     * {@code organism_id} determines the parent mapping.
+     * Served from the run's {@link LineageIndex} (built from the strategy-independent
+     * {@code organisms} static table), so no self-join is needed per request.
+     * Self-referencing rows (child genome equals parent genome, i.e. no mutation) are excluded.
+     * When multiple organisms share the same genome hash, the first by {@code organism_id}
+     * determines the parent mapping.
      * <p>
      * Not thread-safe — each {@link H2DatabaseReader} instance holds a dedicated connection
      * and must not be shared across threads.
@@ -158,29 +203,60 @@ public class H2DatabaseReader implements IDatabaseReader {
     @Override
     public Map<Long, Long> readGenomeLineageTree(long tickNumber) throws SQLException {
         ensureNotClosed();
+        return database.getLineageTreeInternal(connection, runId).genomeLineageTree(tickNumber);
+    }
 
-        String sql = """
-            SELECT c.genome_hash, p.genome_hash AS parent_genome_hash
-            FROM organisms c
-            LEFT JOIN organisms p ON c.parent_id = p.organism_id
-            WHERE c.birth_tick <= ? AND c.genome_hash != 0
-              AND (p.genome_hash IS NULL OR c.genome_hash != p.genome_hash)
-            ORDER BY c.organism_id
-            """;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Descendants are a contiguous pre-order range of the run's {@link LineageIndex}.
+     */
+    @Override
+    public OrganismLineage readOrganismLineage(int organismId, long tickNumber, int descendantLimit)
+            throws SQLException, OrganismNotFoundException {
+        ensureNotClosed();
+        if (organismId < 0) {
+            throw new IllegalArgumentException("organismId must be non-negative");
+        }
+        if (descendantLimit < 0) {
+            throw new IllegalArgumentException("descendantLimit must be non-negative");
+        }
 
-        Map<Long, Long> tree = new LinkedHashMap<>();
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, tickNumber);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    long genomeHash = rs.getLong("genome_hash");
-                    if (tree.containsKey(genomeHash)) continue;
-                    long parentGenomeHash = rs.getLong("parent_genome_hash");
-                    tree.put(genomeHash, (rs.wasNull() || parentGenomeHash == 0) ? null : parentGenomeHash);
-                }
-            }
+        LineageIndex.Tree index = requireIndexed(organismId);
+        int descendantCount = index.descendantCount(organismId, tickNumber);
+        List<Integer> descendants = index.descendants(organismId, tickNumber, descendantLimit);
+        return new OrganismLineage(
+                organismId,
+                index.rootId(organismId),
+                index.depth(organismId),
+                index.ancestors(organismId),
+                descendantCount,
+                descendants,
+                descendants.size() < descendantCount);
+    }
+
+    @Override
+    public Integer readCommonAncestor(int organismId, int otherOrganismId)
+            throws SQLException, OrganismNotFoundException {
+        ensureNotClosed();
+        if (organismId < 0 || otherOrganismId < 0) {
+            throw new IllegalArgumentException("organismId must be non-negative");
         }
-        return tree;
+
+        // One tree for both lookups, so a concurrent refresh cannot split them
+        LineageIndex.Tree index = requireIndexed(otherOrganismId);
+        if (!index.contains(organismId)) {
+            throw new OrganismNotFoundException("No organism metadata for id " + organismId);
+        }
+        return index.commonAncestor(organismId, otherOrganismId);
+    }
+
+    private LineageIndex.Tree requireIndexed(int organismId) throws SQLException, OrganismNotFoundException {
+        LineageIndex.Tree index = database.getLineageTreeInternal(connection, runId);
+        if (!index.contains(organismId)) {
+            throw new OrganismNotFoundException("No organism metadata for id " + organismId);
+        }
+        return index;
     }
 
     @Override
@@ -371,14 +447,21 @@ public class H2DatabaseReader implements IDatabaseReader {
     }
 
     /**
-     * Reads the ancestry chain for an organism via recursive CTE.
+     * Reads the ancestry chain for an organism from the run's {@link LineageIndex}.
      * Returns direct parent first, oldest ancestor last. Empty list for initial organisms.
+     * <p>
+     * Falls back to a recursive CTE if the organism was committed after the index's last refresh.
      *
      * @param organismId The organism to trace ancestry for.
      * @return Ancestry chain (never null).
      * @throws SQLException if database query fails.
      */
     private List<LineageEntry> readLineage(int organismId) throws SQLException {
+        LineageIndex.Tree index = database.getLineageTreeInternal(connection, runId);
+        if (index.contains(organismId)) {
+            return index.ancestors(organismId);
+        }
+
         String sql = """
             WITH RECURSIVE ancestors(org_id, depth) AS (
                 SELECT parent_id, 1
@@ -0,0 +1,452 @@
+package org.evochora.datapipeline.resources.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.evochora.datapipeline.api.resources.database.dto.LineageEntry;
+
+/**
+ * Euler-tour index over the birth tree of one run's {@code organisms} table.
+ * <p>
+ * Every organism gets a pre-order number {@code tin} and the end of its subtree {@code tout}
+ * (exclusive). All descendants of X are then the contiguous range {@code (tin[X], tout[X])} of
+ * the pre-order array, so descendant listing, subtree size and ancestor tests are range
+ * operations instead of recursive walks over {@code parent_id}.
+ * <p>
+ * <strong>Maintenance:</strong> Only rows with an ID above the highest loaded ID are read on
+ * {@link #refresh(Connection)} (organism IDs are assigned in birth order). If a row below that
+ * mark appears later (competing indexers committing out of order), the index is reloaded. The
+ * pre-order numbering is recomputed in memory after each change, which is linear in the number
+ * of organisms and cheaper than renumbering persisted labels, since a single birth under an old
+ * ancestor shifts the numbers of every later subtree. Organisms whose parent is not in the table
+ * (initial organisms, or parents never captured by a sampled tick) are roots.
+ * <p>
+ * <strong>Thread Safety:</strong> Thread-safe. Queries run on an immutable {@link Tree} and never
+ * wait: a refresh loads and renumbers into a new tree and then swaps it in. At most one thread
+ * refreshes at a time; other callers keep using the current tree instead of waiting for it.
+ */
+final class LineageIndex {
+
+    private static final int NONE = -1;
+
+    private final long refreshIntervalMs;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile long lastRefreshMs;
+
+    /** The current numbering, replaced as a whole by {@link #refresh(Connection)}. */
+    private volatile Tree tree = new Tree(0, new int[0], new long[0], new long[0], new int[0],
+        new int[0], new int[0], new int[0], new int[0], new int[0], new int[0], NONE);
+
+    // Loaded rows, indexed by slot (load order); only accessed while holding refreshLock
+    private int size;
+    private int[] ids = new int[0];
+    private int[] parentIds = new int[0];
+    private long[] birthTicks = new long[0];
+    private long[] genomeHashes = new long[0];
+    /** organism_id → slot, {@link #NONE} if not loaded. */
+    private int[] slotById = new int[0];
+    private int maxLoadedId = NONE;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param refreshIntervalMs Minimum time between two database checks for new organisms
+     */
+    LineageIndex(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    /**
+     * Loads organisms added since the last refresh and swaps in a renumbered tree if anything
+     * changed.
+     * <p>
+     * Skipped if the previous check is less than {@code refreshIntervalMs} old, or if another
+     * thread is already refreshing a non-empty index.
+     *
+     * @param conn Connection with the run's schema set
+     * @throws SQLException if reading the organisms table fails
+     */
+    void refresh(Connection conn) throws SQLException {
+        if (isFresh()) {
+            return;
+        }
+        if (!refreshLock.tryLock()) {
+            if (tree.size() > 0) {
+                return; // serve the current tree while another thread refreshes
+            }
+            refreshLock.lock(); // nothing to serve yet: wait for the first load
+        }
+        try {
+            if (isFresh()) {
+                return;
+            }
+            lastRefreshMs = System.currentTimeMillis();
+
+            boolean reloaded = false;
+            if (maxLoadedId != NONE && countRowsUpTo(conn, maxLoadedId) != size) {
+                clear(); // rows appeared below the high-water mark
+                reloaded = true;
+            }
+
+            int before = size;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT organism_id, parent_id, birth_tick, genome_hash FROM organisms "
+                        + "WHERE organism_id > ? ORDER BY organism_id")) {
+                stmt.setInt(1, maxLoadedId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int parentId = rs.getInt("parent_id");
+                        append(rs.getInt("organism_id"), rs.wasNull() ? NONE : parentId,
+                            rs.getLong("birth_tick"), rs.getLong("genome_hash"));
+                    }
+                }
+            }
+            if (size != before || reloaded) {
+                tree = renumber();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current tree. Use one tree for all lookups of a request, so that they see the
+     * same numbering even if a refresh swaps in a new tree meanwhile.
+     *
+     * @return The immutable current tree
+     */
+    Tree tree() {
+        return tree;
+    }
+
+    private boolean isFresh() {
+        return tree.size() > 0 && System.currentTimeMillis() - lastRefreshMs < refreshIntervalMs;
+    }
+
+    private long countRowsUpTo(Connection conn, int organismId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM organisms WHERE organism_id <= ?")) {
+            stmt.setInt(1, organismId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private void append(int id, int parentId, long birthTick, long genomeHash) {
+        if (id < 0) {
+            return;
+        }
+        if (size == ids.length) {
+            int capacity = Math.max(16, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            parentIds = Arrays.copyOf(parentIds, capacity);
+            birthTicks = Arrays.copyOf(birthTicks, capacity);
+            genomeHashes = Arrays.copyOf(genomeHashes, capacity);
+        }
+        if (id >= slotById.length) {
+            int oldLength = slotById.length;
+            slotById = Arrays.copyOf(slotById, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(slotById, oldLength, slotById.length, NONE);
+        }
+        ids[size] = id;
+        parentIds[size] = parentId;
+        birthTicks[size] = birthTick;
+        genomeHashes[size] = genomeHash;
+        slotById[id] = size;
+        size++;
+        maxLoadedId = Math.max(maxLoadedId, id);
+    }
+
+    private void clear() {
+        size = 0;
+        Arrays.fill(slotById, NONE);
+        maxLoadedId = NONE;
+    }
+
+    /**
+     * Builds a new tree from the loaded rows: parent links, depths and the Euler tour with an
+     * iterative DFS. The row arrays are copied, so the tree stays valid while loading continues.
+     */
+    private Tree renumber() {
+        int n = size;
+        int[] treeSlotById = Arrays.copyOf(slotById, maxLoadedId + 1);
+        int[] parentSlot = new int[n];
+        int[] depth = new int[n];
+        int[] rootSlot = new int[n];
+        int[] tin = new int[n];
+        int[] tout = new int[n];
+        int[] order = new int[n];
+
+        // Children in CSR layout, ordered by organism ID (= birth order)
+        int[] childCount = new int[n + 1];
+        for (int slot = 0; slot < n; slot++) {
+            int parentId = parentIds[slot];
+            int parent = parentId >= 0 && parentId < treeSlotById.length ? treeSlotById[parentId] : NONE;
+            parentSlot[slot] = parent == slot ? NONE : parent;
+            if (parentSlot[slot] != NONE) {
+                childCount[parentSlot[slot] + 1]++;
+            }
+        }
+        int[] childStart = childCount;
+        for (int slot = 0; slot < n; slot++) {
+            childStart[slot + 1] += childStart[slot];
+        }
+        int[] children = new int[childStart[n]];
+        int[] fill = Arrays.copyOf(childStart, n);
+        for (int id = 0; id <= maxLoadedId; id++) {
+            int slot = treeSlotById[id];
+            if (slot != NONE && parentSlot[slot] != NONE) {
+                children[fill[parentSlot[slot]]++] = slot;
+            }
+        }
+
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int time = 0;
+        // Roots first in ID order; a second pass picks up nodes on parent cycles (corrupt data)
+        for (int pass = 0; pass < 2; pass++) {
+            for (int id = 0; id <= maxLoadedId; id++) {
+                int root = treeSlotById[id];
+                if (root == NONE || visited[root] || (pass == 0 && parentSlot[root] != NONE)) {
+                    continue;
+                }
+                parentSlot[root] = pass == 0 ? parentSlot[root] : NONE;
+                depth[root] = 0;
+                int top = 0;
+                stack[top++] = root;
+                visited[root] = true;
+                while (top > 0) {
+                    int slot = stack[--top];
+                    rootSlot[slot] = root;
+                    tin[slot] = time;
+                    order[time++] = slot;
+                    // Push in reverse so the oldest child is visited first
+                    for (int c = childStart[slot + 1] - 1; c >= childStart[slot]; c--) {
+                        int child = children[c];
+                        if (!visited[child]) {
+                            visited[child] = true;
+                            depth[child] = depth[slot] + 1;
+                            stack[top++] = child;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Subtree end = tin + subtree size, accumulated bottom-up in reverse pre-order
+        int[] subtreeSize = new int[n];
+        for (int t = n - 1; t >= 0; t--) {
+            int slot = order[t];
+            subtreeSize[slot]++;
+            if (parentSlot[slot] != NONE) {
+                subtreeSize[parentSlot[slot]] += subtreeSize[slot];
+            }
+        }
+        for (int slot = 0; slot < n; slot++) {
+            tout[slot] = tin[slot] + subtreeSize[slot];
+        }
+
+        return new Tree(n, Arrays.copyOf(ids, n), Arrays.copyOf(birthTicks, n), Arrays.copyOf(genomeHashes, n),
+            treeSlotById, parentSlot, depth, rootSlot, tin, tout, order, maxLoadedId);
+    }
+
+    /**
+     * One immutable numbering of the birth tree.
+     * <p>
+     * <strong>Thread Safety:</strong> Immutable; safe to share between readers.
+     */
+    static final class Tree {
+
+        private final int size;
+        private final int[] ids;
+        private final long[] birthTicks;
+        private final long[] genomeHashes;
+        private final int[] slotById;
+        private final int[] parentSlot;
+        private final int[] depth;
+        private final int[] rootSlot;
+        private final int[] tin;
+        private final int[] tout;
+        /** Slots in pre-order. */
+        private final int[] order;
+        private final int maxId;
+
+        private Tree(int size, int[] ids, long[] birthTicks, long[] genomeHashes, int[] slotById,
+                     int[] parentSlot, int[] depth, int[] rootSlot, int[] tin, int[] tout, int[] order,
+                     int maxId) {
+            this.size = size;
+            this.ids = ids;
+            this.birthTicks = birthTicks;
+            this.genomeHashes = genomeHashes;
+            this.slotById = slotById;
+            this.parentSlot = parentSlot;
+            this.depth = depth;
+            this.rootSlot = rootSlot;
+            this.tin = tin;
+            this.tout = tout;
+            this.order = order;
+            this.maxId = maxId;
+        }
+
+        /**
+         * Returns whether the organism is part of the tree.
+         */
+        boolean contains(int organismId) {
+            return slotOf(organismId) != NONE;
+        }
+
+        /**
+         * Returns the ancestry chain, direct parent first and oldest ancestor last.
+         *
+         * @param organismId An indexed organism
+         * @return Ancestors with their genome hashes (empty for roots)
+         */
+        List<LineageEntry> ancestors(int organismId) {
+            List<LineageEntry> lineage = new ArrayList<>();
+            for (int slot = parentSlot[requireSlot(organismId)]; slot != NONE; slot = parentSlot[slot]) {
+                lineage.add(new LineageEntry(ids[slot], genomeHashes[slot]));
+            }
+            return lineage;
+        }
+
+        /**
+         * Returns the number of generations between the organism and its root (0 for roots).
+         */
+        int depth(int organismId) {
+            return depth[requireSlot(organismId)];
+        }
+
+        /**
+         * Returns the ID of the root of the organism's tree (the organism itself for roots).
+         */
+        int rootId(int organismId) {
+            return ids[rootSlot[requireSlot(organismId)]];
+        }
+
+        /**
+         * Counts the descendants born up to and including the given tick.
+         *
+         * @param organismId An indexed organism
+         * @param maxBirthTick Inclusive birth tick bound ({@link Long#MAX_VALUE} for all)
+         * @return Number of descendants, excluding the organism itself
+         */
+        int descendantCount(int organismId, long maxBirthTick) {
+            int slot = requireSlot(organismId);
+            if (maxBirthTick == Long.MAX_VALUE) {
+                return tout[slot] - tin[slot] - 1;
+            }
+            int count = 0;
+            for (int t = tin[slot] + 1; t < tout[slot]; t++) {
+                if (birthTicks[order[t]] <= maxBirthTick) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Lists descendants born up to and including the given tick, in pre-order (depth-first,
+         * each subtree contiguous).
+         *
+         * @param organismId An indexed organism
+         * @param maxBirthTick Inclusive birth tick bound ({@link Long#MAX_VALUE} for all)
+         * @param limit Maximum number of IDs to return
+         * @return Descendant IDs
+         */
+        List<Integer> descendants(int organismId, long maxBirthTick, int limit) {
+            int slot = requireSlot(organismId);
+            List<Integer> result = new ArrayList<>(Math.min(limit, tout[slot] - tin[slot] - 1));
+            for (int t = tin[slot] + 1; t < tout[slot] && result.size() < limit; t++) {
+                int descendant = order[t];
+                if (birthTicks[descendant] <= maxBirthTick) {
+                    result.add(ids[descendant]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns whether {@code ancestorId} is an ancestor of (or equal to) {@code organismId}.
+         */
+        boolean isAncestor(int ancestorId, int organismId) {
+            return isAncestorSlot(requireSlot(ancestorId), requireSlot(organismId));
+        }
+
+        /**
+         * Finds the lowest common ancestor of two organisms.
+         * <p>
+         * If one organism descends from the other, the older one is returned.
+         *
+         * @return The common ancestor ID, or null if the organisms belong to different trees
+         */
+        Integer commonAncestor(int organismId, int otherOrganismId) {
+            int other = requireSlot(otherOrganismId);
+            for (int slot = requireSlot(organismId); slot != NONE; slot = parentSlot[slot]) {
+                if (isAncestorSlot(slot, other)) {
+                    return ids[slot];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Builds the genome lineage tree for organisms born up to the given tick.
+         * <p>
+         * Same semantics as the SQL variant it replaces: organisms are visited in ID order, the
+         * first organism of a genome defines its parent genome, genome hash 0 is skipped, and an
+         * organism whose genome equals its parent's genome (no mutation) contributes nothing.
+         *
+         * @param maxBirthTick Inclusive birth tick bound
+         * @return Map of genomeHash → parentGenomeHash (null for roots)
+         */
+        Map<Long, Long> genomeLineageTree(long maxBirthTick) {
+            Map<Long, Long> tree = new LinkedHashMap<>();
+            for (int id = 0; id <= maxId; id++) {
+                int slot = slotById[id];
+                if (slot == NONE || birthTicks[slot] > maxBirthTick || genomeHashes[slot] == 0) {
+                    continue;
+                }
+                long genomeHash = genomeHashes[slot];
+                int parent = parentSlot[slot];
+                long parentGenomeHash = parent != NONE ? genomeHashes[parent] : 0;
+                if ((parent != NONE && parentGenomeHash == genomeHash) || tree.containsKey(genomeHash)) {
+                    continue;
+                }
+                tree.put(genomeHash, parentGenomeHash == 0 ? null : parentGenomeHash);
+            }
+            return tree;
+        }
+
+        /**
+         * Returns the number of indexed organisms.
+         */
+        int size() {
+            return size;
+        }
+
+        private boolean isAncestorSlot(int ancestor, int slot) {
+            return tin[ancestor] <= tin[slot] && tin[slot] < tout[ancestor];
+        }
+
+        private int slotOf(int organismId) {
+            return organismId >= 0 && organismId < slotById.length ? slotById[organismId] : NONE;
+        }
+
+        private int requireSlot(int organismId) {
+            int slot = slotOf(organismId);
+            if (slot == NONE) {
+                throw new IllegalArgumentException("Organism not in lineage index: " + organismId);
+            }
+            return slot;
+        }
+    }
+}
@@ -6,7 +6,9 @@ import java.util.List;
 
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickSummary;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
 import org.evochora.datapipeline.api.resources.database.dto.TickRange;
+import org.evochora.datapipeline.utils.OrganismGridIndexUtil;
 
 /**
  * H2-specific strategy interface for storing and reading organism data.
@@ -113,6 +115,23 @@ public interface IH2OrgStorageStrategy {
      */
     List<OrganismTickSummary> readOrganismsAtTick(Connection conn, long tickNumber) 
             throws SQLException;
+
+    /**
+     * Reads the organisms whose IP or a data pointer lies in the region at the given tick.
+     * <p>
+     * The default reads all organisms and filters them. Strategies that store a spatial
+     * index override this to deserialize only organisms near the region.
+     *
+     * @param conn Database connection (schema already set)
+     * @param tickNumber Tick to read
+     * @param region Region to filter by (bounds inclusive)
+     * @return List of organism summaries touching the region (may be empty)
+     * @throws SQLException if database read fails
+     */
+    default List<OrganismTickSummary> readOrganismsAtTick(Connection conn, long tickNumber, SpatialRegion region)
+            throws SQLException {
+        return OrganismGridIndexUtil.filterByRegion(readOrganismsAtTick(conn, tickNumber), region);
+    }
     
     /**
      * Returns the available tick range for organism data.
@@ -10,21 +10,32 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.evochora.datapipeline.api.contracts.OrganismGridIndex;
 import org.evochora.datapipeline.api.contracts.OrganismState;
 import org.evochora.datapipeline.api.contracts.OrganismStateList;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.Vector;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickSummary;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
 import org.evochora.datapipeline.api.resources.database.dto.TickRange;
 import org.evochora.datapipeline.utils.H2SchemaUtil;
+import org.evochora.datapipeline.utils.OrganismGridIndexUtil;
 import org.evochora.datapipeline.utils.compression.CompressionCodecFactory;
 import org.evochora.datapipeline.utils.compression.ICompressionCodec;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
 import com.typesafe.config.Config;
 
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
 /**
  * SingleBlobOrgStrategy: Stores all organisms of a tick in a single BLOB.
  * <p>
@@ -42,6 +53,9 @@ import com.typesafe.config.Config;
  * </ul>
  * <p>
  * <strong>Query Performance:</strong> Must deserialize entire tick for single organism lookup.
+ * Region queries use a per-tick spatial grid index ({@link OrganismGridIndex}, stored in
+ * {@code grid_index_blob}) and deserialize only organisms listed in overlapping buckets.
+ * The bucket size is set by option {@code spatialIndexBucketSize} (default 64, 0 disables).
  * <p>
  * <strong>Write Performance:</strong> Excellent (one row per tick, single MERGE).
  * <p>
@@ -56,16 +70,26 @@ public class SingleBlobOrgStrategy extends AbstractH2OrgStorageStrategy {
             "organism_id, parent_id, birth_tick, program_id, initial_position, genome_hash" +
             ") KEY (organism_id) VALUES (?, ?, ?, ?, ?, ?)";
 
-    private static final String STATES_MERGE_SQL = "MERGE INTO organism_ticks (tick_number, organisms_blob) " +
-            "KEY (tick_number) VALUES (?, ?)";
+    private static final String STATES_MERGE_SQL = "MERGE INTO organism_ticks (tick_number, organisms_blob, grid_index_blob) " +
+            "KEY (tick_number) VALUES (?, ?, ?)";
+
+    private static final int DEFAULT_SPATIAL_INDEX_BUCKET_SIZE = 64;
+
+    private final int spatialIndexBucketSize;
 
     /**
      * Creates SingleBlobOrgStrategy with optional compression.
      *
-     * @param options Config with optional compression block
+     * @param options Config with optional compression block and {@code spatialIndexBucketSize}
      */
     public SingleBlobOrgStrategy(Config options) {
         super(options);
+        this.spatialIndexBucketSize = options.hasPath("spatialIndexBucketSize")
+                ? options.getInt("spatialIndexBucketSize")
+                : DEFAULT_SPATIAL_INDEX_BUCKET_SIZE;
+        if (spatialIndexBucketSize < 0) {
+            throw new IllegalArgumentException("spatialIndexBucketSize must be >= 0, got " + spatialIndexBucketSize);
+        }
     }
 
     @Override
@@ -90,10 +114,18 @@ public class SingleBlobOrgStrategy extends AbstractH2OrgStorageStrategy {
                 stmt,
                 "CREATE TABLE IF NOT EXISTS organism_ticks (" +
                 "  tick_number BIGINT PRIMARY KEY," +
-                "  organisms_blob BYTEA NOT NULL" +
+                "  organisms_blob BYTEA NOT NULL," +
+                "  grid_index_blob BYTEA NULL" +
                 ")",
                 "organism_ticks"
             );
+
+            // Tables created before the spatial index lack the column
+            H2SchemaUtil.executeDdlIfNotExists(
+                stmt,
+                "ALTER TABLE organism_ticks ADD COLUMN IF NOT EXISTS grid_index_blob BYTEA NULL",
+                "organism_ticks.grid_index_blob"
+            );
         }
 
         markTablesCreated();
@@ -132,6 +164,13 @@ public class SingleBlobOrgStrategy extends AbstractH2OrgStorageStrategy {
             PreparedStatement statesStmt = session.statesStmt();
             statesStmt.setLong(1, tick.getTickNumber());
             statesStmt.setBytes(2, blob);
+            if (spatialIndexBucketSize > 0) {
+                statesStmt.setBytes(3, compress(
+                        OrganismGridIndexUtil.build(tick.getOrganismsList(), spatialIndexBucketSize),
+                        tick.getTickNumber()));
+            } else {
+                statesStmt.setNull(3, Types.VARBINARY);
+            }
             statesStmt.addBatch();
         }
     }
@@ -140,20 +179,24 @@ public class SingleBlobOrgStrategy extends AbstractH2OrgStorageStrategy {
      * Serializes all organisms of a tick to compressed BLOB.
      */
     private byte[] serializeOrganisms(TickData tick) throws SQLException {
+        OrganismStateList orgList = OrganismStateList.newBuilder()
+            .addAllOrganisms(tick.getOrganismsList())
+            .build();
+        return compress(orgList, tick.getTickNumber());
+    }
+
+    /**
+     * Serializes a message to a BLOB compressed with the configured codec.
+     */
+    private byte[] compress(MessageLite message, long tickNumber) throws SQLException {
         try {
-            OrganismStateList orgList = OrganismStateList.newBuilder()
-                .addAllOrganisms(tick.getOrganismsList())
-                .build();
-            
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             try (OutputStream compressed = codec.wrapOutputStream(baos)) {
-                orgList.writeTo(compressed);
+                message.writeTo(compressed);
             }
-            
             return baos.toByteArray();
-            
         } catch (IOException e) {
-            throw new SQLException("Failed to serialize organisms for tick: " + tick.getTickNumber(), e);
+            throw new SQLException("Failed to serialize organisms for tick: " + tickNumber, e);
         }
     }
     
@@ -170,6 +213,71 @@ public class SingleBlobOrgStrategy extends AbstractH2OrgStorageStrategy {
         java.util.Map<Integer, StaticInfo> staticInfoMap = readAllStaticInfo(conn);
         
         // 3. Convert to DTOs
+        return toSummaries(organisms, staticInfoMap);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Looks up candidate organism IDs in the tick's grid index, then deserializes only those
+     * organisms from the BLOB (all others are skipped at the wire level) and reads only their
+     * static info. Ticks written without an index fall back to reading all organisms.
+     */
+    @Override
+    public List<OrganismTickSummary> readOrganismsAtTick(Connection conn, long tickNumber, SpatialRegion region)
+            throws SQLException {
+        String sql = "SELECT organisms_blob, grid_index_blob FROM organism_ticks WHERE tick_number = ?";
+
+        List<OrganismState> organisms;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, tickNumber);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return new ArrayList<>();
+                }
+                byte[] indexData = rs.getBytes("grid_index_blob");
+                if (indexData == null || indexData.length == 0) {
+                    return OrganismGridIndexUtil.filterByRegion(readOrganismsAtTick(conn, tickNumber), region);
+                }
+
+                IntSet candidates;
+                try (InputStream in = decompress(indexData)) {
+                    candidates = OrganismGridIndexUtil.candidateIds(OrganismGridIndex.parseFrom(in), region);
+                } catch (IOException e) {
+                    throw new SQLException("Failed to decompress/deserialize grid index for tick " + tickNumber, e);
+                }
+                if (candidates.isEmpty()) {
+                    return new ArrayList<>();
+                }
+
+                byte[] blobData = rs.getBytes("organisms_blob");
+                try (InputStream in = decompress(blobData)) {
+                    organisms = parseOrganisms(in, candidates);
+                } catch (IOException e) {
+                    throw new SQLException("Failed to decompress/deserialize organisms for tick " + tickNumber, e);
+                }
+            }
+        }
+
+        // Bucket matches are candidates; keep organisms actually touching the region
+        organisms.removeIf(org -> !OrganismGridIndexUtil.touchesRegion(org, region));
+        if (organisms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        IntSet ids = new IntOpenHashSet(organisms.size());
+        for (OrganismState org : organisms) {
+            ids.add(org.getOrganismId());
+        }
+        return toSummaries(organisms, readStaticInfo(conn, ids));
+    }
+
+    /**
+     * Converts organism states to summaries, preferring static info from the organisms table.
+     */
+    private static List<OrganismTickSummary> toSummaries(List<OrganismState> organisms,
+                                                         java.util.Map<Integer, StaticInfo> staticInfoMap) {
         List<OrganismTickSummary> result = new ArrayList<>(organisms.size());
         for (OrganismState org : organisms) {
             int organismId = org.getOrganismId();
@@ -278,6 +386,72 @@ public class SingleBlobOrgStrategy extends AbstractH2OrgStorageStrategy {
         }
     }
     
+    /**
+     * Opens a decompressing stream over a BLOB, auto-detecting the codec.
+     */
+    private static InputStream decompress(byte[] blobData) throws IOException {
+        ICompressionCodec detectedCodec = CompressionCodecFactory.detectFromMagicBytes(blobData);
+        return detectedCodec.wrapInputStream(new ByteArrayInputStream(blobData));
+    }
+
+    /**
+     * Parses the organisms of a serialized {@link OrganismStateList} whose ID is in {@code ids}.
+     * <p>
+     * Each organism is a length-delimited field; only its leading {@code organism_id} is read
+     * before the rest is either parsed or skipped.
+     */
+    private static List<OrganismState> parseOrganisms(InputStream in, IntSet ids) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(in);
+        List<OrganismState> result = new ArrayList<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) != OrganismStateList.ORGANISMS_FIELD_NUMBER) {
+                input.skipField(tag);
+                continue;
+            }
+            ByteString organism = input.readBytes();
+            if (ids.contains(readOrganismId(organism))) {
+                result.add(OrganismState.parseFrom(organism));
+            }
+        }
+        return result;
+    }
+
+    private static int readOrganismId(ByteString organism) throws IOException {
+        CodedInputStream input = organism.newCodedInput();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == OrganismState.ORGANISM_ID_FIELD_NUMBER) {
+                return input.readInt32();
+            }
+            input.skipField(tag);
+        }
+        return 0; // Default value is not serialized
+    }
+
+    /**
+     * Reads static organism info (parent_id, birth_tick, genome_hash) for the given organisms.
+     */
+    private java.util.Map<Integer, StaticInfo> readStaticInfo(Connection conn, IntSet organismIds) throws SQLException {
+        String sql = "SELECT organism_id, parent_id, birth_tick, genome_hash FROM organisms WHERE organism_id = ANY(?)";
+
+        java.util.Map<Integer, StaticInfo> result = new java.util.HashMap<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setArray(1, conn.createArrayOf("INTEGER", organismIds.toArray(new Integer[0])));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int organismId = rs.getInt("organism_id");
+                    int parentIdRaw = rs.getInt("parent_id");
+                    Integer parentId = rs.wasNull() ? null : parentIdRaw;
+                    result.put(organismId, new StaticInfo(parentId, rs.getLong("birth_tick"), rs.getLong("genome_hash")));
+                }
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Reads static organism info (parent_id, birth_tick, genome_hash) for all organisms.
      */
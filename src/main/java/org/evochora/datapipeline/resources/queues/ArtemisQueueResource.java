@@ -1,5 +1,6 @@
 package org.evochora.datapipeline.resources.queues;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -7,8 +8,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import jakarta.jms.BytesMessage;
@@ -26,6 +32,7 @@ import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
 import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
 import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
 import org.evochora.datapipeline.api.memory.MemoryEstimate;
 import org.evochora.datapipeline.api.memory.SimulationParameters;
@@ -33,11 +40,16 @@ import org.evochora.datapipeline.api.resources.IContextualResource;
 import org.evochora.datapipeline.api.resources.IWrappedResource;
 import org.evochora.datapipeline.api.resources.OperationalError;
 import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkInput;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkOutput;
 import org.evochora.datapipeline.api.resources.queues.IInputQueueResource;
 import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
+import org.evochora.datapipeline.api.resources.queues.IQueueFillLevel;
 import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
 import org.evochora.datapipeline.resources.AbstractResource;
 import org.evochora.datapipeline.utils.JmsUtils;
+import org.evochora.datapipeline.utils.compression.EncodedChunkCompression;
 import org.evochora.datapipeline.utils.monitoring.SlidingWindowCounter;
 import org.evochora.datapipeline.resources.broker.EmbeddedBrokerRegistry;
 import org.evochora.datapipeline.resources.queues.wrappers.DirectInputQueueWrapper;
@@ -48,8 +60,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.protobuf.Any;
+import com.google.protobuf.Internal;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
@@ -80,11 +94,33 @@ import com.typesafe.config.ConfigFactory;
  * after the receive phase (before iteration/processing), preserving parallelism for the
  * write phase.
  * <p>
+ * <strong>Partitioned mode:</strong> With {@code partitions > 1} the drain lock is not used.
+ * Messages are numbered in send order ({@code chunkSequence} property) and sent in blocks of
+ * {@code partitionBlockSize} consecutive messages, block {@code b} going to the queue
+ * {@code {queueName}.p{b % partitions}}. Each receive owns one partition until its batch is
+ * closed, so up to {@code partitions} consumers receive and write in parallel. A batch never
+ * crosses a block boundary, which keeps each batch a consecutive sequence range; the range is
+ * reported by {@link StreamingBatch#firstSequence()} so that consumers can restore the global
+ * order. Partition queues are exclusive, so across JVMs each partition is drained by one consumer.
+ * By default a resource consumes all partitions, so a second JVM consuming the same queue would
+ * get no messages; {@code consumerPartitions} assigns each JVM its own share of the partitions
+ * (and an empty list makes a producer-only resource that opens no consumers).
+ * The numbering restarts at 0 for every new simulation run and with every new producer
+ * instance; each numbering carries its own epoch ({@code chunkSequenceEpoch} property,
+ * {@link StreamingBatch#sequenceEpoch()}). A batch that would span two epochs or has a gap (the
+ * tail of an interrupted numbering followed by a new one) reports no sequence range.
+ * <p>
  * <strong>Dual-Mode Deployment:</strong> Works both in-process ({@code vm://0}) with
  * zero-copy InVM transport and distributed ({@code tcp://host:port}) for cloud deployment.
  * <p>
- * <strong>Serialization:</strong> Uses {@code google.protobuf.Any} to wrap messages,
- * embedding the type URL for dynamic deserialization without requiring a parser parameter.
+ * <strong>Serialization:</strong> The message body is the plain Protobuf encoding; the message
+ * class name travels in the {@code payloadType} property and selects the parser on receive.
+ * For {@link TickDataChunk} the run id and tick range are also set as properties, so chunks can
+ * be sent and received in encoded form ({@link IEncodedChunkOutput}, {@link IEncodedChunkInput})
+ * without parsing them. Bodies without {@code payloadType} are read as
+ * {@code google.protobuf.Any} (format used by earlier versions). Chunks compressed by the producer
+ * carry the codec name in the {@code compression} property; encoded receivers get the compressed
+ * frame unchanged, plain receivers get the decompressed message.
  * <p>
  * <strong>JMS Session Threading:</strong>
  * <ul>
@@ -100,10 +136,26 @@ import com.typesafe.config.ConfigFactory;
  */
 public class ArtemisQueueResource<T extends Message> extends AbstractResource
         implements IContextualResource, IInputQueueResource<T>, IOutputQueueResource<T>,
-                   IMemoryEstimatable, AutoCloseable {
+                   IEncodedChunkInput, IEncodedChunkOutput, IQueueFillLevel, IMemoryEstimatable, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(ArtemisQueueResource.class);
 
+    // JMS message properties
+    static final String PROP_PAYLOAD_TYPE = "payloadType";
+    static final String PROP_SIMULATION_RUN_ID = "simulationRunId";
+    static final String PROP_FIRST_TICK = "firstTick";
+    static final String PROP_LAST_TICK = "lastTick";
+    static final String PROP_TICK_COUNT = "tickCount";
+    static final String PROP_SEQUENCE = "chunkSequence";
+    static final String PROP_SEQUENCE_EPOCH = "chunkSequenceEpoch";
+    static final String PROP_DELIVERY_COUNT = "JMSXDeliveryCount";
+    static final String PROP_COMPRESSION = "compression";
+
+    // Upper bound for a single blocking wait on one partition before sweeping all partitions again
+    private static final long PARTITION_WAIT_SLICE_MS = 50;
+
+    private static final String CHUNK_TYPE = TickDataChunk.class.getName();
+
     private final String brokerUrl;
     private final int serverId;
     private final String queueName;
@@ -111,22 +163,38 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     private final int producerWindowSize;
     private final int coalescingDelayMs;
     private final long estimatedBytesPerItem;
+    private final int partitions;
+    private final int partitionBlockSize;
+    private final List<String> dataQueueNames;
+    // Partition queues this resource consumes (all data queues unless consumerPartitions is set)
+    private final List<String> consumedQueueNames;
 
     private final ActiveMQConnectionFactory connectionFactory;
 
     // Producer: pooled session factory — each send borrows a session from the pool
     private final JmsPoolConnectionFactory producerPool;
 
-    // Consumer: dedicated connection + long-lived transacted session
+    // Consumer: dedicated connection + long-lived transacted session (null in partitioned mode)
     private final Connection consumerConnection;
     private final Session consumerSession;
     private final MessageConsumer dataConsumer;
 
-    // Token queue for drain lock (distributed mutex across JVMs)
+    // Token queue for drain lock (distributed mutex across JVMs, null in partitioned mode)
     private final Session tokenSession;
     private final MessageConsumer tokenConsumer;
     private final MessageProducer tokenProducer;
 
+    // Partitioned mode: one transacted consumer per partition queue, sequence assigned on send
+    private final List<Partition> partitionConsumers;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    private final AtomicLong sendSequence = new AtomicLong();
+    private final Object sendLock = new Object();
+    // Numbering of the current run; replaced (and sendSequence reset) when the run changes
+    private String sequenceEpoch = UUID.randomUUID().toString();
+    private String sequenceRunId;
+    // Broker delivery limit for the data queues (embedded broker only), -1 if unknown or unlimited
+    private final int maxDeliveryAttempts;
+
     // Throughput tracking
     private final int metricsWindowSeconds;
     private final SlidingWindowCounter throughputCounter;
@@ -140,6 +208,9 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     // Track all connections for shutdown
     private final Set<Connection> openConnections = ConcurrentHashMap.newKeySet();
 
+    // Parsers by payload class name
+    private final Map<String, Parser<?>> parsers = new ConcurrentHashMap<>();
+
     /**
      * Creates a new Artemis-backed queue resource.
      *
@@ -153,6 +224,10 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
      *                  <li>{@code coalescingDelayMs} - Delay for batch coalescing (default: 0)</li>
      *                  <li>{@code metricsWindowSeconds} - Throughput calculation window (default: 5)</li>
      *                  <li>{@code estimatedBytesPerItem} - Override for memory estimation (default: 0 = auto)</li>
+     *                  <li>{@code partitions} - Number of partition queues; 1 uses the drain lock (default: 1)</li>
+     *                  <li>{@code partitionBlockSize} - Consecutive messages per partition block (default: 10)</li>
+     *                  <li>{@code consumerPartitions} - Indices of the partitions this resource consumes,
+     *                      e.g. {@code [0, 1]} in one JVM and {@code [2, 3]} in another (default: all)</li>
      *                </ul>
      */
     public ArtemisQueueResource(String name, Config options) {
@@ -160,7 +235,9 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         Config defaults = ConfigFactory.parseMap(Map.of(
             "maxSizeBytes", 1073741824L, // 1 GB — off-heap journal storage, not Java heap
             "coalescingDelayMs", 0,
-            "metricsWindowSeconds", 5
+            "metricsWindowSeconds", 5,
+            "partitions", 1,
+            "partitionBlockSize", 10
         ));
         Config finalConfig = options.withFallback(defaults);
 
@@ -174,6 +251,8 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         this.metricsWindowSeconds = finalConfig.getInt("metricsWindowSeconds");
         this.estimatedBytesPerItem = finalConfig.hasPath("estimatedBytesPerItem")
             ? finalConfig.getLong("estimatedBytesPerItem") : 0;
+        this.partitions = finalConfig.getInt("partitions");
+        this.partitionBlockSize = finalConfig.getInt("partitionBlockSize");
 
         if (maxSizeBytes <= 0) {
             throw new IllegalArgumentException("maxSizeBytes must be positive for resource '" + name + "'.");
@@ -184,11 +263,29 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         if (estimatedBytesPerItem < 0) {
             throw new IllegalArgumentException("estimatedBytesPerItem cannot be negative for resource '" + name + "'.");
         }
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be at least 1 for resource '" + name + "'.");
+        }
+        if (partitionBlockSize < 1) {
+            throw new IllegalArgumentException("partitionBlockSize must be at least 1 for resource '" + name + "'.");
+        }
+
+        List<String> names = new ArrayList<>(partitions);
+        if (partitions == 1) {
+            names.add(queueName);
+        } else {
+            for (int i = 0; i < partitions; i++) {
+                names.add(queueName + ".p" + i);
+            }
+        }
+        this.dataQueueNames = List.copyOf(names);
+        this.consumedQueueNames = resolveConsumedQueues(finalConfig);
 
         this.throughputCounter = new SlidingWindowCounter(metricsWindowSeconds);
 
         // Configure queue-specific address settings (BLOCK policy with byte-based limit)
         configureQueueAddressSettings();
+        this.maxDeliveryAttempts = resolveMaxDeliveryAttempts();
 
         // Purge stale messages from a previous run (broker persistence survives restarts,
         // but downstream consumers expect a fresh simulationRunId per run)
@@ -206,26 +303,43 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             this.producerPool.setMaxConnections(1);
             this.producerPool.start();
 
-            // Consumer connection + long-lived TRANSACTED session
-            // Messages are received but not acknowledged until session.commit()
-            this.consumerConnection = createTrackedConnection();
-            this.consumerSession = consumerConnection.createSession(true, Session.SESSION_TRANSACTED);
-            Queue dataQueue = consumerSession.createQueue(queueName);
-            this.dataConsumer = consumerSession.createConsumer(dataQueue);
-
-            // Token queue connection (separate session for isolation, AUTO_ACKNOWLEDGE)
-            String tokenQueueName = queueName + ".drain-lock";
-            this.tokenSession = consumerConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            Queue tokenQueue = tokenSession.createQueue(tokenQueueName);
-            this.tokenConsumer = tokenSession.createConsumer(tokenQueue);
-            this.tokenProducer = tokenSession.createProducer(tokenQueue);
-            this.tokenProducer.setDeliveryMode(DeliveryMode.PERSISTENT);
-
-            // Seed the token queue with exactly one token if empty
-            seedTokenIfEmpty(tokenQueueName);
+            if (partitions == 1) {
+                // Consumer connection + long-lived TRANSACTED session
+                // Messages are received but not acknowledged until session.commit()
+                this.consumerConnection = createTrackedConnection();
+                this.consumerSession = consumerConnection.createSession(true, Session.SESSION_TRANSACTED);
+                Queue dataQueue = consumerSession.createQueue(queueName);
+                this.dataConsumer = consumerSession.createConsumer(dataQueue);
+
+                // Token queue connection (separate session for isolation, AUTO_ACKNOWLEDGE)
+                String tokenQueueName = queueName + ".drain-lock";
+                this.tokenSession = consumerConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                Queue tokenQueue = tokenSession.createQueue(tokenQueueName);
+                this.tokenConsumer = tokenSession.createConsumer(tokenQueue);
+                this.tokenProducer = tokenSession.createProducer(tokenQueue);
+                this.tokenProducer.setDeliveryMode(DeliveryMode.PERSISTENT);
+
+                // Seed the token queue with exactly one token if empty
+                seedTokenIfEmpty(tokenQueueName);
+                this.partitionConsumers = List.of();
+            } else {
+                // Partitioned: every partition has its own connection and transacted session,
+                // ownership of a partition replaces the drain token
+                this.consumerConnection = null;
+                this.consumerSession = null;
+                this.dataConsumer = null;
+                this.tokenSession = null;
+                this.tokenConsumer = null;
+                this.tokenProducer = null;
+                List<Partition> consumers = new ArrayList<>(consumedQueueNames.size());
+                for (String partitionQueue : consumedQueueNames) {
+                    consumers.add(new Partition(partitionQueue));
+                }
+                this.partitionConsumers = List.copyOf(consumers);
+            }
 
-            log.debug("ArtemisQueueResource '{}' initialized (url={}, queue={}, maxSizeBytes={}, coalescing={}ms)",
-                name, brokerUrl, queueName, maxSizeBytes, coalescingDelayMs);
+            log.debug("ArtemisQueueResource '{}' initialized (url={}, queue={}, maxSizeBytes={}, coalescing={}ms, partitions={}, consumed={})",
+                name, brokerUrl, queueName, maxSizeBytes, coalescingDelayMs, partitions, consumedQueueNames);
 
         } catch (JMSException e) {
             // Clean up any connections created before the failure.
@@ -257,19 +371,61 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             return;
         }
 
-        // Data queue: BLOCK policy with byte-based limit
-        AddressSettings dataSettings = new AddressSettings();
-        dataSettings.setAddressFullMessagePolicy(AddressFullMessagePolicy.BLOCK);
-        dataSettings.setMaxSizeBytes(maxSizeBytes);
-        dataSettings.setMaxSizeMessages(-1); // Disable message-count limit, use byte size only
-        dataSettings.setDefaultMaxConsumers(-1); // Unlimited consumers
-        server.getAddressSettingsRepository().addMatch(queueName, dataSettings);
+        // Data queue(s): BLOCK policy with byte-based limit, split evenly across partitions.
+        // Partition queues are exclusive: one consumer per partition across all JVMs.
+        for (String dataQueue : dataQueueNames) {
+            AddressSettings dataSettings = new AddressSettings();
+            dataSettings.setAddressFullMessagePolicy(AddressFullMessagePolicy.BLOCK);
+            dataSettings.setMaxSizeBytes(addressMaxSizeBytes());
+            dataSettings.setMaxSizeMessages(-1); // Disable message-count limit, use byte size only
+            dataSettings.setDefaultMaxConsumers(-1); // Unlimited consumers
+            if (partitions > 1) {
+                dataSettings.setDefaultExclusiveQueue(true);
+            }
+            server.getAddressSettingsRepository().addMatch(dataQueue, dataSettings);
+        }
 
         // Token queue: inherits global "#" settings (PAGE policy).
         // The token queue only ever holds 0-1 messages, so no special settings needed.
 
-        log.debug("Address settings configured: data queue '{}' (BLOCK, maxSizeBytes={})",
-            queueName, maxSizeBytes);
+        log.debug("Address settings configured: data queues {} (BLOCK, maxSizeBytes={})",
+            dataQueueNames, addressMaxSizeBytes());
+    }
+
+    /**
+     * Resolves {@code consumerPartitions} to the partition queues this resource consumes.
+     */
+    private List<String> resolveConsumedQueues(Config config) {
+        if (!config.hasPath("consumerPartitions")) {
+            return dataQueueNames;
+        }
+        if (partitions == 1) {
+            throw new IllegalArgumentException(
+                "consumerPartitions requires partitions > 1 for resource '" + getResourceName() + "'.");
+        }
+        List<String> consumed = new ArrayList<>();
+        for (int index : new TreeSet<>(config.getIntList("consumerPartitions"))) {
+            if (index < 0 || index >= partitions) {
+                throw new IllegalArgumentException("consumerPartitions entry " + index
+                    + " is outside [0, " + partitions + ") for resource '" + getResourceName() + "'.");
+            }
+            consumed.add(dataQueueNames.get(index));
+        }
+        return List.copyOf(consumed);
+    }
+
+    /**
+     * Returns the byte limit of a single data address ({@code maxSizeBytes} split across partitions).
+     */
+    private long addressMaxSizeBytes() {
+        return Math.max(1, maxSizeBytes / partitions);
+    }
+
+    /**
+     * Returns the partition of the message with the given send sequence number.
+     */
+    private int partitionOf(long sequence) {
+        return (int) ((sequence / partitionBlockSize) % partitions);
     }
 
     /**
@@ -290,10 +446,12 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             return;
         }
         try {
-            var queue = server.locateQueue(SimpleString.of(queueName));
-            if (queue != null && queue.getMessageCount() > 0) {
-                int deleted = queue.deleteAllReferences();
-                log.info("Purged {} stale messages from queue '{}'", deleted, queueName);
+            for (String dataQueue : dataQueueNames) {
+                var queue = server.locateQueue(SimpleString.of(dataQueue));
+                if (queue != null && queue.getMessageCount() > 0) {
+                    int deleted = queue.deleteAllReferences();
+                    log.info("Purged {} stale messages from queue '{}'", deleted, dataQueue);
+                }
             }
         } catch (Exception e) {
             log.error("Failed to purge stale messages from queue '{}'", queueName);
@@ -354,20 +512,67 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     // =========================================================================
 
     /**
-     * Serializes a Protobuf message to bytes using {@code google.protobuf.Any}.
-     * <p>
-     * The type URL embedded in Any enables dynamic deserialization without requiring
-     * the caller to pass a parser or class reference.
+     * Serialized message body plus the properties to set on the JMS message.
+     *
+     * @param data        the plain Protobuf encoding
+     * @param payloadType fully qualified message class name
+     * @param chunk       chunk metadata for {@link TickDataChunk} payloads, otherwise null
+     */
+    private record OutgoingMessage(byte[] data, String payloadType, EncodedChunk chunk) {
+
+        static OutgoingMessage of(EncodedChunk chunk) {
+            return new OutgoingMessage(chunk.data(), CHUNK_TYPE, chunk);
+        }
+
+        void applyTo(BytesMessage message) throws JMSException {
+            message.setStringProperty(PROP_PAYLOAD_TYPE, payloadType);
+            if (chunk != null) {
+                message.setStringProperty(PROP_SIMULATION_RUN_ID, chunk.simulationRunId());
+                message.setLongProperty(PROP_FIRST_TICK, chunk.firstTick());
+                message.setLongProperty(PROP_LAST_TICK, chunk.lastTick());
+                message.setIntProperty(PROP_TICK_COUNT, chunk.tickCount());
+                if (chunk.isCompressed()) {
+                    message.setStringProperty(PROP_COMPRESSION, chunk.compression());
+                }
+            }
+            message.writeBytes(data);
+        }
+    }
+
+    /**
+     * Serializes a Protobuf message. Chunks additionally carry their metadata as properties.
      *
      * @param element the Protobuf message to serialize
-     * @return serialized bytes
+     * @return serialized body and properties
+     */
+    private OutgoingMessage serialize(T element) {
+        if (element instanceof TickDataChunk chunk) {
+            return OutgoingMessage.of(EncodedChunk.of(chunk));
+        }
+        return new OutgoingMessage(element.toByteArray(), element.getClass().getName(), null);
+    }
+
+    /**
+     * Deserializes a message body using the parser of the given payload class.
+     *
+     * @param payloadType fully qualified message class name
+     * @param data        the serialized bytes
+     * @return the deserialized Protobuf message
+     * @throws InvalidProtocolBufferException if the class is unknown or the data is not valid protobuf
      */
-    private byte[] serialize(T element) {
-        return Any.pack(element).toByteArray();
+    @SuppressWarnings("unchecked")
+    private T deserialize(String payloadType, byte[] data) throws InvalidProtocolBufferException {
+        Parser<?> parser = parsers.get(payloadType);
+        if (parser == null) {
+            parser = Internal.getDefaultInstance(loadMessageClass(payloadType, "payload type '" + payloadType + "'"))
+                .getParserForType();
+            parsers.put(payloadType, parser);
+        }
+        return (T) parser.parseFrom(data);
     }
 
     /**
-     * Deserializes bytes back to a Protobuf message using {@code google.protobuf.Any}.
+     * Deserializes a body in the legacy {@code google.protobuf.Any} format.
      * <p>
      * Extracts the type URL from the Any wrapper, loads the corresponding class,
      * and unpacks the payload.
@@ -376,40 +581,43 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
      * @return the deserialized Protobuf message
      * @throws InvalidProtocolBufferException if the data is not valid protobuf
      */
-    private T deserialize(byte[] data) throws InvalidProtocolBufferException {
+    private T deserializeAny(byte[] data) throws InvalidProtocolBufferException {
         Any any = Any.parseFrom(data);
 
         // Extract fully qualified class name from type URL
         // Format: "type.googleapis.com/org.evochora.datapipeline.api.contracts.TickDataChunk"
         String typeUrl = any.getTypeUrl();
         String className = typeUrl.substring(typeUrl.indexOf('/') + 1);
+        @SuppressWarnings("unchecked")
+        Class<T> messageClass = (Class<T>) loadMessageClass(className, "type URL '" + typeUrl + "'");
+        return any.unpack(messageClass);
+    }
 
+    private static Class<? extends Message> loadMessageClass(String className, String source)
+            throws InvalidProtocolBufferException {
         try {
             Class<?> rawClass = Class.forName(className);
             if (!Message.class.isAssignableFrom(rawClass)) {
                 throw new InvalidProtocolBufferException(
-                    "Class '" + className + "' from type URL '" + typeUrl +
-                    "' does not implement com.google.protobuf.Message");
+                    "Class '" + className + "' from " + source +
+                    " does not implement com.google.protobuf.Message");
             }
-            @SuppressWarnings("unchecked")
-            Class<T> messageClass = (Class<T>) rawClass;
-            return any.unpack(messageClass);
+            return rawClass.asSubclass(Message.class);
         } catch (ClassNotFoundException e) {
             throw new InvalidProtocolBufferException(
-                "Cannot find class for type URL: " + typeUrl + ". " +
+                "Cannot find class for " + source + ". " +
                 "Ensure the Protobuf class is on the classpath.");
         }
     }
 
     /**
-     * Extracts the Protobuf payload from a JMS BytesMessage.
+     * Reads the body of a JMS BytesMessage.
      *
      * @param msg the JMS message
-     * @return the deserialized Protobuf message
+     * @return the raw body bytes
      * @throws JMSException if JMS operations fail
-     * @throws InvalidProtocolBufferException if deserialization fails
      */
-    private T extractPayload(jakarta.jms.Message msg) throws JMSException, InvalidProtocolBufferException {
+    private static byte[] readBody(jakarta.jms.Message msg) throws JMSException {
         if (!(msg instanceof BytesMessage bytesMsg)) {
             throw new JMSException("Expected BytesMessage, got: " + msg.getClass().getName());
         }
@@ -420,7 +628,68 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         bytesMsg.reset();
         byte[] data = new byte[(int) bytesMsg.getBodyLength()];
         bytesMsg.readBytes(data);
-        return deserialize(data);
+        return data;
+    }
+
+    /**
+     * Extracts the Protobuf payload from a JMS BytesMessage.
+     *
+     * @param msg the JMS message
+     * @return the deserialized Protobuf message
+     * @throws JMSException if JMS operations fail
+     * @throws InvalidProtocolBufferException if deserialization fails
+     */
+    private T extractPayload(jakarta.jms.Message msg) throws JMSException, InvalidProtocolBufferException {
+        byte[] data = readBody(msg);
+        String compression = msg.getStringProperty(PROP_COMPRESSION);
+        if (compression != null) {
+            data = decompressBody(data, compression);
+        }
+        String payloadType = msg.getStringProperty(PROP_PAYLOAD_TYPE);
+        return payloadType != null ? deserialize(payloadType, data) : deserializeAny(data);
+    }
+
+    private static byte[] decompressBody(byte[] data, String compression) throws InvalidProtocolBufferException {
+        try {
+            return EncodedChunkCompression.decompress(data, compression);
+        } catch (InvalidProtocolBufferException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+    }
+
+    /**
+     * Extracts a chunk payload without parsing it. Metadata comes from the message properties;
+     * messages without them (legacy format) fall back to a partial parse of the header fields.
+     *
+     * @param msg the JMS message
+     * @return the encoded chunk
+     * @throws JMSException if JMS operations fail
+     * @throws InvalidProtocolBufferException if the body is not a valid chunk
+     */
+    private EncodedChunk extractEncodedChunk(jakarta.jms.Message msg)
+            throws JMSException, InvalidProtocolBufferException {
+        byte[] data = readBody(msg);
+        String payloadType = msg.getStringProperty(PROP_PAYLOAD_TYPE);
+        if (payloadType == null) {
+            return EncodedChunk.fromBytes(Any.parseFrom(data).getValue().toByteArray());
+        }
+        if (!CHUNK_TYPE.equals(payloadType)) {
+            throw new InvalidProtocolBufferException(
+                "Expected " + CHUNK_TYPE + " on queue '" + queueName + "', got: " + payloadType);
+        }
+        String compression = msg.getStringProperty(PROP_COMPRESSION);
+        if (!msg.propertyExists(PROP_FIRST_TICK)) {
+            return EncodedChunk.fromBytes(compression != null ? decompressBody(data, compression) : data);
+        }
+        return new EncodedChunk(
+            msg.getStringProperty(PROP_SIMULATION_RUN_ID),
+            msg.getLongProperty(PROP_FIRST_TICK),
+            msg.getLongProperty(PROP_LAST_TICK),
+            msg.getIntProperty(PROP_TICK_COUNT),
+            data,
+            compression != null ? compression : EncodedChunk.UNCOMPRESSED);
     }
 
     // =========================================================================
@@ -438,9 +707,9 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         if (isQueueAtCapacity()) {
             return false;
         }
-        byte[] data = serialize(element);
+        OutgoingMessage data = serialize(element);
         try {
-            sendMessage(data);
+            dispatch(data, -1);
             throughputCounter.recordCount();
             return true;
         } catch (JMSException e) {
@@ -457,9 +726,30 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
      */
     @Override
     public void put(T element) throws InterruptedException {
-        byte[] data = serialize(element);
+        send(serialize(element));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean supportsEncodedChunks() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sends the bytes unchanged with the chunk metadata as message properties. Consumers
+     * receive it either as {@code TickDataChunk} or via {@link #receiveEncodedBatch}. Compressed
+     * chunks stay compressed in the broker and the journal.
+     */
+    @Override
+    public void putEncoded(EncodedChunk chunk) throws InterruptedException {
+        send(OutgoingMessage.of(chunk));
+    }
+
+    private void send(OutgoingMessage data) throws InterruptedException {
         try {
-            sendMessage(data);
+            dispatch(data, -1);
             throughputCounter.recordCount();
         } catch (JMSException e) {
             if (JmsUtils.isInterruptedException(e)) {
@@ -477,9 +767,9 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
      */
     @Override
     public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
-        byte[] data = serialize(element);
+        OutgoingMessage data = serialize(element);
         try {
-            sendMessageWithTimeout(data, unit.toMillis(timeout));
+            dispatch(data, unit.toMillis(timeout));
             throughputCounter.recordCount();
             return true;
         } catch (JMSException e) {
@@ -519,17 +809,64 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     }
 
     /**
-     * Sends a serialized message to the data queue using a pooled session.
+     * Sends a serialized message to its data queue.
+     * <p>
+     * In partitioned mode the sequence number is assigned under {@code sendLock} and only
+     * consumed once the send succeeded, so the sequence (and every partition block) has no gaps.
+     * The first chunk of a new simulation run starts a new numbering (epoch) at 0.
+     *
+     * @param data      the message to send
+     * @param timeoutMs send timeout, or negative to block until the broker accepts the message
+     */
+    private void dispatch(OutgoingMessage data, long timeoutMs) throws JMSException {
+        if (partitions == 1) {
+            sendTo(data, queueName, -1, null, timeoutMs);
+            return;
+        }
+        synchronized (sendLock) {
+            if (data.chunk() != null && !data.chunk().simulationRunId().equals(sequenceRunId)) {
+                if (sequenceRunId != null) {
+                    sendSequence.set(0);
+                    sequenceEpoch = UUID.randomUUID().toString();
+                }
+                sequenceRunId = data.chunk().simulationRunId();
+            }
+            long sequence = sendSequence.get();
+            sendTo(data, dataQueueNames.get(partitionOf(sequence)), sequence, sequenceEpoch, timeoutMs);
+            sendSequence.incrementAndGet();
+        }
+    }
+
+    private void sendTo(OutgoingMessage data, String destination, long sequence, String epoch, long timeoutMs)
+            throws JMSException {
+        if (timeoutMs < 0) {
+            sendMessage(data, destination, sequence, epoch);
+        } else {
+            sendMessageWithTimeout(data, destination, sequence, epoch, timeoutMs);
+        }
+    }
+
+    private static void applySequence(BytesMessage message, long sequence, String epoch) throws JMSException {
+        if (sequence >= 0) {
+            message.setLongProperty(PROP_SEQUENCE, sequence);
+            message.setStringProperty(PROP_SEQUENCE_EPOCH, epoch);
+        }
+    }
+
+    /**
+     * Sends a serialized message to the given data queue using a pooled session.
      */
-    private void sendMessage(byte[] data) throws JMSException {
+    private void sendMessage(OutgoingMessage data, String destination, long sequence, String epoch)
+            throws JMSException {
         try (Connection conn = producerPool.createConnection()) {
             conn.start();
             try (Session session = conn.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
-                Queue queue = session.createQueue(queueName);
+                Queue queue = session.createQueue(destination);
                 try (MessageProducer producer = session.createProducer(queue)) {
                     producer.setDeliveryMode(DeliveryMode.PERSISTENT);
                     BytesMessage message = session.createBytesMessage();
-                    message.writeBytes(data);
+                    data.applyTo(message);
+                    applySequence(message, sequence, epoch);
                     producer.send(message);
                 }
             }
@@ -539,7 +876,8 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     /**
      * Sends a serialized message using a temporary connection with callTimeout.
      */
-    private void sendMessageWithTimeout(byte[] data, long timeoutMs) throws JMSException {
+    private void sendMessageWithTimeout(OutgoingMessage data, String destination, long sequence, String epoch,
+                                        long timeoutMs) throws JMSException {
         try (ActiveMQConnectionFactory timeoutFactory = new ActiveMQConnectionFactory(brokerUrl)) {
             timeoutFactory.setBlockOnDurableSend(true);
             timeoutFactory.setCallTimeout(timeoutMs);
@@ -550,11 +888,12 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             try (Connection connection = timeoutFactory.createConnection()) {
                 connection.start();
                 try (Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
-                    Queue queue = session.createQueue(queueName);
+                    Queue queue = session.createQueue(destination);
                     try (MessageProducer producer = session.createProducer(queue)) {
                         producer.setDeliveryMode(DeliveryMode.PERSISTENT);
                         BytesMessage message = session.createBytesMessage();
-                        message.writeBytes(data);
+                        data.applyTo(message);
+                        applySequence(message, sequence, epoch);
                         producer.send(message);
                     }
                 }
@@ -563,7 +902,7 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     }
 
     /**
-     * Checks if the data queue address has reached its byte-size limit.
+     * Checks if the data queue address that receives the next message has reached its byte-size limit.
      */
     private boolean isQueueAtCapacity() {
         ActiveMQServer server = EmbeddedBrokerRegistry.getServer(serverId);
@@ -571,9 +910,10 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             return false; // Can't check, let send proceed (BLOCK policy handles it)
         }
         try {
-            var pgStore = server.getPagingManager().getPageStore(SimpleString.of(queueName));
+            String target = dataQueueNames.get(partitionOf(sendSequence.get()));
+            var pgStore = server.getPagingManager().getPageStore(SimpleString.of(target));
             if (pgStore != null) {
-                return pgStore.getAddressSize() >= maxSizeBytes;
+                return pgStore.getAddressSize() >= addressMaxSizeBytes();
             }
             return false;
         } catch (Exception e) {
@@ -616,6 +956,27 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     @Override
     public StreamingBatch<T> receiveBatch(int maxSize, long timeout, TimeUnit unit)
             throws InterruptedException {
+        return receive(maxSize, timeout, unit, this::extractPayload);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Same token-based receive as {@link #receiveBatch(int, long, TimeUnit)}; the iterator
+     * hands out the message bodies with metadata from the message properties instead of
+     * parsing them.
+     */
+    @Override
+    public StreamingBatch<EncodedChunk> receiveEncodedBatch(int maxSize, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return receive(maxSize, timeout, unit, this::extractEncodedChunk);
+    }
+
+    private <E> StreamingBatch<E> receive(int maxSize, long timeout, TimeUnit unit, PayloadDecoder<E> decoder)
+            throws InterruptedException {
+        if (partitions > 1) {
+            return receivePartitioned(maxSize, timeout, unit, decoder);
+        }
         // ATOMIC OPERATION: Entire receive is synchronized to guarantee consecutive ranges.
         // drainLock serializes JMS session access within the same JVM (sessions are NOT thread-safe).
         // Token queue adds cross-JVM serialization for distributed deployment.
@@ -628,7 +989,7 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
                 long tokenTimeout = Math.max(0, deadlineMs - System.currentTimeMillis());
                 token = tokenConsumer.receive(tokenTimeout);
                 if (token == null) {
-                    return new ArtemisStreamingBatch(Collections.emptyList()); // Timeout
+                    return new ArtemisStreamingBatch<>(Collections.emptyList(), decoder); // Timeout
                 }
             } catch (JMSException e) {
                 if (JmsUtils.isInterruptedException(e)) {
@@ -636,17 +997,17 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
                 }
                 log.warn("Failed to acquire drain token on queue '{}'", queueName);
                 recordError("TOKEN_ACQUIRE_FAILED", "Failed to acquire drain token", e.getMessage());
-                return new ArtemisStreamingBatch(Collections.emptyList());
+                return new ArtemisStreamingBatch<>(Collections.emptyList(), decoder);
             }
 
             try {
                 // 2. Non-blocking receive of immediately available JMS Messages
                 List<jakarta.jms.Message> messages = new ArrayList<>();
-                receiveAvailable(messages, maxSize);
+                receiveAvailable(dataConsumer, messages, maxSize);
 
                 // If we received something OR if the timeout is zero, we're done
                 if (!messages.isEmpty() || timeout == 0) {
-                    return new ArtemisStreamingBatch(messages);
+                    return new ArtemisStreamingBatch<>(messages, decoder);
                 }
 
                 // 3. Queue was empty — wait for at least ONE message to arrive
@@ -654,7 +1015,7 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
                     long dataTimeout = Math.max(0, deadlineMs - System.currentTimeMillis());
                     jakarta.jms.Message first = dataConsumer.receive(dataTimeout);
                     if (first == null) {
-                        return new ArtemisStreamingBatch(Collections.emptyList()); // Timeout
+                        return new ArtemisStreamingBatch<>(Collections.emptyList(), decoder); // Timeout
                     }
                     // Force immediate body download for large messages. Artemis's
                     // ClientConsumerImpl.receive() unconditionally calls discardBody()
@@ -670,7 +1031,7 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
                     }
                     log.warn("Failed to receive from queue '{}'", queueName);
                     recordError("RECEIVE_FAILED", "Failed to receive message", e.getMessage());
-                    return new ArtemisStreamingBatch(Collections.emptyList());
+                    return new ArtemisStreamingBatch<>(Collections.emptyList(), decoder);
                 }
 
                 // 4. Adaptive coalescing: only wait if queue is STILL empty (producer is slow)
@@ -680,9 +1041,9 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
                 }
 
                 // 5. Drain remaining available messages
-                receiveAvailable(messages, maxSize - 1);
+                receiveAvailable(dataConsumer, messages, maxSize - 1);
 
-                return new ArtemisStreamingBatch(messages);
+                return new ArtemisStreamingBatch<>(messages, decoder);
 
             } finally {
                 // 6. Release token (always, even on exception)
@@ -692,16 +1053,141 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         }
     }
 
+    /**
+     * Partitioned receive: takes ownership of one partition that has messages and receives
+     * up to the end of the current partition block.
+     * <p>
+     * Partitions owned by another consumer of this JVM are skipped. The first sweep is
+     * non-blocking; while all partitions are empty, the receive waits on one free partition
+     * for at most {@link #PARTITION_WAIT_SLICE_MS} and then sweeps again until the timeout.
+     * The partition stays owned until the returned batch is closed.
+     */
+    private <E> StreamingBatch<E> receivePartitioned(int maxSize, long timeout, TimeUnit unit,
+                                                     PayloadDecoder<E> decoder) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            int owned = partitionConsumers.size();
+            int start = owned == 0 ? 0 : Math.floorMod(nextPartition.getAndIncrement(), owned);
+
+            // 1. Non-blocking sweep over all free partitions
+            for (int i = 0; i < owned; i++) {
+                Partition partition = partitionConsumers.get((start + i) % owned);
+                if (partition.tryAcquire()) {
+                    StreamingBatch<E> batch = receiveFromPartition(partition, 0, maxSize, decoder);
+                    if (batch != null) {
+                        return batch;
+                    }
+                }
+            }
+
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMs <= 0) {
+                return new ArtemisStreamingBatch<>(Collections.emptyList(), decoder);
+            }
+            long sliceMs = Math.min(remainingMs, PARTITION_WAIT_SLICE_MS);
+
+            // 2. Wait briefly on the first free partition
+            Partition free = null;
+            for (int i = 0; i < owned && free == null; i++) {
+                Partition partition = partitionConsumers.get((start + i) % owned);
+                if (partition.tryAcquire()) {
+                    free = partition;
+                }
+            }
+            if (free == null) {
+                // Intentional Thread.sleep — every partition is owned by another local consumer
+                // (or this resource consumes none)
+                Thread.sleep(sliceMs);
+                continue;
+            }
+            StreamingBatch<E> batch = receiveFromPartition(free, sliceMs, maxSize, decoder);
+            if (batch != null) {
+                return batch;
+            }
+        }
+    }
+
+    /**
+     * Receives a batch from an owned partition. Ownership passes to the returned batch; if no
+     * batch is returned, the partition is released (rolling back anything already received).
+     *
+     * @param partition the partition, acquired by the caller
+     * @param waitMs    how long to wait for the first message (0 = non-blocking)
+     * @return the batch, or null if the partition had no message
+     */
+    private <E> StreamingBatch<E> receiveFromPartition(Partition partition, long waitMs, int maxSize,
+                                                      PayloadDecoder<E> decoder) throws InterruptedException {
+        List<jakarta.jms.Message> messages = new ArrayList<>();
+        boolean handedOver = false;
+        try {
+            jakarta.jms.Message first = waitMs > 0
+                ? partition.consumer.receive(waitMs)
+                : partition.consumer.receiveNoWait();
+            if (first == null) {
+                return null;
+            }
+            // Force immediate body download (see receiveAvailable)
+            if (first instanceof BytesMessage bm) {
+                bm.reset();
+            }
+            messages.add(first);
+
+            // Never cross a block boundary: the next block belongs to another partition,
+            // so continuing here would leave a gap inside the batch
+            int limit = maxSize;
+            if (first.propertyExists(PROP_SEQUENCE)) {
+                long offset = Math.floorMod(first.getLongProperty(PROP_SEQUENCE), (long) partitionBlockSize);
+                limit = (int) Math.min(maxSize, partitionBlockSize - offset);
+            }
+            receiveAvailable(partition.consumer, messages, limit);
+            if (coalescingDelayMs > 0 && messages.size() < limit) {
+                // Intentional Thread.sleep — fixed delay, not condition-wait
+                Thread.sleep(coalescingDelayMs);
+                receiveAvailable(partition.consumer, messages, limit);
+            }
+
+            ArtemisStreamingBatch<E> batch = new ArtemisStreamingBatch<>(messages, decoder, partition);
+            handedOver = true;
+            return batch;
+        } catch (JMSException e) {
+            if (JmsUtils.isInterruptedException(e)) {
+                throw new InterruptedException("receiveBatch() interrupted waiting for data");
+            }
+            log.warn("Failed to receive from partition queue '{}'", partition.name);
+            recordError("RECEIVE_FAILED", "Failed to receive message", e.getMessage());
+            return null;
+        } finally {
+            if (!handedOver) {
+                if (!messages.isEmpty()) {
+                    rollbackQuietly(partition.session, messages.size());
+                }
+                partition.release();
+            }
+        }
+    }
+
+    private void rollbackQuietly(Session session, int messageCount) {
+        try {
+            session.rollback();
+        } catch (JMSException e) {
+            // Rollback failure is not recoverable — log and swallow.
+            // Messages will be cleaned up when the session is eventually closed.
+            log.warn("Failed to rollback uncommitted batch of {} messages on queue '{}'",
+                messageCount, queueName);
+        }
+    }
+
     /**
      * Non-blocking receive of immediately available JMS messages.
      *
+     * @param consumer the consumer to receive from
      * @param messages list to add messages to
      * @param max maximum number of messages to receive
      */
-    private void receiveAvailable(List<jakarta.jms.Message> messages, int max) {
+    private void receiveAvailable(MessageConsumer consumer, List<jakarta.jms.Message> messages, int max) {
         try {
             while (messages.size() < max) {
-                jakarta.jms.Message msg = dataConsumer.receiveNoWait();
+                jakarta.jms.Message msg = consumer.receiveNoWait();
                 if (msg == null) {
                     break;
                 }
@@ -722,7 +1208,7 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     }
 
     /**
-     * Checks if the data queue currently has no messages available.
+     * Checks if the data queues this resource consumes currently have no messages available.
      */
     private boolean isDataQueueEmpty() {
         ActiveMQServer server = EmbeddedBrokerRegistry.getServer(serverId);
@@ -730,11 +1216,13 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             return false; // Can't check, assume non-empty (skip coalescing)
         }
         try {
-            var queueControl = server.locateQueue(SimpleString.of(queueName));
-            if (queueControl != null) {
-                return queueControl.getMessageCount() == 0;
+            for (String dataQueue : consumedQueueNames) {
+                var queueControl = server.locateQueue(SimpleString.of(dataQueue));
+                if (queueControl == null || queueControl.getMessageCount() > 0) {
+                    return false;
+                }
             }
-            return false;
+            return true;
         } catch (Exception e) {
             return false; // Can't check, assume non-empty
         }
@@ -800,6 +1288,14 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
     // ArtemisStreamingBatch — Inner Class
     // =========================================================================
 
+    /**
+     * Turns a received JMS message into a batch element.
+     */
+    @FunctionalInterface
+    private interface PayloadDecoder<E> {
+        E decode(jakarta.jms.Message msg) throws JMSException, InvalidProtocolBufferException;
+    }
+
     /**
      * A {@link StreamingBatch} backed by JMS messages with lazy deserialization.
      * <p>
@@ -814,13 +1310,47 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
      * <strong>Thread safety:</strong> Only one ArtemisStreamingBatch may be active per
      * ArtemisQueueResource instance at any time. The consumer session is shared state —
      * using a new batch before closing the previous one leads to undefined behavior.
+     * In partitioned mode the batch owns its partition's session instead, so one batch per
+     * partition can be active; {@link #close()} releases the partition.
      */
-    private class ArtemisStreamingBatch implements StreamingBatch<T> {
+    private class ArtemisStreamingBatch<E> implements StreamingBatch<E> {
         private final List<jakarta.jms.Message> messages;
+        private final PayloadDecoder<E> decoder;
+        private final Session session;
+        private final Partition partition;
+        private final long firstSequence;
+        private final String sequenceEpoch;
+        private final boolean finalDeliveryAttempt;
         private boolean committed = false;
 
-        ArtemisStreamingBatch(List<jakarta.jms.Message> messages) {
+        ArtemisStreamingBatch(List<jakarta.jms.Message> messages, PayloadDecoder<E> decoder) {
+            this(messages, decoder, null);
+        }
+
+        ArtemisStreamingBatch(List<jakarta.jms.Message> messages, PayloadDecoder<E> decoder, Partition partition) {
             this.messages = messages;
+            this.decoder = decoder;
+            this.partition = partition;
+            this.session = partition != null ? partition.session : consumerSession;
+            // Read before iteration releases the message bodies
+            this.sequenceEpoch = readSequenceEpoch(messages);
+            this.firstSequence = sequenceEpoch != null ? readSequence(messages, sequenceEpoch) : -1;
+            this.finalDeliveryAttempt = isFinalDelivery(messages);
+        }
+
+        @Override
+        public long firstSequence() {
+            return firstSequence;
+        }
+
+        @Override
+        public String sequenceEpoch() {
+            return firstSequence >= 0 ? sequenceEpoch : null;
+        }
+
+        @Override
+        public boolean isFinalDeliveryAttempt() {
+            return finalDeliveryAttempt;
         }
 
         @Override
@@ -829,8 +1359,8 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         }
 
         @Override
-        public Iterator<T> iterator() {
-            return new Iterator<T>() {
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
                 private int index = 0;
 
                 @Override
@@ -839,12 +1369,12 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
                 }
 
                 @Override
-                public T next() {
+                public E next() {
                     if (!hasNext()) {
                         throw new java.util.NoSuchElementException();
                     }
                     try {
-                        T element = extractPayload(messages.get(index));
+                        E element = decoder.decode(messages.get(index));
                         messages.set(index, null); // Allow GC of serialized message body
                         index++;
                         throughputCounter.recordCount();
@@ -861,7 +1391,7 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         public void commit() {
             if (!committed && !messages.isEmpty()) {
                 try {
-                    consumerSession.commit();
+                    session.commit();
                     committed = true;
                 } catch (JMSException e) {
                     throw new RuntimeException("Failed to commit batch of " + messages.size()
@@ -872,16 +1402,118 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
 
         @Override
         public void close() {
-            if (!committed && !messages.isEmpty()) {
-                try {
-                    consumerSession.rollback();
-                } catch (JMSException e) {
-                    // Rollback failure is not recoverable — log and swallow.
-                    // Messages will be cleaned up when the session is eventually closed.
-                    log.warn("Failed to rollback uncommitted batch of {} messages on queue '{}'",
-                        messages.size(), queueName);
+            try {
+                if (!committed && !messages.isEmpty()) {
+                    rollbackQuietly(session, messages.size());
+                }
+            } finally {
+                if (partition != null) {
+                    partition.release();
+                }
+            }
+        }
+    }
+
+    private static String readSequenceEpoch(List<jakarta.jms.Message> messages) {
+        if (messages.isEmpty()) {
+            return null;
+        }
+        try {
+            return messages.get(0).getStringProperty(PROP_SEQUENCE_EPOCH);
+        } catch (JMSException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the sequence number of the first message if all messages form one consecutive
+     * range of the given epoch, otherwise -1.
+     */
+    private static long readSequence(List<jakarta.jms.Message> messages, String epoch) {
+        try {
+            jakarta.jms.Message first = messages.get(0);
+            if (!first.propertyExists(PROP_SEQUENCE)) {
+                return -1;
+            }
+            long firstSequence = first.getLongProperty(PROP_SEQUENCE);
+            for (int i = 1; i < messages.size(); i++) {
+                jakarta.jms.Message message = messages.get(i);
+                if (!epoch.equals(message.getStringProperty(PROP_SEQUENCE_EPOCH))
+                        || !message.propertyExists(PROP_SEQUENCE)
+                        || message.getLongProperty(PROP_SEQUENCE) != firstSequence + i) {
+                    log.warn("Batch of {} messages does not form one sequence range (producer restarted "
+                        + "or new run), its notification is not ordered", messages.size());
+                    return -1;
                 }
             }
+            return firstSequence;
+        } catch (JMSException e) {
+            return -1;
+        }
+    }
+
+    private boolean isFinalDelivery(List<jakarta.jms.Message> messages) {
+        if (maxDeliveryAttempts <= 0) {
+            return false;
+        }
+        try {
+            for (jakarta.jms.Message message : messages) {
+                if (message.propertyExists(PROP_DELIVERY_COUNT)
+                        && message.getIntProperty(PROP_DELIVERY_COUNT) >= maxDeliveryAttempts) {
+                    return true;
+                }
+            }
+        } catch (JMSException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the delivery limit of the data queues from the embedded broker's address settings.
+     *
+     * @return max delivery attempts, or -1 if unknown (remote broker) or unlimited
+     */
+    private int resolveMaxDeliveryAttempts() {
+        ActiveMQServer server = EmbeddedBrokerRegistry.getServer(serverId);
+        if (server == null) {
+            return -1;
+        }
+        try {
+            int attempts = server.getAddressSettingsRepository().getMatch(dataQueueNames.get(0)).getMaxDeliveryAttempts();
+            return attempts > 0 ? attempts : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    // =========================================================================
+    // Partition — Inner Class
+    // =========================================================================
+
+    /**
+     * Consumer side of one partition queue: its own connection and transacted session, owned by
+     * at most one receive/batch of this resource at a time.
+     */
+    private final class Partition {
+        private final String name;
+        private final Session session;
+        private final MessageConsumer consumer;
+        private final AtomicBoolean owned = new AtomicBoolean(false);
+
+        Partition(String name) throws JMSException {
+            this.name = name;
+            Connection connection = createTrackedConnection();
+            this.session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            this.consumer = session.createConsumer(session.createQueue(name));
+        }
+
+        boolean tryAcquire() {
+            return owned.compareAndSet(false, true);
+        }
+
+        void release() {
+            owned.set(false);
         }
     }
 
@@ -981,6 +1613,7 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         metrics.put("address_size_bytes", getAddressSize());
         metrics.put("message_count", getQueueMessageCount());
         metrics.put("throughput_per_sec", throughputCounter.getRate());
+        metrics.put("partitions", partitions);
     }
 
     private long getQueueMessageCount() {
@@ -989,11 +1622,14 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             return 0;
         }
         try {
-            var queueControl = server.locateQueue(SimpleString.of(queueName));
-            if (queueControl != null) {
-                return queueControl.getMessageCount();
+            long count = 0;
+            for (String dataQueue : dataQueueNames) {
+                var queueControl = server.locateQueue(SimpleString.of(dataQueue));
+                if (queueControl != null) {
+                    count += queueControl.getMessageCount();
+                }
             }
-            return 0;
+            return count;
         } catch (Exception e) {
             return 0;
         }
@@ -1008,6 +1644,32 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
         clearErrorsIf(filter);
     }
 
+    /**
+     * {@inheritDoc}
+     * Address size of the fullest data address relative to its byte limit
+     * ({@code maxSizeBytes}, split across partitions). Returns {@code -1} if the broker runs
+     * in another process.
+     */
+    @Override
+    public double getFillRatio() {
+        ActiveMQServer server = EmbeddedBrokerRegistry.getServer(serverId);
+        if (server == null) {
+            return -1;
+        }
+        try {
+            long fullest = 0;
+            for (String dataQueue : dataQueueNames) {
+                var pgStore = server.getPagingManager().getPageStore(SimpleString.of(dataQueue));
+                if (pgStore != null) {
+                    fullest = Math.max(fullest, pgStore.getAddressSize());
+                }
+            }
+            return Math.min(1.0, (double) fullest / addressMaxSizeBytes());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
     /**
      * Returns the configured maximum address size in bytes.
      *
@@ -1023,11 +1685,14 @@ public class ArtemisQueueResource<T extends Message> extends AbstractResource
             return 0;
         }
         try {
-            var pgStore = server.getPagingManager().getPageStore(SimpleString.of(queueName));
-            if (pgStore != null) {
-                return pgStore.getAddressSize();
+            long size = 0;
+            for (String dataQueue : dataQueueNames) {
+                var pgStore = server.getPagingManager().getPageStore(SimpleString.of(dataQueue));
+                if (pgStore != null) {
+                    size += pgStore.getAddressSize();
+                }
             }
-            return 0;
+            return size;
         } catch (Exception e) {
             return 0;
         }
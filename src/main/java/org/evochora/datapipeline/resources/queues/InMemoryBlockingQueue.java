@@ -20,6 +20,7 @@ import org.evochora.datapipeline.api.resources.OperationalError;
 import org.evochora.datapipeline.api.resources.ResourceContext;
 import org.evochora.datapipeline.api.resources.queues.IInputQueueResource;
 import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
+import org.evochora.datapipeline.api.resources.queues.IQueueFillLevel;
 import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
 import org.evochora.datapipeline.resources.AbstractResource;
 import org.evochora.datapipeline.resources.queues.wrappers.DirectInputQueueWrapper;
@@ -40,7 +41,7 @@ import com.typesafe.config.ConfigFactory;
  *
  * @param <T> The type of elements held in this queue.
  */
-public class InMemoryBlockingQueue<T> extends AbstractResource implements IContextualResource, IInputQueueResource<T>, IOutputQueueResource<T>, IMemoryEstimatable {
+public class InMemoryBlockingQueue<T> extends AbstractResource implements IContextualResource, IInputQueueResource<T>, IOutputQueueResource<T>, IQueueFillLevel, IMemoryEstimatable {
 
     private final ArrayBlockingQueue<TimestampedObject<T>> queue;
     private final int capacity;
@@ -158,6 +159,14 @@ public class InMemoryBlockingQueue<T> extends AbstractResource implements IConte
         };
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFillRatio() {
+        return (double) queue.size() / capacity;
+    }
+
     /**
      * {@inheritDoc}
      * Supports usage types: queue-in, queue-in-direct, queue-out, queue-out-direct.
@@ -0,0 +1,671 @@
+package org.evochora.datapipeline.resources.queues;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
+import org.evochora.datapipeline.api.memory.MemoryEstimate;
+import org.evochora.datapipeline.api.memory.SimulationParameters;
+import org.evochora.datapipeline.api.resources.IContextualResource;
+import org.evochora.datapipeline.api.resources.IWrappedResource;
+import org.evochora.datapipeline.api.resources.OperationalError;
+import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.queues.IInputQueueResource;
+import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
+import org.evochora.datapipeline.api.resources.queues.IQueueFillLevel;
+import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
+import org.evochora.datapipeline.resources.AbstractResource;
+import org.evochora.datapipeline.resources.queues.wrappers.DirectInputQueueWrapper;
+import org.evochora.datapipeline.resources.queues.wrappers.DirectOutputQueueWrapper;
+import org.evochora.datapipeline.resources.queues.wrappers.MonitoredQueueConsumer;
+import org.evochora.datapipeline.resources.queues.wrappers.MonitoredQueueProducer;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * A lock-free, in-memory, bounded queue resource backed by a preallocated multi-producer /
+ * multi-consumer ring buffer.
+ * <p>
+ * Drop-in replacement for {@link InMemoryBlockingQueue} in single-JVM deployments where the
+ * engine → persistence → indexer hand-offs would otherwise contend on one lock.
+ * <p>
+ * <strong>Algorithm:</strong> Each slot carries a sequence number (bounded MPMC queue after
+ * D. Vyukov). A slot at position {@code p} is free for a producer when its sequence is
+ * {@code p}, and published for consumers when it is {@code p + 1}. Consumers claim a whole
+ * batch with a single CAS on the read cursor after checking that the slots are published, so
+ * every batch is a contiguous range of positions and competing consumers always receive
+ * non-overlapping consecutive ranges without a drain lock. Producers claim ranges for
+ * {@link #offerBatch(Object[], int, int)} the same way.
+ * <p>
+ * <strong>Waiting:</strong> Blocking calls spin briefly, then park. The opposite side unparks
+ * parked threads after publishing or releasing slots; parking is additionally bounded so a
+ * missed signal can only delay, never block.
+ * <p>
+ * <strong>Metrics:</strong> Counters are {@link LongAdder}s (striped per thread), no per-element
+ * wrapper or timestamp is allocated. Throughput is derived from counter snapshots taken when
+ * metrics are read.
+ *
+ * @param <T> The type of elements held in this queue.
+ */
+public class RingBufferQueue<T> extends AbstractResource implements IContextualResource, IInputQueueResource<T>, IOutputQueueResource<T>, IQueueFillLevel, IMemoryEstimatable {
+
+    /** Longs per cache line; cursors are spaced by this to avoid false sharing. */
+    private static final int PAD = 8;
+    private static final int WRITE_CURSOR = PAD;
+    private static final int READ_CURSOR = 2 * PAD;
+    private static final int SPIN_TRIES = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray cursors = new AtomicLongArray(3 * PAD);
+    private final int capacity;
+    private final int metricsWindowSeconds;
+    private final int coalescingDelayMs;
+    private final long estimatedBytesPerItem;
+
+    private final Waiters consumersWaiting = new Waiters();
+    private final Waiters producersWaiting = new Waiters();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+    private final ThroughputSampler throughput;
+
+    /**
+     * Constructs a RingBufferQueue with the specified name and configuration.
+     *
+     * @param name    The name of the resource.
+     * @param options The TypeSafe Config object containing queue options:
+     *                <ul>
+     *                  <li>{@code capacity} - Number of preallocated slots (default: 10)</li>
+     *                  <li>{@code metricsWindowSeconds} - Throughput calculation window (default: 5)</li>
+     *                  <li>{@code coalescingDelayMs} - Delay for batch coalescing (default: 0)</li>
+     *                  <li>{@code estimatedBytesPerItem} - Override memory estimation per item in bytes
+     *                      (see {@link InMemoryBlockingQueue})</li>
+     *                </ul>
+     * @throws IllegalArgumentException if the configuration is invalid (e.g., non-positive capacity).
+     */
+    public RingBufferQueue(String name, Config options) {
+        super(name, options);
+        Config defaults = ConfigFactory.parseMap(Map.of(
+                "capacity", 10,
+                "metricsWindowSeconds", 5,
+                "coalescingDelayMs", 0
+        ));
+        Config finalConfig = options.withFallback(defaults);
+
+        try {
+            this.capacity = finalConfig.getInt("capacity");
+            this.metricsWindowSeconds = finalConfig.getInt("metricsWindowSeconds");
+            this.coalescingDelayMs = finalConfig.getInt("coalescingDelayMs");
+            this.estimatedBytesPerItem = finalConfig.hasPath("estimatedBytesPerItem")
+                    ? finalConfig.getLong("estimatedBytesPerItem") : 0;
+        } catch (ConfigException e) {
+            throw new IllegalArgumentException("Invalid configuration for RingBufferQueue '" + name + "'", e);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive for resource '" + name + "'.");
+        }
+        if (metricsWindowSeconds <= 0) {
+            throw new IllegalArgumentException("metricsWindowSeconds must be positive for resource '" + name + "'.");
+        }
+        if (coalescingDelayMs < 0) {
+            throw new IllegalArgumentException("coalescingDelayMs cannot be negative for resource '" + name + "'.");
+        }
+        if (estimatedBytesPerItem < 0) {
+            throw new IllegalArgumentException("estimatedBytesPerItem cannot be negative for resource '" + name + "'.");
+        }
+
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.throughput = new ThroughputSampler(metricsWindowSeconds);
+    }
+
+    // ==================== IOutputQueueResource ====================
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(T element) {
+        Objects.requireNonNull(element, "element cannot be null");
+        return tryOffer(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(T element) throws InterruptedException {
+        Objects.requireNonNull(element, "element cannot be null");
+        while (!tryOffer(element)) {
+            awaitWritable(false, 0);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(element, "element cannot be null");
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!tryOffer(element)) {
+            if (!awaitWritable(true, deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(Collection<T> elements) throws InterruptedException {
+        for (T element : elements) {
+            put(element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offerAll(Collection<T> elements) {
+        if (elements == null) {
+            throw new NullPointerException("elements collection cannot be null");
+        }
+        int count = 0;
+        for (T element : elements) {
+            if (element == null) {
+                throw new NullPointerException("collection cannot contain null elements");
+            }
+            if (!tryOffer(element)) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Allocation-free batch offer: claims as many consecutive free slots as available (up to
+     * {@code length}) with a single CAS and publishes the elements in order.
+     *
+     * @param elements Source array.
+     * @param offset   Index of the first element to offer.
+     * @param length   Maximum number of elements to offer.
+     * @return The number of elements enqueued (a prefix of the given range).
+     * @throws NullPointerException if an element in the range is null.
+     */
+    public int offerBatch(T[] elements, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, elements.length);
+        for (int i = offset; i < offset + length; i++) {
+            if (elements[i] == null) {
+                throw new NullPointerException("elements cannot contain null");
+            }
+        }
+        while (length > 0) {
+            long pos = cursors.get(WRITE_CURSOR);
+            int n = 0;
+            while (n < length && sequences.get(index(pos + n)) == pos + n) {
+                n++;
+            }
+            if (n == 0) {
+                return 0;
+            }
+            if (cursors.compareAndSet(WRITE_CURSOR, pos, pos + n)) {
+                for (int i = 0; i < n; i++) {
+                    int idx = index(pos + i);
+                    buffer[idx] = elements[offset + i];
+                    sequences.set(idx, pos + i + 1);
+                }
+                enqueued.add(n);
+                consumersWaiting.signalAll();
+                return n;
+            }
+        }
+        return 0;
+    }
+
+    // ==================== IInputQueueResource ====================
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The batch is claimed with a single CAS on the read cursor, so competing consumers receive
+     * non-overlapping consecutive ranges. Commit and close are no-ops, as with
+     * {@link InMemoryBlockingQueue}.
+     */
+    @Override
+    public StreamingBatch<T> receiveBatch(int maxSize, long timeout, TimeUnit unit) throws InterruptedException {
+        Object[] items = new Object[Math.max(0, Math.min(maxSize, capacity))];
+        int count = receiveInto(items, 0, items.length, timeout, unit);
+        return new RingStreamingBatch<>(items, count);
+    }
+
+    /**
+     * Allocation-free batch receive into a caller-owned array.
+     * <p>
+     * Waits up to {@code timeout} for at least one element, applies the configured coalescing
+     * delay if the queue is still empty afterwards, then claims up to {@code maxSize} elements.
+     *
+     * @param target  Destination array.
+     * @param offset  Index of the first destination slot.
+     * @param maxSize Maximum number of elements to receive.
+     * @param timeout Maximum time to wait for at least one element.
+     * @param unit    Time unit of {@code timeout}.
+     * @return The number of elements written to {@code target} (0 on timeout).
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public int receiveInto(Object[] target, int offset, int maxSize, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        Objects.checkFromIndexSize(offset, maxSize, target.length);
+        if (maxSize == 0) {
+            return 0;
+        }
+        int count = claimDrain(target, offset, maxSize);
+        if (count > 0 || timeout <= 0) {
+            return count;
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (count == 0) {
+            if (!awaitReadable(deadline)) {
+                return 0;
+            }
+            if (coalescingDelayMs > 0 && isLastPublished()) {
+                // Producer is slow: give it time to add more before claiming
+                Thread.sleep(coalescingDelayMs);
+            }
+            count = claimDrain(target, offset, maxSize);
+        }
+        return count;
+    }
+
+    // ==================== Ring buffer ====================
+
+    private boolean tryOffer(Object element) {
+        while (true) {
+            long pos = cursors.get(WRITE_CURSOR);
+            int idx = index(pos);
+            long diff = sequences.get(idx) - pos;
+            if (diff < 0) {
+                return false; // slot still holds an element from the previous lap
+            }
+            if (diff == 0 && cursors.compareAndSet(WRITE_CURSOR, pos, pos + 1)) {
+                buffer[idx] = element;
+                sequences.set(idx, pos + 1);
+                enqueued.increment();
+                consumersWaiting.signalAll();
+                return true;
+            }
+            // Another producer claimed pos, retry with the new cursor
+        }
+    }
+
+    private int claimDrain(Object[] target, int offset, int maxSize) {
+        while (true) {
+            long pos = cursors.get(READ_CURSOR);
+            int n = 0;
+            while (n < maxSize && sequences.get(index(pos + n)) == pos + n + 1) {
+                n++;
+            }
+            if (n == 0) {
+                return 0;
+            }
+            if (cursors.compareAndSet(READ_CURSOR, pos, pos + n)) {
+                for (int i = 0; i < n; i++) {
+                    int idx = index(pos + i);
+                    target[offset + i] = buffer[idx];
+                    buffer[idx] = null;
+                    sequences.set(idx, pos + i + capacity);
+                }
+                dequeued.add(n);
+                producersWaiting.signalAll();
+                return n;
+            }
+        }
+    }
+
+    private boolean isReadable() {
+        long pos = cursors.get(READ_CURSOR);
+        return sequences.get(index(pos)) == pos + 1;
+    }
+
+    private boolean isLastPublished() {
+        long pos = cursors.get(READ_CURSOR);
+        return sequences.get(index(pos + 1)) != pos + 2;
+    }
+
+    private boolean isWritable() {
+        long pos = cursors.get(WRITE_CURSOR);
+        return sequences.get(index(pos)) >= pos;
+    }
+
+    private boolean awaitReadable(long deadline) throws InterruptedException {
+        return await(consumersWaiting, true, true, deadline);
+    }
+
+    private boolean awaitWritable(boolean timed, long deadline) throws InterruptedException {
+        return await(producersWaiting, false, timed, deadline);
+    }
+
+    /**
+     * Spins briefly, then parks until the condition holds, the deadline passes or the thread is
+     * interrupted. The waiter is registered before the final re-check so a concurrent signal
+     * cannot be lost.
+     */
+    private boolean await(Waiters waiters, boolean readable, boolean timed, long deadline) throws InterruptedException {
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            if (readable ? isReadable() : isWritable()) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            while (!(readable ? isReadable() : isWritable())) {
+                long parkNanos = MAX_PARK_NANOS;
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    parkNanos = Math.min(remaining, parkNanos);
+                }
+                LockSupport.parkNanos(this, parkNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    private int index(long position) {
+        return (int) (position % capacity);
+    }
+
+    private int size() {
+        long size = cursors.get(WRITE_CURSOR) - cursors.get(READ_CURSOR);
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    /**
+     * Threads parked on one side of the ring. Signalling is a cheap emptiness check unless
+     * somebody is actually parked.
+     */
+    private static final class Waiters {
+        private final ConcurrentLinkedQueue<Thread> threads = new ConcurrentLinkedQueue<>();
+
+        void add(Thread thread) {
+            threads.add(thread);
+        }
+
+        void remove(Thread thread) {
+            threads.remove(thread);
+        }
+
+        void signalAll() {
+            if (threads.isEmpty()) {
+                return;
+            }
+            for (Thread thread : threads) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Derives a per-second rate from successive snapshots of a monotonic counter. Only the
+     * metrics reader synchronizes; producers just increment the striped counter.
+     */
+    private static final class ThroughputSampler {
+        private final long windowNanos;
+        private final long[] sampleNanos;
+        private final long[] sampleCounts;
+        private int head;
+        private int samples;
+
+        ThroughputSampler(int windowSeconds) {
+            this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+            int slots = windowSeconds + 2;
+            this.sampleNanos = new long[slots];
+            this.sampleCounts = new long[slots];
+        }
+
+        synchronized double rate(long count) {
+            long now = System.nanoTime();
+            // Keep at most one sample per second
+            int last = (head + samples - 1) % sampleNanos.length;
+            if (samples == 0 || now - sampleNanos[last] >= TimeUnit.SECONDS.toNanos(1)) {
+                if (samples == sampleNanos.length) {
+                    head = (head + 1) % sampleNanos.length;
+                    samples--;
+                }
+                int slot = (head + samples) % sampleNanos.length;
+                sampleNanos[slot] = now;
+                sampleCounts[slot] = count;
+                samples++;
+            }
+            while (samples > 1 && now - sampleNanos[head] > windowNanos) {
+                head = (head + 1) % sampleNanos.length;
+                samples--;
+            }
+            long elapsed = now - sampleNanos[head];
+            if (elapsed <= 0) {
+                return 0.0;
+            }
+            return (count - sampleCounts[head]) * 1_000_000_000.0 / elapsed;
+        }
+    }
+
+    /**
+     * A StreamingBatch over the claimed slice. Commit and close are no-ops: the elements were
+     * removed from the ring when the range was claimed.
+     */
+    private static final class RingStreamingBatch<T> implements StreamingBatch<T> {
+        private final Object[] items;
+        private final int size;
+
+        RingStreamingBatch(Object[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T) items[next++];
+                }
+            };
+        }
+
+        @Override
+        public void commit() {
+            // No-op: in-memory queue has no crash recovery mechanism
+        }
+
+        @Override
+        public void close() {
+            // No-op: items are already removed from the ring during the claim
+        }
+    }
+
+    // ==================== Resource ====================
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UsageState getUsageState(String usageType) {
+        if (usageType == null) {
+            throw new IllegalArgumentException(String.format(
+                "Queue resource '%s' requires a non-null usageType", getResourceName()
+            ));
+        }
+
+        return switch (usageType) {
+            case "queue-in", "queue-in-direct" ->
+                isReadable() ? UsageState.ACTIVE : UsageState.WAITING;
+            case "queue-out", "queue-out-direct" ->
+                isWritable() ? UsageState.ACTIVE : UsageState.WAITING;
+            default -> throw new IllegalArgumentException(String.format(
+                "Unknown usageType '%s' for queue resource '%s'", usageType, getResourceName()
+            ));
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFillRatio() {
+        return Math.min(1.0, (double) size() / capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Supports usage types: queue-in, queue-in-direct, queue-out, queue-out-direct.
+     * Direct variants bypass monitoring for zero overhead.
+     */
+    @Override
+    public IWrappedResource getWrappedResource(ResourceContext context) {
+        if (context.usageType() == null) {
+            throw new IllegalArgumentException(String.format(
+                "Queue resource '%s' requires a usageType in the binding URI. " +
+                "Expected format: 'usageType:%s' where usageType is one of: " +
+                "queue-in, queue-in-direct, queue-out, queue-out-direct",
+                getResourceName(), getResourceName()
+            ));
+        }
+
+        return switch (context.usageType()) {
+            case "queue-in" -> new MonitoredQueueConsumer<>(this, context);
+            case "queue-in-direct" -> new DirectInputQueueWrapper<>(this);
+            case "queue-out" -> new MonitoredQueueProducer<>(this, context);
+            case "queue-out-direct" -> new DirectOutputQueueWrapper<>(this);
+            default -> throw new IllegalArgumentException(String.format(
+                "Unsupported usage type '%s' for queue resource '%s'. " +
+                "Supported types: queue-in, queue-in-direct, queue-out, queue-out-direct",
+                context.usageType(), getResourceName()
+            ));
+        };
+    }
+
+    @Override
+    protected void addCustomMetrics(Map<String, Number> metrics) {
+        super.addCustomMetrics(metrics);
+        metrics.put("capacity", capacity);
+        metrics.put("current_size", size());
+        metrics.put("throughput_per_sec", calculateThroughput(metricsWindowSeconds));
+        metrics.put("messages_enqueued", enqueued.sum());
+        metrics.put("messages_dequeued", dequeued.sum());
+    }
+
+    /**
+     * Calculates the enqueue throughput over the configured metrics window.
+     *
+     * @param window The time window in seconds (ignored, uses configured metricsWindowSeconds).
+     * @return The calculated throughput in messages per second.
+     */
+    public double calculateThroughput(int window) {
+        return throughput.rate(enqueued.sum());
+    }
+
+    /**
+     * Clears errors from the resource's error list based on a predicate.
+     *
+     * @param filter A predicate to select which errors to remove.
+     */
+    public void clearErrors(Predicate<OperationalError> filter) {
+        clearErrorsIf(filter);
+    }
+
+    /**
+     * Gets the metrics calculation window in seconds.
+     *
+     * @return The metrics window in seconds.
+     */
+    public int getMetricsWindowSeconds() {
+        return metricsWindowSeconds;
+    }
+
+    /**
+     * Returns the configured capacity of this queue.
+     *
+     * @return The number of preallocated slots.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ==================== IMemoryEstimatable ====================
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Estimates memory for a ring at full capacity: capacity × bytesPerItem plus one reference
+     * and one sequence number per slot (no per-element wrapper).
+     */
+    @Override
+    public List<MemoryEstimate> estimateWorstCaseMemory(SimulationParameters params) {
+        long bytesPerItem = estimatedBytesPerItem > 0
+                ? estimatedBytesPerItem
+                : params.estimateBytesPerChunk();
+        long slotOverhead = (long) capacity * 16;
+        long totalBytes = (long) capacity * bytesPerItem + slotOverhead;
+
+        String itemType = estimatedBytesPerItem > 0 ? "item (custom)" : "chunk";
+        String explanation = String.format("%d capacity × %s/%s + %s slot overhead",
+            capacity,
+            SimulationParameters.formatBytes(bytesPerItem),
+            itemType,
+            SimulationParameters.formatBytes(slotOverhead));
+
+        return List.of(new MemoryEstimate(
+            getResourceName(),
+            totalBytes,
+            explanation,
+            MemoryEstimate.Category.QUEUE
+        ));
+    }
+}
@@ -2,6 +2,8 @@ package org.evochora.datapipeline.resources.queues.wrappers;
 
 import org.evochora.datapipeline.api.resources.IResource;
 import org.evochora.datapipeline.api.resources.IWrappedResource;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkInput;
 import org.evochora.datapipeline.api.resources.queues.IInputQueueResource;
 import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
 
@@ -13,7 +15,7 @@ import java.util.concurrent.TimeUnit;
  *
  * @param <T> The type of elements in the queue
  */
-public class DirectInputQueueWrapper<T> implements IInputQueueResource<T>, IWrappedResource {
+public class DirectInputQueueWrapper<T> implements IInputQueueResource<T>, IEncodedChunkInput, IWrappedResource {
 
     private final IInputQueueResource<T> delegate;
 
@@ -43,4 +45,18 @@ public class DirectInputQueueWrapper<T> implements IInputQueueResource<T>, IWrap
     public StreamingBatch<T> receiveBatch(int maxSize, long timeout, TimeUnit unit) throws InterruptedException {
         return delegate.receiveBatch(maxSize, timeout, unit);
     }
+
+    @Override
+    public boolean supportsEncodedChunks() {
+        return delegate instanceof IEncodedChunkInput encoded && encoded.supportsEncodedChunks();
+    }
+
+    @Override
+    public StreamingBatch<EncodedChunk> receiveEncodedBatch(int maxSize, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (!supportsEncodedChunks()) {
+            throw new UnsupportedOperationException("Queue '" + getResourceName() + "' does not deliver encoded chunks");
+        }
+        return ((IEncodedChunkInput) delegate).receiveEncodedBatch(maxSize, timeout, unit);
+    }
 }
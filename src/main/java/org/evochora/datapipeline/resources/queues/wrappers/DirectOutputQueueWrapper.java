@@ -2,7 +2,10 @@ package org.evochora.datapipeline.resources.queues.wrappers;
 
 import org.evochora.datapipeline.api.resources.IResource;
 import org.evochora.datapipeline.api.resources.IWrappedResource;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkOutput;
 import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
+import org.evochora.datapipeline.api.resources.queues.IQueueFillLevel;
 
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
@@ -13,7 +16,7 @@ import java.util.concurrent.TimeUnit;
  *
  * @param <T> The type of elements in the queue
  */
-public class DirectOutputQueueWrapper<T> implements IOutputQueueResource<T>, IWrappedResource {
+public class DirectOutputQueueWrapper<T> implements IOutputQueueResource<T>, IEncodedChunkOutput, IQueueFillLevel, IWrappedResource {
 
     private final IOutputQueueResource<T> delegate;
 
@@ -62,4 +65,22 @@ public class DirectOutputQueueWrapper<T> implements IOutputQueueResource<T>, IWr
     public int offerAll(Collection<T> elements) {
         return delegate.offerAll(elements);
     }
+
+    @Override
+    public boolean supportsEncodedChunks() {
+        return delegate instanceof IEncodedChunkOutput encoded && encoded.supportsEncodedChunks();
+    }
+
+    @Override
+    public void putEncoded(EncodedChunk chunk) throws InterruptedException {
+        if (!supportsEncodedChunks()) {
+            throw new UnsupportedOperationException("Queue '" + getResourceName() + "' does not accept encoded chunks");
+        }
+        ((IEncodedChunkOutput) delegate).putEncoded(chunk);
+    }
+
+    @Override
+    public double getFillRatio() {
+        return delegate instanceof IQueueFillLevel fillLevel ? fillLevel.getFillRatio() : -1;
+    }
 }
\ No newline at end of file
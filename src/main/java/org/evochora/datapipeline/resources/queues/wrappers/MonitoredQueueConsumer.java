@@ -4,6 +4,8 @@ import org.evochora.datapipeline.api.resources.IMonitorable;
 import org.evochora.datapipeline.api.resources.IResource;
 import org.evochora.datapipeline.api.resources.IWrappedResource;
 import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkInput;
 import org.evochora.datapipeline.api.resources.queues.IInputQueueResource;
 import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
 import org.evochora.datapipeline.resources.AbstractResource;
@@ -23,7 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * @param <T> The type of elements consumed from the queue.
  */
-public class MonitoredQueueConsumer<T> extends AbstractResource implements IInputQueueResource<T>, IWrappedResource {
+public class MonitoredQueueConsumer<T> extends AbstractResource implements IInputQueueResource<T>, IEncodedChunkInput, IWrappedResource {
 
     private static final Logger log = LoggerFactory.getLogger(MonitoredQueueConsumer.class);
 
@@ -96,6 +98,45 @@ public class MonitoredQueueConsumer<T> extends AbstractResource implements IInpu
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * True if the underlying queue delivers encoded chunks.
+     */
+    @Override
+    public boolean supportsEncodedChunks() {
+        return delegate instanceof IEncodedChunkInput encoded && encoded.supportsEncodedChunks();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Delegates to the underlying queue and records the batch size for metrics.
+     */
+    @Override
+    public StreamingBatch<EncodedChunk> receiveEncodedBatch(int maxSize, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (!supportsEncodedChunks()) {
+            throw new UnsupportedOperationException("Queue '" + delegate.getResourceName() + "' does not deliver encoded chunks");
+        }
+        try {
+            StreamingBatch<EncodedChunk> batch = ((IEncodedChunkInput) delegate).receiveEncodedBatch(maxSize, timeout, unit);
+            if (batch.size() > 0) {
+                recordConsumptions(batch.size());
+            }
+            return batch;
+        } catch (InterruptedException e) {
+            log.debug("receiveEncodedBatch interrupted: service={}, queue={}",
+                context.serviceName(), delegate.getResourceName());
+            throw e;
+        } catch (Exception e) {
+            if (!isInterruptInduced(e)) {
+                log.error("receiveEncodedBatch failed: service={}, queue={}, error={}",
+                    context.serviceName(), delegate.getResourceName(), e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Override
     protected void addCustomMetrics(Map<String, Number> metrics) {
         super.addCustomMetrics(metrics);  // Include parent metrics
@@ -4,7 +4,10 @@ import org.evochora.datapipeline.api.resources.IMonitorable;
 import org.evochora.datapipeline.api.resources.IResource;
 import org.evochora.datapipeline.api.resources.IWrappedResource;
 import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkOutput;
 import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
+import org.evochora.datapipeline.api.resources.queues.IQueueFillLevel;
 import org.evochora.datapipeline.resources.AbstractResource;
 import org.evochora.datapipeline.utils.monitoring.SlidingWindowCounter;
 
@@ -20,7 +23,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * @param <T> The type of elements sent to the queue.
  */
-public class MonitoredQueueProducer<T> extends AbstractResource implements IOutputQueueResource<T>, IWrappedResource {
+public class MonitoredQueueProducer<T> extends AbstractResource implements IOutputQueueResource<T>, IEncodedChunkOutput, IQueueFillLevel, IWrappedResource {
 
     private final IOutputQueueResource<T> delegate;
     private final ResourceContext context;
@@ -161,6 +164,45 @@ public class MonitoredQueueProducer<T> extends AbstractResource implements IOutp
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * True if the underlying queue accepts encoded chunks.
+     */
+    @Override
+    public boolean supportsEncodedChunks() {
+        return delegate instanceof IEncodedChunkOutput encoded && encoded.supportsEncodedChunks();
+    }
+
+    /**
+     * {@inheritDoc}
+     * This implementation increments the sent messages counter after the chunk is successfully put.
+     */
+    @Override
+    public void putEncoded(EncodedChunk chunk) throws InterruptedException {
+        if (!supportsEncodedChunks()) {
+            throw new UnsupportedOperationException("Queue '" + delegate.getResourceName() + "' does not accept encoded chunks");
+        }
+        try {
+            ((IEncodedChunkOutput) delegate).putEncoded(chunk);
+            recordProduction();
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            recordError("PUT_ENCODED_ERROR", "Error putting encoded chunk to queue",
+                String.format("Service: %s, Queue: %s, Error: %s", context.serviceName(), delegate.getResourceName(), e.getMessage()));
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Delegates to the underlying queue, or returns -1 if it does not report a fill level.
+     */
+    @Override
+    public double getFillRatio() {
+        return delegate instanceof IQueueFillLevel fillLevel ? fillLevel.getFillRatio() : -1;
+    }
+
     @Override
     protected void addCustomMetrics(Map<String, Number> metrics) {
         super.addCustomMetrics(metrics);  // Include parent metrics
@@ -16,6 +16,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 import org.evochora.datapipeline.api.resources.storage.CheckedConsumer;
@@ -28,6 +31,7 @@ import org.evochora.datapipeline.api.contracts.TickDelta;
 import org.evochora.datapipeline.api.resources.IContextualResource;
 import org.evochora.datapipeline.api.resources.IWrappedResource;
 import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
 import org.evochora.datapipeline.api.resources.storage.BatchFileListResult;
 import org.evochora.datapipeline.api.resources.storage.ChunkFieldFilter;
 import org.evochora.datapipeline.api.resources.storage.IBatchStorageRead;
@@ -37,6 +41,7 @@ import org.evochora.datapipeline.api.resources.storage.IResourceBatchStorageRead
 import org.evochora.datapipeline.api.resources.storage.StoragePath;
 import org.evochora.datapipeline.api.resources.storage.StreamingWriteResult;
 import org.evochora.datapipeline.resources.AbstractResource;
+import org.evochora.datapipeline.resources.storage.wrappers.MonitoredAnalyticsStorageReader;
 import org.evochora.datapipeline.resources.storage.wrappers.MonitoredAnalyticsStorageWriter;
 import org.evochora.datapipeline.resources.storage.wrappers.MonitoredBatchStorageReader;
 import org.evochora.datapipeline.resources.storage.wrappers.MonitoredBatchStorageWriter;
@@ -164,22 +169,39 @@ public abstract class AbstractBatchStorageResource extends AbstractResource
      */
     @Override
     public StreamingWriteResult writeChunkBatchStreaming(Iterator<TickDataChunk> chunks) throws IOException {
+        return writeStreaming(chunks, ChunkMetadata.DECODED, this::writeChunksToTempFile);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Same flow as {@link #writeChunkBatchStreaming}, but the bytes are passed to
+     * {@link #writeEncodedChunksToTempFile} unchanged. Metadata comes from the
+     * {@link EncodedChunk} fields, so no chunk is parsed.
+     */
+    @Override
+    public StreamingWriteResult writeEncodedChunkBatchStreaming(Iterator<EncodedChunk> chunks) throws IOException {
+        return writeStreaming(chunks, ChunkMetadata.ENCODED, this::writeEncodedChunksToTempFile);
+    }
+
+    private <C> StreamingWriteResult writeStreaming(Iterator<C> chunks, ChunkMetadata<C> metadata,
+                                                    TempFileWriter<C> tempWriter) throws IOException {
         if (chunks == null || !chunks.hasNext()) {
             throw new IllegalArgumentException("chunks iterator cannot be null or empty");
         }
 
         // 1. Peek first chunk for metadata (simulationId, firstTick)
-        TickDataChunk firstChunk = chunks.next();
-        String simulationId = firstChunk.getSimulationRunId();
-        long firstTick = firstChunk.getFirstTick();
+        C firstChunk = chunks.next();
+        String simulationId = metadata.simulationRunId().apply(firstChunk);
+        long firstTick = metadata.firstTick().applyAsLong(firstChunk);
 
         // 2. Compute folder path from firstTick
         String folderPath = simulationId + "/raw/" + calculateFolderPath(firstTick);
 
         // 3. Write to temp file, tracking lastTick as we go
-        TrackingIterable trackingIterable = new TrackingIterable(firstChunk, chunks);
+        TrackingIterable<C> trackingIterable = new TrackingIterable<>(firstChunk, chunks, metadata);
         long writeStart = System.nanoTime();
-        TempWriteResult tempResult = writeChunksToTempFile(folderPath, trackingIterable, codec);
+        TempWriteResult tempResult = tempWriter.write(folderPath, trackingIterable, codec);
         long writeLatency = System.nanoTime() - writeStart;
 
         long lastTick = trackingIterable.getLastTick();
@@ -1047,6 +1069,7 @@ public abstract class AbstractBatchStorageResource extends AbstractResource
      *   <li>storage-readwrite - Returns a {@link MonitoredBatchStorageReadWriter} for services needing both
      *       read and write access (e.g., SimulationEngine in resume mode)</li>
      *   <li>analytics-write - Returns a {@link MonitoredAnalyticsStorageWriter} for analytics data</li>
+     *   <li>analytics-read - Returns a {@link MonitoredAnalyticsStorageReader} for services reading analytics data</li>
      * </ul>
      *
      * @param context The resource context containing usage type and service information
@@ -1068,9 +1091,10 @@ public abstract class AbstractBatchStorageResource extends AbstractResource
             case "storage-write" -> new MonitoredBatchStorageWriter(this, context);
             case "storage-read" -> new MonitoredBatchStorageReader(this, context);
             case "analytics-write" -> new MonitoredAnalyticsStorageWriter(this, context);
+            case "analytics-read" -> new MonitoredAnalyticsStorageReader(this, context);
             default -> throw new IllegalArgumentException(String.format(
                 "Unsupported usage type '%s' for storage resource '%s'. " +
-                "Supported types: storage-write, storage-read, analytics-write",
+                "Supported types: storage-write, storage-read, analytics-write, analytics-read",
                 context.usageType(), getResourceName()
             ));
         };
@@ -1131,6 +1155,22 @@ public abstract class AbstractBatchStorageResource extends AbstractResource
     protected abstract TempWriteResult writeChunksToTempFile(
         String folderPath, Iterable<TickDataChunk> chunks, ICompressionCodec codec) throws IOException;
 
+    /**
+     * Writes pre-serialized chunks to a temporary file in the given folder.
+     * <p>
+     * Same contract as {@link #writeChunksToTempFile}, but each chunk is written as its
+     * length-prefixed bytes (varint length, then {@link EncodedChunk#data()}), which is
+     * byte-identical to {@code writeDelimitedTo} of the parsed chunk.
+     *
+     * @param folderPath relative folder path within the storage root
+     * @param chunks     iterable of encoded chunks to write
+     * @param codec      compression codec to wrap the output stream
+     * @return result containing the temp file handle and bytes written
+     * @throws IOException if the write fails
+     */
+    protected abstract TempWriteResult writeEncodedChunksToTempFile(
+        String folderPath, Iterable<EncodedChunk> chunks, ICompressionCodec codec) throws IOException;
+
     /**
      * Atomically moves a temp file to its final path.
      * <p>
@@ -1403,6 +1443,29 @@ public abstract class AbstractBatchStorageResource extends AbstractResource
         }
     }
 
+    /**
+     * Writes a sequence of chunks to a temp file (one of the two abstract temp-file writers).
+     */
+    @FunctionalInterface
+    private interface TempFileWriter<C> {
+        TempWriteResult write(String folderPath, Iterable<C> chunks, ICompressionCodec codec) throws IOException;
+    }
+
+    /**
+     * Accessors for the chunk metadata needed by the streaming write, for parsed and encoded chunks.
+     */
+    private record ChunkMetadata<C>(Function<C, String> simulationRunId, ToLongFunction<C> firstTick,
+                                    ToLongFunction<C> lastTick, ToIntFunction<C> tickCount) {
+
+        static final ChunkMetadata<TickDataChunk> DECODED = new ChunkMetadata<>(
+            TickDataChunk::getSimulationRunId, TickDataChunk::getFirstTick,
+            TickDataChunk::getLastTick, TickDataChunk::getTickCount);
+
+        static final ChunkMetadata<EncodedChunk> ENCODED = new ChunkMetadata<>(
+            EncodedChunk::simulationRunId, EncodedChunk::firstTick,
+            EncodedChunk::lastTick, EncodedChunk::tickCount);
+    }
+
     /**
      * An iterable that wraps a peeked first chunk and remaining iterator,
      * tracking the last tick and chunk count during iteration.
@@ -1410,25 +1473,27 @@ public abstract class AbstractBatchStorageResource extends AbstractResource
      * Used by {@link #writeChunkBatchStreaming} to derive metadata (lastTick, chunkCount)
      * during the streaming write without requiring a second pass.
      */
-    private static class TrackingIterable implements Iterable<TickDataChunk> {
-        private final TickDataChunk firstChunk;
-        private final Iterator<TickDataChunk> remaining;
+    private static class TrackingIterable<C> implements Iterable<C> {
+        private final C firstChunk;
+        private final Iterator<C> remaining;
+        private final ChunkMetadata<C> metadata;
         private final String expectedSimulationRunId;
         private long lastTick;
         private int chunkCount;
         private int totalTickCount;
 
-        TrackingIterable(TickDataChunk firstChunk, Iterator<TickDataChunk> remaining) {
+        TrackingIterable(C firstChunk, Iterator<C> remaining, ChunkMetadata<C> metadata) {
             this.firstChunk = firstChunk;
             this.remaining = remaining;
-            this.expectedSimulationRunId = firstChunk.getSimulationRunId();
-            this.lastTick = firstChunk.getLastTick();
+            this.metadata = metadata;
+            this.expectedSimulationRunId = metadata.simulationRunId().apply(firstChunk);
+            this.lastTick = metadata.lastTick().applyAsLong(firstChunk);
             this.chunkCount = 0;
             this.totalTickCount = 0;
         }
 
         @Override
-        public Iterator<TickDataChunk> iterator() {
+        public Iterator<C> iterator() {
             return new Iterator<>() {
                 private boolean firstReturned = false;
 
@@ -1438,27 +1503,29 @@ public abstract class AbstractBatchStorageResource extends AbstractResource
                 }
 
                 @Override
-                public TickDataChunk next() {
-                    TickDataChunk chunk;
+                public C next() {
+                    C chunk;
                     if (!firstReturned) {
                         chunk = firstChunk;
                         firstReturned = true;
                     } else {
                         chunk = remaining.next();
-                        if (!expectedSimulationRunId.equals(chunk.getSimulationRunId())) {
+                        String simulationRunId = metadata.simulationRunId().apply(chunk);
+                        if (!expectedSimulationRunId.equals(simulationRunId)) {
                             throw new IllegalStateException(String.format(
                                 "simulationRunId mismatch in batch: expected '%s' (from first chunk) but chunk at tick %d has '%s'",
-                                expectedSimulationRunId, chunk.getFirstTick(), chunk.getSimulationRunId()));
+                                expectedSimulationRunId, metadata.firstTick().applyAsLong(chunk), simulationRunId));
                         }
                     }
-                    if (chunkCount > 0 && chunk.getFirstTick() < lastTick) {
+                    long firstTick = metadata.firstTick().applyAsLong(chunk);
+                    if (chunkCount > 0 && firstTick < lastTick) {
                         throw new IllegalStateException(String.format(
                             "chunks not in ascending tick order: previous lastTick=%d but chunk has firstTick=%d",
-                            lastTick, chunk.getFirstTick()));
+                            lastTick, firstTick));
                     }
-                    lastTick = chunk.getLastTick();
+                    lastTick = metadata.lastTick().applyAsLong(chunk);
                     chunkCount++;
-                    totalTickCount += chunk.getTickCount();
+                    totalTickCount += metadata.tickCount().applyAsInt(chunk);
                     return chunk;
                 }
             };
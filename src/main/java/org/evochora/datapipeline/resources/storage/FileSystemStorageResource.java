@@ -4,10 +4,12 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
@@ -15,18 +17,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
 import org.evochora.datapipeline.api.resources.storage.IAnalyticsStorageRead;
 import org.evochora.datapipeline.api.resources.storage.IAnalyticsStorageWrite;
+import org.evochora.datapipeline.utils.compression.EncodedChunkCompression;
 import org.evochora.datapipeline.utils.compression.ICompressionCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.protobuf.CodedOutputStream;
 import com.typesafe.config.Config;
 
 public class FileSystemStorageResource extends AbstractBatchStorageResource
@@ -104,6 +111,82 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
     @Override
     protected TempWriteResult writeChunksToTempFile(String folderPath, Iterable<TickDataChunk> chunks,
                                                      ICompressionCodec codec) throws IOException {
+        return writeTempFile(folderPath, raw -> {
+            try (OutputStream compressed = codec.wrapOutputStream(nonClosing(raw))) {
+                for (TickDataChunk chunk : chunks) {
+                    chunk.writeDelimitedTo(compressed);
+                }
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Same temp file handling as {@link #writeChunksToTempFile}; the chunk bytes are copied
+     * into the compressed stream behind their varint length prefix.
+     * <p>
+     * Chunks that the producer already compressed with this storage's codec are appended to the
+     * file as-is: each is a complete frame holding the same length-prefixed record, and the
+     * reader decodes concatenated frames as one stream. A compressed stream opened for plain
+     * chunks is finished before such a frame. Chunks compressed with another codec are
+     * decompressed first.
+     */
+    @Override
+    protected TempWriteResult writeEncodedChunksToTempFile(String folderPath, Iterable<EncodedChunk> chunks,
+                                                            ICompressionCodec codec) throws IOException {
+        return writeTempFile(folderPath, raw -> {
+            OutputStream compressed = null;
+            CodedOutputStream coded = null;
+            for (EncodedChunk chunk : chunks) {
+                if (chunk.isCompressed() && chunk.compression().equals(codec.getName())) {
+                    if (compressed != null) {
+                        coded.flush();
+                        compressed.close();
+                        compressed = null;
+                    }
+                    raw.write(chunk.data());
+                    continue;
+                }
+                EncodedChunk plain = EncodedChunkCompression.decompress(chunk);
+                if (compressed == null) {
+                    compressed = codec.wrapOutputStream(nonClosing(raw));
+                    coded = CodedOutputStream.newInstance(compressed);
+                }
+                coded.writeUInt32NoTag(plain.data().length);
+                coded.writeRawBytes(plain.data());
+            }
+            if (compressed != null) {
+                coded.flush();
+                compressed.close();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ChunkStreamWriter {
+        void writeTo(OutputStream raw) throws IOException;
+    }
+
+    /**
+     * Shields the file stream from codec streams: closing the returned stream only flushes,
+     * so a codec frame can be finished without closing the file.
+     */
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    private TempWriteResult writeTempFile(String folderPath, ChunkStreamWriter body) throws IOException {
         File parentDir = new File(rootDirectory, folderPath);
         parentDir.mkdirs();
         if (!parentDir.isDirectory()) {
@@ -115,13 +198,10 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
         long bytesWritten;
         try (OutputStream fileOut = new BufferedOutputStream(
                  Files.newOutputStream(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE));
-             CountingOutputStream counting = new CountingOutputStream(fileOut);
-             OutputStream compressed = codec.wrapOutputStream(counting)) {
+             CountingOutputStream counting = new CountingOutputStream(fileOut)) {
 
-            for (TickDataChunk chunk : chunks) {
-                chunk.writeDelimitedTo(compressed);
-            }
-            compressed.flush();
+            body.writeTo(counting);
+            counting.flush();
             bytesWritten = counting.getBytesWritten();
         } catch (IOException | RuntimeException e) {
             try { Files.deleteIfExists(tempFile.toPath()); } catch (IOException ignored) {}
@@ -410,10 +490,16 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
     // IAnalyticsStorageWrite Implementation
     // ========================================================================
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Writes go to a {@code .UUID.tmp} sibling (hidden from all listings) which is atomically
+     * moved to the final name when the stream is closed.
+     */
     @Override
     public OutputStream openAnalyticsOutputStream(String runId, String metricId, String lodLevel, String subPath, String filename) throws IOException {
         File file = getAnalyticsFile(runId, metricId, lodLevel, subPath, filename);
-        
+
         // Ensure parent directories exist
         File parentDir = file.getParentFile();
         if (parentDir != null && !parentDir.exists()) {
@@ -421,8 +507,44 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
                 throw new IOException("Failed to create directories for: " + file.getAbsolutePath());
             }
         }
-        
-        return Files.newOutputStream(file.toPath());
+
+        Path tempPath = new File(parentDir, file.getName() + "." + UUID.randomUUID() + ".tmp").toPath();
+        OutputStream tempOut = Files.newOutputStream(tempPath);
+        return new FilterOutputStream(tempOut) {
+            private boolean closed = false;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    out.close();
+                    Files.move(tempPath, file.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    try {
+                        Files.deleteIfExists(tempPath);
+                    } catch (IOException cleanupEx) {
+                        log.warn("Failed to clean up temp file after analytics write failure: {}", tempPath);
+                    }
+                    throw e;
+                }
+            }
+        };
+    }
+
+    @Override
+    public void deleteAnalyticsFile(String runId, String path) throws IOException {
+        File file = new File(getAnalyticsRoot(runId), path);
+        validatePath(file, runId); // Security check
+        Files.deleteIfExists(file.toPath());
     }
 
     // ========================================================================
@@ -436,11 +558,22 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
         validatePath(file, runId); // Security check
         
         if (!file.exists()) {
-            throw new IOException("Analytics file not found: " + file.getAbsolutePath());
+            throw new NoSuchFileException(file.getAbsolutePath(), null, "Analytics file not found");
         }
         return Files.newInputStream(file.toPath());
     }
 
+    @Override
+    public long getAnalyticsLastModified(String runId, String path) throws IOException {
+        File file = new File(getAnalyticsRoot(runId), path);
+        validatePath(file, runId); // Security check
+
+        if (!file.exists()) {
+            throw new NoSuchFileException(file.getAbsolutePath(), null, "Analytics file not found");
+        }
+        return Files.getLastModifiedTime(file.toPath()).toMillis();
+    }
+
     @Override
     public List<String> listAnalyticsFiles(String runId, String prefix) throws IOException {
         // Analytics root for this run
@@ -463,7 +596,8 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
                 .filter(path -> path.startsWith(searchPrefix))
                 .filter(path -> !path.endsWith(".tmp")) // Exclude temp files
                 .sorted()
-                .collect(Collectors.toList());
+                .collect(Collectors.collectingAndThen(Collectors.toList(),
+                    FileSystemStorageResource::excludeSupersededBatches));
         }
     }
 
@@ -481,14 +615,19 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
         String searchPrefix = (prefix == null) ? "" : prefix;
         Path rootPath = analyticsRoot.toPath();
 
+        List<String> visible;
         try (Stream<Path> stream = Files.walk(rootPath)) {
-            return stream
+            visible = excludeSupersededBatches(stream
                 .filter(Files::isRegularFile)
                 .map(p -> rootPath.relativize(p))
                 .map(Path::toString)
                 .map(s -> s.replace(File.separatorChar, '/'))
                 .filter(path -> path.startsWith(searchPrefix))
                 .filter(path -> !path.endsWith(".tmp"))
+                .toList());
+        }
+
+        return visible.stream()
                 .filter(path -> {
                     String filename = path.substring(path.lastIndexOf('/') + 1);
                     long[] range = parseAnalyticsParquetTickRange(filename);
@@ -502,7 +641,6 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
                 })
                 .sorted()
                 .collect(Collectors.toList());
-        }
     }
 
     @Override
@@ -570,6 +708,58 @@ public class FileSystemStorageResource extends AbstractBatchStorageResource
         }
     }
 
+    /**
+     * Removes batch Parquet files whose tick range is fully contained in another batch file
+     * of the same directory.
+     * <p>
+     * Compaction publishes a merged {@code batch_<first>_<last>.parquet} next to the files it
+     * replaces and deletes the originals later. Hiding covered files makes the atomic move of the
+     * merged file the single switch-over point: a listing contains either the complete original
+     * set or the compacted file, never both.
+     *
+     * @param paths Relative analytics paths (any order)
+     * @return The paths that are not superseded, in their original order
+     */
+    static List<String> excludeSupersededBatches(List<String> paths) {
+        record Batch(String path, String dir, long start, long end) {}
+
+        List<Batch> batches = new ArrayList<>();
+        for (String path : paths) {
+            int slash = path.lastIndexOf('/');
+            long[] range = parseAnalyticsParquetTickRange(path.substring(slash + 1));
+            if (range != null) {
+                batches.add(new Batch(path, slash < 0 ? "" : path.substring(0, slash), range[0], range[1]));
+            }
+        }
+        if (batches.size() < 2) {
+            return paths;
+        }
+
+        // Per directory: sort by start asc, end desc; a file is covered if an earlier one reaches past its end
+        batches.sort(Comparator.comparing(Batch::dir)
+            .thenComparingLong(Batch::start)
+            .thenComparing(Comparator.comparingLong(Batch::end).reversed()));
+        Set<String> superseded = new HashSet<>();
+        String currentDir = null;
+        long maxEnd = Long.MIN_VALUE;
+        for (Batch batch : batches) {
+            if (!batch.dir().equals(currentDir)) {
+                currentDir = batch.dir();
+                maxEnd = Long.MIN_VALUE;
+            }
+            if (batch.end() <= maxEnd) {
+                superseded.add(batch.path());
+            } else {
+                maxEnd = batch.end();
+            }
+        }
+
+        if (superseded.isEmpty()) {
+            return paths;
+        }
+        return paths.stream().filter(p -> !superseded.contains(p)).collect(Collectors.toList());
+    }
+
     @Override
     public List<String> listAnalyticsRunIds() throws IOException {
         if (!rootDirectory.exists() || !rootDirectory.isDirectory()) {
@@ -0,0 +1,93 @@
+package org.evochora.datapipeline.resources.storage.wrappers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.evochora.datapipeline.api.resources.IWrappedResource;
+import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.storage.IAnalyticsStorageRead;
+import org.evochora.datapipeline.resources.AbstractResource;
+import org.evochora.datapipeline.resources.storage.AbstractBatchStorageResource;
+
+/**
+ * Wrapper for IAnalyticsStorageRead that adds monitoring (files opened, list operations).
+ * <p>
+ * Used by pipeline services that read analytics artifacts (e.g. compaction). The HTTP layer
+ * keeps using the raw resource.
+ */
+public class MonitoredAnalyticsStorageReader extends AbstractResource implements IAnalyticsStorageRead, IWrappedResource {
+
+    private final IAnalyticsStorageRead delegate;
+    private final AbstractBatchStorageResource resource;
+    private final ResourceContext context;
+
+    // Metrics
+    private final AtomicLong filesOpened = new AtomicLong(0);
+    private final AtomicLong listOperations = new AtomicLong(0);
+    private final AtomicLong readErrors = new AtomicLong(0);
+
+    public MonitoredAnalyticsStorageReader(AbstractBatchStorageResource resource, ResourceContext context) {
+        super(resource.getResourceName() + "-" + context.usageType(), resource.getOptions());
+        this.resource = resource;
+        this.delegate = (IAnalyticsStorageRead) resource;
+        this.context = context;
+    }
+
+    @Override
+    public InputStream openAnalyticsInputStream(String runId, String path) throws IOException {
+        try {
+            InputStream in = delegate.openAnalyticsInputStream(runId, path);
+            filesOpened.incrementAndGet();
+            return in;
+        } catch (IOException e) {
+            readErrors.incrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public long getAnalyticsLastModified(String runId, String path) throws IOException {
+        return delegate.getAnalyticsLastModified(runId, path);
+    }
+
+    @Override
+    public List<String> listAnalyticsFiles(String runId, String prefix) throws IOException {
+        listOperations.incrementAndGet();
+        return delegate.listAnalyticsFiles(runId, prefix);
+    }
+
+    @Override
+    public List<String> listAnalyticsFiles(String runId, String prefix, Long tickFrom, Long tickTo) throws IOException {
+        listOperations.incrementAndGet();
+        return delegate.listAnalyticsFiles(runId, prefix, tickFrom, tickTo);
+    }
+
+    @Override
+    public long[] getAnalyticsTickRange(String runId, String prefix) throws IOException {
+        return delegate.getAnalyticsTickRange(runId, prefix);
+    }
+
+    @Override
+    public List<String> listAnalyticsRunIds() throws IOException {
+        listOperations.incrementAndGet();
+        return delegate.listAnalyticsRunIds();
+    }
+
+    @Override
+    public UsageState getUsageState(String usageType) {
+        if (context.usageType().equals(usageType)) {
+            return isHealthy() ? UsageState.ACTIVE : UsageState.FAILED;
+        }
+        return resource.getUsageState(usageType);
+    }
+
+    @Override
+    protected void addCustomMetrics(Map<String, Number> metrics) {
+        metrics.put("files_opened", filesOpened.get());
+        metrics.put("list_operations", listOperations.get());
+        metrics.put("read_errors", readErrors.get());
+    }
+}
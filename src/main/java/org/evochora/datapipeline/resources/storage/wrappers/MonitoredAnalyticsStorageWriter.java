@@ -30,6 +30,7 @@ public class MonitoredAnalyticsStorageWriter extends AbstractResource implements
     private final AtomicLong filesWritten = new AtomicLong(0);
     private final AtomicLong bytesWritten = new AtomicLong(0);
     private final AtomicLong writeErrors = new AtomicLong(0);
+    private final AtomicLong filesDeleted = new AtomicLong(0);
     
     private final SlidingWindowCounter writeThroughput;
     private final SlidingWindowPercentiles writeLatency;
@@ -90,6 +91,18 @@ public class MonitoredAnalyticsStorageWriter extends AbstractResource implements
         }
     }
     
+    @Override
+    public void deleteAnalyticsFile(String runId, String path) throws IOException {
+        try {
+            delegate.deleteAnalyticsFile(runId, path);
+            filesDeleted.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("Failed to delete analytics file for runId={}, path={}", runId, path);
+            recordFailure();
+            throw e;
+        }
+    }
+
     private void recordSuccess(long bytes, long latencyNanos) {
         filesWritten.incrementAndGet();
         bytesWritten.addAndGet(bytes);
@@ -118,6 +131,7 @@ public class MonitoredAnalyticsStorageWriter extends AbstractResource implements
         metrics.put("files_written", filesWritten.get());
         metrics.put("bytes_written", bytesWritten.get());
         metrics.put("write_errors", writeErrors.get());
+        metrics.put("files_deleted", filesDeleted.get());
         metrics.put("throughput_bytes_per_sec", writeThroughput.getRate());
         metrics.put("latency_p50_ms", writeLatency.getPercentile(50) / 1_000_000.0);
         metrics.put("latency_p99_ms", writeLatency.getPercentile(99) / 1_000_000.0);
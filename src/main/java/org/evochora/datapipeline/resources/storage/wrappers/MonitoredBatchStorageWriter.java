@@ -13,6 +13,7 @@ import org.evochora.datapipeline.api.resources.IResource;
 import org.evochora.datapipeline.api.resources.IWrappedResource;
 import org.evochora.datapipeline.api.resources.OperationalError;
 import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
 import org.evochora.datapipeline.api.resources.storage.IBatchStorageWrite;
 import org.evochora.datapipeline.api.resources.storage.StoragePath;
 import org.evochora.datapipeline.api.resources.storage.StreamingWriteResult;
@@ -89,9 +90,23 @@ public class MonitoredBatchStorageWriter implements IBatchStorageWrite, IWrapped
 
     @Override
     public StreamingWriteResult writeChunkBatchStreaming(Iterator<TickDataChunk> chunks) throws IOException {
+        return recordStreamingWrite(() -> delegate.writeChunkBatchStreaming(chunks));
+    }
+
+    @Override
+    public StreamingWriteResult writeEncodedChunkBatchStreaming(Iterator<EncodedChunk> chunks) throws IOException {
+        return recordStreamingWrite(() -> delegate.writeEncodedChunkBatchStreaming(chunks));
+    }
+
+    @FunctionalInterface
+    private interface StreamingWrite {
+        StreamingWriteResult run() throws IOException;
+    }
+
+    private StreamingWriteResult recordStreamingWrite(StreamingWrite write) throws IOException {
         long startNanos = System.nanoTime();
         try {
-            StreamingWriteResult result = delegate.writeChunkBatchStreaming(chunks);
+            StreamingWriteResult result = write.run();
 
             // Update cumulative metrics
             batchesWritten.incrementAndGet();
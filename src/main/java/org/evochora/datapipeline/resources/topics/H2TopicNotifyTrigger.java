@@ -0,0 +1,31 @@
+package org.evochora.datapipeline.resources.topics;
+
+import java.sql.Connection;
+
+import org.h2.api.Trigger;
+
+/**
+ * H2 {@code AFTER INSERT} trigger on {@code topic_messages} that wakes waiting topic readers.
+ * <p>
+ * H2 executes triggers in the process that hosts the database. Writers connected from another
+ * process (server or {@code AUTO_SERVER} mode) therefore still wake readers in the hosting
+ * process, without those readers waiting for their next poll.
+ * <p>
+ * The trigger fires before the inserting transaction commits. A reader woken this way may not
+ * see the row yet, so readers re-query once shortly after a signal that found nothing.
+ * <p>
+ * Installed by {@link H2TopicResource} when {@code notificationTrigger} is enabled. Must be public
+ * with a no-arg constructor because H2 instantiates it reflectively.
+ */
+public class H2TopicNotifyTrigger implements Trigger {
+
+    /** Index of {@code topic_name} in {@code topic_messages} rows. */
+    private static final int TOPIC_NAME_COLUMN = 1;
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) {
+        if (newRow != null && newRow[TOPIC_NAME_COLUMN] instanceof String topicName) {
+            H2TopicSignal.forTopic(topicName).signalAll();
+        }
+    }
+}
@@ -41,6 +41,12 @@ import com.typesafe.config.Config;
  * Acknowledged messages are recorded in {@code topic_consumer_group_acks} table.
  * Messages remain in {@code topic_messages} permanently (no deletion).
  * <p>
+ * <strong>Blocking Receive:</strong>
+ * When no message is available, the reader waits on the topic's {@link H2TopicSignal} instead of
+ * sleeping. Writers signal after every insert, so the reader re-queries immediately. Without a
+ * signal the reader re-queries every {@code pollIntervalMs} (fallback for writes from other
+ * processes and for expired claims).
+ * <p>
  * <strong>PreparedStatement Pooling:</strong>
  * Each delegate holds a HikariCP connection and prepares SQL statements once during
  * construction. Read and ACK operations reuse these statements, improving performance.
@@ -55,6 +61,9 @@ public class H2TopicReaderDelegate<T extends Message> extends AbstractTopicDeleg
     
     private static final Logger log = LoggerFactory.getLogger(H2TopicReaderDelegate.class);
     
+    // Re-query delay after a signal that found nothing (trigger signals fire before commit)
+    private static final long SIGNAL_RECHECK_MS = 25;
+    
     private final Connection connection;
     private final String serviceName;  // Service name from config (used in claimed_by)
     private PreparedStatement readStatementWithTimeout;       // SELECT candidates (lazy init after schema switch)
@@ -67,6 +76,8 @@ public class H2TopicReaderDelegate<T extends Message> extends AbstractTopicDeleg
     private final AtomicLong readErrors = new AtomicLong(0);
     private final AtomicLong ackErrors = new AtomicLong(0);
     private final AtomicLong staleAcksRejected = new AtomicLong(0);
+    private final AtomicLong signalWakeups = new AtomicLong(0);
+    private final AtomicLong pollWakeups = new AtomicLong(0);
     
     // Claim conflict tracking (O(1) metrics)
     private final SlidingWindowCounter claimAttemptsWindow;
@@ -200,9 +211,14 @@ public class H2TopicReaderDelegate<T extends Message> extends AbstractTopicDeleg
         boolean blockIndefinitely = (unit == null);
         long timeoutMs = blockIndefinitely ? Long.MAX_VALUE : unit.toMillis(timeout);
         long startTime = System.currentTimeMillis();
-        long pollIntervalMs = 500;
+        long pollIntervalMs = parent.getPollIntervalMs();
+        H2TopicSignal signal = parent.getSignal();
+        boolean recheck = false;
         
         while (true) {
+            // Take the generation BEFORE querying, so a write during the query is not missed
+            long observedGeneration = signal.generation();
+            
             // Try to read a message
             ReceivedEnvelope<AckToken> message = tryReadMessage();
             if (message != null) {
@@ -215,10 +231,19 @@ public class H2TopicReaderDelegate<T extends Message> extends AbstractTopicDeleg
                 return null; // Timeout reached, no message available
             }
             
-            // Sleep for poll interval or remaining time, whichever is shorter
+            // Wait for a writer signal, at most poll interval or remaining time (polling fallback)
             long remainingMs = timeoutMs - elapsedMs;
-            long sleepMs = Math.min(pollIntervalMs, remainingMs);
-            Thread.sleep(sleepMs);
+            // After a signal that found nothing, re-check once shortly (row may not have been committed yet)
+            long waitMs = Math.min(recheck ? SIGNAL_RECHECK_MS : pollIntervalMs, remainingMs);
+            if (signal.await(consumerGroup, observedGeneration, waitMs)) {
+                signalWakeups.incrementAndGet();
+                recheck = true;
+            } else {
+                if (!recheck) {
+                    pollWakeups.incrementAndGet();
+                }
+                recheck = false;
+            }
         }
     }
     
@@ -316,6 +341,7 @@ public class H2TopicReaderDelegate<T extends Message> extends AbstractTopicDeleg
                     
                     // Track metrics
                     parent.recordRead();
+                    parent.recordDeliveryLatency(envelope.getTimestamp());
                     
                     // Log reassignment if applicable
                     if (isReassignment) {
@@ -465,6 +491,8 @@ public class H2TopicReaderDelegate<T extends Message> extends AbstractTopicDeleg
         metrics.put("delegate_read_errors", readErrors.get());
         metrics.put("delegate_ack_errors", ackErrors.get());
         metrics.put("delegate_stale_acks_rejected", staleAcksRejected.get());
+        metrics.put("delegate_signal_wakeups", signalWakeups.get());
+        metrics.put("delegate_poll_wakeups", pollWakeups.get());
         
         // Claim conflict metrics (O(1) calculation)
         long attemptsInWindow = claimAttemptsWindow.getWindowSum();
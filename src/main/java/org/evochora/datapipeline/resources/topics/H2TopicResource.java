@@ -14,6 +14,7 @@ import org.evochora.datapipeline.api.resources.ResourceContext;
 import org.evochora.datapipeline.api.resources.topics.ITopicReader;
 import org.evochora.datapipeline.api.resources.topics.ITopicWriter;
 import org.evochora.datapipeline.utils.H2SchemaUtil;
+import org.evochora.datapipeline.utils.monitoring.SlidingWindowPercentiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +52,13 @@ record AckToken(long rowId, int claimVersion) {}
  *   <li><strong>Simplicity:</strong> Standard JDBC, no API limitations</li>
  * </ul>
  * <p>
+ * <strong>Reader Wakeup:</strong>
+ * Blocked readers are woken through an in-process {@link H2TopicSignal} as soon as a writer in the
+ * same JVM has inserted a message. An {@code AFTER INSERT} trigger ({@link H2TopicNotifyTrigger})
+ * additionally wakes readers in the process hosting the database when writes come from another
+ * process. Readers still re-query every {@code pollIntervalMs} as a fallback, e.g. for expired
+ * claims or readers in a process that does not host the database.
+ * <p>
  * <strong>Thread Safety:</strong>
  * This class is thread-safe. Multiple writers and readers can operate concurrently.
  * HikariCP manages connection thread safety internally.
@@ -65,6 +73,10 @@ public class H2TopicResource<T extends Message> extends AbstractTopicResource<T,
     private final HikariDataSource dataSource;
     private final int claimTimeoutSeconds;  // 0 = disabled, > 0 = timeout for stuck message reassignment
     private final AtomicLong stuckMessagesReassigned;  // O(1) metric for reassignments
+    private final long pollIntervalMs;  // Fallback re-query interval for blocked readers
+    private final boolean notificationTrigger;  // Install AFTER INSERT trigger for cross-process wakeup
+    private final H2TopicSignal signal;
+    private final SlidingWindowPercentiles deliveryLatency;  // Publish-to-claim latency in ms
     // Note: writeThroughput and readThroughput are now inherited from AbstractTopicResource
     
     // Synchronization for schema setup
@@ -89,6 +101,8 @@ public class H2TopicResource<T extends Message> extends AbstractTopicResource<T,
      *   <li>{@code username} - Database username (default: "sa")</li>
      *   <li>{@code password} - Database password (default: "")</li>
      *   <li>{@code claimTimeout} - Seconds before stuck message reassignment (default: 300, 0=disabled)</li>
+     *   <li>{@code pollIntervalMs} - Fallback re-query interval of blocked readers (default: 500)</li>
+     *   <li>{@code notificationTrigger} - Install the cross-process wakeup trigger (default: true)</li>
      * </ul>
      *
      * @param name The resource name.
@@ -128,6 +142,14 @@ public class H2TopicResource<T extends Message> extends AbstractTopicResource<T,
         this.claimTimeoutSeconds = options.hasPath("claimTimeout")
             ? options.getInt("claimTimeout")
             : 300;  // Default: 5 minutes
+        this.pollIntervalMs = options.hasPath("pollIntervalMs") ? options.getLong("pollIntervalMs") : 500;
+        if (pollIntervalMs <= 0) {
+            throw new IllegalArgumentException("'pollIntervalMs' must be positive for H2TopicResource.");
+        }
+        this.notificationTrigger = !options.hasPath("notificationTrigger") || options.getBoolean("notificationTrigger");
+        this.signal = H2TopicSignal.forTopic(name);
+        int metricsWindow = options.hasPath("metricsWindowSeconds") ? options.getInt("metricsWindowSeconds") : 60;
+        this.deliveryLatency = new SlidingWindowPercentiles(metricsWindow);
         
         try {
             this.dataSource = new HikariDataSource(hikariConfig);
@@ -186,6 +208,33 @@ public class H2TopicResource<T extends Message> extends AbstractTopicResource<T,
         return claimTimeoutSeconds;
     }
     
+    /**
+     * Returns the fallback interval at which blocked readers re-query without a signal.
+     *
+     * @return Poll interval in milliseconds.
+     */
+    protected long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+    
+    /**
+     * Returns the in-process wakeup signal of this topic.
+     *
+     * @return The shared signal for this topic name.
+     */
+    H2TopicSignal getSignal() {
+        return signal;
+    }
+    
+    /**
+     * Records the time between publication and claim of a message.
+     *
+     * @param publishTimestampMs The envelope timestamp set by the writer.
+     */
+    protected void recordDeliveryLatency(long publishTimestampMs) {
+        deliveryLatency.record(Math.max(0, System.currentTimeMillis() - publishTimestampMs));
+    }
+    
     // Note: recordWrite() and recordRead() are inherited from AbstractTopicResource
     // They update both counter (messagesPublished/Received) and throughput (writeThroughput/readThroughput)
     
@@ -203,6 +252,7 @@ public class H2TopicResource<T extends Message> extends AbstractTopicResource<T,
      * <ul>
      *   <li>Creates centralized topic tables ({@code topic_messages}, {@code topic_consumer_group_acks})</li>
      *   <li>Creates all necessary indexes</li>
+     *   <li>Installs the reader wakeup trigger (if {@code notificationTrigger} is enabled)</li>
      * </ul>
      * <p>
      * <strong>Thread Safety:</strong>
@@ -286,6 +336,12 @@ public class H2TopicResource<T extends Message> extends AbstractTopicResource<T,
             H2SchemaUtil.executeDdlIfNotExists(stmt, createConsumerGroupSql, "topic_consumer_group");
             executeIndexCreation(stmt, createIndexUnclaimed, "idx_consumer_group_unclaimed");
             executeIndexCreation(stmt, createIndexClaimed, "idx_consumer_group_claimed");
+            if (notificationTrigger) {
+                H2SchemaUtil.executeDdlIfNotExists(stmt, String.format(
+                    "CREATE TRIGGER IF NOT EXISTS trg_topic_messages_notify AFTER INSERT ON topic_messages "
+                        + "FOR EACH ROW CALL '%s'", H2TopicNotifyTrigger.class.getName()),
+                    "trg_topic_messages_notify");
+            }
             log.debug("Created centralized topic tables for resource '{}'", getResourceName());
         }
     }
@@ -356,6 +412,9 @@ public class H2TopicResource<T extends Message> extends AbstractTopicResource<T,
         
         // H2-specific metrics
         metrics.put("stuck_messages_reassigned", stuckMessagesReassigned.get());
+        metrics.put("delivery_latency_p50_ms", deliveryLatency.getPercentile(50));
+        metrics.put("delivery_latency_p95_ms", deliveryLatency.getPercentile(95));
+        metrics.put("delivery_latency_avg_ms", deliveryLatency.getAverage());
     }
     
     @Override
@@ -0,0 +1,105 @@
+package org.evochora.datapipeline.resources.topics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process wakeup signal for H2 topic readers.
+ * <p>
+ * Writers (and the {@link H2TopicNotifyTrigger}) call {@link #signalAll()} after a message
+ * was inserted into a topic. Readers blocked in
+ * {@link H2TopicReaderDelegate#receiveEnvelope(long, java.util.concurrent.TimeUnit)} wait on the
+ * condition of their consumer group and re-run their candidate query immediately instead of
+ * sleeping for the full poll interval.
+ * <p>
+ * Signals are keyed by topic name only and are shared by every {@link H2TopicResource} in the
+ * JVM. A signal for a topic with the same name in another database or run schema only causes
+ * one extra query. Missed signals (other processes, claims that expire) are covered by the
+ * readers' polling fallback.
+ * <p>
+ * <strong>Lost wakeups:</strong> Readers take {@link #generation()} <em>before</em> querying and
+ * pass it to {@link #await(String, long, long)}, which returns immediately if a signal arrived
+ * in between.
+ * <p>
+ * <strong>Thread Safety:</strong> Thread-safe.
+ */
+final class H2TopicSignal {
+
+    private static final Map<String, H2TopicSignal> BY_TOPIC = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Condition> conditionsByGroup = new HashMap<>();
+    private long generation = 0;
+
+    private H2TopicSignal() {
+    }
+
+    /**
+     * Returns the signal shared by all readers and writers of the given topic in this JVM.
+     *
+     * @param topicName The topic name (resource name, stored as {@code topic_name}).
+     * @return The shared signal.
+     */
+    static H2TopicSignal forTopic(String topicName) {
+        return BY_TOPIC.computeIfAbsent(topicName, name -> new H2TopicSignal());
+    }
+
+    /**
+     * Returns the current signal generation, incremented by every {@link #signalAll()}.
+     *
+     * @return The current generation.
+     */
+    long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wakes all readers of all consumer groups waiting on this topic.
+     */
+    void signalAll() {
+        lock.lock();
+        try {
+            generation++;
+            for (Condition condition : conditionsByGroup.values()) {
+                condition.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the generation differs from {@code observedGeneration} or the timeout expires.
+     *
+     * @param consumerGroup      The consumer group of the waiting reader.
+     * @param observedGeneration The generation taken before the reader's last query.
+     * @param timeoutMs          Maximum time to wait in milliseconds.
+     * @return true if woken by a signal, false if the timeout expired.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    boolean await(String consumerGroup, long observedGeneration, long timeoutMs) throws InterruptedException {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        lock.lock();
+        try {
+            Condition condition = conditionsByGroup.computeIfAbsent(consumerGroup, group -> lock.newCondition());
+            while (generation == observedGeneration) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = condition.awaitNanos(remainingNanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -30,6 +30,10 @@ import java.util.concurrent.atomic.AtomicLong;
  * the lifetime of this delegate. The PreparedStatement is created on this connection
  * and reused for all writes.
  * <p>
+ * <strong>Reader Wakeup:</strong>
+ * After each committed INSERT the writer signals the topic's {@link H2TopicSignal}, so readers
+ * in the same JVM claim the message without waiting for their poll interval.
+ * <p>
  * <strong>Delegate-Specific Metrics:</strong>
  * Tracks per-service metrics in addition to parent's aggregate metrics:
  * <ul>
@@ -140,6 +144,9 @@ public class H2TopicWriterDelegate<T extends Message> extends AbstractTopicDeleg
             
             insertStatement.executeUpdate();  // Atomic commit in auto-commit mode
             
+            // Wake blocked readers in this JVM (row is committed, so their next query sees it)
+            parent.getSignal().signalAll();
+            
             // Record metrics (O(1) operations, cannot fail)
             parent.recordWrite();  // Parent's aggregate counter + throughput
             // Note: messagesSent + writeThroughput are tracked by AbstractTopicDelegateWriter in send() method
@@ -105,14 +105,13 @@ public final class OrganismStateSerializer {
             organismStateBuilder.setInstructionEnergyCost(executionData.energyCost());
             organismStateBuilder.setInstructionEntropyDelta(executionData.entropyDelta());
 
-            // Register values before execution (for annotation display)
-            if (executionData.registerValuesBefore() != null && !executionData.registerValuesBefore().isEmpty()) {
-                for (java.util.Map.Entry<Integer, Object> entry : executionData.registerValuesBefore().entrySet()) {
-                    int registerId = entry.getKey();
-                    Object registerValue = entry.getValue();
-                    org.evochora.datapipeline.api.contracts.RegisterValue protoValue =
-                        convertRegisterValueReuse(registerValue, registerValueBuilder, vectorBuilder);
-                    organismStateBuilder.putInstructionRegisterValuesBefore(registerId, protoValue);
+            // Register values before execution (for annotation display); invalid registers are left out
+            int[] registerIds = executionData.registerIds();
+            Object[] registerValues = executionData.registerValues();
+            for (int i = 0; i < registerIds.length; i++) {
+                if (registerValues[i] != null) {
+                    organismStateBuilder.putInstructionRegisterValuesBefore(registerIds[i],
+                        convertRegisterValueReuse(registerValues[i], registerValueBuilder, vectorBuilder));
                 }
             }
         }
@@ -124,11 +123,12 @@ public final class OrganismStateSerializer {
             for (int arg : nextData.rawArguments()) {
                 organismStateBuilder.addNextInstructionRawArguments(arg);
             }
-            if (nextData.registerValuesBefore() != null && !nextData.registerValuesBefore().isEmpty()) {
-                for (java.util.Map.Entry<Integer, Object> entry : nextData.registerValuesBefore().entrySet()) {
-                    org.evochora.datapipeline.api.contracts.RegisterValue protoValue =
-                        convertRegisterValueReuse(entry.getValue(), registerValueBuilder, vectorBuilder);
-                    organismStateBuilder.putNextInstructionRegisterValuesBefore(entry.getKey(), protoValue);
+            int[] nextRegisterIds = nextData.registerIds();
+            Object[] nextRegisterValues = nextData.registerValues();
+            for (int i = 0; i < nextRegisterIds.length; i++) {
+                if (nextRegisterValues[i] != null) {
+                    organismStateBuilder.putNextInstructionRegisterValuesBefore(nextRegisterIds[i],
+                        convertRegisterValueReuse(nextRegisterValues[i], registerValueBuilder, vectorBuilder));
                 }
             }
         }
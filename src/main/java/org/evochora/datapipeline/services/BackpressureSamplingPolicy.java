@@ -0,0 +1,133 @@
+package org.evochora.datapipeline.services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.IResource.UsageState;
+import org.evochora.datapipeline.api.resources.queues.IQueueFillLevel;
+
+import com.typesafe.config.Config;
+
+/**
+ * Decides which incremental samples the {@link SimulationEngine} drops while its tick queue is
+ * backed up.
+ * <p>
+ * The policy has a degradation level {@code L} (0 = full resolution). At level {@code L} only
+ * every {@code 2^L}-th sample of a chunk is stored; the encoder additionally never drops the
+ * snapshot or accumulated deltas, so chunk boundaries and random access stay intact.
+ * <p>
+ * The level is re-evaluated at most every {@code checkIntervalMs}:
+ * <ul>
+ *   <li>Queue reports {@code WAITING} (full) for {@code queue-out}: jump to {@code maxLevel}</li>
+ *   <li>Fill ratio &gt;= {@code highWatermark}: one level up</li>
+ *   <li>Fill ratio &lt; {@code lowWatermark}, or unknown while not full: one level down</li>
+ * </ul>
+ * Between the watermarks the level is kept (hysteresis).
+ * <p>
+ * <strong>Thread Safety:</strong> {@link #shouldSkip(int)} must be called from the simulation
+ * thread only. {@link #getLevel()} may be read from any thread (metrics).
+ */
+final class BackpressureSamplingPolicy {
+
+    private final IResource queue;
+    private final IQueueFillLevel fillLevel;
+    private final double highWatermark;
+    private final double lowWatermark;
+    private final int maxLevel;
+    private final long checkIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    private long nextCheckNanos;
+    private volatile int level = 0;
+
+    /**
+     * Creates a policy for the given tick queue.
+     *
+     * @param queue         the tick output queue (its usage state and fill level are read; may be
+     *                      neither {@link IResource} nor {@link IQueueFillLevel})
+     * @param highWatermark fill ratio at which sampling is degraded further
+     * @param lowWatermark  fill ratio below which sampling is restored step by step
+     * @param maxLevel      highest degradation level (stride {@code 2^maxLevel})
+     * @param checkIntervalMs minimum time between two evaluations of the queue
+     * @param nanoClock     time source (System::nanoTime in production)
+     * @throws IllegalArgumentException if the watermarks or levels are invalid
+     */
+    BackpressureSamplingPolicy(Object queue, double highWatermark, double lowWatermark,
+                               int maxLevel, long checkIntervalMs, LongSupplier nanoClock) {
+        if (lowWatermark < 0 || highWatermark > 1 || lowWatermark > highWatermark) {
+            throw new IllegalArgumentException("Backpressure watermarks must satisfy 0 <= lowWatermark <= highWatermark <= 1, got "
+                + lowWatermark + " / " + highWatermark);
+        }
+        if (maxLevel < 1 || maxLevel > 16) {
+            throw new IllegalArgumentException("backpressure.maxLevel must be between 1 and 16, got: " + maxLevel);
+        }
+        this.queue = queue instanceof IResource resource ? resource : null;
+        this.fillLevel = queue instanceof IQueueFillLevel fill ? fill : null;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.maxLevel = maxLevel;
+        this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, checkIntervalMs));
+        this.nanoClock = nanoClock;
+        this.nextCheckNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Creates a policy from the {@code backpressure} block of the engine options.
+     *
+     * @param queue   the tick output queue
+     * @param options the engine options
+     * @return the policy, or null if {@code backpressure.enabled} is not true
+     */
+    static BackpressureSamplingPolicy fromConfig(Object queue, Config options) {
+        if (!options.hasPath("backpressure.enabled") || !options.getBoolean("backpressure.enabled")) {
+            return null;
+        }
+        Config config = options.getConfig("backpressure");
+        return new BackpressureSamplingPolicy(queue,
+            config.hasPath("highWatermark") ? config.getDouble("highWatermark") : 0.8,
+            config.hasPath("lowWatermark") ? config.getDouble("lowWatermark") : 0.5,
+            config.hasPath("maxLevel") ? config.getInt("maxLevel") : 4,
+            config.hasPath("checkIntervalMs") ? config.getLong("checkIntervalMs") : 200,
+            System::nanoTime);
+    }
+
+    /**
+     * Returns whether an incremental sample at the given position should be dropped.
+     *
+     * @param sampleIndex position of the sample within its chunk (see
+     *                    {@code DeltaCodec.Encoder.getNextSampleIndex()})
+     * @return true if the sample should be skipped
+     */
+    boolean shouldSkip(int sampleIndex) {
+        long now = nanoClock.getAsLong();
+        if (now - nextCheckNanos >= 0) {
+            nextCheckNanos = now + checkIntervalNanos;
+            updateLevel();
+        }
+        int current = level;
+        return current > 0 && (sampleIndex & ((1 << current) - 1)) != 0;
+    }
+
+    /**
+     * Returns the current degradation level (0 = full resolution).
+     *
+     * @return the level
+     */
+    int getLevel() {
+        return level;
+    }
+
+    private void updateLevel() {
+        boolean full = queue != null && queue.getUsageState("queue-out") == UsageState.WAITING;
+        double fill = fillLevel != null ? fillLevel.getFillRatio() : -1;
+        if (full) {
+            level = maxLevel;
+        } else if (fill >= highWatermark) {
+            level = Math.min(level + 1, maxLevel);
+        } else if (fill < lowWatermark) {
+            // Also reached with unknown fill (-1): without a full signal, recover gradually
+            level = Math.max(level - 1, 0);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.evochora.datapipeline.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.evochora.datapipeline.api.contracts.BatchInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Restores producer order for batch notifications when several {@link PersistenceService}
+ * instances consume a partitioned queue in parallel.
+ * <p>
+ * Each completed batch reports the sequence range it covers
+ * ({@code [firstSequence, firstSequence + size)}, see
+ * {@link org.evochora.datapipeline.api.resources.queues.StreamingBatch#firstSequence()}).
+ * Its notification is held until every lower sequence number has been completed. Then
+ * the contiguous prefix is released in order. Indexers therefore only see a notification once
+ * the whole tick range before it is persisted and announced.
+ * <p>
+ * Batches whose chunks were all filtered as duplicates, and batches that are dead-lettered
+ * after their final delivery attempt, complete their range without a notification, so they
+ * do not block later batches. A range that lies entirely below the released prefix, e.g. a
+ * redelivery after a failed commit, is released immediately.
+ * <p>
+ * A gap that stays open longer than the hold timeout (a range consumed outside this JVM or
+ * lost otherwise) is skipped: the waiting notifications are released and the gap is logged
+ * and counted ({@link #gapsSkipped()}).
+ * <p>
+ * The caller commits a batch only once its range is released ({@link #isReleased(long)}), so a
+ * held notification is never the only record of a consumed batch: if the process dies, the
+ * batch is redelivered and announced again. On shutdown {@link #releaseAll} publishes what is
+ * still held.
+ * <p>
+ * Instances are shared per input queue and sequence epoch within the JVM. The producer
+ * starts a new epoch (numbering from 0) for every run and after a restart, so each
+ * numbering is ordered on its own. Only the most recent epochs per queue are kept; a
+ * sequencer that still holds notifications is never dropped.
+ * <p>
+ * <strong>Thread Safety:</strong> Thread-safe. Notifications are sent while holding the
+ * sequencer lock, so released notifications leave in order even when several services
+ * complete batches concurrently.
+ */
+final class BatchNotificationSequencer {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchNotificationSequencer.class);
+
+    /** Idle epochs kept per queue; older ones belong to finished runs or previous producers. */
+    static final int MAX_EPOCHS_PER_QUEUE = 16;
+
+    private static final Map<String, Map<String, BatchNotificationSequencer>> BY_QUEUE = new ConcurrentHashMap<>();
+
+    private final TreeMap<Long, PendingRange> pending = new TreeMap<>();
+    private final LongSupplier clock;
+    private long nextSequence = 0;
+    private long gapsSkipped = 0;
+
+    /**
+     * Sends one released notification.
+     */
+    @FunctionalInterface
+    interface NotificationSender {
+        void send(BatchInfo notification) throws InterruptedException;
+    }
+
+    private record PendingRange(long endSequence, BatchInfo notification, long addedAtMs) {}
+
+    BatchNotificationSequencer() {
+        this(System::currentTimeMillis);
+    }
+
+    BatchNotificationSequencer(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the sequencer shared by all consumers of the given queue and epoch in this JVM.
+     *
+     * @param queueName resource name of the partitioned input queue
+     * @param epoch     sequence epoch reported by the batch
+     * @return the shared sequencer
+     */
+    static BatchNotificationSequencer forQueue(String queueName, String epoch) {
+        Map<String, BatchNotificationSequencer> epochs = BY_QUEUE.computeIfAbsent(queueName, name -> new LinkedHashMap<>(
+            MAX_EPOCHS_PER_QUEUE, 0.75f, true));
+        synchronized (epochs) {
+            BatchNotificationSequencer sequencer = epochs.computeIfAbsent(epoch, e -> new BatchNotificationSequencer());
+            evictIdle(epochs);
+            return sequencer;
+        }
+    }
+
+    /**
+     * Returns all sequencers of the given queue in this JVM.
+     *
+     * @param queueName resource name of the partitioned input queue
+     * @return snapshot of the sequencers, oldest epoch first
+     */
+    static List<BatchNotificationSequencer> allForQueue(String queueName) {
+        Map<String, BatchNotificationSequencer> epochs = BY_QUEUE.get(queueName);
+        if (epochs == null) {
+            return List.of();
+        }
+        synchronized (epochs) {
+            return new ArrayList<>(epochs.values());
+        }
+    }
+
+    /**
+     * Drops least recently used sequencers beyond {@link #MAX_EPOCHS_PER_QUEUE}, skipping those
+     * that hold notifications (the map may then stay larger until they are released).
+     */
+    private static void evictIdle(Map<String, BatchNotificationSequencer> epochs) {
+        Iterator<BatchNotificationSequencer> eldestFirst = epochs.values().iterator();
+        while (epochs.size() > MAX_EPOCHS_PER_QUEUE && eldestFirst.hasNext()) {
+            if (eldestFirst.next().pendingCount() == 0) {
+                eldestFirst.remove();
+            }
+        }
+    }
+
+    /**
+     * Records a completed batch and sends every notification that is now in order.
+     *
+     * @param firstSequence sequence number of the first message of the batch
+     * @param count         number of messages in the batch
+     * @param notification  the notification of the batch, or null if nothing was written
+     * @param sender        sends released notifications (called with the sequencer lock held)
+     * @throws InterruptedException if interrupted while sending
+     */
+    synchronized void complete(long firstSequence, int count, BatchInfo notification, NotificationSender sender)
+            throws InterruptedException {
+        long endSequence = firstSequence + count;
+        if (endSequence <= nextSequence) {
+            if (notification != null) {
+                sender.send(notification);
+            }
+            return;
+        }
+
+        pending.merge(firstSequence, new PendingRange(endSequence, notification, clock.getAsLong()),
+            (existing, added) -> existing.endSequence() >= added.endSequence() ? existing : added);
+        drain(sender);
+    }
+
+    /**
+     * Skips the gap before the oldest pending range if that range has waited longer than
+     * {@code holdTimeoutMs}, and sends the notifications that are then in order.
+     *
+     * @param holdTimeoutMs maximum time a completed batch waits for an earlier range
+     * @param sender        sends released notifications (called with the sequencer lock held)
+     * @throws InterruptedException if interrupted while sending
+     */
+    synchronized void releaseOverdue(long holdTimeoutMs, NotificationSender sender) throws InterruptedException {
+        long now = clock.getAsLong();
+        Map.Entry<Long, PendingRange> head;
+        while ((head = pending.firstEntry()) != null && now - head.getValue().addedAtMs() > holdTimeoutMs) {
+            log.warn("Sequence range [{}, {}) not completed within {} ms, releasing {} held notification(s) out of order",
+                nextSequence, head.getKey(), holdTimeoutMs, pending.size());
+            skipGap(head.getKey(), sender);
+        }
+    }
+
+    /**
+     * Skips every open gap and sends all held notifications. Called on shutdown, so that no
+     * notification stays held while its batch cannot be committed.
+     *
+     * @param sender sends released notifications (called with the sequencer lock held)
+     * @throws InterruptedException if interrupted while sending
+     */
+    synchronized void releaseAll(NotificationSender sender) throws InterruptedException {
+        Map.Entry<Long, PendingRange> head;
+        while ((head = pending.firstEntry()) != null) {
+            log.warn("Sequence range [{}, {}) not completed before shutdown, releasing {} held notification(s) out of order",
+                nextSequence, head.getKey(), pending.size());
+            skipGap(head.getKey(), sender);
+        }
+    }
+
+    /**
+     * Returns whether all sequence numbers below {@code endSequence} are released, i.e. the
+     * notification of a batch ending there has been sent and the batch may be committed.
+     *
+     * @param endSequence exclusive end of the batch's sequence range
+     * @return true if the range is released
+     */
+    synchronized boolean isReleased(long endSequence) {
+        return endSequence <= nextSequence;
+    }
+
+    private void skipGap(long gapEnd, NotificationSender sender) throws InterruptedException {
+        nextSequence = gapEnd;
+        gapsSkipped++;
+        drain(sender);
+    }
+
+    private void drain(NotificationSender sender) throws InterruptedException {
+        Map.Entry<Long, PendingRange> head;
+        while ((head = pending.firstEntry()) != null && head.getKey() <= nextSequence) {
+            pending.pollFirstEntry();
+            PendingRange range = head.getValue();
+            nextSequence = Math.max(nextSequence, range.endSequence());
+            if (range.notification() != null) {
+                sender.send(range.notification());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of completed batches waiting for an earlier range.
+     *
+     * @return pending batch count
+     */
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the first sequence number that has not been released yet.
+     *
+     * @return the next expected sequence number
+     */
+    synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Returns the number of gaps skipped after the hold timeout.
+     *
+     * @return skipped gap count
+     */
+    synchronized long gapsSkipped() {
+        return gapsSkipped;
+    }
+}
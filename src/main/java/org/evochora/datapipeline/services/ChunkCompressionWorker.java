@@ -0,0 +1,193 @@
+package org.evochora.datapipeline.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkOutput;
+import org.evochora.datapipeline.utils.compression.EncodedChunkCompression;
+import org.evochora.datapipeline.utils.compression.ICompressionCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes and compresses completed chunks off the simulation thread and puts them into the
+ * tick queue.
+ * <p>
+ * The simulation thread hands chunks over through a small bounded buffer, so it only blocks when
+ * compression (or the queue behind it) falls behind. A single worker thread keeps the chunk order.
+ * <p>
+ * The first chunk that fails to compress or send is reported to the error handler and ends the
+ * stream: later chunks are discarded instead of being sent after a gap, and the next
+ * {@link #submit(TickDataChunk)}, {@link #throwIfFailed()} or {@link #close()} throws.
+ * <p>
+ * <strong>Thread Safety:</strong> {@link #submit(TickDataChunk)} must be called from one thread
+ * (the simulation thread). Metric getters may be called from any thread.
+ */
+final class ChunkCompressionWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkCompressionWorker.class);
+
+    private static final long POLL_MS = 100;
+    private static final long CLOSE_STALL_TIMEOUT_MS = 5000;
+
+    private final IEncodedChunkOutput output;
+    private final ICompressionCodec codec;
+    private final BlockingQueue<TickDataChunk> pending;
+    private final Runnable onSent;
+    private final BiConsumer<TickDataChunk, Exception> onError;
+    private final Thread thread;
+    private final AtomicLong uncompressedBytes = new AtomicLong(0);
+    private final AtomicLong compressedBytes = new AtomicLong(0);
+    private final AtomicLong chunksHandled = new AtomicLong(0);
+    private final AtomicLong chunksDiscarded = new AtomicLong(0);
+    private volatile boolean closing = false;
+    private volatile Exception failure;
+
+    /**
+     * Creates and starts the worker.
+     *
+     * @param output     the tick queue (must support encoded chunks)
+     * @param codec      the codec used to compress each chunk
+     * @param capacity   number of chunks the simulation thread may be ahead of the worker
+     * @param threadName name of the worker thread
+     * @param onSent     called after each chunk was put into the queue
+     * @param onError    called for the first chunk that could not be compressed or sent
+     */
+    ChunkCompressionWorker(IEncodedChunkOutput output, ICompressionCodec codec, int capacity, String threadName,
+                           Runnable onSent, BiConsumer<TickDataChunk, Exception> onError) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("compression.pendingChunks must be at least 1, got: " + capacity);
+        }
+        this.output = output;
+        this.codec = codec;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.onSent = onSent;
+        this.onError = onError;
+        this.thread = new Thread(this::runLoop, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Hands a completed chunk to the worker, blocking while the buffer is full.
+     *
+     * @param chunk the chunk to compress and send
+     * @throws InterruptedException if interrupted while waiting for buffer space
+     * @throws IllegalStateException if the worker was closed or a previous chunk failed
+     */
+    void submit(TickDataChunk chunk) throws InterruptedException {
+        throwIfFailed();
+        if (closing) {
+            throw new IllegalStateException("Chunk compression worker is closed");
+        }
+        pending.put(chunk);
+    }
+
+    /**
+     * Throws if a chunk could not be compressed or sent.
+     *
+     * @throws IllegalStateException carrying the first failure as cause
+     */
+    void throwIfFailed() {
+        Exception e = failure;
+        if (e != null) {
+            throw new IllegalStateException("Chunk compression worker failed, "
+                + chunksDiscarded.get() + " later chunk(s) were not sent", e);
+        }
+    }
+
+    /**
+     * Sends all buffered chunks and stops the worker.
+     * <p>
+     * Waits as long as the worker makes progress, also if the calling thread has a pending
+     * interrupt (shutdown). If the queue accepts nothing for a few seconds, the worker is
+     * interrupted and this method throws. A second interrupt while draining aborts the drain;
+     * the dropped chunks are logged.
+     *
+     * @throws IllegalStateException if a chunk failed or the remaining chunks could not be sent
+     */
+    void close() {
+        closing = true;
+        boolean interrupted = Thread.interrupted();
+        try {
+            long handled = -1;
+            while (thread.isAlive()) {
+                long current = chunksHandled.get();
+                if (current == handled) {
+                    thread.interrupt();
+                    throw new IllegalStateException("Chunk compression worker stalled while draining, "
+                        + (pending.size() + 1) + " chunk(s) were not sent");
+                }
+                handled = current;
+                thread.join(CLOSE_STALL_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            thread.interrupt();
+            log.error("Interrupted while draining chunk compression worker, {} chunk(s) were not sent",
+                pending.size());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        throwIfFailed();
+    }
+
+    /**
+     * Returns the number of chunks waiting for compression.
+     *
+     * @return pending chunk count
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the ratio of serialized to compressed bytes over all chunks sent so far.
+     *
+     * @return compression ratio, or 0 if nothing was compressed yet
+     */
+    double getCompressionRatio() {
+        long compressed = compressedBytes.get();
+        return compressed > 0 ? (double) uncompressedBytes.get() / compressed : 0.0;
+    }
+
+    private void runLoop() {
+        try {
+            while (!closing || !pending.isEmpty()) {
+                TickDataChunk chunk = pending.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (chunk == null) {
+                    continue;
+                }
+                if (failure != null) {
+                    // Sending later chunks would leave a silent gap in the tick stream
+                    chunksDiscarded.incrementAndGet();
+                    chunksHandled.incrementAndGet();
+                    continue;
+                }
+                try {
+                    EncodedChunk encoded = EncodedChunk.of(chunk);
+                    EncodedChunk compressed = EncodedChunkCompression.compress(encoded, codec);
+                    output.putEncoded(compressed);
+                    uncompressedBytes.addAndGet(encoded.data().length);
+                    compressedBytes.addAndGet(compressed.data().length);
+                    onSent.run();
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    failure = e;
+                    onError.accept(chunk, e);
+                }
+                chunksHandled.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
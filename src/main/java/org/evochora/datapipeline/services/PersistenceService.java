@@ -9,6 +9,7 @@ import java.util.NoSuchElementException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
 
 import org.evochora.datapipeline.api.contracts.BatchInfo;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
@@ -17,7 +18,10 @@ import org.evochora.datapipeline.api.memory.MemoryEstimate;
 import org.evochora.datapipeline.api.memory.SimulationParameters;
 import org.evochora.datapipeline.api.resources.IIdempotencyTracker;
 import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkInput;
 import org.evochora.datapipeline.api.resources.queues.IInputQueueResource;
+import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
 import org.evochora.datapipeline.api.resources.storage.IBatchStorageWrite;
 import org.evochora.datapipeline.api.resources.storage.StreamingWriteResult;
 import org.evochora.datapipeline.api.resources.topics.ITopicWriter;
@@ -42,15 +46,32 @@ import com.typesafe.config.Config;
  * on the next {@code receiveBatch()} call. Poison messages are handled by configuring
  * the broker's dead letter address with max delivery attempts.
  * <p>
+ * If the input queue delivers encoded chunks ({@link IEncodedChunkInput}), the service uses
+ * {@code receiveEncodedBatch()} and {@code writeEncodedChunkBatchStreaming()} instead: the
+ * serialized bytes go from the broker to the batch file without being parsed or re-encoded.
+ * <p>
  * Multiple instances can run concurrently as competing consumers on the same queue.
+ * With a partitioned queue (batches report {@link StreamingBatch#firstSequence()}), the
+ * instances write in parallel and their batch notifications are released in producer order
+ * through a shared {@link BatchNotificationSequencer}. A batch is only committed once its
+ * notification has been published; until then the service keeps it open (its partition stays
+ * owned) and goes on with other partitions, so a crash redelivers the batch instead of losing
+ * a notification that was only held in memory. On stop, held notifications are published out
+ * of order and their batches committed. The ordering only covers consumers in the same JVM:
+ * if other processes consume partitions of the same queue (see the queue's
+ * {@code consumerPartitions}), set {@code orderedNotifications = false} (notifications are then
+ * published as batches finish). A gap that is not closed within
+ * {@code notificationHoldTimeoutMs} is skipped and reported.
  * <p>
  * <strong>Thread Safety:</strong> Each instance runs in its own thread. No synchronization
  * needed between instances - queue handles distribution, idempotency tracker is thread-safe.
+ * Held batches are committed by the thread that received them.
  */
 public class PersistenceService extends AbstractService implements IMemoryEstimatable {
 
     // Required resources
     private final IInputQueueResource<TickDataChunk> inputQueue;
+    private final IEncodedChunkInput encodedInput;
     private final IBatchStorageWrite storage;
     private final ITopicWriter<BatchInfo> batchTopic;
 
@@ -60,6 +81,8 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
     // Configuration
     private final int maxBatchSize;
     private final int batchTimeoutSeconds;
+    private final boolean orderedNotifications;
+    private final long notificationHoldTimeoutMs;
 
     // Metrics
     private final AtomicLong batchesWritten = new AtomicLong(0);
@@ -74,6 +97,15 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
     // State tracking
     private volatile boolean topicInitialized = false;
 
+    // Written batches waiting for their notification to be published (service thread only)
+    private final List<HeldBatch> heldBatches = new ArrayList<>();
+
+    /**
+     * A written, uncommitted batch whose notification the sequencer still holds.
+     */
+    private record HeldBatch(StreamingBatch<?> batch, BatchNotificationSequencer sequencer, long endSequence,
+                             List<Long> processedKeys, StreamingWriteResult result) {}
+
     /**
      * Constructs a PersistenceService with the given name, options, and resources.
      * <p>
@@ -89,7 +121,8 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
      * </ul>
      *
      * @param name      the service name
-     * @param options   HOCON config with {@code maxBatchSize} and {@code batchTimeoutSeconds}
+     * @param options   HOCON config with {@code maxBatchSize}, {@code batchTimeoutSeconds},
+     *                  {@code orderedNotifications} and {@code notificationHoldTimeoutMs}
      * @param resources the resource map
      * @throws IllegalArgumentException if configuration values are invalid
      * @throws IllegalStateException    if required resources are missing
@@ -101,6 +134,8 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
         @SuppressWarnings("unchecked")
         IInputQueueResource<TickDataChunk> queue = (IInputQueueResource<TickDataChunk>) getRequiredResource("input", IInputQueueResource.class);
         this.inputQueue = queue;
+        this.encodedInput = queue instanceof IEncodedChunkInput encoded && encoded.supportsEncodedChunks()
+            ? encoded : null;
 
         this.storage = getRequiredResource("storage", IBatchStorageWrite.class);
 
@@ -121,6 +156,9 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
         // Configuration with defaults
         this.maxBatchSize = options.hasPath("maxBatchSize") ? options.getInt("maxBatchSize") : 10;
         this.batchTimeoutSeconds = options.hasPath("batchTimeoutSeconds") ? options.getInt("batchTimeoutSeconds") : 30;
+        this.orderedNotifications = !options.hasPath("orderedNotifications") || options.getBoolean("orderedNotifications");
+        this.notificationHoldTimeoutMs = options.hasPath("notificationHoldTimeoutMs")
+            ? options.getLong("notificationHoldTimeoutMs") : 300_000L;
 
         // Validation
         if (maxBatchSize <= 0) {
@@ -129,9 +167,13 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
         if (batchTimeoutSeconds <= 0) {
             throw new IllegalArgumentException("batchTimeoutSeconds must be positive");
         }
+        if (notificationHoldTimeoutMs <= 0) {
+            throw new IllegalArgumentException("notificationHoldTimeoutMs must be positive");
+        }
 
-        log.debug("PersistenceService initialized: maxBatchSize={}, batchTimeout={}s, idempotency={}",
-            maxBatchSize, batchTimeoutSeconds, idempotencyTracker != null ? "enabled" : "disabled");
+        log.debug("PersistenceService initialized: maxBatchSize={}, batchTimeout={}s, idempotency={}, encoded={}",
+            maxBatchSize, batchTimeoutSeconds, idempotencyTracker != null ? "enabled" : "disabled",
+            encodedInput != null);
     }
 
     @Override
@@ -147,83 +189,221 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
      * then lazily deserializes one chunk at a time during the streaming write.
      * Peak heap: N × serialized chunk + 1 × deserialized chunk. On write failure,
      * the batch is not committed and the broker redelivers messages on the next
-     * {@code receiveBatch()}.
+     * {@code receiveBatch()}. Held batches (bodies already released by the iteration)
+     * are committed as soon as their notifications are out, and on stop.
      *
      * @throws InterruptedException if the thread is interrupted (triggers graceful shutdown)
      */
     @Override
     protected void run() throws InterruptedException {
-        while (!isStopRequested() && !Thread.currentThread().isInterrupted()) {
-            checkPause();
-
-            try (var batch = inputQueue.receiveBatch(maxBatchSize, batchTimeoutSeconds, TimeUnit.SECONDS)) {
-                if (batch.size() == 0) {
-                    currentBatchSize.set(0);
-                    continue;
+        try {
+            while (!isStopRequested() && !Thread.currentThread().isInterrupted()) {
+                checkPause();
+
+                if (encodedInput != null) {
+                    processAndRelease(encodedInput.receiveEncodedBatch(maxBatchSize, batchTimeoutSeconds, TimeUnit.SECONDS),
+                        EncodedChunk::firstTick, storage::writeEncodedChunkBatchStreaming);
+                } else {
+                    processAndRelease(inputQueue.receiveBatch(maxBatchSize, batchTimeoutSeconds, TimeUnit.SECONDS),
+                        TickDataChunk::getFirstTick, storage::writeChunkBatchStreaming);
                 }
+                releaseOverdueNotifications();
+                commitReleasedBatches();
 
-                currentBatchSize.set(batch.size());
-                log.debug("Received batch of {} chunks", batch.size());
-
-                try {
-                    // Optional: filter duplicates during iteration.
-                    // On write failure, close() rolls back and the broker redelivers all N messages.
-                    // Chunks are only checked (not marked) during filtering — marking happens
-                    // after successful commit to ensure redelivery retries on failure.
-                    List<Long> processedKeys = new ArrayList<>();
-                    Iterator<TickDataChunk> chunks = maybeFilterDuplicates(batch.iterator(), processedKeys);
-
-                    // If all chunks were filtered as duplicates, commit and move on
-                    if (!chunks.hasNext()) {
-                        log.debug("All chunks in batch were duplicates, skipping");
-                        currentBatchSize.set(0);
-                        batch.commit();
-                        continue;
-                    }
+                Thread.yield();
+            }
+        } finally {
+            drainHeldBatches();
+        }
+    }
 
-                    setShutdownPhase(ShutdownPhase.PROCESSING);
-                    Thread.interrupted();
+    /**
+     * Processes a batch and closes it unless it is held for its notification.
+     */
+    private <C> void processAndRelease(StreamingBatch<C> batch, ToLongFunction<C> keyOf, ChunkBatchWriter<C> writer)
+            throws InterruptedException {
+        boolean held = false;
+        try {
+            held = processBatch(batch, keyOf, writer);
+        } finally {
+            if (!held) {
+                batch.close();
+            }
+        }
+    }
 
-                    // Stream-write to storage (one chunk at a time on heap)
-                    StreamingWriteResult result = storage.writeChunkBatchStreaming(chunks);
+    /**
+     * Writes one received batch: filter duplicates → stream-write → notify → commit.
+     * <p>
+     * On write failure the batch is left uncommitted; closing it rolls back and the broker
+     * redelivers the messages. If the sequencer holds the notification for an earlier range,
+     * the batch is held instead of committed (see {@link #commitReleasedBatches()}).
+     *
+     * @param batch    the received batch (parsed or encoded chunks)
+     * @param keyOf    extracts the idempotency key (firstTick) of a chunk
+     * @param writer   the matching streaming write of the storage resource
+     * @param <C>      chunk representation
+     * @return true if the batch is held; the caller must then not close it
+     * @throws InterruptedException if interrupted during topic send
+     */
+    private <C> boolean processBatch(StreamingBatch<C> batch, ToLongFunction<C> keyOf, ChunkBatchWriter<C> writer)
+            throws InterruptedException {
+        if (batch.size() == 0) {
+            currentBatchSize.set(0);
+            return false;
+        }
 
-                    // Send batch notification to topic (if configured)
-                    sendBatchNotification(result);
+        currentBatchSize.set(batch.size());
+        log.debug("Received batch of {} chunks", batch.size());
 
-                    // ACK: broker deletes messages
-                    batch.commit();
+        try {
+            // Optional: filter duplicates during iteration.
+            // On write failure, close() rolls back and the broker redelivers all N messages.
+            // Chunks are only checked (not marked) during filtering — marking happens
+            // after successful commit to ensure redelivery retries on failure.
+            List<Long> processedKeys = new ArrayList<>();
+            Iterator<C> chunks = maybeFilterDuplicates(batch.iterator(), keyOf, processedKeys);
+
+            // If all chunks were filtered as duplicates, commit and move on
+            if (!chunks.hasNext()) {
+                log.debug("All chunks in batch were duplicates, skipping");
+                currentBatchSize.set(0);
+                batch.commit();
+                completeInSequence(batch, null);
+                return false;
+            }
 
-                    setShutdownPhase(ShutdownPhase.WAITING);
+            setShutdownPhase(ShutdownPhase.PROCESSING);
+            Thread.interrupted();
+
+            // Stream-write to storage (one chunk at a time on heap)
+            StreamingWriteResult result = writer.write(chunks);
+
+            // Send batch notification to topic (if configured), in producer order for partitioned queues.
+            // A notification held for an earlier range holds the commit with it.
+            BatchNotificationSequencer sequencer = sendBatchNotification(batch, result);
+            long endSequence = batch.firstSequence() + batch.size();
+            if (sequencer != null && !sequencer.isReleased(endSequence)) {
+                heldBatches.add(new HeldBatch(batch, sequencer, endSequence, processedKeys, result));
+                setShutdownPhase(ShutdownPhase.WAITING);
+                log.debug("Holding batch {} until sequence {} is released", result.path(), endSequence);
+                return true;
+            }
 
-                    // Mark chunks as processed AFTER successful commit.
-                    // This ensures failed batches are fully retried on redelivery.
-                    markAllProcessed(processedKeys);
+            // ACK: broker deletes messages
+            commitWritten(batch, processedKeys, result);
+            return false;
+
+        } catch (IOException | RuntimeException e) {
+            setShutdownPhase(ShutdownPhase.WAITING);
+            // Write or deserialization failed — don't commit. close() will rollback.
+            // Messages are redelivered by the broker on next receiveBatch().
+            // RuntimeException covers lazy deserialization failures in the streaming
+            // batch iterator (e.g., corrupt protobuf messages).
+            log.warn("{}: failed to write streaming batch: {}", serviceName, e.getMessage());
+            recordError("BATCH_WRITE_FAILED", "Streaming write failed", e.getMessage());
+            batchesFailed.incrementAndGet();
+            if (batch.isFinalDeliveryAttempt()) {
+                // The broker moves the messages to the dead letter address; release their range
+                // so later notifications are not held back by a batch that never completes
+                log.warn("{}: batch of {} chunks exhausted its delivery attempts and goes to the dead letter address",
+                    serviceName, batch.size());
+                completeInSequence(batch, null);
+            }
+            return false;
+        }
+    }
 
-                    // Update metrics
-                    batchesWritten.incrementAndGet();
-                    ticksWritten.addAndGet(result.totalTickCount());
-                    bytesWritten.addAndGet(result.bytesWritten());
-                    currentBatchSize.set(result.chunkCount());
+    /**
+     * Commits a written batch, then marks its chunks as processed and counts it.
+     *
+     * @param batch         the written batch whose notification has been published
+     * @param processedKeys firstTick keys of the chunks that were written
+     * @param result        the streaming write result
+     */
+    private void commitWritten(StreamingBatch<?> batch, List<Long> processedKeys, StreamingWriteResult result) {
+        batch.commit();
 
-                    log.debug("Wrote streaming batch {} with {} chunks ({} ticks)",
-                        result.path(), result.chunkCount(), result.totalTickCount());
+        setShutdownPhase(ShutdownPhase.WAITING);
 
-                } catch (IOException | RuntimeException e) {
-                    setShutdownPhase(ShutdownPhase.WAITING);
-                    // Write or deserialization failed — don't commit. close() will rollback.
-                    // Messages are redelivered by the broker on next receiveBatch().
-                    // RuntimeException covers lazy deserialization failures in the streaming
-                    // batch iterator (e.g., corrupt protobuf messages).
-                    log.warn("{}: failed to write streaming batch: {}", serviceName, e.getMessage());
-                    recordError("BATCH_WRITE_FAILED", "Streaming write failed", e.getMessage());
-                    batchesFailed.incrementAndGet();
-                }
+        // Mark chunks as processed AFTER successful commit.
+        // This ensures failed batches are fully retried on redelivery.
+        markAllProcessed(processedKeys);
+
+        // Update metrics
+        batchesWritten.incrementAndGet();
+        ticksWritten.addAndGet(result.totalTickCount());
+        bytesWritten.addAndGet(result.bytesWritten());
+        currentBatchSize.set(result.chunkCount());
+
+        log.debug("Wrote streaming batch {} with {} chunks ({} ticks)",
+            result.path(), result.chunkCount(), result.totalTickCount());
+    }
+
+    /**
+     * Commits and closes the held batches whose notifications have been published.
+     */
+    private void commitReleasedBatches() {
+        Iterator<HeldBatch> it = heldBatches.iterator();
+        while (it.hasNext()) {
+            HeldBatch held = it.next();
+            if (!held.sequencer().isReleased(held.endSequence())) {
+                continue;
+            }
+            it.remove();
+            try {
+                commitWritten(held.batch(), held.processedKeys(), held.result());
+            } catch (RuntimeException e) {
+                // Rolled back on close: the broker redelivers, the batch is rewritten and announced again
+                log.warn("{}: failed to commit held batch {}: {}", serviceName, held.result().path(), e.getMessage());
+                recordError("BATCH_COMMIT_FAILED", "Commit of held batch failed", e.getMessage());
+                batchesFailed.incrementAndGet();
+            } finally {
+                held.batch().close();
             }
+        }
+    }
 
-            Thread.yield();
+    /**
+     * On stop: publishes every held notification of the input queue out of order and commits
+     * this service's held batches. Batches that still cannot be committed (e.g. the topic send
+     * was interrupted) are rolled back and redelivered on the next start.
+     */
+    private void drainHeldBatches() {
+        if (batchTopic == null || !orderedNotifications) {
+            return;
+        }
+        // The stop may have interrupted this thread; the sends below must still go out
+        boolean interrupted = Thread.interrupted();
+        try {
+            for (BatchNotificationSequencer sequencer : BatchNotificationSequencer.allForQueue(inputQueue.getResourceName())) {
+                sequencer.releaseAll(this::publishNotification);
+            }
+            commitReleasedBatches();
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            for (HeldBatch held : heldBatches) {
+                log.warn("{}: rolling back held batch {} on shutdown", serviceName, held.result().path());
+                held.batch().close();
+            }
+            heldBatches.clear();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
+    /**
+     * Streaming write for one chunk representation
+     * ({@link IBatchStorageWrite#writeChunkBatchStreaming} or
+     * {@link IBatchStorageWrite#writeEncodedChunkBatchStreaming}).
+     */
+    @FunctionalInterface
+    private interface ChunkBatchWriter<C> {
+        StreamingWriteResult write(Iterator<C> chunks) throws IOException;
+    }
+
     /**
      * Wraps the chunk iterator with a filtering iterator that skips duplicates.
      * <p>
@@ -233,21 +413,24 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
      * deferred marking after successful commit.
      *
      * @param chunks        the original chunk iterator from the streaming batch
+     * @param keyOf         extracts the firstTick key of a chunk
      * @param processedKeys collects firstTick keys of non-duplicate chunks (populated during iteration)
+     * @param <C>           chunk representation
      * @return the same iterator (if no tracker) or a filtering iterator that skips duplicates
      */
-    private Iterator<TickDataChunk> maybeFilterDuplicates(Iterator<TickDataChunk> chunks, List<Long> processedKeys) {
+    private <C> Iterator<C> maybeFilterDuplicates(Iterator<C> chunks, ToLongFunction<C> keyOf,
+                                                  List<Long> processedKeys) {
         if (idempotencyTracker == null) {
             return chunks;
         }
 
         return new Iterator<>() {
-            private TickDataChunk next = advance();
+            private C next = advance();
 
-            private TickDataChunk advance() {
+            private C advance() {
                 while (chunks.hasNext()) {
-                    TickDataChunk chunk = chunks.next();
-                    long key = chunk.getFirstTick();
+                    C chunk = chunks.next();
+                    long key = keyOf.applyAsLong(chunk);
                     if (!idempotencyTracker.isProcessed(key)) {
                         processedKeys.add(key);
                         return chunk;
@@ -264,11 +447,11 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
             }
 
             @Override
-            public TickDataChunk next() {
+            public C next() {
                 if (next == null) {
                     throw new NoSuchElementException();
                 }
-                TickDataChunk current = next;
+                C current = next;
                 next = advance();
                 return current;
             }
@@ -296,14 +479,19 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
      * Sends a batch notification to the topic if configured.
      * <p>
      * Initializes the topic with the simulation run ID on the first notification.
-     * If the topic is not configured, this method is a no-op.
+     * If the topic is not configured, this method is a no-op. Batches from a partitioned
+     * queue go through the {@link BatchNotificationSequencer}, which may hold the notification
+     * until all earlier batches have been announced.
      *
+     * @param batch  the batch that was written
      * @param result the streaming write result containing batch metadata
+     * @return the sequencer the notification went through, or null if it was sent directly
      * @throws InterruptedException if interrupted during topic send
      */
-    private void sendBatchNotification(StreamingWriteResult result) throws InterruptedException {
+    private BatchNotificationSequencer sendBatchNotification(StreamingBatch<?> batch, StreamingWriteResult result)
+            throws InterruptedException {
         if (batchTopic == null) {
-            return;
+            return null;
         }
 
         String simulationRunId = result.simulationRunId();
@@ -321,7 +509,50 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
             .setWrittenAtMs(System.currentTimeMillis())
             .build();
 
-        log.debug("Sending BatchInfo to topic: ticks {}-{}", result.firstTick(), result.lastTick());
+        if (orderedNotifications && batch.firstSequence() >= 0) {
+            return completeInSequence(batch, notification);
+        }
+        publishNotification(notification);
+        return null;
+    }
+
+    /**
+     * Reports a finished batch of a partitioned queue to the sequencer, which sends every
+     * notification that is now in order. No-op for queues without sequence numbers.
+     *
+     * @param batch        the finished batch
+     * @param notification its notification, or null if nothing was written
+     * @return the sequencer of the batch's epoch, or null for queues without sequence numbers
+     * @throws InterruptedException if interrupted during topic send
+     */
+    private BatchNotificationSequencer completeInSequence(StreamingBatch<?> batch, BatchInfo notification)
+            throws InterruptedException {
+        if (batchTopic == null || !orderedNotifications || batch.firstSequence() < 0) {
+            return null;
+        }
+        String epoch = batch.sequenceEpoch() != null ? batch.sequenceEpoch() : "";
+        BatchNotificationSequencer sequencer = BatchNotificationSequencer.forQueue(inputQueue.getResourceName(), epoch);
+        sequencer.complete(batch.firstSequence(), batch.size(), notification, this::publishNotification);
+        return sequencer;
+    }
+
+    /**
+     * Releases notifications that waited longer than {@code notificationHoldTimeoutMs} for an
+     * earlier range, e.g. because that range is consumed by another process.
+     *
+     * @throws InterruptedException if interrupted during topic send
+     */
+    private void releaseOverdueNotifications() throws InterruptedException {
+        if (batchTopic == null || !orderedNotifications) {
+            return;
+        }
+        for (BatchNotificationSequencer sequencer : BatchNotificationSequencer.allForQueue(inputQueue.getResourceName())) {
+            sequencer.releaseOverdue(notificationHoldTimeoutMs, this::publishNotification);
+        }
+    }
+
+    private void publishNotification(BatchInfo notification) throws InterruptedException {
+        log.debug("Sending BatchInfo to topic: ticks {}-{}", notification.getTickStart(), notification.getTickEnd());
         try {
             batchTopic.send(notification);
             log.debug("BatchInfo sent successfully");
@@ -330,7 +561,7 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
             // Batch is already persisted — notification failure is transient.
             // Indexers will catch up on next successful notification or via polling.
             log.warn("{}: failed to send batch notification for ticks {}-{}: {}",
-                serviceName, result.firstTick(), result.lastTick(), e.getMessage());
+                serviceName, notification.getTickStart(), notification.getTickEnd(), e.getMessage());
             recordError("NOTIFICATION_SEND_FAILED", "Failed to send batch notification", e.getMessage());
             notificationsFailed.incrementAndGet();
         }
@@ -348,6 +579,14 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
         metrics.put("current_batch_size", currentBatchSize.get());
         metrics.put("notifications_sent", notificationsSent.get());
         metrics.put("notifications_failed", notificationsFailed.get());
+        int pending = 0;
+        long gapsSkipped = 0;
+        for (BatchNotificationSequencer sequencer : BatchNotificationSequencer.allForQueue(inputQueue.getResourceName())) {
+            pending += sequencer.pendingCount();
+            gapsSkipped += sequencer.gapsSkipped();
+        }
+        metrics.put("notifications_pending", pending);
+        metrics.put("notifications_gaps_skipped", gapsSkipped);
     }
 
     // ==================== IMemoryEstimatable ====================
@@ -359,7 +598,8 @@ public class PersistenceService extends AbstractService implements IMemoryEstima
      * <p>
      * With streaming, N serialized chunks are held on heap (from Artemis {@code reset()})
      * plus 1 deserialized chunk during iteration. This is a reduction from the previous
-     * batch model (maxBatchSize × deserialized bytesPerChunk).
+     * batch model (maxBatchSize × deserialized bytesPerChunk). Batches held for their
+     * notification add no chunk data: the iteration has already released their bodies.
      * <p>
      * <strong>Calculation:</strong> maxBatchSize × serializedBytesPerChunk + 1 × deserializedBytesPerChunk
      *
@@ -10,9 +10,11 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 import org.evochora.compiler.Compiler;
 import org.evochora.compiler.api.CompilationException;
@@ -38,19 +40,27 @@ import org.evochora.datapipeline.api.contracts.TokenInfo;
 import org.evochora.datapipeline.api.contracts.TokenMapEntry;
 import org.evochora.datapipeline.api.contracts.Vector;
 import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
+import org.evochora.datapipeline.api.services.IFastForwardControl;
 import org.evochora.datapipeline.api.services.ISimulationSource;
 import org.evochora.datapipeline.api.memory.MemoryEstimate;
 import org.evochora.datapipeline.api.memory.SimulationParameters;
 import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkOutput;
 import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
 import org.evochora.datapipeline.api.resources.storage.IBatchStorageRead;
 import org.evochora.datapipeline.resume.OrganismStateSerializer;
 import org.evochora.datapipeline.resume.ResumeCheckpoint;
 import org.evochora.datapipeline.resume.SimulationRestorer;
 import org.evochora.datapipeline.resume.SnapshotLoader;
+import org.evochora.datapipeline.utils.compression.CompressionCodecFactory;
+import org.evochora.datapipeline.utils.compression.CompressionException;
+import org.evochora.datapipeline.utils.compression.ICompressionCodec;
 import org.evochora.datapipeline.utils.delta.DeltaCodec;
 import org.evochora.runtime.Simulation;
 import org.evochora.runtime.internal.services.SeededRandomProvider;
+import org.evochora.runtime.partition.LoopbackPartitionTransport;
+import org.evochora.runtime.partition.SlabDecomposition;
 import org.evochora.runtime.spi.IBirthHandler;
 import org.evochora.runtime.spi.IDeathHandler;
 import org.evochora.runtime.spi.IInstructionInterceptor;
@@ -67,10 +77,29 @@ import com.google.protobuf.ByteString;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigRenderOptions;
 
-public class SimulationEngine extends AbstractService implements IMemoryEstimatable, ISimulationSource {
+public class SimulationEngine extends AbstractService implements IMemoryEstimatable, ISimulationSource, IFastForwardControl {
 
     private final IOutputQueueResource<TickDataChunk> tickDataOutput;
+    // Non-null if the tick queue accepts pre-serialized chunks (serialize once, no re-encode downstream)
+    private final IEncodedChunkOutput encodedTickDataOutput;
+    // Non-null if compression.enabled and the tick queue accepts encoded chunks: chunks are
+    // compressed by a worker thread and stay compressed in the queue and in storage
+    private final ICompressionCodec chunkCodec;
+    private final int compressionPendingChunks;
+    private volatile ChunkCompressionWorker compressionWorker;
     private final IOutputQueueResource<SimulationMetadata> metadataOutput;
+    // Non-null if backpressure.enabled: drops incremental samples while the tick queue is backed up
+    private final BackpressureSamplingPolicy samplingPolicy;
+    private final AtomicLong samplesSkipped = new AtomicLong(0);
+    // Fast-forward: target tick requested by config or control API (-1 = none). While active, the
+    // simulation runs without observation and nothing is captured. It starts only once the current
+    // chunk is complete, and the target tick starts the next regular chunk with its snapshot.
+    private final AtomicLong fastForwardTarget = new AtomicLong(-1);
+    private volatile boolean fastForwarding = false;
+    private volatile long fastForwardStartTick;
+    private volatile long fastForwardStartNanos;
+    private volatile double fastForwardTicksPerSecond = 0.0;
+    private boolean capturedSinceStart = false;  // Simulation thread only
     private final int samplingInterval;
     private final int accumulatedDeltaInterval;
     private final int snapshotInterval;
@@ -149,7 +178,12 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
 
         // Common resource initialization
         this.tickDataOutput = initializeTickQueue();
+        this.encodedTickDataOutput = tickDataOutput instanceof IEncodedChunkOutput encoded
+            && encoded.supportsEncodedChunks() ? encoded : null;
         this.metadataOutput = initializeMetadataQueue();
+        this.samplingPolicy = BackpressureSamplingPolicy.fromConfig(tickDataOutput, options);
+        this.chunkCodec = createChunkCodec(options);
+        this.compressionPendingChunks = readInt(options, "compression.pendingChunks", 2);
 
         // Common configuration (intervals come from InitializedState to support resume from metadata)
         this.metricsWindowSeconds = readInt(options, "metricsWindowSeconds", 1);
@@ -192,6 +226,35 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
 
         // Common finalization - pass resume snapshot for proper encoder initialization
         this.chunkEncoder = createChunkEncoder(state.resumeSnapshot());
+
+        long fastForwardUntil = options.hasPath("fastForward.untilTick") ? options.getLong("fastForward.untilTick") : -1;
+        if (fastForwardUntil > currentTick.get()) {
+            this.fastForwardTarget.set(alignToSample(fastForwardUntil));
+        }
+    }
+
+    /**
+     * Creates the codec for producer-side chunk compression from the {@code compression} block.
+     *
+     * @return the codec, or null if compression is disabled or the tick queue cannot carry
+     *         encoded chunks
+     */
+    private ICompressionCodec createChunkCodec(Config options) {
+        ICompressionCodec codec;
+        try {
+            codec = CompressionCodecFactory.createAndValidate(options);
+        } catch (CompressionException e) {
+            throw new IllegalStateException("Failed to initialize chunk compression for service '" + serviceName + "'", e);
+        }
+        if (EncodedChunk.UNCOMPRESSED.equals(codec.getName())) {
+            return null;
+        }
+        if (encodedTickDataOutput == null) {
+            log.warn("Chunk compression is enabled but queue '{}' does not accept encoded chunks; sending uncompressed",
+                tickDataOutput.getResourceName());
+            return null;
+        }
+        return codec;
     }
 
     @SuppressWarnings("unchecked")
@@ -234,6 +297,22 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
         simulation.setParallelismScaling(scalingOrganisms, scalingMaxThreads);
     }
 
+    /**
+     * Reads {@code partitions} from the runtime config and, if it is greater than 1, splits the
+     * world into that many slabs connected by an in-process transport.
+     *
+     * @param simulation the simulation to configure
+     * @param runtimeConfig the runtime config block (may or may not contain partitions)
+     */
+    private void applyDomainDecomposition(Simulation simulation, Config runtimeConfig) {
+        int partitions = runtimeConfig.hasPath("partitions") ? runtimeConfig.getInt("partitions") : 1;
+        if (partitions < 1) throw new IllegalArgumentException("runtime.partitions must be >= 1, got " + partitions);
+        if (partitions == 1) return;
+        simulation.setDomainDecomposition(
+                new SlabDecomposition(simulation.getEnvironment().properties, partitions),
+                new LoopbackPartitionTransport(partitions));
+    }
+
     private double readDouble(Config config, String path, double defaultValue) {
         return config.hasPath(path) ? config.getDouble(path) : defaultValue;
     }
@@ -317,6 +396,7 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
             log.debug("Restored {} organisms from checkpoint", restored.simulation().getOrganisms().size());
 
             applyParallelismScaling(restored.simulation(), currentRuntimeConfig);
+            applyDomainDecomposition(restored.simulation(), currentRuntimeConfig);
 
             // Read intervals and estimation parameters from original config (must match original simulation!)
             return new InitializedState(
@@ -431,6 +511,7 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
         Simulation simulation = new Simulation(environment, policyManager, organismConfig, parallelism);
 
         applyParallelismScaling(simulation, runtimeConfig);
+        applyDomainDecomposition(simulation, runtimeConfig);
         simulation.setRandomProvider(randomProvider);
 
         // Register tick plugins with simulation
@@ -521,6 +602,55 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
 
     @Override
     protected void run() throws InterruptedException {
+        beginRun();
+
+        // Check isStopRequested() for graceful shutdown (in addition to state and interrupt)
+        try {
+            while ((getCurrentState() == State.RUNNING || getCurrentState() == State.PAUSED)
+                    && !isStopRequested() && !Thread.currentThread().isInterrupted()) {
+                checkPause();
+
+                StepResult result = step(this::isStopRequested);
+                if (result == StepResult.STOPPED) break;
+
+                if (result == StepResult.PAUSE_REQUESTED) {
+                    log.info("{} auto-paused at tick {} due to pauseTicks configuration", getClass().getSimpleName(), currentTick.get());
+                    pause();
+                }
+            }
+        } finally {
+            endRun();
+        }
+
+        // Note: No flushPartialChunk() - partial chunks cause duplicate/shifted boundaries on resume.
+        // Only complete chunks are persisted (also around fast-forwards, see updateFastForward());
+        // partial data is discarded and regenerated on resume.
+
+        log.info("Simulation loop finished.");
+    }
+
+    /**
+     * Outcome of a single {@link #step(BooleanSupplier)}.
+     */
+    enum StepResult {
+        /** The tick was simulated; continue with the next one. */
+        CONTINUE,
+        /** The tick was simulated and is listed in {@code pauseTicks}. */
+        PAUSE_REQUESTED,
+        /** A stop was requested; the tick's data may not have been sent. */
+        STOPPED
+    }
+
+    /**
+     * Prepares the run: sends the initial metadata (fresh runs only) and starts the chunk
+     * compression worker if configured. Called once before the first {@link #step}.
+     * <p>
+     * Together with {@link #step} and {@link #endRun()} this lets a host other than this
+     * service's own thread drive the simulation (see {@link SimulationFarmService}).
+     *
+     * @throws InterruptedException if interrupted while sending the metadata
+     */
+    void beginRun() throws InterruptedException {
         // Only send metadata for fresh runs, not for resume (metadata already exists)
         if (!isResume) {
             try {
@@ -534,48 +664,155 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
             log.debug("Resume mode: skipping metadata send (already exists for run {})", runId);
         }
 
-        // Check isStopRequested() for graceful shutdown (in addition to state and interrupt)
-        try {
-            while ((getCurrentState() == State.RUNNING || getCurrentState() == State.PAUSED)
-                    && !isStopRequested() && !Thread.currentThread().isInterrupted()) {
-                checkPause();
+        if (chunkCodec != null) {
+            compressionWorker = new ChunkCompressionWorker(encodedTickDataOutput, chunkCodec,
+                compressionPendingChunks, serviceName + "-compression", messagesSent::incrementAndGet,
+                (chunk, e) -> {
+                    log.error("Failed to compress or send chunk {}-{}, stopping the tick stream",
+                        chunk.getFirstTick(), chunk.getLastTick(), e);
+                    recordError("SEND_ERROR", "Failed to compress or send tick data",
+                        String.format("Ticks: %d-%d", chunk.getFirstTick(), chunk.getLastTick()));
+                });
+        }
+    }
 
-                simulation.tick();
-                long tick = currentTick.incrementAndGet();
-
-                if (isStopRequested() || Thread.currentThread().isInterrupted()) break;
-
-                if (tick % samplingInterval == 0) {
-                    try {
-                        captureSampledTick(tick);
-                    } catch (InterruptedException e) {
-                        // Shutdown signal received while sending tick data - this is expected
-                        log.debug("Interrupted while sending tick data for tick {} during shutdown", tick);
-                        throw e; // Re-throw to exit cleanly
-                    } catch (Exception e) {
-                        if (isStopRequested() || Thread.currentThread().isInterrupted()) {
-                            log.debug("Failed to send tick data for tick {} during shutdown", tick);
-                            break;
-                        }
-                        log.warn("Failed to capture or send tick data for tick {}", tick, e);
-                        recordError("SEND_ERROR", "Failed to send tick data", String.format("Tick: %d", tick));
-                    }
-                }
+    /**
+     * Simulates one tick and captures it if it is a sampled tick.
+     * <p>
+     * Must not be called concurrently for the same engine.
+     *
+     * @param stopRequested tells whether the host is shutting down (send failures are then
+     *                      expected and not recorded as errors)
+     * @return the outcome of the tick
+     * @throws InterruptedException if interrupted while sending tick data
+     */
+    StepResult step(BooleanSupplier stopRequested) throws InterruptedException {
+        updateFastForward();
+        // Execution records are only read when a tick is captured
+        simulation.setExecutionRecordingEnabled((currentTick.get() + 1) % samplingInterval == 0);
+        simulation.tick();
+        long tick = currentTick.incrementAndGet();
+
+        if (stopRequested.getAsBoolean() || Thread.currentThread().isInterrupted()) return StepResult.STOPPED;
+
+        if (fastForwarding) {
+            // Dead organisms are normally pruned after their final capture
+            if (tick % samplingInterval == 0) {
+                simulation.pruneDeadOrganisms();
+            }
+            return shouldAutoPause(tick) ? StepResult.PAUSE_REQUESTED : StepResult.CONTINUE;
+        }
 
-                if (shouldAutoPause(tick)) {
-                    log.info("{} auto-paused at tick {} due to pauseTicks configuration", getClass().getSimpleName(), tick);
-                    pause();
-                    continue;
+        if (tick % samplingInterval == 0) {
+            if (compressionWorker != null) {
+                // A lost chunk would leave a gap in the stored ticks: stop instead of continuing
+                compressionWorker.throwIfFailed();
+            }
+            try {
+                captureSampledTick(tick);
+            } catch (InterruptedException e) {
+                // Shutdown signal received while sending tick data - this is expected
+                log.debug("Interrupted while sending tick data for tick {} during shutdown", tick);
+                throw e; // Re-throw to exit cleanly
+            } catch (Exception e) {
+                if (stopRequested.getAsBoolean() || Thread.currentThread().isInterrupted()) {
+                    log.debug("Failed to send tick data for tick {} during shutdown", tick);
+                    return StepResult.STOPPED;
                 }
+                log.warn("Failed to capture or send tick data for tick {}", tick, e);
+                recordError("SEND_ERROR", "Failed to send tick data", String.format("Tick: %d", tick));
             }
-        } finally {
-            simulation.shutdown();
         }
 
-        // Note: No flushPartialChunk() - partial chunks cause duplicate/shifted boundaries on resume.
-        // Only complete chunks are persisted; partial data is discarded and regenerated on resume.
+        return shouldAutoPause(tick) ? StepResult.PAUSE_REQUESTED : StepResult.CONTINUE;
+    }
 
-        log.info("Simulation loop finished.");
+    @Override
+    public void fastForward(long untilTick) {
+        long current = currentTick.get();
+        if (untilTick <= current) {
+            throw new IllegalStateException("Cannot fast-forward to tick " + untilTick
+                + ": simulation is already at tick " + current);
+        }
+        long target = alignToSample(untilTick);
+        fastForwardTarget.set(target);
+        log.info("{} fast-forward requested up to tick {}", serviceName, target);
+    }
+
+    @Override
+    public long getFastForwardTarget() {
+        return fastForwardTarget.get();
+    }
+
+    /**
+     * Rounds a fast-forward target up to the next sampled tick, which becomes the checkpoint.
+     */
+    private long alignToSample(long tick) {
+        return ((tick + samplingInterval - 1) / samplingInterval) * samplingInterval;
+    }
+
+    /**
+     * Starts or finishes a fast-forward before the next tick is simulated. The target tick
+     * itself is simulated with observation enabled, so it can be captured in full.
+     * <p>
+     * Chunk boundaries stay aligned: a fast-forward only starts once the chunk being built is
+     * complete, and the target tick becomes the snapshot of the next full chunk. Every stored
+     * chunk therefore has the regular length, which resume relies on (it regenerates the last
+     * chunk from its snapshot).
+     */
+    private void updateFastForward() {
+        long target = fastForwardTarget.get();
+        if (target < 0) return;
+        long next = currentTick.get() + 1;
+        if (next < target) {
+            // Otherwise keep sampling until the current chunk is complete
+            if (!fastForwarding && (!capturedSinceStart || !chunkEncoder.hasPartialChunk())) {
+                startFastForward(target);
+            }
+            return;
+        }
+        if (fastForwarding) {
+            finishFastForward();
+        }
+        fastForwardTarget.compareAndSet(target, -1);
+    }
+
+    private void startFastForward(long target) {
+        // A chunk must not span unobserved ticks. The only partial chunk left here holds just
+        // the resume checkpoint, which is already stored as the start of a full chunk.
+        if (chunkEncoder.hasPartialChunk()) {
+            chunkEncoder.discardPartialChunk();
+        }
+        simulation.setObservationEnabled(false);
+        fastForwardStartTick = currentTick.get();
+        fastForwardStartNanos = System.nanoTime();
+        fastForwarding = true;
+        log.info("{} fast-forwarding from tick {} to tick {} without observation",
+            serviceName, fastForwardStartTick, target);
+    }
+
+    private void finishFastForward() {
+        simulation.setObservationEnabled(true);
+        fastForwarding = false;
+        long ticks = currentTick.get() - fastForwardStartTick;
+        double seconds = (System.nanoTime() - fastForwardStartNanos) / 1e9;
+        fastForwardTicksPerSecond = seconds > 0 ? ticks / seconds : 0.0;
+        log.info("{} fast-forward finished at tick {}: {} ticks at {} ticks/s, resuming sampled mode",
+            serviceName, currentTick.get(), ticks, String.format("%.0f", fastForwardTicksPerSecond));
+    }
+
+    /**
+     * Releases the simulation's worker threads and flushes the compression worker. Called once
+     * after the last {@link #step}.
+     *
+     * @throws IllegalStateException if chunks could not be compressed or sent
+     */
+    void endRun() {
+        simulation.shutdown();
+        if (compressionWorker != null) {
+            // Sends chunks that were completed before the stop
+            compressionWorker.close();
+        }
     }
 
     @Override
@@ -599,6 +836,30 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
         metrics.put("organisms_total", (long) simulation.getTotalOrganismsCreatedCount());
         metrics.put("messages_sent", messagesSent.get());
         metrics.put("sampling_interval", samplingInterval);
+        if (samplingPolicy != null) {
+            int level = samplingPolicy.getLevel();
+            metrics.put("sampling_degradation_level", level);
+            metrics.put("effective_sampling_interval", (long) samplingInterval << level);
+            metrics.put("samples_skipped", samplesSkipped.get());
+        }
+        ChunkCompressionWorker worker = compressionWorker;
+        if (worker != null) {
+            metrics.put("chunk_compression_ratio", worker.getCompressionRatio());
+            metrics.put("chunk_compression_pending", worker.getPendingCount());
+        }
+        long[] partitionNanos = simulation.getPartitionTickNanos();
+        for (int p = 0; p < partitionNanos.length; p++) {
+            metrics.put("partition_" + p + "_tick_ms", partitionNanos[p] / 1_000_000.0);
+        }
+        if (fastForwarding) {
+            double seconds = (System.nanoTime() - fastForwardStartNanos) / 1e9;
+            if (seconds > 0) {
+                fastForwardTicksPerSecond = (currentTick.get() - fastForwardStartTick) / seconds;
+            }
+        }
+        metrics.put("fast_forward_active", fastForwarding ? 1 : 0);
+        metrics.put("fast_forward_target_tick", fastForwardTarget.get());
+        metrics.put("fast_forward_ticks_per_second", fastForwardTicksPerSecond);
         metrics.put("ticks_per_second", ticksPerSecond);
     }
 
@@ -610,17 +871,33 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
      * This method extracts all organism states, plugin states, and RNG state,
      * then passes them to the DeltaCodec.Encoder. If a complete chunk is produced,
      * it is sent to the tick data output queue.
+     * <p>
+     * If the backpressure policy is enabled and decides to drop this sample, nothing is
+     * extracted: the encoder only counts the sample, and dead organisms stay in the list
+     * until their final appearance in the next stored sample.
      *
      * @param tick the tick number to capture
      * @return true if a complete chunk was produced and sent, false otherwise
      * @throws InterruptedException if interrupted while sending to queue
      */
     private boolean captureSampledTick(long tick) throws InterruptedException {
+        if (samplingPolicy != null && chunkEncoder.isNextSampleIncremental()
+                && samplingPolicy.shouldSkip(chunkEncoder.getNextSampleIndex())) {
+            samplesSkipped.incrementAndGet();
+            Optional<TickDataChunk> chunk = chunkEncoder.skipTick(tick);
+            if (chunk.isPresent()) {
+                sendChunk(chunk.get());
+                return true;
+            }
+            return false;
+        }
+
+        capturedSinceStart = true;
         List<OrganismState> organismStates = extractOrganismStates();
         List<PluginState> pluginStates = extractPluginStates();
         ByteString rngState = ByteString.copyFrom(randomProvider.saveState());
 
-        java.util.Optional<TickDataChunk> chunk = chunkEncoder.captureTick(
+        Optional<TickDataChunk> chunk = chunkEncoder.captureTick(
                 tick,
                 simulation.getEnvironment(),
                 organismStates,
@@ -634,13 +911,26 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
         simulation.pruneDeadOrganisms();
 
         if (chunk.isPresent()) {
-            tickDataOutput.put(chunk.get());
-            messagesSent.incrementAndGet();
+            sendChunk(chunk.get());
             return true;
         }
         return false;
     }
 
+    private void sendChunk(TickDataChunk chunk) throws InterruptedException {
+        if (compressionWorker != null) {
+            // The worker counts the message once it is in the queue
+            compressionWorker.submit(chunk);
+            return;
+        }
+        if (encodedTickDataOutput != null) {
+            encodedTickDataOutput.putEncoded(EncodedChunk.of(chunk));
+        } else {
+            tickDataOutput.put(chunk);
+        }
+        messagesSent.incrementAndGet();
+    }
+
     /**
      * Initializes plugins from configuration with automatic type detection.
      * <p>
@@ -964,6 +1254,15 @@ public class SimulationEngine extends AbstractService implements IMemoryEstimata
         return simulationParameters;
     }
 
+    /**
+     * Returns the number of the last simulated tick.
+     *
+     * @return the current tick, or the resume tick before the first step
+     */
+    long getCurrentTick() {
+        return currentTick.get();
+    }
+
     // ==================== IMemoryEstimatable ====================
     
     /**
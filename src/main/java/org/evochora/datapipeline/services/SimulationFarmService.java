@@ -0,0 +1,377 @@
+package org.evochora.datapipeline.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
+import org.evochora.datapipeline.api.memory.MemoryEstimate;
+import org.evochora.datapipeline.api.memory.SimulationParameters;
+import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.OperationalError;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+/**
+ * Hosts many independent simulations in one process and schedules their ticks on a shared
+ * worker pool.
+ * <p>
+ * Intended for parameter sweeps over small worlds, where a single {@link SimulationEngine} stays
+ * below its {@code parallelism-scaling} thresholds and runs on one thread. Each run is a full
+ * {@link SimulationEngine} (own run ID, encoder, plugins and output queues) that is driven by the
+ * farm instead of its own service thread. Runs always use {@code runtime.parallelism = 1}; the
+ * farm parallelizes across runs instead of within them.
+ * <p>
+ * <strong>Scheduling:</strong> Runnable runs wait in one FIFO queue. A worker takes the run at the
+ * head, simulates up to {@code sliceTicks} ticks or {@code sliceMillis} milliseconds, and puts it
+ * back at the tail. A run is never stepped by two workers at once, and every runnable run gets a
+ * slice before any run gets a second one.
+ * <p>
+ * <strong>Configuration:</strong>
+ * <pre>
+ * options {
+ *   workerThreads = 0      # 0 = available processors
+ *   sliceTicks = 100
+ *   sliceMillis = 50
+ *   defaults { ... }       # SimulationEngine options shared by all runs
+ *   runs = [
+ *     { name = "a", options { seed = 1 } }
+ *     { name = "b", options { seed = 2 } }
+ *   ]
+ * }
+ * resources {
+ *   a-tickData = "queue-out:tick-queue-a"
+ *   a-metadataOutput = "queue-out:metadata-queue-a"
+ *   ...
+ * }
+ * </pre>
+ * Ports named {@code <run>-<port>} are passed to the run's engine as {@code <port>}. Runs need
+ * separate tick queues, because downstream batches must not mix run IDs.
+ * <p>
+ * Pausing the farm service pauses all workers; {@link #pauseRun(String)} and
+ * {@link #resumeRun(String)} control single runs. A run reaching one of its {@code pauseTicks} is
+ * paused like {@link #pauseRun(String)}.
+ */
+public class SimulationFarmService extends AbstractService implements IMemoryEstimatable {
+
+    private static final long POLL_MS = 100;
+
+    private final Map<String, FarmRun> runs = new LinkedHashMap<>();
+    private final LinkedBlockingQueue<FarmRun> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger liveRuns = new AtomicInteger(0);
+    private final int workerThreads;
+    private final int sliceTicks;
+    private final long sliceNanos;
+    private volatile boolean stopping = false;
+
+    /**
+     * A hosted simulation and its scheduling state.
+     * <p>
+     * {@code scheduled} is true while the run is in the ready queue or being stepped by a worker;
+     * it is only changed under the run's monitor.
+     */
+    private static final class FarmRun {
+        final String name;
+        final SimulationEngine engine;
+        volatile boolean paused = false;
+        volatile boolean finished = false;
+        boolean scheduled = false;
+
+        FarmRun(String name, SimulationEngine engine) {
+            this.name = name;
+            this.engine = engine;
+        }
+    }
+
+    public SimulationFarmService(String name, Config options, Map<String, List<IResource>> resources) {
+        super(name, options, resources);
+
+        int configuredThreads = options.hasPath("workerThreads") ? options.getInt("workerThreads") : 0;
+        if (configuredThreads < 0) {
+            throw new IllegalArgumentException("workerThreads must be >= 0, got " + configuredThreads);
+        }
+        this.sliceTicks = options.hasPath("sliceTicks") ? options.getInt("sliceTicks") : 100;
+        long sliceMillis = options.hasPath("sliceMillis") ? options.getLong("sliceMillis") : 50;
+        if (sliceTicks < 1 || sliceMillis < 1) {
+            throw new IllegalArgumentException("sliceTicks and sliceMillis must be >= 1");
+        }
+        this.sliceNanos = TimeUnit.MILLISECONDS.toNanos(sliceMillis);
+
+        if (!options.hasPath("runs") || options.getConfigList("runs").isEmpty()) {
+            throw new IllegalArgumentException("SimulationFarmService '" + name + "' requires at least one entry in 'runs'");
+        }
+        Config defaults = options.hasPath("defaults") ? options.getConfig("defaults") : ConfigFactory.empty();
+        for (Config runConfig : options.getConfigList("runs")) {
+            String runName = runConfig.getString("name");
+            if (runName.isBlank() || runs.containsKey(runName)) {
+                throw new IllegalArgumentException("Run names must be unique and non-empty, got: '" + runName + "'");
+            }
+            Config runOptions = (runConfig.hasPath("options") ? runConfig.getConfig("options") : ConfigFactory.empty())
+                .withFallback(defaults)
+                .withValue("runtime.parallelism", ConfigValueFactory.fromAnyRef(1));
+            SimulationEngine engine = new SimulationEngine(name + "/" + runName, runOptions, resourcesForRun(runName));
+            runs.put(runName, new FarmRun(runName, engine));
+        }
+
+        int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        this.workerThreads = Math.min(threads, runs.size());
+    }
+
+    /**
+     * Selects the farm's ports that belong to the given run and strips the run prefix.
+     */
+    private Map<String, List<IResource>> resourcesForRun(String runName) {
+        String prefix = runName + "-";
+        Map<String, List<IResource>> runResources = new HashMap<>();
+        resources.forEach((port, list) -> {
+            if (port.startsWith(prefix)) {
+                runResources.put(port.substring(prefix.length()), list);
+            }
+        });
+        return runResources;
+    }
+
+    @Override
+    protected void logStarted() {
+        log.info("SimulationFarmService started: runs={}, workerThreads={}, slice={} ticks / {} ms",
+            runs.size(), workerThreads, sliceTicks, TimeUnit.NANOSECONDS.toMillis(sliceNanos));
+    }
+
+    @Override
+    protected void run() throws InterruptedException {
+        stopping = false;
+        ready.clear();
+        liveRuns.set(0);
+        AtomicInteger threadIndex = new AtomicInteger(0);
+        ExecutorService workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, serviceName + "-worker-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (FarmRun run : runs.values()) {
+                synchronized (run) {
+                    run.scheduled = false;
+                }
+                if (run.finished) {
+                    continue;
+                }
+                run.engine.beginRun();
+                run.engine.logStarted();
+                liveRuns.incrementAndGet();
+                schedule(run);
+            }
+            for (int i = 0; i < workerThreads; i++) {
+                workers.submit(this::workerLoop);
+            }
+            while (!isStopRequested() && liveRuns.get() > 0) {
+                Thread.sleep(POLL_MS);
+            }
+        } finally {
+            stopping = true;
+            workers.shutdownNow();
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Farm workers did not terminate within 10 seconds");
+            }
+            for (FarmRun run : runs.values()) {
+                try {
+                    run.engine.endRun();
+                } catch (RuntimeException e) {
+                    log.error("Run '{}' could not send all tick data", run.name, e);
+                    recordError("RUN_FAILED", "Simulation run failed",
+                        String.format("Run: %s, Error: %s", run.name, e.getMessage()));
+                }
+            }
+        }
+        log.info("Simulation farm finished.");
+    }
+
+    private void workerLoop() {
+        try {
+            while (!stopping) {
+                checkPause();
+                FarmRun run = ready.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (run != null) {
+                    runSlice(run);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Steps a run for one time slice and puts it back into the ready queue unless it was paused,
+     * finished or failed.
+     */
+    private void runSlice(FarmRun run) throws InterruptedException {
+        long deadline = System.nanoTime() + sliceNanos;
+        try {
+            for (int i = 0; i < sliceTicks && !run.paused && !stopping; i++) {
+                SimulationEngine.StepResult result = run.engine.step(() -> stopping);
+                if (result == SimulationEngine.StepResult.STOPPED) {
+                    return;
+                }
+                if (result == SimulationEngine.StepResult.PAUSE_REQUESTED) {
+                    log.info("Run '{}' auto-paused at tick {} due to pauseTicks configuration",
+                        run.name, run.engine.getCurrentTick());
+                    run.paused = true;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Run '{}' failed at tick {}, removing it from the farm", run.name, run.engine.getCurrentTick(), e);
+            recordError("RUN_FAILED", "Simulation run failed",
+                String.format("Run: %s, Tick: %d, Error: %s", run.name, run.engine.getCurrentTick(), e.getMessage()));
+            run.finished = true;
+            liveRuns.decrementAndGet();
+        }
+        reschedule(run);
+    }
+
+    private void schedule(FarmRun run) {
+        synchronized (run) {
+            if (!run.scheduled && !run.finished) {
+                run.scheduled = true;
+                ready.add(run);
+            }
+        }
+    }
+
+    private void reschedule(FarmRun run) {
+        synchronized (run) {
+            if (run.paused || run.finished || stopping) {
+                run.scheduled = false;
+            } else {
+                ready.add(run);
+            }
+        }
+    }
+
+    /**
+     * Pauses a single run after its current slice. Other runs continue.
+     *
+     * @param runName the run name from the {@code runs} configuration
+     * @throws IllegalArgumentException if no run has this name
+     */
+    public void pauseRun(String runName) {
+        getRun(runName).paused = true;
+    }
+
+    /**
+     * Resumes a run paused by {@link #pauseRun(String)} or by its {@code pauseTicks}.
+     *
+     * @param runName the run name from the {@code runs} configuration
+     * @throws IllegalArgumentException if no run has this name
+     */
+    public void resumeRun(String runName) {
+        FarmRun run = getRun(runName);
+        run.paused = false;
+        if (getCurrentState() != State.STOPPED) {
+            schedule(run);
+        }
+    }
+
+    /**
+     * Returns whether a run is paused.
+     *
+     * @param runName the run name from the {@code runs} configuration
+     * @return true if paused
+     * @throws IllegalArgumentException if no run has this name
+     */
+    public boolean isRunPaused(String runName) {
+        return getRun(runName).paused;
+    }
+
+    /**
+     * Returns the simulation run ID of each hosted run, keyed by run name.
+     *
+     * @return run names to run IDs, in configuration order
+     */
+    public Map<String, String> getRunIds() {
+        Map<String, String> ids = new LinkedHashMap<>();
+        runs.forEach((name, run) -> ids.put(name, run.engine.getRunId()));
+        return Collections.unmodifiableMap(ids);
+    }
+
+    private FarmRun getRun(String runName) {
+        FarmRun run = runs.get(runName);
+        if (run == null) {
+            throw new IllegalArgumentException("Unknown run '" + runName + "'. Available runs: " + runs.keySet());
+        }
+        return run;
+    }
+
+    @Override
+    protected void addCustomMetrics(Map<String, Number> metrics) {
+        super.addCustomMetrics(metrics);
+
+        long pausedRuns = runs.values().stream().filter(r -> r.paused && !r.finished).count();
+        long totalTicks = 0;
+        for (FarmRun run : runs.values()) {
+            long tick = run.engine.getCurrentTick();
+            totalTicks += Math.max(0, tick);
+            metrics.put(run.name + "_current_tick", tick);
+        }
+        metrics.put("runs_total", runs.size());
+        metrics.put("runs_live", liveRuns.get());
+        metrics.put("runs_paused", pausedRuns);
+        metrics.put("runs_ready", ready.size());
+        metrics.put("worker_threads", workerThreads);
+        metrics.put("ticks_total", totalTicks);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Includes the operational errors of all hosted runs.
+     */
+    @Override
+    public List<OperationalError> getErrors() {
+        List<OperationalError> errors = new ArrayList<>(super.getErrors());
+        for (FarmRun run : runs.values()) {
+            errors.addAll(run.engine.getErrors());
+        }
+        return errors;
+    }
+
+    @Override
+    public void clearErrors() {
+        super.clearErrors();
+        runs.values().forEach(run -> run.engine.clearErrors());
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return super.isHealthy() && runs.values().stream().allMatch(run -> run.engine.getErrors().isEmpty());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sum of the estimates of all hosted runs, each with its own simulation parameters. The
+     * given parameters are ignored.
+     */
+    @Override
+    public List<MemoryEstimate> estimateWorstCaseMemory(SimulationParameters params) {
+        List<MemoryEstimate> estimates = new ArrayList<>();
+        for (FarmRun run : runs.values()) {
+            estimates.addAll(run.engine.estimateWorstCaseMemory(run.engine.getMemoryEstimationParameters()));
+        }
+        return estimates;
+    }
+}
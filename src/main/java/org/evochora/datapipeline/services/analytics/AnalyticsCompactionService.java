@@ -0,0 +1,489 @@
+package org.evochora.datapipeline.services.analytics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.storage.IAnalyticsStorageRead;
+import org.evochora.datapipeline.api.resources.storage.IAnalyticsStorageWrite;
+import org.evochora.datapipeline.services.AbstractService;
+
+import com.typesafe.config.Config;
+
+/**
+ * Background service that merges small analytics Parquet batch files into large, tick-sorted files.
+ * <p>
+ * {@code AnalyticsIndexer} writes one {@code batch_<start>_<end>.parquet} per metric, LOD level and
+ * flush window. Long runs accumulate thousands of these, and every query has to open all of them.
+ * This service periodically scans the analytics storage and, per directory, replaces runs of
+ * adjacent small batch files with a single {@code batch_<first>_<last>.parquet}.
+ * <p>
+ * <strong>Consistency:</strong> The set of visible batch files acts as the manifest. The merged file
+ * is published with an atomic rename, and storage listings hide every batch file whose tick range is
+ * covered by another batch file in the same directory. The rename is therefore the only switch-over
+ * point: readers see either the complete original set or the compacted file, never a mix. Originals
+ * are deleted after {@code deleteDelaySeconds}, so queries that listed the old set just before the
+ * switch can still read it.
+ * <p>
+ * <strong>Adjacency:</strong> Files are only merged if no batch can be missing between them. The
+ * smallest gap between consecutive batches in a directory is taken as the sampling step; a larger gap
+ * means a batch is still in flight (e.g. competing indexers) and splits the group. This prevents a
+ * merged file from hiding a batch that is written later.
+ * <p>
+ * <strong>Thread Safety:</strong> Runs in its own thread. No synchronization needed.
+ * <p>
+ * <strong>Configuration Example:</strong>
+ * <pre>
+ * analytics-compaction {
+ *   className = "org.evochora.datapipeline.services.analytics.AnalyticsCompactionService"
+ *   resources {
+ *     analyticsInput = "analytics-read:tick-storage"
+ *     analyticsOutput = "analytics-write:tick-storage"
+ *   }
+ *   options {
+ *     intervalSeconds = 60
+ *     minFilesPerCompaction = 8
+ *     maxFilesPerCompaction = 256
+ *     targetTicksPerFile = 100000
+ *     minFileAgeSeconds = 60
+ *     deleteDelaySeconds = 30
+ *     rowGroupSize = 100000
+ *   }
+ * }
+ * </pre>
+ */
+public class AnalyticsCompactionService extends AbstractService {
+
+    private final IAnalyticsStorageRead analyticsInput;
+    private final IAnalyticsStorageWrite analyticsOutput;
+
+    // Configuration
+    private final String runId;
+    private final long intervalMs;
+    private final int minFilesPerCompaction;
+    private final int maxFilesPerCompaction;
+    private final long targetTicksPerFile;
+    private final long minFileAgeMs;
+    private final long deleteDelayMs;
+    private final int rowGroupSize;
+    private final Path tempDirectory;
+
+    /** Superseded originals waiting for their delete delay to expire, in publish order. */
+    private final ConcurrentLinkedDeque<PendingDelete> pendingDeletes = new ConcurrentLinkedDeque<>();
+
+    // Metrics
+    private final AtomicLong compactionsCompleted = new AtomicLong(0);
+    private final AtomicLong filesCompacted = new AtomicLong(0);
+    private final AtomicLong filesDeleted = new AtomicLong(0);
+    private final AtomicLong rowsCompacted = new AtomicLong(0);
+    private final AtomicLong bytesWritten = new AtomicLong(0);
+    private final AtomicLong passesCompleted = new AtomicLong(0);
+    private volatile long lastPassDurationMs = 0;
+
+    /** A batch file as seen in a listing. */
+    record BatchFile(String path, String directory, long startTick, long endTick) {
+        long span() {
+            return endTick - startTick + 1;
+        }
+    }
+
+    private record PendingDelete(String runId, List<String> paths, long dueAtMs) {}
+
+    /**
+     * Creates a new AnalyticsCompactionService.
+     *
+     * @param name Service name
+     * @param options Configuration options
+     * @param resources Resource map (must contain "analyticsInput" and "analyticsOutput")
+     * @throws IllegalArgumentException if configuration validation fails
+     */
+    public AnalyticsCompactionService(String name, Config options, Map<String, List<IResource>> resources) {
+        super(name, options, resources);
+        this.analyticsInput = getRequiredResource("analyticsInput", IAnalyticsStorageRead.class);
+        this.analyticsOutput = getRequiredResource("analyticsOutput", IAnalyticsStorageWrite.class);
+
+        this.runId = options.hasPath("runId") ? options.getString("runId") : null;
+        this.intervalMs = (options.hasPath("intervalSeconds") ? options.getLong("intervalSeconds") : 60) * 1000L;
+        this.minFilesPerCompaction = options.hasPath("minFilesPerCompaction") ? options.getInt("minFilesPerCompaction") : 8;
+        this.maxFilesPerCompaction = options.hasPath("maxFilesPerCompaction") ? options.getInt("maxFilesPerCompaction") : 256;
+        this.targetTicksPerFile = options.hasPath("targetTicksPerFile") ? options.getLong("targetTicksPerFile") : 100_000L;
+        this.minFileAgeMs = (options.hasPath("minFileAgeSeconds") ? options.getLong("minFileAgeSeconds") : 60) * 1000L;
+        this.deleteDelayMs = (options.hasPath("deleteDelaySeconds") ? options.getLong("deleteDelaySeconds") : 30) * 1000L;
+        this.rowGroupSize = options.hasPath("rowGroupSize") ? options.getInt("rowGroupSize") : 100_000;
+
+        String tempPathStr = options.hasPath("tempDirectory")
+            ? options.getString("tempDirectory")
+            : System.getProperty("java.io.tmpdir") + "/evochora/analytics-compaction/" + name;
+        this.tempDirectory = Paths.get(tempPathStr);
+
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("intervalSeconds must be positive");
+        }
+        if (minFilesPerCompaction < 2) {
+            throw new IllegalArgumentException("minFilesPerCompaction must be at least 2");
+        }
+        if (maxFilesPerCompaction < minFilesPerCompaction) {
+            throw new IllegalArgumentException("maxFilesPerCompaction must be >= minFilesPerCompaction");
+        }
+        if (targetTicksPerFile <= 0) {
+            throw new IllegalArgumentException("targetTicksPerFile must be positive");
+        }
+        if (minFileAgeMs < 0 || deleteDelayMs < 0) {
+            throw new IllegalArgumentException("minFileAgeSeconds and deleteDelaySeconds cannot be negative");
+        }
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("rowGroupSize must be positive");
+        }
+
+        try {
+            Class.forName("org.duckdb.DuckDBDriver");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("DuckDB driver not found on classpath", e);
+        }
+    }
+
+    @Override
+    protected void logStarted() {
+        log.info("AnalyticsCompactionService started: interval={}s, files=[min={}, max={}], targetTicks={}, run={}",
+            intervalMs / 1000, minFilesPerCompaction, maxFilesPerCompaction, targetTicksPerFile,
+            runId != null ? runId : "all");
+    }
+
+    @Override
+    protected void run() throws InterruptedException {
+        try {
+            while (!isStopRequested()) {
+                checkPause();
+
+                setShutdownPhase(ShutdownPhase.PROCESSING);
+                Thread.interrupted();
+                try {
+                    runCompactionPass();
+                } finally {
+                    setShutdownPhase(ShutdownPhase.WAITING);
+                }
+
+                Thread.sleep(intervalMs);
+            }
+        } finally {
+            // Originals are already hidden by the compacted files; remove them regardless of delay
+            deletePendingOriginals(Long.MAX_VALUE);
+            cleanupTempDirectory();
+        }
+    }
+
+    /**
+     * Runs one compaction pass over all configured runs.
+     * <p>
+     * Package-private for tests.
+     */
+    void runCompactionPass() {
+        long passStart = System.currentTimeMillis();
+        deletePendingOriginals(passStart);
+
+        List<String> runIds;
+        try {
+            runIds = (runId != null) ? List.of(runId) : analyticsInput.listAnalyticsRunIds();
+        } catch (IOException e) {
+            log.warn("Failed to list analytics runs: {}", e.getMessage());
+            recordError("LIST_FAILED", "Failed to list analytics runs", e.getMessage());
+            return;
+        }
+
+        for (String run : runIds) {
+            if (isStopRequested()) {
+                break;
+            }
+            compactRun(run, passStart);
+        }
+
+        passesCompleted.incrementAndGet();
+        lastPassDurationMs = System.currentTimeMillis() - passStart;
+    }
+
+    private void compactRun(String run, long now) {
+        Map<String, List<BatchFile>> byDirectory;
+        try {
+            byDirectory = analyticsInput.listAnalyticsFiles(run, "").stream()
+                .map(AnalyticsCompactionService::parseBatchFile)
+                .filter(b -> b != null)
+                .collect(Collectors.groupingBy(BatchFile::directory, LinkedHashMap::new, Collectors.toList()));
+        } catch (IOException e) {
+            log.warn("Failed to list analytics files for run {}: {}", run, e.getMessage());
+            recordError("LIST_FAILED", "Failed to list analytics files", "Run: " + run + ", Error: " + e.getMessage());
+            return;
+        }
+
+        for (List<BatchFile> files : byDirectory.values()) {
+            Set<BatchFile> eligible = new HashSet<>();
+            for (BatchFile file : files) {
+                if (isOldEnough(run, file, now)) {
+                    eligible.add(file);
+                }
+            }
+            for (List<BatchFile> group : planGroups(files, eligible, minFilesPerCompaction,
+                    maxFilesPerCompaction, targetTicksPerFile)) {
+                if (isStopRequested()) {
+                    return;
+                }
+                compactGroup(run, group);
+            }
+        }
+    }
+
+    private boolean isOldEnough(String run, BatchFile file, long now) {
+        if (minFileAgeMs == 0) {
+            return true;
+        }
+        try {
+            return now - analyticsInput.getAnalyticsLastModified(run, file.path()) >= minFileAgeMs;
+        } catch (IOException e) {
+            return false; // Vanished between listing and stat
+        }
+    }
+
+    /**
+     * Splits the batch files of one directory into groups that can be merged.
+     * <p>
+     * A group is a run of consecutive files (in tick order) that are all eligible, all smaller than
+     * {@code targetTicks}, and separated by no more than the directory's sampling step. Files may
+     * overlap: incrementally derived LOD levels name a batch after the start of its oldest bucket,
+     * which can precede the end of the previous batch. Groups are capped at {@code maxFiles} files
+     * and {@code targetTicks} ticks; groups smaller than {@code minFiles} are dropped.
+     *
+     * @param files All visible batch files of one directory
+     * @param eligible Subset of {@code files} that may be compacted (e.g. old enough)
+     * @param minFiles Minimum files per group
+     * @param maxFiles Maximum files per group
+     * @param targetTicks Maximum tick span of a merged file
+     * @return Groups in tick order, each sorted by start tick
+     */
+    static List<List<BatchFile>> planGroups(List<BatchFile> files, Set<BatchFile> eligible,
+                                            int minFiles, int maxFiles, long targetTicks) {
+        List<BatchFile> sorted = new ArrayList<>(files);
+        sorted.sort(Comparator.comparingLong(BatchFile::startTick));
+
+        // Smallest gap between consecutive batches = the sampling step of this directory
+        long step = Long.MAX_VALUE;
+        for (int i = 1; i < sorted.size(); i++) {
+            long gap = sorted.get(i).startTick() - sorted.get(i - 1).endTick();
+            if (gap > 0 && gap < step) {
+                step = gap;
+            }
+        }
+        if (step == Long.MAX_VALUE) {
+            step = 1; // only overlapping or adjacent files
+        }
+
+        List<List<BatchFile>> groups = new ArrayList<>();
+        List<BatchFile> current = new ArrayList<>();
+        long currentEnd = Long.MIN_VALUE;
+        for (BatchFile file : sorted) {
+            boolean usable = eligible.contains(file) && file.span() < targetTicks;
+            if (!current.isEmpty()) {
+                BatchFile first = current.get(0);
+                long gap = file.startTick() - currentEnd;
+                boolean fits = usable
+                    && gap <= step
+                    && current.size() < maxFiles
+                    && Math.max(currentEnd, file.endTick()) - first.startTick() + 1 <= targetTicks;
+                if (!fits) {
+                    if (current.size() >= minFiles) {
+                        groups.add(current);
+                    }
+                    current = new ArrayList<>();
+                    currentEnd = Long.MIN_VALUE;
+                }
+            }
+            if (usable) {
+                current.add(file);
+                currentEnd = Math.max(currentEnd, file.endTick());
+            }
+        }
+        if (current.size() >= minFiles) {
+            groups.add(current);
+        }
+        return groups;
+    }
+
+    /**
+     * Merges one group into a tick-sorted Parquet file and publishes it.
+     */
+    private void compactGroup(String run, List<BatchFile> group) {
+        BatchFile first = group.get(0);
+        long endTick = group.stream().mapToLong(BatchFile::endTick).max().orElseThrow();
+        String filename = String.format("batch_%020d_%020d.parquet", first.startTick(), endTick);
+
+        String[] segments = first.directory().split("/");
+        String metricId = segments[0];
+        String lodLevel = segments.length > 1 ? segments[1] : null;
+        String subPath = segments.length > 2 ? String.join("/", List.of(segments).subList(2, segments.length)) : null;
+
+        Path workDir = null;
+        try {
+            Files.createDirectories(tempDirectory);
+            workDir = Files.createTempDirectory(tempDirectory, "compact-");
+
+            List<String> localFiles = new ArrayList<>();
+            for (int i = 0; i < group.size(); i++) {
+                Path local = workDir.resolve("src_" + i + ".parquet");
+                try (InputStream in = analyticsInput.openAnalyticsInputStream(run, group.get(i).path())) {
+                    Files.copy(in, local);
+                }
+                localFiles.add(toDuckDbPath(local));
+            }
+
+            Path merged = workDir.resolve("merged.parquet");
+            long rows = mergeSorted(localFiles, toDuckDbPath(merged));
+
+            try (InputStream in = Files.newInputStream(merged);
+                 OutputStream out = analyticsOutput.openAnalyticsOutputStream(run, metricId, lodLevel, subPath, filename)) {
+                bytesWritten.addAndGet(in.transferTo(out));
+            }
+
+            pendingDeletes.add(new PendingDelete(run, group.stream().map(BatchFile::path).toList(),
+                System.currentTimeMillis() + deleteDelayMs));
+            compactionsCompleted.incrementAndGet();
+            filesCompacted.addAndGet(group.size());
+            rowsCompacted.addAndGet(rows);
+
+            log.debug("Compacted {} files ({} rows) into {}/{}", group.size(), rows, first.directory(), filename);
+
+        } catch (IOException | SQLException e) {
+            log.warn("Failed to compact {} files in {}/{}: {}", group.size(), run, first.directory(), e.getMessage());
+            recordError("COMPACTION_FAILED", "Failed to compact analytics batch files",
+                String.format("Run: %s, Directory: %s, Ticks: %d-%d, Error: %s",
+                    run, first.directory(), first.startTick(), endTick, e.getMessage()));
+        } finally {
+            if (workDir != null) {
+                deleteRecursively(workDir);
+            }
+        }
+    }
+
+    /**
+     * Writes all rows of the source files, ordered by tick, to a single ZSTD Parquet file.
+     *
+     * @return Number of rows written
+     * @throws SQLException if reading or writing fails, or the row count does not match
+     */
+    private long mergeSorted(List<String> sources, String target) throws SQLException {
+        String fileList = sources.stream().map(p -> "'" + p + "'").collect(Collectors.joining(", "));
+        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
+             Statement stmt = conn.createStatement()) {
+            long sourceRows = count(stmt, "read_parquet([" + fileList + "], union_by_name=true)");
+            stmt.execute(String.format(
+                "COPY (SELECT * FROM read_parquet([%s], union_by_name=true) ORDER BY tick) TO '%s' "
+                    + "(FORMAT PARQUET, CODEC 'ZSTD', ROW_GROUP_SIZE %d)",
+                fileList, target, rowGroupSize));
+            long mergedRows = count(stmt, "read_parquet('" + target + "')");
+            if (mergedRows != sourceRows) {
+                throw new SQLException("Row count mismatch after merge: expected " + sourceRows + ", got " + mergedRows);
+            }
+            return mergedRows;
+        }
+    }
+
+    private static long count(Statement stmt, String from) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + from)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Deletes superseded originals whose delete delay has expired.
+     *
+     * @param now Current time; {@code Long.MAX_VALUE} deletes everything pending
+     */
+    private void deletePendingOriginals(long now) {
+        while (!pendingDeletes.isEmpty() && pendingDeletes.peekFirst().dueAtMs() <= now) {
+            PendingDelete pending = pendingDeletes.pollFirst();
+            for (String path : pending.paths()) {
+                try {
+                    analyticsOutput.deleteAnalyticsFile(pending.runId(), path);
+                    filesDeleted.incrementAndGet();
+                } catch (IOException e) {
+                    // Still hidden behind the compacted file, so this only costs disk space
+                    log.warn("Failed to delete compacted original {}/{}: {}", pending.runId(), path, e.getMessage());
+                    recordError("DELETE_FAILED", "Failed to delete compacted original",
+                        "Run: " + pending.runId() + ", Path: " + path);
+                }
+            }
+        }
+    }
+
+    static BatchFile parseBatchFile(String path) {
+        int slash = path.lastIndexOf('/');
+        if (slash < 0) {
+            return null;
+        }
+        String filename = path.substring(slash + 1);
+        if (!filename.startsWith("batch_") || !filename.endsWith(".parquet")) {
+            return null;
+        }
+        String[] parts = filename.substring(6, filename.length() - ".parquet".length()).split("_");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new BatchFile(path, path.substring(0, slash), Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String toDuckDbPath(Path path) {
+        return path.toAbsolutePath().toString().replace("\\", "/");
+    }
+
+    private void cleanupTempDirectory() {
+        if (Files.exists(tempDirectory)) {
+            deleteRecursively(tempDirectory);
+        }
+    }
+
+    private void deleteRecursively(Path dir) {
+        try (var stream = Files.walk(dir)) {
+            stream.sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+        } catch (IOException e) {
+            log.warn("Failed to clean compaction temp directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    @Override
+    protected void addCustomMetrics(Map<String, Number> metrics) {
+        super.addCustomMetrics(metrics);
+
+        metrics.put("compactions_completed", compactionsCompleted.get());
+        metrics.put("files_compacted", filesCompacted.get());
+        metrics.put("files_deleted", filesDeleted.get());
+        metrics.put("rows_compacted", rowsCompacted.get());
+        metrics.put("bytes_written", bytesWritten.get());
+        metrics.put("passes_completed", passesCompleted.get());
+        metrics.put("last_pass_duration_ms", lastPassDurationMs);
+        metrics.put("pending_deletes", pendingDeletes.size());
+    }
+}
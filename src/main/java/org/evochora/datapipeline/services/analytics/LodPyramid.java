@@ -0,0 +1,372 @@
+package org.evochora.datapipeline.services.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evochora.datapipeline.api.analytics.ColumnType;
+import org.evochora.datapipeline.api.analytics.LodAggregation;
+import org.evochora.datapipeline.api.analytics.ParquetSchema;
+
+/**
+ * Incrementally maintained LOD levels for one analytics plugin.
+ * <p>
+ * lod0 rows are fed in tick order via {@link #add(long, List, RowSink)}. Level N+1 buckets
+ * cover {@code lodFactor} level N buckets and are built by merging the partial aggregate
+ * states of their children ({@link LodAggregation}), so coarse values are exact with respect
+ * to the raw rows and never require rescanning finer data.
+ * <p>
+ * A bucket is finalized (emitted to the {@link RowSink} and merged into its parent) as soon as
+ * its last child arrives, or when a row for a different bucket arrives (sparse sampling, gaps,
+ * or ticks going backwards after a redelivery). Open buckets survive across indexer flush
+ * windows; {@link #openRows()} returns their provisional values for publishing.
+ * <p>
+ * <strong>Thread Safety:</strong> Not thread-safe. Owned by the indexer service thread.
+ */
+public final class LodPyramid {
+
+    /**
+     * Receives finalized rows.
+     */
+    @FunctionalInterface
+    public interface RowSink {
+        /**
+         * @param level LOD level (1 = first derived level)
+         * @param bucketStart First tick of the bucket
+         * @param row Row in schema column order, {@code tick} set to the bucket start
+         */
+        void accept(int level, long bucketStart, Object[] row) throws Exception;
+    }
+
+    private final List<ParquetSchema.Column> columns;
+    private final LodAggregation[] aggregations;
+    private final int tickIndex;
+    private final int[] groupIndexes;
+    /** Bucket width in ticks per level; index 0 is the lod0 sampling interval. */
+    private final long[] intervals;
+    /** Open bucket per level (index 0 unused). */
+    private final Bucket[] open;
+
+    /**
+     * Creates a pyramid for one plugin.
+     *
+     * @param schema The plugin schema (must contain a BIGINT {@code tick} column)
+     * @param aggregationsByColumn Aggregation per column; unlisted columns use {@link LodAggregation#LAST}
+     * @param samplingInterval lod0 sampling interval
+     * @param lodFactor Ratio between consecutive levels
+     * @param lodLevels Total number of levels including lod0
+     * @throws IllegalArgumentException if the schema or aggregations are invalid
+     */
+    public LodPyramid(ParquetSchema schema, Map<String, LodAggregation> aggregationsByColumn,
+                      int samplingInterval, int lodFactor, int lodLevels) {
+        if (samplingInterval < 1 || lodFactor < 2 || lodLevels < 2) {
+            throw new IllegalArgumentException(String.format(
+                "Invalid LOD configuration: samplingInterval=%d, lodFactor=%d, lodLevels=%d",
+                samplingInterval, lodFactor, lodLevels));
+        }
+        this.columns = schema.getColumns();
+        this.aggregations = new LodAggregation[columns.size()];
+
+        int tick = -1;
+        List<Integer> groups = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            ParquetSchema.Column column = columns.get(i);
+            if (column.name().equals("tick")) {
+                if (column.type() != ColumnType.BIGINT) {
+                    throw new IllegalArgumentException("Column 'tick' must be BIGINT for incremental LOD");
+                }
+                tick = i;
+                continue;
+            }
+            LodAggregation aggregation = aggregationsByColumn.getOrDefault(column.name(), LodAggregation.LAST);
+            boolean numeric = column.type() == ColumnType.BIGINT || column.type() == ColumnType.INTEGER
+                || column.type() == ColumnType.DOUBLE;
+            if (!numeric && aggregation != LodAggregation.LAST && aggregation != LodAggregation.GROUP) {
+                throw new IllegalArgumentException(String.format(
+                    "Aggregation %s requires a numeric column, but '%s' is %s",
+                    aggregation, column.name(), column.type()));
+            }
+            aggregations[i] = aggregation;
+            if (aggregation == LodAggregation.GROUP) {
+                groups.add(i);
+            }
+        }
+        for (String name : aggregationsByColumn.keySet()) {
+            if (columns.stream().noneMatch(c -> c.name().equals(name))) {
+                throw new IllegalArgumentException("Aggregation configured for unknown column: " + name);
+            }
+        }
+        if (tick < 0) {
+            throw new IllegalArgumentException("Schema must contain a 'tick' column for incremental LOD");
+        }
+        this.tickIndex = tick;
+        this.groupIndexes = groups.stream().mapToInt(Integer::intValue).toArray();
+
+        this.intervals = new long[lodLevels];
+        intervals[0] = samplingInterval;
+        for (int level = 1; level < lodLevels; level++) {
+            intervals[level] = Math.multiplyExact(intervals[level - 1], lodFactor);
+        }
+        this.open = new Bucket[lodLevels];
+    }
+
+    /**
+     * Adds the lod0 rows of one tick and emits every bucket this completes.
+     *
+     * @param tick The tick number
+     * @param rows lod0 rows as returned by the plugin (may be empty)
+     * @param sink Receiver for finalized coarse rows
+     * @throws Exception if the sink fails
+     */
+    public void add(long tick, List<Object[]> rows, RowSink sink) throws Exception {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<List<Object>, Accumulator[]> groups = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Accumulator[] accs = groups.computeIfAbsent(groupKey(row), k -> newAccumulators());
+            for (int i = 0; i < accs.length; i++) {
+                if (accs[i] != null) {
+                    accs[i].add(row[i]);
+                }
+            }
+        }
+        offer(1, tick, groups, sink);
+    }
+
+    /**
+     * Finalizes all open buckets, e.g. before the run changes.
+     *
+     * @param sink Receiver for the (possibly partial) rows
+     * @throws Exception if the sink fails
+     */
+    public void flush(RowSink sink) throws Exception {
+        for (int level = 1; level < open.length; level++) {
+            if (open[level] != null) {
+                finalizeBucket(level, sink);
+            }
+        }
+    }
+
+    /**
+     * Returns provisional rows for all currently open buckets.
+     * <p>
+     * The value of an open level N bucket includes the still-open buckets of lower levels.
+     *
+     * @return Rows per level (index 0 is always empty)
+     */
+    public List<List<Object[]>> openRows() {
+        List<List<Object[]>> result = new ArrayList<>();
+        result.add(List.of());
+
+        Bucket carried = null;
+        for (int level = 1; level < open.length; level++) {
+            Bucket provisional = open[level] != null ? open[level].copy() : null;
+            if (carried != null) {
+                long start = bucketStart(carried.start, level);
+                if (provisional == null) {
+                    provisional = new Bucket(start);
+                }
+                if (provisional.start == start) {
+                    provisional.merge(carried.groups);
+                }
+            }
+            List<Object[]> rows = new ArrayList<>();
+            if (provisional != null) {
+                for (Map.Entry<List<Object>, Accumulator[]> entry : provisional.groups.entrySet()) {
+                    rows.add(toRow(provisional.start, entry.getKey(), entry.getValue()));
+                }
+            }
+            result.add(rows);
+            carried = provisional;
+        }
+        return result;
+    }
+
+    /**
+     * Discards all open buckets.
+     */
+    public void reset() {
+        Arrays.fill(open, null);
+    }
+
+    private void offer(int level, long childStart, Map<List<Object>, Accumulator[]> childGroups, RowSink sink)
+            throws Exception {
+        if (level >= open.length) {
+            return;
+        }
+        long start = bucketStart(childStart, level);
+        if (open[level] != null && open[level].start != start) {
+            finalizeBucket(level, sink);
+        }
+        if (open[level] == null) {
+            open[level] = new Bucket(start);
+        }
+        open[level].merge(childGroups);
+
+        // Last child of this bucket has arrived
+        if (childStart == start + intervals[level] - intervals[level - 1]) {
+            finalizeBucket(level, sink);
+        }
+    }
+
+    private void finalizeBucket(int level, RowSink sink) throws Exception {
+        Bucket bucket = open[level];
+        open[level] = null;
+        for (Map.Entry<List<Object>, Accumulator[]> entry : bucket.groups.entrySet()) {
+            sink.accept(level, bucket.start, toRow(bucket.start, entry.getKey(), entry.getValue()));
+        }
+        offer(level + 1, bucket.start, bucket.groups, sink);
+    }
+
+    private long bucketStart(long tick, int level) {
+        return Math.floorDiv(tick, intervals[level]) * intervals[level];
+    }
+
+    private List<Object> groupKey(Object[] row) {
+        if (groupIndexes.length == 0) {
+            return List.of();
+        }
+        List<Object> key = new ArrayList<>(groupIndexes.length);
+        for (int index : groupIndexes) {
+            key.add(row[index]);
+        }
+        return key;
+    }
+
+    private Accumulator[] newAccumulators() {
+        Accumulator[] accs = new Accumulator[columns.size()];
+        for (int i = 0; i < accs.length; i++) {
+            if (i != tickIndex && aggregations[i] != LodAggregation.GROUP) {
+                accs[i] = new Accumulator(columns.get(i).type() != ColumnType.DOUBLE);
+            }
+        }
+        return accs;
+    }
+
+    private Object[] toRow(long start, List<Object> key, Accumulator[] accs) {
+        Object[] row = new Object[columns.size()];
+        row[tickIndex] = start;
+        for (int g = 0; g < groupIndexes.length; g++) {
+            row[groupIndexes[g]] = key.get(g);
+        }
+        for (int i = 0; i < accs.length; i++) {
+            if (accs[i] != null) {
+                row[i] = accs[i].result(aggregations[i], columns.get(i).type());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Open bucket of one level: aggregate state per group key.
+     */
+    private final class Bucket {
+        final long start;
+        final Map<List<Object>, Accumulator[]> groups = new LinkedHashMap<>();
+
+        Bucket(long start) {
+            this.start = start;
+        }
+
+        void merge(Map<List<Object>, Accumulator[]> other) {
+            for (Map.Entry<List<Object>, Accumulator[]> entry : other.entrySet()) {
+                Accumulator[] target = groups.computeIfAbsent(entry.getKey(), k -> newAccumulators());
+                Accumulator[] source = entry.getValue();
+                for (int i = 0; i < target.length; i++) {
+                    if (target[i] != null) {
+                        target[i].merge(source[i]);
+                    }
+                }
+            }
+        }
+
+        Bucket copy() {
+            Bucket copy = new Bucket(start);
+            copy.merge(groups);
+            return copy;
+        }
+    }
+
+    /**
+     * Mergeable aggregate state of one column: sum, count, min, max and last value.
+     * Integral columns are tracked as {@code long} to stay exact.
+     */
+    private static final class Accumulator {
+        final boolean integral;
+        long count;
+        long longSum;
+        double doubleSum;
+        long longMin = Long.MAX_VALUE;
+        long longMax = Long.MIN_VALUE;
+        double doubleMin = Double.POSITIVE_INFINITY;
+        double doubleMax = Double.NEGATIVE_INFINITY;
+        Object last;
+
+        Accumulator(boolean integral) {
+            this.integral = integral;
+        }
+
+        void add(Object value) {
+            if (value == null) {
+                return;
+            }
+            last = value;
+            if (!(value instanceof Number number)) {
+                return;
+            }
+            count++;
+            if (integral) {
+                long v = number.longValue();
+                longSum += v;
+                longMin = Math.min(longMin, v);
+                longMax = Math.max(longMax, v);
+            } else {
+                double v = number.doubleValue();
+                doubleSum += v;
+                doubleMin = Math.min(doubleMin, v);
+                doubleMax = Math.max(doubleMax, v);
+            }
+        }
+
+        void merge(Accumulator other) {
+            if (other.last != null) {
+                last = other.last;
+            }
+            count += other.count;
+            longSum += other.longSum;
+            doubleSum += other.doubleSum;
+            longMin = Math.min(longMin, other.longMin);
+            longMax = Math.max(longMax, other.longMax);
+            doubleMin = Math.min(doubleMin, other.doubleMin);
+            doubleMax = Math.max(doubleMax, other.doubleMax);
+        }
+
+        Object result(LodAggregation aggregation, ColumnType type) {
+            if (aggregation == LodAggregation.LAST) {
+                return last;
+            }
+            if (count == 0) {
+                return null;
+            }
+            return switch (aggregation) {
+                case SUM -> integral ? typed(longSum, type) : (Object) doubleSum;
+                case MEAN -> integral
+                    ? typed(Math.round((double) longSum / count), type)
+                    : (Object) (doubleSum / count);
+                case MIN -> integral ? typed(longMin, type) : (Object) doubleMin;
+                case MAX -> integral ? typed(longMax, type) : (Object) doubleMax;
+                default -> last;
+            };
+        }
+
+        private static Object typed(long value, ColumnType type) {
+            if (type == ColumnType.INTEGER) {
+                return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+            }
+            return value;
+        }
+    }
+}
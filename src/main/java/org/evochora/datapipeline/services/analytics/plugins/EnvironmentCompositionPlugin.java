@@ -3,9 +3,11 @@ package org.evochora.datapipeline.services.analytics.plugins;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.evochora.datapipeline.api.analytics.AbstractAnalyticsPlugin;
 import org.evochora.datapipeline.api.analytics.ColumnType;
+import org.evochora.datapipeline.api.analytics.LodAggregation;
 import org.evochora.datapipeline.api.analytics.ManifestEntry;
 import org.evochora.datapipeline.api.analytics.ParquetSchema;
 import org.evochora.datapipeline.api.analytics.VisualizationHint;
@@ -68,6 +70,20 @@ public class EnvironmentCompositionPlugin extends AbstractAnalyticsPlugin {
         return SCHEMA;
     }
 
+    /**
+     * Coarse LOD levels show the average cell counts of each bucket.
+     */
+    @Override
+    public Map<String, LodAggregation> getLodAggregations() {
+        Map<String, LodAggregation> aggregations = new HashMap<>();
+        for (ParquetSchema.Column column : SCHEMA.getColumns()) {
+            if (!column.name().equals("tick")) {
+                aggregations.put(column.name(), LodAggregation.MEAN);
+            }
+        }
+        return aggregations;
+    }
+
     /**
      * This plugin requires environment data to count molecule types.
      * <p>
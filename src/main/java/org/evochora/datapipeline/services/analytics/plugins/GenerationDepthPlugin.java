@@ -10,6 +10,7 @@ import java.util.Set;
 import org.evochora.datapipeline.api.analytics.AbstractAnalyticsPlugin;
 import org.evochora.datapipeline.api.analytics.ColumnType;
 import org.evochora.datapipeline.api.analytics.IAnalyticsContext;
+import org.evochora.datapipeline.api.analytics.LodAggregation;
 import org.evochora.datapipeline.api.analytics.ManifestEntry;
 import org.evochora.datapipeline.api.analytics.ParquetSchema;
 import org.evochora.datapipeline.api.analytics.VisualizationHint;
@@ -53,6 +54,16 @@ public class GenerationDepthPlugin extends AbstractAnalyticsPlugin {
         return SCHEMA;
     }
 
+    /**
+     * Coarse LOD levels keep the deepest generation reached within each bucket.
+     */
+    @Override
+    public Map<String, LodAggregation> getLodAggregations() {
+        return Map.of(
+            "max_depth", LodAggregation.MAX,
+            "avg_depth", LodAggregation.MEAN);
+    }
+
     @Override
     public List<Object[]> extractRows(TickData tick) {
         Set<Integer> currentAliveIds = new HashSet<>();
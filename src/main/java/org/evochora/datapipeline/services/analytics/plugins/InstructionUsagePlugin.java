@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 
 import org.evochora.datapipeline.api.analytics.AbstractAnalyticsPlugin;
 import org.evochora.datapipeline.api.analytics.ColumnType;
+import org.evochora.datapipeline.api.analytics.LodAggregation;
 import org.evochora.datapipeline.api.analytics.ManifestEntry;
 import org.evochora.datapipeline.api.analytics.ParquetSchema;
 import org.evochora.datapipeline.api.analytics.VisualizationHint;
@@ -79,6 +80,20 @@ public class InstructionUsagePlugin extends AbstractAnalyticsPlugin {
         return SCHEMA;
     }
 
+    /**
+     * Coarse LOD levels count every executed instruction in the bucket, not only sampled ticks.
+     * Family percentages are unaffected; the failure rate becomes the bucket's average rate.
+     */
+    @Override
+    public Map<String, LodAggregation> getLodAggregations() {
+        Map<String, LodAggregation> aggregations = new HashMap<>();
+        for (String familyName : FAMILY_NAMES) {
+            aggregations.put(familyName, LodAggregation.SUM);
+        }
+        aggregations.put("failure_count", LodAggregation.SUM);
+        return aggregations;
+    }
+
     @Override
     public List<Object[]> extractRows(TickData tick) {
         Map<String, Integer> counts = FAMILY_NAMES.stream().collect(Collectors.toMap(name -> name, name -> 0));
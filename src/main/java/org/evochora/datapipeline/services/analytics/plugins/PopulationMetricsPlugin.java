@@ -3,10 +3,12 @@ package org.evochora.datapipeline.services.analytics.plugins;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.evochora.datapipeline.api.analytics.AbstractAnalyticsPlugin;
 import org.evochora.datapipeline.api.analytics.ColumnType;
 import org.evochora.datapipeline.api.analytics.IAnalyticsContext;
+import org.evochora.datapipeline.api.analytics.LodAggregation;
 import org.evochora.datapipeline.api.analytics.ManifestEntry;
 import org.evochora.datapipeline.api.analytics.ParquetSchema;
 import org.evochora.datapipeline.api.analytics.VisualizationHint;
@@ -61,6 +63,17 @@ public class PopulationMetricsPlugin extends AbstractAnalyticsPlugin {
         return SCHEMA;
     }
 
+    /**
+     * Coarse LOD levels show bucket averages instead of single sampled ticks.
+     */
+    @Override
+    public Map<String, LodAggregation> getLodAggregations() {
+        return Map.of(
+            "alive_count", LodAggregation.MEAN,
+            "avg_energy", LodAggregation.MEAN,
+            "avg_entropy", LodAggregation.MEAN);
+    }
+
     @Override
     public List<Object[]> extractRows(TickData tick) {
         // Count alive organisms and sum energy/entropy
@@ -16,14 +16,22 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.evochora.datapipeline.api.analytics.ColumnType;
 import org.evochora.datapipeline.api.analytics.IAnalyticsContext;
 import org.evochora.datapipeline.api.analytics.IAnalyticsPlugin;
+import org.evochora.datapipeline.api.analytics.LodAggregation;
 import org.evochora.datapipeline.api.analytics.ManifestEntry;
 import org.evochora.datapipeline.api.analytics.ParquetSchema;
 import org.evochora.datapipeline.api.contracts.SimulationMetadata;
@@ -37,7 +45,9 @@ import org.evochora.datapipeline.api.memory.MemoryEstimate;
 import org.evochora.datapipeline.api.memory.SimulationParameters;
 import org.evochora.datapipeline.api.resources.IResource;
 import org.evochora.datapipeline.api.resources.storage.IAnalyticsStorageWrite;
+import org.evochora.datapipeline.services.analytics.LodPyramid;
 import org.evochora.datapipeline.utils.MetadataConfigHelper;
+import org.evochora.datapipeline.utils.monitoring.SlidingWindowPercentiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +77,22 @@ import com.typesafe.config.ConfigObject;
  *       storage, and the DuckDB session is closed and reset for the next window.</li>
  * </ol>
  * <p>
+ * <strong>Parallel Extraction:</strong> With {@code pluginParallelism > 1}, the plugins
+ * sampling a decoded tick run their {@code extractRows()} concurrently on a bounded worker
+ * pool, each into its own row list. Rows are bound to the DuckDB statements on the service
+ * thread afterwards, because all statements share one connection. Each plugin still sees
+ * ticks strictly one at a time and in order (see {@link IAnalyticsPlugin#supportsParallelExtraction()}).
+ * <p>
+ * <strong>Incremental LOD:</strong> Opt-in via {@code incrementalLod = true}. Plugins declaring
+ * {@link IAnalyticsPlugin#getLodAggregations()} are then only extracted at lod0; their coarser levels are derived from lod0 rows by a
+ * {@link LodPyramid} that survives session resets. A derived batch file may therefore start
+ * before the session's first tick (the bucket start of its oldest row). Buckets that are still
+ * open at commit time are published as provisional rows in {@code {metric}/{lod}/open_{service}.parquet},
+ * which is rewritten on every commit. The pyramid lives in memory only: after a restart, a bucket
+ * that was open reappears containing only the ticks processed since the restart. With several
+ * competing indexer instances each instance aggregates the chunks it receives, so a bucket split
+ * across instances is written once per instance, so only enable it with a single indexer per run.
+ * <p>
  * <strong>Error Handling:</strong> Uses bulkhead pattern — plugin failures don't affect
  * other plugins. IOException from storage causes batch retry.
  */
@@ -91,12 +117,30 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
     // Metrics
     private final AtomicLong ticksProcessed = new AtomicLong(0);
     private final AtomicLong rowsWritten = new AtomicLong(0);
+    private final int metricsWindowSeconds;
+
+    /** Per-plugin extraction latency (nanos), keyed by metricId. Immutable after construction. */
+    private final Map<String, SlidingWindowPercentiles> pluginExtractLatency = new LinkedHashMap<>();
+    /** Per-plugin cumulative extraction time (nanos), keyed by metricId. Immutable after construction. */
+    private final Map<String, AtomicLong> pluginExtractNanos = new LinkedHashMap<>();
+
+    /** Number of worker threads for plugin extraction (1 = sequential on the service thread). */
+    private final int pluginParallelism;
+    /** Worker pool for parallel extraction, or null when running sequentially. */
+    private ExecutorService pluginExecutor;
+
+    /** Whether plugins declaring LOD aggregations get derived (instead of sampled) coarse levels. */
+    private final boolean incrementalLod;
+    /** Incremental LOD state per plugin; kept across sessions, rebuilt per run. */
+    private final Map<IAnalyticsPlugin, LodPyramid> lodPyramids = new HashMap<>();
 
     // Streaming session state (lazily initialized on first processChunk, reset on commitProcessedChunks)
     private Connection duckDbConn;
     private List<PluginLodTask> sessionTasks;
     private Map<PluginLodTask, Integer> sessionRowsPerTask;
     private Map<IAnalyticsPlugin, List<PluginLodTask>> sessionTasksByPlugin;
+    /** Oldest row tick per derived task (bucket starts may precede the session). */
+    private Map<PluginLodTask, Long> sessionMinTickPerTask;
     private DeltaCodec.Decoder sessionDecoder;
     private long sessionStartTick = Long.MAX_VALUE;
     private long sessionEndTick = Long.MIN_VALUE;
@@ -104,6 +148,7 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
     /**
      * Internal record for tracking plugin processing tasks.
      * Groups a plugin with its LOD configuration and database statement.
+     * Derived tasks receive their rows from the plugin's {@link LodPyramid} instead of ticks.
      */
     private record PluginLodTask(
         IAnalyticsPlugin plugin,
@@ -112,8 +157,13 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
         int samplingInterval,
         PreparedStatement statement,
         ParquetSchema schema,
-        boolean needsEnvironment
-    ) {}
+        boolean needsEnvironment,
+        boolean derived
+    ) {
+        boolean samples(long tickNumber) {
+            return !derived && tickNumber % samplingInterval == 0;
+        }
+    }
 
     /**
      * Creates a new AnalyticsIndexer.
@@ -145,6 +195,42 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
         
         // Load plugins
         loadPlugins(options);
+
+        this.metricsWindowSeconds = options.hasPath("metricsWindowSeconds")
+            ? options.getInt("metricsWindowSeconds") : 5;
+        for (IAnalyticsPlugin plugin : plugins) {
+            pluginExtractLatency.put(plugin.getMetricId(), new SlidingWindowPercentiles(metricsWindowSeconds));
+            pluginExtractNanos.put(plugin.getMetricId(), new AtomicLong(0));
+        }
+
+        int configuredParallelism = options.hasPath("pluginParallelism")
+            ? options.getInt("pluginParallelism") : 1;
+        if (configuredParallelism < 1) {
+            throw new IllegalArgumentException("pluginParallelism must be >= 1, got: " + configuredParallelism);
+        }
+        // More threads than plugins can never be used, since each plugin processes one tick at a time
+        this.pluginParallelism = Math.max(1, Math.min(configuredParallelism, plugins.size()));
+
+        this.incrementalLod = options.hasPath("incrementalLod") && options.getBoolean("incrementalLod");
+    }
+
+    /**
+     * Creates the bounded worker pool for parallel plugin extraction.
+     * <p>
+     * Worker threads are daemons so that a stuck plugin cannot block JVM shutdown.
+     *
+     * @return the executor, or null if {@code pluginParallelism} is 1
+     */
+    private ExecutorService createPluginExecutor() {
+        if (pluginParallelism <= 1) {
+            return null;
+        }
+        AtomicInteger threadCounter = new AtomicInteger(0);
+        return Executors.newFixedThreadPool(pluginParallelism, r -> {
+            Thread t = new Thread(r, "analytics-plugin-" + serviceName + "-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
     
     /**
@@ -220,12 +306,19 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
         
         // 2. Initialize Plugins
         IAnalyticsContext context = new AnalyticsContextImpl(runId);
+        lodPyramids.clear();
         for (IAnalyticsPlugin plugin : plugins) {
             try {
                 plugin.initialize(context);
                 
                 // Write manifest immediately (idempotent)
                 writePluginMetadata(runId, plugin);
+
+                Map<String, LodAggregation> aggregations = plugin.getLodAggregations();
+                if (incrementalLod && !aggregations.isEmpty() && plugin.getLodLevels() > 1) {
+                    lodPyramids.put(plugin, new LodPyramid(plugin.getSchema(), aggregations,
+                        plugin.getSamplingInterval(), plugin.getLodFactor(), plugin.getLodLevels()));
+                }
                 
             } catch (Exception e) {
                 log.error("Failed to initialize analytics plugin: {}", plugin.getMetricId());
@@ -233,7 +326,12 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
             }
         }
         
-        log.debug("AnalyticsIndexer prepared for run: {}", runId);
+        if (pluginExecutor == null) {
+            pluginExecutor = createPluginExecutor();
+        }
+
+        log.debug("AnalyticsIndexer prepared for run: {} (pluginParallelism={}, incrementalLodPlugins={})",
+            runId, pluginParallelism, lodPyramids.size());
     }
 
     @Override
@@ -252,7 +350,16 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
             }
         }
 
-        // 3. Clean up temp directory
+        // 3. Stop extraction workers (idle at this point: extraction only runs inside processChunk)
+        if (pluginExecutor != null) {
+            pluginExecutor.shutdownNow();
+            if (!pluginExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Analytics plugin workers of '{}' did not terminate within 5 seconds", serviceName);
+            }
+            pluginExecutor = null;
+        }
+
+        // 4. Clean up temp directory
         cleanupTempDirectory();
 
         log.debug("AnalyticsIndexer shutdown cleanup completed");
@@ -306,8 +413,6 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
         }
 
         String runId = getMetadata().getSimulationRunId();
-        String subPath = calculateFolderPath(sessionStartTick);
-        String filename = String.format("batch_%020d_%020d.parquet", sessionStartTick, sessionEndTick);
 
         try {
             for (PluginLodTask task : sessionTasks) {
@@ -318,16 +423,12 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
 
                     task.statement().executeBatch();
 
-                    tempFile = Files.createTempFile(tempDirectory,
-                        task.metricId() + "_" + task.lodLevel() + "_", ".parquet");
-                    String exportPath = tempFile.toAbsolutePath().toString().replace("\\", "/");
-                    String tableName = task.metricId() + "_" + task.lodLevel();
-                    String exportSql = String.format(
-                        "COPY %s TO '%s' (FORMAT PARQUET, CODEC 'ZSTD')", tableName, exportPath);
+                    long startTick = Math.min(sessionStartTick,
+                        sessionMinTickPerTask.getOrDefault(task, Long.MAX_VALUE));
+                    String subPath = calculateFolderPath(startTick);
+                    String filename = String.format("batch_%020d_%020d.parquet", startTick, sessionEndTick);
 
-                    try (Statement stmt = duckDbConn.createStatement()) {
-                        stmt.execute(exportSql);
-                    }
+                    tempFile = exportTable(task.metricId() + "_" + task.lodLevel());
 
                     try (InputStream in = Files.newInputStream(tempFile);
                          OutputStream out = analyticsOutput.openAnalyticsOutputStream(
@@ -337,7 +438,7 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
 
                     log.debug("Plugin {} wrote {} rows for {} batch {}-{} to {}/{}",
                         task.metricId(), totalRows, task.lodLevel(),
-                        sessionStartTick, sessionEndTick, subPath, filename);
+                        startTick, sessionEndTick, subPath, filename);
 
                     rowsWritten.addAndGet(totalRows);
 
@@ -352,11 +453,94 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
                     if (tempFile != null) Files.deleteIfExists(tempFile);
                 }
             }
+
+            // Provisional rows are replaced only after the finalized rows above are visible
+            for (Map.Entry<IAnalyticsPlugin, LodPyramid> entry : lodPyramids.entrySet()) {
+                List<PluginLodTask> tasks = sessionTasksByPlugin.get(entry.getKey());
+                if (tasks != null) {
+                    writeOpenBuckets(runId, tasks, entry.getValue());
+                }
+            }
         } finally {
             resetSession();
         }
     }
 
+    /**
+     * Exports a session table to a ZSTD-compressed Parquet file in the temp directory.
+     *
+     * @param tableName The DuckDB table to export
+     * @return The temporary Parquet file (caller deletes it)
+     */
+    private Path exportTable(String tableName) throws Exception {
+        Path tempFile = Files.createTempFile(tempDirectory, tableName + "_", ".parquet");
+        String exportPath = tempFile.toAbsolutePath().toString().replace("\\", "/");
+        String exportSql = String.format(
+            "COPY %s TO '%s' (FORMAT PARQUET, CODEC 'ZSTD')", tableName, exportPath);
+
+        try (Statement stmt = duckDbConn.createStatement()) {
+            stmt.execute(exportSql);
+        }
+        return tempFile;
+    }
+
+    /**
+     * Publishes the provisional rows of all open buckets of a plugin, one file per derived level.
+     * <p>
+     * The file is {@code {metric}/{lod}/open_{service}.parquet}. It is overwritten atomically on
+     * every commit and deleted once the level has no open bucket.
+     */
+    private void writeOpenBuckets(String runId, List<PluginLodTask> tasks, LodPyramid pyramid) {
+        String filename = "open_" + serviceName + ".parquet";
+        List<List<Object[]>> openRows = pyramid.openRows();
+
+        for (int level = 1; level < tasks.size() && level < openRows.size(); level++) {
+            PluginLodTask task = tasks.get(level);
+            List<Object[]> rows = openRows.get(level);
+            Path tempFile = null;
+            try {
+                if (rows.isEmpty()) {
+                    analyticsOutput.deleteAnalyticsFile(runId,
+                        task.metricId() + "/" + task.lodLevel() + "/" + filename);
+                    continue;
+                }
+
+                String tableName = task.metricId() + "_" + task.lodLevel() + "_open";
+                try (Statement stmt = duckDbConn.createStatement()) {
+                    stmt.execute(task.schema().toCreateTableSql(tableName));
+                }
+                try (PreparedStatement ps = duckDbConn.prepareStatement(task.schema().toInsertSql(tableName))) {
+                    for (Object[] row : rows) {
+                        bindRow(ps, task.schema(), row);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+
+                tempFile = exportTable(tableName);
+                try (InputStream in = Files.newInputStream(tempFile);
+                     OutputStream out = analyticsOutput.openAnalyticsOutputStream(
+                         runId, task.metricId(), task.lodLevel(), filename)) {
+                    in.transferTo(out);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to publish open LOD buckets of plugin {} LOD {}: {}",
+                    task.metricId(), task.lodLevel(), e.getMessage());
+                log.debug("Open bucket export error details:", e);
+                recordError("ANALYTICS_IO_ERROR", "Failed to write provisional LOD data",
+                    String.format("Plugin: %s, LOD: %s", task.metricId(), task.lodLevel()));
+            } finally {
+                if (tempFile != null) {
+                    try {
+                        Files.deleteIfExists(tempFile);
+                    } catch (IOException e) {
+                        log.debug("Failed to delete temp file {}: {}", tempFile, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Initializes a DuckDB in-memory session with tables and PreparedStatements
      * for all plugin/LOD combinations.
@@ -365,6 +549,7 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
         duckDbConn = DriverManager.getConnection("jdbc:duckdb:");
         sessionTasks = new ArrayList<>();
         sessionRowsPerTask = new HashMap<>();
+        sessionMinTickPerTask = new HashMap<>();
 
         boolean anyPluginNeedsEnvironment = plugins.stream()
             .anyMatch(IAnalyticsPlugin::needsEnvironmentData);
@@ -374,6 +559,7 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
             try {
                 int baseSamplingInterval = plugin.getSamplingInterval();
                 boolean needsEnv = plugin.needsEnvironmentData();
+                boolean incremental = lodPyramids.containsKey(plugin);
 
                 for (int level = 0; level < plugin.getLodLevels(); level++) {
                     String lodLevel = "lod" + level;
@@ -389,7 +575,7 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
 
                     PreparedStatement ps = duckDbConn.prepareStatement(schema.toInsertSql(tableName));
                     PluginLodTask task = new PluginLodTask(plugin, plugin.getMetricId(), lodLevel,
-                        effectiveSamplingInterval, ps, schema, needsEnv);
+                        effectiveSamplingInterval, ps, schema, needsEnv, incremental && level > 0);
                     sessionTasks.add(task);
                     sessionRowsPerTask.put(task, 0);
                 }
@@ -422,6 +608,7 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
         sessionTasks = null;
         sessionRowsPerTask = null;
         sessionTasksByPlugin = null;
+        sessionMinTickPerTask = null;
         sessionDecoder = null;
         sessionStartTick = Long.MAX_VALUE;
         sessionEndTick = Long.MIN_VALUE;
@@ -441,12 +628,14 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
      * @param decoder The stateful decoder (null if no plugins need environment)
      * @param tasksByPlugin Plugin tasks grouped by plugin
      * @param rowsWrittenPerTask Counter for rows written per task
+     * @throws ChunkCorruptedException if the chunk cannot be decoded
+     * @throws InterruptedException if interrupted while waiting for parallel extraction
      */
     private void processChunkOptimized(
             TickDataChunk chunk,
             DeltaCodec.Decoder decoder,
             Map<IAnalyticsPlugin, List<PluginLodTask>> tasksByPlugin,
-            Map<PluginLodTask, Integer> rowsWrittenPerTask) throws ChunkCorruptedException {
+            Map<PluginLodTask, Integer> rowsWrittenPerTask) throws ChunkCorruptedException, InterruptedException {
         
         String runId = chunk.getSimulationRunId();
         
@@ -464,7 +653,7 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
             
             for (Map.Entry<IAnalyticsPlugin, List<PluginLodTask>> entry : tasksByPlugin.entrySet()) {
                 for (PluginLodTask task : entry.getValue()) {
-                    if (tickNumber % task.samplingInterval() == 0) {
+                    if (task.samples(tickNumber)) {
                         anyPluginNeedsThisTick = true;
                         if (task.needsEnvironment()) {
                             needsEnvironmentForThisTick = true;
@@ -515,38 +704,70 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
     
     /**
      * Processes a tick for all plugins that need it.
+     * <p>
+     * Runs in three phases: select the plugins whose finest LOD samples this tick, extract
+     * their rows (concurrently if a worker pool is configured, each plugin into its own list),
+     * then bind all rows on the service thread. Binding stays single-threaded because every
+     * PreparedStatement belongs to the same DuckDB connection.
+     *
+     * @throws InterruptedException if interrupted while waiting for worker results
      */
     private void processTickForPlugins(
             TickData tick,
             Map<IAnalyticsPlugin, List<PluginLodTask>> tasksByPlugin,
-            Map<PluginLodTask, Integer> rowsWrittenPerTask) {
+            Map<PluginLodTask, Integer> rowsWrittenPerTask) throws InterruptedException {
         
         long tickNumber = tick.getTickNumber();
-        
+
+        // Phase 1: Select plugins with at least one LOD level matching this tick
+        List<IAnalyticsPlugin> activePlugins = new ArrayList<>(tasksByPlugin.size());
         for (Map.Entry<IAnalyticsPlugin, List<PluginLodTask>> entry : tasksByPlugin.entrySet()) {
-            IAnalyticsPlugin plugin = entry.getKey();
-            List<PluginLodTask> pluginTasks = entry.getValue();
-            
-            // Find the finest-grained LOD that matches this tick
-            PluginLodTask finestMatchingTask = null;
-            for (PluginLodTask task : pluginTasks) {
-                if (tickNumber % task.samplingInterval() == 0) {
-                    if (finestMatchingTask == null || 
-                        task.samplingInterval() < finestMatchingTask.samplingInterval()) {
-                        finestMatchingTask = task;
-                    }
+            for (PluginLodTask task : entry.getValue()) {
+                if (task.samples(tickNumber)) {
+                    activePlugins.add(entry.getKey());
+                    break;
                 }
             }
-            
-            if (finestMatchingTask == null) continue;
-            
-            // Extract rows ONCE from the plugin
+        }
+        if (activePlugins.isEmpty()) {
+            return;
+        }
+
+        // Phase 2: Extract rows ONCE per plugin (parallel-safe plugins go to the pool)
+        int count = activePlugins.size();
+        List<Future<List<Object[]>>> futures = new ArrayList<>(count);
+        for (IAnalyticsPlugin plugin : activePlugins) {
+            boolean offload = pluginExecutor != null && count > 1 && plugin.supportsParallelExtraction();
+            futures.add(offload ? pluginExecutor.submit(() -> extractRowsTimed(plugin, tick)) : null);
+        }
+
+        List<List<Object[]>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            IAnalyticsPlugin plugin = activePlugins.get(i);
             try {
-                List<Object[]> rows = plugin.extractRows(tick);
-                
-                // Distribute the same rows to ALL matching LOD levels
-                for (PluginLodTask task : pluginTasks) {
-                    if (tickNumber % task.samplingInterval() == 0) {
+                Future<List<Object[]>> future = futures.get(i);
+                results.add(future != null ? future.get() : extractRowsTimed(plugin, tick));
+            } catch (InterruptedException e) {
+                futures.forEach(f -> { if (f != null) f.cancel(true); });
+                throw e;
+            } catch (ExecutionException | RuntimeException e) {
+                log.warn("Plugin {} failed to extract rows for tick {}. Skipping row.",
+                    plugin.getMetricId(), tickNumber);
+                recordError("PLUGIN_EXTRACT_ERROR", "Plugin failed during row extraction",
+                    String.format("Plugin: %s, Tick: %d", plugin.getMetricId(), tickNumber));
+                results.add(null);
+            }
+        }
+
+        // Phase 3: Distribute the same rows to ALL matching LOD levels (service thread)
+        for (int i = 0; i < count; i++) {
+            List<Object[]> rows = results.get(i);
+            if (rows == null) continue;
+            IAnalyticsPlugin plugin = activePlugins.get(i);
+            try {
+                List<PluginLodTask> tasks = tasksByPlugin.get(plugin);
+                for (PluginLodTask task : tasks) {
+                    if (task.samples(tickNumber)) {
                         for (Object[] row : rows) {
                             bindRow(task.statement(), task.schema(), row);
                             task.statement().addBatch();
@@ -554,6 +775,19 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
                         }
                     }
                 }
+
+                // Derived levels: feed lod0 rows into the pyramid, bind every completed bucket
+                LodPyramid pyramid = lodPyramids.get(plugin);
+                if (pyramid != null && tasks.get(0).samples(tickNumber)) {
+                    pyramid.add(tickNumber, rows, (level, bucketStart, row) -> {
+                        if (level >= tasks.size()) return; // level failed to initialize
+                        PluginLodTask task = tasks.get(level);
+                        bindRow(task.statement(), task.schema(), row);
+                        task.statement().addBatch();
+                        rowsWrittenPerTask.compute(task, (k, v) -> v + 1);
+                        sessionMinTickPerTask.merge(task, bucketStart, Math::min);
+                    });
+                }
             } catch (Exception e) {
                 log.warn("Plugin {} failed to extract rows for tick {}. Skipping row.", 
                     plugin.getMetricId(), tickNumber);
@@ -562,6 +796,22 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
             }
         }
     }
+
+    /**
+     * Calls {@link IAnalyticsPlugin#extractRows(TickData)} and records its duration.
+     * <p>
+     * May run on a worker thread; the latency trackers are thread-safe.
+     */
+    private List<Object[]> extractRowsTimed(IAnalyticsPlugin plugin, TickData tick) {
+        long start = System.nanoTime();
+        try {
+            return plugin.extractRows(tick);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            pluginExtractLatency.get(plugin.getMetricId()).record(elapsed);
+            pluginExtractNanos.get(plugin.getMetricId()).addAndGet(elapsed);
+        }
+    }
     
     /**
      * Calculates the hierarchical folder path based on tick number.
@@ -720,6 +970,28 @@ public class AnalyticsIndexer<ACK> extends AbstractBatchIndexer<ACK> implements
         }
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Adds per-plugin extraction timing so the plugin limiting analytics throughput can be
+     * identified: {@code plugin_<metricId>_extract_avg_ms}/{@code _p95_ms} over the sliding
+     * window and {@code plugin_<metricId>_extract_total_ms} since start.
+     */
+    @Override
+    protected void addCustomMetrics(Map<String, Number> metrics) {
+        super.addCustomMetrics(metrics);
+
+        metrics.put("rows_written", rowsWritten.get());
+        metrics.put("plugin_parallelism", pluginParallelism);
+
+        for (Map.Entry<String, SlidingWindowPercentiles> entry : pluginExtractLatency.entrySet()) {
+            String prefix = "plugin_" + entry.getKey() + "_extract_";
+            metrics.put(prefix + "avg_ms", entry.getValue().getAverage() / 1_000_000.0);
+            metrics.put(prefix + "p95_ms", entry.getValue().getPercentile(95) / 1_000_000.0);
+            metrics.put(prefix + "total_ms", pluginExtractNanos.get(entry.getKey()).get() / 1_000_000L);
+        }
+    }
+
     // ==================== IMemoryEstimatable ====================
     
     @Override
@@ -0,0 +1,196 @@
+package org.evochora.datapipeline.services.indexers;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evochora.datapipeline.api.contracts.SimulationMetadata;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.memory.IMemoryEstimatable;
+import org.evochora.datapipeline.api.memory.MemoryEstimate;
+import org.evochora.datapipeline.api.memory.SimulationParameters;
+import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.database.IResourceSchemaAwareEnvironmentTileWriter;
+import org.evochora.datapipeline.api.resources.storage.ChunkFieldFilter;
+import org.evochora.datapipeline.utils.EnvironmentTilePyramid;
+import org.evochora.datapipeline.utils.MetadataConfigHelper;
+import org.evochora.datapipeline.utils.delta.DeltaCodec;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+
+/**
+ * Streaming indexer that precomputes the multi-resolution environment tile pyramid.
+ * <p>
+ * For each chunk, the snapshot tick (and optionally every sampled tick) is aggregated into
+ * tiles from zoom level {@code minLevel} up to the level at which the whole environment fits
+ * into one tile (see {@link EnvironmentTilePyramid}). Zoomed-out visualizer views then fetch a
+ * few small tiles instead of decoding and transferring full environment chunks.
+ * <p>
+ * <strong>Streaming Session Lifecycle:</strong>
+ * <ol>
+ *   <li>{@link #processChunk} — builds the tiles and calls {@code writeTiles} (MERGE batch, no commit)</li>
+ *   <li>{@link #commitProcessedChunks} — delegates to {@code commitTiles}</li>
+ * </ol>
+ * <p>
+ * <strong>Wire-level filtering:</strong> {@link ChunkFieldFilter#SKIP_ORGANISMS} skips organism
+ * states, which tiles do not use.
+ *
+ * @param <ACK> Topic acknowledgment token type
+ */
+public class EnvironmentTileIndexer<ACK> extends AbstractBatchIndexer<ACK> implements IMemoryEstimatable {
+
+    private static final Logger log = LoggerFactory.getLogger(EnvironmentTileIndexer.class);
+
+    private final IResourceSchemaAwareEnvironmentTileWriter database;
+    private final int minLevel;
+    private final int tileSize;
+    private final boolean allSampledTicks;
+
+    private EnvironmentProperties envProps;
+    private DeltaCodec.Decoder decoder;
+
+    /**
+     * Creates a new EnvironmentTileIndexer.
+     *
+     * @param name      Service name
+     * @param options   Indexer configuration
+     * @param resources Bound resources (storage, topic, metadata, database, etc.)
+     */
+    public EnvironmentTileIndexer(String name, Config options, Map<String, List<IResource>> resources) {
+        super(name, options, resources);
+        this.database = getRequiredResource("database", IResourceSchemaAwareEnvironmentTileWriter.class);
+        this.minLevel = options.hasPath("minLevel") ? options.getInt("minLevel") : 2;
+        this.tileSize = options.hasPath("tileSize") ? options.getInt("tileSize") : EnvironmentTilePyramid.DEFAULT_TILE_SIZE;
+        this.allSampledTicks = options.hasPath("allSampledTicks") && options.getBoolean("allSampledTicks");
+
+        if (minLevel < 0) {
+            throw new IllegalArgumentException("minLevel must be non-negative, got " + minLevel);
+        }
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("tileSize must be positive, got " + tileSize);
+        }
+    }
+
+    @Override
+    protected Set<ComponentType> getRequiredComponents() {
+        return EnumSet.of(ComponentType.METADATA);
+    }
+
+    @Override
+    protected Set<ComponentType> getOptionalComponents() {
+        return EnumSet.of(ComponentType.DLQ);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Skips organism states at the wire level; tiles only aggregate cells.
+     */
+    @Override
+    protected ChunkFieldFilter getChunkFieldFilter() {
+        return ChunkFieldFilter.SKIP_ORGANISMS;
+    }
+
+    /**
+     * Reads the environment shape from metadata and prepares the environment_tiles table.
+     *
+     * @param runId Simulation run ID (schema already set by AbstractIndexer)
+     * @throws Exception if preparation fails
+     */
+    @Override
+    protected void prepareTables(String runId) throws Exception {
+        SimulationMetadata metadata = getMetadata();
+        this.envProps = new EnvironmentProperties(
+            MetadataConfigHelper.getEnvironmentShape(metadata),
+            MetadataConfigHelper.isEnvironmentToroidal(metadata));
+        this.decoder = allSampledTicks ? new DeltaCodec.Decoder(envProps) : null;
+
+        database.createEnvironmentTileTable();
+        log.debug("Environment tile table prepared for run '{}': levels {}..{}, tileSize={}",
+            runId, minLevel, Math.max(minLevel, EnvironmentTilePyramid.topLevel(envProps, tileSize)), tileSize);
+    }
+
+    /**
+     * Builds and writes the tiles of the chunk's snapshot, or of every sampled tick when
+     * {@code allSampledTicks} is enabled. No commit happens here.
+     *
+     * @param chunk The filtered chunk (organisms already stripped by SKIP_ORGANISMS)
+     * @throws Exception if decoding or writing fails
+     */
+    @Override
+    protected void processChunk(TickDataChunk chunk) throws Exception {
+        if (!allSampledTicks) {
+            TickData snapshot = chunk.getSnapshot();
+            database.writeTiles(EnvironmentTilePyramid.build(
+                snapshot.getTickNumber(), snapshot.getCellColumns(), envProps, minLevel, tileSize));
+            return;
+        }
+
+        for (TickData tick : decoder.decompressChunk(chunk)) {
+            database.writeTiles(EnvironmentTilePyramid.build(
+                tick.getTickNumber(), tick.getCellColumns(), envProps, minLevel, tileSize));
+        }
+    }
+
+    /**
+     * Commits all tiles written since the last commit.
+     *
+     * @throws Exception if commit fails
+     */
+    @Override
+    protected void commitProcessedChunks() throws Exception {
+        database.commitTiles();
+    }
+
+    @Override
+    protected void logStarted() {
+        log.info("EnvironmentTileIndexer started: minLevel={}, tileSize={}, allSampledTicks={}, topicPollTimeout={}ms",
+                minLevel, tileSize, allSampledTicks,
+                indexerOptions.hasPath("topicPollTimeoutMs") ? indexerOptions.getInt("topicPollTimeoutMs") : 5000);
+    }
+
+    // ==================== IMemoryEstimatable ====================
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Peak heap consists of the aggregation arrays of the finest level (44 bytes per pixel), the
+     * JDBC batch of serialized tiles between commits, and one parsed chunk (cells only). With
+     * {@code allSampledTicks}, the decoder's full cell state and the decompressed ticks of one
+     * chunk are added.
+     */
+    @Override
+    public List<MemoryEstimate> estimateWorstCaseMemory(SimulationParameters params) {
+        int[] shape = params.environmentShape();
+        long width = shape[0];
+        long height = shape.length > 1 ? shape[1] : 1;
+        long finestPixels = ((width + (1L << minLevel) - 1) >> minLevel) * ((height + (1L << minLevel) - 1) >> minLevel);
+        long aggregationBytes = finestPixels * 44;
+
+        // All levels together hold at most 4/3 of the finest level's pixels, ~6 bytes each serialized
+        long tileBytesPerTick = finestPixels * 4 / 3 * 6;
+        int ticksPerChunk = allSampledTicks ? params.samplesPerChunk() : 1;
+        long batchBytes = (long) getInsertBatchSize() * ticksPerChunk * tileBytesPerTick;
+
+        long chunkBytes = params.estimateBytesPerChunk();
+        if (allSampledTicks) {
+            chunkBytes += params.totalCells() * 8 + (long) params.samplesPerChunk() * params.estimateEnvironmentBytesPerTick();
+        }
+
+        String explanation = String.format(
+            "%d finest-level pixels × 44 bytes (aggregation) + %d insertBatchSize × %d ticks × %s tiles (JDBC batch) + %s chunk transient",
+            finestPixels,
+            getInsertBatchSize(),
+            ticksPerChunk,
+            SimulationParameters.formatBytes(tileBytesPerTick),
+            SimulationParameters.formatBytes(chunkBytes));
+
+        return List.of(new MemoryEstimate(serviceName, aggregationBytes + batchBytes + chunkBytes,
+            explanation, MemoryEstimate.Category.SERVICE_BATCH));
+    }
+}
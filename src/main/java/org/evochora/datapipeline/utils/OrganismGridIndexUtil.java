@@ -0,0 +1,198 @@
+package org.evochora.datapipeline.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evochora.datapipeline.api.contracts.OrganismGridIndex;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.datapipeline.api.resources.database.dto.OrganismTickSummary;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Builds and queries the per-tick {@link OrganismGridIndex}.
+ * <p>
+ * The environment is divided into buckets of {@code bucketSize} cells per dimension. Each
+ * organism is listed in every bucket that contains its IP or one of its data pointers, so a
+ * region query only needs the organisms of the buckets overlapping the region. Bucket matches
+ * are candidates; {@link #touchesRegion} gives the exact answer.
+ * <p>
+ * <strong>Thread Safety:</strong> Stateless and thread-safe.
+ */
+public final class OrganismGridIndexUtil {
+
+    private OrganismGridIndexUtil() {
+        // Utility class
+    }
+
+    /**
+     * Builds the grid index of one tick's organisms.
+     *
+     * @param organisms  The organisms of the tick.
+     * @param bucketSize Bucket edge length in cells.
+     * @return The index (empty if there are no organisms).
+     * @throws IllegalArgumentException if {@code bucketSize} is not positive
+     */
+    public static OrganismGridIndex build(final List<OrganismState> organisms, final int bucketSize) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("bucketSize must be positive, got " + bucketSize);
+        }
+
+        int dimensions = 0;
+        final Map<BucketKey, IntArrayList> buckets = new LinkedHashMap<>();
+        for (final OrganismState organism : organisms) {
+            dimensions = Math.max(dimensions, organism.getIp().getComponentsCount());
+            addToBucket(buckets, organism.getIp(), bucketSize, organism.getOrganismId());
+            for (final Vector dataPointer : organism.getDataPointersList()) {
+                addToBucket(buckets, dataPointer, bucketSize, organism.getOrganismId());
+            }
+        }
+
+        final OrganismGridIndex.Builder index = OrganismGridIndex.newBuilder()
+            .setBucketSize(bucketSize)
+            .setDimensions(dimensions);
+        for (final Map.Entry<BucketKey, IntArrayList> bucket : buckets.entrySet()) {
+            if (bucket.getKey().coords().length != dimensions) {
+                continue; // Vectors of inconsistent length cannot be queried
+            }
+            for (final int coord : bucket.getKey().coords()) {
+                index.addBucketCoordinates(coord);
+            }
+            index.addBucketStarts(index.getOrganismIdsCount());
+            for (int i = 0; i < bucket.getValue().size(); i++) {
+                index.addOrganismIds(bucket.getValue().getInt(i));
+            }
+        }
+        return index.build();
+    }
+
+    /**
+     * Returns the IDs of all organisms listed in buckets that overlap the region.
+     *
+     * @param index  The grid index of the tick.
+     * @param region The queried region.
+     * @return Candidate organism IDs (a superset of the organisms touching the region).
+     */
+    public static IntSet candidateIds(final OrganismGridIndex index, final SpatialRegion region) {
+        final int dimensions = index.getDimensions();
+        final int compared = Math.min(dimensions, region.getDimensions());
+        final int bucketSize = index.getBucketSize();
+        final int bucketCount = index.getBucketStartsCount();
+
+        final IntSet candidates = new IntOpenHashSet();
+        for (int b = 0; b < bucketCount; b++) {
+            boolean overlaps = true;
+            for (int d = 0; d < compared && overlaps; d++) {
+                final long bucketMin = (long) index.getBucketCoordinates(b * dimensions + d) * bucketSize;
+                final long bucketMax = bucketMin + bucketSize - 1;
+                overlaps = bucketMax >= region.bounds[d * 2] && bucketMin <= region.bounds[d * 2 + 1];
+            }
+            if (overlaps) {
+                final int end = b + 1 < bucketCount ? index.getBucketStarts(b + 1) : index.getOrganismIdsCount();
+                for (int i = index.getBucketStarts(b); i < end; i++) {
+                    candidates.add(index.getOrganismIds(i));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks whether the organism's IP or one of its data pointers lies in the region.
+     *
+     * @param organism The organism state.
+     * @param region   The region.
+     * @return true if the organism is visible in the region.
+     */
+    public static boolean touchesRegion(final OrganismState organism, final SpatialRegion region) {
+        if (region.contains(toArray(organism.getIp()))) {
+            return true;
+        }
+        for (final Vector dataPointer : organism.getDataPointersList()) {
+            if (region.contains(toArray(dataPointer))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the organism's IP or one of its data pointers lies in the region.
+     *
+     * @param organism The organism summary.
+     * @param region   The region.
+     * @return true if the organism is visible in the region.
+     */
+    public static boolean touchesRegion(final OrganismTickSummary organism, final SpatialRegion region) {
+        if (region.contains(organism.ip)) {
+            return true;
+        }
+        for (final int[] dataPointer : organism.dataPointers) {
+            if (region.contains(dataPointer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the organisms whose IP or a data pointer lies in the region.
+     *
+     * @param organisms The organisms to filter.
+     * @param region    The region.
+     * @return A new list with the matching organisms, in input order.
+     */
+    public static List<OrganismTickSummary> filterByRegion(final List<OrganismTickSummary> organisms,
+                                                           final SpatialRegion region) {
+        final List<OrganismTickSummary> result = new ArrayList<>();
+        for (final OrganismTickSummary organism : organisms) {
+            if (touchesRegion(organism, region)) {
+                result.add(organism);
+            }
+        }
+        return result;
+    }
+
+    private static void addToBucket(final Map<BucketKey, IntArrayList> buckets, final Vector position,
+                                    final int bucketSize, final int organismId) {
+        final int[] coords = new int[position.getComponentsCount()];
+        for (int d = 0; d < coords.length; d++) {
+            coords[d] = Math.floorDiv(position.getComponents(d), bucketSize);
+        }
+        final IntArrayList ids = buckets.computeIfAbsent(new BucketKey(coords), k -> new IntArrayList());
+        // IP and data pointers of one organism often share a bucket
+        if (ids.isEmpty() || ids.getInt(ids.size() - 1) != organismId) {
+            ids.add(organismId);
+        }
+    }
+
+    private static int[] toArray(final Vector vector) {
+        final int[] result = new int[vector.getComponentsCount()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = vector.getComponents(i);
+        }
+        return result;
+    }
+
+    /**
+     * Bucket coordinates with value semantics for use as a map key.
+     */
+    private record BucketKey(int[] coords) {
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof BucketKey other && Arrays.equals(coords, other.coords);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(coords);
+        }
+    }
+}
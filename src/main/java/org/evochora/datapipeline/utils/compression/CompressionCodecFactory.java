@@ -108,13 +108,35 @@ public class CompressionCodecFactory {
         return switch (codecName) {
             case "zstd" -> new ZstdCodec(compressionConfig);
             case "none" -> new NoneCodec();
-            default -> throw new IllegalArgumentException(
-                "Unknown compression codec: '" + codecName + "'. " +
-                "Supported codecs: 'zstd', 'none'"
-            );
+            default -> throw unknownCodec(codecName);
         };
     }
 
+    /**
+     * Creates a codec for reading data that was compressed by the codec with the given name.
+     * <p>
+     * Used where the codec travels with the data (e.g. compressed queue payloads) instead of
+     * being configured. The compression level is irrelevant for decompression.
+     *
+     * @param codecName the codec name as returned by {@link ICompressionCodec#getName()}
+     * @return a codec instance with default settings
+     * @throws IllegalArgumentException if the codec name is unknown
+     */
+    public static ICompressionCodec fromName(String codecName) {
+        return switch (codecName.toLowerCase()) {
+            case "zstd" -> new ZstdCodec();
+            case "none" -> new NoneCodec();
+            default -> throw unknownCodec(codecName);
+        };
+    }
+
+    private static IllegalArgumentException unknownCodec(String codecName) {
+        return new IllegalArgumentException(
+            "Unknown compression codec: '" + codecName + "'. " +
+            "Supported codecs: 'zstd', 'none'"
+        );
+    }
+
     /**
      * Convenience method to create codec and validate environment in one step.
      * <p>
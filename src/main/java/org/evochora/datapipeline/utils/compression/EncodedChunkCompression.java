@@ -0,0 +1,97 @@
+package org.evochora.datapipeline.utils.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+/**
+ * Compresses and decompresses {@link EncodedChunk} payloads at the producer side.
+ * <p>
+ * A compressed chunk holds one self-contained codec frame whose content is the chunk record as
+ * it appears in a batch file: a varint length followed by the TickDataChunk bytes. Because
+ * decoders of frame-based codecs (zstd) read concatenated frames as one stream, storage can
+ * append such frames to a batch file of the same codec without decompressing them.
+ * <p>
+ * <strong>Thread Safety:</strong> Stateless and thread-safe.
+ */
+public final class EncodedChunkCompression {
+
+    private EncodedChunkCompression() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Compresses a chunk into a single frame of the given codec.
+     *
+     * @param chunk the uncompressed chunk
+     * @param codec the codec to use
+     * @return the compressed chunk, or {@code chunk} itself if the codec is {@code none}
+     * @throws IOException if compression fails
+     * @throws IllegalArgumentException if the chunk is already compressed
+     */
+    public static EncodedChunk compress(EncodedChunk chunk, ICompressionCodec codec) throws IOException {
+        if (chunk.isCompressed()) {
+            throw new IllegalArgumentException("Chunk " + chunk.firstTick() + "-" + chunk.lastTick()
+                + " is already compressed with '" + chunk.compression() + "'");
+        }
+        if (EncodedChunk.UNCOMPRESSED.equals(codec.getName())) {
+            return chunk;
+        }
+        byte[] data = chunk.data();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, data.length / 8));
+        try (OutputStream compressed = codec.wrapOutputStream(bos)) {
+            CodedOutputStream coded = CodedOutputStream.newInstance(compressed);
+            coded.writeUInt32NoTag(data.length);
+            coded.writeRawBytes(data);
+            coded.flush();
+        }
+        return new EncodedChunk(chunk.simulationRunId(), chunk.firstTick(), chunk.lastTick(),
+            chunk.tickCount(), bos.toByteArray(), codec.getName());
+    }
+
+    /**
+     * Restores the plain protobuf bytes of a compressed chunk.
+     *
+     * @param chunk the chunk (compressed or not)
+     * @return the uncompressed chunk, or {@code chunk} itself if it is not compressed
+     * @throws IOException if the frame is corrupt or the codec is unknown
+     */
+    public static EncodedChunk decompress(EncodedChunk chunk) throws IOException {
+        if (!chunk.isCompressed()) {
+            return chunk;
+        }
+        byte[] data = decompress(chunk.data(), chunk.compression());
+        return new EncodedChunk(chunk.simulationRunId(), chunk.firstTick(), chunk.lastTick(),
+            chunk.tickCount(), data);
+    }
+
+    /**
+     * Restores the plain protobuf bytes from a compressed frame.
+     *
+     * @param frame       the compressed frame (length-delimited record inside)
+     * @param compression the codec name the frame was compressed with
+     * @return the TickDataChunk protobuf bytes
+     * @throws IOException if the frame is corrupt or the codec is unknown
+     */
+    public static byte[] decompress(byte[] frame, String compression) throws IOException {
+        ICompressionCodec codec;
+        try {
+            codec = CompressionCodecFactory.fromName(compression);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Cannot decompress chunk: " + e.getMessage(), e);
+        }
+        try (InputStream in = codec.wrapInputStream(new ByteArrayInputStream(frame))) {
+            CodedInputStream cis = CodedInputStream.newInstance(in);
+            cis.setSizeLimit(Integer.MAX_VALUE);
+            int length = cis.readUInt32();
+            return cis.readRawBytes(length);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.evochora.datapipeline.api.delta.ChunkCorruptedException;
 import org.evochora.runtime.model.Environment;
 import org.evochora.runtime.model.EnvironmentProperties;
 
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 
 import java.util.ArrayList;
@@ -104,6 +105,7 @@ public final class DeltaCodec {
         private final List<DeltaCapture> currentDeltas = new ArrayList<>();
         private final BitSet accumulatedSinceSnapshot;
         private int samplesSinceSnapshot = 0;
+        private int skippedSamples = 0;
 
         // Reusable builder to avoid repeated allocations
         private final CellDataColumns.Builder cellColumnsBuilder = CellDataColumns.newBuilder();
@@ -261,6 +263,53 @@ public final class DeltaCodec {
             return Optional.empty();
         }
         
+        /**
+         * Returns whether the next sample would be stored as an incremental delta.
+         * <p>
+         * Only incremental samples may be dropped via {@link #skipTick(long)}: the snapshot and the
+         * accumulated deltas keep chunk boundaries and random access intact.
+         *
+         * @return true if the next sample is neither a snapshot nor an accumulated delta
+         */
+        public boolean isNextSampleIncremental() {
+            return samplesSinceSnapshot != 0 && samplesSinceSnapshot % accumulatedDeltaInterval != 0;
+        }
+
+        /**
+         * Returns the position of the next sample within the current chunk (0 = snapshot).
+         *
+         * @return the next sample index
+         */
+        public int getNextSampleIndex() {
+            return samplesSinceSnapshot;
+        }
+
+        /**
+         * Counts a sampled tick without storing it.
+         * <p>
+         * Change tracking of the environment is <em>not</em> reset, so the next stored incremental
+         * delta contains all changes since the last stored sample. The chunk still completes after
+         * {@link #getSamplesPerChunk()} samples, so chunk boundaries do not depend on how many
+         * samples were skipped. The number of skipped samples is recorded in
+         * {@code TickDataChunk.skipped_samples}.
+         *
+         * @param tick tick number of the skipped sample (for diagnostics only)
+         * @return Optional containing the chunk if the skipped sample was its last one
+         * @throws IllegalStateException if the next sample is not incremental
+         */
+        public Optional<TickDataChunk> skipTick(long tick) {
+            if (!isNextSampleIncremental()) {
+                throw new IllegalStateException("Sample " + samplesSinceSnapshot + " at tick " + tick
+                        + " is a snapshot or accumulated delta and must not be skipped");
+            }
+            samplesSinceSnapshot++;
+            skippedSamples++;
+            if (samplesSinceSnapshot >= samplesPerChunk) {
+                return Optional.of(buildAndResetChunk());
+            }
+            return Optional.empty();
+        }
+
         /**
          * Flushes any partial chunk on shutdown.
          * <p>
@@ -276,6 +325,20 @@ public final class DeltaCodec {
             return Optional.of(buildAndResetChunk());
         }
         
+        /**
+         * Drops the chunk being built without emitting it. The next sample starts a new chunk
+         * with a snapshot.
+         * <p>
+         * Used when the buffered samples must not be stored, e.g. a resume checkpoint that primes
+         * the encoder but is already persisted.
+         */
+        public void discardPartialChunk() {
+            currentSnapshot = null;
+            currentDeltas.clear();
+            samplesSinceSnapshot = 0;
+            skippedSamples = 0;
+        }
+
         /**
          * Returns the number of samples per chunk.
          *
@@ -299,12 +362,13 @@ public final class DeltaCodec {
         // ========================================================================
         
         private TickDataChunk buildAndResetChunk() {
-            TickDataChunk chunk = createChunk(runId, currentSnapshot, currentDeltas);
+            TickDataChunk chunk = createChunk(runId, currentSnapshot, currentDeltas, skippedSamples);
             
             // Reset state for next chunk
             currentSnapshot = null;
             currentDeltas.clear();
             samplesSinceSnapshot = 0;
+            skippedSamples = 0;
             // Note: accumulatedSinceSnapshot is cleared when new snapshot is taken
             
             return chunk;
@@ -721,6 +785,87 @@ public final class DeltaCodec {
                 .build();
     }
     
+    /**
+     * Returns whether the chunk stores the given tick (as snapshot or delta).
+     * <p>
+     * Chunks written under backpressure ({@code skipped_samples > 0}) have gaps, so a tick inside
+     * {@code [first_tick, last_tick]} that is a multiple of the sampling interval may be absent.
+     *
+     * @param chunk the chunk to check
+     * @param tickNumber the tick to look for
+     * @return true if the tick can be decompressed from this chunk
+     */
+    public static boolean containsTick(TickDataChunk chunk, long tickNumber) {
+        if (chunk.getSnapshot().getTickNumber() == tickNumber) {
+            return true;
+        }
+        if (tickNumber < chunk.getFirstTick() || tickNumber > chunk.getLastTick()) {
+            return false;
+        }
+        for (TickDelta delta : chunk.getDeltasList()) {
+            if (delta.getTickNumber() == tickNumber) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the cells that changed between two ticks of the same chunk, with their content at
+     * {@code toTick}.
+     * <p>
+     * Works on the chunk's {@code changed_cells} only, without reconstructing either tick's full
+     * state. Deltas are walked backwards from {@code toTick}, so each cell's newest content wins.
+     * An accumulated delta already holds all changes since the snapshot, so the walk stops there;
+     * its cells that were last changed before {@code fromTick} are then included even though
+     * they did not change, which is harmless for a client applying the result.
+     * <p>
+     * Cells that became empty are returned with molecule data and owner ID 0, as in deltas.
+     *
+     * @param chunk the chunk containing both ticks
+     * @param fromTick the earlier tick (exclusive; snapshot or delta tick of the chunk)
+     * @param toTick the later tick (inclusive; a delta tick of the chunk)
+     * @return the changed cells, each cell once, in no particular order
+     * @throws IllegalArgumentException if {@code fromTick >= toTick} or either tick is not stored in the chunk
+     */
+    public static CellDataColumns changedCellsBetween(TickDataChunk chunk, long fromTick, long toTick) {
+        if (fromTick >= toTick) {
+            throw new IllegalArgumentException("fromTick must be before toTick: " + fromTick + " >= " + toTick);
+        }
+        if (!containsTick(chunk, fromTick) || !containsTick(chunk, toTick)) {
+            throw new IllegalArgumentException(
+                "Ticks " + fromTick + " and " + toTick + " must both be stored in chunk ["
+                    + chunk.getFirstTick() + "-" + chunk.getLastTick() + "]");
+        }
+
+        int toIndex = chunk.getDeltasCount() - 1;
+        while (chunk.getDeltas(toIndex).getTickNumber() != toTick) {
+            toIndex--;
+        }
+
+        // Newest content is seen first; older changes of the same cell are skipped
+        IntOpenHashSet seen = new IntOpenHashSet();
+        CellDataColumns.Builder result = CellDataColumns.newBuilder();
+        for (int i = toIndex; i >= 0 && chunk.getDeltas(i).getTickNumber() > fromTick; i--) {
+            TickDelta delta = chunk.getDeltas(i);
+            CellDataColumns changed = delta.getChangedCells();
+            boolean hasOwners = changed.getOwnerIdsCount() == changed.getFlatIndicesCount();
+            for (int c = 0; c < changed.getFlatIndicesCount(); c++) {
+                int flatIndex = changed.getFlatIndices(c);
+                if (seen.add(flatIndex)) {
+                    result.addFlatIndices(flatIndex)
+                        .addMoleculeData(changed.getMoleculeData(c))
+                        .addOwnerIds(hasOwners ? changed.getOwnerIds(c) : 0);
+                }
+            }
+            if (delta.getDeltaType() == DeltaType.ACCUMULATED) {
+                break;
+            }
+        }
+
+        return result.build();
+    }
+    
     /**
      * Creates a TickDataChunk from a snapshot and list of deltas.
      *
@@ -733,6 +878,23 @@ public final class DeltaCodec {
             String simulationRunId,
             TickData snapshot,
             List<DeltaCapture> deltas) {
+        return createChunk(simulationRunId, snapshot, deltas, 0);
+    }
+    
+    /**
+     * Creates a TickDataChunk from a snapshot and list of deltas, recording dropped samples.
+     *
+     * @param simulationRunId the simulation run identifier
+     * @param snapshot the full TickData snapshot
+     * @param deltas list of DeltaCapture objects for subsequent ticks
+     * @param skippedSamples number of sampled ticks in the chunk that were not stored
+     * @return the constructed TickDataChunk protobuf message
+     */
+    static TickDataChunk createChunk(
+            String simulationRunId,
+            TickData snapshot,
+            List<DeltaCapture> deltas,
+            int skippedSamples) {
         
         if (snapshot == null) {
             throw new IllegalArgumentException("snapshot must not be null");
@@ -750,6 +912,7 @@ public final class DeltaCodec {
                 .setFirstTick(firstTick)
                 .setLastTick(lastTick)
                 .setTickCount(tickCount)
+                .setSkippedSamples(skippedSamples)
                 .setSnapshot(snapshot);
         
         for (DeltaCapture capture : deltas) {
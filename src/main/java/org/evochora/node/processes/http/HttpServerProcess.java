@@ -45,6 +45,8 @@ public class HttpServerProcess extends AbstractProcess {
     private final ServiceRegistry controllerRegistry;
     // OpenAPI-specific: Map of controller class names to their base paths (for documentation only)
     private final Map<String, String> controllerBasePaths = new HashMap<>();
+    // Controllers holding resources (connections, threads), closed when the server stops
+    private final List<AutoCloseable> closeableControllers = new ArrayList<>();
     private Javalin app;
 
     /**
@@ -195,10 +197,22 @@ public class HttpServerProcess extends AbstractProcess {
         if (app != null) {
             app.stop();
             app = null;
+            closeControllers();
             LOGGER.info("HTTP server stopped.");
         }
     }
 
+    private void closeControllers() {
+        for (final AutoCloseable controller : closeableControllers) {
+            try {
+                controller.close();
+            } catch (final Exception e) {
+                LOGGER.warn("Failed to close controller {}: {}", controller.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        closeableControllers.clear();
+    }
+
     private void parseRoutes() {
         if (!options.hasPath(ROUTES_CONFIG_KEY)) {
             LOGGER.warn("No '{}' block found in http-server configuration. No routes will be served.", ROUTES_CONFIG_KEY);
@@ -284,6 +298,9 @@ public class HttpServerProcess extends AbstractProcess {
         final Constructor<?> constructor = controllerClass.getConstructor(ServiceRegistry.class, Config.class);
         final IController controller = (IController) constructor.newInstance(controllerRegistry, controllerOptions);
 
+        if (controller instanceof AutoCloseable closeable) {
+            closeableControllers.add(closeable);
+        }
         controller.registerRoutes(app, def.basePath);
     }
 
@@ -2,15 +2,7 @@ package org.evochora.node.processes.http.api.analytics;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -28,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
 
 import io.javalin.Javalin;
 import io.javalin.http.Context;
@@ -49,11 +42,13 @@ import io.javalin.openapi.OpenApiResponse;
  *   <li>File listing with optional prefix filter</li>
  *   <li>File streaming for Parquet, JSON, and CSV artifacts</li>
  *   <li>Response caching for manifest (configurable TTL)</li>
+ *   <li>Server-side queries through a persistent {@link AnalyticsQueryEngine} (pooled DuckDB
+ *       connections, local Parquet file cache, query-result cache)</li>
  * </ul>
  * <p>
  * <strong>Thread Safety:</strong> This controller is thread-safe and can handle concurrent requests.
  */
-public class AnalyticsController implements IController {
+public class AnalyticsController implements IController, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(AnalyticsController.class);
     private final IAnalyticsStorageRead storage;
@@ -66,6 +61,9 @@ public class AnalyticsController implements IController {
     // DuckDB driver loaded flag (for server-side queries)
     private static volatile boolean duckDbDriverLoaded = false;
 
+    /** Long-lived DuckDB engine with local Parquet and result caches for /data and /parquet. */
+    private final AnalyticsQueryEngine queryEngine;
+
     private record CacheEntry(long timestamp, String json) {}
 
     /**
@@ -82,8 +80,21 @@ public class AnalyticsController implements IController {
         
         // Load DuckDB driver for server-side queries
         loadDuckDbDriver();
+
+        this.queryEngine = new AnalyticsQueryEngine(storage, options.hasPath("queryEngine")
+            ? options.getConfig("queryEngine")
+            : ConfigFactory.empty());
     }
     
+    /**
+     * Closes the query engine: its DuckDB connections and local file cache.
+     * Called by the HTTP server process on shutdown.
+     */
+    @Override
+    public void close() {
+        queryEngine.close();
+    }
+
     /**
      * Loads the DuckDB JDBC driver (thread-safe, idempotent).
      */
@@ -420,53 +431,20 @@ public class AnalyticsController implements IController {
                 return;
             }
 
-            // 2. Copy files from storage to temp directory (storage-agnostic)
-            Path tempDir = Files.createTempDirectory("analytics-query-");
-            List<Path> tempFiles = new ArrayList<>();
+            // 2. Query via the persistent engine (cached local files, pooled connection, result cache)
+            AnalyticsQueryEngine.QueryResult queryResult = queryEngine.query(
+                runId, storageMetric, lod, parquetFiles, tickFrom, tickTo);
+            List<Map<String, Object>> result = queryResult.rows();
+            boolean cacheHit = queryResult.cacheHit();
 
-            try {
-                for (String file : parquetFiles) {
-                    Path tempFile = tempDir.resolve(file.replace("/", "_"));
-                    try (InputStream in = storage.openAnalyticsInputStream(runId, file);
-                         OutputStream out = Files.newOutputStream(tempFile)) {
-                        long bytesWritten = in.transferTo(out);
-
-                        // Skip empty files (incomplete from previous shutdown)
-                        if (bytesWritten == 0) {
-                            log.debug("Skipping empty Parquet file: {}", file);
-                            Files.deleteIfExists(tempFile);
-                            continue;
-                        }
-                    }
-                    tempFiles.add(tempFile);
-                }
+            long duration = System.currentTimeMillis() - startTime;
+            log.debug("Query {}/{}/{}: {} files, {} rows in {}ms (cache {})",
+                runId, metric, lod, parquetFiles.size(), result.size(), duration, cacheHit ? "hit" : "miss");
 
-                // 3. Query with DuckDB (with optional tick range precision filter)
-                List<Map<String, Object>> result = queryParquetFiles(tempFiles, tickFrom, tickTo);
-
-                long duration = System.currentTimeMillis() - startTime;
-                log.debug("Query {}/{}/{}: {} files, {} rows in {}ms",
-                    runId, metric, lod, parquetFiles.size(), result.size(), duration);
-
-                // 4. Return JSON with metadata
-                ctx.header("X-LOD-Level", lod);
-                ctx.json(result);
-
-            } finally {
-                // 5. Cleanup temp directory recursively
-                try (var paths = Files.walk(tempDir)) {
-                    paths.sorted(java.util.Comparator.reverseOrder())
-                         .forEach(path -> {
-                    try {
-                                 Files.deleteIfExists(path);
-                    } catch (IOException e) {
-                                 log.debug("Failed to delete: {}", path);
-                    }
-                         });
-                } catch (IOException e) {
-                    log.debug("Failed to cleanup temp directory: {}", tempDir);
-                }
-            }
+            // 3. Return JSON with metadata
+            ctx.header("X-LOD-Level", lod);
+            ctx.header("X-Query-Cache", cacheHit ? "HIT" : "MISS");
+            ctx.json(result);
 
         } catch (Exception e) {
             log.error("Query failed for {}/{}/{}", runId, metric, lod, e);
@@ -513,62 +491,6 @@ public class AnalyticsController implements IController {
         }
     }
 
-    /**
-     * Executes a DuckDB query on multiple Parquet files.
-     */
-    private List<Map<String, Object>> queryParquetFiles(List<Path> files, Long tickFrom, Long tickTo) throws Exception {
-        if (!duckDbDriverLoaded) {
-            throw new IllegalStateException("DuckDB driver not available");
-        }
-
-        // Build file list for read_parquet
-        StringBuilder fileList = new StringBuilder();
-        for (int i = 0; i < files.size(); i++) {
-            if (i > 0) fileList.append(", ");
-            String path = files.get(i).toAbsolutePath().toString().replace("\\", "/");
-            fileList.append("'").append(path).append("'");
-        }
-
-        // Build optional WHERE clause for tick range precision filtering
-        String whereClause = buildTickWhereClause(tickFrom, tickTo);
-
-        // union_by_name=true allows merging Parquet files with different schemas
-        // (e.g., old files without avg_entropy, new files with it)
-        String sql = String.format(
-            "SELECT * FROM read_parquet([%s], union_by_name=true)%s ORDER BY tick",
-            fileList, whereClause
-        );
-
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            ResultSetMetaData meta = rs.getMetaData();
-            int columnCount = meta.getColumnCount();
-            String[] columnNames = new String[columnCount];
-            for (int i = 0; i < columnCount; i++) {
-                columnNames[i] = meta.getColumnName(i + 1);
-            }
-
-            while (rs.next()) {
-                Map<String, Object> row = new LinkedHashMap<>(); // Preserve column order
-                for (int i = 0; i < columnCount; i++) {
-                    Object value = rs.getObject(i + 1);
-                    // Handle BigInteger/Long for JSON compatibility
-                    if (value instanceof java.math.BigInteger) {
-                        value = ((java.math.BigInteger) value).longValue();
-                    }
-                    row.put(columnNames[i], value);
-                }
-                result.add(row);
-            }
-        }
-
-        return result;
-    }
-
     /**
      * Streams a merged Parquet file for client-side DuckDB WASM queries.
      * <p>
@@ -687,88 +609,36 @@ public class AnalyticsController implements IController {
                 return;
             }
 
-            // 2. Copy files from storage to temp directory
-            Path tempDir = Files.createTempDirectory("analytics-parquet-");
-            List<Path> tempFiles = new ArrayList<>();
-            Path mergedFile = null;
-            
-            try {
-                for (String file : parquetFiles) {
-                    Path tempFile = tempDir.resolve(file.replace("/", "_"));
-                    try (InputStream in = storage.openAnalyticsInputStream(runId, file);
-                         OutputStream out = Files.newOutputStream(tempFile)) {
-                        long bytesWritten = in.transferTo(out);
-                        if (bytesWritten == 0) {
-                            log.debug("Skipping empty Parquet file: {}", file);
-                            Files.deleteIfExists(tempFile);
-                            continue;
-                        }
-                    }
-                    
-                    // Validate file is readable (catches files still being written)
-                    try {
-                        validateParquetFile(tempFile);
-                        tempFiles.add(tempFile);
-                    } catch (Exception e) {
-                        log.debug("Skipping unreadable Parquet file (may still be written): {}", file);
-                        Files.deleteIfExists(tempFile);
-                    }
-                }
-                
-                if (tempFiles.isEmpty()) {
-                    ctx.status(404).result("All Parquet files are empty for metric: " + metric);
-                    return;
-                }
+            // 2. Merge via the persistent engine (cached local files, pooled connection, result cache)
+            AnalyticsQueryEngine.MergedParquet merged = queryEngine.merge(
+                runId, storageMetric, lod, parquetFiles, tickFrom, tickTo);
+            if (merged == null) {
+                ctx.status(404).result("All Parquet files are empty for metric: " + metric);
+                return;
+            }
+            if (merged.rowCount() == 0) {
+                ctx.status(404).result("No data available yet for metric: " + metric);
+                return;
+            }
 
-                // 3. Merge Parquet files using DuckDB (with optional tick range filter)
-                mergedFile = tempDir.resolve("merged.parquet");
-                mergeParquetFiles(tempFiles, mergedFile, tickFrom, tickTo);
-                
-                // 3a. Validate merged file is readable (catches race conditions with incomplete writes)
-                long rowCount = validateParquetFile(mergedFile);
-                if (rowCount == 0) {
-                    ctx.status(404).result("No data available yet for metric: " + metric);
-                    return;
-                }
+            long duration = System.currentTimeMillis() - startTime;
+            log.debug("Merged {}/{}/{}: {} files into {} bytes ({} rows) in {}ms",
+                runId, metric, lod, merged.fileCount(), merged.bytes().length, merged.rowCount(), duration);
 
-                long duration = System.currentTimeMillis() - startTime;
-                log.debug("Merged {}/{}/{}: {} files into {} bytes ({} rows) in {}ms", 
-                    runId, metric, lod, parquetFiles.size(), Files.size(mergedFile), rowCount, duration);
-
-                // 4. Read merged file to memory and send to client
-                // Note: Cannot use InputStream streaming because Javalin's ctx.result(InputStream)
-                // is asynchronous, and the finally block would delete the file before streaming completes.
-                ctx.contentType("application/octet-stream");
-                ctx.header("Content-Disposition", "attachment; filename=\"" + metric + "_" + lod + ".parquet\"");
-                // Short cache to allow quick refresh while simulation is running
-                // Browser will revalidate after 5 seconds
-                ctx.header("Cache-Control", "max-age=5");
-                
-                // Expose metadata for client-side debugging
-                ctx.header("X-LOD-Level", lod);
-                ctx.header("X-File-Count", String.valueOf(tempFiles.size()));
-                ctx.header("X-Row-Count", String.valueOf(rowCount));
-                ctx.header("X-Process-Time-Ms", String.valueOf(duration));
-                
-                byte[] mergedBytes = Files.readAllBytes(mergedFile);
-                ctx.result(mergedBytes);
-
-            } finally {
-                // 5. Cleanup temp directory recursively
-                // Must delete files before directory, sorted in reverse order (deepest first)
-                try (var paths = Files.walk(tempDir)) {
-                    paths.sorted(java.util.Comparator.reverseOrder())
-                         .forEach(path -> {
-                             try {
-                                 Files.deleteIfExists(path);
-                             } catch (IOException e) {
-                                 log.debug("Failed to delete: {}", path);
-                             }
-                         });
-                } catch (IOException e) {
-                    log.debug("Failed to cleanup temp directory: {}", tempDir);
-                }
-            }
+            // 3. Send merged file to client
+            ctx.contentType("application/octet-stream");
+            ctx.header("Content-Disposition", "attachment; filename=\"" + metric + "_" + lod + ".parquet\"");
+            // Short cache to allow quick refresh while simulation is running
+            // Browser will revalidate after 5 seconds
+            ctx.header("Cache-Control", "max-age=5");
+
+            // Expose metadata for client-side debugging
+            ctx.header("X-LOD-Level", lod);
+            ctx.header("X-File-Count", String.valueOf(merged.fileCount()));
+            ctx.header("X-Row-Count", String.valueOf(merged.rowCount()));
+            ctx.header("X-Process-Time-Ms", String.valueOf(duration));
+
+            ctx.result(merged.bytes());
 
         } catch (Exception e) {
             log.error("Failed to get Parquet for {}/{}/{}", metric, lod, ctx.queryParam("runId"), e);
@@ -776,67 +646,6 @@ public class AnalyticsController implements IController {
         }
     }
     
-    /**
-     * Merges multiple Parquet files into one using DuckDB.
-     *
-     * @param inputFiles List of input Parquet files
-     * @param outputFile Output merged Parquet file
-     * @throws Exception if merge fails
-     */
-    private void mergeParquetFiles(List<Path> inputFiles, Path outputFile, Long tickFrom, Long tickTo) throws Exception {
-        if (!duckDbDriverLoaded) {
-            throw new IllegalStateException("DuckDB driver not available");
-        }
-
-        // Build file list for read_parquet
-        StringBuilder fileList = new StringBuilder();
-        for (int i = 0; i < inputFiles.size(); i++) {
-            if (i > 0) fileList.append(", ");
-            String path = inputFiles.get(i).toAbsolutePath().toString().replace("\\", "/");
-            fileList.append("'").append(path).append("'");
-        }
-
-        String whereClause = buildTickWhereClause(tickFrom, tickTo);
-        String outputPath = outputFile.toAbsolutePath().toString().replace("\\", "/");
-        // union_by_name=true allows merging Parquet files with different schemas
-        // (e.g., old files without avg_entropy, new files with it)
-        String sql = String.format(
-            "COPY (SELECT * FROM read_parquet([%s], union_by_name=true)%s ORDER BY tick) TO '%s' (FORMAT PARQUET, CODEC 'ZSTD')",
-            fileList, whereClause, outputPath
-        );
-
-        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-        }
-    }
-    
-    /**
-     * Validates that a Parquet file is readable and returns its row count.
-     * This catches race conditions where files are still being written.
-     *
-     * @param parquetFile Path to the Parquet file
-     * @return Number of rows in the file
-     * @throws Exception if file is not readable
-     */
-    private long validateParquetFile(Path parquetFile) throws Exception {
-        if (!duckDbDriverLoaded) {
-            throw new IllegalStateException("DuckDB driver not available");
-        }
-        
-        String path = parquetFile.toAbsolutePath().toString().replace("\\", "/");
-        String sql = String.format("SELECT COUNT(*) FROM read_parquet('%s')", path);
-        
-        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getLong(1);
-            }
-            return 0;
-        }
-    }
-
     /**
      * Parses an optional Long query parameter.
      *
@@ -854,21 +663,6 @@ public class AnalyticsController implements IController {
         }
     }
 
-    /**
-     * Builds a SQL WHERE clause for tick range filtering.
-     *
-     * @return The WHERE clause (e.g. " WHERE tick >= 100 AND tick <= 999"), or empty string if no bounds.
-     */
-    private static String buildTickWhereClause(Long tickFrom, Long tickTo) {
-        if (tickFrom == null && tickTo == null) {
-            return "";
-        }
-        List<String> conditions = new ArrayList<>();
-        if (tickFrom != null) conditions.add("tick >= " + tickFrom);
-        if (tickTo != null) conditions.add("tick <= " + tickTo);
-        return " WHERE " + String.join(" AND ", conditions);
-    }
-
     /**
      * Returns the aggregated manifest for all analytics plugins.
      * <p>
@@ -0,0 +1,761 @@
+package org.evochora.node.processes.http.api.analytics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.evochora.datapipeline.api.resources.storage.IAnalyticsStorageRead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.typesafe.config.Config;
+
+/**
+ * Long-lived DuckDB query engine behind {@link AnalyticsController}.
+ * <p>
+ * Dashboards poll several charts every few seconds. Instead of copying all Parquet files
+ * into a fresh temp directory and opening a new DuckDB connection per request, this engine
+ * keeps three layers of state across requests:
+ * <ol>
+ *   <li><strong>Connection pool:</strong> a bounded set of in-memory DuckDB connections,
+ *       opened lazily and reused. DuckDB only reads Parquet here, so every connection is
+ *       an independent in-memory database.</li>
+ *   <li><strong>Local Parquet cache:</strong> files copied from analytics storage, keyed by
+ *       storage path and last-modified time, bounded by total size (LRU). Each file is
+ *       validated once when it enters the cache, so partially written files are never
+ *       cached. Concurrent requests for the same file share one download. A query pins its
+ *       files until DuckDB has read them: an evicted file that is still pinned leaves the
+ *       cache (and its size bound) immediately but is only deleted on the last release.</li>
+ *   <li><strong>Result cache:</strong> query results (JSON rows and merged Parquet bytes)
+ *       keyed by (runId, metric, LOD, tick range). An entry is only served while the
+ *       fingerprint of the underlying file set (paths and timestamps) is unchanged, so
+ *       new batches from a running simulation invalidate it immediately. A result read from
+ *       fewer files than listed (some skipped as incomplete or removed) is not cached.</li>
+ * </ol>
+ * A repeated dashboard refresh therefore costs one storage listing plus a cache lookup.
+ * <p>
+ * <strong>Thread Safety:</strong> Thread-safe. Connections are leased exclusively to one
+ * request at a time; the caches are Caffeine caches. Downloads run outside Caffeine's compute,
+ * so a request waiting for a pool connection never blocks a cache operation.
+ */
+final class AnalyticsQueryEngine implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsQueryEngine.class);
+
+    /** Subdirectory of a configured {@code fileCacheDirectory} that the engine owns. */
+    static final String CACHE_SUBDIRECTORY = "analytics-query-engine";
+
+    private final IAnalyticsStorageRead storage;
+    private final Path cacheDirectory;
+    private final long connectionTimeoutMs;
+
+    // Connection pool
+    private final BlockingQueue<Connection> idleConnections;
+    private final int maxConnections;
+    private final AtomicInteger openConnections = new AtomicInteger(0);
+    private volatile boolean closed = false;
+
+    // Caches
+    private final Cache<String, CachedFile> fileCache;
+    private final Cache<String, CachedResult> resultCache;
+    private final Cache<String, CachedMerge> mergeCache;
+    /** Downloads in progress by cache key; an empty result means the file was skipped. */
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<CachedFile>>> downloads =
+        new ConcurrentHashMap<>();
+
+    // Statistics (for debug logging and tests)
+    private final AtomicLong fileCacheMisses = new AtomicLong(0);
+    private final AtomicLong resultCacheHits = new AtomicLong(0);
+    private final AtomicLong fileSequence = new AtomicLong(0);
+
+    /**
+     * A Parquet file copied to local disk.
+     * <p>
+     * DuckDB opens the files of a query only when the statement runs, so eviction must not
+     * delete a file a query has already resolved. Queries pin their files; an evicted file is
+     * deleted once it is neither cached nor pinned.
+     */
+    private static final class CachedFile {
+        private final Path localPath;
+        private final long sizeBytes;
+        private int pins;
+        private boolean evicted;
+        private boolean deleted;
+
+        CachedFile(Path localPath, long sizeBytes) {
+            this.localPath = localPath;
+            this.sizeBytes = sizeBytes;
+        }
+
+        Path localPath() {
+            return localPath;
+        }
+
+        long sizeBytes() {
+            return sizeBytes;
+        }
+
+        /**
+         * Pins the file for one query.
+         *
+         * @return false if the file was already evicted and deleted
+         */
+        synchronized boolean pin() {
+            if (deleted) {
+                return false;
+            }
+            pins++;
+            return true;
+        }
+
+        synchronized void release() {
+            pins--;
+            if (pins == 0 && evicted) {
+                delete();
+            }
+        }
+
+        synchronized void evict() {
+            evicted = true;
+            if (pins == 0) {
+                delete();
+            }
+        }
+
+        private void delete() {
+            deleted = true;
+            try {
+                Files.deleteIfExists(localPath);
+            } catch (IOException e) {
+                log.debug("Failed to delete evicted cache file {}: {}", localPath, e.getMessage());
+            }
+        }
+    }
+
+    /** The local files of one query, pinned until closed. */
+    private static final class PinnedFiles implements AutoCloseable {
+        private final List<CachedFile> files = new ArrayList<>();
+
+        void add(CachedFile file) {
+            files.add(file);
+        }
+
+        boolean isEmpty() {
+            return files.isEmpty();
+        }
+
+        int size() {
+            return files.size();
+        }
+
+        List<Path> paths() {
+            List<Path> paths = new ArrayList<>(files.size());
+            for (CachedFile file : files) {
+                paths.add(file.localPath());
+            }
+            return paths;
+        }
+
+        @Override
+        public void close() {
+            for (CachedFile file : files) {
+                file.release();
+            }
+            files.clear();
+        }
+    }
+
+    /** Query result rows together with the fingerprint of the files they were read from. */
+    private record CachedResult(String fingerprint, List<Map<String, Object>> rows) {}
+
+    /** Merged Parquet bytes together with the fingerprint of the files they were merged from. */
+    private record CachedMerge(String fingerprint, MergedParquet merged) {}
+
+    /**
+     * Rows returned by {@link #query}.
+     *
+     * @param rows     Rows as column-ordered maps (unmodifiable, may be shared between requests)
+     * @param cacheHit Whether the rows were served from the result cache
+     */
+    record QueryResult(List<Map<String, Object>> rows, boolean cacheHit) {}
+
+    /**
+     * Result of merging the Parquet files of a metric/LOD into a single file.
+     *
+     * @param bytes     Merged ZSTD-compressed Parquet file content
+     * @param rowCount  Number of rows in the merged file
+     * @param fileCount Number of source files that were readable and merged
+     */
+    record MergedParquet(byte[] bytes, long rowCount, int fileCount) {}
+
+    /**
+     * Creates the engine. No connection is opened and no file is copied until the first query.
+     * <p>
+     * Options (all optional):
+     * <ul>
+     *   <li>{@code connectionPoolSize} - maximum concurrent DuckDB connections (default: 4)</li>
+     *   <li>{@code connectionTimeoutMs} - max wait for a free connection (default: 10000)</li>
+     *   <li>{@code fileCacheDirectory} - parent directory for cached Parquet files; the engine
+     *       keeps its files in its own {@value #CACHE_SUBDIRECTORY} subdirectory, which is wiped
+     *       on startup (default: a private directory below {@code java.io.tmpdir})</li>
+     *   <li>{@code fileCacheMaxMegabytes} - size bound of the local file cache (default: 512)</li>
+     *   <li>{@code resultCacheMaxEntries} - maximum cached JSON results (default: 256)</li>
+     *   <li>{@code mergeCacheMaxMegabytes} - size bound of cached merged Parquet files (default: 128)</li>
+     *   <li>{@code resultCacheTtlSeconds} - max age of a cached result (default: 300)</li>
+     * </ul>
+     *
+     * @param storage Analytics storage to read Parquet files from
+     * @param options Engine options (typically the {@code queryEngine} block of the controller options)
+     */
+    AnalyticsQueryEngine(IAnalyticsStorageRead storage, Config options) {
+        this.storage = storage;
+        this.maxConnections = options.hasPath("connectionPoolSize")
+            ? Math.max(1, options.getInt("connectionPoolSize")) : 4;
+        this.connectionTimeoutMs = options.hasPath("connectionTimeoutMs")
+            ? options.getLong("connectionTimeoutMs") : 10_000L;
+        this.idleConnections = new ArrayBlockingQueue<>(maxConnections);
+
+        // Only ever wipe a directory the engine owns: a subdirectory of a configured directory,
+        // or a private one so that engines never share files
+        this.cacheDirectory = options.hasPath("fileCacheDirectory")
+            ? Paths.get(options.getString("fileCacheDirectory")).resolve(CACHE_SUBDIRECTORY)
+            : Paths.get(System.getProperty("java.io.tmpdir"), "evochora", "analytics-query-cache-" + UUID.randomUUID());
+        long fileCacheMaxBytes = (options.hasPath("fileCacheMaxMegabytes")
+            ? options.getLong("fileCacheMaxMegabytes") : 512L) * 1024 * 1024;
+        long mergeCacheMaxBytes = (options.hasPath("mergeCacheMaxMegabytes")
+            ? options.getLong("mergeCacheMaxMegabytes") : 128L) * 1024 * 1024;
+        int resultCacheMaxEntries = options.hasPath("resultCacheMaxEntries")
+            ? options.getInt("resultCacheMaxEntries") : 256;
+        Duration resultTtl = Duration.ofSeconds(options.hasPath("resultCacheTtlSeconds")
+            ? options.getLong("resultCacheTtlSeconds") : 300L);
+
+        // Files left over from a previous process are unknown to the cache and would never be evicted
+        deleteRecursively(cacheDirectory);
+
+        this.fileCache = Caffeine.newBuilder()
+            .maximumWeight(fileCacheMaxBytes)
+            .weigher((String key, CachedFile file) -> (int) Math.min(Integer.MAX_VALUE, file.sizeBytes()))
+            .removalListener((String key, CachedFile file, RemovalCause cause) -> {
+                // Deleted now, or by the last query still pinning it
+                if (file != null) {
+                    file.evict();
+                }
+            })
+            .build();
+
+        this.resultCache = Caffeine.newBuilder()
+            .maximumSize(resultCacheMaxEntries)
+            .expireAfterWrite(resultTtl)
+            .build();
+
+        this.mergeCache = Caffeine.newBuilder()
+            .maximumWeight(mergeCacheMaxBytes)
+            .weigher((String key, CachedMerge m) -> m.merged().bytes().length)
+            .expireAfterWrite(resultTtl)
+            .build();
+    }
+
+    /**
+     * Queries all rows of the given Parquet files, ordered by tick.
+     *
+     * @param runId         Simulation run ID
+     * @param storageMetric Storage metric ID (directory name)
+     * @param lod           LOD level
+     * @param parquetFiles  Storage-relative Parquet paths (already filtered by tick range)
+     * @param tickFrom      Optional lower tick bound (inclusive)
+     * @param tickTo        Optional upper tick bound (inclusive)
+     * @return The rows and whether they came from the result cache
+     * @throws Exception if storage access or the DuckDB query fails
+     */
+    QueryResult query(String runId, String storageMetric, String lod,
+                                    List<String> parquetFiles, Long tickFrom, Long tickTo) throws Exception {
+        String key = resultKey(runId, storageMetric, lod, tickFrom, tickTo);
+        String fingerprint = fingerprint(runId, parquetFiles);
+
+        CachedResult cached = resultCache.getIfPresent(key);
+        if (cached != null && cached.fingerprint().equals(fingerprint)) {
+            resultCacheHits.incrementAndGet();
+            return new QueryResult(cached.rows(), true);
+        }
+
+        List<Map<String, Object>> rows;
+        boolean complete;
+        try (PinnedFiles localFiles = fetchFiles(runId, parquetFiles)) {
+            if (localFiles.isEmpty()) {
+                return new QueryResult(List.of(), false);
+            }
+            rows = readRows(localFiles.paths(), tickFrom, tickTo);
+            complete = localFiles.size() == parquetFiles.size();
+        }
+
+        List<Map<String, Object>> result = Collections.unmodifiableList(rows);
+        // A skipped file may be readable on the next request under the same fingerprint
+        if (complete) {
+            resultCache.put(key, new CachedResult(fingerprint, result));
+        }
+        return new QueryResult(result, false);
+    }
+
+    private List<Map<String, Object>> readRows(List<Path> localFiles, Long tickFrom, Long tickTo)
+            throws SQLException, InterruptedException {
+        // union_by_name=true allows merging Parquet files with different schemas
+        // (e.g., old files without avg_entropy, new files with it)
+        String sql = String.format(
+            "SELECT * FROM read_parquet([%s], union_by_name=true)%s ORDER BY tick",
+            toFileList(localFiles), buildTickWhereClause(tickFrom, tickTo));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (PooledConnection pooled = borrowConnection();
+             Statement stmt = pooled.connection().createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            ResultSetMetaData meta = rs.getMetaData();
+            int columnCount = meta.getColumnCount();
+            String[] columnNames = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnNames[i] = meta.getColumnName(i + 1);
+            }
+
+            while (rs.next()) {
+                Map<String, Object> row = new LinkedHashMap<>(); // Preserve column order
+                for (int i = 0; i < columnCount; i++) {
+                    Object value = rs.getObject(i + 1);
+                    // Handle BigInteger/Long for JSON compatibility
+                    if (value instanceof java.math.BigInteger) {
+                        value = ((java.math.BigInteger) value).longValue();
+                    }
+                    row.put(columnNames[i], value);
+                }
+                rows.add(Collections.unmodifiableMap(row));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Merges the given Parquet files into one ZSTD-compressed Parquet file, ordered by tick.
+     *
+     * @param runId         Simulation run ID
+     * @param storageMetric Storage metric ID (directory name)
+     * @param lod           LOD level
+     * @param parquetFiles  Storage-relative Parquet paths (already filtered by tick range)
+     * @param tickFrom      Optional lower tick bound (inclusive)
+     * @param tickTo        Optional upper tick bound (inclusive)
+     * @return The merged file, or null if none of the files is readable
+     * @throws Exception if storage access or the DuckDB export fails
+     */
+    MergedParquet merge(String runId, String storageMetric, String lod,
+                        List<String> parquetFiles, Long tickFrom, Long tickTo) throws Exception {
+        String key = resultKey(runId, storageMetric, lod, tickFrom, tickTo);
+        String fingerprint = fingerprint(runId, parquetFiles);
+
+        CachedMerge cached = mergeCache.getIfPresent(key);
+        if (cached != null && cached.fingerprint().equals(fingerprint)) {
+            resultCacheHits.incrementAndGet();
+            return cached.merged();
+        }
+
+        Path mergedFile = cacheDirectory.resolve("merged-" + fileSequence.incrementAndGet() + ".parquet");
+        try (PinnedFiles localFiles = fetchFiles(runId, parquetFiles)) {
+            if (localFiles.isEmpty()) {
+                return null;
+            }
+
+            String outputPath = mergedFile.toAbsolutePath().toString().replace("\\", "/");
+            String sql = String.format(
+                "COPY (SELECT * FROM read_parquet([%s], union_by_name=true)%s ORDER BY tick) TO '%s' (FORMAT PARQUET, CODEC 'ZSTD')",
+                toFileList(localFiles.paths()), buildTickWhereClause(tickFrom, tickTo), outputPath);
+
+            long rowCount;
+            try (PooledConnection pooled = borrowConnection();
+                 Statement stmt = pooled.connection().createStatement()) {
+                stmt.execute(sql);
+                rowCount = countRows(stmt, mergedFile);
+            }
+
+            MergedParquet merged = new MergedParquet(Files.readAllBytes(mergedFile), rowCount, localFiles.size());
+            if (localFiles.size() == parquetFiles.size()) {
+                mergeCache.put(key, new CachedMerge(fingerprint, merged));
+            }
+            return merged;
+        } finally {
+            Files.deleteIfExists(mergedFile);
+        }
+    }
+
+    /**
+     * Returns the number of result or merge requests served from cache since creation.
+     *
+     * @return Result cache hit count
+     */
+    long getResultCacheHits() {
+        return resultCacheHits.get();
+    }
+
+    /**
+     * Returns the number of Parquet files copied from storage since creation.
+     *
+     * @return Local file cache miss count
+     */
+    long getFileCacheMisses() {
+        return fileCacheMisses.get();
+    }
+
+    /**
+     * Closes all idle connections and drops all caches (deleting the cached files).
+     * Connections still leased are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection conn;
+        while ((conn = idleConnections.poll()) != null) {
+            closeQuietly(conn);
+        }
+        resultCache.invalidateAll();
+        mergeCache.invalidateAll();
+        fileCache.invalidateAll();
+        fileCache.cleanUp();
+        deleteRecursively(cacheDirectory);
+    }
+
+    // ==================== Local file cache ====================
+
+    /**
+     * Resolves storage paths to validated local copies, downloading missing ones, and pins them.
+     * Empty or unreadable files (e.g. still being written) and files removed from storage since
+     * the listing (e.g. replaced by compaction) are skipped and not cached. Storage, pool and
+     * connection errors are thrown: they say nothing about the file.
+     */
+    private PinnedFiles fetchFiles(String runId, List<String> parquetFiles)
+            throws IOException, SQLException, InterruptedException {
+        Files.createDirectories(cacheDirectory);
+        PinnedFiles pinned = new PinnedFiles();
+        try {
+            for (String file : parquetFiles) {
+                CachedFile cached = pinFile(runId, file);
+                if (cached != null) {
+                    pinned.add(cached);
+                }
+            }
+            return pinned;
+        } catch (IOException | SQLException | InterruptedException | RuntimeException e) {
+            pinned.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the pinned local copy of one file, or null if it is skipped.
+     */
+    private CachedFile pinFile(String runId, String file)
+            throws IOException, SQLException, InterruptedException {
+        long lastModified;
+        try {
+            lastModified = storage.getAnalyticsLastModified(runId, file);
+        } catch (NoSuchFileException e) {
+            log.debug("Skipping Parquet file removed since listing: {}", file);
+            return null;
+        }
+        String key = runId + "/" + file + "@" + lastModified;
+
+        while (true) {
+            CachedFile cached = fileCache.getIfPresent(key);
+            if (cached != null) {
+                if (cached.pin()) {
+                    return cached;
+                }
+                // Evicted and deleted between lookup and pin: fetch it again
+                continue;
+            }
+
+            // Concurrent requests share one download. It runs outside the cache's compute
+            // because validation waits for a pool connection.
+            CompletableFuture<Optional<CachedFile>> own = new CompletableFuture<>();
+            CompletableFuture<Optional<CachedFile>> running = downloads.putIfAbsent(key, own);
+            if (running == null) {
+                try {
+                    CachedFile downloaded = download(runId, file);
+                    if (downloaded != null) {
+                        // Pinned before the entry is visible, so even a file larger than the
+                        // whole cache survives until this query has read it
+                        downloaded.pin();
+                        fileCache.put(key, downloaded);
+                    }
+                    own.complete(Optional.ofNullable(downloaded));
+                    return downloaded;
+                } catch (IOException | SQLException | InterruptedException | RuntimeException e) {
+                    own.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    downloads.remove(key, own);
+                }
+            }
+
+            Optional<CachedFile> shared = awaitDownload(running, file);
+            if (shared.isEmpty()) {
+                return null;
+            }
+            if (shared.get().pin()) {
+                return shared.get();
+            }
+            // Evicted and deleted before this request could pin it: fetch it again
+        }
+    }
+
+    /**
+     * Waits for another request's download of the same file and rethrows its failure.
+     */
+    private static Optional<CachedFile> awaitDownload(CompletableFuture<Optional<CachedFile>> download,
+                                                      String file)
+            throws IOException, SQLException, InterruptedException {
+        try {
+            return download.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof SQLException sql) {
+                throw sql;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Download of " + file + " failed in a concurrent request", cause);
+        }
+    }
+
+    /**
+     * Copies one file from storage to the cache directory and validates it.
+     *
+     * @return The cached file, or null if the file is empty or not (yet) readable
+     * @throws SQLException if no pool connection could be borrowed for the validation
+     */
+    private CachedFile download(String runId, String file)
+            throws IOException, SQLException, InterruptedException {
+        fileCacheMisses.incrementAndGet();
+        Path localPath = cacheDirectory.resolve(fileSequence.incrementAndGet() + "_" + file.replace("/", "_"));
+        try {
+            long bytesWritten;
+            try (InputStream in = storage.openAnalyticsInputStream(runId, file);
+                 OutputStream out = Files.newOutputStream(localPath)) {
+                bytesWritten = in.transferTo(out);
+            }
+
+            // Skip empty files (incomplete from previous shutdown)
+            if (bytesWritten == 0) {
+                log.debug("Skipping empty Parquet file: {}", file);
+                Files.deleteIfExists(localPath);
+                return null;
+            }
+
+            // Validate file is readable (catches files still being written). Only a failed read
+            // skips the file; failing to get a connection is the caller's error.
+            try (PooledConnection pooled = borrowConnection();
+                 Statement stmt = pooled.connection().createStatement()) {
+                try {
+                    countRows(stmt, localPath);
+                } catch (SQLException e) {
+                    if (pooled.connection().isClosed()) {
+                        throw e;
+                    }
+                    log.debug("Skipping unreadable Parquet file (may still be written): {}", file);
+                    Files.deleteIfExists(localPath);
+                    return null;
+                }
+            }
+
+            return new CachedFile(localPath, bytesWritten);
+        } catch (NoSuchFileException e) {
+            log.debug("Skipping Parquet file removed since listing: {}", file);
+            deleteQuietly(localPath);
+            return null;
+        } catch (IOException | SQLException | InterruptedException | RuntimeException e) {
+            deleteQuietly(localPath);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path localPath) {
+        try {
+            Files.deleteIfExists(localPath);
+        } catch (IOException ignored) {
+            // Best effort; the directory is wiped on next start
+        }
+    }
+
+    // ==================== Connection pool ====================
+
+    /**
+     * A leased DuckDB connection. Closing it returns the connection to the pool, or discards
+     * it if a statement failed with a connection-level error.
+     */
+    private final class PooledConnection implements AutoCloseable {
+        private final Connection connection;
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        Connection connection() {
+            return connection;
+        }
+
+        @Override
+        public void close() {
+            releaseConnection(connection);
+        }
+    }
+
+    private PooledConnection borrowConnection() throws SQLException, InterruptedException {
+        if (closed) {
+            throw new SQLException("Analytics query engine is closed");
+        }
+        Connection conn = idleConnections.poll();
+        if (conn != null) {
+            return new PooledConnection(conn);
+        }
+        if (openConnections.incrementAndGet() <= maxConnections) {
+            try {
+                return new PooledConnection(DriverManager.getConnection("jdbc:duckdb:"));
+            } catch (SQLException e) {
+                openConnections.decrementAndGet();
+                throw e;
+            }
+        }
+        openConnections.decrementAndGet();
+        conn = idleConnections.poll(connectionTimeoutMs, TimeUnit.MILLISECONDS);
+        if (conn == null) {
+            throw new SQLException("Timed out after " + connectionTimeoutMs
+                + "ms waiting for a DuckDB connection (pool size " + maxConnections + ")");
+        }
+        return new PooledConnection(conn);
+    }
+
+    private void releaseConnection(Connection conn) {
+        boolean usable;
+        try {
+            usable = !closed && !conn.isClosed();
+        } catch (SQLException e) {
+            usable = false;
+        }
+        if (!usable || !idleConnections.offer(conn)) {
+            closeQuietly(conn);
+            openConnections.decrementAndGet();
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close DuckDB connection: {}", e.getMessage());
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static long countRows(Statement stmt, Path parquetFile) throws SQLException {
+        String path = parquetFile.toAbsolutePath().toString().replace("\\", "/");
+        try (ResultSet rs = stmt.executeQuery(String.format("SELECT COUNT(*) FROM read_parquet('%s')", path))) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Identifies one version of a file set. Batch files are immutable once complete, so
+     * paths plus timestamps change exactly when new data arrives or a file is rewritten.
+     * A file removed since the listing (e.g. by compaction) is marked as missing.
+     */
+    private String fingerprint(String runId, List<String> parquetFiles) throws IOException {
+        StringBuilder sb = new StringBuilder(parquetFiles.size() * 80);
+        for (String file : parquetFiles) {
+            sb.append(file).append('@');
+            try {
+                sb.append(storage.getAnalyticsLastModified(runId, file));
+            } catch (NoSuchFileException e) {
+                sb.append("missing");
+            }
+            sb.append(';');
+        }
+        return sb.toString();
+    }
+
+    private static String resultKey(String runId, String storageMetric, String lod, Long tickFrom, Long tickTo) {
+        return runId + "|" + storageMetric + "|" + lod + "|" + tickFrom + "|" + tickTo;
+    }
+
+    private static String toFileList(List<Path> files) {
+        StringBuilder fileList = new StringBuilder();
+        for (int i = 0; i < files.size(); i++) {
+            if (i > 0) fileList.append(", ");
+            String path = files.get(i).toAbsolutePath().toString().replace("\\", "/");
+            fileList.append("'").append(path).append("'");
+        }
+        return fileList.toString();
+    }
+
+    /**
+     * Builds a SQL WHERE clause for tick range filtering.
+     *
+     * @return The WHERE clause (e.g. " WHERE tick >= 100 AND tick <= 999"), or empty string if no bounds.
+     */
+    static String buildTickWhereClause(Long tickFrom, Long tickTo) {
+        if (tickFrom == null && tickTo == null) {
+            return "";
+        }
+        List<String> conditions = new ArrayList<>();
+        if (tickFrom != null) conditions.add("tick >= " + tickFrom);
+        if (tickTo != null) conditions.add("tick <= " + tickTo);
+        return " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (var paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                 .forEach(path -> {
+                     try {
+                         Files.deleteIfExists(path);
+                     } catch (IOException e) {
+                         log.debug("Failed to delete: {}", path);
+                     }
+                 });
+        } catch (IOException e) {
+            log.debug("Failed to clean cache directory: {}", dir);
+        }
+    }
+}
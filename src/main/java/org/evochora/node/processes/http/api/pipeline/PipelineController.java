@@ -68,6 +68,7 @@ public class PipelineController extends AbstractController {
         app.post(servicePath + "/restart", this::handleServiceRestart);
         app.post(servicePath + "/pause", this::handleServicePause);
         app.post(servicePath + "/resume", this::handleServiceResume);
+        app.post(servicePath + "/fast-forward", this::handleServiceFastForward);
 
         // Exception handling
         app.exception(IllegalArgumentException.class, (e, ctx) -> {
@@ -508,6 +509,69 @@ public class PipelineController extends AbstractController {
         handleServiceLifecycleCommand(ctx, serviceManager::resumeService);
     }
 
+    @OpenApi(
+        path = "service/{serviceName}/fast-forward",
+        methods = {HttpMethod.POST},
+        summary = "Fast-forward a simulation service",
+        description = "Simulates without observation or capture up to the given tick (rounded up to the next "
+            + "sampled tick), stores that tick as a checkpoint and continues in normal sampled mode",
+        tags = {"pipeline / services"},
+        pathParams = {
+            @OpenApiParam(name = "serviceName", description = "Name of the service", required = true)
+        },
+        queryParams = {
+            @OpenApiParam(name = "untilTick", type = Long.class, description = "Tick at which sampling resumes", required = true)
+        },
+        responses = {
+            @OpenApiResponse(
+                status = "202",
+                description = "Request accepted",
+                content = @OpenApiContent(from = MessageResponseDto.class)
+            ),
+            @OpenApiResponse(
+                status = "400",
+                description = "Missing or invalid untilTick",
+                content = @OpenApiContent(from = ErrorResponseDto.class)
+            ),
+            @OpenApiResponse(
+                status = "404",
+                description = "Service not found",
+                content = @OpenApiContent(from = ErrorResponseDto.class)
+            ),
+            @OpenApiResponse(
+                status = "409",
+                description = "Service cannot fast-forward or is already past the tick",
+                content = @OpenApiContent(from = ErrorResponseDto.class)
+            ),
+            @OpenApiResponse(
+                status = "500",
+                description = "Internal server error",
+                content = @OpenApiContent(from = ErrorResponseDto.class)
+            )
+        }
+    )
+    void handleServiceFastForward(final Context ctx) {
+        final String serviceName = ctx.pathParam("serviceName");
+        final String untilTickParam = ctx.queryParam("untilTick");
+        final long untilTick;
+        try {
+            if (untilTickParam == null) {
+                throw new NumberFormatException("missing");
+            }
+            untilTick = Long.parseLong(untilTickParam.trim());
+        } catch (final NumberFormatException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ErrorResponseDto.of(
+                HttpStatus.BAD_REQUEST.getCode(),
+                HttpStatus.BAD_REQUEST.getMessage(),
+                "Query parameter 'untilTick' must be a tick number"
+            ));
+            return;
+        }
+        serviceManager.fastForwardService(serviceName, untilTick);
+        ctx.status(HttpStatus.ACCEPTED).json(new MessageResponseDto(
+            "Fast-forward of service '" + serviceName + "' to tick " + untilTick + " accepted."));
+    }
+
     /**
      * Determines the overall node status based on service health and state.
      * <p>
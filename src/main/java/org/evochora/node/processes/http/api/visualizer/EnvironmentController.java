@@ -4,8 +4,10 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
 import org.evochora.datapipeline.api.contracts.CellHttpResponse;
 import org.evochora.datapipeline.api.contracts.EnvironmentHttpResponse;
+import org.evochora.datapipeline.api.contracts.EnvironmentTile;
 import org.evochora.datapipeline.api.contracts.MinimapData;
 import org.evochora.datapipeline.api.contracts.SimulationMetadata;
 import org.evochora.datapipeline.api.contracts.TickData;
@@ -47,8 +49,9 @@ import com.google.protobuf.ByteString;
  * Supports spatial filtering and run ID resolution for multi-simulation environments.
  * <p>
  * <strong>Delta Compression:</strong> Environment data is stored as chunks containing
- * a snapshot plus deltas. This controller implements a Caffeine LRU cache to optimize
- * sequential tick access (e.g., scrubbing through ticks in the visualizer).
+ * a snapshot plus deltas. Chunks come from the {@link TickChunkCache} shared with the other
+ * visualizer controllers, which optimizes sequential tick access (e.g., scrubbing through ticks
+ * in the visualizer) and preloads the next chunk during playback.
  * <p>
  * <strong>Decompression Strategy:</strong> Chunks are cached as-is and decompressed
  * on-demand for each request using {@code DeltaCodec.decompressTick()}. This provides:
@@ -60,15 +63,15 @@ import com.google.protobuf.ByteString;
  * <p>
  * Key features:
  * <ul>
- *   <li>Chunk caching with Caffeine LRU cache</li>
+ *   <li>Chunk caching with the shared, tick-range-indexed {@link TickChunkCache}</li>
  *   <li>Spatial region filtering (2D/3D coordinates)</li>
  *   <li>Run ID resolution (query parameter → latest run)</li>
  *   <li>HTTP cache headers for immutable past ticks</li>
  *   <li>Comprehensive error handling (400/404/500)</li>
  * </ul>
  * <p>
- * <strong>Thread Safety:</strong> This controller is thread-safe. The Caffeine caches
- * (chunks, environment properties) are thread-safe. {@code DeltaCodec.Decoder} instances
+ * <strong>Thread Safety:</strong> This controller is thread-safe. The chunk cache and the
+ * Caffeine cache of environment properties are thread-safe. {@code DeltaCodec.Decoder} instances
  * are created per-request (not cached) because they maintain mutable internal state that
  * is not thread-safe for concurrent access.
  */
@@ -82,12 +85,9 @@ public class EnvironmentController extends VisualizerBaseController {
     private static final AtomicBoolean INSTRUCTION_INITIALIZED = new AtomicBoolean(false);
     
     /**
-     * LRU cache for TickDataChunks.
-     * <p>
-     * Key format: "runId:firstTick" where firstTick is the snapshot tick number.
-     * Value: The raw TickDataChunk (compressed form).
+     * Cache of TickDataChunks (compressed form), shared with the other visualizer controllers.
      */
-    private final Cache<String, TickDataChunk> chunkCache;
+    private final TickChunkCache chunkCache;
     
     /**
      * Cache for environment properties per runId.
@@ -104,11 +104,8 @@ public class EnvironmentController extends VisualizerBaseController {
     /**
      * Constructs a new EnvironmentController with chunk caching.
      * <p>
-     * Cache configuration is read from options:
-     * <ul>
-     *   <li>{@code chunk-cache.maximum-size} - Maximum number of chunks to cache (default: 100)</li>
-     *   <li>{@code chunk-cache.expire-after-access} - Expiration time in seconds (default: 300)</li>
-     * </ul>
+     * The {@code chunk-cache} options configure the shared {@link TickChunkCache} if this
+     * controller is the first to use it.
      *
      * @param registry The central service registry for accessing shared services.
      * @param options  The HOCON configuration specific to this controller instance.
@@ -116,20 +113,8 @@ public class EnvironmentController extends VisualizerBaseController {
     public EnvironmentController(final org.evochora.node.spi.ServiceRegistry registry, final Config options) {
         super(registry, options);
         
-        // Read chunk cache configuration (server-side Caffeine cache)
-        int maxSize = options.hasPath("chunk-cache.maximum-size") 
-            ? options.getInt("chunk-cache.maximum-size") 
-            : 100;
-        int expireAfterAccessSeconds = options.hasPath("chunk-cache.expire-after-access") 
-            ? options.getInt("chunk-cache.expire-after-access") 
-            : 300;
-        
-        // Build chunk cache
-        this.chunkCache = Caffeine.newBuilder()
-            .maximumSize(maxSize)
-            .expireAfterAccess(Duration.ofSeconds(expireAfterAccessSeconds))
-            .recordStats()  // Enable stats for monitoring
-            .build();
+        // Server-side chunk cache, shared with the other visualizer controllers
+        this.chunkCache = TickChunkCache.shared(registry, options);
         
         // Build environment properties cache (small, long TTL)
         this.envPropsCache = Caffeine.newBuilder()
@@ -143,21 +128,20 @@ public class EnvironmentController extends VisualizerBaseController {
 
         // Minimap aggregator is stateless and thread-safe
         this.minimapAggregator = new MinimapAggregator();
-
-        LOGGER.info("EnvironmentController chunk cache initialized: maxSize={}, expireAfterAccess={}s",
-            maxSize, expireAfterAccessSeconds);
     }
 
     @Override
     public void registerRoutes(final Javalin app, final String basePath) {
         final String tickPath = (basePath + "/{tick}").replaceAll("//", "/");
         final String ticksPath = (basePath + "/ticks").replaceAll("//", "/");
+        final String tilePath = (basePath + "/tiles/{z}/{x}/{y}").replaceAll("//", "/");
         
-        LOGGER.debug("Registering environment endpoints: tick={}, ticks={}", tickPath, ticksPath);
+        LOGGER.debug("Registering environment endpoints: tick={}, ticks={}, tiles={}", tickPath, ticksPath, tilePath);
         
         // IMPORTANT: Register /ticks BEFORE /{tick} to avoid path parameter conflict
         // Javalin matches routes in registration order, so /ticks must come first
         app.get(ticksPath, this::getTicks);
+        app.get(tilePath, this::getTile);
         app.get(tickPath, this::getEnvironment);
         
         // Setup common exception handlers from base class
@@ -177,6 +161,10 @@ public class EnvironmentController extends VisualizerBaseController {
      * <ul>
      *   <li>region: Optional spatial region as comma-separated bounds (e.g., "0,100,0,100")</li>
      *   <li>runId: Optional simulation run ID (defaults to latest run)</li>
+     *   <li>since: Optional earlier tick the client already has. If both ticks are stored in
+     *       the same chunk, only the region cells changed since then are returned, computed from
+     *       the chunk deltas without decoding either tick (see
+     *       {@link DeltaCodec#changedCellsBetween}). Otherwise a full response is returned.</li>
      * </ul>
      * <p>
      * Response format:
@@ -206,7 +194,8 @@ public class EnvironmentController extends VisualizerBaseController {
         queryParams = {
             @OpenApiParam(name = "region", description = "Optional spatial region as comma-separated bounds (e.g., \"0,100,0,100\")", required = false),
             @OpenApiParam(name = "runId", description = "Optional simulation run ID (defaults to latest run)", required = false),
-            @OpenApiParam(name = "minimap", description = "Include minimap data in response (presence of parameter enables)", required = false)
+            @OpenApiParam(name = "minimap", description = "Include minimap data in response (presence of parameter enables)", required = false),
+            @OpenApiParam(name = "since", description = "Optional earlier tick the client already has; if both ticks are in the same chunk, only changed cells are returned (delta = true, X-Delta-Since header)", required = false, type = Long.class)
         },
         responses = {
             @OpenApiResponse(status = "200", description = "OK (application/x-protobuf binary)", content = @OpenApiContent(from = byte[].class)),
@@ -230,11 +219,15 @@ public class EnvironmentController extends VisualizerBaseController {
         // Parse minimap parameter (optional - presence enables minimap)
         final boolean includeMinimap = ctx.queryParam("minimap") != null;
 
+        // Parse since parameter (optional - tick the client already has)
+        final String sinceParam = ctx.queryParam("since");
+        final Long sinceTick = sinceParam != null ? parseTickNumber(sinceParam) : null;
+
         // Resolve run ID (query parameter → latest)
         final String runId = resolveRunId(ctx);
 
-        LOGGER.debug("Retrieving environment data: tick={}, runId={}, region={}, minimap={}",
-            tickNumber, runId, region, includeMinimap);
+        LOGGER.debug("Retrieving environment data: tick={}, since={}, runId={}, region={}, minimap={}",
+            tickNumber, sinceTick, runId, region, includeMinimap);
         
         // Parse cache configuration
         final CacheConfig cacheConfig = CacheConfig.fromConfig(options, "environment");
@@ -260,20 +253,35 @@ public class EnvironmentController extends VisualizerBaseController {
             final TickDataChunk chunk = getOrLoadChunk(runId, tickNumber);
             final long chunkLoadTimeMs = (System.nanoTime() - chunkStartNs) / 1_000_000;
             
-            // Create decoder for this request (NOT cached - Decoder is not thread-safe)
-            final DeltaCodec.Decoder decoder = new DeltaCodec.Decoder(envProps);
-            
             final long loadTimeMs = (System.nanoTime() - loadStartNs) / 1_000_000;
             
             // --- Timing: Decompression ---
             final long decompressStartNs = System.nanoTime();
             
-            // Decompress to get the specific tick
+            // Ticks dropped under backpressure (chunk.skipped_samples) are gaps, not corruption
+            if (chunk.getSkippedSamples() > 0 && !DeltaCodec.containsTick(chunk, tickNumber)) {
+                throw new TickNotFoundException("Tick " + tickNumber + " was not recorded (sampling degraded under backpressure)");
+            }
+            
+            // Delta response: both ticks in this chunk, computed from changed_cells alone.
+            // Otherwise (other chunk, backward step, minimap) fall back to a full response.
+            final boolean deltaResponse = sinceTick != null && sinceTick < tickNumber && !includeMinimap
+                    && DeltaCodec.containsTick(chunk, sinceTick) && DeltaCodec.containsTick(chunk, tickNumber);
+
             final TickData tickData;
-            try {
-                tickData = decoder.decompressTick(chunk, tickNumber);
-            } catch (ChunkCorruptedException e) {
-                throw new SQLException("Corrupted chunk for tick " + tickNumber + ": " + e.getMessage(), e);
+            final CellDataColumns changedCells;
+            if (deltaResponse) {
+                tickData = null;
+                changedCells = DeltaCodec.changedCellsBetween(chunk, sinceTick, tickNumber);
+            } else {
+                // Create decoder for this request (NOT cached - Decoder is not thread-safe)
+                final DeltaCodec.Decoder decoder = new DeltaCodec.Decoder(envProps);
+                changedCells = null;
+                try {
+                    tickData = decoder.decompressTick(chunk, tickNumber);
+                } catch (ChunkCorruptedException e) {
+                    throw new SQLException("Corrupted chunk for tick " + tickNumber + ": " + e.getMessage(), e);
+                }
             }
             
             final long decompressTimeMs = (System.nanoTime() - decompressStartNs) / 1_000_000;
@@ -285,8 +293,9 @@ public class EnvironmentController extends VisualizerBaseController {
             ensureInstructionSetInitialized();
 
             // Convert to Protobuf response format (using IDs instead of strings)
-            final EnvironmentHttpResponse response = convertTickDataToProtobuf(
-                    tickData, tickNumber, region, envProps, includeMinimap);
+            final EnvironmentHttpResponse response = deltaResponse
+                    ? convertChangedCellsToProtobuf(changedCells, tickNumber, sinceTick, region, envProps)
+                    : convertTickDataToProtobuf(tickData, tickNumber, region, envProps, includeMinimap);
             final int cellCount = response.getCellsCount();
             
             final long transformTimeMs = (System.nanoTime() - transformStartNs) / 1_000_000;
@@ -308,6 +317,9 @@ public class EnvironmentController extends VisualizerBaseController {
             ctx.header("X-Timing-Serialize-Ms", String.valueOf(serializeTimeMs));
             ctx.header("X-Timing-Total-Ms", String.valueOf(totalTimeMs));
             ctx.header("X-Cell-Count", String.valueOf(cellCount));
+            if (deltaResponse) {
+                ctx.header("X-Delta-Since", String.valueOf(sinceTick));
+            }
             // Note: Content-Length is intentionally NOT set here.
             // Jetty's GzipHandler compresses the response, so setting Content-Length
             // to the uncompressed size would cause HTTP/2 stream errors.
@@ -321,6 +333,96 @@ public class EnvironmentController extends VisualizerBaseController {
         }
     }
     
+    /**
+     * Handles GET requests for one precomputed environment tile.
+     * <p>
+     * Route: GET /tiles/{z}/{x}/{y}?tick=...&runId=...
+     * <p>
+     * Returns the {@code EnvironmentTile} written by the EnvironmentTileIndexer for the latest
+     * tile tick at or before {@code tick}; the {@code X-Tile-Tick} header names that tick. A tile
+     * of exactly the requested tick never changes, so it is served with the {@code tiles} cache
+     * headers (typically a long max-age). A tile of an earlier tick may later be superseded and
+     * is marked non-cacheable.
+     *
+     * @param ctx The Javalin context containing request and response data.
+     * @throws IllegalArgumentException if a path or tick parameter is invalid
+     * @throws VisualizerBaseController.NoRunIdException if no run ID is available
+     * @throws SQLException if database operation fails
+     * @throws TickNotFoundException if no tile is indexed at or before the tick
+     */
+    @OpenApi(
+        path = "tiles/{z}/{x}/{y}",
+        methods = {HttpMethod.GET},
+        summary = "Get a precomputed environment tile",
+        description = "Returns one tile of the environment tile pyramid (dominant cell type, owner density and energy per pixel) for the latest indexed tile tick at or before the requested tick. Requires the EnvironmentTileIndexer.",
+        tags = {"visualizer / environment"},
+        pathParams = {
+            @OpenApiParam(name = "z", description = "Zoom level (each pixel covers 2^z x 2^z cells)", required = true, type = Integer.class),
+            @OpenApiParam(name = "x", description = "Tile column", required = true, type = Integer.class),
+            @OpenApiParam(name = "y", description = "Tile row", required = true, type = Integer.class)
+        },
+        queryParams = {
+            @OpenApiParam(name = "tick", description = "The tick number", required = true, type = Long.class),
+            @OpenApiParam(name = "runId", description = "Optional simulation run ID (defaults to latest run)", required = false)
+        },
+        responses = {
+            @OpenApiResponse(status = "200", description = "OK (application/x-protobuf binary)", content = @OpenApiContent(from = byte[].class)),
+            @OpenApiResponse(status = "304", description = "Not Modified (cached response, ETag matches)"),
+            @OpenApiResponse(status = "400", description = "Bad request (invalid tile coordinates or tick)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "404", description = "Not found (run ID not found or no tile indexed)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "429", description = "Too many requests (connection pool exhausted)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "500", description = "Internal server error (database error)", content = @OpenApiContent(from = ErrorResponseDto.class))
+        }
+    )
+    void getTile(final Context ctx) throws SQLException, TickNotFoundException {
+        final int zoom = parseTileCoordinate(ctx.pathParam("z"), "z");
+        final int tileX = parseTileCoordinate(ctx.pathParam("x"), "x");
+        final int tileY = parseTileCoordinate(ctx.pathParam("y"), "y");
+        final long tickNumber = parseTickNumber(ctx.queryParam("tick"));
+
+        final String runId = resolveRunId(ctx);
+
+        LOGGER.debug("Retrieving environment tile: z={}, x={}, y={}, tick={}, runId={}",
+            zoom, tileX, tileY, tickNumber, runId);
+
+        try (final IDatabaseReader reader = databaseProvider.createReader(runId)) {
+            final EnvironmentTile tile = reader.readTile(tickNumber, zoom, tileX, tileY);
+
+            if (tile.getTickNumber() == tickNumber) {
+                // Immutable: tick and tile position are in the URL
+                final String etag = "\"" + runId + "_" + tickNumber + "_" + zoom + "_" + tileX + "_" + tileY + "\"";
+                if (applyCacheHeaders(ctx, CacheConfig.fromConfig(options, "tiles"), etag)) {
+                    return;
+                }
+            } else {
+                ctx.header("Cache-Control", "no-cache, no-store, must-revalidate");
+            }
+
+            ctx.header("X-Tile-Tick", String.valueOf(tile.getTickNumber()));
+            ctx.contentType("application/x-protobuf");
+            ctx.status(HttpStatus.OK).result(tile.toByteArray());
+        } catch (RuntimeException e) {
+            handleDatabaseException(e, runId);
+        } catch (SQLException e) {
+            if (isSchemaNotFound(e)) {
+                throw new NoRunIdException("Run ID not found: " + runId);
+            }
+            throw e;
+        }
+    }
+
+    private static int parseTileCoordinate(final String param, final String name) {
+        try {
+            final int value = Integer.parseInt(param.trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Tile " + name + " must be non-negative");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid tile " + name + ": " + param);
+        }
+    }
+    
     /**
      * Gets or loads environment properties for a run (cached).
      */
@@ -338,35 +440,11 @@ public class EnvironmentController extends VisualizerBaseController {
     /**
      * Gets or loads the chunk containing the specified tick (cached).
      * <p>
-     * The cache key is "runId:firstTick" where firstTick is the snapshot tick of the chunk.
-     * Since we don't know the firstTick before loading, we first check if any cached chunk
-     * contains the requested tick, otherwise we load from the database.
+     * Concurrent requests for the same chunk share one database read; see {@link TickChunkCache}.
      */
     private TickDataChunk getOrLoadChunk(final String runId, final long tickNumber) throws SQLException, TickNotFoundException {
-        // Try to find a cached chunk that contains this tick
-        // This is a simple linear scan - acceptable for small cache sizes
-        for (var entry : chunkCache.asMap().entrySet()) {
-            if (entry.getKey().startsWith(runId + ":")) {
-                TickDataChunk cached = entry.getValue();
-                if (chunkContainsTick(cached, tickNumber)) {
-                    LOGGER.debug("Chunk cache hit: runId={}, tick={}", runId, tickNumber);
-                    return cached;
-                }
-            }
-        }
-        
-        // Cache miss - load from database
-        LOGGER.debug("Chunk cache miss: runId={}, tick={}", runId, tickNumber);
-        
-        try (final IDatabaseReader reader = databaseProvider.createReader(runId)) {
-            final TickDataChunk chunk = reader.readChunkContaining(tickNumber);
-            
-            // Cache with key "runId:firstTick"
-            final long firstTick = chunk.getSnapshot().getTickNumber();
-            final String cacheKey = runId + ":" + firstTick;
-            chunkCache.put(cacheKey, chunk);
-            
-            return chunk;
+        try {
+            return chunkCache.get(runId, tickNumber);
         } catch (RuntimeException e) {
             if (e.getCause() instanceof SQLException sqlEx) {
                 if (isSchemaNotFound(sqlEx)) {
@@ -377,25 +455,6 @@ public class EnvironmentController extends VisualizerBaseController {
         }
     }
     
-    /**
-     * Checks if a chunk contains the specified tick number.
-     */
-    private boolean chunkContainsTick(final TickDataChunk chunk, final long tickNumber) {
-        if (!chunk.hasSnapshot()) {
-            return false;
-        }
-        
-        final long firstTick = chunk.getSnapshot().getTickNumber();
-        final long lastTick;
-        if (chunk.getDeltasCount() > 0) {
-            lastTick = chunk.getDeltas(chunk.getDeltasCount() - 1).getTickNumber();
-        } else {
-            lastTick = firstTick;
-        }
-        
-        return tickNumber >= firstTick && tickNumber <= lastTick;
-    }
-    
     /**
      * Converts TickData to Protobuf EnvironmentHttpResponse, with optional region filtering and minimap.
      * <p>
@@ -431,33 +490,7 @@ public class EnvironmentController extends VisualizerBaseController {
                 continue;
             }
 
-            final int moleculeInt = cellColumns.getMoleculeData(i);
-            final int moleculeType = moleculeInt & org.evochora.runtime.Config.TYPE_MASK;
-            final int moleculeValue = MoleculeDataUtils.extractSignedValue(moleculeInt);
-            final int marker = (moleculeInt & org.evochora.runtime.Config.MARKER_MASK)
-                    >> org.evochora.runtime.Config.MARKER_SHIFT;
-            final int ownerId = cellColumns.getOwnerIds(i);
-
-            // Build cell with IDs (not string names)
-            final CellHttpResponse.Builder cellBuilder = CellHttpResponse.newBuilder()
-                    .setMoleculeType(moleculeType)
-                    .setMoleculeValue(moleculeValue)
-                    .setOwnerId(ownerId)
-                    .setMarker(marker);
-
-            // Add coordinates
-            for (int coord : coords) {
-                cellBuilder.addCoordinates(coord);
-            }
-
-            // For CODE molecules, include opcode ID (which equals moleculeValue)
-            if (moleculeType == org.evochora.runtime.Config.TYPE_CODE) {
-                cellBuilder.setOpcodeId(moleculeValue);
-            } else {
-                cellBuilder.setOpcodeId(-1);  // Not a CODE molecule
-            }
-
-            responseBuilder.addCells(cellBuilder.build());
+            responseBuilder.addCells(toCellHttpResponse(coords, cellColumns.getMoleculeData(i), cellColumns.getOwnerIds(i)));
         }
 
         // Generate minimap if requested
@@ -480,10 +513,95 @@ public class EnvironmentController extends VisualizerBaseController {
         return responseBuilder.build();
     }
     
+    /**
+     * Builds a delta response from the cells changed since {@code sinceTick}.
+     * <p>
+     * Occupied cells go to {@code cells}; cells that became empty (molecule data and owner 0)
+     * go to {@code cleared_coordinates}. Both are filtered by the region.
+     *
+     * @param changedCells Cells changed between the two ticks, with their content at {@code tickNumber}.
+     * @param tickNumber The requested tick.
+     * @param sinceTick The tick the client already has.
+     * @param region Optional region filter (null = all cells).
+     * @param envProps Environment properties for coordinate conversion.
+     * @return The delta response.
+     */
+    static EnvironmentHttpResponse convertChangedCellsToProtobuf(final CellDataColumns changedCells,
+                                                                final long tickNumber,
+                                                                final long sinceTick,
+                                                                final SpatialRegion region,
+                                                                final EnvironmentProperties envProps) {
+        final int dimensions = envProps.getDimensions();
+        final int[] coords = new int[dimensions];
+
+        final EnvironmentHttpResponse.Builder responseBuilder = EnvironmentHttpResponse.newBuilder()
+                .setTickNumber(tickNumber)
+                .setTotalCells(envProps.getTotalCells())
+                .setDelta(true)
+                .setSinceTick(sinceTick);
+
+        for (int i = 0; i < changedCells.getFlatIndicesCount(); i++) {
+            envProps.flatIndexToCoordinates(changedCells.getFlatIndices(i), coords);
+            if (region != null && !isInRegion(coords, region, dimensions)) {
+                continue;
+            }
+
+            final int moleculeData = changedCells.getMoleculeData(i);
+            final int ownerId = changedCells.getOwnerIds(i);
+            if (moleculeData == 0 && ownerId == 0) {
+                for (final int coord : coords) {
+                    responseBuilder.addClearedCoordinates(coord);
+                }
+            } else {
+                responseBuilder.addCells(toCellHttpResponse(coords, moleculeData, ownerId));
+            }
+        }
+
+        return responseBuilder.build();
+    }
+
+    /**
+     * Converts one cell to its HTTP representation, using IDs instead of string names.
+     * <p>
+     * Shared with {@link PlaybackSession} so streamed cells decode exactly like REST cells.
+     *
+     * @param coords The cell coordinates.
+     * @param moleculeInt The packed molecule data.
+     * @param ownerId The owner organism ID (0 = unowned).
+     * @return The cell message.
+     */
+    static CellHttpResponse toCellHttpResponse(final int[] coords, final int moleculeInt, final int ownerId) {
+        final int moleculeType = moleculeInt & org.evochora.runtime.Config.TYPE_MASK;
+        final int moleculeValue = MoleculeDataUtils.extractSignedValue(moleculeInt);
+        final int marker = (moleculeInt & org.evochora.runtime.Config.MARKER_MASK)
+                >> org.evochora.runtime.Config.MARKER_SHIFT;
+
+        // Build cell with IDs (not string names)
+        final CellHttpResponse.Builder cellBuilder = CellHttpResponse.newBuilder()
+                .setMoleculeType(moleculeType)
+                .setMoleculeValue(moleculeValue)
+                .setOwnerId(ownerId)
+                .setMarker(marker);
+
+        // Add coordinates
+        for (int coord : coords) {
+            cellBuilder.addCoordinates(coord);
+        }
+
+        // For CODE molecules, include opcode ID (which equals moleculeValue)
+        if (moleculeType == org.evochora.runtime.Config.TYPE_CODE) {
+            cellBuilder.setOpcodeId(moleculeValue);
+        } else {
+            cellBuilder.setOpcodeId(-1);  // Not a CODE molecule
+        }
+
+        return cellBuilder.build();
+    }
+
     /**
      * Checks if coordinates are within the specified region.
      */
-    private boolean isInRegion(final int[] coords, final SpatialRegion region, final int dimensions) {
+    static boolean isInRegion(final int[] coords, final SpatialRegion region, final int dimensions) {
         final int[] bounds = region.bounds;
         
         if (dimensions == 2) {
@@ -506,7 +624,7 @@ public class EnvironmentController extends VisualizerBaseController {
     /**
      * Extracts environment properties from metadata.
      */
-    private EnvironmentProperties extractEnvironmentProperties(final SimulationMetadata metadata) {
+    static EnvironmentProperties extractEnvironmentProperties(final SimulationMetadata metadata) {
         return new EnvironmentProperties(
             MetadataConfigHelper.getEnvironmentShape(metadata),
             MetadataConfigHelper.isEnvironmentToroidal(metadata)
@@ -560,43 +678,6 @@ public class EnvironmentController extends VisualizerBaseController {
         }
     }
 
-    /**
-     * Parses the region parameter into a SpatialRegion object.
-     * <p>
-     * Format: "x1,x2,y1,y2" for 2D or "x1,x2,y1,y2,z1,z2" for 3D
-     * <p>
-     * Examples:
-     * <ul>
-     *   <li>"0,100,0,100" → 2D region from (0,0) to (100,100)</li>
-     *   <li>"0,100,0,100,0,50" → 3D region from (0,0,0) to (100,100,50)</li>
-     * </ul>
-     *
-     * @param regionParam The region parameter string (can be null)
-     * @return SpatialRegion object or null if no region specified
-     * @throws IllegalArgumentException if region format is invalid
-     */
-    private SpatialRegion parseRegion(final String regionParam) {
-        if (regionParam == null || regionParam.trim().isEmpty()) {
-            return null;
-        }
-        
-        final String[] parts = regionParam.trim().split(",");
-        if (parts.length % 2 != 0) {
-            throw new IllegalArgumentException("Region must have even number of values (min/max pairs)");
-        }
-        
-        try {
-            final int[] bounds = new int[parts.length];
-            for (int i = 0; i < parts.length; i++) {
-                bounds[i] = Integer.parseInt(parts[i].trim());
-            }
-            
-            return new SpatialRegion(bounds);
-        } catch (final NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid region format: " + regionParam, e);
-        }
-    }
-
     /**
      * Handles GET requests for the tick range of indexed environment data.
      * <p>
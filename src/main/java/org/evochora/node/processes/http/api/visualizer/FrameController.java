@@ -0,0 +1,404 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.evochora.datapipeline.api.contracts.SimulationMetadata;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.rendering.IFrameRenderer;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
+import org.evochora.datapipeline.api.resources.database.MetadataNotFoundException;
+import org.evochora.datapipeline.api.resources.database.TickNotFoundException;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
+import org.evochora.node.processes.http.api.pipeline.dto.ErrorResponseDto;
+import org.evochora.node.spi.ServiceRegistry;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigFactory;
+
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import io.javalin.openapi.HttpMethod;
+import io.javalin.openapi.OpenApi;
+import io.javalin.openapi.OpenApiContent;
+import io.javalin.openapi.OpenApiParam;
+import io.javalin.openapi.OpenApiResponse;
+
+/**
+ * HTTP controller that renders environment frames server-side to PNG or JPEG images.
+ * <p>
+ * Draws with the same renderer cores as the {@code video} command. They are configured by
+ * class name, so this controller depends only on the {@link IFrameRenderer} contract; each
+ * renderer is created through its public {@code (Config)} constructor from its
+ * {@code options} block:
+ * <pre>
+ * renderers {
+ *   exact { className = "org.evochora.datapipeline.rendering.frame.ExactFrameRendererCore", options { scale = 1 } }
+ * }
+ * </pre>
+ * Per run and renderer, a {@link FrameRendererPool} keeps initialized instances warm, so
+ * sequential ticks are drawn incrementally from the chunk deltas. A frame is a fraction of
+ * the size of the cell data of a tick, which suits thumbnails and low-power clients.
+ * <p>
+ * Configuration:
+ * <ul>
+ *   <li>{@code renderers} - Renderer name to {@code className} and optional {@code options}</li>
+ *   <li>{@code default-renderer} - Renderer used without a {@code renderer} parameter
+ *       (default: the first configured)</li>
+ *   <li>{@code instances-per-run} - Maximum warm instances per run and renderer (default: 2)</li>
+ *   <li>{@code max-pools} - Maximum number of (run, renderer) pools kept (default: 4)</li>
+ *   <li>{@code pool-expire-after-access} - Seconds an unused pool is kept (default: 600)</li>
+ * </ul>
+ * <p>
+ * <strong>Thread Safety:</strong> This controller is thread-safe. Each request leases its own
+ * renderer instance; if all instances of a pool are busy, the request is answered with 429.
+ */
+public class FrameController extends VisualizerBaseController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FrameController.class);
+
+    private final TickChunkCache chunkCache;
+    private final Map<String, RendererDefinition> renderers = new LinkedHashMap<>();
+    private final String defaultRenderer;
+    private final int instancesPerRun;
+    private final Cache<String, RunPool> pools;
+
+    /**
+     * Constructs a new FrameController.
+     *
+     * @param registry The central service registry for accessing shared services.
+     * @param options  The HOCON configuration specific to this controller instance.
+     * @throws IllegalArgumentException if a renderer is misconfigured
+     */
+    public FrameController(final ServiceRegistry registry, final Config options) {
+        super(registry, options);
+        this.chunkCache = TickChunkCache.shared(registry, options);
+
+        if (!options.hasPath("renderers") || options.getConfig("renderers").root().isEmpty()) {
+            throw new IllegalArgumentException("At least one renderer must be configured");
+        }
+        final Config rendererConfigs = options.getConfig("renderers");
+        for (final String name : rendererConfigs.root().keySet()) {
+            renderers.put(name, RendererDefinition.fromConfig(name, rendererConfigs.getConfig(name)));
+        }
+        this.defaultRenderer = options.hasPath("default-renderer")
+            ? options.getString("default-renderer")
+            : renderers.keySet().iterator().next();
+        if (!renderers.containsKey(defaultRenderer)) {
+            throw new IllegalArgumentException("default-renderer is not configured: " + defaultRenderer);
+        }
+
+        this.instancesPerRun = options.hasPath("instances-per-run") ? options.getInt("instances-per-run") : 2;
+        if (instancesPerRun < 1) {
+            throw new IllegalArgumentException("instances-per-run must be at least 1, got " + instancesPerRun);
+        }
+        final int maxPools = options.hasPath("max-pools") ? options.getInt("max-pools") : 4;
+        final int expireAfterAccess = options.hasPath("pool-expire-after-access")
+            ? options.getInt("pool-expire-after-access") : 600;
+        this.pools = Caffeine.newBuilder()
+            .maximumSize(maxPools)
+            .expireAfterAccess(Duration.ofSeconds(expireAfterAccess))
+            .build();
+    }
+
+    @Override
+    public void registerRoutes(final Javalin app, final String basePath) {
+        final String framePath = (basePath + "/{tick}").replaceAll("//", "/");
+
+        LOGGER.debug("Registering frame endpoint: {} (renderers: {})", framePath, renderers.keySet());
+
+        app.get(framePath, this::getFrame);
+
+        setupExceptionHandlers(app);
+    }
+
+    /**
+     * Handles GET requests for a rendered frame.
+     * <p>
+     * Route: GET /{tick}?renderer=exact&amp;format=png&amp;region=x1,x2,y1,y2&amp;maxWidth=...&amp;runId=...
+     * <p>
+     * Renders the last stored tick at or before {@code tick} (named by the {@code X-Frame-Tick}
+     * header). {@code region} crops the frame to a cell range of the first two dimensions,
+     * {@code maxWidth} scales it down (e.g. for thumbnails). Stored ticks never change, so frames
+     * are served with the {@code frames} cache headers.
+     *
+     * @param ctx The Javalin context containing request and response data.
+     * @throws IllegalArgumentException if a parameter is invalid
+     * @throws VisualizerBaseController.NoRunIdException if no run ID is available
+     * @throws VisualizerBaseController.PoolExhaustionException if all renderers are busy
+     * @throws SQLException if database operation fails
+     * @throws TickNotFoundException if the tick is not indexed
+     */
+    @OpenApi(
+        path = "{tick}",
+        methods = {HttpMethod.GET},
+        summary = "Get a server-side rendered frame",
+        description = "Renders the environment at the last stored tick at or before the requested tick with one of the configured video frame renderers and returns it as an image.",
+        tags = {"visualizer / frames"},
+        pathParams = {
+            @OpenApiParam(name = "tick", description = "The tick number", required = true, type = Long.class)
+        },
+        queryParams = {
+            @OpenApiParam(name = "renderer", description = "Renderer name (defaults to the configured default renderer)", required = false),
+            @OpenApiParam(name = "format", description = "Image format: png (default) or jpeg", required = false),
+            @OpenApiParam(name = "region", description = "Optional cell range to crop to (x1,x2,y1,y2)", required = false),
+            @OpenApiParam(name = "maxWidth", description = "Optional maximum image width; larger frames are scaled down", required = false, type = Integer.class),
+            @OpenApiParam(name = "runId", description = "Optional simulation run ID (defaults to latest run)", required = false)
+        },
+        responses = {
+            @OpenApiResponse(status = "200", description = "OK (image/png or image/jpeg)", content = @OpenApiContent(from = byte[].class)),
+            @OpenApiResponse(status = "304", description = "Not Modified (cached response, ETag matches)"),
+            @OpenApiResponse(status = "400", description = "Bad request (invalid parameters)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "404", description = "Not found (run ID or tick not found)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "429", description = "Too many requests (all renderers busy or connection pool exhausted)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "500", description = "Internal server error", content = @OpenApiContent(from = ErrorResponseDto.class))
+        }
+    )
+    void getFrame(final Context ctx) throws SQLException, TickNotFoundException {
+        final long tickNumber = parseTickNumber(ctx.pathParam("tick"));
+        final String rendererName = ctx.queryParam("renderer") != null ? ctx.queryParam("renderer").trim() : defaultRenderer;
+        if (!renderers.containsKey(rendererName)) {
+            throw new IllegalArgumentException("Unknown renderer: " + rendererName + " (available: " + renderers.keySet() + ")");
+        }
+        final String format = parseFormat(ctx.queryParam("format"));
+        final SpatialRegion region = parseRegion(ctx.queryParam("region"));
+        final int maxWidth = parseMaxWidth(ctx.queryParam("maxWidth"));
+        final String runId = resolveRunId(ctx);
+
+        final TickDataChunk chunk = getOrLoadChunk(runId, tickNumber);
+        final long renderedTick = FrameRendererPool.renderedTick(chunk, tickNumber);
+
+        final String etag = "\"" + runId + "_" + renderedTick + "_" + rendererName + "_" + format + "_"
+            + ctx.queryParam("region") + "_" + maxWidth + "\"";
+        if (applyCacheHeaders(ctx, CacheConfig.fromConfig(options, "frames"), etag)) {
+            return;
+        }
+
+        final RunPool pool = pools.get(runId + "/" + rendererName, key -> createPool(runId, rendererName));
+        final byte[] image;
+        try (FrameRendererPool.Lease lease = pool.renderers().acquire(chunk, tickNumber)) {
+            image = encode(scaleDown(crop(lease.render(), region, pool.worldShape()), maxWidth), format);
+        }
+
+        ctx.header("X-Frame-Tick", String.valueOf(renderedTick));
+        ctx.contentType("image/" + format);
+        ctx.status(HttpStatus.OK).result(image);
+    }
+
+    /**
+     * Creates a renderer for the run and the pool that keeps its instances warm.
+     */
+    private RunPool createPool(final String runId, final String rendererName) {
+        final EnvironmentProperties envProps;
+        try (final IDatabaseReader reader = databaseProvider.createReader(runId)) {
+            final SimulationMetadata metadata = reader.getMetadata();
+            envProps = EnvironmentController.extractEnvironmentProperties(metadata);
+        } catch (MetadataNotFoundException e) {
+            throw new NoRunIdException("No metadata for run: " + runId, e);
+        } catch (SQLException e) {
+            if (isSchemaNotFound(e)) {
+                throw new NoRunIdException("Run ID not found: " + runId, e);
+            }
+            if (isPoolExhaustion(e)) {
+                throw new PoolExhaustionException("Connection pool exhausted", e);
+            }
+            throw new RuntimeException("Failed to load metadata for run: " + runId, e);
+        }
+
+        final IFrameRenderer renderer = renderers.get(rendererName).newInstance();
+        renderer.init(envProps);
+        LOGGER.debug("Frame renderer pool created: runId={}, renderer={}, size={}x{}",
+            runId, rendererName, renderer.getImageWidth(), renderer.getImageHeight());
+        return new RunPool(new FrameRendererPool(renderer, instancesPerRun), envProps.getWorldShape());
+    }
+
+    private TickDataChunk getOrLoadChunk(final String runId, final long tickNumber) throws SQLException, TickNotFoundException {
+        try {
+            return chunkCache.get(runId, tickNumber);
+        } catch (SQLException e) {
+            if (isSchemaNotFound(e)) {
+                throw new NoRunIdException("Run ID not found: " + runId, e);
+            }
+            if (isPoolExhaustion(e)) {
+                throw new PoolExhaustionException("Connection pool exhausted", e);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof SQLException sqlEx && isSchemaNotFound(sqlEx)) {
+                throw new NoRunIdException("Run ID not found: " + runId, sqlEx);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Crops the frame to the pixels covering the region's cells in the first two dimensions.
+     * Renderers draw a fixed number of pixels per cell (possibly fractional), derived from the
+     * frame size.
+     */
+    static BufferedImage crop(final BufferedImage frame, final SpatialRegion region, final int[] worldShape) {
+        if (region == null) {
+            return frame;
+        }
+        if (region.getDimensions() < 2) {
+            throw new IllegalArgumentException("Region must cover at least two dimensions");
+        }
+        final int[] bounds = region.bounds;
+        if (bounds[0] > bounds[1] || bounds[2] > bounds[3] || bounds[1] < 0 || bounds[3] < 0
+                || bounds[0] >= worldShape[0] || bounds[2] >= worldShape[1]) {
+            throw new IllegalArgumentException("Region does not overlap the environment");
+        }
+        final double scaleX = (double) frame.getWidth() / worldShape[0];
+        final double scaleY = (double) frame.getHeight() / worldShape[1];
+        final int x0 = (int) Math.floor(Math.max(0, bounds[0]) * scaleX);
+        final int y0 = (int) Math.floor(Math.max(0, bounds[2]) * scaleY);
+        final int x1 = Math.min(frame.getWidth(), (int) Math.ceil(Math.min(worldShape[0], bounds[1] + 1L) * scaleX));
+        final int y1 = Math.min(frame.getHeight(), (int) Math.ceil(Math.min(worldShape[1], bounds[3] + 1L) * scaleY));
+        // Shares the renderer's buffer; only valid while the lease is held
+        return frame.getSubimage(x0, y0, Math.max(1, x1 - x0), Math.max(1, y1 - y0));
+    }
+
+    /**
+     * Scales the image down to {@code maxWidth}, keeping the aspect ratio.
+     */
+    static BufferedImage scaleDown(final BufferedImage image, final int maxWidth) {
+        if (maxWidth <= 0 || image.getWidth() <= maxWidth) {
+            return image;
+        }
+        final int height = Math.max(1, (int) Math.round((double) image.getHeight() * maxWidth / image.getWidth()));
+        final BufferedImage scaled = new BufferedImage(maxWidth, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, maxWidth, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(final BufferedImage image, final String format) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            if (!ImageIO.write(image, format, out)) {
+                throw new IllegalStateException("No image writer for format: " + format);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode frame as " + format, e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String parseFormat(final String formatParam) {
+        if (formatParam == null || formatParam.isBlank()) {
+            return "png";
+        }
+        final String format = formatParam.trim().toLowerCase();
+        return switch (format) {
+            case "png" -> "png";
+            case "jpeg", "jpg" -> "jpeg";
+            default -> throw new IllegalArgumentException("Unsupported format: " + formatParam + " (use png or jpeg)");
+        };
+    }
+
+    private static int parseMaxWidth(final String maxWidthParam) {
+        if (maxWidthParam == null || maxWidthParam.isBlank()) {
+            return 0;
+        }
+        try {
+            final int maxWidth = Integer.parseInt(maxWidthParam.trim());
+            if (maxWidth < 1) {
+                throw new IllegalArgumentException("maxWidth must be positive");
+            }
+            return maxWidth;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid maxWidth: " + maxWidthParam, e);
+        }
+    }
+
+    private static long parseTickNumber(final String tickParam) {
+        try {
+            final long tick = Long.parseLong(tickParam.trim());
+            if (tick < 0) {
+                throw new IllegalArgumentException("Tick number must be non-negative");
+            }
+            return tick;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid tick number: " + tickParam, e);
+        }
+    }
+
+    /**
+     * The warm renderers of one run and renderer type, with the run's world shape.
+     */
+    private record RunPool(FrameRendererPool renderers, int[] worldShape) {
+    }
+
+    /**
+     * A configured renderer: its {@code (Config)} constructor and the options passed to it.
+     */
+    private record RendererDefinition(String name, Constructor<? extends IFrameRenderer> constructor, Config options) {
+
+        static RendererDefinition fromConfig(final String name, final Config config) {
+            final String className = config.getString("className");
+            final Config options = config.hasPath("options") ? config.getConfig("options") : ConfigFactory.empty();
+            final Class<?> clazz;
+            try {
+                clazz = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Renderer class not found for '" + name + "': " + className, e);
+            }
+            if (!IFrameRenderer.class.isAssignableFrom(clazz)) {
+                throw new IllegalArgumentException("Renderer '" + name + "' does not implement IFrameRenderer: " + className);
+            }
+            final Constructor<? extends IFrameRenderer> constructor;
+            try {
+                constructor = clazz.asSubclass(IFrameRenderer.class).getConstructor(Config.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(
+                    "Renderer '" + name + "' must have public constructor(Config): " + className, e);
+            }
+            final RendererDefinition definition = new RendererDefinition(name, constructor, options);
+            // Fail at startup, not on the first request
+            definition.newInstance();
+            return definition;
+        }
+
+        /**
+         * Creates an uninitialized renderer from its options.
+         */
+        IFrameRenderer newInstance() {
+            try {
+                return constructor.newInstance(options);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof IllegalArgumentException
+                        || e.getCause() instanceof ConfigException) {
+                    throw new IllegalArgumentException(
+                        "Invalid options for renderer '" + name + "': " + e.getCause().getMessage(), e.getCause());
+                }
+                throw new IllegalArgumentException("Cannot instantiate renderer '" + name + "': " + e.getCause(), e);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot instantiate renderer '" + name + "': " + e.getMessage(), e);
+            }
+        }
+    }
+}
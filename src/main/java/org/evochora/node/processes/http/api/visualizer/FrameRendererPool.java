@@ -0,0 +1,195 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.DeltaType;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.rendering.IFrameRenderer;
+
+/**
+ * Warm renderer instances of one run and renderer type.
+ * <p>
+ * Each instance remembers the stored tick it last rendered. A request is served by the idle
+ * instance that can reach the requested tick with the fewest {@code renderDelta} calls, so
+ * sequential requests (playback, scrubbing forward) only draw the changed cells. Otherwise the
+ * instance is reset from the chunk snapshot, using the closest accumulated delta as a shortcut
+ * like {@code DeltaCodec.Decoder}. Instances are created lazily with
+ * {@link IFrameRenderer#createThreadInstance()} up to a fixed maximum.
+ * <p>
+ * <strong>Thread Safety:</strong> Thread-safe. A leased renderer is used by one thread only.
+ */
+final class FrameRendererPool {
+
+    private final IFrameRenderer prototype;
+    private final int maxInstances;
+    private final List<WarmRenderer> idle = new ArrayList<>();
+    private int created;
+
+    /**
+     * Creates a pool whose first instance is {@code prototype}.
+     *
+     * @param prototype    An initialized renderer; further instances are created from it.
+     * @param maxInstances Maximum number of instances (at least 1).
+     */
+    FrameRendererPool(final IFrameRenderer prototype, final int maxInstances) {
+        if (maxInstances < 1) {
+            throw new IllegalArgumentException("maxInstances must be at least 1, got " + maxInstances);
+        }
+        this.prototype = prototype;
+        this.maxInstances = maxInstances;
+    }
+
+    /**
+     * Leases the renderer best suited for rendering {@code tick} of {@code chunk}.
+     *
+     * @param chunk The chunk containing the tick.
+     * @param tick  The requested tick; ticks between two stored ticks snap to the earlier one.
+     * @return The lease; close it to return the renderer to the pool.
+     * @throws VisualizerBaseController.PoolExhaustionException if all instances are in use.
+     */
+    synchronized Lease acquire(final TickDataChunk chunk, final long tick) {
+        final int target = positionOf(chunk, tick);
+
+        WarmRenderer best = null;
+        for (final WarmRenderer candidate : idle) {
+            if (candidate.canAdvanceTo(chunk, target) && (best == null || candidate.position > best.position)) {
+                best = candidate;
+            }
+        }
+
+        if (best == null) {
+            if (created < maxInstances) {
+                // A new instance keeps the idle ones warm for their own clients
+                best = new WarmRenderer(created == 0 ? prototype : prototype.createThreadInstance());
+                created++;
+                return new Lease(best, chunk, target);
+            }
+            if (idle.isEmpty()) {
+                throw new VisualizerBaseController.PoolExhaustionException(
+                    "All " + maxInstances + " frame renderers are in use");
+            }
+            // Reset the least recently used instance
+            best = idle.get(0);
+        }
+        idle.remove(best);
+        return new Lease(best, chunk, target);
+    }
+
+    /**
+     * Returns the tick a request for {@code tick} is rendered at: the last stored tick of the
+     * chunk at or before it.
+     *
+     * @param chunk The chunk containing the tick.
+     * @param tick  The requested tick.
+     * @return The stored tick.
+     */
+    static long renderedTick(final TickDataChunk chunk, final long tick) {
+        final int position = positionOf(chunk, tick);
+        return position < 0 ? chunk.getSnapshot().getTickNumber() : chunk.getDeltas(position).getTickNumber();
+    }
+
+    /**
+     * Returns the number of instances created so far.
+     *
+     * @return The instance count.
+     */
+    synchronized int getInstanceCount() {
+        return created;
+    }
+
+    private synchronized void release(final WarmRenderer renderer) {
+        idle.add(renderer);
+    }
+
+    /**
+     * Position of the last stored tick at or before {@code tick}: -1 for the snapshot,
+     * otherwise the delta index.
+     */
+    private static int positionOf(final TickDataChunk chunk, final long tick) {
+        int position = -1;
+        for (int i = 0; i < chunk.getDeltasCount() && chunk.getDeltas(i).getTickNumber() <= tick; i++) {
+            position = i;
+        }
+        return position;
+    }
+
+    /**
+     * A renderer instance and the stored tick its frame shows.
+     */
+    private static final class WarmRenderer {
+        private final IFrameRenderer renderer;
+        private long chunkFirstTick = -1;
+        private int position;
+
+        WarmRenderer(final IFrameRenderer renderer) {
+            this.renderer = renderer;
+        }
+
+        boolean canAdvanceTo(final TickDataChunk chunk, final int target) {
+            return chunkFirstTick == chunk.getFirstTick() && position <= target;
+        }
+
+        BufferedImage render(final TickDataChunk chunk, final int target) {
+            if (!canAdvanceTo(chunk, target)) {
+                // Invalid until the snapshot is drawn
+                chunkFirstTick = -1;
+                renderer.renderSnapshot(chunk.getSnapshot());
+                position = -1;
+                // Skip to the closest accumulated delta: it contains all changes since the snapshot
+                for (int i = 0; i <= target; i++) {
+                    if (chunk.getDeltas(i).getDeltaType() == DeltaType.ACCUMULATED) {
+                        position = i - 1;
+                    }
+                }
+                chunkFirstTick = chunk.getFirstTick();
+            }
+            try {
+                while (position < target) {
+                    renderer.renderDelta(chunk.getDeltas(position + 1));
+                    position++;
+                }
+            } catch (RuntimeException e) {
+                // The frame may be partially updated; force a reset on the next use
+                chunkFirstTick = -1;
+                throw e;
+            }
+            return renderer.getFrame();
+        }
+    }
+
+    /**
+     * Exclusive use of one renderer until closed.
+     */
+    final class Lease implements AutoCloseable {
+        private final WarmRenderer renderer;
+        private final TickDataChunk chunk;
+        private final int target;
+        private boolean closed;
+
+        private Lease(final WarmRenderer renderer, final TickDataChunk chunk, final int target) {
+            this.renderer = renderer;
+            this.chunk = chunk;
+            this.target = target;
+        }
+
+        /**
+         * Renders the leased tick. The image is owned by the renderer and valid until the lease
+         * is closed.
+         *
+         * @return The rendered frame.
+         */
+        BufferedImage render() {
+            return renderer.render(chunk, target);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(renderer);
+            }
+        }
+    }
+}
@@ -11,13 +11,16 @@ import io.javalin.openapi.OpenApiParam;
 import io.javalin.openapi.OpenApiResponse;
 import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
 import org.evochora.datapipeline.api.resources.database.OrganismNotFoundException;
+import org.evochora.datapipeline.api.resources.database.dto.OrganismLineage;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickDetails;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickSummary;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
 import org.evochora.datapipeline.api.resources.database.dto.TickRange;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.evochora.node.processes.http.api.pipeline.dto.ErrorResponseDto;
+import org.evochora.node.processes.http.api.visualizer.dto.CommonAncestorResponseDto;
 import org.evochora.node.processes.http.api.visualizer.dto.OrganismsResponseDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +39,7 @@ import java.util.List;
  * <ul>
  *   <li>Tick-based organism listing for grid and dropdown views</li>
  *   <li>Per-organism detailed state for sidebar view</li>
+ *   <li>Lineage queries (ancestors, descendants, common ancestor) backed by the lineage index</li>
  *   <li>Run ID resolution (query parameter → latest run)</li>
  *   <li>Optional HTTP caching with ETags (disabled by default)</li>
  *   <li>Comprehensive error handling (400/404/429/500)</li>
@@ -47,6 +51,9 @@ public class OrganismController extends VisualizerBaseController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrganismController.class);
 
+    /** Default maximum number of descendant IDs returned by the lineage endpoint. */
+    static final int DEFAULT_DESCENDANT_LIMIT = 1000;
+
     /**
      * Constructs a new OrganismController.
      *
@@ -62,12 +69,17 @@ public class OrganismController extends VisualizerBaseController {
         final String listPath = (basePath + "/{tick}").replaceAll("//", "/");
         final String detailPath = (basePath + "/{tick}/{organismId}").replaceAll("//", "/");
         final String ticksPath = (basePath + "/ticks").replaceAll("//", "/");
+        final String lineagePath = (basePath + "/lineage/{organismId}").replaceAll("//", "/");
+        final String commonAncestorPath = (basePath + "/lineage/{organismId}/common/{otherOrganismId}").replaceAll("//", "/");
 
-        LOGGER.debug("Registering organism endpoints: list={}, detail={}, ticks={}", listPath, detailPath, ticksPath);
+        LOGGER.debug("Registering organism endpoints: list={}, detail={}, ticks={}, lineage={}",
+            listPath, detailPath, ticksPath, lineagePath);
 
-        // IMPORTANT: Register /ticks BEFORE /{tick} to avoid path parameter conflict
-        // Javalin matches routes in registration order, so /ticks must come first
+        // IMPORTANT: Register /ticks and /lineage BEFORE /{tick} to avoid path parameter conflict
+        // Javalin matches routes in registration order, so fixed segments must come first
         app.get(ticksPath, this::getTicks);
+        app.get(lineagePath, this::getOrganismLineage);
+        app.get(commonAncestorPath, this::getCommonAncestor);
         app.get(listPath, this::getOrganismsAtTick);
         app.get(detailPath, this::getOrganismDetails);
 
@@ -78,7 +90,7 @@ public class OrganismController extends VisualizerBaseController {
     /**
      * Handles GET requests for all organisms that are alive at a specific tick.
      * <p>
-     * Route: GET /visualizer/api/organisms/{tick}?runId=...
+     * Route: GET /visualizer/api/organisms/{tick}?runId=...&region=x1,x2,y1,y2
      * <p>
      * Response format:
      * <pre>
@@ -104,7 +116,8 @@ public class OrganismController extends VisualizerBaseController {
             @OpenApiParam(name = "tick", description = "The tick number", required = true, type = Long.class)
         },
         queryParams = {
-            @OpenApiParam(name = "runId", description = "Optional simulation run ID (defaults to latest run)", required = false)
+            @OpenApiParam(name = "runId", description = "Optional simulation run ID (defaults to latest run)", required = false),
+            @OpenApiParam(name = "region", description = "Optional spatial region as comma-separated bounds (e.g., \"0,100,0,100\"); only organisms whose IP or a data pointer lies inside are returned", required = false)
         },
         responses = {
             @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = OrganismsResponseDto.class)),
@@ -117,9 +130,17 @@ public class OrganismController extends VisualizerBaseController {
     )
     void getOrganismsAtTick(final Context ctx) throws SQLException {
         final long tickNumber = parseTickNumber(ctx.pathParam("tick"));
+        final SpatialRegion region = parseRegion(ctx.queryParam("region"));
         final String runId = resolveRunId(ctx);
 
-        LOGGER.debug("Retrieving organisms for tick={} runId={}", tickNumber, runId);
+        LOGGER.debug("Retrieving organisms for tick={} runId={} region={}", tickNumber, runId, region);
+
+        // Playback requests organisms and environment for every tick: start loading the tick's
+        // environment chunk, so the environment request finds it cached or joins the load
+        final TickChunkCache chunkCache = sharedChunkCache();
+        if (chunkCache != null) {
+            chunkCache.prefetch(runId, tickNumber);
+        }
 
         // Parse cache configuration (separate namespace "organisms")
         final CacheConfig cacheConfig = CacheConfig.fromConfig(options, "organisms");
@@ -133,7 +154,10 @@ public class OrganismController extends VisualizerBaseController {
                 return;
             }
 
-            final List<OrganismTickSummary> organisms = reader.readOrganismsAtTick(tickNumber);
+            // Region queries use the per-tick spatial index and skip organisms outside the viewport
+            final List<OrganismTickSummary> organisms = region != null
+                    ? reader.readOrganismsAtTick(tickNumber, region)
+                    : reader.readOrganismsAtTick(tickNumber);
             final int totalOrganismCount = reader.readTotalOrganismsCreated(tickNumber);
             final Map<Long, Long> genomeTree = reader.readGenomeLineageTree(tickNumber);
 
@@ -229,6 +253,145 @@ public class OrganismController extends VisualizerBaseController {
         }
     }
 
+    /**
+     * Handles GET requests for an organism's position in the birth tree.
+     * <p>
+     * Route: GET /visualizer/api/organisms/lineage/{organismId}?runId=...&amp;tick=...&amp;limit=...
+     * <p>
+     * Returns the ancestry chain, the root and depth, and the descendants born up to {@code tick}
+     * (all indexed descendants if omitted). The descendant list is cut off after {@code limit}
+     * entries; {@code descendantCount} is always complete.
+     *
+     * @param ctx The Javalin context containing request and response data.
+     * @throws IllegalArgumentException if organismId, tick or limit are invalid
+     * @throws NoRunIdException if no run ID is available
+     * @throws SQLException if database operations fail
+     * @throws OrganismNotFoundException if the organism has not been indexed
+     */
+    @OpenApi(
+        path = "lineage/{organismId}",
+        methods = {HttpMethod.GET},
+        summary = "Get organism lineage",
+        description = "Returns ancestors, root, depth and descendants (born up to the given tick) of an organism",
+        tags = {"visualizer / organism"},
+        pathParams = {
+            @OpenApiParam(name = "organismId", description = "The organism ID", required = true, type = Integer.class)
+        },
+        queryParams = {
+            @OpenApiParam(name = "runId", description = "Optional simulation run ID (defaults to latest run)", required = false),
+            @OpenApiParam(name = "tick", description = "Only count descendants born at or before this tick (defaults to all)", required = false, type = Long.class),
+            @OpenApiParam(name = "limit", description = "Maximum number of descendant IDs to return (default " + DEFAULT_DESCENDANT_LIMIT + ")", required = false, type = Integer.class)
+        },
+        responses = {
+            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = OrganismLineage.class)),
+            @OpenApiResponse(status = "304", description = "Not Modified (cached response, ETag matches)"),
+            @OpenApiResponse(status = "400", description = "Bad request (invalid organismId, tick or limit)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "404", description = "Not found (organism or run ID not found)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "429", description = "Too many requests (connection pool exhausted)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "500", description = "Internal server error (database error)", content = @OpenApiContent(from = ErrorResponseDto.class))
+        }
+    )
+    void getOrganismLineage(final Context ctx) throws SQLException, OrganismNotFoundException {
+        final int organismId = parseOrganismId(ctx.pathParam("organismId"));
+        final String tickParam = ctx.queryParam("tick");
+        final long tickNumber = tickParam != null ? parseTickNumber(tickParam) : Long.MAX_VALUE;
+        final int limit = parseLimit(ctx.queryParam("limit"));
+        final String runId = resolveRunId(ctx);
+
+        LOGGER.debug("Retrieving organism lineage: organismId={}, tick={}, limit={}, runId={}",
+            organismId, tickParam, limit, runId);
+
+        final CacheConfig cacheConfig = CacheConfig.fromConfig(options, "organismLineage");
+
+        try (final IDatabaseReader reader = databaseProvider.createReader(runId)) {
+            // Only tick-bounded results are stable; unbounded ones grow while the run is indexed
+            if (tickParam != null) {
+                final String etag = "\"" + runId + "_lineage_" + organismId + "_" + tickNumber + "_" + limit + "\"";
+                if (applyCacheHeaders(ctx, cacheConfig, etag)) {
+                    return;
+                }
+            }
+
+            ctx.status(HttpStatus.OK).json(reader.readOrganismLineage(organismId, tickNumber, limit));
+        } catch (OrganismNotFoundException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            handleDatabaseException(e, runId, "organism lineage");
+        } catch (SQLException e) {
+            if (isSchemaNotFound(e)) {
+                throw new NoRunIdException("Run ID not found: " + runId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Handles GET requests for the most recent common ancestor of two organisms.
+     * <p>
+     * Route: GET /visualizer/api/organisms/lineage/{organismId}/common/{otherOrganismId}?runId=...
+     * <p>
+     * {@code commonAncestorId} is {@code null} if the organisms descend from different roots.
+     * If one organism is an ancestor of the other, it is its own common ancestor.
+     *
+     * @param ctx The Javalin context containing request and response data.
+     * @throws IllegalArgumentException if an organism ID is invalid
+     * @throws NoRunIdException if no run ID is available
+     * @throws SQLException if database operations fail
+     * @throws OrganismNotFoundException if either organism has not been indexed
+     */
+    @OpenApi(
+        path = "lineage/{organismId}/common/{otherOrganismId}",
+        methods = {HttpMethod.GET},
+        summary = "Get the common ancestor of two organisms",
+        description = "Returns the most recent common ancestor of two organisms, or null if they have different roots",
+        tags = {"visualizer / organism"},
+        pathParams = {
+            @OpenApiParam(name = "organismId", description = "The first organism ID", required = true, type = Integer.class),
+            @OpenApiParam(name = "otherOrganismId", description = "The second organism ID", required = true, type = Integer.class)
+        },
+        queryParams = {
+            @OpenApiParam(name = "runId", description = "Optional simulation run ID (defaults to latest run)", required = false)
+        },
+        responses = {
+            @OpenApiResponse(status = "200", description = "OK", content = @OpenApiContent(from = CommonAncestorResponseDto.class)),
+            @OpenApiResponse(status = "304", description = "Not Modified (cached response, ETag matches)"),
+            @OpenApiResponse(status = "400", description = "Bad request (invalid organism ID)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "404", description = "Not found (organism or run ID not found)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "429", description = "Too many requests (connection pool exhausted)", content = @OpenApiContent(from = ErrorResponseDto.class)),
+            @OpenApiResponse(status = "500", description = "Internal server error (database error)", content = @OpenApiContent(from = ErrorResponseDto.class))
+        }
+    )
+    void getCommonAncestor(final Context ctx) throws SQLException, OrganismNotFoundException {
+        final int organismId = parseOrganismId(ctx.pathParam("organismId"));
+        final int otherOrganismId = parseOrganismId(ctx.pathParam("otherOrganismId"));
+        final String runId = resolveRunId(ctx);
+
+        LOGGER.debug("Retrieving common ancestor: organismId={}, otherOrganismId={}, runId={}",
+            organismId, otherOrganismId, runId);
+
+        final CacheConfig cacheConfig = CacheConfig.fromConfig(options, "organismLineage");
+
+        try (final IDatabaseReader reader = databaseProvider.createReader(runId)) {
+            // Parents never change once indexed, so the answer is immutable
+            final String etag = "\"" + runId + "_common_" + organismId + "_" + otherOrganismId + "\"";
+            if (applyCacheHeaders(ctx, cacheConfig, etag)) {
+                return;
+            }
+
+            final Integer commonAncestorId = reader.readCommonAncestor(organismId, otherOrganismId);
+            ctx.status(HttpStatus.OK).json(new CommonAncestorResponseDto(organismId, otherOrganismId, commonAncestorId));
+        } catch (OrganismNotFoundException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            handleDatabaseException(e, runId, "common ancestor");
+        } catch (SQLException e) {
+            if (isSchemaNotFound(e)) {
+                throw new NoRunIdException("Run ID not found: " + runId);
+            }
+            throw e;
+        }
+    }
+
     /**
      * Handles database exceptions from RuntimeException wrappers with appropriate error mapping.
      *
@@ -251,6 +414,14 @@ public class OrganismController extends VisualizerBaseController {
         throw new RuntimeException("Error retrieving " + context + " for runId: " + runId, e);
     }
 
+    /**
+     * Returns the chunk cache of the environment controller, or null if this server has none.
+     * Looked up per request because the environment controller may be constructed after this one.
+     */
+    private TickChunkCache sharedChunkCache() {
+        return registry.hasService(TickChunkCache.class) ? registry.get(TickChunkCache.class) : null;
+    }
+
     private long parseTickNumber(final String tickParam) {
         if (tickParam == null || tickParam.trim().isEmpty()) {
             throw new IllegalArgumentException("Tick parameter is required");
@@ -266,6 +437,21 @@ public class OrganismController extends VisualizerBaseController {
         }
     }
 
+    private int parseLimit(final String limitParam) {
+        if (limitParam == null || limitParam.trim().isEmpty()) {
+            return DEFAULT_DESCENDANT_LIMIT;
+        }
+        try {
+            final int limit = Integer.parseInt(limitParam.trim());
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must be non-negative");
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid limit: " + limitParam, e);
+        }
+    }
+
     private int parseOrganismId(final String organismParam) {
         if (organismParam == null || organismParam.trim().isEmpty()) {
             throw new IllegalArgumentException("OrganismId parameter is required");
@@ -0,0 +1,349 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.DeltaType;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.PlaybackFrame;
+import org.evochora.datapipeline.api.contracts.PlaybackOrganism;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.datapipeline.api.resources.database.TickNotFoundException;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
+import org.evochora.datapipeline.utils.delta.MutableCellState;
+import org.evochora.runtime.model.EnvironmentProperties;
+
+/**
+ * Server-side state of one streaming playback subscription.
+ * <p>
+ * The session walks the sampled ticks of a run chunk by chunk and turns them into
+ * {@link PlaybackFrame}s: a keyframe with every non-empty cell of the subscribed region, then
+ * frames that carry only the region cells and organisms that changed since the previous frame.
+ * Changes are taken straight from the {@code changed_cells} of the chunk deltas; at chunk
+ * boundaries the next chunk's snapshot is diffed against the current state.
+ * <p>
+ * Like {@code DeltaCodec.Decoder}, a session holds the full cell state of the environment
+ * ({@code 8 * totalCells} bytes).
+ * <p>
+ * <strong>Thread Safety:</strong> Thread-safe. Control calls and frame production are
+ * serialized on the session.
+ */
+final class PlaybackSession {
+
+    private final String runId;
+    private final EnvironmentProperties envProps;
+    private final long samplingInterval;
+    private final TickChunkCache chunkCache;
+    private final MutableCellState state;
+    private final int[] coords;
+
+    /**
+     * Region cells changed since the last frame.
+     */
+    private final BitSet dirty = new BitSet();
+
+    /**
+     * Organisms as last sent to the client, by ID.
+     */
+    private final Map<Integer, PlaybackOrganism> sentOrganisms = new HashMap<>();
+
+    private SpatialRegion region;
+    private TickDataChunk chunk;
+
+    /**
+     * Position within {@link #chunk}: -1 for the snapshot, otherwise the delta index.
+     */
+    private int position;
+
+    private long pendingSeek;
+    private boolean keyframePending;
+    private boolean endOfDataSent;
+
+    /**
+     * Creates a session whose first frame is a keyframe at {@code startTick}.
+     *
+     * @param runId            The simulation run to play.
+     * @param envProps         Environment properties of the run.
+     * @param samplingInterval Sampling interval of the run (distance between stored ticks).
+     * @param chunkCache       The shared chunk cache to read from.
+     * @param region           The subscribed region, or null for the whole environment.
+     * @param startTick        The tick to start at.
+     */
+    PlaybackSession(final String runId, final EnvironmentProperties envProps, final long samplingInterval,
+                    final TickChunkCache chunkCache, final SpatialRegion region, final long startTick) {
+        this.runId = runId;
+        this.envProps = envProps;
+        this.samplingInterval = samplingInterval;
+        this.chunkCache = chunkCache;
+        this.state = new MutableCellState(Math.toIntExact(envProps.getTotalCells()));
+        this.coords = new int[envProps.getDimensions()];
+        this.region = region;
+        this.pendingSeek = startTick;
+    }
+
+    /**
+     * Moves playback to {@code tick}; the next frame is a keyframe. Ticks between two stored
+     * ticks snap to the earlier one.
+     *
+     * @param tick The tick to continue at.
+     */
+    synchronized void seek(final long tick) {
+        this.pendingSeek = tick;
+    }
+
+    /**
+     * Changes the subscribed region; the next frame is a keyframe of the new region.
+     *
+     * @param region The new region, or null for the whole environment.
+     */
+    synchronized void setRegion(final SpatialRegion region) {
+        this.region = region;
+        this.keyframePending = true;
+    }
+
+    /**
+     * Returns whether the next frame is a keyframe (after a seek or region change).
+     *
+     * @return true if a keyframe is pending.
+     */
+    synchronized boolean hasPendingKeyframe() {
+        return pendingSeek >= 0 || keyframePending;
+    }
+
+    /**
+     * Produces the next frame.
+     * <p>
+     * Advances {@code stride} stored ticks and returns the accumulated changes. Once no further
+     * tick is indexed, returns a single {@code end_of_data} frame, then null until more ticks
+     * arrive.
+     *
+     * @param stride Number of stored ticks to advance per frame (at least 1).
+     * @return The frame to send, or null if there is nothing new.
+     * @throws SQLException if a chunk cannot be loaded.
+     * @throws TickNotFoundException if a seek target is not indexed.
+     */
+    synchronized PlaybackFrame nextFrame(final int stride) throws SQLException, TickNotFoundException {
+        if (pendingSeek >= 0) {
+            final long tick = pendingSeek;
+            pendingSeek = -1;
+            positionAt(tick);
+            return keyframe();
+        }
+        if (chunk == null) {
+            // The start tick was not found; wait for a seek
+            return null;
+        }
+        if (keyframePending) {
+            return keyframe();
+        }
+
+        int advanced = 0;
+        while (advanced < stride && advance()) {
+            advanced++;
+        }
+        if (advanced == 0) {
+            if (endOfDataSent) {
+                return null;
+            }
+            endOfDataSent = true;
+            return PlaybackFrame.newBuilder().setTickNumber(getCurrentTick()).setEndOfData(true).build();
+        }
+        endOfDataSent = false;
+
+        final PlaybackFrame.Builder frame = PlaybackFrame.newBuilder().setTickNumber(getCurrentTick());
+        for (int flatIndex = dirty.nextSetBit(0); flatIndex >= 0; flatIndex = dirty.nextSetBit(flatIndex + 1)) {
+            envProps.flatIndexToCoordinates(flatIndex, coords);
+            if (state.isOccupied(flatIndex)) {
+                frame.addCells(EnvironmentController.toCellHttpResponse(
+                    coords, state.getMoleculeData(flatIndex), state.getOwnerId(flatIndex)));
+            } else {
+                for (final int coord : coords) {
+                    frame.addClearedCoordinates(coord);
+                }
+            }
+        }
+        dirty.clear();
+        addOrganismChanges(frame);
+        return frame.build();
+    }
+
+    /**
+     * Returns the tick of the last produced frame.
+     *
+     * @return The current tick, or -1 before the first frame.
+     */
+    synchronized long getCurrentTick() {
+        if (chunk == null) {
+            return -1;
+        }
+        return position < 0 ? chunk.getSnapshot().getTickNumber() : chunk.getDeltas(position).getTickNumber();
+    }
+
+    /**
+     * Rebuilds the cell state at the last stored tick at or before {@code tick}, using the
+     * closest accumulated delta as a shortcut like {@code DeltaCodec.Decoder}.
+     */
+    private void positionAt(final long tick) throws SQLException, TickNotFoundException {
+        final TickDataChunk target = chunkCache.get(runId, tick);
+
+        int index = -1;
+        int accumulated = -1;
+        for (int i = 0; i < target.getDeltasCount() && target.getDeltas(i).getTickNumber() <= tick; i++) {
+            index = i;
+            if (target.getDeltas(i).getDeltaType() == DeltaType.ACCUMULATED) {
+                accumulated = i;
+            }
+        }
+
+        state.applySnapshot(target.getSnapshot().getCellColumns());
+        for (int i = Math.max(accumulated, 0); i <= index; i++) {
+            state.applyDelta(target.getDeltas(i).getChangedCells());
+        }
+        chunk = target;
+        position = index;
+        keyframePending = true;
+    }
+
+    /**
+     * Steps one stored tick forward, marking changed region cells dirty.
+     *
+     * @return false if the next tick is not indexed (yet).
+     */
+    private boolean advance() throws SQLException {
+        if (position + 1 < chunk.getDeltasCount()) {
+            position++;
+            applyChanges(chunk.getDeltas(position).getChangedCells());
+            return true;
+        }
+
+        final TickDataChunk next;
+        try {
+            next = chunkCache.get(runId, chunk.getLastTick() + samplingInterval);
+        } catch (TickNotFoundException e) {
+            return false;
+        }
+        if (next.getSnapshot().getTickNumber() <= chunk.getLastTick()) {
+            // Not a later chunk: nothing new is indexed yet
+            return false;
+        }
+        final CellDataColumns snapshot = next.getSnapshot().getCellColumns();
+
+        // Cells that are occupied now but absent from the snapshot became empty
+        final BitSet inSnapshot = new BitSet(state.getTotalCells());
+        for (int i = 0; i < snapshot.getFlatIndicesCount(); i++) {
+            inSnapshot.set(snapshot.getFlatIndices(i));
+        }
+        for (int flatIndex = 0; flatIndex < state.getTotalCells(); flatIndex++) {
+            if (state.isOccupied(flatIndex) && !inSnapshot.get(flatIndex) && isInRegion(flatIndex)) {
+                dirty.set(flatIndex);
+            }
+        }
+        // The snapshot replaces the whole state: applying it as a delta would keep those cells
+        markChanges(snapshot);
+        state.applySnapshot(snapshot);
+
+        chunk = next;
+        position = -1;
+        return true;
+    }
+
+    /**
+     * Applies changed cells to the state. Only cells whose content actually differs are marked
+     * dirty, so accumulated deltas (which repeat earlier changes) cost no bandwidth.
+     */
+    private void applyChanges(final CellDataColumns changes) {
+        markChanges(changes);
+        state.applyDelta(changes);
+    }
+
+    /**
+     * Marks the listed cells dirty whose content differs from the state.
+     */
+    private void markChanges(final CellDataColumns changes) {
+        for (int i = 0; i < changes.getFlatIndicesCount(); i++) {
+            final int flatIndex = changes.getFlatIndices(i);
+            if ((state.getMoleculeData(flatIndex) != changes.getMoleculeData(i)
+                    || state.getOwnerId(flatIndex) != changes.getOwnerIds(i))
+                    && isInRegion(flatIndex)) {
+                dirty.set(flatIndex);
+            }
+        }
+    }
+
+    private PlaybackFrame keyframe() {
+        keyframePending = false;
+        endOfDataSent = false;
+        dirty.clear();
+        sentOrganisms.clear();
+
+        final PlaybackFrame.Builder frame = PlaybackFrame.newBuilder()
+            .setTickNumber(getCurrentTick())
+            .setKeyframe(true);
+        for (int flatIndex = 0; flatIndex < state.getTotalCells(); flatIndex++) {
+            if (state.isOccupied(flatIndex) && isInRegion(flatIndex)) {
+                frame.addCells(EnvironmentController.toCellHttpResponse(
+                    coords, state.getMoleculeData(flatIndex), state.getOwnerId(flatIndex)));
+            }
+        }
+        addOrganismChanges(frame);
+        return frame.build();
+    }
+
+    /**
+     * Adds organisms that differ from what the client last received, and the IDs of those that
+     * are gone. Organisms are not region-filtered, matching the organisms endpoint.
+     */
+    private void addOrganismChanges(final PlaybackFrame.Builder frame) {
+        final List<OrganismState> organisms = position < 0
+            ? chunk.getSnapshot().getOrganismsList()
+            : chunk.getDeltas(position).getOrganismsList();
+
+        final Set<Integer> alive = new HashSet<>();
+        for (final OrganismState organism : organisms) {
+            if (organism.getIsDead()) {
+                continue;
+            }
+            final PlaybackOrganism converted = toPlaybackOrganism(organism);
+            alive.add(converted.getOrganismId());
+            if (!converted.equals(sentOrganisms.put(converted.getOrganismId(), converted))) {
+                frame.addOrganisms(converted);
+            }
+        }
+        sentOrganisms.keySet().removeIf(id -> {
+            if (alive.contains(id)) {
+                return false;
+            }
+            frame.addRemovedOrganismIds(id);
+            return true;
+        });
+    }
+
+    /**
+     * Checks the region filter; also leaves the cell's coordinates in {@link #coords}.
+     */
+    private boolean isInRegion(final int flatIndex) {
+        envProps.flatIndexToCoordinates(flatIndex, coords);
+        return region == null || EnvironmentController.isInRegion(coords, region, coords.length);
+    }
+
+    private static PlaybackOrganism toPlaybackOrganism(final OrganismState organism) {
+        final PlaybackOrganism.Builder builder = PlaybackOrganism.newBuilder()
+            .setOrganismId(organism.getOrganismId())
+            .setEnergy(organism.getEnergy())
+            .addAllIp(organism.getIp().getComponentsList())
+            .addAllDv(organism.getDv().getComponentsList())
+            .setActiveDpIndex(organism.getActiveDpIndex())
+            .setEntropyRegister(organism.getEntropyRegister());
+        for (final Vector dataPointer : organism.getDataPointersList()) {
+            builder.addAllDataPointers(dataPointer.getComponentsList());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,214 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.evochora.datapipeline.api.contracts.PlaybackFrame;
+import org.evochora.datapipeline.api.resources.database.TickNotFoundException;
+import org.evochora.node.processes.http.api.pipeline.dto.ErrorResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.javalin.http.HttpStatus;
+
+/**
+ * One open playback stream: its {@link PlaybackSession}, the frame task on the shared scheduler
+ * and the client connection.
+ * <p>
+ * Frames are sent asynchronously, so a scheduler thread never waits for a client. While a frame
+ * is still being sent, later ticks of the frame task are skipped without producing a frame: the
+ * session stays at its position and the next frame carries all changes up to then. A slow
+ * client therefore gets fewer frames instead of a queue of them, and it cannot hold up the
+ * streams of other clients.
+ * <p>
+ * <strong>Thread Safety:</strong> Control methods may be called from WebSocket threads while the
+ * frame task runs on the scheduler.
+ */
+final class PlaybackStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlaybackStream.class);
+
+    /** WebSocket close code for server-side failures (RFC 6455 "internal error"). */
+    static final int CLOSE_INTERNAL_ERROR = 1011;
+
+    /**
+     * The client connection of a stream.
+     */
+    interface Connection {
+
+        /**
+         * Returns the id of the connection.
+         *
+         * @return The session id.
+         */
+        String id();
+
+        /**
+         * Returns whether the connection is open.
+         *
+         * @return true if messages can be sent.
+         */
+        boolean isOpen();
+
+        /**
+         * Sends a binary message without waiting for the client.
+         *
+         * @param bytes The message.
+         * @return Completes when the message was written, exceptionally if writing failed.
+         */
+        CompletableFuture<Void> sendBinary(ByteBuffer bytes);
+
+        /**
+         * Sends an object as JSON text message without waiting for the client.
+         *
+         * @param message The message.
+         * @return Completes when the message was written, exceptionally if writing failed.
+         */
+        CompletableFuture<Void> sendJson(Object message);
+
+        /**
+         * Closes the connection.
+         *
+         * @param code   The WebSocket close code.
+         * @param reason The close reason.
+         */
+        void close(int code, String reason);
+    }
+
+    private final Connection connection;
+    private final PlaybackSession session;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<PlaybackStream> onFailure;
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+    private final AtomicLong framesSkipped = new AtomicLong(0);
+    private volatile boolean paused;
+    private volatile int stride;
+    private ScheduledFuture<?> task;
+
+    /**
+     * Creates a stream; frames start with {@link #schedule(int)}.
+     *
+     * @param connection The client connection.
+     * @param session    The playback position and state of the client.
+     * @param stride     The initial number of sampled ticks per frame.
+     * @param scheduler  The scheduler shared by all streams.
+     * @param onFailure  Called once the stream failed and was closed.
+     */
+    PlaybackStream(final Connection connection, final PlaybackSession session, final int stride,
+                   final ScheduledExecutorService scheduler, final Consumer<PlaybackStream> onFailure) {
+        this.connection = connection;
+        this.session = session;
+        this.stride = stride;
+        this.scheduler = scheduler;
+        this.onFailure = onFailure;
+    }
+
+    PlaybackSession session() {
+        return session;
+    }
+
+    String id() {
+        return connection.id();
+    }
+
+    void setPaused(final boolean paused) {
+        this.paused = paused;
+    }
+
+    void setStride(final int stride) {
+        this.stride = stride;
+    }
+
+    /**
+     * Returns the number of frame ticks skipped because the previous frame was still being sent.
+     *
+     * @return The skipped frame count.
+     */
+    long getFramesSkipped() {
+        return framesSkipped.get();
+    }
+
+    /**
+     * (Re)starts the frame task at the given rate.
+     *
+     * @param fps Frames per second.
+     */
+    synchronized void schedule(final int fps) {
+        if (task != null) {
+            task.cancel(false);
+        }
+        task = scheduler.scheduleAtFixedRate(this::sendNextFrame, 0, 1_000_000L / fps, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Stops the frame task. A frame that is being sent completes.
+     */
+    synchronized void cancel() {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Sends an error message to the client.
+     *
+     * @param status  The HTTP status.
+     * @param message The error message.
+     */
+    void sendError(final HttpStatus status, final String message) {
+        connection.sendJson(ErrorResponseDto.of(status.getCode(), status.getMessage(), message))
+            .whenComplete((ignored, e) -> {
+                if (e != null) {
+                    LOGGER.debug("Failed to send error to playback session {}", connection.id(), e);
+                }
+            });
+    }
+
+    void sendNextFrame() {
+        // A paused stream still answers seeks and region changes with a keyframe
+        if ((paused && !session.hasPendingKeyframe()) || !connection.isOpen()) {
+            return;
+        }
+        if (!sending.compareAndSet(false, true)) {
+            // Client is still receiving the previous frame: skip, the next frame covers this tick
+            framesSkipped.incrementAndGet();
+            return;
+        }
+        try {
+            final PlaybackFrame frame = session.nextFrame(stride);
+            if (frame == null) {
+                sending.set(false);
+                return;
+            }
+            connection.sendBinary(ByteBuffer.wrap(frame.toByteArray())).whenComplete((ignored, e) -> {
+                sending.set(false);
+                if (e != null) {
+                    fail(e);
+                }
+            });
+        } catch (TickNotFoundException e) {
+            // Seek target not indexed: keep the stream open for another seek
+            sending.set(false);
+            paused = true;
+            sendError(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            // An exception would silently cancel the scheduled task, so close the stream instead
+            sending.set(false);
+            fail(e);
+        }
+    }
+
+    private void fail(final Throwable e) {
+        LOGGER.warn("Playback stream failed for session {}: {}", connection.id(), e.getMessage());
+        LOGGER.debug("Playback stream failure", e);
+        cancel();
+        onFailure.accept(this);
+        connection.close(CLOSE_INTERNAL_ERROR, "Playback failed");
+    }
+}
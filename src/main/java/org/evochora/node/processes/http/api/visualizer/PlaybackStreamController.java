@@ -0,0 +1,358 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.evochora.datapipeline.api.contracts.PlaybackFrame;
+import org.evochora.datapipeline.api.contracts.SimulationMetadata;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
+import org.evochora.datapipeline.api.resources.database.MetadataNotFoundException;
+import org.evochora.datapipeline.utils.MetadataConfigHelper;
+import org.evochora.node.processes.http.api.pipeline.dto.ErrorResponseDto;
+import org.evochora.node.processes.http.api.visualizer.dto.PlaybackControlDto;
+import org.evochora.node.spi.ServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
+
+import io.javalin.Javalin;
+import io.javalin.http.HttpStatus;
+import io.javalin.websocket.WsCloseContext;
+import io.javalin.websocket.WsConnectContext;
+import io.javalin.websocket.WsContext;
+import io.javalin.websocket.WsMessageContext;
+
+/**
+ * WebSocket controller that streams playback of a run as binary {@link PlaybackFrame}s.
+ * <p>
+ * Instead of one environment and one organisms request per frame, a client subscribes once:
+ * <pre>
+ * ws://host/visualizer/api/stream?runId=...&amp;region=0,100,0,100&amp;startTick=0&amp;fps=30&amp;stride=1
+ * </pre>
+ * The server sends a keyframe with the region's cells and all organisms, then per frame only the
+ * cells and organisms that changed, taken straight from the chunk deltas (see
+ * {@link PlaybackSession}). All query parameters are optional; {@code runId} defaults to the
+ * latest run.
+ * <p>
+ * Clients steer playback with JSON text messages ({@link PlaybackControlDto}):
+ * <ul>
+ *   <li>{@code {"action":"pause"}} / {@code {"action":"resume"}}</li>
+ *   <li>{@code {"action":"seek","tick":5000}}</li>
+ *   <li>{@code {"action":"speed","fps":60,"stride":2}}</li>
+ *   <li>{@code {"action":"region","region":"0,100,0,100"}}</li>
+ * </ul>
+ * Errors are sent as JSON {@link ErrorResponseDto} text messages.
+ * <p>
+ * Every stream holds the full cell state of its run ({@code 8 * totalCells} bytes, see
+ * {@link PlaybackSession}), so the number of open streams is bounded by {@code max-streams};
+ * further connections are closed with code 1013 ("try again later").
+ * <p>
+ * <strong>Thread Safety:</strong> Frames of all streams are produced on a small shared scheduler.
+ * Sends are asynchronous; a stream skips frames while its previous frame is still being sent
+ * (see {@link PlaybackStream}), so a slow client slows down its own stream without blocking a
+ * scheduler thread or queueing frames on the server.
+ */
+public class PlaybackStreamController extends VisualizerBaseController implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlaybackStreamController.class);
+
+    /** WebSocket close code for invalid subscriptions (RFC 6455 "policy violation"). */
+    private static final int CLOSE_POLICY_VIOLATION = 1008;
+
+    /** WebSocket close code when all stream slots are taken (RFC 6455 registry "try again later"). */
+    private static final int CLOSE_TRY_AGAIN_LATER = 1013;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final TickChunkCache chunkCache;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, PlaybackStream> streams = new ConcurrentHashMap<>();
+    /** One permit per open stream; taken before the session allocates its cell state. */
+    private final Semaphore streamSlots;
+    private final int maxStreams;
+    private final int defaultFps;
+    private final int maxFps;
+
+    /**
+     * Constructs a new PlaybackStreamController.
+     *
+     * @param registry The central service registry for accessing shared services.
+     * @param options  The HOCON configuration specific to this controller instance.
+     */
+    public PlaybackStreamController(final ServiceRegistry registry, final Config options) {
+        super(registry, options);
+        this.chunkCache = TickChunkCache.shared(registry, options);
+        this.defaultFps = options.hasPath("default-fps") ? options.getInt("default-fps") : 10;
+        this.maxFps = options.hasPath("max-fps") ? options.getInt("max-fps") : 60;
+        if (defaultFps < 1 || defaultFps > maxFps) {
+            throw new IllegalArgumentException("default-fps must be within [1, max-fps], got " + defaultFps);
+        }
+        this.maxStreams = options.hasPath("max-streams") ? options.getInt("max-streams") : 16;
+        if (maxStreams < 1) {
+            throw new IllegalArgumentException("max-streams must be at least 1, got " + maxStreams);
+        }
+        this.streamSlots = new Semaphore(maxStreams);
+
+        final int threads = options.hasPath("threads") ? options.getInt("threads") : 2;
+        final AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "playback-stream-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void registerRoutes(final Javalin app, final String basePath) {
+        LOGGER.debug("Registering playback stream endpoint: {}", basePath);
+
+        app.ws(basePath, ws -> {
+            ws.onConnect(this::onConnect);
+            ws.onMessage(this::onMessage);
+            ws.onClose(this::onClose);
+            ws.onError(ctx -> stop(ctx.sessionId()));
+        });
+    }
+
+    /**
+     * Opens a stream: validates the subscription, loads the run's environment properties and
+     * starts sending frames.
+     */
+    void onConnect(final WsConnectContext ctx) {
+        if (!streamSlots.tryAcquire()) {
+            reject(ctx, CLOSE_TRY_AGAIN_LATER, HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many open playback streams (max-streams " + maxStreams + ")");
+            return;
+        }
+        final String runId;
+        final PlaybackSession session;
+        final int fps;
+        final int stride;
+        try {
+            runId = resolveRunId(ctx.queryParam("runId"));
+            fps = parseFps(ctx.queryParam("fps"));
+            stride = parseStride(ctx.queryParam("stride"));
+            final String startTickParam = ctx.queryParam("startTick");
+            final long startTick = startTickParam == null ? 0 : parseNonNegative("startTick", startTickParam);
+            session = createSession(runId, ctx.queryParam("region"), startTick);
+        } catch (IllegalArgumentException e) {
+            streamSlots.release();
+            reject(ctx, CLOSE_POLICY_VIOLATION, HttpStatus.BAD_REQUEST, e.getMessage());
+            return;
+        } catch (NoRunIdException e) {
+            streamSlots.release();
+            reject(ctx, CLOSE_POLICY_VIOLATION, HttpStatus.NOT_FOUND, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            streamSlots.release();
+            LOGGER.debug("Failed to open playback stream", e);
+            reject(ctx, PlaybackStream.CLOSE_INTERNAL_ERROR, HttpStatus.INTERNAL_SERVER_ERROR,
+                "Failed to open playback stream");
+            return;
+        }
+
+        final PlaybackStream stream = new PlaybackStream(new WsConnection(ctx), session, stride, scheduler,
+            failed -> {
+                if (streams.remove(failed.id(), failed)) {
+                    streamSlots.release();
+                }
+            });
+        streams.put(ctx.sessionId(), stream);
+        stream.schedule(fps);
+        LOGGER.debug("Playback stream opened: session={}, runId={}, fps={}, stride={}", ctx.sessionId(), runId, fps, stride);
+    }
+
+    /**
+     * Applies a control message to the sender's stream.
+     */
+    void onMessage(final WsMessageContext ctx) {
+        final PlaybackStream stream = streams.get(ctx.sessionId());
+        if (stream == null) {
+            return;
+        }
+        try {
+            final PlaybackControlDto control = ctx.messageAsClass(PlaybackControlDto.class);
+            final String action = control.action() == null ? "" : control.action();
+            switch (action) {
+                case "pause" -> stream.setPaused(true);
+                case "resume" -> stream.setPaused(false);
+                case "seek" -> {
+                    if (control.tick() == null || control.tick() < 0) {
+                        throw new IllegalArgumentException("seek requires a non-negative tick");
+                    }
+                    stream.session().seek(control.tick());
+                }
+                case "speed" -> {
+                    if (control.stride() != null) {
+                        stream.setStride(parseStride(String.valueOf(control.stride())));
+                    }
+                    if (control.fps() != null) {
+                        stream.schedule(parseFps(String.valueOf(control.fps())));
+                    }
+                }
+                case "region" -> stream.session().setRegion(parseRegion(control.region()));
+                default -> throw new IllegalArgumentException("Unknown action: " + control.action());
+            }
+        } catch (RuntimeException e) {
+            // Also covers malformed JSON, which the JSON mapper reports as a RuntimeException
+            stream.sendError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    void onClose(final WsCloseContext ctx) {
+        stop(ctx.sessionId());
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return The open stream count.
+     */
+    int getOpenStreamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Stops all streams and the frame scheduler.
+     */
+    @Override
+    public void close() {
+        streams.values().forEach(PlaybackStream::cancel);
+        streams.clear();
+        scheduler.shutdownNow();
+    }
+
+    private PlaybackSession createSession(final String runId, final String regionParam, final long startTick) {
+        try (final IDatabaseReader reader = databaseProvider.createReader(runId)) {
+            final SimulationMetadata metadata = reader.getMetadata();
+            return new PlaybackSession(runId,
+                EnvironmentController.extractEnvironmentProperties(metadata),
+                MetadataConfigHelper.getSamplingInterval(metadata),
+                chunkCache, parseRegion(regionParam), startTick);
+        } catch (MetadataNotFoundException e) {
+            throw new NoRunIdException("No metadata for run: " + runId, e);
+        } catch (SQLException e) {
+            if (isSchemaNotFound(e)) {
+                throw new NoRunIdException("Run ID not found: " + runId, e);
+            }
+            throw new RuntimeException("Failed to load metadata for run: " + runId, e);
+        }
+    }
+
+    private void stop(final String sessionId) {
+        final PlaybackStream stream = streams.remove(sessionId);
+        if (stream != null) {
+            streamSlots.release();
+            stream.cancel();
+            LOGGER.debug("Playback stream closed: session={}", sessionId);
+        }
+    }
+
+    private void reject(final WsContext ctx, final int closeCode, final HttpStatus status, final String message) {
+        ctx.send(ErrorResponseDto.of(status.getCode(), status.getMessage(), message));
+        ctx.closeSession(closeCode, message);
+    }
+
+    private int parseFps(final String fpsParam) {
+        if (fpsParam == null) {
+            return defaultFps;
+        }
+        final long fps = parseNonNegative("fps", fpsParam);
+        if (fps < 1 || fps > maxFps) {
+            throw new IllegalArgumentException("fps must be within [1, " + maxFps + "], got " + fps);
+        }
+        return (int) fps;
+    }
+
+    private static int parseStride(final String strideParam) {
+        if (strideParam == null) {
+            return 1;
+        }
+        final long stride = parseNonNegative("stride", strideParam);
+        if (stride < 1 || stride > 1000) {
+            throw new IllegalArgumentException("stride must be within [1, 1000], got " + stride);
+        }
+        return (int) stride;
+    }
+
+    private static long parseNonNegative(final String name, final String value) {
+        try {
+            final long parsed = Long.parseLong(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException(name + " must be non-negative");
+            }
+            return parsed;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+        }
+    }
+
+    /**
+     * Connection of a stream over a Javalin/Jetty WebSocket, using Jetty's asynchronous sends.
+     */
+    private static final class WsConnection implements PlaybackStream.Connection {
+        private final WsContext ctx;
+
+        WsConnection(final WsContext ctx) {
+            this.ctx = ctx;
+        }
+
+        @Override
+        public String id() {
+            return ctx.sessionId();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return ctx.session.isOpen();
+        }
+
+        @Override
+        public CompletableFuture<Void> sendBinary(final ByteBuffer bytes) {
+            final CompletableFuture<Void> result = new CompletableFuture<>();
+            ctx.session.getRemote().sendBytes(bytes, callback(result));
+            return result;
+        }
+
+        @Override
+        public CompletableFuture<Void> sendJson(final Object message) {
+            final CompletableFuture<Void> result = new CompletableFuture<>();
+            try {
+                ctx.session.getRemote().sendString(JSON.writeValueAsString(message), callback(result));
+            } catch (JsonProcessingException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+        @Override
+        public void close(final int code, final String reason) {
+            ctx.closeSession(code, reason);
+        }
+
+        private static WriteCallback callback(final CompletableFuture<Void> result) {
+            return new WriteCallback() {
+                @Override
+                public void writeFailed(final Throwable x) {
+                    result.completeExceptionally(x);
+                }
+
+                @Override
+                public void writeSuccess() {
+                    result.complete(null);
+                }
+            };
+        }
+    }
+}
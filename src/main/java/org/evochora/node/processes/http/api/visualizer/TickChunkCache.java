@@ -0,0 +1,415 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReaderProvider;
+import org.evochora.datapipeline.api.resources.database.TickNotFoundException;
+import org.evochora.node.spi.ServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Server-side cache of {@link TickDataChunk}s, shared by all visualizer controllers of an
+ * HTTP server.
+ * <p>
+ * Chunks are held in a Caffeine LRU cache and indexed per run by their tick range, so finding
+ * the chunk of a tick is a floor lookup instead of a scan over all cached chunks.
+ * <p>
+ * <strong>Single-flight loading:</strong> Concurrent misses for the same chunk share one
+ * database read. Before a chunk's range is known, the chunk start of a tick is predicted from
+ * the distance between consecutive chunks of the run; a request whose prediction was wrong
+ * loads its chunk itself.
+ * <p>
+ * <strong>Read-ahead:</strong> When a request reaches the configured fraction of a chunk's
+ * tick range, the next chunk is loaded in the background, so playback does not stall at
+ * chunk boundaries.
+ * <p>
+ * Configuration (the controller's {@code chunk-cache} block):
+ * <ul>
+ *   <li>{@code maximum-size} - Maximum number of chunks to cache (default: 100)</li>
+ *   <li>{@code expire-after-access} - Expiration time in seconds (default: 300)</li>
+ *   <li>{@code read-ahead.enabled} - Whether the next chunk is preloaded (default: true)</li>
+ *   <li>{@code read-ahead.fraction} - Position within a chunk that triggers it (default: 0.75)</li>
+ *   <li>{@code read-ahead.threads} - Background loader threads (default: 2)</li>
+ * </ul>
+ * <p>
+ * <strong>Thread Safety:</strong> This class is thread-safe.
+ */
+public final class TickChunkCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TickChunkCache.class);
+
+    private final IDatabaseReaderProvider databaseProvider;
+    private final Cache<ChunkKey, TickDataChunk> chunks;
+    private final Map<String, RunIndex> runs = new ConcurrentHashMap<>();
+    private final Map<ChunkKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final double readAheadFraction;
+    private final ExecutorService readAheadExecutor; // null if read-ahead is disabled
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalescedLoads = new AtomicLong();
+    private final AtomicLong readAheads = new AtomicLong();
+
+    /** Cache key of a chunk: the run and the chunk's first (snapshot) tick. */
+    private record ChunkKey(String runId, long firstTick) {}
+
+    /** A chunk load in progress; {@code tick} is the tick it was started for. */
+    private record Flight(long tick, CompletableFuture<TickDataChunk> future) {}
+
+    /** Tick ranges of the cached chunks of one run. */
+    private static final class RunIndex {
+        /** Last tick of each cached chunk, keyed by its first tick. */
+        final ConcurrentSkipListMap<Long, Long> lastTickByFirstTick = new ConcurrentSkipListMap<>();
+        /** Distance between the first ticks of consecutive chunks (0 = not known yet). */
+        volatile long chunkStride;
+    }
+
+    /**
+     * Creates a chunk cache.
+     *
+     * @param databaseProvider Provider of the readers chunks are loaded with.
+     * @param options          The {@code chunk-cache} configuration block (may be empty).
+     */
+    public TickChunkCache(final IDatabaseReaderProvider databaseProvider, final Config options) {
+        this.databaseProvider = databaseProvider;
+
+        final int maxSize = options.hasPath("maximum-size") ? options.getInt("maximum-size") : 100;
+        final int expireAfterAccessSeconds = options.hasPath("expire-after-access")
+            ? options.getInt("expire-after-access")
+            : 300;
+        this.chunks = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterAccess(Duration.ofSeconds(expireAfterAccessSeconds))
+            .evictionListener((ChunkKey key, TickDataChunk chunk, RemovalCause cause) -> {
+                if (key != null) {
+                    final RunIndex index = runs.get(key.runId());
+                    if (index != null) {
+                        index.lastTickByFirstTick.remove(key.firstTick());
+                    }
+                }
+            })
+            .recordStats()
+            .build();
+
+        final boolean readAheadEnabled = !options.hasPath("read-ahead.enabled") || options.getBoolean("read-ahead.enabled");
+        this.readAheadFraction = options.hasPath("read-ahead.fraction") ? options.getDouble("read-ahead.fraction") : 0.75;
+        if (readAheadFraction < 0.0 || readAheadFraction > 1.0) {
+            throw new IllegalArgumentException("chunk-cache.read-ahead.fraction must be within [0, 1], got " + readAheadFraction);
+        }
+        if (readAheadEnabled) {
+            final int threads = options.hasPath("read-ahead.threads") ? options.getInt("read-ahead.threads") : 2;
+            final AtomicInteger threadIndex = new AtomicInteger();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    final Thread thread = new Thread(r, "chunk-read-ahead-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            this.readAheadExecutor = executor;
+        } else {
+            this.readAheadExecutor = null;
+        }
+
+        LOGGER.info("Chunk cache initialized: maxSize={}, expireAfterAccess={}s, readAhead={}",
+            maxSize, expireAfterAccessSeconds, readAheadEnabled ? "at " + readAheadFraction : "off");
+    }
+
+    /**
+     * Returns the cache shared by the controllers of the given registry, creating and
+     * registering it on first use. The first controller's {@code chunk-cache} block configures it.
+     *
+     * @param registry The controllers' service registry (must provide an {@link IDatabaseReaderProvider}).
+     * @param options  The calling controller's options.
+     * @return The shared chunk cache.
+     */
+    public static TickChunkCache shared(final ServiceRegistry registry, final Config options) {
+        synchronized (registry) {
+            if (registry.hasService(TickChunkCache.class)) {
+                return registry.get(TickChunkCache.class);
+            }
+            final Config cacheOptions = options.hasPath("chunk-cache")
+                ? options.getConfig("chunk-cache")
+                : ConfigFactory.empty();
+            final TickChunkCache cache = new TickChunkCache(registry.get(IDatabaseReaderProvider.class), cacheOptions);
+            registry.register(TickChunkCache.class, cache);
+            return cache;
+        }
+    }
+
+    /**
+     * Returns the chunk containing the given tick, loading it if it is not cached. Concurrent
+     * requests for the same chunk share one load.
+     *
+     * @param runId      The simulation run ID.
+     * @param tickNumber The tick to find.
+     * @return The chunk containing the tick.
+     * @throws SQLException if the database read fails
+     * @throws TickNotFoundException if no chunk contains the tick
+     */
+    public TickDataChunk get(final String runId, final long tickNumber) throws SQLException, TickNotFoundException {
+        TickDataChunk chunk = lookup(runId, tickNumber);
+        if (chunk != null) {
+            LOGGER.debug("Chunk cache hit: runId={}, tick={}", runId, tickNumber);
+        } else {
+            LOGGER.debug("Chunk cache miss: runId={}, tick={}", runId, tickNumber);
+            chunk = load(runId, tickNumber);
+        }
+        readAheadIfDue(runId, chunk, tickNumber);
+        return chunk;
+    }
+
+    /**
+     * Starts loading the chunk containing the given tick in the background, unless it is cached
+     * or already being loaded. Lets a request that does not need the chunk itself warm it for
+     * the requests that will.
+     *
+     * @param runId      The simulation run ID.
+     * @param tickNumber The tick whose chunk to load.
+     */
+    public void prefetch(final String runId, final long tickNumber) {
+        if (readAheadExecutor == null || lookup(runId, tickNumber) != null) {
+            return;
+        }
+        final ChunkKey flightKey = new ChunkKey(runId, predictFirstTick(runId, tickNumber));
+        final Flight flight = new Flight(tickNumber, new CompletableFuture<>());
+        if (inFlight.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+        readAheads.incrementAndGet();
+        readAheadExecutor.execute(() -> {
+            try {
+                loadAsLeader(flightKey, flight, runId, tickNumber);
+            } catch (TickNotFoundException e) {
+                // Playback reached the end of the recorded ticks
+                LOGGER.debug("Read-ahead found no chunk: runId={}, tick={}", runId, tickNumber);
+            } catch (Exception e) {
+                LOGGER.debug("Read-ahead failed: runId={}, tick={}: {}", runId, tickNumber, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @return Number of chunks read from the database (demand loads and read-aheads).
+     */
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    /**
+     * @return Number of requests that waited for another request's load instead of loading.
+     */
+    public long getCoalescedLoadCount() {
+        return coalescedLoads.get();
+    }
+
+    /**
+     * @return Number of background loads started by read-ahead or {@link #prefetch}.
+     */
+    public long getReadAheadCount() {
+        return readAheads.get();
+    }
+
+    /**
+     * Finds a cached chunk containing the tick via the run's tick-range index.
+     */
+    private TickDataChunk lookup(final String runId, final long tickNumber) {
+        final RunIndex index = runs.get(runId);
+        if (index == null) {
+            return null;
+        }
+        final Map.Entry<Long, Long> range = index.lastTickByFirstTick.floorEntry(tickNumber);
+        if (range == null || range.getValue() < tickNumber) {
+            return null;
+        }
+        return chunks.getIfPresent(new ChunkKey(runId, range.getKey()));
+    }
+
+    /**
+     * Loads the chunk of a tick, joining a load of the same chunk that is already running.
+     */
+    private TickDataChunk load(final String runId, final long tickNumber) throws SQLException, TickNotFoundException {
+        final ChunkKey flightKey = new ChunkKey(runId, predictFirstTick(runId, tickNumber));
+        final Flight flight = new Flight(tickNumber, new CompletableFuture<>());
+        final Flight running = inFlight.putIfAbsent(flightKey, flight);
+        if (running == null) {
+            return loadAsLeader(flightKey, flight, runId, tickNumber);
+        }
+
+        coalescedLoads.incrementAndGet();
+        try {
+            final TickDataChunk chunk = await(running.future());
+            if (containsTick(chunk, tickNumber)) {
+                return chunk;
+            }
+        } catch (TickNotFoundException e) {
+            if (running.tick() == tickNumber) {
+                throw e;
+            }
+        }
+        // The predicted chunk was a different one: load this tick's chunk directly
+        final TickDataChunk cached = lookup(runId, tickNumber);
+        return cached != null ? cached : readAndIndex(runId, tickNumber);
+    }
+
+    /**
+     * Performs a registered load and hands its result to every request waiting on it.
+     */
+    private TickDataChunk loadAsLeader(final ChunkKey flightKey, final Flight flight,
+                                       final String runId, final long tickNumber)
+            throws SQLException, TickNotFoundException {
+        try {
+            // A load that finished just before this one was registered may have cached the chunk
+            TickDataChunk chunk = lookup(runId, tickNumber);
+            if (chunk == null) {
+                chunk = readAndIndex(runId, tickNumber);
+            }
+            flight.future().complete(chunk);
+            return chunk;
+        } catch (SQLException | TickNotFoundException | RuntimeException e) {
+            flight.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Reads a chunk from the database, caches it and records its tick range.
+     */
+    private TickDataChunk readAndIndex(final String runId, final long tickNumber) throws SQLException, TickNotFoundException {
+        final TickDataChunk chunk;
+        try (final IDatabaseReader reader = databaseProvider.createReader(runId)) {
+            chunk = reader.readChunkContaining(tickNumber);
+        }
+
+        final long firstTick = firstTick(chunk);
+        final long lastTick = lastTick(chunk);
+        final RunIndex index = runs.computeIfAbsent(runId, id -> new RunIndex());
+        chunks.put(new ChunkKey(runId, firstTick), chunk);
+        index.lastTickByFirstTick.put(firstTick, lastTick);
+        final long sampleGap = smallestTickGap(chunk);
+        if (sampleGap > 0) {
+            index.chunkStride = lastTick - firstTick + sampleGap;
+        }
+        loads.incrementAndGet();
+        return chunk;
+    }
+
+    /**
+     * Predicts the first tick of the chunk containing a tick from a cached chunk and the run's
+     * chunk stride. Without both, all loads of the run share one prediction, so the initial
+     * burst of requests for a run waits for a single load.
+     */
+    private long predictFirstTick(final String runId, final long tickNumber) {
+        final RunIndex index = runs.get(runId);
+        if (index == null || index.chunkStride <= 0) {
+            return Long.MIN_VALUE;
+        }
+        Map.Entry<Long, Long> anchor = index.lastTickByFirstTick.floorEntry(tickNumber);
+        if (anchor == null) {
+            anchor = index.lastTickByFirstTick.ceilingEntry(tickNumber);
+            if (anchor == null) {
+                return Long.MIN_VALUE;
+            }
+        }
+        final long stride = index.chunkStride;
+        return anchor.getKey() + Math.floorDiv(tickNumber - anchor.getKey(), stride) * stride;
+    }
+
+    /**
+     * Preloads the next chunk once a request has reached the read-ahead fraction of this one.
+     */
+    private void readAheadIfDue(final String runId, final TickDataChunk chunk, final long tickNumber) {
+        if (readAheadExecutor == null) {
+            return;
+        }
+        final long firstTick = firstTick(chunk);
+        final long lastTick = lastTick(chunk);
+        final long sampleGap = smallestTickGap(chunk);
+        if (sampleGap <= 0 || tickNumber - firstTick < readAheadFraction * (lastTick - firstTick)) {
+            return;
+        }
+        prefetch(runId, lastTick + sampleGap);
+    }
+
+    private static TickDataChunk await(final CompletableFuture<TickDataChunk> future)
+            throws SQLException, TickNotFoundException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a chunk load", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlEx) {
+                throw sqlEx;
+            }
+            if (cause instanceof TickNotFoundException notFound) {
+                throw notFound;
+            }
+            if (cause instanceof RuntimeException runtimeEx) {
+                throw runtimeEx;
+            }
+            throw new SQLException("Chunk load failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Checks if a chunk contains the specified tick number.
+     */
+    static boolean containsTick(final TickDataChunk chunk, final long tickNumber) {
+        if (!chunk.hasSnapshot()) {
+            return false;
+        }
+        return tickNumber >= firstTick(chunk) && tickNumber <= lastTick(chunk);
+    }
+
+    private static long firstTick(final TickDataChunk chunk) {
+        return chunk.getSnapshot().getTickNumber();
+    }
+
+    private static long lastTick(final TickDataChunk chunk) {
+        return chunk.getDeltasCount() > 0
+            ? chunk.getDeltas(chunk.getDeltasCount() - 1).getTickNumber()
+            : firstTick(chunk);
+    }
+
+    /**
+     * Returns the sampling interval of a chunk as the smallest distance between two of its
+     * ticks (ticks dropped under backpressure only widen some gaps), or 0 for a single-tick chunk.
+     */
+    private static long smallestTickGap(final TickDataChunk chunk) {
+        long previous = firstTick(chunk);
+        long gap = 0;
+        for (int i = 0; i < chunk.getDeltasCount(); i++) {
+            final long tick = chunk.getDeltas(i).getTickNumber();
+            final long distance = tick - previous;
+            if (distance > 0 && (gap == 0 || distance < gap)) {
+                gap = distance;
+            }
+            previous = tick;
+        }
+        return gap;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Map;
 import org.evochora.datapipeline.api.resources.database.IDatabaseReaderProvider;
 import org.evochora.datapipeline.api.resources.database.OrganismNotFoundException;
 import org.evochora.datapipeline.api.resources.database.TickNotFoundException;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
 import org.evochora.node.processes.http.AbstractController;
 import org.evochora.node.spi.ServiceRegistry;
 import org.slf4j.Logger;
@@ -121,8 +122,20 @@ public abstract class VisualizerBaseController extends AbstractController {
      * @throws NoRunIdException if no run ID is available
      */
     protected String resolveRunId(final Context ctx) {
+        return resolveRunId(ctx.queryParam("runId"));
+    }
+
+    /**
+     * Resolves the run ID from an optional requested value or falls back to the latest run.
+     * <p>
+     * Used where no HTTP {@link Context} is available, e.g. for WebSocket handshakes.
+     *
+     * @param queryRunId The requested run ID (can be null or blank)
+     * @return The resolved run ID
+     * @throws NoRunIdException if no run ID is available
+     */
+    protected String resolveRunId(final String queryRunId) {
         // Check query parameter first
-        final String queryRunId = ctx.queryParam("runId");
         if (queryRunId != null && !queryRunId.trim().isEmpty()) {
             return queryRunId.trim();
         }
@@ -140,6 +153,43 @@ public abstract class VisualizerBaseController extends AbstractController {
         }
     }
 
+    /**
+     * Parses the region parameter into a SpatialRegion object.
+     * <p>
+     * Format: "x1,x2,y1,y2" for 2D or "x1,x2,y1,y2,z1,z2" for 3D
+     * <p>
+     * Examples:
+     * <ul>
+     *   <li>"0,100,0,100" → 2D region from (0,0) to (100,100)</li>
+     *   <li>"0,100,0,100,0,50" → 3D region from (0,0,0) to (100,100,50)</li>
+     * </ul>
+     *
+     * @param regionParam The region parameter string (can be null)
+     * @return SpatialRegion object or null if no region specified
+     * @throws IllegalArgumentException if region format is invalid
+     */
+    protected static SpatialRegion parseRegion(final String regionParam) {
+        if (regionParam == null || regionParam.trim().isEmpty()) {
+            return null;
+        }
+        
+        final String[] parts = regionParam.trim().split(",");
+        if (parts.length % 2 != 0) {
+            throw new IllegalArgumentException("Region must have even number of values (min/max pairs)");
+        }
+        
+        try {
+            final int[] bounds = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                bounds[i] = Integer.parseInt(parts[i].trim());
+            }
+            
+            return new SpatialRegion(bounds);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid region format: " + regionParam, e);
+        }
+    }
+
     /**
      * Creates a standardized error response body.
      *
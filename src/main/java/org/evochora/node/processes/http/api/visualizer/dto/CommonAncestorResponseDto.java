@@ -0,0 +1,14 @@
+package org.evochora.node.processes.http.api.visualizer.dto;
+
+/**
+ * Response DTO for the common ancestor endpoint.
+ *
+ * @param organismId The first organism
+ * @param otherOrganismId The second organism
+ * @param commonAncestorId Most recent common ancestor (may be one of the two organisms), or null if they have different roots
+ */
+public record CommonAncestorResponseDto(
+    int organismId,
+    int otherOrganismId,
+    Integer commonAncestorId
+) {}
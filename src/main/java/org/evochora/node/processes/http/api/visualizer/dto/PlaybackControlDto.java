@@ -0,0 +1,18 @@
+package org.evochora.node.processes.http.api.visualizer.dto;
+
+/**
+ * Control message sent by a client of the playback stream (JSON text frame).
+ *
+ * @param action One of "pause", "resume", "seek", "speed" or "region"
+ * @param tick Target tick for "seek"
+ * @param fps Frames per second for "speed" (optional)
+ * @param stride Stored ticks advanced per frame for "speed" (optional)
+ * @param region Region bounds for "region" as in the environment endpoint (e.g. "0,100,0,100"), or null for the whole environment
+ */
+public record PlaybackControlDto(
+    String action,
+    Long tick,
+    Integer fps,
+    Integer stride,
+    String region
+) {}
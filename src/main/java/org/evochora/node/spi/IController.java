@@ -5,6 +5,9 @@ import io.javalin.Javalin;
 /**
  * A marker interface for all API controllers. It ensures that every controller
  * provides a method to register its routes with the Javalin application.
+ * <p>
+ * Controllers that hold resources (connections, threads) also implement {@link AutoCloseable};
+ * the HTTP server process closes them when it stops.
  */
 public interface IController {
 
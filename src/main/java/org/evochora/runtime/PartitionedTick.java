@@ -0,0 +1,404 @@
+package org.evochora.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.evochora.runtime.isa.Instruction;
+import org.evochora.runtime.model.Environment;
+import org.evochora.runtime.model.Organism;
+import org.evochora.runtime.partition.HaloRegion;
+import org.evochora.runtime.partition.IPartitionTransport;
+import org.evochora.runtime.partition.OrganismSnapshot;
+import org.evochora.runtime.partition.PartitionMessage;
+import org.evochora.runtime.partition.SlabDecomposition;
+import org.evochora.runtime.spi.InterceptionContext;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Runs wave 1 and conflict resolution of a tick split into spatial partitions
+ * (see {@link Simulation#setDomainDecomposition}).
+ * <p>
+ * Every partition owns the organisms whose instruction pointer lies in its slab and runs on its
+ * own thread of a {@link TickWorkerPool}. Partitions talk only through an
+ * {@link IPartitionTransport}, in four rounds per tick separated by the pool's barrier and a
+ * {@link IPartitionTransport#deliver() delivery}:
+ * <ol>
+ *   <li>Each partition sends its neighbours the cells of their {@link HaloRegion halo} that
+ *       changed since its last update, and hands every organism whose instruction pointer has
+ *       left its slab to the new slab's partition as an {@link OrganismSnapshot}.</li>
+ *   <li>Each partition applies the halo updates, restores the organisms handed to it, plans and
+ *       executes wave 1 for its organisms, and sends a claim for every contested target to the
+ *       partition owning the target cell.</li>
+ *   <li>Each partition picks the winner of every cell it owns with the priority rule of
+ *       {@link Simulation#hasHigherPriority(long, int, long, int)} and sends each claimant's
+ *       partition its verdict.</li>
+ *   <li>Each partition sets the conflict status of its organisms' instructions.</li>
+ * </ol>
+ * The contenders of a cell and the rule that picks among them are the same as in an
+ * unpartitioned tick, and wave 1 never depends on another organism's wave 1, so the partitioning
+ * cannot change the outcome of a tick — only who computes it.
+ * <p>
+ * Not yet partitioned: wave 1 reads the simulation's one environment rather than slab and halo,
+ * a restored organism is put back into the simulation's organism list, and wave 2 runs serially
+ * on the simulation thread.
+ * <p>
+ * <strong>Thread Safety:</strong> Driven by the simulation thread only, except
+ * {@link #getLastTickNanos()}, which may be called from any thread.
+ */
+final class PartitionedTick {
+
+    /**
+     * A slice of a partition's slab in the halo of a neighbour, with the cells as last sent to
+     * that neighbour.
+     */
+    private static final class BorderSlice {
+        private final int target;
+        private final int firstIndex;
+        private final int[] sentMolecules;
+        private final int[] sentOwners;
+
+        private BorderSlice(int target, int slice, int sliceStride) {
+            this.target = target;
+            this.firstIndex = slice * sliceStride;
+            // Halo copies start out empty, so the first update sends every non-empty cell
+            this.sentMolecules = new int[sliceStride];
+            this.sentOwners = new int[sliceStride];
+        }
+    }
+
+    private final Simulation simulation;
+    private final SlabDecomposition decomposition;
+    private final IPartitionTransport transport;
+    private final int partitionCount;
+    private final TickWorkerPool pool;
+    private final InterceptionContext[] interceptContexts;
+
+    /** Organism ID to owning partition; simulation thread only. */
+    private final Int2IntOpenHashMap partitionById = new Int2IntOpenHashMap();
+    /** Organism ID to index in the organism list; rebuilt per tick, read-only during the rounds. */
+    private final Int2IntOpenHashMap indexById = new Int2IntOpenHashMap();
+    /** Per partition and tick: indices of the owned organisms in the organism list. */
+    private final IntArrayList[] ownedIndices;
+    /** Per partition and tick: IDs of the organisms handed to the partition. */
+    private final IntArrayList[] adoptedIds;
+    /** Per partition and tick: the contested instructions of its organisms, by organism ID. */
+    private final Int2ObjectOpenHashMap<Instruction>[] awaitingVerdict;
+    /** Per partition and tick: winning claim by flat index of the owned cells. */
+    private final Int2ObjectOpenHashMap<PartitionMessage.ConflictClaim>[] winnersByCell;
+    /** Per partition: its copy of the neighbours' border slices. */
+    private final HaloRegion[] halos;
+    /** Per partition: its slices in a neighbour's halo, grouped by neighbour. */
+    private final BorderSlice[][] borderSlices;
+    /** Per partition: the changed cells of the halo update being assembled. */
+    private final IntArrayList[] haloIndices;
+    private final IntArrayList[] haloMolecules;
+    private final IntArrayList[] haloOwners;
+    /** Per partition: time spent in the current tick, written by the partition's thread only. */
+    private final long[] tickNanos;
+    private final AtomicLongArray lastTickNanos;
+
+    @SuppressWarnings("unchecked")
+    PartitionedTick(Simulation simulation, SlabDecomposition decomposition, IPartitionTransport transport) {
+        this.simulation = simulation;
+        this.decomposition = decomposition;
+        this.transport = transport;
+        this.partitionCount = decomposition.getPartitionCount();
+        this.pool = new TickWorkerPool(partitionCount);
+        this.interceptContexts = new InterceptionContext[partitionCount];
+        this.ownedIndices = new IntArrayList[partitionCount];
+        this.adoptedIds = new IntArrayList[partitionCount];
+        this.awaitingVerdict = new Int2ObjectOpenHashMap[partitionCount];
+        this.winnersByCell = new Int2ObjectOpenHashMap[partitionCount];
+        this.halos = new HaloRegion[partitionCount];
+        this.haloIndices = new IntArrayList[partitionCount];
+        this.haloMolecules = new IntArrayList[partitionCount];
+        this.haloOwners = new IntArrayList[partitionCount];
+        List<List<BorderSlice>> borders = new ArrayList<>(partitionCount);
+        for (int p = 0; p < partitionCount; p++) {
+            interceptContexts[p] = new InterceptionContext();
+            ownedIndices[p] = new IntArrayList();
+            adoptedIds[p] = new IntArrayList();
+            awaitingVerdict[p] = new Int2ObjectOpenHashMap<>();
+            winnersByCell[p] = new Int2ObjectOpenHashMap<>();
+            halos[p] = new HaloRegion(decomposition, p);
+            haloIndices[p] = new IntArrayList();
+            haloMolecules[p] = new IntArrayList();
+            haloOwners[p] = new IntArrayList();
+            borders.add(new ArrayList<>());
+        }
+        // Built in neighbour order, so each partition's slices for one neighbour are adjacent
+        for (int neighbour = 0; neighbour < partitionCount; neighbour++) {
+            for (int slice : decomposition.getHaloSlices(neighbour)) {
+                borders.get(decomposition.ownerOfSlice(slice))
+                        .add(new BorderSlice(neighbour, slice, decomposition.getSliceStride()));
+            }
+        }
+        this.borderSlices = new BorderSlice[partitionCount][];
+        for (int p = 0; p < partitionCount; p++) {
+            borderSlices[p] = borders.get(p).toArray(new BorderSlice[0]);
+        }
+        this.partitionById.defaultReturnValue(-1);
+        this.indexById.defaultReturnValue(-1);
+        this.tickNanos = new long[partitionCount];
+        this.lastTickNanos = new AtomicLongArray(partitionCount);
+    }
+
+    /**
+     * Plans and executes wave 1 for all organisms and resolves the conflicts of wave 2. On return
+     * every wave-2 instruction is marked as processed and every contested one carries its
+     * conflict status, exactly as after {@code Simulation.resolveConflicts}.
+     * <p>
+     * An organism handed to another partition is replaced in {@code organisms} by the organism
+     * that partition restored from its snapshot.
+     *
+     * @param organisms   the simulation's organisms
+     * @param planned     receives each organism's planned instruction at the organism's index
+     * @param diedInWave1 set at the organism's index when it dies during wave 1
+     */
+    void planAndResolve(List<Organism> organisms, Instruction[] planned, boolean[] diedInWave1) {
+        assignOwners(organisms);
+        Arrays.fill(tickNanos, 0L);
+        Thread mainThread = Thread.currentThread();
+        boolean intercept = !simulation.getInstructionInterceptors().isEmpty();
+        Environment environment = simulation.getEnvironment();
+
+        pool.dispatch(partitionCount, partitionCount, (from, to) -> {
+            for (int p = from; p < to; p++) {
+                sendBoundaries(p, organisms, environment);
+            }
+        });
+        transport.deliver();
+
+        pool.dispatch(partitionCount, partitionCount, (from, to) -> {
+            for (int p = from; p < to; p++) {
+                planAndClaim(p, organisms, planned, diedInWave1, intercept ? interceptContexts[p] : null, mainThread);
+            }
+        });
+        transport.deliver();
+        applyAdoptions();
+
+        pool.dispatch(partitionCount, partitionCount, (from, to) -> {
+            for (int p = from; p < to; p++) {
+                resolveClaims(p);
+            }
+        });
+        transport.deliver();
+
+        pool.dispatch(partitionCount, partitionCount, (from, to) -> {
+            for (int p = from; p < to; p++) {
+                applyVerdicts(p);
+            }
+        });
+
+        for (int p = 0; p < partitionCount; p++) {
+            lastTickNanos.set(p, tickNanos[p]);
+        }
+    }
+
+    /**
+     * Returns the time each partition spent in the last tick.
+     *
+     * @return nanoseconds per partition
+     */
+    long[] getLastTickNanos() {
+        long[] copy = new long[partitionCount];
+        for (int p = 0; p < partitionCount; p++) {
+            copy[p] = lastTickNanos.get(p);
+        }
+        return copy;
+    }
+
+    /**
+     * Stops the partition threads.
+     */
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Builds this tick's organism lists per partition. Organisms seen for the first time
+     * (initial organisms and newborns) go to the partition of their instruction pointer; dead
+     * organisms are forgotten.
+     */
+    private void assignOwners(List<Organism> organisms) {
+        for (IntArrayList owned : ownedIndices) {
+            owned.clear();
+        }
+        indexById.clear();
+        for (int i = 0; i < organisms.size(); i++) {
+            Organism organism = organisms.get(i);
+            if (organism.isDead()) {
+                partitionById.remove(organism.getId());
+                continue;
+            }
+            int partition = partitionById.get(organism.getId());
+            if (partition < 0) {
+                partition = decomposition.ownerOfSlice(organism.getIpComponent(0));
+                partitionById.put(organism.getId(), partition);
+            }
+            ownedIndices[partition].add(i);
+            indexById.put(organism.getId(), i);
+        }
+    }
+
+    /**
+     * Round 1 for one partition: halo updates for the neighbours and hand-over of the organisms
+     * whose instruction pointer the previous tick moved out of the slab.
+     */
+    private void sendBoundaries(int partition, List<Organism> organisms, Environment environment) {
+        long start = System.nanoTime();
+        sendHaloUpdates(partition, environment);
+
+        IntArrayList owned = ownedIndices[partition];
+        int kept = 0;
+        for (int k = 0; k < owned.size(); k++) {
+            int index = owned.getInt(k);
+            Organism organism = organisms.get(index);
+            int slabOwner = decomposition.ownerOfSlice(organism.getIpComponent(0));
+            if (slabOwner == partition) {
+                owned.set(kept++, index);
+            } else {
+                transport.send(partition, slabOwner,
+                        new PartitionMessage.OrganismMigration(OrganismSnapshot.of(organism)));
+            }
+        }
+        owned.size(kept);
+        tickNanos[partition] += System.nanoTime() - start;
+    }
+
+    /** Sends each neighbour the cells of its halo that changed since the previous update. */
+    private void sendHaloUpdates(int partition, Environment environment) {
+        IntArrayList indices = haloIndices[partition];
+        IntArrayList molecules = haloMolecules[partition];
+        IntArrayList owners = haloOwners[partition];
+        BorderSlice[] slices = borderSlices[partition];
+        for (int s = 0; s < slices.length; s++) {
+            BorderSlice border = slices[s];
+            for (int offset = 0; offset < border.sentMolecules.length; offset++) {
+                int flatIndex = border.firstIndex + offset;
+                int molecule = environment.getMoleculeInt(flatIndex);
+                int owner = environment.getOwnerIdByIndex(flatIndex);
+                if (molecule != border.sentMolecules[offset] || owner != border.sentOwners[offset]) {
+                    border.sentMolecules[offset] = molecule;
+                    border.sentOwners[offset] = owner;
+                    indices.add(flatIndex);
+                    molecules.add(molecule);
+                    owners.add(owner);
+                }
+            }
+            boolean lastForTarget = s + 1 == slices.length || slices[s + 1].target != border.target;
+            if (lastForTarget && !indices.isEmpty()) {
+                transport.send(partition, border.target, new PartitionMessage.HaloUpdate(
+                        indices.toIntArray(), molecules.toIntArray(), owners.toIntArray()));
+                indices.clear();
+                molecules.clear();
+                owners.clear();
+            }
+        }
+    }
+
+    /**
+     * Round 2 for one partition: applies halo updates, restores the organisms handed to it, runs
+     * wave 1 and sends a claim for every contested target to the cell's owner.
+     */
+    private void planAndClaim(int partition, List<Organism> organisms, Instruction[] planned, boolean[] diedInWave1,
+                              InterceptionContext context, Thread mainThread) {
+        long start = System.nanoTime();
+        IntArrayList owned = ownedIndices[partition];
+        IntArrayList adopted = adoptedIds[partition];
+        Int2ObjectOpenHashMap<Instruction> awaiting = awaitingVerdict[partition];
+        adopted.clear();
+        awaiting.clear();
+        for (PartitionMessage message : transport.receive(partition)) {
+            if (message instanceof PartitionMessage.HaloUpdate update) {
+                halos[partition].apply(update);
+            } else if (message instanceof PartitionMessage.OrganismMigration migration) {
+                int id = migration.organism().getOrganismId();
+                int index = indexById.get(id);
+                // Each index is handed to exactly one partition, so no two threads write one slot
+                organisms.set(index, migration.organism().restore(simulation));
+                owned.add(index);
+                adopted.add(id);
+            }
+        }
+
+        for (int k = 0; k < owned.size(); k++) {
+            if (mainThread.isInterrupted()) break;
+            if (((k + 1) & 0xFFF) == 0) Thread.yield();
+            int index = owned.getInt(k);
+            Organism organism = organisms.get(index);
+
+            simulation.planAndExecuteOne(index, context, planned, diedInWave1);
+            Instruction instruction = planned[index];
+            if (instruction == null || Instruction.isParallelExecuteSafe(instruction.getFullOpcodeId())) {
+                continue;
+            }
+            // Every wave-2 instruction is processed by the VM; losers are booked as failures there.
+            instruction.setProcessedInTick(true);
+            int flatIndex = simulation.targetFlatIndex(instruction);
+            if (flatIndex >= 0) {
+                awaiting.put(organism.getId(), instruction);
+                transport.send(partition, decomposition.ownerOfFlatIndex(flatIndex), new PartitionMessage.ConflictClaim(
+                        partition, flatIndex, organism.getRandom().tickStreamSeed(), organism.getId()));
+            }
+        }
+        tickNanos[partition] += System.nanoTime() - start;
+    }
+
+    /** Records the partitions' adoptions in the directory; simulation thread only, between rounds. */
+    private void applyAdoptions() {
+        for (int p = 0; p < partitionCount; p++) {
+            IntArrayList ids = adoptedIds[p];
+            for (int k = 0; k < ids.size(); k++) {
+                partitionById.put(ids.getInt(k), p);
+            }
+        }
+    }
+
+    /**
+     * Round 3 for one partition: picks the winner of every owned cell and answers every claim
+     * with a verdict. Claims arrive ordered by sender, as in an unpartitioned tick's organism
+     * order per slab, and the priority rule is a total order, so the winner does not depend on
+     * the arrival order anyway.
+     */
+    private void resolveClaims(int partition) {
+        long start = System.nanoTime();
+        Int2ObjectOpenHashMap<PartitionMessage.ConflictClaim> winners = winnersByCell[partition];
+        winners.clear();
+        List<PartitionMessage> claims = transport.receive(partition);
+        for (PartitionMessage message : claims) {
+            PartitionMessage.ConflictClaim claim = (PartitionMessage.ConflictClaim) message;
+            PartitionMessage.ConflictClaim incumbent = winners.get(claim.flatIndex());
+            if (incumbent == null || Simulation.hasHigherPriority(claim.priority(), claim.organismId(),
+                    incumbent.priority(), incumbent.organismId())) {
+                winners.put(claim.flatIndex(), claim);
+            }
+        }
+        for (PartitionMessage message : claims) {
+            PartitionMessage.ConflictClaim claim = (PartitionMessage.ConflictClaim) message;
+            // An organism claims at most one cell per tick
+            boolean won = winners.get(claim.flatIndex()).organismId() == claim.organismId();
+            transport.send(partition, claim.sourcePartition(),
+                    new PartitionMessage.ConflictVerdict(claim.organismId(), won));
+        }
+        tickNanos[partition] += System.nanoTime() - start;
+    }
+
+    /** Round 4 for one partition: sets the verdicts on its organisms' instructions. */
+    private void applyVerdicts(int partition) {
+        long start = System.nanoTime();
+        Int2ObjectOpenHashMap<Instruction> awaiting = awaitingVerdict[partition];
+        for (PartitionMessage message : transport.receive(partition)) {
+            PartitionMessage.ConflictVerdict verdict = (PartitionMessage.ConflictVerdict) message;
+            awaiting.get(verdict.organismId()).setConflictStatus(verdict.won()
+                    ? Instruction.ConflictResolutionStatus.WON_EXECUTION
+                    : Instruction.ConflictResolutionStatus.LOST_PRIORITY);
+        }
+        tickNanos[partition] += System.nanoTime() - start;
+    }
+}
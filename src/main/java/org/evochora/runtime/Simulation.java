@@ -11,6 +11,8 @@ import org.evochora.runtime.model.Organism;
 import org.evochora.runtime.model.OrganismRandom;
 import org.evochora.runtime.model.SplitMix64;
 import org.evochora.runtime.model.GenomeHasher;
+import org.evochora.runtime.partition.IPartitionTransport;
+import org.evochora.runtime.partition.SlabDecomposition;
 import org.evochora.runtime.spi.DeathContext;
 import org.evochora.runtime.spi.IBirthHandler;
 import org.evochora.runtime.spi.IDeathHandler;
@@ -58,9 +60,12 @@ public class Simulation {
     private final DeathContext deathContext = new DeathContext();  // Main thread only, reused across ticks
     private final TickWorkerPool workerPool;
     private final int effectiveParallelism;
+    private volatile PartitionedTick partitionedTick;  // Null unless a domain decomposition is installed
     private int[] scalingOrganisms = {};
     private int[] scalingMaxThreads = {};
     private int nextOrganismId = 1;
+    private boolean observationEnabled = true;
+    private boolean executionRecordingEnabled = true;
     private int organismsSinceYield = 0;
     private final LongOpenHashSet allGenomesEverSeen = new LongOpenHashSet();
     private IRandomProvider randomProvider;
@@ -395,7 +400,10 @@ public class Simulation {
         boolean[] diedInWave1 = new boolean[size];
 
         int activeThreads = (workerPool != null && size > 1) ? resolveActiveParallelism(size) : 1;
-        if (activeThreads > 1) {
+        if (partitionedTick != null) {
+            // Wave 1 and conflict resolution per slab; wave 2 below is unchanged
+            partitionedTick.planAndResolve(organisms, planned, diedInWave1);
+        } else if (activeThreads > 1) {
             InterceptionContext[] contexts = instructionInterceptors.isEmpty() ? null : parallelInterceptContexts;
             Thread mainThread = Thread.currentThread();
             workerPool.dispatch(size, activeThreads, (from, to) -> {
@@ -419,7 +427,9 @@ public class Simulation {
                 wave2.add(instruction);
             }
         }
-        resolveConflicts(wave2);
+        if (partitionedTick == null) {
+            resolveConflicts(wave2);
+        }
 
         boolean[] diedInWave2 = new boolean[wave2.size()];
         for (int i = 0; i < wave2.size(); i++) {
@@ -465,44 +475,59 @@ public class Simulation {
         for (int i = from; i < to; i++) {
             if (mainThread.isInterrupted()) return;
             if ((++processed & 0xFFF) == 0) Thread.yield();
-            Organism organism = organisms.get(i);
-            if (organism.isDead()) continue;
-
-            Instruction instruction = vm.plan(organism);
-
-            if (context != null) {
-                context.reset(organism, instruction);
-                for (IInstructionInterceptor interceptor : instructionInterceptors) {
-                    try {
-                        interceptor.intercept(context);
-                    } catch (ParallelWaveViolation e) {
-                        // The run is irreproducible from here on; never downgrade this to a warning.
-                        throw e;
-                    } catch (Exception e) {
-                        LOG.warn("Interceptor '{}' failed for organism {} at tick {}: {}",
-                                interceptor.getClass().getSimpleName(), organism.getId(),
-                                currentTick, e.getMessage());
-                    }
-                }
-                instruction = context.getInstruction();
-            }
+            planAndExecuteOne(i, context, planned, diedInWave1);
+        }
+        if (onMainThread) {
+            organismsSinceYield = processed;
+        }
+    }
 
-            instruction.setConflictStatus(Instruction.ConflictResolutionStatus.NOT_APPLICABLE);
-            if (Instruction.isParallelExecuteSafe(instruction.getFullOpcodeId())) {
-                instruction.setProcessedInTick(true);
-                executeSingleInstruction(instruction);
-                if (organism.isDead()) {
-                    diedInWave1[i] = true;
+    /**
+     * Wave 1 for the organism at {@code index}: plans its instruction, runs the interceptors and
+     * executes the instruction immediately if it is parallel-safe; otherwise leaves it for wave 2.
+     * Dead organisms are skipped.
+     *
+     * @param index the organism's index in {@link #getOrganisms()}
+     * @param context the interception context of the executing thread, or {@code null} when no
+     *                interceptors are registered
+     * @param planned receives the planned instruction at {@code index}
+     * @param diedInWave1 set at {@code index} when the organism dies during wave 1
+     */
+    void planAndExecuteOne(int index, InterceptionContext context, Instruction[] planned, boolean[] diedInWave1) {
+        Organism organism = organisms.get(index);
+        if (organism.isDead()) return;
+
+        Instruction instruction = vm.plan(organism);
+
+        if (context != null) {
+            context.reset(organism, instruction);
+            for (IInstructionInterceptor interceptor : instructionInterceptors) {
+                try {
+                    interceptor.intercept(context);
+                } catch (ParallelWaveViolation e) {
+                    // The run is irreproducible from here on; never downgrade this to a warning.
+                    throw e;
+                } catch (Exception e) {
+                    LOG.warn("Interceptor '{}' failed for organism {} at tick {}: {}",
+                            interceptor.getClass().getSimpleName(), organism.getId(),
+                            currentTick, e.getMessage());
                 }
-            } else {
-                instruction.setProcessedInTick(false);
             }
-
-            planned[i] = instruction;
+            instruction = context.getInstruction();
         }
-        if (onMainThread) {
-            organismsSinceYield = processed;
+
+        instruction.setConflictStatus(Instruction.ConflictResolutionStatus.NOT_APPLICABLE);
+        if (Instruction.isParallelExecuteSafe(instruction.getFullOpcodeId())) {
+            instruction.setProcessedInTick(true);
+            executeSingleInstruction(instruction);
+            if (organism.isDead()) {
+                diedInWave1[index] = true;
+            }
+        } else {
+            instruction.setProcessedInTick(false);
         }
+
+        planned[index] = instruction;
     }
 
     /**
@@ -638,6 +663,54 @@ public class Simulation {
         if (workerPool != null) {
             workerPool.shutdown();
         }
+        if (partitionedTick != null) {
+            partitionedTick.shutdown();
+        }
+    }
+
+    /**
+     * Splits the world into slabs and runs each tick partitioned: every partition plans and
+     * executes wave 1 for the organisms in its slab on its own thread, and contested cells are
+     * resolved by the partition that owns the cell. Wave 2 still executes in organism order, so a
+     * partitioned run produces exactly the states of an unpartitioned run with the same seed.
+     * <p>
+     * Partitions exchange everything they share through the transport: the cells bordering each
+     * slab (its halo), organisms whose instruction pointer has left their slab, conflict claims
+     * and verdicts. Wave 1 and wave 2 still access this simulation's environment directly.
+     * <p>
+     * While a decomposition is installed it replaces the worker pool configured by
+     * {@code parallelism}. Must not be called concurrently with {@link #tick()}.
+     *
+     * @param decomposition the slab layout (at least two partitions)
+     * @param transport     the transport connecting the partitions, for the same partition count
+     * @throws IllegalArgumentException if the decomposition has fewer than two partitions or the
+     *                                  transport connects a different number of partitions
+     */
+    public void setDomainDecomposition(SlabDecomposition decomposition, IPartitionTransport transport) {
+        if (decomposition.getPartitionCount() < 2) {
+            throw new IllegalArgumentException("A domain decomposition needs at least 2 partitions, got "
+                    + decomposition.getPartitionCount());
+        }
+        if (transport.getPartitionCount() != decomposition.getPartitionCount()) {
+            throw new IllegalArgumentException("Transport connects " + transport.getPartitionCount()
+                    + " partitions, decomposition has " + decomposition.getPartitionCount());
+        }
+        if (partitionedTick != null) {
+            partitionedTick.shutdown();
+        }
+        this.partitionedTick = new PartitionedTick(this, decomposition, transport);
+    }
+
+    /**
+     * Returns the wall-clock time each partition spent in the last tick (wave 1 and conflict
+     * resolution), indexed by partition.
+     * Thread-safe: may be called while the simulation ticks.
+     *
+     * @return nanoseconds per partition, or an empty array without a domain decomposition
+     */
+    public long[] getPartitionTickNanos() {
+        PartitionedTick current = partitionedTick;
+        return current != null ? current.getLastTickNanos() : new long[0];
     }
 
     /**
@@ -672,18 +745,8 @@ public class Simulation {
         for (Instruction instruction : instructions) {
             // Every instruction is processed by the VM; losers are booked as failures there.
             instruction.setProcessedInTick(true);
-            if (instruction instanceof IEnvironmentModifyingInstruction modInstruction) {
-                List<int[]> targetCoords = modInstruction.getTargetCoordinates();
-                // Without a target cell (e.g. invalid arguments) the instruction runs, detects the
-                // error itself and fails gracefully.
-                if (targetCoords == null || targetCoords.isEmpty()) {
-                    continue;
-                }
-                if (targetCoords.size() > 1) {
-                    throw new IllegalStateException(instruction.getName()
-                            + " reports " + targetCoords.size() + " target cells; conflict resolution is defined for one");
-                }
-                int flatIndex = this.environment.properties.toFlatIndex(targetCoords.get(0));
+            int flatIndex = targetFlatIndex(instruction);
+            if (flatIndex >= 0) {
                 contendersByFlatIndex.computeIfAbsent(flatIndex, k -> new ArrayList<>()).add(instruction);
             }
         }
@@ -706,6 +769,31 @@ public class Simulation {
         }
     }
 
+    /**
+     * Returns the flat index of the cell an environment-modifying instruction contends for.
+     * <p>
+     * Without a target cell (e.g. invalid arguments) the instruction runs, detects the error
+     * itself and fails gracefully, so it takes no part in conflict resolution.
+     *
+     * @param instruction a planned wave-2 instruction
+     * @return the target's flat index, or -1 if the instruction contends for no cell
+     * @throws IllegalStateException if the instruction reports more than one target cell
+     */
+    int targetFlatIndex(Instruction instruction) {
+        if (!(instruction instanceof IEnvironmentModifyingInstruction modInstruction)) {
+            return -1;
+        }
+        List<int[]> targetCoords = modInstruction.getTargetCoordinates();
+        if (targetCoords == null || targetCoords.isEmpty()) {
+            return -1;
+        }
+        if (targetCoords.size() > 1) {
+            throw new IllegalStateException(instruction.getName()
+                    + " reports " + targetCoords.size() + " target cells; conflict resolution is defined for one");
+        }
+        return this.environment.properties.toFlatIndex(targetCoords.get(0));
+    }
+
     /**
      * Compares two contenders for the same cell: smaller tick priority wins, lower organism ID
      * breaks ties.
@@ -713,12 +801,63 @@ public class Simulation {
     private static boolean hasHigherPriority(Instruction candidate, Instruction incumbent) {
         Organism candidateOrganism = candidate.getOrganism();
         Organism incumbentOrganism = incumbent.getOrganism();
-        long candidatePriority = candidateOrganism.getRandom().tickStreamSeed();
-        long incumbentPriority = incumbentOrganism.getRandom().tickStreamSeed();
+        return hasHigherPriority(candidateOrganism.getRandom().tickStreamSeed(), candidateOrganism.getId(),
+                incumbentOrganism.getRandom().tickStreamSeed(), incumbentOrganism.getId());
+    }
+
+    /**
+     * The priority rule of {@link #resolveConflicts} on plain values, for contenders that are
+     * known only by priority and ID (see {@link PartitionedTick}).
+     */
+    static boolean hasHigherPriority(long candidatePriority, int candidateId, long incumbentPriority, int incumbentId) {
         if (candidatePriority != incumbentPriority) {
             return candidatePriority < incumbentPriority;
         }
-        return candidateOrganism.getId() < incumbentOrganism.getId();
+        return candidateId < incumbentId;
+    }
+
+    /**
+     * Enables or disables observation of the run: environment change tracking and the per-instruction
+     * execution records ({@link Organism#getLastInstructionExecution()}). Both exist only for the
+     * data pipeline; disabling them speeds up ticks whose state is never captured, and never changes
+     * the simulation's result.
+     * <p>
+     * Must not be called concurrently with {@link #tick()}. After re-enabling, the environment's
+     * tracked changes are incomplete, so the next capture must be a full snapshot.
+     *
+     * @param enabled whether ticks are observed
+     */
+    public void setObservationEnabled(boolean enabled) {
+        this.observationEnabled = enabled;
+        environment.setChangeTrackingEnabled(enabled);
+    }
+
+    /**
+     * @return whether ticks record change tracking and execution records
+     */
+    public boolean isObservationEnabled() {
+        return observationEnabled;
+    }
+
+    /**
+     * Enables or disables the per-instruction execution records for the following ticks. A caller
+     * that captures only every Nth tick enables them just before a captured tick: the records are
+     * reset at the start of every tick, so the ones of other ticks are never read. Never changes
+     * the simulation's result.
+     * <p>
+     * Must not be called concurrently with {@link #tick()}.
+     *
+     * @param enabled whether the next ticks record execution data
+     */
+    public void setExecutionRecordingEnabled(boolean enabled) {
+        this.executionRecordingEnabled = enabled;
+    }
+
+    /**
+     * @return whether the current tick records execution data (requires observation as well)
+     */
+    public boolean isExecutionRecordingEnabled() {
+        return executionRecordingEnabled && observationEnabled;
     }
 
     /**
@@ -1,8 +1,7 @@
 package org.evochora.runtime;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.evochora.runtime.internal.services.ExecutionContext;
@@ -33,6 +32,9 @@ public class VirtualMachine {
      */
     public static final String LOST_WRITE_CONFLICT = "Lost write conflict";
 
+    private static final int[] EMPTY_REGISTER_IDS = new int[0];
+    private static final Object[] EMPTY_REGISTER_VALUES = new Object[0];
+
     private final Environment environment;
     private final Simulation simulation; // Store simulation reference
 
@@ -107,15 +109,19 @@ public class VirtualMachine {
 
         try {
             // A conflict loser is booked as a failure but not executed; it leaves no execution
-            // record, so the argument and register capture below is skipped for it.
+            // record, so the argument and register capture below is skipped for it. Records are
+            // only read when the tick is captured, so on all other ticks it is skipped as well.
             boolean lostConflict = instruction.getConflictStatus() == Instruction.ConflictResolutionStatus.LOST_PRIORITY;
+            boolean recordExecution = !lostConflict && this.simulation.isExecutionRecordingEnabled();
 
             int[] rawArgs = null;
-            Map<Integer, Object> registerValuesBefore = null;
-            if (!lostConflict) {
+            int[] registerIds = null;
+            Object[] registerValuesBefore = null;
+            if (recordExecution) {
                 rawArgs = organism.getRawArgumentsFromEnvironment(instruction.getLength(this.environment), this.environment);
                 // Collect register values BEFORE execution (for annotation display)
-                registerValuesBefore = collectRegisterValues(organism, instruction.getFullOpcodeId(), rawArgs);
+                registerIds = collectRegisterIds(instruction.getFullOpcodeId(), rawArgs);
+                registerValuesBefore = readRegisterValues(organism, registerIds);
             }
 
             // Track energy and entropy before execution to calculate total changes
@@ -191,12 +197,13 @@ public class VirtualMachine {
 
             // Store instruction execution data for history tracking. A conflict loser was not
             // executed, so it leaves no execution record; its failure reason is the trace.
-            if (!lostConflict) {
+            if (recordExecution) {
                 Organism.InstructionExecutionData executionData = new Organism.InstructionExecutionData(
                     instruction.getFullOpcodeId(),
                     rawArgs,
                     totalEnergyCost,
                     totalEntropyDelta,
+                    registerIds,
                     registerValuesBefore
                 );
                 organism.setLastInstructionExecution(executionData);
@@ -274,70 +281,69 @@ public class VirtualMachine {
         int length = Instruction.getInstructionLengthById(opcodeId, this.environment);
         int[] rawArgs = organism.getRawArgumentsFromEnvironment(
                 length, this.environment, organism.getIp(), organism.getDv());
-        Map<Integer, Object> registerValues = collectRegisterValues(organism, opcodeId, rawArgs);
+        int[] registerIds = collectRegisterIds(opcodeId, rawArgs);
 
-        return new Organism.InstructionExecutionData(opcodeId, rawArgs, 0, 0, registerValues);
+        return new Organism.InstructionExecutionData(opcodeId, rawArgs, 0, 0,
+                registerIds, readRegisterValues(organism, registerIds));
     }
 
     /**
-     * Collects register values for the given instruction's register arguments.
+     * Collects the IDs of the registers the given instruction uses as arguments.
      * Used both by {@link #execute(Instruction)} (to capture values before execution)
      * and by {@link #peekNextInstruction(Organism)} (to capture current values as preview).
      *
-     * @param organism The organism whose registers to read.
      * @param opcodeId The full opcode ID of the instruction.
      * @param rawArgs  The raw argument values from the environment.
-     * @return A map from register ID to register value for all register arguments.
+     * @return The register IDs of all register arguments, in argument order.
      */
-    private Map<Integer, Object> collectRegisterValues(Organism organism, int opcodeId, int[] rawArgs) {
-        Map<Integer, Object> registerValues = new HashMap<>();
+    private int[] collectRegisterIds(int opcodeId, int[] rawArgs) {
         Optional<InstructionSignature> signatureOpt = Instruction.getSignatureById(opcodeId);
         if (signatureOpt.isEmpty()) {
-            return registerValues;
+            return EMPTY_REGISTER_IDS;
         }
 
-        InstructionSignature signature = signatureOpt.get();
-        java.util.List<InstructionArgumentType> argTypes = signature.argumentTypes();
+        List<InstructionArgumentType> argTypes = signatureOpt.get().argumentTypes();
+        int[] registerIds = new int[argTypes.size()];
+        int count = 0;
         int argIndex = 0;
 
         for (InstructionArgumentType argType : argTypes) {
-            if (argType == InstructionArgumentType.REGISTER) {
+            if (argType == InstructionArgumentType.REGISTER
+                    || argType == InstructionArgumentType.LOCATION_REGISTER) {
                 if (argIndex < rawArgs.length) {
-                    int registerId = Instruction.extractSignedValue(rawArgs[argIndex]);
-
-                    // Read register value (DR/PDR/FDR)
-                    Object registerValue = organism.readOperand(registerId);
-                    if (registerValue != null) {
-                        registerValues.put(registerId, registerValue);
-                    }
-                    // null means invalid register - don't store, frontend shows register name only
-
-                    argIndex++;
-                }
-            } else if (argType == InstructionArgumentType.LOCATION_REGISTER) {
-                if (argIndex < rawArgs.length) {
-                    int registerId = Instruction.extractSignedValue(rawArgs[argIndex]);
-
-                    // Read location register value (identical to REGISTER branch)
-                    Object lrValue = organism.readOperand(registerId);
-                    if (lrValue != null) {
-                        registerValues.put(registerId, lrValue);
-                    }
-
+                    registerIds[count++] = Instruction.extractSignedValue(rawArgs[argIndex]);
                     argIndex++;
                 }
             } else if (argType == InstructionArgumentType.VECTOR ||
                        argType == InstructionArgumentType.LABEL) {
                 // VECTOR/LABEL are encoded as multiple arguments in rawArgs (one per dimension)
                 // Skip over all dimension slots to maintain correct argIndex for subsequent arguments
-                int dims = this.environment.properties.getDimensions();
-                argIndex += dims;
+                argIndex += this.environment.properties.getDimensions();
             } else {
                 // IMMEDIATE, LITERAL - no register arguments
                 argIndex++;
             }
         }
 
-        return registerValues;
+        return count == 0 ? EMPTY_REGISTER_IDS
+                : count == registerIds.length ? registerIds : Arrays.copyOf(registerIds, count);
+    }
+
+    /**
+     * Reads the current values of the given registers (DR/PDR/FDR/LR).
+     *
+     * @param organism    The organism whose registers to read.
+     * @param registerIds The register IDs from {@link #collectRegisterIds(int, int[])}.
+     * @return The register values, parallel to {@code registerIds}; null for an invalid register.
+     */
+    private static Object[] readRegisterValues(Organism organism, int[] registerIds) {
+        if (registerIds.length == 0) {
+            return EMPTY_REGISTER_VALUES;
+        }
+        Object[] values = new Object[registerIds.length];
+        for (int i = 0; i < registerIds.length; i++) {
+            values[i] = organism.readOperand(registerIds[i]);
+        }
+        return values;
     }
 }
\ No newline at end of file
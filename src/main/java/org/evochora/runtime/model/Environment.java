@@ -46,6 +46,7 @@ public class Environment implements IEnvironmentReader {
     // Used by SimulationEngine to create incremental/accumulated deltas
     // Memory: 1 bit per cell (e.g., 125KB for 1M cells)
     private final BitSet changedSinceLastReset;
+    private boolean changeTrackingEnabled = true;
 
     // Label index for fuzzy jump matching
     // Maintains index of all LABEL molecules for O(1) lookup
@@ -222,7 +223,7 @@ public class Environment implements IEnvironmentReader {
             this.grid[index] = newMoleculeInt;
 
             // Track change for delta compression
-            changedSinceLastReset.set(index);
+            if (changeTrackingEnabled) changedSinceLastReset.set(index);
 
             // Update label index for fuzzy jump matching
             int owner = this.ownerGrid[index];
@@ -250,7 +251,7 @@ public class Environment implements IEnvironmentReader {
             this.grid[index] = newMoleculeInt;
 
             // Track change for delta compression
-            changedSinceLastReset.set(index);
+            if (changeTrackingEnabled) changedSinceLastReset.set(index);
 
             // Update ownership index
             int oldOwner = this.ownerGrid[index];
@@ -292,7 +293,7 @@ public class Environment implements IEnvironmentReader {
         int index = getFlatIndex(coord);
         if (index != -1) {
             // Track change for delta compression (owner change is also a change)
-            changedSinceLastReset.set(index);
+            if (changeTrackingEnabled) changedSinceLastReset.set(index);
 
             // Update ownership index
             int oldOwner = this.ownerGrid[index];
@@ -564,7 +565,7 @@ public class Environment implements IEnvironmentReader {
         this.grid[flatIndex] = newMoleculeInt;
 
         // Track change for delta compression
-        changedSinceLastReset.set(flatIndex);
+        if (changeTrackingEnabled) changedSinceLastReset.set(flatIndex);
 
         // Update label index for fuzzy jump matching
         int owner = this.ownerGrid[flatIndex];
@@ -618,7 +619,7 @@ public class Environment implements IEnvironmentReader {
             // Reset marker to 0: clear marker bits and keep value/type
             grid[flatIndex] = grid[flatIndex] & ~Config.MARKER_MASK;
             // Track change for delta compression
-            changedSinceLastReset.set(flatIndex);
+            if (changeTrackingEnabled) changedSinceLastReset.set(flatIndex);
             // Update ownership index
             fromSet.remove(flatIndex);
             toSet.add(flatIndex);
@@ -661,7 +662,7 @@ public class Environment implements IEnvironmentReader {
             // Reset marker to 0
             grid[flatIndex] = grid[flatIndex] & ~Config.MARKER_MASK;
             // Track change for delta compression
-            changedSinceLastReset.set(flatIndex);
+            if (changeTrackingEnabled) changedSinceLastReset.set(flatIndex);
             // Update label index: owner cleared and marker reset to 0
             int moleculeInt = grid[flatIndex];
             labelIndex.onOwnerChange(flatIndex, moleculeInt, 0);
@@ -715,7 +716,7 @@ public class Environment implements IEnvironmentReader {
             grid[flatIndex] = 0;
             ownerGrid[flatIndex] = 0;
             // Track change for delta compression
-            changedSinceLastReset.set(flatIndex);
+            if (changeTrackingEnabled) changedSinceLastReset.set(flatIndex);
             // Update ownership index: remove from owner's set
             owned.remove(flatIndex);
             // Update label index: molecule removed
@@ -762,6 +763,30 @@ public class Environment implements IEnvironmentReader {
     public void resetChangeTracking() {
         changedSinceLastReset.clear();
     }
+
+    /**
+     * Enables or disables change tracking.
+     * <p>
+     * While disabled, writes are not recorded, which saves a bit operation per write when no
+     * deltas are taken (e.g. while fast-forwarding through a burn-in). Enabling clears the
+     * tracked set: it misses the writes made while disabled, so the next sample must be a full
+     * snapshot.
+     *
+     * @param enabled whether writes are recorded for {@link #getChangedIndices()}
+     */
+    public void setChangeTrackingEnabled(boolean enabled) {
+        if (enabled && !changeTrackingEnabled) {
+            changedSinceLastReset.clear();
+        }
+        this.changeTrackingEnabled = enabled;
+    }
+
+    /**
+     * @return whether writes are recorded for {@link #getChangedIndices()}
+     */
+    public boolean isChangeTrackingEnabled() {
+        return changeTrackingEnabled;
+    }
     
     /**
      * Gets the total number of cells in the environment.
@@ -47,17 +47,35 @@ public class Organism {
      * @param opcodeId The opcode ID of the executed instruction.
      * @param rawArguments The raw argument values from the environment.
      * @param energyCost The total energy cost for executing this instruction.
-     * @param registerValuesBefore Register values before instruction execution (for annotation display).
-     *                             Maps register ID to register value (only for registers used as arguments).
-     *                             Can be empty but never null.
+     * @param registerIds IDs of the registers used as arguments, in argument order. Never null.
+     * @param registerValues Values of those registers before instruction execution (for annotation
+     *                       display), parallel to {@code registerIds}. An entry is null if its
+     *                       register ID is invalid; the frontend then shows the register name only.
      */
     public record InstructionExecutionData(
         int opcodeId,
         int[] rawArguments,
         int energyCost,
         int entropyDelta,
-        java.util.Map<Integer, Object> registerValuesBefore
-    ) {}
+        int[] registerIds,
+        Object[] registerValues
+    ) {
+        /**
+         * Returns the register values before execution keyed by register ID, leaving out invalid
+         * registers. Builds a new map on every call; serializers iterate the arrays instead.
+         *
+         * @return a map from register ID to register value, possibly empty
+         */
+        public java.util.Map<Integer, Object> registerValuesBefore() {
+            java.util.Map<Integer, Object> values = new java.util.LinkedHashMap<>();
+            for (int i = 0; i < registerIds.length; i++) {
+                if (registerValues[i] != null) {
+                    values.put(registerIds[i], registerValues[i]);
+                }
+            }
+            return values;
+        }
+    }
 
     private static final int[] EMPTY_INT_ARRAY = new int[0];
 
@@ -1070,6 +1088,12 @@ public class Organism {
     }
     /** @return A copy of the current Instruction Pointer (IP) coordinate. */
     public int[] getIp() { return Arrays.copyOf(ip, ip.length); }
+    /**
+     * Returns one component of the Instruction Pointer without copying it.
+     * @param dimension The axis.
+     * @return The IP coordinate along {@code dimension}.
+     */
+    public int getIpComponent(int dimension) { return ip[dimension]; }
     /** @return A copy of the IP coordinate as it was at the beginning of the tick. */
     public int[] getIpBeforeFetch() { return Arrays.copyOf(ipBeforeFetch, ipBeforeFetch.length); }
     /** @return A copy of the DV as it was at the beginning of the tick. */
@@ -0,0 +1,98 @@
+package org.evochora.runtime.partition;
+
+/**
+ * A partition's copy of its halo: the molecules and owners of the slices bordering its slab,
+ * which the neighbouring partitions own and keep current through
+ * {@link PartitionMessage.HaloUpdate}s.
+ * <p>
+ * The copy starts out empty (every cell zero, unowned), as does every world before it is seeded;
+ * the first update of each neighbour therefore carries every non-empty cell of its border slice.
+ * <p>
+ * <strong>Thread Safety:</strong> Not thread-safe. Owned by its partition.
+ */
+public final class HaloRegion {
+
+    private final int[] slices;
+    private final int sliceStride;
+    private final int[] molecules;
+    private final int[] owners;
+
+    /**
+     * Creates the empty halo of a partition.
+     *
+     * @param decomposition the slab layout
+     * @param partition     the partition
+     */
+    public HaloRegion(SlabDecomposition decomposition, int partition) {
+        this.slices = decomposition.getHaloSlices(partition);
+        this.sliceStride = decomposition.getSliceStride();
+        this.molecules = new int[slices.length * sliceStride];
+        this.owners = new int[slices.length * sliceStride];
+    }
+
+    /**
+     * @return the halo's slices, lower neighbour first
+     */
+    public int[] getSlices() {
+        return slices.clone();
+    }
+
+    /**
+     * @param flatIndex a cell's flat index
+     * @return whether the cell lies in the halo
+     */
+    public boolean contains(int flatIndex) {
+        return slotOf(flatIndex) >= 0;
+    }
+
+    /**
+     * @param flatIndex a cell in the halo
+     * @return the cell's packed molecule as last received
+     * @throws IllegalArgumentException if the cell lies outside the halo
+     */
+    public int getMoleculeInt(int flatIndex) {
+        return molecules[offsetOf(flatIndex)];
+    }
+
+    /**
+     * @param flatIndex a cell in the halo
+     * @return the cell's owner ID as last received
+     * @throws IllegalArgumentException if the cell lies outside the halo
+     */
+    public int getOwnerId(int flatIndex) {
+        return owners[offsetOf(flatIndex)];
+    }
+
+    /**
+     * Applies a neighbour's update.
+     *
+     * @param update the changed cells
+     * @throws IllegalArgumentException if a cell lies outside the halo
+     */
+    public void apply(PartitionMessage.HaloUpdate update) {
+        int[] indices = update.flatIndices();
+        for (int i = 0; i < indices.length; i++) {
+            int offset = offsetOf(indices[i]);
+            molecules[offset] = update.molecules()[i];
+            owners[offset] = update.owners()[i];
+        }
+    }
+
+    private int slotOf(int flatIndex) {
+        int slice = flatIndex / sliceStride;
+        for (int slot = 0; slot < slices.length; slot++) {
+            if (slices[slot] == slice) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int offsetOf(int flatIndex) {
+        int slot = slotOf(flatIndex);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Cell " + flatIndex + " is not in the halo");
+        }
+        return slot * sliceStride + flatIndex % sliceStride;
+    }
+}
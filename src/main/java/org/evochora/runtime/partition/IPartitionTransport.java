@@ -0,0 +1,47 @@
+package org.evochora.runtime.partition;
+
+import java.util.List;
+
+/**
+ * Carries messages between the partitions of a decomposed simulation in bulk-synchronous rounds.
+ * <p>
+ * During a round every partition {@link #send sends} messages; {@link #deliver()} then ends the
+ * round, after which each partition {@link #receive receives} what was addressed to it. Messages
+ * sent in a round are never visible in the same round, so the outcome does not depend on how
+ * partitions are scheduled.
+ * <p>
+ * <strong>Thread Safety:</strong> {@link #send} may be called concurrently for different senders
+ * and {@link #receive} concurrently for different receivers. {@link #deliver()} must be called by
+ * one thread while no partition sends or receives.
+ */
+public interface IPartitionTransport {
+
+    /**
+     * @return the number of partitions connected by this transport
+     */
+    int getPartitionCount();
+
+    /**
+     * Queues a message for delivery at the end of the current round.
+     *
+     * @param from    the sending partition
+     * @param to      the receiving partition (may equal {@code from})
+     * @param message the message
+     */
+    void send(int from, int to, PartitionMessage message);
+
+    /**
+     * Ends the current round: makes every message sent since the previous delivery available to
+     * its receiver and discards the messages of the previous round.
+     */
+    void deliver();
+
+    /**
+     * Returns the messages delivered to a partition in the last round, ordered by sender and, per
+     * sender, by send order. The list is valid until the next {@link #deliver()}.
+     *
+     * @param partition the receiving partition
+     * @return the delivered messages
+     */
+    List<PartitionMessage> receive(int partition);
+}
@@ -0,0 +1,72 @@
+package org.evochora.runtime.partition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link IPartitionTransport} for partitions living in the same JVM: messages are handed over by
+ * reference through one outbox per sender and receiver. Messages hold values only, so the
+ * receiver shares no state with the sender even so.
+ * <p>
+ * <strong>Thread Safety:</strong> As specified by {@link IPartitionTransport}; each outbox is
+ * written by its sender only, and the hand-over in {@link #deliver()} relies on the caller's
+ * round barrier for visibility.
+ */
+public final class LoopbackPartitionTransport implements IPartitionTransport {
+
+    private final int partitionCount;
+    private final List<PartitionMessage>[][] outboxes;
+    private final List<PartitionMessage>[] inboxes;
+
+    /**
+     * Creates a transport for the given number of partitions.
+     *
+     * @param partitionCount the number of partitions (at least 1)
+     */
+    @SuppressWarnings("unchecked")
+    public LoopbackPartitionTransport(int partitionCount) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("partitionCount must be >= 1, got " + partitionCount);
+        }
+        this.partitionCount = partitionCount;
+        this.outboxes = new List[partitionCount][partitionCount];
+        this.inboxes = new List[partitionCount];
+        for (int from = 0; from < partitionCount; from++) {
+            for (int to = 0; to < partitionCount; to++) {
+                outboxes[from][to] = new ArrayList<>();
+            }
+        }
+        for (int to = 0; to < partitionCount; to++) {
+            inboxes[to] = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    @Override
+    public void send(int from, int to, PartitionMessage message) {
+        outboxes[from][to].add(message);
+    }
+
+    @Override
+    public void deliver() {
+        for (int to = 0; to < partitionCount; to++) {
+            List<PartitionMessage> inbox = inboxes[to];
+            inbox.clear();
+            for (int from = 0; from < partitionCount; from++) {
+                List<PartitionMessage> outbox = outboxes[from][to];
+                inbox.addAll(outbox);
+                outbox.clear();
+            }
+        }
+    }
+
+    @Override
+    public List<PartitionMessage> receive(int partition) {
+        return Collections.unmodifiableList(inboxes[partition]);
+    }
+}
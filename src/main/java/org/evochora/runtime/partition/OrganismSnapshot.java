@@ -0,0 +1,200 @@
+package org.evochora.runtime.partition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evochora.runtime.Simulation;
+import org.evochora.runtime.model.Organism;
+import org.evochora.runtime.model.Organism.ProcFrame;
+
+/**
+ * The state of an organism at a tick boundary, detached from the organism it was taken from.
+ * <p>
+ * Every coordinate, register value, stack entry and procedure frame is copied, so a snapshot
+ * shares nothing with the live organism and can be carried to another partition by
+ * {@link PartitionMessage.OrganismMigration}, where {@link #restore(Simulation)} rebuilds the
+ * organism. Per-tick state (the position before fetch, the last execution record, the skip flag)
+ * is not captured: the virtual machine resets it before the organism's next instruction.
+ * <p>
+ * <strong>Thread Safety:</strong> Immutable; may be restored from any thread.
+ */
+public final class OrganismSnapshot {
+
+    private final int id;
+    private final Integer parentId;
+    private final long birthTick;
+    private final String programId;
+    private final int[] ip;
+    private final int[] dv;
+    private final int energy;
+    private final int entropy;
+    private final int marker;
+    private final long genomeHash;
+    private final long deathTick;
+    private final int[] initialPosition;
+    private final List<int[]> dataPointers;
+    private final int activeDpIndex;
+    private final Object[] registers;
+    private final List<Object> dataStack;
+    private final List<int[]> locationStack;
+    private final List<ProcFrame> callStack;
+    private final boolean dead;
+    private final boolean instructionFailed;
+    private final String failureReason;
+    private final List<ProcFrame> failureCallStack;
+    private final Map<Integer, Object[]> persistentRegisterState;
+    private final int currentProcLabelHash;
+    private final boolean stackSavedDirty;
+    private final boolean persistentDirty;
+
+    private OrganismSnapshot(Organism organism) {
+        this.id = organism.getId();
+        this.parentId = organism.getParentId();
+        this.birthTick = organism.getBirthTick();
+        this.programId = organism.getProgramId();
+        this.ip = organism.getIp();
+        this.dv = organism.getDv();
+        this.energy = organism.getEr();
+        this.entropy = organism.getSr();
+        this.marker = organism.getMr();
+        this.genomeHash = organism.getGenomeHash();
+        this.deathTick = organism.getDeathTick();
+        this.initialPosition = organism.getInitialPosition();
+        this.dataPointers = organism.getDps();
+        this.activeDpIndex = organism.getActiveDpIndex();
+        this.registers = copyValues(organism.getRegisters());
+        this.dataStack = copyValues(organism.getDataStack());
+        this.locationStack = copyLocations(organism.getLocationStack());
+        this.callStack = copyFrames(organism.getCallStack());
+        this.dead = organism.isDead();
+        this.instructionFailed = organism.isInstructionFailed();
+        this.failureReason = organism.getFailureReason();
+        this.failureCallStack = organism.getFailureCallStack() != null
+                ? copyFrames(organism.getFailureCallStack()) : null;
+        this.persistentRegisterState = copyPersistentState(organism.getPersistentRegisterState());
+        this.currentProcLabelHash = organism.getCurrentProcLabelHash();
+        this.stackSavedDirty = organism.isStackSavedDirty();
+        this.persistentDirty = organism.isPersistentDirty();
+    }
+
+    /**
+     * Captures an organism's state. Must be called at a tick boundary, while no instruction of the
+     * organism is planned or executing.
+     *
+     * @param organism the organism
+     * @return a snapshot sharing no mutable state with the organism
+     */
+    public static OrganismSnapshot of(Organism organism) {
+        return new OrganismSnapshot(organism);
+    }
+
+    /**
+     * @return the ID of the captured organism
+     */
+    public int getOrganismId() {
+        return id;
+    }
+
+    /**
+     * @return a copy of the captured instruction pointer
+     */
+    public int[] getIp() {
+        return Arrays.copyOf(ip, ip.length);
+    }
+
+    /**
+     * Rebuilds the organism. Every call returns a new organism with state of its own.
+     *
+     * @param simulation the simulation the organism belongs to
+     * @return the restored organism
+     */
+    public Organism restore(Simulation simulation) {
+        return Organism.restore(id, birthTick)
+                .parentId(parentId)
+                .programId(programId)
+                .ip(ip)
+                .dv(dv)
+                .energy(energy)
+                .entropy(entropy)
+                .marker(marker)
+                .genomeHash(genomeHash)
+                .deathTick(deathTick)
+                .initialPosition(initialPosition)
+                .dataPointers(dataPointers)
+                .activeDpIndex(activeDpIndex)
+                .registers(copyValues(registers))
+                .dataStack(new ArrayDeque<>(copyValues(dataStack)))
+                .locationStack(new ArrayDeque<>(copyLocations(locationStack)))
+                .callStack(new ArrayDeque<>(copyFrames(callStack)))
+                .dead(dead)
+                .failed(instructionFailed, failureReason)
+                .failureCallStack(failureCallStack != null ? new ArrayDeque<>(copyFrames(failureCallStack)) : null)
+                .persistentRegisterState(copyPersistentState(persistentRegisterState))
+                .currentProcLabelHash(currentProcLabelHash)
+                .stackSavedDirty(stackSavedDirty)
+                .persistentDirty(persistentDirty)
+                .build(simulation);
+    }
+
+    /** Register and stack values are immutable boxed scalars or location vectors. */
+    private static Object copyValue(Object value) {
+        if (value instanceof int[] vector) {
+            return Arrays.copyOf(vector, vector.length);
+        }
+        if (value instanceof Object[] values) {
+            return copyValues(values);
+        }
+        return value;
+    }
+
+    private static Object[] copyValues(Object[] values) {
+        Object[] copy = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = copyValue(values[i]);
+        }
+        return copy;
+    }
+
+    private static List<Object> copyValues(Collection<Object> values) {
+        List<Object> copy = new ArrayList<>(values.size());
+        for (Object value : values) {
+            copy.add(copyValue(value));
+        }
+        return copy;
+    }
+
+    private static List<int[]> copyLocations(Collection<int[]> locations) {
+        List<int[]> copy = new ArrayList<>(locations.size());
+        for (int[] location : locations) {
+            copy.add(Arrays.copyOf(location, location.length));
+        }
+        return copy;
+    }
+
+    private static List<ProcFrame> copyFrames(Collection<ProcFrame> frames) {
+        List<ProcFrame> copy = new ArrayList<>(frames.size());
+        for (ProcFrame frame : frames) {
+            copy.add(new ProcFrame(
+                    frame.labelHash(),
+                    frame.absoluteReturnIp() != null ? Arrays.copyOf(frame.absoluteReturnIp(), frame.absoluteReturnIp().length) : null,
+                    frame.absoluteCallIp() != null ? Arrays.copyOf(frame.absoluteCallIp(), frame.absoluteCallIp().length) : null,
+                    frame.savedRegisters() != null ? copyValues(frame.savedRegisters()) : null,
+                    frame.parameterBindings() != null ? new HashMap<>(frame.parameterBindings()) : null));
+        }
+        return copy;
+    }
+
+    private static Map<Integer, Object[]> copyPersistentState(Map<Integer, Object[]> state) {
+        Map<Integer, Object[]> copy = new HashMap<>(state.size());
+        for (Map.Entry<Integer, Object[]> entry : state.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue() != null ? copyValues(entry.getValue()) : null);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,51 @@
+package org.evochora.runtime.partition;
+
+/**
+ * A message exchanged between partitions of a decomposed simulation in a transport round.
+ * <p>
+ * Messages carry values only — no references to organisms, instructions or the environment — so
+ * a transport may serialize them and connect partitions living in different processes.
+ */
+public sealed interface PartitionMessage {
+
+    /**
+     * Sent by an organism's partition to the partition owning the cell the organism's
+     * environment-modifying instruction targets.
+     *
+     * @param sourcePartition the partition owning the organism, which receives the verdict
+     * @param flatIndex       the contested cell
+     * @param priority        the organism's tick priority
+     * @param organismId      the organism's ID, which breaks priority ties
+     */
+    record ConflictClaim(int sourcePartition, int flatIndex, long priority, int organismId)
+            implements PartitionMessage {
+    }
+
+    /**
+     * The cell owner's answer to a {@link ConflictClaim}.
+     *
+     * @param organismId the claiming organism
+     * @param won        whether the organism won its target cell
+     */
+    record ConflictVerdict(int organismId, boolean won) implements PartitionMessage {
+    }
+
+    /**
+     * Hands an organism over to the partition whose slab now contains its instruction pointer.
+     *
+     * @param organism the organism's complete state; the receiver restores the organism from it
+     */
+    record OrganismMigration(OrganismSnapshot organism) implements PartitionMessage {
+    }
+
+    /**
+     * Cells of the sender's slab that lie in the receiver's {@link HaloRegion} and changed since
+     * the sender's previous update. The three arrays are parallel.
+     *
+     * @param flatIndices the changed cells
+     * @param molecules   the cells' packed molecules
+     * @param owners      the cells' owner IDs
+     */
+    record HaloUpdate(int[] flatIndices, int[] molecules, int[] owners) implements PartitionMessage {
+    }
+}
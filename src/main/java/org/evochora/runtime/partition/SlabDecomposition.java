@@ -0,0 +1,138 @@
+package org.evochora.runtime.partition;
+
+import org.evochora.runtime.model.EnvironmentProperties;
+
+/**
+ * Splits a world into contiguous slabs along its first axis, one slab per partition.
+ * <p>
+ * Flat indices are row-major with the first axis slowest, so every slab is also one contiguous
+ * range of flat indices. Slabs differ in width by at most one slice.
+ * <p>
+ * The slices just outside a slab, owned by the neighbouring partitions, form the slab's halo
+ * (see {@link HaloRegion}); the world's edges have no halo beyond them unless it is toroidal.
+ * <p>
+ * <strong>Thread Safety:</strong> Immutable and thread-safe.
+ */
+public final class SlabDecomposition {
+
+    private final int partitionCount;
+    private final int axisSize;
+    private final int sliceStride;
+    private final boolean toroidal;
+    private final int[] slabStart;
+    private final int[] ownerBySlice;
+
+    /**
+     * Creates a decomposition of the given world.
+     *
+     * @param properties     the world's properties
+     * @param partitionCount the number of slabs, between 1 and the size of the first axis
+     * @throws IllegalArgumentException if the partition count is out of range
+     */
+    public SlabDecomposition(EnvironmentProperties properties, int partitionCount) {
+        this.axisSize = properties.getDimensionSize(0);
+        if (partitionCount < 1 || partitionCount > axisSize) {
+            throw new IllegalArgumentException("partitions must be between 1 and the world's first dimension ("
+                + axisSize + "), got " + partitionCount);
+        }
+        this.partitionCount = partitionCount;
+        this.sliceStride = properties.getStride(0);
+        this.toroidal = properties.isToroidal();
+        this.slabStart = new int[partitionCount + 1];
+        this.ownerBySlice = new int[axisSize];
+        for (int p = 0; p <= partitionCount; p++) {
+            slabStart[p] = (int) ((long) p * axisSize / partitionCount);
+        }
+        for (int p = 0; p < partitionCount; p++) {
+            for (int x = slabStart[p]; x < slabStart[p + 1]; x++) {
+                ownerBySlice[x] = p;
+            }
+        }
+    }
+
+    /**
+     * @return the number of partitions
+     */
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * @param partition the partition
+     * @return the first slice (first-axis coordinate) of the partition's slab
+     */
+    public int getSlabStart(int partition) {
+        return slabStart[partition];
+    }
+
+    /**
+     * @param partition the partition
+     * @return the slice after the last slice of the partition's slab
+     */
+    public int getSlabEnd(int partition) {
+        return slabStart[partition + 1];
+    }
+
+    /**
+     * Returns the partition owning a coordinate. The first component is wrapped into the world,
+     * so unnormalized toroidal coordinates are accepted.
+     *
+     * @param coord the coordinate
+     * @return the owning partition
+     */
+    public int ownerOf(int[] coord) {
+        return ownerOfSlice(coord[0]);
+    }
+
+    /**
+     * Returns the partition owning a slice of the first axis, wrapped into the world.
+     *
+     * @param slice the first-axis coordinate
+     * @return the owning partition
+     */
+    public int ownerOfSlice(int slice) {
+        return ownerBySlice[Math.floorMod(slice, axisSize)];
+    }
+
+    /**
+     * Returns the partition owning a cell.
+     *
+     * @param flatIndex the cell's flat index
+     * @return the owning partition
+     */
+    public int ownerOfFlatIndex(int flatIndex) {
+        return ownerBySlice[flatIndex / sliceStride];
+    }
+
+    /**
+     * @return the number of cells in one slice of the first axis
+     */
+    public int getSliceStride() {
+        return sliceStride;
+    }
+
+    /**
+     * Returns the halo of a partition: the slices adjacent to its slab that other partitions own,
+     * lower neighbour first.
+     *
+     * @param partition the partition
+     * @return the halo slices, without duplicates; empty if no other partition borders the slab
+     */
+    public int[] getHaloSlices(int partition) {
+        int lower = slabStart[partition] - 1;
+        int upper = slabStart[partition + 1];
+        if (toroidal) {
+            lower = Math.floorMod(lower, axisSize);
+            upper = Math.floorMod(upper, axisSize);
+        }
+        boolean hasLower = lower >= 0 && ownerBySlice[lower] != partition;
+        boolean hasUpper = upper < axisSize && ownerBySlice[upper] != partition && upper != lower;
+        if (hasLower && hasUpper) {
+            return new int[]{lower, upper};
+        }
+        if (hasLower) {
+            return new int[]{lower};
+        }
+        return hasUpper ? new int[]{upper} : new int[0];
+    }
+}
@@ -0,0 +1,115 @@
+package org.evochora.cli.rendering;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ChunkRenderPipeline.
+ * Tests chunk order, scaling with the number of threads, and shutdown on a write failure.
+ */
+@Tag("unit")
+public class ChunkRenderPipelineTest {
+
+    private static final int CHUNKS = 8;
+    private static final int FRAMES_PER_CHUNK = 10;
+    private static final long RENDER_MS_PER_FRAME = 10;
+
+    @Test
+    void framesAreWrittenInChunkOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long frames = render(4, FRAMES_PER_CHUNK, Channels.newChannel(out));
+
+        assertThat(frames).isEqualTo(CHUNKS * FRAMES_PER_CHUNK);
+        ByteBuffer written = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < CHUNKS * FRAMES_PER_CHUNK; i++) {
+            assertThat(written.getInt()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void moreThreadsIncreaseThroughput_whenRingsHoldAWholeChunk() throws Exception {
+        WritableByteChannel sink = Channels.newChannel(new ByteArrayOutputStream());
+
+        long singleStart = System.nanoTime();
+        render(1, FRAMES_PER_CHUNK, sink);
+        long singleNanos = System.nanoTime() - singleStart;
+
+        long parallelStart = System.nanoTime();
+        render(4, FRAMES_PER_CHUNK, sink);
+        long parallelNanos = System.nanoTime() - parallelStart;
+
+        // Ideal speedup is 4x; require well above the ~1x of rings that only hold a few frames
+        assertThat(parallelNanos).isLessThan(singleNanos / 2);
+    }
+
+    @Test
+    void writeFailure_interruptsRenderThreadsWaitingForBuffers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        WritableByteChannel failing = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                throw new IOException("broken pipe");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        // Rings of two frames: the render threads block on a full ring
+        ChunkRenderPipeline pipeline = new ChunkRenderPipeline(executor, failing, 2, 2, 4);
+
+        assertThatThrownBy(() -> {
+            for (int c = 0; c < CHUNKS; c++) {
+                pipeline.submit(frames(c, 0));
+            }
+            pipeline.finish();
+        }).isInstanceOf(IOException.class);
+
+        assertThat(executor.isShutdown()).isTrue();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private long render(int threads, int framesPerRing, WritableByteChannel channel) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ChunkRenderPipeline pipeline = new ChunkRenderPipeline(executor, channel, threads, framesPerRing, 4);
+            for (int c = 0; c < CHUNKS; c++) {
+                assertThat(pipeline.submit(frames(c, RENDER_MS_PER_FRAME))).isTrue();
+            }
+            pipeline.finish();
+            return pipeline.getFramesWritten();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Renders one chunk of single-pixel frames numbered across chunks, taking some time per frame.
+     */
+    private static ChunkRenderPipeline.ChunkJob frames(int chunk, long msPerFrame) {
+        return (slot, ring) -> {
+            for (int f = 0; f < FRAMES_PER_CHUNK; f++) {
+                Thread.sleep(msPerFrame);
+                ring.put(new int[]{chunk * FRAMES_PER_CHUNK + f});
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package org.evochora.cli.rendering;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FrameBufferRing.
+ * Tests frame order and byte layout, back-pressure on a full ring, and ring reuse.
+ */
+@Tag("unit")
+public class FrameBufferRingTest {
+
+    @Test
+    void drainTo_writesFramesInOrderAsBgr0() throws Exception {
+        FrameBufferRing ring = new FrameBufferRing(2, 8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ring.put(new int[]{0x112233, 0x445566});
+        ring.put(new int[]{0x778899, 0xaabbcc});
+        ring.finish();
+
+        assertThat(ring.drainTo(Channels.newChannel(out))).isEqualTo(2);
+
+        ByteBuffer written = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(written.remaining()).isEqualTo(16);
+        assertThat(new int[]{written.getInt(), written.getInt(), written.getInt(), written.getInt()})
+            .containsExactly(0x112233, 0x445566, 0x778899, 0xaabbcc);
+        // Little-endian int = B, G, R, 0
+        assertThat(out.toByteArray()[0]).isEqualTo((byte) 0x33);
+    }
+
+    @Test
+    void put_blocksUntilWriterFreesBuffer() throws Exception {
+        FrameBufferRing ring = new FrameBufferRing(1, 4);
+        CountDownLatch secondFramePut = new CountDownLatch(1);
+
+        Thread producer = new Thread(() -> {
+            try {
+                ring.put(new int[]{1});
+                ring.put(new int[]{2});
+                secondFramePut.countDown();
+                ring.put(new int[]{3});
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                ring.finish();
+            }
+        });
+        producer.start();
+
+        assertThat(secondFramePut.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(ring.drainTo(Channels.newChannel(out))).isEqualTo(3);
+        assertThat(secondFramePut.getCount()).isZero();
+        producer.join(1000);
+    }
+
+    @Test
+    void finish_endsChunkAndRingIsReusable() throws Exception {
+        FrameBufferRing ring = new FrameBufferRing(2, 4);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(out);
+
+        ring.finish();
+        assertThat(ring.drainTo(channel)).isZero();
+
+        for (int chunk = 0; chunk < 3; chunk++) {
+            ring.put(new int[]{chunk});
+            ring.put(new int[]{chunk});
+            ring.finish();
+            assertThat(ring.drainTo(channel)).isEqualTo(2);
+        }
+        assertThat(out.size()).isEqualTo(3 * 2 * 4);
+    }
+
+    @Test
+    void constructor_rejectsEmptyRing() {
+        assertThatThrownBy(() -> new FrameBufferRing(0, 4))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
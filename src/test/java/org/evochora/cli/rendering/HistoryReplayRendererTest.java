@@ -0,0 +1,116 @@
+package org.evochora.cli.rendering;
+
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for HistoryReplayRenderer.
+ * Tests that render calls are replayed in order with the correct drawn/applied flags, and that
+ * one pass primes several targets up to their own boundary.
+ */
+@Tag("unit")
+public class HistoryReplayRendererTest {
+
+    private final IVideoFrameRenderer target = mock(IVideoFrameRenderer.class);
+    private final HistoryReplayRenderer replay = new HistoryReplayRenderer(List.of(target));
+
+    @Test
+    void renderSnapshotAndDelta_replayedAsDrawn() {
+        TickData snapshot = snapshot(0);
+        TickDelta delta = delta(1);
+
+        assertThat(replay.renderSnapshot(snapshot)).isEmpty();
+        replay.renderDelta(delta);
+
+        InOrder order = inOrder(target);
+        order.verify(target).replayTick(0, snapshot.getOrganismsList(), true);
+        order.verify(target).replayTick(1, delta.getOrganismsList(), true);
+    }
+
+    @Test
+    void appliedTicks_onlyLastBeforeRenderIsDrawn() {
+        TickData snapshot = snapshot(0);
+        TickDelta first = delta(1);
+        TickDelta second = delta(2);
+
+        replay.applySnapshotState(snapshot);
+        replay.applyDeltaState(first);
+        replay.applyDeltaState(second);
+        replay.renderCurrentState();
+
+        InOrder order = inOrder(target);
+        order.verify(target).replayTick(0, snapshot.getOrganismsList(), false);
+        order.verify(target).replayTick(1, first.getOrganismsList(), false);
+        order.verify(target).replayTick(2, second.getOrganismsList(), true);
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void flush_replaysPendingTickAsApplied() {
+        TickDelta delta = delta(5);
+
+        replay.applyDeltaState(delta);
+        verify(target, never()).replayTick(anyLong(), anyList(), anyBoolean());
+
+        replay.flush();
+        replay.flush();
+
+        verify(target).replayTick(5, delta.getOrganismsList(), false);
+    }
+
+    @Test
+    void removedTarget_keepsStateAtItsBoundary() {
+        IVideoFrameRenderer second = mock(IVideoFrameRenderer.class);
+        IVideoFrameRenderer third = mock(IVideoFrameRenderer.class);
+        List<IVideoFrameRenderer> targets = new ArrayList<>(List.of(second, third));
+        HistoryReplayRenderer pass = new HistoryReplayRenderer(targets);
+        TickData snapshot = snapshot(0);
+        TickDelta applied = delta(1);
+        TickDelta later = delta(2);
+
+        pass.renderSnapshot(snapshot);
+        pass.applyDeltaState(applied);
+        pass.flush();
+        targets.remove(0);
+        pass.renderDelta(later);
+
+        verify(second).replayTick(0, snapshot.getOrganismsList(), true);
+        verify(second).replayTick(1, applied.getOrganismsList(), false);
+        verify(second, never()).replayTick(2, later.getOrganismsList(), true);
+        InOrder order = inOrder(third);
+        order.verify(third).replayTick(0, snapshot.getOrganismsList(), true);
+        order.verify(third).replayTick(1, applied.getOrganismsList(), false);
+        order.verify(third).replayTick(2, later.getOrganismsList(), true);
+        order.verifyNoMoreInteractions();
+    }
+
+    private static TickData snapshot(long tick) {
+        return TickData.newBuilder()
+            .setTickNumber(tick)
+            .addOrganisms(OrganismState.newBuilder().setOrganismId((int) tick + 1))
+            .build();
+    }
+
+    private static TickDelta delta(long tick) {
+        return TickDelta.newBuilder()
+            .setTickNumber(tick)
+            .addAllOrganisms(List.of(OrganismState.newBuilder().setOrganismId((int) tick + 1).build()))
+            .build();
+    }
+}
@@ -0,0 +1,108 @@
+package org.evochora.cli.rendering;
+
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.DeltaType;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SampledChunk.
+ * Tests the delta index and on-demand parsing of snapshot and deltas.
+ */
+@Tag("unit")
+public class SampledChunkTest {
+
+    @Test
+    void parse_indexesDeltaTicksAndTypes() throws Exception {
+        SampledChunk chunk = SampledChunk.parse(chunk().toByteArray());
+
+        assertThat(chunk.deltaCount()).isEqualTo(3);
+        assertThat(chunk.deltaTick(0)).isEqualTo(110);
+        assertThat(chunk.deltaTick(1)).isEqualTo(120);
+        assertThat(chunk.deltaTick(2)).isEqualTo(130);
+        assertThat(chunk.isAccumulated(0)).isFalse();
+        assertThat(chunk.isAccumulated(1)).isTrue();
+        assertThat(chunk.isAccumulated(2)).isFalse();
+    }
+
+    @Test
+    void snapshotAndDeltas_parseToOriginalMessages() throws Exception {
+        TickDataChunk original = chunk();
+        SampledChunk chunk = SampledChunk.parse(original.toByteArray());
+
+        assertThat(chunk.snapshot()).isEqualTo(original.getSnapshot());
+        for (int i = 0; i < original.getDeltasCount(); i++) {
+            assertThat(chunk.delta(i)).isEqualTo(original.getDeltas(i));
+        }
+    }
+
+    @Test
+    void parse_chunkWithoutDeltas() throws Exception {
+        TickDataChunk original = TickDataChunk.newBuilder()
+            .setFirstTick(0)
+            .setLastTick(0)
+            .setTickCount(1)
+            .setSnapshot(TickData.newBuilder().setTickNumber(0))
+            .build();
+
+        SampledChunk chunk = SampledChunk.parse(original.toByteArray());
+
+        assertThat(chunk.deltaCount()).isZero();
+        assertThat(chunk.snapshot().getTickNumber()).isZero();
+    }
+
+    @Test
+    void parse_growsIndexBeyondInitialCapacity() throws Exception {
+        TickDataChunk.Builder builder = TickDataChunk.newBuilder()
+            .setSnapshot(TickData.newBuilder().setTickNumber(0));
+        for (int tick = 1; tick <= 40; tick++) {
+            builder.addDeltas(delta(tick, tick % 10 == 0 ? DeltaType.ACCUMULATED : DeltaType.INCREMENTAL));
+        }
+
+        SampledChunk chunk = SampledChunk.parse(builder.build().toByteArray());
+
+        assertThat(chunk.deltaCount()).isEqualTo(40);
+        assertThat(chunk.deltaTick(39)).isEqualTo(40);
+        assertThat(chunk.isAccumulated(29)).isTrue();
+        assertThat(chunk.isAccumulated(30)).isFalse();
+    }
+
+    private static TickDataChunk chunk() {
+        return TickDataChunk.newBuilder()
+            .setSimulationRunId("run")
+            .setFirstTick(100)
+            .setLastTick(130)
+            .setTickCount(4)
+            .setSnapshot(TickData.newBuilder()
+                .setTickNumber(100)
+                .setCellColumns(cells(5, 42))
+                .addOrganisms(OrganismState.newBuilder().setOrganismId(1)))
+            .addDeltas(delta(110, DeltaType.INCREMENTAL))
+            .addDeltas(delta(120, DeltaType.ACCUMULATED))
+            .addDeltas(delta(130, DeltaType.INCREMENTAL))
+            .build();
+    }
+
+    private static TickDelta delta(long tick, DeltaType type) {
+        return TickDelta.newBuilder()
+            .setTickNumber(tick)
+            .setDeltaType(type)
+            .setChangedCells(cells((int) tick, (int) tick * 2))
+            .addOrganisms(OrganismState.newBuilder().setOrganismId((int) tick))
+            .build();
+    }
+
+    private static CellDataColumns cells(int flatIndex, int moleculeData) {
+        return CellDataColumns.newBuilder()
+            .addFlatIndices(flatIndex)
+            .addMoleculeData(moleculeData)
+            .addOwnerIds(0)
+            .build();
+    }
+}
@@ -0,0 +1,226 @@
+package org.evochora.cli.rendering;
+
+import org.evochora.cli.rendering.frame.ExactFrameRenderer;
+import org.evochora.cli.rendering.frame.MinimapFrameRenderer;
+import org.evochora.cli.rendering.overlay.GraphOverlayRenderer;
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.DeltaType;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.datapipeline.api.resources.storage.RawChunk;
+import org.evochora.runtime.Config;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.evochora.runtime.model.Molecule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import picocli.CommandLine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Frame equivalence tests for segmented rendering.
+ * Renders the same chunks once continuously and once as segments whose renderers are primed by
+ * a single replay pre-pass, as VideoRenderEngine does, and compares the pixels of every frame.
+ */
+@Tag("unit")
+public class SegmentedRenderingTest {
+
+    private static final int WORLD_SIZE = 200;
+    private static final int CHUNKS = 6;
+    private static final int TICKS_PER_CHUNK = 5;
+    /** Segments start at these chunk indices; the first segment starts at chunk 0. */
+    private static final int[] SEGMENT_STARTS = {0, 2, 4};
+
+    private final EnvironmentProperties envProps = new EnvironmentProperties(new int[]{WORLD_SIZE, WORLD_SIZE}, true);
+
+    static Stream<Arguments> renderers() {
+        return Stream.of(
+            Arguments.of("exact", (Supplier<AbstractFrameRenderer>) ExactFrameRenderer::new, new String[]{"--scale", "1"}, 1),
+            Arguments.of("exact", (Supplier<AbstractFrameRenderer>) ExactFrameRenderer::new, new String[]{"--scale", "1"}, 3),
+            Arguments.of("minimap", (Supplier<AbstractFrameRenderer>) MinimapFrameRenderer::new, new String[]{"--scale", "0.5"}, 1),
+            Arguments.of("minimap", (Supplier<AbstractFrameRenderer>) MinimapFrameRenderer::new, new String[]{"--scale", "0.5"}, 3));
+    }
+
+    @ParameterizedTest(name = "{0}, sampling interval {3}")
+    @MethodSource("renderers")
+    void primedSegments_renderSameFramesAsContinuousPass(String name, Supplier<AbstractFrameRenderer> factory,
+                                                         String[] args, int samplingInterval) throws Exception {
+        List<RawChunk> chunks = chunks();
+
+        List<int[]> continuous = new ArrayList<>();
+        ITickStateSink single = renderer(factory, args);
+        for (RawChunk chunk : chunks) {
+            render(chunk, single, samplingInterval, continuous);
+        }
+
+        // Segment instances from an unused template, primed by one pass like the engine's pre-pass
+        AbstractFrameRenderer template = renderer(factory, args);
+        List<IVideoFrameRenderer> segmentRenderers = new ArrayList<>();
+        for (int i = 0; i < SEGMENT_STARTS.length; i++) {
+            segmentRenderers.add(template.createSegmentInstance());
+        }
+        List<IVideoFrameRenderer> priming = new ArrayList<>(segmentRenderers.subList(1, SEGMENT_STARTS.length));
+        HistoryReplayRenderer replay = new HistoryReplayRenderer(priming);
+
+        List<int[]> segmented = new ArrayList<>();
+        for (int s = 0; s < SEGMENT_STARTS.length; s++) {
+            if (s > 0) {
+                for (int c = SEGMENT_STARTS[s - 1]; c < SEGMENT_STARTS[s]; c++) {
+                    render(chunks.get(c), replay, samplingInterval, new ArrayList<>());
+                }
+                replay.flush();
+                priming.remove(0);
+            }
+            int end = s + 1 < SEGMENT_STARTS.length ? SEGMENT_STARTS[s + 1] : CHUNKS;
+            for (int c = SEGMENT_STARTS[s]; c < end; c++) {
+                render(chunks.get(c), segmentRenderers.get(s), samplingInterval, segmented);
+            }
+        }
+
+        assertThat(segmented).hasSameSizeAs(continuous);
+        for (int f = 0; f < continuous.size(); f++) {
+            assertThat(segmented.get(f)).as("frame %d", f).isEqualTo(continuous.get(f));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}, sampling interval {3}")
+    @MethodSource("renderers")
+    void unprimedSegment_rendersDifferentFrames(String name, Supplier<AbstractFrameRenderer> factory,
+                                                String[] args, int samplingInterval) throws Exception {
+        List<RawChunk> chunks = chunks();
+        int lastStart = SEGMENT_STARTS[SEGMENT_STARTS.length - 1];
+
+        List<int[]> continuous = new ArrayList<>();
+        ITickStateSink single = renderer(factory, args);
+        for (RawChunk chunk : chunks) {
+            render(chunk, single, samplingInterval, continuous);
+        }
+        List<int[]> unprimed = new ArrayList<>();
+        IVideoFrameRenderer segment = renderer(factory, args).createSegmentInstance();
+        for (int c = lastStart; c < CHUNKS; c++) {
+            render(chunks.get(c), segment, samplingInterval, unprimed);
+        }
+
+        // Without history the palette and the graph differ, so the equivalence test is not vacuous
+        List<int[]> tail = continuous.subList(continuous.size() - unprimed.size(), continuous.size());
+        boolean anyDifferent = false;
+        for (int f = 0; f < unprimed.size(); f++) {
+            anyDifferent |= !Arrays.equals(unprimed.get(f), tail.get(f));
+        }
+        assertThat(anyDifferent).isTrue();
+    }
+
+    private AbstractFrameRenderer renderer(Supplier<AbstractFrameRenderer> factory, String[] args) {
+        AbstractFrameRenderer renderer = factory.get();
+        new CommandLine(renderer).parseArgs(args);
+        renderer.init(envProps);
+        renderer.setOverlays(List.of(new GraphOverlayRenderer()));
+        return renderer;
+    }
+
+    private static void render(RawChunk chunk, ITickStateSink renderer, int samplingInterval,
+                               List<int[]> frames) throws Exception {
+        VideoRenderEngine.renderChunk(chunk, renderer, 0, Long.MAX_VALUE, samplingInterval,
+            pixels -> frames.add(pixels.clone()));
+    }
+
+    // ========================================================================
+    // Test data: organisms of ever new genomes walking and writing cells
+    // ========================================================================
+
+    /**
+     * Chunks of {@value #TICKS_PER_CHUNK} ticks with a full snapshot and one delta per tick;
+     * every second delta is accumulated.
+     */
+    private static List<RawChunk> chunks() {
+        Map<Integer, Integer> cells = new TreeMap<>();
+        List<RawChunk> chunks = new ArrayList<>();
+        long tick = 0;
+        for (int c = 0; c < CHUNKS; c++) {
+            long firstTick = tick;
+            writeCell(cells, null, tick);
+            TickDataChunk.Builder chunk = TickDataChunk.newBuilder()
+                .setSimulationRunId("run")
+                .setFirstTick(firstTick)
+                .setSnapshot(TickData.newBuilder()
+                    .setTickNumber(tick)
+                    .setCellColumns(columns(cells))
+                    .addAllOrganisms(organisms(tick)));
+            Map<Integer, Integer> sinceSnapshot = new TreeMap<>();
+            for (int d = 1; d < TICKS_PER_CHUNK; d++) {
+                tick++;
+                Map<Integer, Integer> changed = new TreeMap<>();
+                writeCell(cells, changed, tick);
+                sinceSnapshot.putAll(changed);
+                boolean accumulated = d % 2 == 0;
+                chunk.addDeltas(TickDelta.newBuilder()
+                    .setTickNumber(tick)
+                    .setDeltaType(accumulated ? DeltaType.ACCUMULATED : DeltaType.INCREMENTAL)
+                    .setChangedCells(columns(accumulated ? sinceSnapshot : changed))
+                    .addAllOrganisms(organisms(tick)));
+            }
+            chunk.setLastTick(tick).setTickCount(TICKS_PER_CHUNK);
+            chunks.add(new RawChunk(firstTick, tick, TICKS_PER_CHUNK, chunk.build().toByteArray()));
+            tick++;
+        }
+        return chunks;
+    }
+
+    private static void writeCell(Map<Integer, Integer> cells, Map<Integer, Integer> changed, long tick) {
+        int flatIndex = (int) ((tick * 7919) % (WORLD_SIZE * WORLD_SIZE));
+        int molecule = new Molecule(tick % 2 == 0 ? Config.TYPE_DATA : Config.TYPE_ENERGY, (int) tick).toInt();
+        cells.put(flatIndex, molecule);
+        if (changed != null) {
+            changed.put(flatIndex, molecule);
+        }
+    }
+
+    private static CellDataColumns columns(Map<Integer, Integer> cells) {
+        CellDataColumns.Builder columns = CellDataColumns.newBuilder();
+        cells.forEach((flatIndex, molecule) -> columns
+            .addFlatIndices(flatIndex)
+            .addMoleculeData(molecule)
+            .addOwnerIds(0));
+        return columns.build();
+    }
+
+    /**
+     * Organism {@code i} is born at tick {@code 2i} with a genome of its own (every second one
+     * shares its predecessor's), lives 8 ticks and stays visible as dead for 2 more.
+     */
+    private static List<OrganismState> organisms(long tick) {
+        List<OrganismState> organisms = new ArrayList<>();
+        for (int i = 0; i <= tick / 2; i++) {
+            long age = tick - 2L * i;
+            if (age >= 10) continue;
+            int x = (int) ((i * 23 + age * 3) % WORLD_SIZE);
+            int y = (i * 37) % WORLD_SIZE;
+            organisms.add(OrganismState.newBuilder()
+                .setOrganismId(i + 1)
+                .setGenomeHash(1000L + i / 2)
+                .setIsDead(age >= 8)
+                .setIp(vector(x, y))
+                .setDv(vector(1, 0))
+                .addDataPointers(vector((x + 2) % WORLD_SIZE, y))
+                .build());
+        }
+        return organisms;
+    }
+
+    private static Vector vector(int x, int y) {
+        return Vector.newBuilder().addComponents(x).addComponents(y).build();
+    }
+}
@@ -320,43 +320,6 @@ public class DensityMapRendererTest {
     // Box blur
     // ========================================================================
 
-    @Test
-    void testBoxBlur_zeroRadius_copiesInput() {
-        int[] src = {0, 1, 0, 0, 5, 0, 0, 0, 0};
-        int[] dst = new int[9];
-        int[] temp = new int[9];
-
-        DensityMapRenderer.boxBlur(src, dst, temp, 3, 3, 0);
-
-        assertThat(dst).containsExactly(src);
-    }
-
-    @Test
-    void testBoxBlur_spreadsDensity() {
-        // 5x5 grid with single point in center
-        int[] src = new int[25];
-        src[12] = 10;  // center (2,2)
-        int[] dst = new int[25];
-        int[] temp = new int[25];
-
-        DensityMapRenderer.boxBlur(src, dst, temp, 5, 5, 1);
-
-        // Center should have highest value
-        assertThat(dst[12]).isGreaterThan(0);
-
-        // Direct neighbors should also be non-zero
-        assertThat(dst[11]).isGreaterThan(0);  // (1,2)
-        assertThat(dst[13]).isGreaterThan(0);  // (3,2)
-        assertThat(dst[7]).isGreaterThan(0);   // (2,1)
-        assertThat(dst[17]).isGreaterThan(0);  // (2,3)
-
-        // Corners (far away for radius=1) should be zero
-        assertThat(dst[0]).isEqualTo(0);   // (0,0)
-        assertThat(dst[4]).isEqualTo(0);   // (4,0)
-        assertThat(dst[20]).isEqualTo(0);  // (0,4)
-        assertThat(dst[24]).isEqualTo(0);  // (4,4)
-    }
-
     @Test
     void testBlurRadiusOption() {
         DensityMapRenderer renderer = createRenderer("--scale", "0.1", "--blur-radius", "2");
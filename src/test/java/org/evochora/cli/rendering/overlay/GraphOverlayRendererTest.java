@@ -143,6 +143,27 @@ public class GraphOverlayRendererTest {
         assertThat(points.get(0).genomes()).isEqualTo(1);     // only non-zero hash counted
     }
 
+    @Test
+    void testReplayRecordsHistoryLikeRender() {
+        GraphOverlayRenderer rendered = new GraphOverlayRenderer();
+        GraphOverlayRenderer replayed = new GraphOverlayRenderer();
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+
+        TickData snapshot = TickData.newBuilder()
+            .setTickNumber(7)
+            .addOrganisms(createOrganism(1, 100L, false))
+            .addOrganisms(createOrganism(2, 200L, false))
+            .addOrganisms(createOrganism(3, 300L, true))
+            .build();
+
+        rendered.render(image, snapshot);
+        replayed.replay(snapshot.getTickNumber(), snapshot.getOrganismsList());
+
+        assertThat(replayed.getHistory().getSampledPoints())
+            .isEqualTo(rendered.getHistory().getSampledPoints());
+        assertThat(replayed.getHistory().getStableMaxY()).isEqualTo(rendered.getHistory().getStableMaxY());
+    }
+
     // ========================================================================
     // Sampling
     // ========================================================================
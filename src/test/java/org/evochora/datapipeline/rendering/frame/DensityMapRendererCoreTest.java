@@ -0,0 +1,200 @@
+package org.evochora.datapipeline.rendering.frame;
+
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for DensityMapRendererCore.
+ * Tests the HOCON options, the box blur and the incremental density update.
+ * Rendered output is covered through the {@code video} command's DensityMapRenderer.
+ */
+@Tag("unit")
+public class DensityMapRendererCoreTest {
+
+    private final EnvironmentProperties envProps = new EnvironmentProperties(new int[]{100, 100}, false);
+
+    // ========================================================================
+    // Options
+    // ========================================================================
+
+    @Test
+    void testDefaultOptions() {
+        DensityMapRendererCore renderer = createRenderer("");
+
+        // Default scale is 0.3, so 100x100 world = 30x30 output
+        assertThat(renderer.getImageWidth()).isEqualTo(30);
+        assertThat(renderer.getImageHeight()).isEqualTo(30);
+    }
+
+    @Test
+    void testScaleOption() {
+        DensityMapRendererCore renderer = createRenderer("scale = 0.5");
+
+        assertThat(renderer.getImageWidth()).isEqualTo(50);
+        assertThat(renderer.getImageHeight()).isEqualTo(50);
+    }
+
+    @Test
+    void testInvalidScale_throwsOnConstruction() {
+        assertThatThrownBy(() -> new DensityMapRendererCore(ConfigFactory.parseString("scale = 1.5")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("scale");
+    }
+
+    @Test
+    void testThreadInstance_keepsOptions() {
+        DensityMapRendererCore renderer = createRenderer("scale = 0.2");
+
+        DensityMapRendererCore threadInstance = renderer.createThreadInstance();
+
+        assertThat(threadInstance).isNotSameAs(renderer);
+        assertThat(threadInstance.getImageWidth()).isEqualTo(20);
+    }
+
+    // ========================================================================
+    // Box blur
+    // ========================================================================
+
+    @Test
+    void testBoxBlur_zeroRadius_copiesInput() {
+        int[] src = {0, 1, 0, 0, 5, 0, 0, 0, 0};
+        int[] dst = new int[9];
+        int[] temp = new int[9];
+
+        DensityMapRendererCore.boxBlur(src, dst, temp, 3, 3, 0);
+
+        assertThat(dst).containsExactly(src);
+    }
+
+    @Test
+    void testBoxBlur_spreadsDensity() {
+        // 5x5 grid with single point in center
+        int[] src = new int[25];
+        src[12] = 10;  // center (2,2)
+        int[] dst = new int[25];
+        int[] temp = new int[25];
+
+        DensityMapRendererCore.boxBlur(src, dst, temp, 5, 5, 1);
+
+        // Center should have highest value
+        assertThat(dst[12]).isGreaterThan(0);
+
+        // Direct neighbors should also be non-zero
+        assertThat(dst[11]).isGreaterThan(0);  // (1,2)
+        assertThat(dst[13]).isGreaterThan(0);  // (3,2)
+        assertThat(dst[7]).isGreaterThan(0);   // (2,1)
+        assertThat(dst[17]).isGreaterThan(0);  // (2,3)
+
+        // Corners (far away for radius=1) should be zero
+        assertThat(dst[0]).isEqualTo(0);   // (0,0)
+        assertThat(dst[4]).isEqualTo(0);   // (4,0)
+        assertThat(dst[20]).isEqualTo(0);  // (0,4)
+        assertThat(dst[24]).isEqualTo(0);  // (4,4)
+    }
+
+    @Test
+    void testBoxBlur_parallelStripesMatchSequential() {
+        int width = 97;
+        int height = 211;
+        java.util.Random random = new java.util.Random(42);
+        int[] src = new int[width * height];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = random.nextInt(4);
+        }
+
+        int[] sequential = new int[src.length];
+        int[] parallel = new int[src.length];
+        DensityMapRendererCore.boxBlur(src, sequential, new int[src.length], width, height, 7);
+        DensityMapRendererCore.boxBlur(src, parallel, new int[src.length], width, height, 7, true);
+
+        assertThat(parallel).containsExactly(sequential);
+        // Spot check against the definition: sum over the clipped square
+        int expected = 0;
+        for (int y = 0; y <= 7; y++) {
+            for (int x = 0; x <= 7; x++) {
+                expected += src[y * width + x];
+            }
+        }
+        assertThat(sequential[0]).isEqualTo(expected);
+    }
+
+    @Test
+    void testIncrementalDensity_matchesFullBlur() {
+        DensityMapRendererCore renderer = createRenderer("blur-radius = 3, count-dps = true");
+        java.util.Random random = new java.util.Random(7);
+        renderer.renderSnapshot(TickData.newBuilder()
+            .setTickNumber(0)
+            .setCellColumns(CellDataColumns.getDefaultInstance())
+            .build());
+
+        // Organisms wander; some ticks move many at once (full blur), most move few (incremental)
+        int[][] positions = new int[40][2];
+        for (int tick = 1; tick <= 30; tick++) {
+            int moves = tick % 10 == 0 ? positions.length : 2;
+            for (int m = 0; m < moves; m++) {
+                int[] position = positions[random.nextInt(positions.length)];
+                position[0] = random.nextInt(100);
+                position[1] = random.nextInt(100);
+            }
+
+            TickDelta.Builder delta = TickDelta.newBuilder()
+                .setTickNumber(tick)
+                .setChangedCells(CellDataColumns.getDefaultInstance());
+            for (int id = 0; id < positions.length; id++) {
+                delta.addOrganisms(createOrganism(id, positions[id][0], positions[id][1]).toBuilder()
+                    .addDataPointers(createVector(positions[id][1], positions[id][0])));
+            }
+            renderer.renderDelta(delta.build());
+
+            int[] grid = renderer.getDensityGrid();
+            int[] expected = new int[grid.length];
+            DensityMapRendererCore.boxBlur(grid, expected, new int[grid.length], 30, 30, 3);
+            assertThat(renderer.getBlurredDensity()).as("tick %d", tick).containsExactly(expected);
+            assertThat(java.util.Arrays.stream(grid).sum()).isEqualTo(2 * positions.length);
+        }
+    }
+
+    @Test
+    void testDiv255_exactForBlendRange() {
+        for (int value = 0; value <= 255 * 255; value++) {
+            assertThat(DensityMapRendererCore.div255(value)).isEqualTo(value / 255);
+        }
+    }
+
+    // ========================================================================
+    // Helpers
+    // ========================================================================
+
+    private DensityMapRendererCore createRenderer(String options) {
+        DensityMapRendererCore renderer = new DensityMapRendererCore(ConfigFactory.parseString(options));
+        renderer.init(envProps);
+        return renderer;
+    }
+
+    private OrganismState createOrganism(int id, int x, int y) {
+        return OrganismState.newBuilder()
+            .setOrganismId(id)
+            .setIp(createVector(x, y))
+            .setDv(createVector(1, 0))
+            .build();
+    }
+
+    private Vector createVector(int... components) {
+        Vector.Builder builder = Vector.newBuilder();
+        for (int c : components) {
+            builder.addComponents(c);
+        }
+        return builder.build();
+    }
+}
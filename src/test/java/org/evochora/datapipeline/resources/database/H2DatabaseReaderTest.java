@@ -1,6 +1,7 @@
 package org.evochora.datapipeline.resources.database;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -18,6 +19,9 @@ import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.Vector;
 import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
 import org.evochora.datapipeline.api.resources.database.IDatabaseReaderProvider;
+import org.evochora.datapipeline.api.resources.database.OrganismNotFoundException;
+import org.evochora.datapipeline.api.resources.database.dto.LineageEntry;
+import org.evochora.datapipeline.api.resources.database.dto.OrganismLineage;
 import org.evochora.datapipeline.api.resources.database.dto.OrganismTickDetails;
 import org.evochora.datapipeline.api.resources.database.dto.TickRange;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
@@ -451,5 +455,57 @@ class H2DatabaseReaderTest {
             assertThat(tree.get(2000L)).isNull();  // treated as root (parent genome=0)
         }
     }
+
+    // --- readOrganismLineage / readCommonAncestor tests ---
+
+    @Test
+    void readOrganismLineage_returnsAncestorsAndDescendants() throws Exception {
+        try (Connection conn = setupOrganismSchema()) {
+            insertOrganism(conn, 1, null, 0, 1000L);
+            insertOrganism(conn, 2, 1, 10, 2000L);
+            insertOrganism(conn, 3, 2, 20, 3000L);
+            insertOrganism(conn, 4, 1, 30, 4000L);
+            conn.commit();
+        }
+
+        try (IDatabaseReader reader = provider.createReader(runId)) {
+            OrganismLineage root = reader.readOrganismLineage(1, Long.MAX_VALUE, 10);
+            assertThat(root.rootId()).isEqualTo(1);
+            assertThat(root.depth()).isZero();
+            assertThat(root.ancestors()).isEmpty();
+            assertThat(root.descendantCount()).isEqualTo(3);
+            assertThat(root.descendants()).containsExactly(2, 3, 4);
+            assertThat(root.truncated()).isFalse();
+
+            OrganismLineage bounded = reader.readOrganismLineage(1, 20, 1);
+            assertThat(bounded.descendantCount()).isEqualTo(2);
+            assertThat(bounded.descendants()).containsExactly(2);
+            assertThat(bounded.truncated()).isTrue();
+
+            OrganismLineage leaf = reader.readOrganismLineage(3, Long.MAX_VALUE, 10);
+            assertThat(leaf.depth()).isEqualTo(2);
+            assertThat(leaf.ancestors()).extracting(LineageEntry::organismId).containsExactly(2, 1);
+        }
+    }
+
+    @Test
+    void readCommonAncestor_findsSharedAncestorOrNull() throws Exception {
+        try (Connection conn = setupOrganismSchema()) {
+            insertOrganism(conn, 1, null, 0, 1000L);
+            insertOrganism(conn, 2, null, 0, 2000L);
+            insertOrganism(conn, 3, 1, 10, 3000L);
+            insertOrganism(conn, 4, 1, 10, 4000L);
+            insertOrganism(conn, 5, 2, 10, 5000L);
+            conn.commit();
+        }
+
+        try (IDatabaseReader reader = provider.createReader(runId)) {
+            assertThat(reader.readCommonAncestor(3, 4)).isEqualTo(1);
+            assertThat(reader.readCommonAncestor(1, 4)).isEqualTo(1);
+            assertThat(reader.readCommonAncestor(3, 5)).isNull();
+            assertThatThrownBy(() -> reader.readCommonAncestor(3, 99))
+                .isInstanceOf(OrganismNotFoundException.class);
+        }
+    }
 }
 
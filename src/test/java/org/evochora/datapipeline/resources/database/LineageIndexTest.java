@@ -0,0 +1,176 @@
+package org.evochora.datapipeline.resources.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.evochora.datapipeline.api.resources.database.dto.LineageEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LineageIndex} against an in-memory {@code organisms} table.
+ * <p>
+ * Tree used by most tests (birth tick in parentheses):
+ * <pre>
+ * 1(0) ─┬─ 3(10) ─┬─ 5(20)
+ *       │         └─ 6(30) ── 8(40)
+ *       └─ 4(15)
+ * 2(0) ─── 7(25)
+ * </pre>
+ */
+@Tag("unit")
+class LineageIndexTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:h2:mem:lineage-" + UUID.randomUUID());
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE organisms (organism_id INT PRIMARY KEY, parent_id INT NULL, "
+                + "birth_tick BIGINT NOT NULL, genome_hash BIGINT DEFAULT 0)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        conn.close();
+    }
+
+    @Test
+    void descendants_areContiguousAndFilteredByBirthTick() throws Exception {
+        LineageIndex index = buildSampleTree();
+
+        assertThat(index.tree().size()).isEqualTo(8);
+        assertThat(index.tree().descendantCount(1, Long.MAX_VALUE)).isEqualTo(5);
+        assertThat(index.tree().descendants(1, Long.MAX_VALUE, 100)).containsExactly(3, 5, 6, 8, 4);
+        assertThat(index.tree().descendantCount(3, 30)).isEqualTo(2);
+        assertThat(index.tree().descendants(3, 30, 100)).containsExactly(5, 6);
+        assertThat(index.tree().descendants(1, Long.MAX_VALUE, 2)).containsExactly(3, 5);
+        assertThat(index.tree().descendantCount(8, Long.MAX_VALUE)).isZero();
+    }
+
+    @Test
+    void ancestors_depthAndRoot() throws Exception {
+        LineageIndex index = buildSampleTree();
+
+        assertThat(index.tree().ancestors(8)).extracting(LineageEntry::organismId).containsExactly(6, 3, 1);
+        assertThat(index.tree().ancestors(2)).isEmpty();
+        assertThat(index.tree().depth(8)).isEqualTo(3);
+        assertThat(index.tree().rootId(8)).isEqualTo(1);
+        assertThat(index.tree().rootId(7)).isEqualTo(2);
+        assertThat(index.tree().isAncestor(1, 8)).isTrue();
+        assertThat(index.tree().isAncestor(4, 8)).isFalse();
+    }
+
+    @Test
+    void commonAncestor_isDeepestSharedNode() throws Exception {
+        LineageIndex index = buildSampleTree();
+
+        assertThat(index.tree().commonAncestor(5, 8)).isEqualTo(3);
+        assertThat(index.tree().commonAncestor(8, 4)).isEqualTo(1);
+        assertThat(index.tree().commonAncestor(3, 8)).isEqualTo(3);
+        assertThat(index.tree().commonAncestor(8, 7)).isNull();
+    }
+
+    @Test
+    void refresh_appendsNewOrganismsAndRenumbers() throws Exception {
+        LineageIndex index = buildSampleTree();
+
+        // A birth under an old ancestor shifts the pre-order of every later subtree
+        insert(9, 4, 50, 0);
+        index.refresh(conn);
+
+        assertThat(index.tree().descendants(1, Long.MAX_VALUE, 100)).containsExactly(3, 5, 6, 8, 4, 9);
+        assertThat(index.tree().commonAncestor(9, 8)).isEqualTo(1);
+    }
+
+    @Test
+    void refresh_swapsInNewTreeAndLeavesPreviousTreeIntact() throws Exception {
+        LineageIndex index = buildSampleTree();
+        LineageIndex.Tree before = index.tree();
+
+        insert(9, 4, 50, 0);
+        insert(10, 9, 60, 0);
+        index.refresh(conn);
+
+        assertThat(index.tree()).isNotSameAs(before);
+        assertThat(index.tree().descendants(4, Long.MAX_VALUE, 100)).containsExactly(9, 10);
+        // A request still holding the previous tree sees a consistent old numbering
+        assertThat(before.contains(9)).isFalse();
+        assertThat(before.descendants(1, Long.MAX_VALUE, 100)).containsExactly(3, 5, 6, 8, 4);
+        assertThat(before.descendantCount(4, Long.MAX_VALUE)).isZero();
+    }
+
+    @Test
+    void refresh_withoutChanges_keepsTree() throws Exception {
+        LineageIndex index = buildSampleTree();
+        LineageIndex.Tree before = index.tree();
+
+        index.refresh(conn);
+
+        assertThat(index.tree()).isSameAs(before);
+    }
+
+    @Test
+    void refresh_reloadsWhenRowsAppearBelowHighWaterMark() throws Exception {
+        insert(1, null, 0, 0);
+        insert(3, 2, 10, 0); // parent 2 not committed yet
+        LineageIndex index = new LineageIndex(0);
+        index.refresh(conn);
+        assertThat(index.tree().rootId(3)).isEqualTo(3);
+
+        insert(2, 1, 5, 0);
+        index.refresh(conn);
+
+        assertThat(index.tree().rootId(3)).isEqualTo(1);
+        assertThat(index.tree().ancestors(3)).extracting(LineageEntry::organismId).containsExactly(2, 1);
+    }
+
+    @Test
+    void refresh_isThrottled() throws Exception {
+        insert(1, null, 0, 0);
+        LineageIndex index = new LineageIndex(60_000);
+        index.refresh(conn);
+
+        insert(2, 1, 5, 0);
+        index.refresh(conn);
+
+        assertThat(index.tree().contains(2)).isFalse();
+    }
+
+    @Test
+    void unknownOrganism_isRejected() throws Exception {
+        LineageIndex index = buildSampleTree();
+
+        assertThat(index.tree().contains(42)).isFalse();
+        assertThatThrownBy(() -> index.tree().ancestors(42)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private LineageIndex buildSampleTree() throws Exception {
+        insert(1, null, 0, 0);
+        insert(2, null, 0, 0);
+        insert(3, 1, 10, 0);
+        insert(4, 1, 15, 0);
+        insert(5, 3, 20, 0);
+        insert(6, 3, 30, 0);
+        insert(7, 2, 25, 0);
+        insert(8, 6, 40, 0);
+        LineageIndex index = new LineageIndex(0);
+        index.refresh(conn);
+        return index;
+    }
+
+    private void insert(int id, Integer parentId, long birthTick, long genomeHash) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO organisms VALUES (" + id + ", " + parentId + ", " + birthTick + ", " + genomeHash + ")");
+        }
+    }
+}
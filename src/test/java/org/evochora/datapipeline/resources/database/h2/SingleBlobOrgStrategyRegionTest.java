@@ -0,0 +1,153 @@
+package org.evochora.datapipeline.resources.database.h2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.datapipeline.api.resources.database.dto.OrganismTickSummary;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
+import org.evochora.datapipeline.utils.OrganismGridIndexUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Region reads of SingleBlobOrgStrategy against an in-memory H2 database.
+ * <p>
+ * A region read must return exactly the organisms of the full tick read that touch the region,
+ * whether the tick was written with a grid index (candidate parsing, static info for the
+ * matches only) or without one (fallback to the full read).
+ */
+@Tag("unit")
+class SingleBlobOrgStrategyRegionTest {
+
+    private static final int WORLD_SIZE = 64;
+    private static final int ORGANISMS = 150;
+    private static final long INDEXED_TICK = 10L;
+    private static final long UNINDEXED_TICK = 11L;
+
+    private static final List<SpatialRegion> REGIONS = List.of(
+        new SpatialRegion(new int[]{0, 7, 0, 7}),          // one bucket
+        new SpatialRegion(new int[]{5, 20, 30, 33}),       // straddles bucket borders
+        new SpatialRegion(new int[]{12, 12, 40, 40}),      // a single cell
+        new SpatialRegion(new int[]{0, WORLD_SIZE - 1, 0, WORLD_SIZE - 1}),
+        new SpatialRegion(new int[]{100, 200, 100, 200})   // outside the world
+    );
+
+    private Connection conn;
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (conn != null) {
+            conn.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void regionRead_matchesFilteredFullRead_withAndWithoutGridIndex(boolean compressed) throws Exception {
+        conn = DriverManager.getConnection("jdbc:h2:mem:org-region-" + UUID.randomUUID() + ";MODE=PostgreSQL");
+        SingleBlobOrgStrategy indexed = new SingleBlobOrgStrategy(config(compressed, 8));
+        SingleBlobOrgStrategy unindexed = new SingleBlobOrgStrategy(config(compressed, 0));
+        indexed.createTables(conn);
+        unindexed.createTables(conn);
+
+        indexed.addOrganismTick(conn, tick(INDEXED_TICK));
+        indexed.commitOrganismWrites(conn);
+        unindexed.addOrganismTick(conn, tick(UNINDEXED_TICK));
+        unindexed.commitOrganismWrites(conn);
+
+        assertThat(gridIndexBlob(INDEXED_TICK)).isNotNull();
+        assertThat(gridIndexBlob(UNINDEXED_TICK)).as("written without index: fallback path").isNull();
+
+        // Static info differs from the blob, so a missed organisms-table lookup shows up
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("UPDATE organisms SET birth_tick = birth_tick + 1000, genome_hash = genome_hash + 1");
+        }
+
+        for (long tickNumber : new long[]{INDEXED_TICK, UNINDEXED_TICK}) {
+            List<OrganismTickSummary> full = indexed.readOrganismsAtTick(conn, tickNumber);
+            assertThat(full).hasSize(ORGANISMS).allMatch(org -> org.birthTick >= 1000);
+            for (SpatialRegion region : REGIONS) {
+                List<OrganismTickSummary> expected = OrganismGridIndexUtil.filterByRegion(full, region);
+
+                assertThat(indexed.readOrganismsAtTick(conn, tickNumber, region))
+                    .as("tick %d, region %s", tickNumber, Arrays.toString(region.bounds))
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(expected);
+            }
+        }
+
+        // The border-straddling region selects a strict, non-empty subset
+        List<OrganismTickSummary> partial = indexed.readOrganismsAtTick(conn, INDEXED_TICK, REGIONS.get(1));
+        assertThat(partial).isNotEmpty().hasSizeLessThan(ORGANISMS);
+    }
+
+    private static Config config(boolean compressed, int bucketSize) {
+        String compression = compressed
+            ? "compression { enabled = true, codec = \"zstd\", level = 1 }\n"
+            : "";
+        return ConfigFactory.parseString(compression + "spatialIndexBucketSize = " + bucketSize);
+    }
+
+    private byte[] gridIndexBlob(long tickNumber) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT grid_index_blob FROM organism_ticks WHERE tick_number = ?")) {
+            stmt.setLong(1, tickNumber);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertThat(rs.next()).isTrue();
+                return rs.getBytes("grid_index_blob");
+            }
+        }
+    }
+
+    /**
+     * Organisms scattered over the world, including organism 0 (whose ID is not serialized),
+     * organisms with a parent, and organisms whose data pointers lie far from their IP.
+     */
+    private static TickData tick(long tickNumber) {
+        Random random = new Random(42);
+        TickData.Builder tick = TickData.newBuilder().setTickNumber(tickNumber);
+        for (int id = 0; id < ORGANISMS; id++) {
+            OrganismState.Builder organism = OrganismState.newBuilder()
+                .setOrganismId(id)
+                .setBirthTick(id % 7)
+                .setProgramId("prog-" + id)
+                .setInitialPosition(vector(0, 0))
+                .setGenomeHash(1000L + id % 5)
+                .setEnergy(100 + id)
+                .setIp(vector(random.nextInt(WORLD_SIZE), random.nextInt(WORLD_SIZE)))
+                .setDv(vector(1, 0))
+                .addDataPointers(vector(random.nextInt(WORLD_SIZE), random.nextInt(WORLD_SIZE)))
+                .setActiveDpIndex(0);
+            if (id % 3 == 0) {
+                organism.addDataPointers(vector(random.nextInt(WORLD_SIZE), random.nextInt(WORLD_SIZE)));
+            }
+            if (id > 0 && id % 4 == 0) {
+                organism.setParentId(id - 1);
+            }
+            tick.addOrganisms(organism);
+        }
+        return tick.build();
+    }
+
+    private static Vector vector(int x, int y) {
+        return Vector.newBuilder().addComponents(x).addComponents(y).build();
+    }
+}
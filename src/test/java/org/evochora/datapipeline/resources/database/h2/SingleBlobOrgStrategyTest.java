@@ -2,8 +2,10 @@ package org.evochora.datapipeline.resources.database.h2;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -98,15 +100,15 @@ class SingleBlobOrgStrategyTest {
         // When: Create tables
         strategy.createTables(mockConnection);
         
-        // Then: Should execute CREATE TABLE for both organisms and organism_ticks
-        verify(mockStatement, times(2)).execute(anyString());
+        // Then: Should execute CREATE TABLE for both tables and the grid index column migration
+        verify(mockStatement, times(3)).execute(anyString());
         
         // Verify SQL strings
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(mockStatement, times(2)).execute(sqlCaptor.capture());
+        verify(mockStatement, times(3)).execute(sqlCaptor.capture());
         
         List<String> executedSql = sqlCaptor.getAllValues();
-        assertThat(executedSql).hasSize(2);
+        assertThat(executedSql).hasSize(3);
         
         // First call: CREATE TABLE organisms
         assertThat(executedSql.get(0))
@@ -117,7 +119,12 @@ class SingleBlobOrgStrategyTest {
         assertThat(executedSql.get(1))
             .contains("CREATE TABLE IF NOT EXISTS organism_ticks")
             .contains("tick_number BIGINT PRIMARY KEY")
-            .contains("organisms_blob BYTEA NOT NULL");
+            .contains("organisms_blob BYTEA NOT NULL")
+            .contains("grid_index_blob BYTEA NULL");
+
+        // Third call: add the grid index column to tables created before it existed
+        assertThat(executedSql.get(2))
+            .contains("ADD COLUMN IF NOT EXISTS grid_index_blob");
     }
     
     @Test
@@ -172,12 +179,12 @@ class SingleBlobOrgStrategyTest {
 
         // Then: Should serialize organisms to protobuf (no compression = raw protobuf)
         ArgumentCaptor<byte[]> blobCaptor = ArgumentCaptor.forClass(byte[].class);
-        // setBytes called for organism metadata initial_position + state blob
-        verify(mockPreparedStatement, times(3)).setBytes(anyInt(), blobCaptor.capture());
+        // setBytes called for organism metadata initial_position + state blob + grid index
+        verify(mockPreparedStatement, times(4)).setBytes(anyInt(), any(byte[].class));
 
-        // The last setBytes call is the state blob (organisms_blob)
-        List<byte[]> captured = blobCaptor.getAllValues();
-        byte[] stateBlob = captured.get(captured.size() - 1);
+        // Parameter 2 of the states MERGE is the state blob (organisms_blob)
+        verify(mockPreparedStatement).setBytes(eq(2), blobCaptor.capture());
+        byte[] stateBlob = blobCaptor.getValue();
         assertThat(stateBlob).isNotEmpty();
 
         // Verify it's valid protobuf by deserializing
@@ -211,11 +218,11 @@ class SingleBlobOrgStrategyTest {
 
         // Then: Should serialize and compress organisms
         ArgumentCaptor<byte[]> blobCaptor = ArgumentCaptor.forClass(byte[].class);
-        verify(mockPreparedStatement, times(6)).setBytes(anyInt(), blobCaptor.capture());
+        verify(mockPreparedStatement, times(7)).setBytes(anyInt(), any(byte[].class));
 
-        // Last setBytes call is the compressed state blob
-        List<byte[]> captured = blobCaptor.getAllValues();
-        byte[] stateBlob = captured.get(captured.size() - 1);
+        // Parameter 2 of the states MERGE is the compressed state blob
+        verify(mockPreparedStatement).setBytes(eq(2), blobCaptor.capture());
+        byte[] stateBlob = blobCaptor.getValue();
         assertThat(stateBlob).isNotEmpty();
         assertThat(stateBlob.length).isLessThan(5000);
     }
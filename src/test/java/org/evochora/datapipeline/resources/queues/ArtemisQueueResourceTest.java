@@ -1,10 +1,12 @@
 package org.evochora.datapipeline.resources.queues;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -14,14 +16,21 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.evochora.datapipeline.api.contracts.BatchInfo;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
 import org.evochora.datapipeline.api.memory.MemoryEstimate;
 import org.evochora.datapipeline.api.memory.SimulationParameters;
 import org.evochora.datapipeline.api.resources.IResource.UsageState;
 import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkInput;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkOutput;
 import org.evochora.datapipeline.api.resources.queues.IInputQueueResource;
 import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
 import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
 import org.evochora.datapipeline.resources.broker.EmbeddedBrokerRegistry;
+import org.evochora.datapipeline.utils.compression.EncodedChunkCompression;
+import org.evochora.datapipeline.utils.compression.ZstdCodec;
 import org.evochora.junit.extensions.logging.AllowLog;
 import org.evochora.junit.extensions.logging.LogLevel;
 import org.evochora.junit.extensions.logging.LogWatchExtension;
@@ -326,7 +335,7 @@ class ArtemisQueueResourceTest {
         executor.shutdown();
 
         // Verify: all messages received
-        Set<Long> allReceived = new java.util.HashSet<>();
+        Set<Long> allReceived = new HashSet<>();
         synchronized (allBatches) {
             for (List<Long> batch : allBatches) {
                 allReceived.addAll(batch);
@@ -352,6 +361,127 @@ class ArtemisQueueResourceTest {
             .isLessThan(2 * processingTimeMs);
     }
 
+    // =========================================================================
+    // Partitioned Mode
+    // =========================================================================
+
+    @Test
+    @DisplayName("Partitioned batches stay within one block and report their sequence range")
+    void shouldKeepPartitionedBatchesWithinBlocks() throws Exception {
+        Config partitioned = ConfigFactory.parseString("partitions = 3\npartitionBlockSize = 4")
+            .withFallback(baseConfig);
+        queue = new ArtemisQueueResource<>("test-partitioned", partitioned);
+
+        int totalMessages = 22;
+        for (int i = 0; i < totalMessages; i++) {
+            queue.put(BatchInfo.newBuilder().setTickStart(i).build());
+        }
+
+        List<Long> received = new ArrayList<>();
+        Set<String> epochs = new HashSet<>();
+        while (true) {
+            try (StreamingBatch<BatchInfo> batch = queue.receiveBatch(10, 100, TimeUnit.MILLISECONDS)) {
+                if (batch.size() == 0) {
+                    break;
+                }
+                long first = batch.firstSequence();
+                epochs.add(batch.sequenceEpoch());
+                assertThat(batch.isFinalDeliveryAttempt()).isFalse();
+                assertThat(first % 4).describedAs("Batch must start at a block boundary").isZero();
+                List<Long> ticks = new ArrayList<>();
+                batch.forEach(msg -> ticks.add(msg.getTickStart()));
+                // Tick i was sent with sequence i: a batch is one complete block
+                assertThat(ticks).hasSize((int) Math.min(4, totalMessages - first));
+                for (int i = 0; i < ticks.size(); i++) {
+                    assertThat(ticks.get(i)).isEqualTo(first + i);
+                }
+                received.addAll(ticks);
+                batch.commit();
+            }
+        }
+        assertThat(received).hasSize(totalMessages).doesNotHaveDuplicates();
+        // One producer, one run: all batches belong to the same numbering
+        assertThat(epochs).hasSize(1).doesNotContainNull();
+    }
+
+    @Test
+    @DisplayName("Partitioned mode lets consumers hold batches of different partitions at the same time")
+    void shouldReceiveFromPartitionsInParallel() throws Exception {
+        Config partitioned = ConfigFactory.parseString("partitions = 2\npartitionBlockSize = 2")
+            .withFallback(baseConfig);
+        queue = new ArtemisQueueResource<>("test-partitioned-parallel", partitioned);
+
+        for (int i = 0; i < 4; i++) {
+            queue.put(BatchInfo.newBuilder().setTickStart(i).build());
+        }
+
+        // Without the drain token, a second receive does not wait for the first batch to close
+        try (StreamingBatch<BatchInfo> first = queue.receiveBatch(10, 1, TimeUnit.SECONDS);
+             StreamingBatch<BatchInfo> second = queue.receiveBatch(10, 1, TimeUnit.SECONDS)) {
+            assertThat(first.size()).isEqualTo(2);
+            assertThat(second.size()).isEqualTo(2);
+            assertThat(Set.of(first.firstSequence(), second.firstSequence())).containsExactlyInAnyOrder(0L, 2L);
+
+            // Both partitions are owned until their batches are closed
+            try (StreamingBatch<BatchInfo> third = queue.receiveBatch(10, 0, TimeUnit.MILLISECONDS)) {
+                assertThat(third.size()).isZero();
+            }
+            first.commit();
+            // second is rolled back on close and delivered again
+        }
+
+        try (StreamingBatch<BatchInfo> redelivered = queue.receiveBatch(10, 1, TimeUnit.SECONDS)) {
+            assertThat(redelivered.size()).isEqualTo(2);
+            redelivered.commit();
+        }
+        assertThat(queue.getMetrics().get("partitions")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("consumerPartitions splits the partitions of one queue between resources")
+    void shouldConsumeOnlyAssignedPartitions() throws Exception {
+        Config partitioned = ConfigFactory.parseString("queueName = \"test-split\"\npartitions = 2\npartitionBlockSize = 2")
+            .withFallback(baseConfig);
+        queue = new ArtemisQueueResource<>("test-split-a",
+            ConfigFactory.parseString("consumerPartitions = [0]").withFallback(partitioned));
+        ArtemisQueueResource<BatchInfo> other = new ArtemisQueueResource<>("test-split-b",
+            ConfigFactory.parseString("consumerPartitions = [1]").withFallback(partitioned));
+        try {
+            for (int i = 0; i < 8; i++) {
+                queue.put(BatchInfo.newBuilder().setTickStart(i).build());
+            }
+
+            // Blocks 0 and 2 are in partition 0, blocks 1 and 3 in partition 1
+            assertThat(receiveAllSequences(queue)).containsExactly(0L, 4L);
+            assertThat(receiveAllSequences(other)).containsExactly(2L, 6L);
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    @DisplayName("consumerPartitions rejects indices outside the partition range")
+    void shouldRejectUnknownConsumerPartition() {
+        Config config = ConfigFactory.parseString("partitions = 2\nconsumerPartitions = [2]").withFallback(baseConfig);
+
+        assertThatThrownBy(() -> new ArtemisQueueResource<BatchInfo>("test-split-invalid", config))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("consumerPartitions");
+    }
+
+    private static List<Long> receiveAllSequences(ArtemisQueueResource<BatchInfo> resource) throws Exception {
+        List<Long> sequences = new ArrayList<>();
+        while (true) {
+            try (StreamingBatch<BatchInfo> batch = resource.receiveBatch(10, 200, TimeUnit.MILLISECONDS)) {
+                if (batch.size() == 0) {
+                    return sequences;
+                }
+                sequences.add(batch.firstSequence());
+                batch.commit();
+            }
+        }
+    }
+
     // =========================================================================
     // Offer Tests
     // =========================================================================
@@ -608,6 +738,104 @@ class ArtemisQueueResourceTest {
         }
     }
 
+    // =========================================================================
+    // Encoded Chunk Tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("Should deliver encoded chunks unchanged with metadata from message properties")
+    void shouldPutEncodedAndReceiveEncoded() throws Exception {
+        try (var chunkQueue = new ArtemisQueueResource<TickDataChunk>("test-encoded", baseConfig)) {
+            assertThat(chunkQueue.supportsEncodedChunks()).isTrue();
+
+            EncodedChunk sent = EncodedChunk.of(chunk("run-1", 10, 19));
+            chunkQueue.putEncoded(sent);
+
+            try (StreamingBatch<EncodedChunk> batch = chunkQueue.receiveEncodedBatch(1, 5, TimeUnit.SECONDS)) {
+                assertThat(batch.size()).isEqualTo(1);
+                EncodedChunk received = batch.iterator().next();
+                assertThat(received.simulationRunId()).isEqualTo("run-1");
+                assertThat(received.firstTick()).isEqualTo(10);
+                assertThat(received.lastTick()).isEqualTo(19);
+                assertThat(received.tickCount()).isEqualTo(10);
+                assertThat(received.data()).isEqualTo(sent.data());
+                batch.commit();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should mix parsed and encoded put/receive on a chunk queue")
+    void shouldMixParsedAndEncodedChunks() throws Exception {
+        try (var chunkQueue = new ArtemisQueueResource<TickDataChunk>("test-encoded-mixed", baseConfig)) {
+            TickDataChunk first = chunk("run-2", 0, 9);
+            TickDataChunk second = chunk("run-2", 10, 19);
+
+            // Parsed put → encoded receive
+            chunkQueue.put(first);
+            // Encoded put → parsed receive
+            chunkQueue.putEncoded(EncodedChunk.of(second));
+
+            try (StreamingBatch<EncodedChunk> batch = chunkQueue.receiveEncodedBatch(1, 5, TimeUnit.SECONDS)) {
+                EncodedChunk received = batch.iterator().next();
+                assertThat(received.firstTick()).isZero();
+                assertThat(received.decode()).isEqualTo(first);
+                batch.commit();
+            }
+            try (StreamingBatch<TickDataChunk> batch = chunkQueue.receiveBatch(1, 5, TimeUnit.SECONDS)) {
+                assertThat(batch.iterator().next()).isEqualTo(second);
+                batch.commit();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep producer-compressed chunks compressed for encoded receivers")
+    void shouldCarryCompressedChunks() throws Exception {
+        try (var chunkQueue = new ArtemisQueueResource<TickDataChunk>("test-encoded-compressed", baseConfig)) {
+            TickDataChunk first = chunk("run-3", 0, 9);
+            TickDataChunk second = chunk("run-3", 10, 19);
+            EncodedChunk compressed = EncodedChunkCompression.compress(EncodedChunk.of(first), new ZstdCodec());
+
+            chunkQueue.putEncoded(compressed);
+            chunkQueue.putEncoded(EncodedChunkCompression.compress(EncodedChunk.of(second), new ZstdCodec()));
+
+            try (StreamingBatch<EncodedChunk> batch = chunkQueue.receiveEncodedBatch(1, 5, TimeUnit.SECONDS)) {
+                EncodedChunk received = batch.iterator().next();
+                assertThat(received.compression()).isEqualTo("zstd");
+                assertThat(received.lastTick()).isEqualTo(9);
+                assertThat(received.data()).isEqualTo(compressed.data());
+                assertThat(EncodedChunkCompression.decompress(received).decode()).isEqualTo(first);
+                batch.commit();
+            }
+            // Plain receivers get the decompressed message
+            try (StreamingBatch<TickDataChunk> batch = chunkQueue.receiveBatch(1, 5, TimeUnit.SECONDS)) {
+                assertThat(batch.iterator().next()).isEqualTo(second);
+                batch.commit();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Wrappers should pass encoded chunks through to the queue")
+    void shouldPassEncodedChunksThroughWrappers() throws Exception {
+        try (var chunkQueue = new ArtemisQueueResource<TickDataChunk>("test-encoded-wrappers", baseConfig)) {
+            var producer = (IEncodedChunkOutput) chunkQueue.getWrappedResource(
+                new ResourceContext("test", "port", "queue-out", "test-encoded-wrappers", Map.of()));
+            var consumer = (IEncodedChunkInput) chunkQueue.getWrappedResource(
+                new ResourceContext("test", "port", "queue-in", "test-encoded-wrappers", Map.of()));
+            assertThat(producer.supportsEncodedChunks()).isTrue();
+            assertThat(consumer.supportsEncodedChunks()).isTrue();
+
+            producer.putEncoded(EncodedChunk.of(chunk("run-3", 0, 9)));
+
+            try (StreamingBatch<EncodedChunk> batch = consumer.receiveEncodedBatch(1, 5, TimeUnit.SECONDS)) {
+                assertThat(batch.iterator().next().lastTick()).isEqualTo(9);
+                batch.commit();
+            }
+        }
+    }
+
     // =========================================================================
     // Startup Purge Tests
     // =========================================================================
@@ -643,6 +871,16 @@ class ArtemisQueueResourceTest {
     // Helpers
     // =========================================================================
 
+    private static TickDataChunk chunk(String runId, long firstTick, long lastTick) {
+        return TickDataChunk.newBuilder()
+            .setSimulationRunId(runId)
+            .setFirstTick(firstTick)
+            .setLastTick(lastTick)
+            .setTickCount((int) (lastTick - firstTick + 1))
+            .setSnapshot(TickData.newBuilder().setSimulationRunId(runId).setTickNumber(firstTick))
+            .build();
+    }
+
     private static void deleteDirectory(File dir) {
         if (dir != null && dir.exists()) {
             File[] files = dir.listFiles();
@@ -0,0 +1,142 @@
+package org.evochora.datapipeline.resources.queues;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+@Tag("unit")
+public class RingBufferQueueTest extends QueueResourceContractTest<RingBufferQueue<String>> {
+
+    @Override
+    protected RingBufferQueue<String> createQueue(String name, Config config) {
+        return new RingBufferQueue<>(name, config);
+    }
+
+    @Test
+    void testWrapAroundPreservesOrder() throws InterruptedException {
+        List<String> received = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 7; i++) {
+                producer.put(round + "-" + i);
+            }
+            try (StreamingBatch<String> batch = consumer.receiveBatch(10, 0, TimeUnit.MILLISECONDS)) {
+                batch.forEach(received::add);
+            }
+        }
+        assertEquals(35, received.size());
+        assertEquals("0-0", received.get(0));
+        assertEquals("4-6", received.get(34));
+        assertEquals(0, queue.getMetrics().get("current_size"));
+    }
+
+    @Test
+    void testOfferBatchAndReceiveInto() throws InterruptedException {
+        String[] source = {"a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l"};
+
+        // Only capacity slots are claimed
+        assertEquals(10, queue.offerBatch(source, 0, source.length));
+        assertEquals(0, queue.offerBatch(source, 10, 2));
+
+        Object[] target = new Object[4];
+        assertEquals(4, queue.receiveInto(target, 0, 4, 0, TimeUnit.MILLISECONDS));
+        assertArrayEquals(new Object[] {"a", "b", "c", "d"}, target);
+
+        assertEquals(2, queue.offerBatch(source, 10, 2));
+        assertEquals(8, queue.getMetrics().get("current_size"));
+        assertThrows(NullPointerException.class, () -> queue.offerBatch(new String[] {"x", null}, 0, 2));
+    }
+
+    @Test
+    @Timeout(20)
+    void testCompetingConsumersReceiveEveryElementExactlyOnce() throws Exception {
+        RingBufferQueue<Integer> ring = new RingBufferQueue<>("ring", ConfigFactory.parseMap(Map.of("capacity", 64)));
+        int producers = 3;
+        int perProducer = 20_000;
+        int total = producers * perProducer;
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 3);
+        try {
+            // Each producer writes an increasing sequence tagged with its id
+            for (int p = 0; p < producers; p++) {
+                int producerId = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        ring.put(producerId * perProducer + i);
+                    }
+                    return null;
+                });
+            }
+
+            List<Future<List<List<Integer>>>> consumers = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                consumers.add(executor.submit(() -> {
+                    List<List<Integer>> batches = new ArrayList<>();
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+                    while (System.nanoTime() < deadline) {
+                        try (StreamingBatch<Integer> batch = ring.receiveBatch(16, 50, TimeUnit.MILLISECONDS)) {
+                            if (batch.size() == 0) {
+                                if (ring.getMetrics().get("messages_dequeued").longValue() >= total) {
+                                    break;
+                                }
+                                continue;
+                            }
+                            List<Integer> items = new ArrayList<>(batch.size());
+                            batch.forEach(items::add);
+                            batches.add(items);
+                        }
+                    }
+                    return batches;
+                }));
+            }
+
+            List<Integer> all = new ArrayList<>(total);
+            for (Future<List<List<Integer>>> future : consumers) {
+                for (List<Integer> batch : future.get()) {
+                    // Within a batch, each producer's elements keep their order
+                    int[] last = new int[producers];
+                    Arrays.fill(last, -1);
+                    for (int value : batch) {
+                        int producerId = value / perProducer;
+                        assertTrue(value > last[producerId]);
+                        last[producerId] = value;
+                    }
+                    all.addAll(batch);
+                }
+            }
+
+            assertEquals(total, all.size());
+            Collections.sort(all);
+            for (int i = 0; i < total; i++) {
+                assertEquals(i, all.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RingBufferQueue<String>("bad", ConfigFactory.parseMap(Map.of("capacity", 0))));
+        assertThrows(IllegalArgumentException.class,
+            () -> new RingBufferQueue<String>("bad", ConfigFactory.parseMap(Map.of("coalescingDelayMs", -1))));
+    }
+}
@@ -107,6 +107,59 @@ class FileSystemStorageAnalyticsTest {
         }
     }
 
+    @Test
+    void testOpenStreamIsNotListedUntilClosed() throws IOException {
+        OutputStream out = storage.openAnalyticsOutputStream(runId, "metric1", "lod0", "000/000",
+            "batch_00000000000000000000_00000000000000000009.parquet");
+        out.write("partial".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(storage.listAnalyticsFiles(runId, "").isEmpty(), "In-progress write must not be visible");
+
+        out.close();
+        assertEquals(List.of("metric1/lod0/000/000/batch_00000000000000000000_00000000000000000009.parquet"),
+            storage.listAnalyticsFiles(runId, ""));
+    }
+
+    @Test
+    void testSupersededBatchesAreHiddenFromListings() throws IOException {
+        writeBatch("metric1", "batch_00000000000000000000_00000000000000000009.parquet");
+        writeBatch("metric1", "batch_00000000000000000010_00000000000000000019.parquet");
+        writeBatch("metric1", "batch_00000000000000000020_00000000000000000029.parquet");
+
+        // Compacted file covering the first two batches
+        writeBatch("metric1", "batch_00000000000000000000_00000000000000000019.parquet");
+
+        List<String> files = storage.listAnalyticsFiles(runId, "metric1/");
+        assertEquals(List.of(
+            "metric1/lod0/000/000/batch_00000000000000000000_00000000000000000019.parquet",
+            "metric1/lod0/000/000/batch_00000000000000000020_00000000000000000029.parquet"), files);
+
+        List<String> filtered = storage.listAnalyticsFiles(runId, "metric1/", 12L, 15L);
+        assertEquals(List.of("metric1/lod0/000/000/batch_00000000000000000000_00000000000000000019.parquet"), filtered);
+
+        assertArrayEquals(new long[]{0, 29}, storage.getAnalyticsTickRange(runId, "metric1/"));
+    }
+
+    @Test
+    void testSameRangeInOtherMetricIsNotSuperseded() throws IOException {
+        writeBatch("metric1", "batch_00000000000000000000_00000000000000000099.parquet");
+        writeBatch("metric2", "batch_00000000000000000010_00000000000000000019.parquet");
+
+        assertEquals(2, storage.listAnalyticsFiles(runId, "").size());
+    }
+
+    @Test
+    void testDeleteAnalyticsFile() throws IOException {
+        writeBatch("metric1", "batch_00000000000000000000_00000000000000000009.parquet");
+        String path = "metric1/lod0/000/000/batch_00000000000000000000_00000000000000000009.parquet";
+
+        storage.deleteAnalyticsFile(runId, path);
+        storage.deleteAnalyticsFile(runId, path); // Missing file is not an error
+
+        assertTrue(storage.listAnalyticsFiles(runId, "").isEmpty());
+        assertThrows(IOException.class, () -> storage.deleteAnalyticsFile(runId, "../../secret.txt"));
+    }
+
     @Test
     void testMissingFileThrowsIOException() {
         assertThrows(IOException.class, () -> {
@@ -124,4 +177,10 @@ class FileSystemStorageAnalyticsTest {
             storage.openAnalyticsInputStream(runId, "../secret.txt");
         });
     }
+
+    private void writeBatch(String metricId, String filename) throws IOException {
+        try (OutputStream out = storage.openAnalyticsOutputStream(runId, metricId, "lod0", "000/000", filename)) {
+            out.write(1);
+        }
+    }
 }
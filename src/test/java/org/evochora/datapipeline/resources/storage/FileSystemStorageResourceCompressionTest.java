@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.evochora.datapipeline.api.contracts.CellDataColumns;
@@ -14,7 +15,11 @@ import org.evochora.datapipeline.api.contracts.SimulationMetadata;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
 import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
 import org.evochora.datapipeline.api.resources.storage.StoragePath;
+import org.evochora.datapipeline.api.resources.storage.StreamingWriteResult;
+import org.evochora.datapipeline.utils.compression.EncodedChunkCompression;
+import org.evochora.datapipeline.utils.compression.ZstdCodec;
 import org.evochora.junit.extensions.logging.AllowLog;
 import org.evochora.junit.extensions.logging.LogLevel;
 import org.evochora.junit.extensions.logging.LogWatchExtension;
@@ -135,6 +140,29 @@ class FileSystemStorageResourceCompressionTest {
             assertThat(readMessage.getValue()).isEqualTo(originalMessage.getValue());
         }
 
+        @Test
+        @DisplayName("Pre-compressed chunks are appended without recompressing")
+        void precompressedChunksAreAppendedAsFrames() throws IOException {
+            TickDataChunk chunk1 = createChunk(0, 9, 10);
+            TickDataChunk chunk2 = createChunk(10, 19, 10);
+            TickDataChunk chunk3 = createChunk(20, 29, 10);
+            EncodedChunk frame1 = EncodedChunkCompression.compress(EncodedChunk.of(chunk1), new ZstdCodec());
+            EncodedChunk frame3 = EncodedChunkCompression.compress(EncodedChunk.of(chunk3), new ZstdCodec());
+
+            // Compressed, plain and compressed again: the plain chunk gets its own frame
+            StreamingWriteResult result = storage.writeEncodedChunkBatchStreaming(
+                List.of(frame1, EncodedChunk.of(chunk2), frame3).iterator());
+
+            byte[] file = Files.readAllBytes(tempDir.resolve(result.path().asString()));
+            assertThat(Arrays.copyOfRange(file, 0, frame1.data().length)).isEqualTo(frame1.data());
+            assertThat(Arrays.copyOfRange(file, file.length - frame3.data().length, file.length))
+                .isEqualTo(frame3.data());
+
+            List<TickDataChunk> readBatch = new ArrayList<>();
+            storage.forEachChunk(result.path(), readBatch::add);
+            assertThat(readBatch).containsExactly(chunk1, chunk2, chunk3);
+        }
+
         @Test
         @DisplayName("Compression achieves size reduction")
         void compressionAchievesSizeReduction() throws IOException {
@@ -1,5 +1,6 @@
 package org.evochora.datapipeline.resources.storage;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -26,8 +27,10 @@ import org.evochora.datapipeline.api.contracts.SimulationMetadata;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
 import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
 import org.evochora.datapipeline.api.resources.storage.BatchFileListResult;
 import org.evochora.datapipeline.api.resources.storage.StoragePath;
+import org.evochora.datapipeline.api.resources.storage.StreamingWriteResult;
 import org.evochora.junit.extensions.logging.ExpectLog;
 import org.evochora.junit.extensions.logging.LogLevel;
 import org.evochora.junit.extensions.logging.LogWatchExtension;
@@ -396,6 +399,29 @@ class FileSystemStorageResourceTest {
         assertEquals(chunk2, readBatch.get(1));
     }
 
+    @Test
+    void testWriteEncodedChunkBatch_IsByteIdenticalToParsedWrite() throws Exception {
+        TickDataChunk chunk1 = createChunk(0, 9, 10);
+        TickDataChunk chunk2 = createChunk(10, 19, 10);
+
+        StreamingWriteResult parsed = storage.writeChunkBatchStreaming(List.of(chunk1, chunk2).iterator());
+        byte[] parsedBytes = Files.readAllBytes(tempDir.resolve(parsed.path().asString()));
+        Files.delete(tempDir.resolve(parsed.path().asString()));
+
+        StreamingWriteResult encoded = storage.writeEncodedChunkBatchStreaming(
+            List.of(EncodedChunk.of(chunk1), EncodedChunk.of(chunk2)).iterator());
+
+        assertEquals(parsed.path(), encoded.path());
+        assertEquals(19, encoded.lastTick());
+        assertEquals(2, encoded.chunkCount());
+        assertEquals(20, encoded.totalTickCount());
+        assertArrayEquals(parsedBytes, Files.readAllBytes(tempDir.resolve(encoded.path().asString())));
+
+        List<TickDataChunk> readBatch = new ArrayList<>();
+        storage.forEachChunk(encoded.path(), readBatch::add);
+        assertEquals(List.of(chunk1, chunk2), readBatch);
+    }
+
     @Test
     void testWriteChunkBatch_EmptyBatch_Throws() {
         assertThrows(IllegalArgumentException.class, 
@@ -3,6 +3,7 @@ package org.evochora.datapipeline.resources.topics;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import org.evochora.datapipeline.api.contracts.BatchInfo;
+import org.evochora.datapipeline.api.contracts.TopicEnvelope;
 import org.evochora.datapipeline.api.resources.IResource.UsageState;
 import org.evochora.datapipeline.api.resources.ResourceContext;
 import org.evochora.datapipeline.api.resources.topics.ITopicReader;
@@ -391,6 +392,87 @@ class H2TopicIntegrationTest {
         reader.ack(received);
     }
     
+    @Test
+    @DisplayName("Should wake blocked reader on write without waiting for poll interval")
+    void shouldWakeBlockedReaderOnWrite() throws Exception {
+        // Given - Poll interval far longer than the expected delivery time
+        Config config = ConfigFactory.parseString("jdbcUrl = \"jdbc:h2:mem:h2-signal-test\"\npollIntervalMs = 10000");
+        this.topic = new H2TopicResource<>("signal-test-topic", config);
+        this.topic.setSimulationRun("RUN-SIGNAL-001");
+        
+        @SuppressWarnings("unchecked")
+        ITopicWriter<BatchInfo> writer = (ITopicWriter<BatchInfo>) this.topic.getWrappedResource(
+            new ResourceContext("writer-service", "writer-port", "topic-write", "signal-test-topic", Map.of()));
+        @SuppressWarnings("unchecked")
+        H2TopicReaderDelegate<BatchInfo> reader = (H2TopicReaderDelegate<BatchInfo>) this.topic.getWrappedResource(
+            new ResourceContext("reader-service", "reader-port", "topic-read", "signal-test-topic", Map.of("consumerGroup", "signal-group")));
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            var pending = executor.submit(() -> reader.poll(20, TimeUnit.SECONDS));
+            // Let the reader run its first (empty) query and block
+            await().pollDelay(200, TimeUnit.MILLISECONDS).until(() -> true);
+            
+            // When
+            long sentAt = System.nanoTime();
+            writer.send(BatchInfo.newBuilder().setSimulationRunId("RUN-SIGNAL-001").setTickStart(42).build());
+            TopicMessage<BatchInfo, AckToken> received = pending.get(5, TimeUnit.SECONDS);
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentAt);
+            
+            // Then - Delivered by the writer signal, not by the 10 s fallback poll
+            assertThat(received.payload().getTickStart()).isEqualTo(42);
+            assertThat(latencyMs).isLessThan(5000);
+            assertThat(reader.getMetrics().get("delegate_signal_wakeups").longValue()).isGreaterThanOrEqualTo(1);
+            assertThat(reader.getMetrics().get("delegate_poll_wakeups")).isEqualTo(0L);
+            assertThat(this.topic.getMetrics()).containsKeys("delivery_latency_p50_ms", "delivery_latency_p95_ms");
+            reader.ack(received);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should wake blocked reader via trigger when another connection inserts")
+    void shouldWakeBlockedReaderViaTrigger() throws Exception {
+        // Given - Rows inserted through a plain JDBC connection, as a writer in another process would
+        Config config = ConfigFactory.parseString("jdbcUrl = \"jdbc:h2:mem:h2-trigger-test\"\npollIntervalMs = 10000");
+        this.topic = new H2TopicResource<>("trigger-test-topic", config);
+        this.topic.setSimulationRun("RUN-TRIGGER-001");
+        
+        @SuppressWarnings("unchecked")
+        ITopicReader<BatchInfo, AckToken> reader = (ITopicReader<BatchInfo, AckToken>) this.topic.getWrappedResource(
+            new ResourceContext("reader-service", "reader-port", "topic-read", "trigger-test-topic", Map.of("consumerGroup", "trigger-group")));
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (java.sql.Connection external = java.sql.DriverManager.getConnection("jdbc:h2:mem:h2-trigger-test", "sa", "")) {
+            org.evochora.datapipeline.utils.H2SchemaUtil.setSchema(external, "RUN-TRIGGER-001");
+            var pending = executor.submit(() -> reader.poll(20, TimeUnit.SECONDS));
+            await().pollDelay(200, TimeUnit.MILLISECONDS).until(() -> true);
+            
+            // When
+            TopicEnvelope envelope = TopicEnvelope.newBuilder()
+                .setMessageId("external-1")
+                .setTimestamp(System.currentTimeMillis())
+                .setPayload(com.google.protobuf.Any.pack(BatchInfo.newBuilder().setTickStart(7).build()))
+                .build();
+            try (java.sql.PreparedStatement insert = external.prepareStatement(
+                    "INSERT INTO topic_messages (topic_name, message_id, timestamp, envelope) VALUES (?, ?, ?, ?)")) {
+                insert.setString(1, "trigger-test-topic");
+                insert.setString(2, envelope.getMessageId());
+                insert.setLong(3, envelope.getTimestamp());
+                insert.setBytes(4, envelope.toByteArray());
+                insert.executeUpdate();
+            }
+            
+            // Then
+            TopicMessage<BatchInfo, AckToken> received = pending.get(5, TimeUnit.SECONDS);
+            assertThat(received.payload().getTickStart()).isEqualTo(7);
+            reader.ack(received);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
     @Test
     @DisplayName("Should dynamically resolve message types from google.protobuf.Any")
     void shouldDynamicallyResolveMessageTypes() throws Exception {
@@ -0,0 +1,123 @@
+package org.evochora.datapipeline.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.queues.IQueueFillLevel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Unit tests for {@link BackpressureSamplingPolicy}.
+ */
+@Tag("unit")
+class BackpressureSamplingPolicyTest {
+
+    private final FakeQueue queue = new FakeQueue();
+    private long nowNanos = 0;
+
+    @Test
+    void fillAboveHighWatermark_raisesLevelStepwiseAndWidensStride() {
+        BackpressureSamplingPolicy policy = createPolicy(100);
+
+        queue.fill = 0.9;
+        assertFalse(policy.shouldSkip(2));
+        assertEquals(1, policy.getLevel());
+        assertTrue(policy.shouldSkip(1));
+
+        advanceClock();
+        assertFalse(policy.shouldSkip(4));
+        assertEquals(2, policy.getLevel());
+        assertTrue(policy.shouldSkip(2));
+
+        // Between the watermarks the level is kept
+        queue.fill = 0.6;
+        advanceClock();
+        assertTrue(policy.shouldSkip(6));
+        assertEquals(2, policy.getLevel());
+
+        queue.fill = 0.1;
+        advanceClock();
+        policy.shouldSkip(1);
+        advanceClock();
+        policy.shouldSkip(1);
+        assertEquals(0, policy.getLevel());
+        assertFalse(policy.shouldSkip(1));
+    }
+
+    @Test
+    void fullQueue_jumpsToMaxLevel() {
+        BackpressureSamplingPolicy policy = createPolicy(0);
+
+        queue.fill = -1;
+        queue.state = IResource.UsageState.WAITING;
+        policy.shouldSkip(1);
+        assertEquals(3, policy.getLevel());
+        assertFalse(policy.shouldSkip(8));
+        assertTrue(policy.shouldSkip(4));
+
+        // Without fill information the level recovers one step per check once the queue drains
+        queue.state = IResource.UsageState.ACTIVE;
+        policy.shouldSkip(1);
+        assertEquals(2, policy.getLevel());
+    }
+
+    @Test
+    void levelIsOnlyReevaluatedAfterCheckInterval() {
+        BackpressureSamplingPolicy policy = createPolicy(100);
+
+        queue.fill = 0.95;
+        policy.shouldSkip(1);
+        policy.shouldSkip(1);
+        assertEquals(1, policy.getLevel());
+
+        advanceClock();
+        policy.shouldSkip(1);
+        assertEquals(2, policy.getLevel());
+    }
+
+    @Test
+    void fromConfig_disabledByDefaultAndValidated() {
+        assertNull(BackpressureSamplingPolicy.fromConfig(queue, ConfigFactory.empty()));
+        assertEquals(0, BackpressureSamplingPolicy.fromConfig(queue,
+            ConfigFactory.parseString("backpressure.enabled = true")).getLevel());
+        assertThrows(IllegalArgumentException.class, () -> BackpressureSamplingPolicy.fromConfig(queue,
+            ConfigFactory.parseString("backpressure { enabled = true, lowWatermark = 0.9, highWatermark = 0.5 }")));
+    }
+
+    private void advanceClock() {
+        nowNanos += TimeUnit.MILLISECONDS.toNanos(100);
+    }
+
+    private BackpressureSamplingPolicy createPolicy(long checkIntervalMs) {
+        return new BackpressureSamplingPolicy(queue, 0.8, 0.5, 3, checkIntervalMs, () -> nowNanos);
+    }
+
+    private static final class FakeQueue implements IResource, IQueueFillLevel {
+        double fill = 0;
+        UsageState state = UsageState.ACTIVE;
+
+        @Override
+        public double getFillRatio() {
+            return fill;
+        }
+
+        @Override
+        public UsageState getUsageState(String usageType) {
+            return state;
+        }
+
+        @Override
+        public String getResourceName() {
+            return "fake-queue";
+        }
+    }
+}
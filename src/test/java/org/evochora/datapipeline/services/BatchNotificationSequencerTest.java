@@ -0,0 +1,171 @@
+package org.evochora.datapipeline.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.evochora.datapipeline.api.contracts.BatchInfo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BatchNotificationSequencer}.
+ */
+@Tag("unit")
+class BatchNotificationSequencerTest {
+
+    private final List<Long> sent = new ArrayList<>();
+
+    @Test
+    void outOfOrderBatches_areReleasedInSequenceOrder() throws Exception {
+        BatchNotificationSequencer sequencer = new BatchNotificationSequencer();
+
+        sequencer.complete(20, 10, notification(20), this::record);
+        sequencer.complete(10, 10, notification(10), this::record);
+        assertEquals(List.of(), sent);
+        assertEquals(2, sequencer.pendingCount());
+
+        sequencer.complete(0, 10, notification(0), this::record);
+        assertEquals(List.of(0L, 10L, 20L), sent);
+        assertEquals(0, sequencer.pendingCount());
+        assertEquals(30, sequencer.nextSequence());
+    }
+
+    @Test
+    void duplicateOnlyBatch_advancesWithoutNotification() throws Exception {
+        BatchNotificationSequencer sequencer = new BatchNotificationSequencer();
+
+        sequencer.complete(5, 5, notification(5), this::record);
+        sequencer.complete(0, 5, null, this::record);
+
+        assertEquals(List.of(5L), sent);
+        assertEquals(10, sequencer.nextSequence());
+    }
+
+    @Test
+    void rangeBelowReleasedPrefix_isSentImmediately() throws Exception {
+        BatchNotificationSequencer sequencer = new BatchNotificationSequencer();
+        sequencer.complete(0, 10, notification(0), this::record);
+
+        // Redelivery of an already released range
+        sequencer.complete(0, 10, notification(0), this::record);
+
+        assertEquals(List.of(0L, 0L), sent);
+        assertEquals(10, sequencer.nextSequence());
+    }
+
+    @Test
+    void forQueue_sharesInstancePerQueueAndEpoch() {
+        BatchNotificationSequencer first = BatchNotificationSequencer.forQueue("sequencer-test-queue", "epoch-a");
+
+        assertSame(first, BatchNotificationSequencer.forQueue("sequencer-test-queue", "epoch-a"));
+        assertNotSame(first, BatchNotificationSequencer.forQueue("sequencer-test-queue", "epoch-b"));
+    }
+
+    @Test
+    void newEpoch_startsAtZeroIndependentOfPreviousRun() throws Exception {
+        BatchNotificationSequencer previous = BatchNotificationSequencer.forQueue("sequencer-epoch-queue", "run-1");
+        previous.complete(0, 100, notification(0), this::record);
+
+        // Restarted producer numbers from 0 again under a new epoch
+        BatchNotificationSequencer restarted = BatchNotificationSequencer.forQueue("sequencer-epoch-queue", "run-2");
+        restarted.complete(0, 10, notification(1000), this::record);
+
+        assertEquals(List.of(0L, 1000L), sent);
+        assertEquals(10, restarted.nextSequence());
+        assertThat(BatchNotificationSequencer.allForQueue("sequencer-epoch-queue")).contains(previous, restarted);
+    }
+
+    @Test
+    void deadLetteredRange_completedWithoutNotification_releasesLaterBatches() throws Exception {
+        BatchNotificationSequencer sequencer = new BatchNotificationSequencer();
+        sequencer.complete(10, 10, notification(10), this::record);
+
+        // Final delivery attempt of [0, 10) failed, the batch goes to the dead letter address
+        sequencer.complete(0, 10, null, this::record);
+
+        assertEquals(List.of(10L), sent);
+        assertEquals(20, sequencer.nextSequence());
+    }
+
+    @Test
+    void releaseOverdue_skipsGapAfterHoldTimeout() throws Exception {
+        AtomicLong now = new AtomicLong(1_000);
+        BatchNotificationSequencer sequencer = new BatchNotificationSequencer(now::get);
+        sequencer.complete(10, 10, notification(10), this::record);
+        sequencer.complete(30, 10, notification(30), this::record);
+
+        now.addAndGet(500);
+        sequencer.releaseOverdue(1_000, this::record);
+        assertEquals(List.of(), sent);
+        assertEquals(0, sequencer.gapsSkipped());
+
+        now.addAndGet(1_000);
+        sequencer.releaseOverdue(1_000, this::record);
+        assertEquals(List.of(10L, 30L), sent);
+        assertEquals(2, sequencer.gapsSkipped());
+        assertEquals(40, sequencer.nextSequence());
+        assertEquals(0, sequencer.pendingCount());
+
+        // Late completion of a skipped range is still announced
+        sequencer.complete(0, 10, notification(0), this::record);
+        assertEquals(List.of(10L, 30L, 0L), sent);
+    }
+
+    @Test
+    void heldRange_isReleasedOnlyAfterItsNotificationWasSent() throws Exception {
+        BatchNotificationSequencer sequencer = new BatchNotificationSequencer();
+        sequencer.complete(10, 10, notification(10), this::record);
+        assertThat(sequencer.isReleased(20)).isFalse();
+
+        sequencer.complete(0, 10, notification(0), this::record);
+
+        assertEquals(List.of(0L, 10L), sent);
+        assertThat(sequencer.isReleased(20)).isTrue();
+    }
+
+    @Test
+    void releaseAll_sendsEveryHeldNotificationOnShutdown() throws Exception {
+        BatchNotificationSequencer sequencer = new BatchNotificationSequencer();
+        sequencer.complete(10, 10, notification(10), this::record);
+        sequencer.complete(30, 10, notification(30), this::record);
+
+        sequencer.releaseAll(this::record);
+
+        assertEquals(List.of(10L, 30L), sent);
+        assertEquals(0, sequencer.pendingCount());
+        assertThat(sequencer.isReleased(40)).isTrue();
+        assertEquals(2, sequencer.gapsSkipped());
+    }
+
+    @Test
+    void epochEviction_keepsSequencersHoldingNotifications() throws Exception {
+        String queue = "sequencer-eviction-queue";
+        BatchNotificationSequencer holding = BatchNotificationSequencer.forQueue(queue, "holding");
+        holding.complete(10, 10, notification(10), this::record);
+        BatchNotificationSequencer idle = BatchNotificationSequencer.forQueue(queue, "idle");
+
+        for (int i = 0; i < BatchNotificationSequencer.MAX_EPOCHS_PER_QUEUE; i++) {
+            BatchNotificationSequencer.forQueue(queue, "later-" + i);
+        }
+
+        assertThat(BatchNotificationSequencer.allForQueue(queue))
+            .contains(holding)
+            .doesNotContain(idle)
+            .hasSize(BatchNotificationSequencer.MAX_EPOCHS_PER_QUEUE);
+        assertSame(holding, BatchNotificationSequencer.forQueue(queue, "holding"));
+    }
+
+    private void record(BatchInfo info) {
+        sent.add(info.getTickStart());
+    }
+
+    private static BatchInfo notification(long tickStart) {
+        return BatchInfo.newBuilder().setTickStart(tickStart).build();
+    }
+}
@@ -0,0 +1,127 @@
+package org.evochora.datapipeline.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.resources.queues.EncodedChunk;
+import org.evochora.datapipeline.api.resources.queues.IEncodedChunkOutput;
+import org.evochora.datapipeline.utils.compression.NoneCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ChunkCompressionWorker}.
+ */
+@Tag("unit")
+class ChunkCompressionWorkerTest {
+
+    private final List<Long> sent = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger errors = new AtomicInteger();
+
+    @Test
+    void chunks_areSentInSubmitOrder() throws Exception {
+        ChunkCompressionWorker worker = worker(new RecordingOutput(-1, 0), 4);
+
+        for (long i = 0; i < 50; i++) {
+            worker.submit(chunk(i * 10));
+        }
+        worker.close();
+
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            expected.add(i * 10);
+        }
+        assertThat(sent).containsExactlyElementsOf(expected);
+        assertThat(errors).hasValue(0);
+    }
+
+    @Test
+    void sendFailure_stopsStreamAndIsRethrown() throws Exception {
+        ChunkCompressionWorker worker = worker(new RecordingOutput(2, 0), 8);
+
+        for (long i = 0; i < 5; i++) {
+            worker.submit(chunk(i));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+            assertThatThrownBy(worker::throwIfFailed).isInstanceOf(IllegalStateException.class));
+        assertThatThrownBy(() -> worker.submit(chunk(5)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("send failed");
+        assertThatThrownBy(worker::close).isInstanceOf(IllegalStateException.class);
+
+        // Nothing after the failed chunk is sent, so there is no silent gap
+        assertThat(sent).containsExactly(0L, 1L);
+        assertThat(errors).hasValue(1);
+    }
+
+    @Test
+    void close_drainsBufferedChunksDespitePendingInterrupt() throws Exception {
+        ChunkCompressionWorker worker = worker(new RecordingOutput(-1, 20), 10);
+        for (long i = 0; i < 10; i++) {
+            worker.submit(chunk(i));
+        }
+
+        // Shutdown interrupts the simulation thread before endRun() closes the worker
+        Thread.currentThread().interrupt();
+        try {
+            worker.close();
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertThat(sent).hasSize(10);
+        assertThat(worker.getPendingCount()).isZero();
+    }
+
+    private ChunkCompressionWorker worker(IEncodedChunkOutput output, int capacity) {
+        return new ChunkCompressionWorker(output, new NoneCodec(), capacity, "compression-test",
+            () -> { }, (chunk, e) -> errors.incrementAndGet());
+    }
+
+    private static TickDataChunk chunk(long firstTick) {
+        return TickDataChunk.newBuilder()
+            .setSimulationRunId("run")
+            .setFirstTick(firstTick)
+            .setLastTick(firstTick)
+            .setTickCount(1)
+            .build();
+    }
+
+    /**
+     * Records the first tick of each sent chunk; optionally fails on one chunk or sends slowly.
+     */
+    private class RecordingOutput implements IEncodedChunkOutput {
+        private final int failAt;
+        private final long delayMs;
+        private int calls;
+
+        RecordingOutput(int failAt, long delayMs) {
+            this.failAt = failAt;
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public boolean supportsEncodedChunks() {
+            return true;
+        }
+
+        @Override
+        public void putEncoded(EncodedChunk chunk) throws InterruptedException {
+            if (calls++ == failAt) {
+                throw new IllegalStateException("send failed");
+            }
+            Thread.sleep(delayMs);
+            sent.add(chunk.firstTick());
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +24,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.evochora.datapipeline.api.contracts.BatchInfo;
 import org.evochora.datapipeline.api.contracts.TickData;
@@ -45,6 +47,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -542,6 +545,70 @@ class PersistenceServiceTest {
         assertEquals(0, service.getMetrics().get("batches_written").longValue());
     }
 
+    @Test
+    void heldBatch_isCommittedOnlyAfterItsNotificationIsSent() throws Exception {
+        resources.put("topic", Collections.singletonList(mockBatchTopic));
+        when(mockInputQueue.getResourceName()).thenReturn("persistence-hold-queue");
+        service = new PersistenceService("test-persistence", config, resources);
+
+        SpyStreamingBatch<TickDataChunk> later = new SpyStreamingBatch<>(createTestBatch("run-1", 10, 19), 10, "epoch");
+        SpyStreamingBatch<TickDataChunk> earlier = new SpyStreamingBatch<>(createTestBatch("run-1", 0, 9), 0, "epoch");
+        AtomicInteger laterCommitsBeforeEarlier = new AtomicInteger(-1);
+        when(mockInputQueue.receiveBatch(anyInt(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(later)
+            .thenAnswer(inv -> {
+                laterCommitsBeforeEarlier.set(later.commitCount);
+                return earlier;
+            })
+            .thenReturn(emptyBatch());
+        when(mockStorage.writeChunkBatchStreaming(any()))
+            .thenReturn(writeResult("run-1", 10, 19))
+            .thenReturn(writeResult("run-1", 0, 9));
+
+        service.start();
+        await().atMost(2, TimeUnit.SECONDS)
+            .until(() -> service.getMetrics().get("batches_written").longValue() == 2);
+        service.stop();
+
+        // [10, 20) waited for [0, 10): written but neither announced nor committed
+        assertEquals(0, laterCommitsBeforeEarlier.get());
+        assertEquals(1, later.commitCount);
+        assertEquals(1, later.closeCount);
+        assertEquals(1, earlier.commitCount);
+        InOrder order = inOrder(mockBatchTopic);
+        order.verify(mockBatchTopic).send(argThat(notification -> notification.getTickStart() == 0));
+        order.verify(mockBatchTopic).send(argThat(notification -> notification.getTickStart() == 10));
+    }
+
+    @Test
+    @ExpectLog(level = LogLevel.WARN, loggerPattern = ".*BatchNotificationSequencer.*",
+               messagePattern = ".*not completed before shutdown.*")
+    void heldBatch_isAnnouncedAndCommittedOnStop() throws Exception {
+        resources.put("topic", Collections.singletonList(mockBatchTopic));
+        when(mockInputQueue.getResourceName()).thenReturn("persistence-drain-queue");
+        service = new PersistenceService("test-persistence", config, resources);
+
+        SpyStreamingBatch<TickDataChunk> later = new SpyStreamingBatch<>(createTestBatch("run-1", 10, 19), 10, "epoch");
+        when(mockInputQueue.receiveBatch(anyInt(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(later)
+            .thenReturn(emptyBatch());
+        when(mockStorage.writeChunkBatchStreaming(any()))
+            .thenReturn(writeResult("run-1", 10, 19));
+
+        service.start();
+        await().atMost(2, TimeUnit.SECONDS)
+            .until(() -> service.getMetrics().get("notifications_pending").intValue() == 1);
+        assertEquals(0, later.commitCount);
+
+        service.stop();
+        await().atMost(2, TimeUnit.SECONDS).until(() -> service.getCurrentState() == State.STOPPED);
+
+        verify(mockBatchTopic).send(argThat(notification -> notification.getTickStart() == 10));
+        assertEquals(1, later.commitCount);
+        assertEquals(1, later.closeCount);
+        assertEquals(0, service.getMetrics().get("notifications_pending").intValue());
+    }
+
     // ========== Error Tracking Tests ==========
 
     @Test
@@ -619,6 +686,12 @@ class PersistenceServiceTest {
             .build();
     }
 
+    private static StreamingWriteResult writeResult(String runId, long firstTick, long lastTick) {
+        int ticks = (int) (lastTick - firstTick + 1);
+        return new StreamingWriteResult(StoragePath.of(runId + "/raw/batch_" + firstTick + "_" + lastTick + ".pb"),
+            runId, firstTick, lastTick, ticks, ticks, 1024L);
+    }
+
     private static <T> StreamingBatch<T> batchOf(List<T> items) {
         return new StreamingBatch<T>() {
             @Override public int size() { return items.size(); }
@@ -642,14 +715,24 @@ class PersistenceServiceTest {
      */
     private static class SpyStreamingBatch<T> implements StreamingBatch<T> {
         private final List<T> items;
+        private final long firstSequence;
+        private final String sequenceEpoch;
         int commitCount = 0;
         int closeCount = 0;
 
         SpyStreamingBatch(List<T> items) {
+            this(items, -1, null);
+        }
+
+        SpyStreamingBatch(List<T> items, long firstSequence, String sequenceEpoch) {
             this.items = items;
+            this.firstSequence = firstSequence;
+            this.sequenceEpoch = sequenceEpoch;
         }
 
         @Override public int size() { return items.size(); }
+        @Override public long firstSequence() { return firstSequence; }
+        @Override public String sequenceEpoch() { return sequenceEpoch; }
         @Override public Iterator<T> iterator() { return items.iterator(); }
         @Override public void commit() { commitCount++; }
         @Override public void close() { closeCount++; }
@@ -2,8 +2,14 @@ package org.evochora.datapipeline.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +21,7 @@ import org.evochora.datapipeline.api.contracts.OrganismState;
 import org.evochora.datapipeline.api.contracts.SimulationMetadata;
 import org.evochora.datapipeline.api.contracts.TickData;
 import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.TickDelta;
 import org.evochora.datapipeline.api.contracts.Vector;
 import org.evochora.datapipeline.api.resources.IResource;
 import org.evochora.datapipeline.api.resources.queues.IOutputQueueResource;
@@ -34,6 +41,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -126,8 +134,88 @@ class SimulationEngineResumeTest {
             .hasMessageContaining("Metadata not found");
     }
 
+    @Test
+    void fastForward_keepsChunksFullLength_andResumeRegeneratesLastChunk(@TempDir Path tempDir) throws Exception {
+        // 4 samples per chunk (accumulatedDeltaInterval × snapshotInterval × chunkInterval)
+        Path program = tempDir.resolve("simple.evo");
+        Files.copy(Path.of("src/test/resources/org/evochora/datapipeline/services/simple.evo"), program);
+        List<TickDataChunk> chunks = new ArrayList<>();
+        List<SimulationMetadata> metadata = new ArrayList<>();
+        doAnswer(inv -> chunks.add(inv.getArgument(0))).when(mockTickDataResource).put(any());
+        doAnswer(inv -> metadata.add(inv.getArgument(0))).when(mockMetadataResource).put(any());
+
+        SimulationEngine engine = new SimulationEngine("test-engine", createNewRunOptions(program), resources);
+        engine.beginRun();
+        step(engine, 2);
+        // Requested mid-chunk: ticks 2-3 still complete the chunk, then ticks 4-13 are skipped
+        engine.fastForward(14);
+        step(engine, 28);
+        engine.endRun();
+
+        assertThat(chunks).extracting(TickDataChunk::getFirstTick).containsExactly(0L, 14L, 18L, 22L, 26L);
+        assertThat(chunks).allSatisfy(chunk -> {
+            assertThat(chunk.getTickCount()).isEqualTo(4);
+            assertThat(chunk.getLastTick()).isEqualTo(chunk.getFirstTick() + 3);
+            assertThat(chunk.getSnapshot().getTickNumber()).isEqualTo(chunk.getFirstTick());
+        });
+
+        // Resume from the last chunk: its snapshot is the checkpoint, the chunk is regenerated
+        TickDataChunk last = chunks.get(chunks.size() - 1);
+        mockStorageResource.setMetadataPath(Optional.of(StoragePath.of(TEST_RUN_ID + "/raw/metadata.pb")));
+        mockStorageResource.setMetadata(metadata.get(0));
+        mockStorageResource.setBatchPath(StoragePath.of(TEST_RUN_ID + "/raw/000/000/batch.pb"));
+        mockStorageResource.setChunk(last);
+        chunks.clear();
+
+        SimulationEngine resumed = new SimulationEngine("test-engine",
+            createResumeOptions(metadata.get(0).getSimulationRunId()), resources);
+        resumed.beginRun();
+        step(resumed, 3);
+        resumed.endRun();
+
+        assertThat(chunks).hasSize(1);
+        TickDataChunk regenerated = chunks.get(0);
+        assertThat(regenerated.getFirstTick()).isEqualTo(last.getFirstTick());
+        assertThat(regenerated.getLastTick()).isEqualTo(last.getLastTick());
+        assertThat(regenerated.getTickCount()).isEqualTo(last.getTickCount());
+        assertThat(withoutCaptureTime(regenerated.getDeltasList()))
+            .isEqualTo(withoutCaptureTime(last.getDeltasList()));
+    }
+
     // ==================== Helper Methods ====================
 
+    private static void step(SimulationEngine engine, int ticks) throws InterruptedException {
+        for (int i = 0; i < ticks; i++) {
+            assertThat(engine.step(() -> false)).isEqualTo(SimulationEngine.StepResult.CONTINUE);
+        }
+    }
+
+    private static List<TickDelta> withoutCaptureTime(List<TickDelta> deltas) {
+        return deltas.stream().map(delta -> delta.toBuilder().clearCaptureTimeMs().build()).toList();
+    }
+
+    private Config createNewRunOptions(Path program) {
+        return ConfigFactory.parseMap(Map.of(
+                "samplingInterval", 1,
+                "accumulatedDeltaInterval", 2,
+                "snapshotInterval", 2,
+                "chunkInterval", 1,
+                "environment", Map.of("shape", List.of(10, 10), "topology", "TORUS"),
+                "organisms", List.of(Map.of(
+                        "program", program.toString(),
+                        "initialEnergy", 1000,
+                        "placement", Map.of("positions", List.of(5, 5)))),
+                "plugins", Collections.emptyList(),
+                "seed", 12345L,
+                "runtime", Map.of(
+                        "organism", Map.of("max-energy", 32767, "max-entropy", 8191, "error-penalty-cost", 500),
+                        "thermodynamics", Map.of(
+                                "default", Map.of(
+                                        "className", "org.evochora.runtime.thermodynamics.impl.UniversalThermodynamicPolicy",
+                                        "options", Map.of("base-energy", 1, "base-entropy", 1)),
+                                "overrides", Map.of("instructions", Map.of(), "families", Map.of())))));
+    }
+
     private void setupValidCheckpoint(long snapshotTick) throws IOException {
         // Setup metadata path
         StoragePath metadataPath = StoragePath.of(TEST_RUN_ID + "/raw/metadata.pb");
@@ -0,0 +1,190 @@
+package org.evochora.datapipeline.services;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.evochora.datapipeline.api.contracts.SimulationMetadata;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.queues.StreamingBatch;
+import org.evochora.datapipeline.resources.queues.InMemoryBlockingQueue;
+import org.evochora.junit.extensions.logging.AllowLog;
+import org.evochora.junit.extensions.logging.LogLevel;
+import org.evochora.runtime.isa.Instruction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Integration tests for {@link SimulationFarmService}: several runs hosted in one service with
+ * separate queues, per-run pause/resume.
+ */
+@Tag("integration")
+@AllowLog(level = LogLevel.INFO, loggerPattern = "org.evochora.datapipeline.services.SimulationEngine")
+@AllowLog(level = LogLevel.INFO, loggerPattern = "org.evochora.datapipeline.services.SimulationFarmService")
+@AllowLog(level = LogLevel.INFO, loggerPattern = "org.evochora.datapipeline.services.AbstractService")
+class SimulationFarmServiceIntegrationTest {
+
+    private final Map<String, InMemoryBlockingQueue<TickDataChunk>> tickQueues = new HashMap<>();
+    private final Map<String, InMemoryBlockingQueue<SimulationMetadata>> metadataQueues = new HashMap<>();
+    private final Map<String, List<IResource>> resources = new HashMap<>();
+    private SimulationFarmService farm;
+    private Path programFile;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void beforeAll() {
+        Instruction.init();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        programFile = tempDir.resolve("simple.evo");
+        Files.copy(Path.of("src/test/resources/org/evochora/datapipeline/services/simple.evo"), programFile,
+            StandardCopyOption.REPLACE_EXISTING);
+
+        for (String run : List.of("a", "b")) {
+            InMemoryBlockingQueue<TickDataChunk> tickQueue = new InMemoryBlockingQueue<>("tick-" + run,
+                ConfigFactory.parseMap(Map.of("capacity", 100000)));
+            InMemoryBlockingQueue<SimulationMetadata> metadataQueue = new InMemoryBlockingQueue<>("meta-" + run,
+                ConfigFactory.parseMap(Map.of("capacity", 10)));
+            tickQueues.put(run, tickQueue);
+            metadataQueues.put(run, metadataQueue);
+            resources.put(run + "-tickData", Collections.singletonList(tickQueue));
+            resources.put(run + "-metadataOutput", Collections.singletonList(metadataQueue));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (farm != null && farm.getCurrentState() != AbstractService.State.STOPPED) {
+            farm.stop();
+        }
+    }
+
+    @Test
+    void farm_runsEachSimulationIntoItsOwnQueues() throws InterruptedException {
+        farm = new SimulationFarmService("farm", farmConfig(), resources);
+        farm.start();
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            for (String run : List.of("a", "b")) {
+                assertTrue(tickQueues.get(run).getMetrics().get("current_size").longValue() > 0);
+            }
+        });
+        farm.stop();
+
+        Set<String> runIds = new HashSet<>();
+        for (String run : List.of("a", "b")) {
+            String runId;
+            try (StreamingBatch<SimulationMetadata> batch = metadataQueues.get(run).receiveBatch(10, 0, TimeUnit.MILLISECONDS)) {
+                assertEquals(1, batch.size());
+                runId = batch.iterator().next().getSimulationRunId();
+            }
+            assertEquals(farm.getRunIds().get(run), runId);
+            try (StreamingBatch<TickDataChunk> batch = tickQueues.get(run).receiveBatch(Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS)) {
+                List<TickDataChunk> chunks = new ArrayList<>();
+                batch.forEach(chunks::add);
+                assertTrue(chunks.stream().allMatch(chunk -> chunk.getSimulationRunId().equals(runId)));
+                // Chunks of one run arrive in tick order although different workers stepped it
+                for (int i = 1; i < chunks.size(); i++) {
+                    assertTrue(chunks.get(i).getFirstTick() > chunks.get(i - 1).getLastTick());
+                }
+            }
+            runIds.add(runId);
+        }
+        assertEquals(2, runIds.size());
+    }
+
+    @Test
+    void pauseRun_stopsOnlyThatRun() {
+        farm = new SimulationFarmService("farm", farmConfig(), resources);
+        farm.start();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> currentTick("a") > 0 && currentTick("b") > 0);
+
+        farm.pauseRun("a");
+        assertTrue(farm.isRunPaused("a"));
+        // Let the slice that was running when pausing finish
+        await().pollDelay(Duration.ofMillis(300)).until(() -> true);
+        long pausedTick = currentTick("a");
+        long otherTick = currentTick("b");
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> currentTick("b") > otherTick + 1000);
+        assertEquals(pausedTick, currentTick("a"));
+
+        farm.resumeRun("a");
+        await().atMost(10, TimeUnit.SECONDS).until(() -> currentTick("a") > pausedTick);
+        assertNotEquals(0, farm.getMetrics().get("runs_live").intValue());
+    }
+
+    @Test
+    void unknownOrDuplicateRunNames_areRejected() {
+        Config config = ConfigFactory.parseMap(Map.of(
+            "defaults", engineDefaults(),
+            "runs", List.of(Map.of("name", "a"), Map.of("name", "a"))));
+        assertThrows(IllegalArgumentException.class, () -> new SimulationFarmService("farm", config, resources));
+
+        farm = new SimulationFarmService("farm", farmConfig(), resources);
+        assertThrows(IllegalArgumentException.class, () -> farm.pauseRun("missing"));
+    }
+
+    private long currentTick(String run) {
+        return farm.getMetrics().get(run + "_current_tick").longValue();
+    }
+
+    private Config farmConfig() {
+        return ConfigFactory.parseMap(Map.of(
+            "workerThreads", 2,
+            "sliceTicks", 50,
+            "defaults", engineDefaults(),
+            "runs", List.of(
+                Map.of("name", "a", "options", Map.of("seed", 1L)),
+                Map.of("name", "b", "options", Map.of("seed", 2L)))));
+    }
+
+    private Map<String, Object> engineDefaults() {
+        return Map.of(
+            "samplingInterval", 100,
+            "accumulatedDeltaInterval", 1,
+            "snapshotInterval", 1,
+            "chunkInterval", 1,
+            "environment", Map.of("shape", List.of(10, 10), "topology", "TORUS"),
+            "organisms", List.of(Map.of(
+                "program", programFile.toString(),
+                "initialEnergy", 10000,
+                "placement", Map.of("positions", List.of(5, 5)))),
+            "plugins", Collections.emptyList(),
+            "runtime", Map.of(
+                "organism", Map.of("max-energy", 32767, "max-entropy", 8191, "error-penalty-cost", 500),
+                "thermodynamics", Map.of(
+                    "default", Map.of(
+                        "className", "org.evochora.runtime.thermodynamics.impl.UniversalThermodynamicPolicy",
+                        "options", Map.of("base-energy", 1, "base-entropy", 1)),
+                    "overrides", Map.of("instructions", Map.of(), "families", Map.of()))));
+    }
+}
@@ -0,0 +1,205 @@
+package org.evochora.datapipeline.services.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.evochora.datapipeline.api.resources.IResource;
+import org.evochora.datapipeline.api.resources.ResourceContext;
+import org.evochora.datapipeline.resources.storage.FileSystemStorageResource;
+import org.evochora.datapipeline.services.analytics.AnalyticsCompactionService.BatchFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Tests for {@link AnalyticsCompactionService}: grouping, atomic switch-over and deletion of originals.
+ */
+@Tag("integration")
+class AnalyticsCompactionServiceTest {
+
+    private static final String RUN_ID = "20251201-120000-run";
+    private static final String DIR = "population/lod0/000/000";
+
+    @TempDir
+    Path tempDir;
+
+    private Path storageRoot;
+    private FileSystemStorageResource storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storageRoot = Files.createDirectories(tempDir.resolve("storage"));
+        storage = new FileSystemStorageResource("test-storage", ConfigFactory.parseString(
+            "rootDirectory = \"" + storageRoot.toAbsolutePath().toString().replace("\\", "/") + "\""));
+    }
+
+    @Test
+    void adjacentBatches_areMergedIntoOneSortedFile() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            writeBatch(i * 10L, i * 10L + 9);
+        }
+        AnalyticsCompactionService service = createService(4);
+
+        service.runCompactionPass();
+
+        // Merged file is visible immediately, originals are hidden but still on disk
+        List<String> visible = storage.listAnalyticsFiles(RUN_ID, "population/");
+        assertEquals(List.of(DIR + "/batch_00000000000000000000_00000000000000000099.parquet"), visible);
+        assertEquals(11, countPhysicalFiles());
+
+        Path merged = storageRoot.resolve(RUN_ID).resolve("analytics").resolve(visible.get(0));
+        List<Long> ticks = readTicks(merged);
+        assertEquals(100, ticks.size());
+        List<Long> sorted = new ArrayList<>(ticks);
+        Collections.sort(sorted);
+        assertEquals(sorted, ticks);
+
+        // Next pass deletes the originals (deleteDelaySeconds = 0)
+        service.runCompactionPass();
+        assertEquals(1, countPhysicalFiles());
+        assertEquals(visible, storage.listAnalyticsFiles(RUN_ID, "population/"));
+    }
+
+    @Test
+    void missingBatch_splitsGroups() throws Exception {
+        writeBatch(0, 9);
+        writeBatch(10, 19);
+        // 20-29 still in flight
+        writeBatch(30, 39);
+        writeBatch(40, 49);
+        AnalyticsCompactionService service = createService(2);
+
+        service.runCompactionPass();
+
+        assertEquals(List.of(
+            DIR + "/batch_00000000000000000000_00000000000000000019.parquet",
+            DIR + "/batch_00000000000000000030_00000000000000000049.parquet"),
+            storage.listAnalyticsFiles(RUN_ID, "population/"));
+
+        // The late batch is not hidden by either merged file
+        writeBatch(20, 29);
+        assertTrue(storage.listAnalyticsFiles(RUN_ID, "population/")
+            .contains(DIR + "/batch_00000000000000000020_00000000000000000029.parquet"));
+    }
+
+    @Test
+    void tooFewFiles_areLeftAlone() throws Exception {
+        writeBatch(0, 9);
+        writeBatch(10, 19);
+        AnalyticsCompactionService service = createService(4);
+
+        service.runCompactionPass();
+
+        assertEquals(2, storage.listAnalyticsFiles(RUN_ID, "population/").size());
+        assertEquals(2, countPhysicalFiles());
+    }
+
+    @Test
+    void planGroups_respectsTargetTicksAndEligibility() {
+        List<BatchFile> files = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            files.add(new BatchFile(DIR + "/b" + i, DIR, i * 10L, i * 10L + 9));
+        }
+
+        // Target of 30 ticks -> groups of 3 files
+        List<List<BatchFile>> groups = AnalyticsCompactionService.planGroups(
+            files, new HashSet<>(files), 2, 100, 30);
+        assertEquals(2, groups.size());
+        assertEquals(List.of(files.get(0), files.get(1), files.get(2)), groups.get(0));
+        assertEquals(List.of(files.get(3), files.get(4), files.get(5)), groups.get(1));
+
+        // A file that is too young breaks adjacency
+        HashSet<BatchFile> eligible = new HashSet<>(files);
+        eligible.remove(files.get(2));
+        groups = AnalyticsCompactionService.planGroups(files, eligible, 2, 100, 1000);
+        assertEquals(List.of(List.of(files.get(0), files.get(1)), files.subList(3, 6)), groups);
+        assertFalse(groups.stream().anyMatch(g -> g.contains(files.get(2))));
+    }
+
+    @Test
+    void planGroups_acceptsOverlappingDerivedBatches() {
+        // Incremental LOD batches start at their oldest bucket, which may precede the previous end
+        List<BatchFile> files = List.of(
+            new BatchFile(DIR + "/b0", DIR, 0, 44),
+            new BatchFile(DIR + "/b1", DIR, 40, 99),
+            new BatchFile(DIR + "/b2", DIR, 100, 149),
+            new BatchFile(DIR + "/b3", DIR, 160, 199));
+
+        List<List<BatchFile>> groups = AnalyticsCompactionService.planGroups(
+            files, new HashSet<>(files), 2, 100, 1000);
+
+        // b3 leaves a gap of 10 ticks while the directory's step is 1
+        assertEquals(List.of(files.subList(0, 3)), groups);
+    }
+
+    private AnalyticsCompactionService createService(int minFiles) {
+        var config = ConfigFactory.parseString("""
+            runId = "%s"
+            intervalSeconds = 1
+            minFilesPerCompaction = %d
+            minFileAgeSeconds = 0
+            deleteDelaySeconds = 0
+            tempDirectory = "%s"
+            """.formatted(RUN_ID, minFiles, tempDir.resolve("work").toAbsolutePath().toString().replace("\\", "/")));
+
+        IResource reader = storage.getWrappedResource(new ResourceContext(
+            "compaction", "analyticsInput", "analytics-read", "test-storage", Collections.emptyMap()));
+        IResource writer = storage.getWrappedResource(new ResourceContext(
+            "compaction", "analyticsOutput", "analytics-write", "test-storage", Collections.emptyMap()));
+
+        Map<String, List<IResource>> resources = Map.of(
+            "analyticsInput", List.of(reader),
+            "analyticsOutput", List.of(writer));
+        return new AnalyticsCompactionService("compaction", config, resources);
+    }
+
+    private void writeBatch(long startTick, long endTick) throws Exception {
+        Path target = storageRoot.resolve(RUN_ID).resolve("analytics").resolve(DIR)
+            .resolve(String.format("batch_%020d_%020d.parquet", startTick, endTick));
+        Files.createDirectories(target.getParent());
+        // Rows deliberately written in descending tick order
+        String sql = String.format(
+            "COPY (SELECT range AS tick, range * 2 AS value FROM range(%d, %d) ORDER BY tick DESC) TO '%s' (FORMAT PARQUET)",
+            startTick, endTick + 1, target.toAbsolutePath().toString().replace("\\", "/"));
+        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private List<Long> readTicks(Path file) throws Exception {
+        List<Long> ticks = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT tick FROM read_parquet('"
+                 + file.toAbsolutePath().toString().replace("\\", "/") + "')")) {
+            while (rs.next()) {
+                ticks.add(rs.getLong(1));
+            }
+        }
+        return ticks;
+    }
+
+    private long countPhysicalFiles() throws IOException {
+        try (var stream = Files.walk(storageRoot.resolve(RUN_ID).resolve("analytics"))) {
+            return stream.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -9,6 +9,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -346,6 +350,40 @@ class AnalyticsIndexerEndToEndTest {
         assertEquals(1, lod1Files, "Should have 1 file in lod1");
     }
 
+    @Test
+    void testIncrementalLod_AggregatesBucketsAndPublishesOpenBucket() throws Exception {
+        String runId = "20251201-155500-" + UUID.randomUUID();
+        SimulationMetadata metadata = createTestMetadata(runId, 10);
+        indexMetadata(runId, metadata);
+
+        // 25 ticks: lod1 buckets 0 and 10 complete, bucket 20 (ticks 20-24) stays open
+        List<TickData> batch = createTestTicksWithOrganisms(runId, 0, 25);
+        StoragePath key = writeChunkBatch(runId, batch, 0, 24);
+
+        indexer = createAnalyticsIndexerWithLodLevels("test-indexer", runId, 2, true);
+        indexer.start();
+
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> indexer.getCurrentState() == IService.State.RUNNING);
+
+        sendBatchInfoToTopic(runId, key.asString(), 0, 24);
+
+        Path lod1Dir = tempStorageDir.resolve(runId).resolve("analytics").resolve("population").resolve("lod1");
+        Path openFile = lod1Dir.resolve("open_test-indexer.parquet");
+        await().atMost(15, TimeUnit.SECONDS)
+            .until(() -> findParquetFiles(runId, "population").size() >= 3 && Files.exists(openFile));
+
+        // Finalized buckets: tick = bucket start, alive_count = mean over all 10 ticks (5..14 organisms)
+        Path lod1Batch = findParquetFiles(runId, "population").stream()
+            .filter(p -> p.startsWith(lod1Dir) && p.getFileName().toString().startsWith("batch_"))
+            .findFirst().orElseThrow();
+        assertEquals("batch_00000000000000000000_00000000000000000024.parquet", lod1Batch.getFileName().toString());
+        assertEquals(List.of(List.of(0L, 10), List.of(10L, 10)), readTickAndAliveCount(lod1Batch));
+
+        // Open bucket: provisional mean over ticks 20-24 (5..9 organisms)
+        assertEquals(List.of(List.of(20L, 7)), readTickAndAliveCount(openFile));
+    }
+
     @Test
     void testMetricsTracking() throws Exception {
         // Given: Create test run
@@ -386,6 +424,46 @@ class AnalyticsIndexerEndToEndTest {
             "Should have processed 20 ticks");
     }
 
+    @Test
+    void testParallelPluginExtraction_WritesAllPluginsAndTimings() throws Exception {
+        // Given: Create test run with metadata and one batch
+        String runId = "20251201-170000-" + UUID.randomUUID();
+        SimulationMetadata metadata = createTestMetadata(runId, 10);
+        indexMetadata(runId, metadata);
+
+        List<TickData> batch = createTestTicksWithOrganisms(runId, 0, 20);
+        StoragePath key = writeChunkBatch(runId, batch, 0, 19);
+
+        // Create AnalyticsIndexer with two plugins on a 2-thread extraction pool
+        indexer = createAnalyticsIndexerWithParallelPlugins("test-indexer", runId, 2);
+        indexer.start();
+
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> indexer.getCurrentState() == IService.State.RUNNING);
+
+        // When: Send batch notification
+        sendBatchInfoToTopic(runId, key.asString(), 0, 19);
+
+        // Then: Both plugins produce their Parquet file
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> findParquetFiles(runId, "population").size() >= 1
+                && findParquetFiles(runId, "vital_stats").size() >= 1);
+
+        assertEquals(1, findParquetFiles(runId, "population").size());
+        assertEquals(1, findParquetFiles(runId, "vital_stats").size());
+
+        // Each plugin writes one row per tick; rows are counted after the upload completes
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> indexer.getMetrics().get("rows_written").intValue() >= 40);
+
+        // Per-plugin timing metrics are exposed
+        Map<String, Number> metrics = indexer.getMetrics();
+        assertEquals(2, metrics.get("plugin_parallelism").intValue());
+        assertTrue(metrics.containsKey("plugin_population_extract_avg_ms"));
+        assertTrue(metrics.containsKey("plugin_vital_stats_extract_total_ms"));
+        assertEquals(40, metrics.get("rows_written").intValue());
+    }
+
     // ========== Helper Methods ==========
 
     private AnalyticsIndexer<?> createAnalyticsIndexer(String name, String runId) {
@@ -453,6 +531,11 @@ class AnalyticsIndexerEndToEndTest {
     }
 
     private AnalyticsIndexer<?> createAnalyticsIndexerWithLodLevels(String name, String runId, int lodLevels) {
+        return createAnalyticsIndexerWithLodLevels(name, runId, lodLevels, false);
+    }
+
+    private AnalyticsIndexer<?> createAnalyticsIndexerWithLodLevels(String name, String runId, int lodLevels,
+                                                                    boolean incrementalLod) {
         Config config = ConfigFactory.parseString("""
             runId = "%s"
             metadataPollIntervalMs = 100
@@ -474,7 +557,74 @@ class AnalyticsIndexerEndToEndTest {
                     }
                 }
             ]
-            """.formatted(runId, tempAnalyticsDir.toAbsolutePath().toString().replace("\\", "/"), lodLevels));
+            incrementalLod = %b
+            """.formatted(runId, tempAnalyticsDir.toAbsolutePath().toString().replace("\\", "/"), lodLevels,
+                incrementalLod));
+
+        // Same resource wiring as createAnalyticsIndexer
+        ResourceContext dbContext = new ResourceContext(
+            name,
+            "metadata",
+            "db-meta-read",
+            "test-db",
+            Collections.emptyMap()
+        );
+        IResource wrappedDatabase = testDatabase.getWrappedResource(dbContext);
+
+        ResourceContext topicContext = new ResourceContext(
+            name,
+            "topic",
+            "topic-read",
+            "batch-topic",
+            Map.of("consumerGroup", "test-analytics-" + UUID.randomUUID())
+        );
+        IResource wrappedTopic = testBatchTopic.getWrappedResource(topicContext);
+
+        ResourceContext analyticsContext = new ResourceContext(
+            name,
+            "analyticsOutput",
+            "analytics-write",
+            "test-storage",
+            Collections.emptyMap()
+        );
+        IResource wrappedAnalyticsStorage = testStorage.getWrappedResource(analyticsContext);
+
+        Map<String, List<IResource>> resources = Map.of(
+            "storage", List.of(testStorage),
+            "metadata", List.of(wrappedDatabase),
+            "topic", List.of(wrappedTopic),
+            "analyticsOutput", List.of(wrappedAnalyticsStorage)
+        );
+
+        return new AnalyticsIndexer<>(name, config, resources);
+    }
+
+    private AnalyticsIndexer<?> createAnalyticsIndexerWithParallelPlugins(String name, String runId, int parallelism) {
+        Config config = ConfigFactory.parseString("""
+            runId = "%s"
+            metadataPollIntervalMs = 100
+            metadataMaxPollDurationMs = 10000
+            insertBatchSize = 25
+            flushTimeoutMs = 500
+            tempDirectory = "%s"
+            pluginParallelism = %d
+            plugins = [
+                {
+                    className = "org.evochora.datapipeline.services.analytics.plugins.PopulationMetricsPlugin"
+                    options {
+                        metricId = "population"
+                        samplingInterval = 1
+                    }
+                },
+                {
+                    className = "org.evochora.datapipeline.services.analytics.plugins.VitalStatsPlugin"
+                    options {
+                        metricId = "vital_stats"
+                        samplingInterval = 1
+                    }
+                }
+            ]
+            """.formatted(runId, tempAnalyticsDir.toAbsolutePath().toString().replace("\\", "/"), parallelism));
 
         // Same resource wiring as createAnalyticsIndexer
         ResourceContext dbContext = new ResourceContext(
@@ -633,6 +783,19 @@ class AnalyticsIndexerEndToEndTest {
         }
     }
 
+    private List<List<Object>> readTickAndAliveCount(Path file) throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT tick, alive_count FROM read_parquet('"
+                 + file.toAbsolutePath().toString().replace("\\", "/") + "') ORDER BY tick")) {
+            while (rs.next()) {
+                rows.add(List.of(rs.getLong(1), rs.getInt(2)));
+            }
+        }
+        return rows;
+    }
+
     private long[] extractTickRange(String filename) {
         // Pattern: batch_00000000000000000000_00000000000000000009.parquet
         Pattern pattern = Pattern.compile("batch_(\\d+)_(\\d+)\\.parquet");
@@ -0,0 +1,144 @@
+package org.evochora.datapipeline.services.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.evochora.datapipeline.api.analytics.ColumnType;
+import org.evochora.datapipeline.api.analytics.LodAggregation;
+import org.evochora.datapipeline.api.analytics.ParquetSchema;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class LodPyramidTest {
+
+    private static final ParquetSchema SCHEMA = ParquetSchema.builder()
+        .column("tick", ColumnType.BIGINT)
+        .column("count", ColumnType.INTEGER)
+        .column("mean", ColumnType.DOUBLE)
+        .column("peak", ColumnType.BIGINT)
+        .column("total", ColumnType.BIGINT)
+        .column("label", ColumnType.VARCHAR)
+        .build();
+
+    private static final Map<String, LodAggregation> AGGREGATIONS = Map.of(
+        "count", LodAggregation.MEAN,
+        "mean", LodAggregation.MEAN,
+        "peak", LodAggregation.MAX,
+        "total", LodAggregation.SUM);
+
+    /** Collected output as "level:row". */
+    private final List<String> emitted = new ArrayList<>();
+    private final LodPyramid.RowSink sink = (level, bucketStart, row) -> emitted.add(level + ":" + Arrays.toString(row));
+
+    @Test
+    void completeBuckets_areAggregatedOverAllTicks() throws Exception {
+        LodPyramid pyramid = new LodPyramid(SCHEMA, AGGREGATIONS, 1, 10, 2);
+
+        for (long tick = 0; tick < 10; tick++) {
+            pyramid.add(tick, List.<Object[]>of(row(tick, (int) tick, tick * 2.0, tick, 1L, "t" + tick)), sink);
+        }
+
+        // mean(0..9) = 4.5 -> rounded for INTEGER, exact for DOUBLE
+        assertThat(emitted).containsExactly("1:[0, 5, 9.0, 9, 10, t9]");
+        assertThat(pyramid.openRows().get(1)).isEmpty();
+    }
+
+    @Test
+    void higherLevels_areMergedFromLowerBuckets() throws Exception {
+        LodPyramid pyramid = new LodPyramid(SCHEMA, AGGREGATIONS, 1, 2, 3);
+
+        for (long tick = 0; tick < 4; tick++) {
+            pyramid.add(tick, List.<Object[]>of(row(tick, 1, 1.0, tick * 10, tick, null)), sink);
+        }
+
+        assertThat(emitted).containsExactly(
+            "1:[0, 1, 1.0, 10, 1, null]",
+            "1:[2, 1, 1.0, 30, 5, null]",
+            "2:[0, 1, 1.0, 30, 6, null]");
+    }
+
+    @Test
+    void openBuckets_arePublishedProvisionallyAndSurviveAcrossCalls() throws Exception {
+        LodPyramid pyramid = new LodPyramid(SCHEMA, AGGREGATIONS, 1, 10, 3);
+
+        for (long tick = 0; tick < 15; tick++) {
+            pyramid.add(tick, List.<Object[]>of(row(tick, 2, 0.5, tick, 1L, "x")), sink);
+        }
+
+        assertThat(emitted).containsExactly("1:[0, 2, 0.5, 9, 10, x]");
+
+        List<List<Object[]>> open = pyramid.openRows();
+        assertThat(open.get(1)).hasSize(1);
+        assertThat(Arrays.toString(open.get(1).get(0))).isEqualTo("[10, 2, 0.5, 14, 5, x]");
+        // Level 2 includes the finalized level-1 bucket and the open one
+        assertThat(Arrays.toString(open.get(2).get(0))).isEqualTo("[0, 2, 0.5, 14, 15, x]");
+
+        // Provisional rows do not alter state
+        for (long tick = 15; tick < 20; tick++) {
+            pyramid.add(tick, List.<Object[]>of(row(tick, 2, 0.5, tick, 1L, "x")), sink);
+        }
+        assertThat(emitted).containsExactly("1:[0, 2, 0.5, 9, 10, x]", "1:[10, 2, 0.5, 19, 10, x]");
+    }
+
+    @Test
+    void gap_finalizesPartialBucket() throws Exception {
+        LodPyramid pyramid = new LodPyramid(SCHEMA, AGGREGATIONS, 1, 10, 2);
+
+        pyramid.add(3, List.<Object[]>of(row(3, 4, 1.0, 3, 1L, null)), sink);
+        pyramid.add(25, List.<Object[]>of(row(25, 8, 1.0, 25, 1L, null)), sink);
+
+        assertThat(emitted).containsExactly("1:[0, 4, 1.0, 3, 1, null]");
+        assertThat(Arrays.toString(pyramid.openRows().get(1).get(0))).isEqualTo("[20, 8, 1.0, 25, 1, null]");
+    }
+
+    @Test
+    void groupColumns_areAggregatedSeparately() throws Exception {
+        ParquetSchema schema = ParquetSchema.builder()
+            .column("tick", ColumnType.BIGINT)
+            .column("species", ColumnType.VARCHAR)
+            .column("count", ColumnType.BIGINT)
+            .build();
+        LodPyramid pyramid = new LodPyramid(schema,
+            Map.of("species", LodAggregation.GROUP, "count", LodAggregation.SUM), 5, 2, 2);
+
+        pyramid.add(0, List.of(new Object[] {0L, "a", 1L}, new Object[] {0L, "b", 2L}), sink);
+        pyramid.add(5, List.of(new Object[] {5L, "a", 3L}), sink);
+
+        assertThat(emitted).containsExactly("1:[0, a, 4]", "1:[0, b, 2]");
+    }
+
+    @Test
+    void nullValues_areIgnored() throws Exception {
+        LodPyramid pyramid = new LodPyramid(SCHEMA, AGGREGATIONS, 1, 2, 2);
+
+        pyramid.add(0, List.<Object[]>of(row(0, null, null, null, null, "a")), sink);
+        pyramid.add(1, List.<Object[]>of(row(1, 4, null, null, null, null)), sink);
+
+        assertThat(emitted).containsExactly("1:[0, 4, null, null, null, a]");
+    }
+
+    @Test
+    void invalidConfiguration_isRejected() {
+        assertThatThrownBy(() -> new LodPyramid(SCHEMA, Map.of("label", LodAggregation.SUM), 1, 10, 2))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("label");
+        assertThatThrownBy(() -> new LodPyramid(SCHEMA, Map.of("missing", LodAggregation.SUM), 1, 10, 2))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("missing");
+        ParquetSchema noTick = ParquetSchema.builder().column("value", ColumnType.DOUBLE).build();
+        assertThatThrownBy(() -> new LodPyramid(noTick, Map.of(), 1, 10, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LodPyramid(SCHEMA, AGGREGATIONS, 1, 10, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Object[] row(long tick, Integer count, Double mean, Long peak, Long total, String label) {
+        return new Object[] {tick, count, mean, peak, total, label};
+    }
+}
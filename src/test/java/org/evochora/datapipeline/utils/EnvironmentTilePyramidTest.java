@@ -0,0 +1,96 @@
+package org.evochora.datapipeline.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.EnvironmentTile;
+import org.evochora.runtime.Config;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.evochora.runtime.model.Molecule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EnvironmentTilePyramid}.
+ * <p>
+ * Uses a 10x6 environment with 2-pixel tiles so every level has edge tiles.
+ */
+@Tag("unit")
+class EnvironmentTilePyramidTest {
+
+    private static final byte ENERGY = 2;
+    private static final byte STRUCTURE = 3;
+
+    private final EnvironmentProperties envProps = new EnvironmentProperties(new int[]{10, 6}, false);
+
+    @Test
+    void topLevel_isFirstLevelFittingOneTile() {
+        assertThat(EnvironmentTilePyramid.topLevel(envProps, 2)).isEqualTo(3);
+        assertThat(EnvironmentTilePyramid.topLevel(envProps, 256)).isZero();
+    }
+
+    @Test
+    void build_coversEveryLevelWithEdgeTiles() {
+        List<EnvironmentTile> tiles = EnvironmentTilePyramid.build(100, cells(), envProps, 1, 2);
+
+        // Level 1: 5x3 pixels -> 3x2 tiles, level 2: 3x2 pixels -> 2x1 tiles, level 3: 2x1 pixels -> 1 tile
+        assertThat(tiles).extracting(EnvironmentTile::getZoom).containsExactly(1, 1, 1, 1, 1, 1, 2, 2, 3);
+        assertThat(tiles).allSatisfy(tile -> assertThat(tile.getTickNumber()).isEqualTo(100));
+
+        EnvironmentTile edge = find(tiles, 1, 2, 1);
+        assertThat(edge.getWidth()).isEqualTo(1);
+        assertThat(edge.getHeight()).isEqualTo(1);
+    }
+
+    @Test
+    void build_aggregatesTypeOwnershipAndEnergyPerBlock() {
+        List<EnvironmentTile> tiles = EnvironmentTilePyramid.build(100, cells(), envProps, 1, 2);
+
+        // Level 1 pixel (0,0) covers cells (0..1, 0..1): two energy cells, one of them owned
+        EnvironmentTile corner = find(tiles, 1, 0, 0);
+        assertThat(corner.getCellTypes().byteAt(0)).isEqualTo(ENERGY);
+        assertThat(corner.getEnergy(0)).isEqualTo(8);
+        assertThat(corner.getOwnerDensity().byteAt(0) & 0xFF).isEqualTo(63);
+        assertThat(corner.getCellTypes().byteAt(1)).isEqualTo(EnvironmentTilePyramid.TYPE_EMPTY);
+
+        EnvironmentTile structure = find(tiles, 1, 2, 1);
+        assertThat(structure.getCellTypes().byteAt(0)).isEqualTo(STRUCTURE);
+
+        // Level 3 pixel (0,0) covers 8x6 cells; two energy cells outweigh the 4%-weighted background
+        EnvironmentTile top = find(tiles, 3, 0, 0);
+        assertThat(top.getCellTypes().toByteArray()).containsExactly(ENERGY, STRUCTURE);
+        assertThat(top.getEnergyList()).containsExactly(8, 0);
+    }
+
+    @Test
+    void build_rejectsInvalidArguments() {
+        assertThatThrownBy(() -> EnvironmentTilePyramid.build(0, cells(), envProps, -1, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EnvironmentTilePyramid.build(0, cells(), envProps, 1, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CellDataColumns cells() {
+        return CellDataColumns.newBuilder()
+            .addFlatIndices(envProps.toFlatIndex(new int[]{0, 0}))
+            .addMoleculeData(new Molecule(Config.TYPE_ENERGY, 5).toInt())
+            .addOwnerIds(0)
+            .addFlatIndices(envProps.toFlatIndex(new int[]{1, 1}))
+            .addMoleculeData(new Molecule(Config.TYPE_ENERGY, 3).toInt())
+            .addOwnerIds(7)
+            .addFlatIndices(envProps.toFlatIndex(new int[]{9, 5}))
+            .addMoleculeData(new Molecule(Config.TYPE_STRUCTURE, 1).toInt())
+            .addOwnerIds(0)
+            .build();
+    }
+
+    private static EnvironmentTile find(List<EnvironmentTile> tiles, int zoom, int tileX, int tileY) {
+        return tiles.stream()
+            .filter(t -> t.getZoom() == zoom && t.getTileX() == tileX && t.getTileY() == tileY)
+            .findFirst()
+            .orElseThrow();
+    }
+}
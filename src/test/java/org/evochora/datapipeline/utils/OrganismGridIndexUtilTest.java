@@ -0,0 +1,88 @@
+package org.evochora.datapipeline.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.OrganismGridIndex;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrganismGridIndexUtil}.
+ * <p>
+ * Uses 10-cell buckets: organism 1 sits at (5,5), organism 2 at (25,5) with a data pointer at
+ * (5,35), organism 3 at (-3,-3).
+ */
+@Tag("unit")
+class OrganismGridIndexUtilTest {
+
+    private final List<OrganismState> organisms = List.of(
+        organism(1, vector(5, 5), vector(6, 6)),
+        organism(2, vector(25, 5), vector(5, 35)),
+        organism(3, vector(-3, -3)));
+
+    @Test
+    void build_listsEachOrganismOncePerBucket() {
+        OrganismGridIndex index = OrganismGridIndexUtil.build(organisms, 10);
+
+        assertThat(index.getBucketSize()).isEqualTo(10);
+        assertThat(index.getDimensions()).isEqualTo(2);
+        // Buckets (0,0), (2,0), (0,3), (-1,-1); IP and DP of organism 1 share a bucket
+        assertThat(index.getBucketStartsCount()).isEqualTo(4);
+        assertThat(index.getBucketCoordinatesList()).containsExactly(0, 0, 2, 0, 0, 3, -1, -1);
+        assertThat(index.getOrganismIdsList()).containsExactly(1, 2, 2, 3);
+    }
+
+    @Test
+    void candidateIds_returnsOrganismsOfOverlappingBuckets() {
+        OrganismGridIndex index = OrganismGridIndexUtil.build(organisms, 10);
+
+        assertThat(OrganismGridIndexUtil.candidateIds(index, region(0, 9, 0, 9))).containsExactlyInAnyOrder(1);
+        // Found through its data pointer
+        assertThat(OrganismGridIndexUtil.candidateIds(index, region(0, 9, 30, 39))).containsExactlyInAnyOrder(2);
+        assertThat(OrganismGridIndexUtil.candidateIds(index, region(-10, 20, -10, 9)))
+            .containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(OrganismGridIndexUtil.candidateIds(index, region(50, 60, 50, 60))).isEmpty();
+    }
+
+    @Test
+    void candidateIds_isSupersetOfExactMatches() {
+        OrganismGridIndex index = OrganismGridIndexUtil.build(organisms, 10);
+        SpatialRegion region = region(0, 2, 0, 2);
+
+        assertThat(OrganismGridIndexUtil.candidateIds(index, region)).containsExactlyInAnyOrder(1);
+        assertThat(OrganismGridIndexUtil.touchesRegion(organisms.get(0), region)).isFalse();
+        assertThat(OrganismGridIndexUtil.touchesRegion(organisms.get(0), region(6, 6, 6, 6))).isTrue();
+    }
+
+    @Test
+    void build_rejectsInvalidBucketSize() {
+        assertThatThrownBy(() -> OrganismGridIndexUtil.build(organisms, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SpatialRegion region(int... bounds) {
+        return new SpatialRegion(bounds);
+    }
+
+    private static Vector vector(int... components) {
+        Vector.Builder builder = Vector.newBuilder();
+        for (int component : components) {
+            builder.addComponents(component);
+        }
+        return builder.build();
+    }
+
+    private static OrganismState organism(int id, Vector ip, Vector... dataPointers) {
+        return OrganismState.newBuilder()
+            .setOrganismId(id)
+            .setIp(ip)
+            .addAllDataPointers(List.of(dataPointers))
+            .build();
+    }
+}
@@ -352,6 +352,66 @@ class DeltaCodecDecompressionTest {
         assertEquals(1, result.get(1).getCellColumns().getFlatIndicesCount());
     }
     
+    // ========================================================================
+    // changedCellsBetween Tests
+    // ========================================================================
+    
+    @Test
+    void changedCellsBetween_returnsNewestContentOfChangedCells() {
+        TickDataChunk chunk = TickDataChunk.newBuilder()
+                .setSimulationRunId(RUN_ID)
+                .setFirstTick(0)
+                .setLastTick(300)
+                .setTickCount(4)
+                .setSnapshot(createSnapshotWithCells(0, createCells(new int[]{0, 1}, new int[]{10, 20})))
+                .addDeltas(createIncrementalDelta(100, createCells(new int[]{1}, new int[]{21})))
+                .addDeltas(createIncrementalDelta(200, createCells(new int[]{1, 2}, new int[]{22, 30})))
+                .addDeltas(createIncrementalDelta(300, createCells(new int[]{2, 0}, new int[]{31, 0})))
+                .build();
+        
+        CellDataColumns changes = DeltaCodec.changedCellsBetween(chunk, 100, 300);
+        
+        assertEquals(3, changes.getFlatIndicesCount());
+        assertCellValue(changes, 0, 0);
+        assertCellValue(changes, 1, 22);
+        assertCellValue(changes, 2, 31);
+        
+        CellDataColumns fromSnapshot = DeltaCodec.changedCellsBetween(chunk, 0, 100);
+        assertEquals(1, fromSnapshot.getFlatIndicesCount());
+        assertCellValue(fromSnapshot, 1, 21);
+    }
+    
+    @Test
+    void changedCellsBetween_stopsAtAccumulatedDelta() {
+        TickDataChunk chunk = TickDataChunk.newBuilder()
+                .setSimulationRunId(RUN_ID)
+                .setFirstTick(0)
+                .setLastTick(300)
+                .setTickCount(4)
+                .setSnapshot(createSnapshot(0))
+                .addDeltas(createIncrementalDelta(100, createCells(new int[]{5}, new int[]{50})))
+                .addDeltas(createAccumulatedDelta(200, createCells(new int[]{5, 6}, new int[]{50, 60})))
+                .addDeltas(createIncrementalDelta(300, createCells(new int[]{7}, new int[]{70})))
+                .build();
+        
+        CellDataColumns changes = DeltaCodec.changedCellsBetween(chunk, 100, 300);
+        
+        // Cell 5 did not change after tick 100, but the accumulated delta repeats it
+        assertEquals(3, changes.getFlatIndicesCount());
+        assertCellValue(changes, 5, 50);
+        assertCellValue(changes, 6, 60);
+        assertCellValue(changes, 7, 70);
+    }
+    
+    @Test
+    void changedCellsBetween_rejectsTicksOutsideChunkOrOutOfOrder() {
+        TickDataChunk chunk = createMultiTickChunk();
+        
+        assertThrows(IllegalArgumentException.class, () -> DeltaCodec.changedCellsBetween(chunk, 200, 100));
+        assertThrows(IllegalArgumentException.class, () -> DeltaCodec.changedCellsBetween(chunk, 150, 200));
+        assertThrows(IllegalArgumentException.class, () -> DeltaCodec.changedCellsBetween(chunk, 100, 400));
+    }
+    
     // ========================================================================
     // Helper Methods
     // ========================================================================
@@ -342,6 +342,60 @@ class DeltaCodecEncoderTest {
         assertEquals(6, chunk.get().getTickCount());
     }
     
+    // ========================================================================
+    // Skipped Samples (Backpressure)
+    // ========================================================================
+    
+    @Test
+    void skipTick_keepsChunkBoundaryAndCarriesChangesToNextDelta() {
+        // 4 samples per chunk: snapshot, incremental, accumulated, incremental
+        DeltaCodec.Encoder encoder = new DeltaCodec.Encoder(RUN_ID, 100, 2, 2, 1);
+        
+        assertFalse(encoder.isNextSampleIncremental());
+        captureTick(encoder, 0);
+        
+        // Sample 1 is skipped; its change must appear in the accumulated delta and the next incremental
+        assertTrue(encoder.isNextSampleIncremental());
+        env.setMolecule(Molecule.fromInt(100), new int[]{1, 0});
+        assertFalse(encoder.skipTick(1).isPresent());
+        assertEquals(1, env.getChangedIndices().cardinality());
+        
+        env.setMolecule(Molecule.fromInt(200), new int[]{2, 0});
+        assertEquals(2, encoder.getNextSampleIndex());
+        assertFalse(encoder.isNextSampleIncremental());
+        captureTick(encoder, 2);
+        
+        // Skipping the last sample completes the chunk at the regular boundary
+        Optional<TickDataChunk> chunk = encoder.skipTick(3);
+        assertTrue(chunk.isPresent());
+        assertEquals(0, chunk.get().getFirstTick());
+        assertEquals(2, chunk.get().getLastTick());
+        assertEquals(2, chunk.get().getTickCount());
+        assertEquals(2, chunk.get().getSkippedSamples());
+        assertEquals(2, chunk.get().getDeltas(0).getChangedCells().getFlatIndicesCount());
+        assertTrue(DeltaCodec.containsTick(chunk.get(), 2));
+        assertFalse(DeltaCodec.containsTick(chunk.get(), 1));
+        
+        // Next chunk starts with a snapshot and a fresh skip count
+        Optional<TickDataChunk> next = Optional.empty();
+        for (long tick = 4; tick < 8; tick++) {
+            next = captureTick(encoder, tick);
+        }
+        assertTrue(next.isPresent());
+        assertEquals(4, next.get().getFirstTick());
+        assertEquals(0, next.get().getSkippedSamples());
+    }
+    
+    @Test
+    void skipTick_snapshotOrAccumulated_throws() {
+        DeltaCodec.Encoder encoder = new DeltaCodec.Encoder(RUN_ID, 100, 2, 2, 1);
+        
+        assertThrows(IllegalStateException.class, () -> encoder.skipTick(0));
+        captureTick(encoder, 0);
+        captureTick(encoder, 1);
+        assertThrows(IllegalStateException.class, () -> encoder.skipTick(2));
+    }
+    
     // ========================================================================
     // Integration: Change Tracking Reset
     // ========================================================================
@@ -0,0 +1,252 @@
+package org.evochora.node.processes.http.api.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.evochora.datapipeline.resources.storage.FileSystemStorageResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Tests for {@link AnalyticsQueryEngine}: result caching, file-set invalidation and local file reuse.
+ */
+@Tag("integration")
+class AnalyticsQueryEngineTest {
+
+    private static final String RUN_ID = "20251201-120000-run";
+
+    private Path storageDir;
+    private Path cacheDir;
+    private FileSystemStorageResource storage;
+    private AnalyticsQueryEngine engine;
+
+    @BeforeAll
+    static void loadDriver() throws ClassNotFoundException {
+        Class.forName("org.duckdb.DuckDBDriver");
+    }
+
+    @BeforeEach
+    void setup() throws IOException {
+        storageDir = Files.createTempDirectory("evochora-test-query-engine-");
+        cacheDir = Files.createTempDirectory("evochora-test-query-cache-");
+        storage = new FileSystemStorageResource("test-storage", ConfigFactory.parseString(
+            "rootDirectory = \"" + storageDir.toAbsolutePath().toString().replace("\\", "/") + "\""));
+        engine = new AnalyticsQueryEngine(storage, ConfigFactory.parseString(
+            "connectionPoolSize = 2\n"
+                + "fileCacheDirectory = \"" + cacheDir.toAbsolutePath().toString().replace("\\", "/") + "\""));
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        engine.close();
+        deleteDirectory(storageDir);
+        deleteDirectory(cacheDir);
+    }
+
+    @Test
+    void repeatedQuery_isServedFromResultCache() throws Exception {
+        String file1 = writeBatch("pop", 0, 9);
+        String file2 = writeBatch("pop", 10, 19);
+        List<String> files = List.of(file1, file2);
+
+        AnalyticsQueryEngine.QueryResult first = engine.query(RUN_ID, "pop", "lod0", files, null, null);
+        AnalyticsQueryEngine.QueryResult second = engine.query(RUN_ID, "pop", "lod0", files, null, null);
+
+        assertThat(first.cacheHit()).isFalse();
+        assertThat(first.rows()).hasSize(20);
+        assertThat(second.cacheHit()).isTrue();
+        assertThat(second.rows()).isSameAs(first.rows());
+        assertThat(engine.getFileCacheMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void newBatch_invalidatesResultButReusesCachedFiles() throws Exception {
+        String file1 = writeBatch("pop", 0, 9);
+        engine.query(RUN_ID, "pop", "lod0", List.of(file1), null, null);
+
+        String file2 = writeBatch("pop", 10, 19);
+        AnalyticsQueryEngine.QueryResult result = engine.query(RUN_ID, "pop", "lod0", List.of(file1, file2), null, null);
+
+        assertThat(result.cacheHit()).isFalse();
+        assertThat(result.rows()).hasSize(20);
+        // file1 came from the local cache, only file2 was copied
+        assertThat(engine.getFileCacheMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void rewrittenFile_isFetchedAgain() throws Exception {
+        String file = writeBatch("pop", 0, 9);
+        engine.query(RUN_ID, "pop", "lod0", List.of(file), null, null);
+
+        Path absolute = storageDir.resolve(RUN_ID).resolve("analytics").resolve(file);
+        Files.setLastModifiedTime(absolute, FileTime.fromMillis(Files.getLastModifiedTime(absolute).toMillis() + 5000));
+        AnalyticsQueryEngine.QueryResult result = engine.query(RUN_ID, "pop", "lod0", List.of(file), null, null);
+
+        assertThat(result.cacheHit()).isFalse();
+        assertThat(engine.getFileCacheMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void tickRange_isPartOfCacheKey() throws Exception {
+        String file = writeBatch("pop", 0, 9);
+
+        AnalyticsQueryEngine.QueryResult all = engine.query(RUN_ID, "pop", "lod0", List.of(file), null, null);
+        AnalyticsQueryEngine.QueryResult window = engine.query(RUN_ID, "pop", "lod0", List.of(file), 2L, 4L);
+
+        assertThat(all.rows()).hasSize(10);
+        assertThat(window.cacheHit()).isFalse();
+        assertThat(window.rows()).hasSize(3);
+    }
+
+    @Test
+    void merge_returnsRowsAndIsCached() throws Exception {
+        List<String> files = List.of(writeBatch("pop", 0, 9), writeBatch("pop", 10, 19));
+
+        AnalyticsQueryEngine.MergedParquet merged = engine.merge(RUN_ID, "pop", "lod0", files, null, null);
+        AnalyticsQueryEngine.MergedParquet again = engine.merge(RUN_ID, "pop", "lod0", files, null, null);
+
+        assertThat(merged.rowCount()).isEqualTo(20);
+        assertThat(merged.fileCount()).isEqualTo(2);
+        assertThat(merged.bytes()).isNotEmpty();
+        assertThat(again).isSameAs(merged);
+        assertThat(engine.getResultCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyFile_isSkipped() throws Exception {
+        String file = writeBatch("pop", 0, 9);
+        Path empty = storageDir.resolve(RUN_ID).resolve("analytics/pop/lod0/batch_00000000000000000010_00000000000000000019.parquet");
+        Files.createFile(empty);
+
+        AnalyticsQueryEngine.QueryResult result = engine.query(RUN_ID, "pop", "lod0",
+            List.of(file, "pop/lod0/batch_00000000000000000010_00000000000000000019.parquet"), null, null);
+
+        assertThat(result.rows()).hasSize(10);
+    }
+
+    @Test
+    void skippedFile_resultIsNotCached() throws Exception {
+        String file = writeBatch("pop", 0, 9);
+        String pending = "pop/lod0/batch_00000000000000000010_00000000000000000019.parquet";
+        Path empty = storageDir.resolve(RUN_ID).resolve("analytics").resolve(pending);
+        Files.createFile(empty);
+        FileTime listed = Files.getLastModifiedTime(empty);
+
+        AnalyticsQueryEngine.QueryResult partial = engine.query(RUN_ID, "pop", "lod0", List.of(file, pending), null, null);
+        AnalyticsQueryEngine.MergedParquet partialMerge = engine.merge(RUN_ID, "pop", "lod0", List.of(file, pending), null, null);
+
+        // The writer completes the file without changing its timestamp (same fingerprint)
+        Files.delete(empty);
+        writeBatch("pop", 10, 19);
+        Files.setLastModifiedTime(empty, listed);
+        AnalyticsQueryEngine.QueryResult complete = engine.query(RUN_ID, "pop", "lod0", List.of(file, pending), null, null);
+        AnalyticsQueryEngine.MergedParquet completeMerge = engine.merge(RUN_ID, "pop", "lod0", List.of(file, pending), null, null);
+
+        assertThat(partial.rows()).hasSize(10);
+        assertThat(partialMerge.fileCount()).isEqualTo(1);
+        assertThat(complete.cacheHit()).isFalse();
+        assertThat(complete.rows()).hasSize(20);
+        assertThat(completeMerge.rowCount()).isEqualTo(20);
+        assertThat(engine.getResultCacheHits()).isZero();
+    }
+
+    @Test
+    void unavailableConnection_failsInsteadOfSkippingFiles() throws Exception {
+        String file = writeBatch("pop", 0, 9);
+        engine.close();
+
+        assertThatThrownBy(() -> engine.query(RUN_ID, "pop", "lod0", List.of(file), null, null))
+            .isInstanceOf(SQLException.class)
+            .hasMessageContaining("closed");
+    }
+
+    @Test
+    void fileSetLargerThanCache_evictedFilesStayReadableUntilQueryEnds() throws Exception {
+        AnalyticsQueryEngine tiny = new AnalyticsQueryEngine(storage, ConfigFactory.parseString(
+            "fileCacheMaxMegabytes = 0\n"
+                + "fileCacheDirectory = \"" + cacheDir.toAbsolutePath().toString().replace("\\", "/") + "\""));
+        try {
+            List<String> files = List.of(writeBatch("pop", 0, 9), writeBatch("pop", 10, 19), writeBatch("pop", 20, 29));
+
+            AnalyticsQueryEngine.QueryResult result = tiny.query(RUN_ID, "pop", "lod0", files, null, null);
+            AnalyticsQueryEngine.MergedParquet merged = tiny.merge(RUN_ID, "pop", "lod0", files, null, null);
+
+            assertThat(result.rows()).hasSize(30);
+            assertThat(merged.rowCount()).isEqualTo(30);
+            // Nothing fits the cache: every copy is deleted once released
+            await().atMost(5, TimeUnit.SECONDS).until(() -> cachedParquetFiles().isEmpty());
+        } finally {
+            tiny.close();
+        }
+    }
+
+    @Test
+    void fileRemovedSinceListing_isSkipped() throws Exception {
+        String file1 = writeBatch("pop", 0, 9);
+        String file2 = writeBatch("pop", 10, 19);
+        Files.delete(storageDir.resolve(RUN_ID).resolve("analytics").resolve(file2));
+
+        AnalyticsQueryEngine.QueryResult result = engine.query(RUN_ID, "pop", "lod0", List.of(file1, file2), null, null);
+
+        assertThat(result.rows()).hasSize(10);
+    }
+
+    @Test
+    void configuredCacheDirectory_onlyOwnSubdirectoryIsWiped() throws Exception {
+        Path foreign = Files.writeString(cacheDir.resolve("keep.txt"), "not ours");
+
+        engine.query(RUN_ID, "pop", "lod0", List.of(writeBatch("pop", 0, 9)), null, null);
+        engine.close();
+
+        assertThat(foreign).exists();
+        assertThat(cachedParquetFiles()).isEmpty();
+    }
+
+    private List<Path> cachedParquetFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(cacheDir)) {
+            return paths.filter(p -> p.toString().endsWith(".parquet")).toList();
+        }
+    }
+
+    private String writeBatch(String metric, long startTick, long endTick) throws Exception {
+        String relative = String.format("%s/lod0/batch_%020d_%020d.parquet", metric, startTick, endTick);
+        Path target = storageDir.resolve(RUN_ID).resolve("analytics").resolve(relative);
+        Files.createDirectories(target.getParent());
+        String sql = String.format(
+            "COPY (SELECT range AS tick, range * 2 AS value FROM range(%d, %d)) TO '%s' (FORMAT PARQUET)",
+            startTick, endTick + 1, target.toAbsolutePath().toString().replace("\\", "/"));
+        try (Connection conn = DriverManager.getConnection("jdbc:duckdb:");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+        return relative;
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
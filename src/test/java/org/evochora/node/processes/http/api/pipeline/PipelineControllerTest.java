@@ -3,6 +3,7 @@ package org.evochora.node.processes.http.api.pipeline;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
 import org.evochora.datapipeline.ServiceManager;
 import org.evochora.datapipeline.api.services.IService;
 import org.evochora.datapipeline.api.services.ServiceStatus;
@@ -24,6 +25,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -121,6 +123,37 @@ class PipelineControllerTest {
                 controller.getServiceStatus(ctx);
             });
         }
+
+        @Test
+        @DisplayName("handleServiceFastForward should forward the target tick and accept")
+        void handleServiceFastForward_shouldDelegateToServiceManager() {
+            // Arrange
+            when(ctx.pathParam("serviceName")).thenReturn("simulation-engine");
+            when(ctx.queryParam("untilTick")).thenReturn("50000");
+
+            // Act
+            controller.handleServiceFastForward(ctx);
+
+            // Assert
+            verify(serviceManager).fastForwardService("simulation-engine", 50000L);
+            verify(ctx).status(HttpStatus.ACCEPTED);
+        }
+
+        @Test
+        @DisplayName("handleServiceFastForward should reject a missing or malformed untilTick")
+        void handleServiceFastForward_withInvalidTick_shouldReturnBadRequest() {
+            // Arrange
+            when(ctx.pathParam("serviceName")).thenReturn("simulation-engine");
+            when(ctx.queryParam("untilTick")).thenReturn(null, "soon");
+
+            // Act
+            controller.handleServiceFastForward(ctx);
+            controller.handleServiceFastForward(ctx);
+
+            // Assert
+            verify(ctx, times(2)).status(HttpStatus.BAD_REQUEST);
+            verify(serviceManager, never()).fastForwardService(anyString(), anyLong());
+        }
     }
 
 }
\ No newline at end of file
@@ -8,9 +8,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.EnvironmentHttpResponse;
 import org.evochora.datapipeline.api.resources.database.IDatabaseReaderProvider;
 import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
 import org.evochora.node.spi.ServiceRegistry;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.evochora.runtime.model.Molecule;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
@@ -185,6 +189,41 @@ class EnvironmentControllerUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Delta Responses")
+    class DeltaResponses {
+
+        @Test
+        @DisplayName("Should split changed cells into cells and cleared coordinates within the region")
+        void convertChangedCells_splitsCellsAndClearedCoordinates() {
+            EnvironmentProperties envProps = new EnvironmentProperties(new int[]{10, 10}, false);
+            CellDataColumns changes = CellDataColumns.newBuilder()
+                .addFlatIndices(envProps.toFlatIndex(new int[]{1, 1}))
+                .addMoleculeData(new Molecule(org.evochora.runtime.Config.TYPE_ENERGY, 42).toInt())
+                .addOwnerIds(3)
+                .addFlatIndices(envProps.toFlatIndex(new int[]{2, 3}))
+                .addMoleculeData(0)
+                .addOwnerIds(0)
+                .addFlatIndices(envProps.toFlatIndex(new int[]{8, 8}))
+                .addMoleculeData(new Molecule(org.evochora.runtime.Config.TYPE_DATA, 1).toInt())
+                .addOwnerIds(0)
+                .build();
+
+            EnvironmentHttpResponse response = EnvironmentController.convertChangedCellsToProtobuf(
+                changes, 20, 10, createSpatialRegion(new int[]{0, 5, 0, 5}), envProps);
+
+            assertThat(response.getDelta()).isTrue();
+            assertThat(response.getSinceTick()).isEqualTo(10);
+            assertThat(response.getTickNumber()).isEqualTo(20);
+            assertThat(response.getCellsList()).singleElement().satisfies(cell -> {
+                assertThat(cell.getCoordinatesList()).containsExactly(1, 1);
+                assertThat(cell.getMoleculeValue()).isEqualTo(42);
+                assertThat(cell.getOwnerId()).isEqualTo(3);
+            });
+            assertThat(response.getClearedCoordinatesList()).containsExactly(2, 3);
+        }
+    }
+
     // Helper method for creating test data
     private SpatialRegion createSpatialRegion(int[] bounds) {
         return new SpatialRegion(bounds);
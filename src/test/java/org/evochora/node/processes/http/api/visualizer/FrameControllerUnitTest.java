@@ -0,0 +1,78 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import org.evochora.datapipeline.api.resources.database.IDatabaseReaderProvider;
+import org.evochora.node.spi.ServiceRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Unit tests for the renderer configuration of {@link FrameController} (no database I/O).
+ * <p>
+ * Renderers are created by class name from their HOCON {@code options}; misconfigured
+ * renderers fail the controller's construction rather than the first request.
+ */
+@Tag("unit")
+@DisplayName("FrameController Unit Tests")
+class FrameControllerUnitTest {
+
+    private static final String CORES = "org.evochora.datapipeline.rendering.frame.";
+
+    @Test
+    @DisplayName("Renderer cores are created from their options")
+    void rendererCores_areCreatedFromOptions() {
+        FrameController controller = create("""
+            renderers {
+              exact { className = "%1$sExactFrameRendererCore", options { scale = 1 } }
+              minimap { className = "%1$sMinimapFrameRendererCore", options { scale = 0.3, cluster-grid = 2 } }
+              density { className = "%1$sDensityMapRendererCore" }
+            }
+            default-renderer = "minimap"
+            """.formatted(CORES));
+
+        assertThat(controller).isNotNull();
+    }
+
+    @Test
+    @DisplayName("An option out of range fails construction")
+    void invalidOption_failsConstruction() {
+        assertThatThrownBy(() -> create("""
+            renderers { exact { className = "%sExactFrameRendererCore", options { scale = 0 } } }
+            """.formatted(CORES)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid options for renderer 'exact'")
+            .hasMessageContaining("scale");
+    }
+
+    @Test
+    @DisplayName("An option of the wrong type fails construction")
+    void mistypedOption_failsConstruction() {
+        assertThatThrownBy(() -> create("""
+            renderers { minimap { className = "%sMinimapFrameRendererCore", options { scale = "small" } } }
+            """.formatted(CORES)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid options for renderer 'minimap'");
+    }
+
+    @Test
+    @DisplayName("A class that is not a renderer fails construction")
+    void nonRendererClass_failsConstruction() {
+        assertThatThrownBy(() -> create("""
+            renderers { exact { className = "%sEnvironmentBackgroundLayer" } }
+            """.formatted(CORES)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not implement IFrameRenderer");
+    }
+
+    private static FrameController create(String options) {
+        ServiceRegistry registry = new ServiceRegistry();
+        registry.register(IDatabaseReaderProvider.class, mock(IDatabaseReaderProvider.class));
+        return new FrameController(registry, ConfigFactory.parseString(options));
+    }
+}
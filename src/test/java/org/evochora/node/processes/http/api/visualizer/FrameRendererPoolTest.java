@@ -0,0 +1,168 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.evochora.datapipeline.api.contracts.DeltaType;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.rendering.IFrameRenderer;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FrameRendererPool}: incremental rendering of sequential ticks, resets
+ * via accumulated deltas and the instance limit.
+ * <p>
+ * The chunk has a snapshot at tick 0 and deltas at 10 (incremental), 20 (accumulated) and
+ * 30 (incremental). A recording renderer logs the ticks it draws, "S" marking snapshots.
+ */
+@Tag("unit")
+@DisplayName("FrameRendererPool Unit Tests")
+class FrameRendererPoolTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final TickDataChunk chunk = chunk(0);
+
+    @Test
+    @DisplayName("Sequential ticks are rendered incrementally by the same instance")
+    void sequentialTicks_renderDeltasOnly() {
+        FrameRendererPool pool = new FrameRendererPool(new RecordingRenderer(), 2);
+
+        render(pool, chunk, 0);
+        render(pool, chunk, 10);
+        render(pool, chunk, 15);
+        render(pool, chunk, 30);
+
+        assertThat(calls).containsExactly("S0", "10", "20", "30");
+        assertThat(pool.getInstanceCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A reset skips to the closest accumulated delta")
+    void reset_usesAccumulatedDelta() {
+        FrameRendererPool pool = new FrameRendererPool(new RecordingRenderer(), 1);
+
+        render(pool, chunk, 30);
+        render(pool, chunk, 10);
+
+        assertThat(calls).containsExactly("S0", "20", "30", "S0", "10");
+    }
+
+    @Test
+    @DisplayName("A new chunk resets the instance")
+    void newChunk_resetsInstance() {
+        FrameRendererPool pool = new FrameRendererPool(new RecordingRenderer(), 1);
+
+        render(pool, chunk, 10);
+        render(pool, chunk(100), 110);
+
+        assertThat(calls).containsExactly("S0", "10", "S100", "110");
+    }
+
+    @Test
+    @DisplayName("Backward requests use a further instance and keep the warm one")
+    void backwardRequest_createsFurtherInstance() {
+        FrameRendererPool pool = new FrameRendererPool(new RecordingRenderer(), 2);
+
+        render(pool, chunk, 30);
+        render(pool, chunk, 0);
+        calls.clear();
+        render(pool, chunk, 30);
+
+        assertThat(pool.getInstanceCount()).isEqualTo(2);
+        assertThat(calls).isEmpty();
+    }
+
+    @Test
+    @DisplayName("All instances busy leads to pool exhaustion")
+    void allInstancesBusy_throws() {
+        FrameRendererPool pool = new FrameRendererPool(new RecordingRenderer(), 1);
+
+        try (FrameRendererPool.Lease lease = pool.acquire(chunk, 0)) {
+            assertThatThrownBy(() -> pool.acquire(chunk, 10))
+                .isInstanceOf(VisualizerBaseController.PoolExhaustionException.class);
+        }
+        pool.acquire(chunk, 10).close();
+    }
+
+    @Test
+    @DisplayName("Requests between stored ticks snap to the earlier one")
+    void renderedTick_snapsToStoredTick() {
+        assertThat(FrameRendererPool.renderedTick(chunk, 5)).isZero();
+        assertThat(FrameRendererPool.renderedTick(chunk, 29)).isEqualTo(20);
+        assertThat(FrameRendererPool.renderedTick(chunk, 30)).isEqualTo(30);
+    }
+
+    private static void render(FrameRendererPool pool, TickDataChunk chunk, long tick) {
+        try (FrameRendererPool.Lease lease = pool.acquire(chunk, tick)) {
+            assertThat(lease.render()).isNotNull();
+        }
+    }
+
+    private static TickDataChunk chunk(long firstTick) {
+        return TickDataChunk.newBuilder()
+            .setFirstTick(firstTick)
+            .setLastTick(firstTick + 30)
+            .setTickCount(4)
+            .setSnapshot(TickData.newBuilder().setTickNumber(firstTick))
+            .addDeltas(delta(firstTick + 10, DeltaType.INCREMENTAL))
+            .addDeltas(delta(firstTick + 20, DeltaType.ACCUMULATED))
+            .addDeltas(delta(firstTick + 30, DeltaType.INCREMENTAL))
+            .build();
+    }
+
+    private static TickDelta delta(long tick, DeltaType type) {
+        return TickDelta.newBuilder().setTickNumber(tick).setDeltaType(type).build();
+    }
+
+    /**
+     * Records the ticks it renders into the test's call log; instances share the log.
+     */
+    private final class RecordingRenderer implements IFrameRenderer {
+        private final BufferedImage frame = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+        @Override
+        public void init(EnvironmentProperties envProps) {
+        }
+
+        @Override
+        public IFrameRenderer createThreadInstance() {
+            return new RecordingRenderer();
+        }
+
+        @Override
+        public int[] renderSnapshot(TickData snapshot) {
+            calls.add("S" + snapshot.getTickNumber());
+            return new int[1];
+        }
+
+        @Override
+        public int[] renderDelta(TickDelta delta) {
+            calls.add(String.valueOf(delta.getTickNumber()));
+            return new int[1];
+        }
+
+        @Override
+        public BufferedImage getFrame() {
+            return frame;
+        }
+
+        @Override
+        public int getImageWidth() {
+            return 1;
+        }
+
+        @Override
+        public int getImageHeight() {
+            return 1;
+        }
+    }
+}
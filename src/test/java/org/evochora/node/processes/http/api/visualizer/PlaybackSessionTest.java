@@ -0,0 +1,285 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.evochora.datapipeline.api.contracts.CellDataColumns;
+import org.evochora.datapipeline.api.contracts.CellHttpResponse;
+import org.evochora.datapipeline.api.contracts.DeltaType;
+import org.evochora.datapipeline.api.contracts.OrganismState;
+import org.evochora.datapipeline.api.contracts.PlaybackFrame;
+import org.evochora.datapipeline.api.contracts.PlaybackOrganism;
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.contracts.Vector;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReaderProvider;
+import org.evochora.datapipeline.api.resources.database.TickNotFoundException;
+import org.evochora.datapipeline.api.resources.database.dto.SpatialRegion;
+import org.evochora.runtime.Config;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.evochora.runtime.model.Molecule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Unit tests for {@link PlaybackSession}: keyframes, cell and organism deltas, chunk boundaries
+ * and region filtering.
+ * <p>
+ * The run has a 4x4 environment and three synthetic chunks:
+ * <ul>
+ *   <li>Chunk 0: snapshot at tick 0 (cell A at 1), incremental delta at 10 (adds cell B at 2),
+ *       accumulated delta at 20 (repeats B, clears A)</li>
+ *   <li>Chunk 1: snapshot at tick 30 (B at 2, C at 5)</li>
+ *   <li>Chunk 2: snapshot at tick 40 (only C; B is gone), incremental delta at 50 (B again)</li>
+ * </ul>
+ */
+@Tag("unit")
+@DisplayName("PlaybackSession Unit Tests")
+class PlaybackSessionTest {
+
+    private static final int CELL_A = new Molecule(Config.TYPE_DATA, 7).toInt();
+    private static final int CELL_B = new Molecule(Config.TYPE_ENERGY, 50).toInt();
+    private static final int CELL_C = new Molecule(Config.TYPE_STRUCTURE, 1).toInt();
+
+    private final EnvironmentProperties envProps = new EnvironmentProperties(new int[]{4, 4}, false);
+    private TickChunkCache chunkCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        IDatabaseReaderProvider provider = mock(IDatabaseReaderProvider.class);
+        IDatabaseReader reader = mock(IDatabaseReader.class);
+        when(provider.createReader(anyString())).thenReturn(reader);
+        when(reader.readChunkContaining(anyLong())).thenAnswer(inv -> {
+            long tick = inv.getArgument(0);
+            if (tick <= 20) {
+                return chunk0();
+            }
+            if (tick == 30) {
+                return chunk1();
+            }
+            if (tick <= 50) {
+                return chunk2();
+            }
+            throw new TickNotFoundException("Tick " + tick + " not indexed");
+        });
+        chunkCache = new TickChunkCache(provider, ConfigFactory.parseMap(Map.of("read-ahead.enabled", false)));
+    }
+
+    @Test
+    @DisplayName("Streams a keyframe, then only changed cells")
+    void streamsKeyframeThenChangedCells() throws Exception {
+        PlaybackSession session = new PlaybackSession("run", envProps, 10, chunkCache, null, 0);
+
+        PlaybackFrame keyframe = session.nextFrame(1);
+        assertThat(keyframe.getKeyframe()).isTrue();
+        assertThat(keyframe.getTickNumber()).isZero();
+        assertThat(keyframe.getCellsList()).extracting(CellHttpResponse::getMoleculeValue).containsExactly(7);
+
+        PlaybackFrame tick10 = session.nextFrame(1);
+        assertThat(tick10.getKeyframe()).isFalse();
+        assertThat(tick10.getCellsList()).extracting(CellHttpResponse::getCoordinatesList)
+            .containsExactly(coordinatesOf(2));
+        assertThat(tick10.getClearedCoordinatesList()).isEmpty();
+
+        // The accumulated delta repeats B, which is not sent again
+        PlaybackFrame tick20 = session.nextFrame(1);
+        assertThat(tick20.getCellsList()).isEmpty();
+        assertThat(tick20.getClearedCoordinatesList()).isEqualTo(coordinatesOf(1));
+
+        // Chunk boundary: the next snapshot is diffed against the current state
+        PlaybackFrame tick30 = session.nextFrame(1);
+        assertThat(tick30.getTickNumber()).isEqualTo(30);
+        assertThat(tick30.getCellsList()).extracting(CellHttpResponse::getCoordinatesList)
+            .containsExactly(coordinatesOf(5));
+        assertThat(tick30.getClearedCoordinatesList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A cell missing from the next chunk's snapshot is cleared from the state")
+    void cellMissingFromNextSnapshot_isCleared() throws Exception {
+        PlaybackSession session = new PlaybackSession("run", envProps, 10, chunkCache, null, 30);
+        session.nextFrame(1);
+
+        PlaybackFrame tick40 = session.nextFrame(1);
+        assertThat(tick40.getTickNumber()).isEqualTo(40);
+        assertThat(tick40.getCellsList()).isEmpty();
+        assertThat(tick40.getClearedCoordinatesList()).isEqualTo(coordinatesOf(2));
+
+        // B reappears: it differs from the (now empty) state, so it is sent
+        PlaybackFrame tick50 = session.nextFrame(1);
+        assertThat(tick50.getCellsList()).extracting(CellHttpResponse::getCoordinatesList)
+            .containsExactly(coordinatesOf(2));
+    }
+
+    @Test
+    @DisplayName("A stride merges the changes of several ticks into one frame")
+    void stride_mergesChangesOfSeveralTicks() throws Exception {
+        PlaybackSession session = new PlaybackSession("run", envProps, 10, chunkCache, null, 0);
+        session.nextFrame(1);
+
+        PlaybackFrame frame = session.nextFrame(2);
+
+        assertThat(frame.getTickNumber()).isEqualTo(20);
+        assertThat(frame.getCellsList()).extracting(CellHttpResponse::getCoordinatesList)
+            .containsExactly(coordinatesOf(2));
+        assertThat(frame.getClearedCoordinatesList()).isEqualTo(coordinatesOf(1));
+    }
+
+    @Test
+    @DisplayName("End of data is reported once, then playback waits")
+    void endOfData_isReportedOnce() throws Exception {
+        PlaybackSession session = new PlaybackSession("run", envProps, 10, chunkCache, null, 50);
+        session.nextFrame(1);
+
+        PlaybackFrame endOfData = session.nextFrame(1);
+
+        assertThat(endOfData.getEndOfData()).isTrue();
+        assertThat(endOfData.getTickNumber()).isEqualTo(50);
+        assertThat(session.nextFrame(1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Cells outside the region are not streamed")
+    void cellsOutsideRegion_areNotStreamed() throws Exception {
+        int[] cellB = envProps.flatIndexToCoordinates(2);
+        SpatialRegion onlyB = new SpatialRegion(new int[]{cellB[0], cellB[0], cellB[1], cellB[1]});
+        PlaybackSession session = new PlaybackSession("run", envProps, 10, chunkCache, onlyB, 0);
+
+        assertThat(session.nextFrame(1).getCellsList()).isEmpty();
+        assertThat(session.nextFrame(1).getCellsCount()).isEqualTo(1);
+        assertThat(session.nextFrame(1).getClearedCoordinatesList()).isEmpty();
+        assertThat(session.nextFrame(1).getCellsList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Seeking snaps to the earlier stored tick and sends a keyframe")
+    void seek_sendsKeyframeAtEarlierStoredTick() throws Exception {
+        PlaybackSession session = new PlaybackSession("run", envProps, 10, chunkCache, null, 0);
+        session.nextFrame(1);
+
+        session.seek(15);
+        PlaybackFrame keyframe = session.nextFrame(1);
+        assertThat(keyframe.getKeyframe()).isTrue();
+        assertThat(keyframe.getTickNumber()).isEqualTo(10);
+        assertThat(keyframe.getCellsList()).extracting(CellHttpResponse::getMoleculeValue).containsExactly(7, 50);
+
+        // Rebuilt from the accumulated delta
+        session.seek(20);
+        keyframe = session.nextFrame(1);
+        assertThat(keyframe.getTickNumber()).isEqualTo(20);
+        assertThat(keyframe.getCellsList()).extracting(CellHttpResponse::getMoleculeValue).containsExactly(50);
+        assertThat(keyframe.getOrganismsList()).extracting(PlaybackOrganism::getOrganismId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Only changed organisms and removals are streamed")
+    void organisms_onlyChangesAreStreamed() throws Exception {
+        PlaybackSession session = new PlaybackSession("run", envProps, 10, chunkCache, null, 0);
+
+        assertThat(session.nextFrame(1).getOrganismsList()).extracting(PlaybackOrganism::getOrganismId)
+            .containsExactly(1, 2);
+
+        PlaybackFrame tick10 = session.nextFrame(1);
+        assertThat(tick10.getOrganismsList()).extracting(PlaybackOrganism::getEnergy).containsExactly(90);
+        assertThat(tick10.getRemovedOrganismIdsList()).isEmpty();
+
+        PlaybackFrame tick20 = session.nextFrame(1);
+        assertThat(tick20.getOrganismsList()).isEmpty();
+        assertThat(tick20.getRemovedOrganismIdsList()).containsExactly(2);
+    }
+
+    private List<Integer> coordinatesOf(int flatIndex) {
+        return Arrays.stream(envProps.flatIndexToCoordinates(flatIndex)).boxed().toList();
+    }
+
+    private static TickDataChunk chunk0() {
+        return TickDataChunk.newBuilder()
+            .setSimulationRunId("run")
+            .setFirstTick(0)
+            .setLastTick(20)
+            .setTickCount(3)
+            .setSnapshot(TickData.newBuilder()
+                .setTickNumber(0)
+                .setCellColumns(cells(1, CELL_A))
+                .addOrganisms(organism(1, 100))
+                .addOrganisms(organism(2, 100)))
+            .addDeltas(TickDelta.newBuilder()
+                .setTickNumber(10)
+                .setDeltaType(DeltaType.INCREMENTAL)
+                .setChangedCells(cells(2, CELL_B))
+                .addOrganisms(organism(1, 90))
+                .addOrganisms(organism(2, 100)))
+            .addDeltas(TickDelta.newBuilder()
+                .setTickNumber(20)
+                .setDeltaType(DeltaType.ACCUMULATED)
+                .setChangedCells(cells(2, CELL_B, 1, 0))
+                .addOrganisms(organism(1, 90)))
+            .build();
+    }
+
+    private static TickDataChunk chunk1() {
+        return TickDataChunk.newBuilder()
+            .setSimulationRunId("run")
+            .setFirstTick(30)
+            .setLastTick(30)
+            .setTickCount(1)
+            .setSnapshot(TickData.newBuilder()
+                .setTickNumber(30)
+                .setCellColumns(cells(2, CELL_B, 5, CELL_C))
+                .addOrganisms(organism(1, 90)))
+            .build();
+    }
+
+    private static TickDataChunk chunk2() {
+        return TickDataChunk.newBuilder()
+            .setSimulationRunId("run")
+            .setFirstTick(40)
+            .setLastTick(50)
+            .setTickCount(2)
+            .setSnapshot(TickData.newBuilder()
+                .setTickNumber(40)
+                .setCellColumns(cells(5, CELL_C))
+                .addOrganisms(organism(1, 90)))
+            .addDeltas(TickDelta.newBuilder()
+                .setTickNumber(50)
+                .setDeltaType(DeltaType.INCREMENTAL)
+                .setChangedCells(cells(2, CELL_B))
+                .addOrganisms(organism(1, 90)))
+            .build();
+    }
+
+    /**
+     * Builds cell columns from (flatIndex, moleculeData) pairs.
+     */
+    private static CellDataColumns cells(int... flatIndexAndMolecule) {
+        CellDataColumns.Builder builder = CellDataColumns.newBuilder();
+        for (int i = 0; i < flatIndexAndMolecule.length; i += 2) {
+            builder.addFlatIndices(flatIndexAndMolecule[i])
+                .addMoleculeData(flatIndexAndMolecule[i + 1])
+                .addOwnerIds(0);
+        }
+        return builder.build();
+    }
+
+    private static OrganismState organism(int id, int energy) {
+        return OrganismState.newBuilder()
+            .setOrganismId(id)
+            .setEnergy(energy)
+            .setIp(Vector.newBuilder().addComponents(id).addComponents(0))
+            .setDv(Vector.newBuilder().addComponents(1).addComponents(0))
+            .build();
+    }
+}
@@ -0,0 +1,138 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.evochora.datapipeline.api.contracts.PlaybackFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PlaybackStream}: asynchronous sends and frame skipping for slow clients.
+ */
+@Tag("unit")
+@DisplayName("PlaybackStream Unit Tests")
+class PlaybackStreamTest {
+
+    // One thread: a blocking send would stall every other stream
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A blocked client skips frames without holding up other streams")
+    void blockedClient_skipsFramesAndDoesNotBlockOtherStreams() throws Exception {
+        PlaybackSession blockedSession = session();
+        FakeConnection blocked = new FakeConnection("blocked", false);
+        PlaybackStream blockedStream = new PlaybackStream(blocked, blockedSession, 1, scheduler, failed -> { });
+
+        PlaybackSession healthySession = session();
+        FakeConnection healthy = new FakeConnection("healthy", true);
+        PlaybackStream healthyStream = new PlaybackStream(healthy, healthySession, 1, scheduler, failed -> { });
+
+        blockedStream.schedule(100);
+        healthyStream.schedule(100);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> healthy.sent.size() >= 20);
+
+        // The blocked client got one frame in flight; its session did not advance further
+        assertThat(blocked.sent).hasSize(1);
+        verify(blockedSession, times(1)).nextFrame(anyInt());
+        assertThat(blockedStream.getFramesSkipped()).isPositive();
+
+        // Once the client catches up, frames flow again
+        blocked.pending.get(0).complete(null);
+        await().atMost(Duration.ofSeconds(5)).until(() -> blocked.sent.size() >= 2);
+        verify(blockedSession, atLeast(2)).nextFrame(anyInt());
+
+        blockedStream.cancel();
+        healthyStream.cancel();
+    }
+
+    @Test
+    @DisplayName("A failed send closes the stream")
+    void failedSend_closesStream() throws Exception {
+        FakeConnection connection = new FakeConnection("failing", false);
+        List<PlaybackStream> failed = new CopyOnWriteArrayList<>();
+        PlaybackStream stream = new PlaybackStream(connection, session(), 1, scheduler, failed::add);
+
+        stream.schedule(100);
+        await().atMost(Duration.ofSeconds(5)).until(() -> connection.pending.size() == 1);
+        connection.pending.get(0).completeExceptionally(new java.io.IOException("connection reset"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> connection.closeCode == PlaybackStream.CLOSE_INTERNAL_ERROR);
+        assertThat(failed).containsExactly(stream);
+    }
+
+    private static PlaybackSession session() throws Exception {
+        PlaybackSession session = mock(PlaybackSession.class);
+        when(session.nextFrame(anyInt())).thenReturn(PlaybackFrame.newBuilder().setTickNumber(1).build());
+        return session;
+    }
+
+    /**
+     * Records sends; completes them at once, or leaves them pending like a client that reads nothing.
+     */
+    private static final class FakeConnection implements PlaybackStream.Connection {
+        private final String id;
+        private final boolean completeImmediately;
+        final List<ByteBuffer> sent = new CopyOnWriteArrayList<>();
+        final List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        volatile int closeCode = -1;
+
+        FakeConnection(final String id, final boolean completeImmediately) {
+            this.id = id;
+            this.completeImmediately = completeImmediately;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return closeCode < 0;
+        }
+
+        @Override
+        public CompletableFuture<Void> sendBinary(final ByteBuffer bytes) {
+            sent.add(bytes);
+            if (completeImmediately) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            pending.add(result);
+            return result;
+        }
+
+        @Override
+        public CompletableFuture<Void> sendJson(final Object message) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close(final int code, final String reason) {
+            closeCode = code;
+        }
+    }
+}
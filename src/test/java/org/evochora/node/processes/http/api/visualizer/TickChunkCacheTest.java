@@ -0,0 +1,163 @@
+package org.evochora.node.processes.http.api.visualizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.evochora.datapipeline.api.contracts.TickData;
+import org.evochora.datapipeline.api.contracts.TickDataChunk;
+import org.evochora.datapipeline.api.contracts.TickDelta;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReader;
+import org.evochora.datapipeline.api.resources.database.IDatabaseReaderProvider;
+import org.evochora.node.spi.ServiceRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Unit tests for {@link TickChunkCache}: tick-range lookup, single-flight loading and read-ahead.
+ * <p>
+ * Chunks are synthetic: chunk {@code n} holds ticks {@code 100n, 100n + 10, ..., 100n + 90}.
+ */
+@Tag("unit")
+@DisplayName("TickChunkCache Unit Tests")
+class TickChunkCacheTest {
+
+    private static final Config NO_READ_AHEAD = ConfigFactory.parseMap(Map.of("read-ahead.enabled", false));
+
+    private IDatabaseReaderProvider provider;
+    private IDatabaseReader reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        provider = mock(IDatabaseReaderProvider.class);
+        reader = mock(IDatabaseReader.class);
+        when(provider.createReader(anyString())).thenReturn(reader);
+        when(reader.readChunkContaining(anyLong())).thenAnswer(inv -> chunkContaining(inv.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Ticks of a cached chunk are served from the cache")
+    void ticksOfCachedChunk_areServedFromCache() throws Exception {
+        TickChunkCache cache = new TickChunkCache(provider, NO_READ_AHEAD);
+
+        TickDataChunk first = cache.get("run", 120);
+        TickDataChunk second = cache.get("run", 190);
+        cache.get("run", 30);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getLoadCount()).isEqualTo(2);
+        verify(reader, times(1)).readChunkContaining(120);
+        verify(reader, never()).readChunkContaining(190);
+    }
+
+    @Test
+    @DisplayName("Runs are cached independently")
+    void runs_areCachedIndependently() throws Exception {
+        TickChunkCache cache = new TickChunkCache(provider, NO_READ_AHEAD);
+
+        cache.get("run-a", 50);
+        cache.get("run-b", 50);
+
+        assertThat(cache.getLoadCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for one chunk share a single load")
+    void concurrentMisses_shareOneLoad() throws Exception {
+        TickChunkCache cache = new TickChunkCache(provider, NO_READ_AHEAD);
+        cache.get("run", 0);  // learns the chunk stride
+
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return chunkContaining(inv.getArgument(0));
+        }).when(reader).readChunkContaining(anyLong());
+
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TickDataChunk>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                long tick = 200 + i * 10;
+                results.add(requests.submit(() -> cache.get("run", tick)));
+            }
+            // All requests are waiting for the first one's load
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<TickDataChunk> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getSnapshot().getTickNumber()).isEqualTo(200);
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+        assertThat(cache.getLoadCount()).isEqualTo(2);
+        assertThat(cache.getCoalescedLoadCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Crossing the read-ahead fraction preloads the next chunk")
+    void crossingReadAheadFraction_preloadsNextChunk() throws Exception {
+        TickChunkCache cache = new TickChunkCache(provider,
+            ConfigFactory.parseMap(Map.of("read-ahead.fraction", 0.5)));
+
+        cache.get("run", 20);
+        assertThat(cache.getReadAheadCount()).isZero();
+
+        cache.get("run", 60);
+        assertThat(cache.getReadAheadCount()).isEqualTo(1);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cache.getLoadCount() == 2);
+        verify(reader).readChunkContaining(100);
+
+        // The preloaded chunk is a cache hit
+        cache.get("run", 150);
+        verify(reader, never()).readChunkContaining(150);
+    }
+
+    @Test
+    @DisplayName("Controllers of one server share one cache")
+    void shared_returnsOneCachePerRegistry() {
+        ServiceRegistry registry = new ServiceRegistry();
+        registry.register(IDatabaseReaderProvider.class, provider);
+
+        TickChunkCache first = TickChunkCache.shared(registry, ConfigFactory.empty());
+        TickChunkCache second = TickChunkCache.shared(registry, ConfigFactory.empty());
+
+        assertThat(second).isSameAs(first);
+        assertThat(registry.get(TickChunkCache.class)).isSameAs(first);
+    }
+
+    private static TickDataChunk chunkContaining(long tick) {
+        long firstTick = Math.floorDiv(tick, 100) * 100;
+        TickDataChunk.Builder chunk = TickDataChunk.newBuilder()
+            .setSimulationRunId("run")
+            .setFirstTick(firstTick)
+            .setLastTick(firstTick + 90)
+            .setTickCount(10)
+            .setSnapshot(TickData.newBuilder().setTickNumber(firstTick));
+        for (long t = firstTick + 10; t <= firstTick + 90; t += 10) {
+            chunk.addDeltas(TickDelta.newBuilder().setTickNumber(t));
+        }
+        return chunk.build();
+    }
+}
@@ -0,0 +1,280 @@
+package org.evochora.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.evochora.runtime.internal.services.SeededRandomProvider;
+import org.evochora.runtime.isa.Instruction;
+import org.evochora.runtime.model.Environment;
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.evochora.runtime.model.Molecule;
+import org.evochora.runtime.model.Organism;
+import org.evochora.runtime.partition.HaloRegion;
+import org.evochora.runtime.partition.IPartitionTransport;
+import org.evochora.runtime.partition.LoopbackPartitionTransport;
+import org.evochora.runtime.partition.PartitionMessage;
+import org.evochora.runtime.partition.SlabDecomposition;
+import org.evochora.test.utils.SimulationTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Contract tests for {@link Simulation#setDomainDecomposition}: a run split into slabs produces
+ * exactly the states of an unpartitioned run with the same seed, including conflicts over cells
+ * on slab boundaries and organisms moving from slab to slab, and the partitions' messages over
+ * the loopback transport carry their halos and migrating organisms.
+ */
+@Tag("unit")
+class DomainDecompositionTest {
+
+    private static final long SEED = 42L;
+    private static final int WIDTH = 64;
+    private static final int ROWS = 16;
+    private static final int PARTITIONS = 4;
+    private static final int TICKS = 120;
+
+    private final List<Simulation> simulations = new ArrayList<>();
+
+    @BeforeAll
+    static void initInstructions() {
+        Instruction.init();
+    }
+
+    @AfterEach
+    void shutdownSimulations() {
+        simulations.forEach(Simulation::shutdown);
+        simulations.clear();
+    }
+
+    @Test
+    void partitionedRun_matchesUnpartitionedRun() {
+        Simulation reference = newContestedWorld(1);
+        Simulation partitioned = newContestedWorld(1);
+        partitioned.setDomainDecomposition(
+                new SlabDecomposition(partitioned.getEnvironment().properties, PARTITIONS),
+                new LoopbackPartitionTransport(PARTITIONS));
+
+        for (int t = 1; t <= TICKS; t++) {
+            reference.tick();
+            partitioned.tick();
+            assertThat(organismStates(partitioned))
+                    .as("organisms after tick %d", t)
+                    .isDeepEqualTo(organismStates(reference));
+            assertThat(cellStates(partitioned))
+                    .as("environment after tick %d", t)
+                    .isEqualTo(cellStates(reference));
+        }
+        assertThat(partitioned.getPartitionTickNanos()).hasSize(PARTITIONS);
+        assertThat(reference.getPartitionTickNanos()).isEmpty();
+    }
+
+    @Test
+    void boundaryConflicts_haveWinnersOnBothSides() {
+        Simulation sim = newContestedWorld(1);
+        sim.setDomainDecomposition(new SlabDecomposition(sim.getEnvironment().properties, PARTITIONS),
+                new LoopbackPartitionTransport(PARTITIONS));
+        sim.tick();
+
+        Environment env = sim.getEnvironment();
+        int leftWins = 0;
+        int rightWins = 0;
+        for (int y = 0; y < ROWS; y++) {
+            int value = env.getMolecule(new int[]{16, y}).toScalarValue();
+            if (value == leftPayload(y)) leftWins++;
+            if (value == rightPayload(y)) rightWins++;
+        }
+        assertThat(leftWins + rightWins).as("every contested cell has exactly one writer").isEqualTo(ROWS);
+        // With random tick priorities both slabs win some cells; otherwise the scenario would not
+        // exercise the cross-boundary resolution.
+        assertThat(leftWins).isPositive();
+        assertThat(rightWins).isPositive();
+    }
+
+    @Test
+    void haloUpdates_mirrorTheNeighboursBorderCells() {
+        Simulation sim = newContestedWorld(1);
+        SlabDecomposition decomposition = new SlabDecomposition(sim.getEnvironment().properties, PARTITIONS);
+        RecordingTransport transport = new RecordingTransport(PARTITIONS);
+        sim.setDomainDecomposition(decomposition, transport);
+        HaloRegion[] halos = new HaloRegion[PARTITIONS];
+        for (int p = 0; p < PARTITIONS; p++) {
+            halos[p] = new HaloRegion(decomposition, p);
+        }
+
+        int updates = 0;
+        for (int t = 1; t <= TICKS; t++) {
+            // A tick's halo updates carry the state the previous tick left behind
+            List<Long> before = cellStates(sim);
+            sim.tick();
+            for (int p = 0; p < PARTITIONS; p++) {
+                for (PartitionMessage message : transport.takeDelivered(p)) {
+                    if (message instanceof PartitionMessage.HaloUpdate update) {
+                        halos[p].apply(update);
+                        updates++;
+                    }
+                }
+                int stride = decomposition.getSliceStride();
+                for (int slice : halos[p].getSlices()) {
+                    for (int i = slice * stride; i < (slice + 1) * stride; i++) {
+                        long cell = ((long) halos[p].getMoleculeInt(i) << 32) | (halos[p].getOwnerId(i) & 0xFFFFFFFFL);
+                        assertThat(cell).as("partition %d, cell %d, tick %d", p, i, t).isEqualTo(before.get(i));
+                    }
+                }
+            }
+        }
+        assertThat(updates).as("the writers' code and the contested cells lie in halos").isPositive();
+    }
+
+    @Test
+    void migrations_carryTheOrganismToItsNewSlab() {
+        Simulation sim = newContestedWorld(1);
+        SlabDecomposition decomposition = new SlabDecomposition(sim.getEnvironment().properties, PARTITIONS);
+        RecordingTransport transport = new RecordingTransport(PARTITIONS);
+        sim.setDomainDecomposition(decomposition, transport);
+
+        int migrations = 0;
+        for (int t = 1; t <= TICKS; t++) {
+            sim.tick();
+            for (int p = 0; p < PARTITIONS; p++) {
+                for (PartitionMessage message : transport.takeDelivered(p)) {
+                    if (message instanceof PartitionMessage.OrganismMigration migration) {
+                        assertThat(decomposition.ownerOf(migration.organism().getIp()))
+                                .as("organism %d", migration.organism().getOrganismId()).isEqualTo(p);
+                        migrations++;
+                    }
+                }
+            }
+        }
+        assertThat(migrations).as("the writers walk across all slabs").isPositive();
+    }
+
+    @Test
+    void setDomainDecomposition_rejectsMismatchedPartitionCounts() {
+        Simulation sim = newContestedWorld(1);
+        SlabDecomposition decomposition = new SlabDecomposition(sim.getEnvironment().properties, PARTITIONS);
+
+        assertThatThrownBy(() -> sim.setDomainDecomposition(decomposition, new LoopbackPartitionTransport(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sim.setDomainDecomposition(
+                new SlabDecomposition(sim.getEnvironment().properties, 1), new LoopbackPartitionTransport(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Loopback transport that keeps every delivered message until the test takes it. */
+    private static final class RecordingTransport implements IPartitionTransport {
+
+        private final LoopbackPartitionTransport delegate;
+        private final List<List<PartitionMessage>> delivered = new ArrayList<>();
+
+        RecordingTransport(int partitionCount) {
+            this.delegate = new LoopbackPartitionTransport(partitionCount);
+            for (int p = 0; p < partitionCount; p++) {
+                delivered.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public int getPartitionCount() {
+            return delegate.getPartitionCount();
+        }
+
+        @Override
+        public void send(int from, int to, PartitionMessage message) {
+            delegate.send(from, to, message);
+        }
+
+        @Override
+        public void deliver() {
+            delegate.deliver();
+            for (int p = 0; p < delivered.size(); p++) {
+                delivered.get(p).addAll(delegate.receive(p));
+            }
+        }
+
+        @Override
+        public List<PartitionMessage> receive(int partition) {
+            return delegate.receive(partition);
+        }
+
+        List<PartitionMessage> takeDelivered(int partition) {
+            List<PartitionMessage> messages = new ArrayList<>(delivered.get(partition));
+            delivered.get(partition).clear();
+            return messages;
+        }
+    }
+
+    // ===================================================================================
+    // Scenario: pairs of organisms on both sides of a slab boundary writing the same cell
+    // ===================================================================================
+
+    /**
+     * A torus of {@value #WIDTH} x {@value #ROWS} cells. In every row one organism left of the
+     * slab boundary at {@code x = 16} and one right of it execute {@code POKI} into the boundary
+     * cell in the first tick. Afterwards they walk through empty cells and across all slabs,
+     * running into each other's code again.
+     */
+    private Simulation newContestedWorld(int parallelism) {
+        Environment env = new Environment(new EnvironmentProperties(new int[]{WIDTH, ROWS}, true));
+        Simulation sim = SimulationTestUtils.createSimulation(env, parallelism);
+        simulations.add(sim);
+        sim.setRandomProvider(new SeededRandomProvider(SEED));
+        for (int y = 0; y < ROWS; y++) {
+            addWriter(sim, env, new int[]{10, y}, new int[]{15, y}, new int[]{1, 0}, leftPayload(y));
+            addWriter(sim, env, new int[]{20, y}, new int[]{17, y}, new int[]{-1, 0}, rightPayload(y));
+        }
+        return sim;
+    }
+
+    private static void addWriter(Simulation sim, Environment env, int[] ip, int[] dp, int[] vector, int payload) {
+        Organism writer = Organism.create(sim, ip, 10_000);
+        sim.addOrganism(writer);
+        writer.setDp(0, dp);
+        writer.writeOperand(0, new Molecule(Config.TYPE_DATA, payload).toInt());
+        int[] pos = writer.getIp();
+        env.setMolecule(new Molecule(Config.TYPE_CODE, Instruction.getInstructionIdByName("POKI")), writer.getId(), pos);
+        pos = writer.getNextInstructionPosition(pos, writer.getDv(), env);
+        env.setMolecule(new Molecule(Config.TYPE_DATA, 0), writer.getId(), pos);
+        for (int component : vector) {
+            pos = writer.getNextInstructionPosition(pos, writer.getDv(), env);
+            env.setMolecule(new Molecule(Config.TYPE_DATA, component), writer.getId(), pos);
+        }
+    }
+
+    private static int leftPayload(int row) {
+        return 100 + row;
+    }
+
+    private static int rightPayload(int row) {
+        return 200 + row;
+    }
+
+    // ===================================================================================
+    // State capture
+    // ===================================================================================
+
+    private static long[][] organismStates(Simulation sim) {
+        List<Organism> organisms = sim.getOrganisms();
+        long[][] states = new long[organisms.size()][];
+        for (int i = 0; i < states.length; i++) {
+            Organism o = organisms.get(i);
+            int[] ip = o.getIp();
+            states[i] = new long[]{o.getId(), ip[0], ip[1], o.getEr(), o.getSr(),
+                    o.isDead() ? 1 : 0, o.isInstructionFailed() ? 1 : 0};
+        }
+        return states;
+    }
+
+    private static List<Long> cellStates(Simulation sim) {
+        Environment env = sim.getEnvironment();
+        List<Long> cells = new ArrayList<>(env.getTotalCells());
+        for (int i = 0; i < env.getTotalCells(); i++) {
+            cells.add(((long) env.getMoleculeInt(i) << 32) | (env.getOwnerIdByIndex(i) & 0xFFFFFFFFL));
+        }
+        return cells;
+    }
+}
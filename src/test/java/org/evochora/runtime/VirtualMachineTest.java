@@ -122,4 +122,43 @@ class VirtualMachineTest {
         assertThat(data.registerValuesBefore()).containsKey(0);
         assertThat(data.registerValuesBefore().get(0)).isEqualTo(777);
     }
+
+    @Test
+    void execute_recordsRegisterValuesBeforeExecution() {
+        Organism org = placeSetiDr0(777);
+
+        sim.tick();
+
+        Organism.InstructionExecutionData data = org.getLastInstructionExecution();
+        assertThat(data).isNotNull();
+        assertThat(data.registerIds()).containsExactly(0);
+        assertThat(data.registerValues()).containsExactly(777);
+        assertThat(org.readOperand(0)).isEqualTo(new Molecule(Config.TYPE_DATA, 42).toInt());
+    }
+
+    @Test
+    void execute_withoutExecutionRecording_leavesNoRecord() {
+        Organism org = placeSetiDr0(777);
+        sim.setExecutionRecordingEnabled(false);
+
+        sim.tick();
+
+        assertThat(org.getLastInstructionExecution()).isNull();
+        assertThat(org.readOperand(0)).as("execution itself is unaffected")
+                .isEqualTo(new Molecule(Config.TYPE_DATA, 42).toInt());
+    }
+
+    /** Places {@code SETI %DR0, DATA:42} at a new organism's IP, with DR0 preset. */
+    private Organism placeSetiDr0(int dr0) {
+        Organism org = Organism.create(sim, new int[]{10, 10}, 1000);
+        sim.addOrganism(org);
+        org.writeOperand(0, dr0);
+        int setiOpcode = Instruction.getInstructionIdByName("SETI");
+        environment.setMolecule(new Molecule(Config.TYPE_CODE, setiOpcode), org.getIp());
+        int[] argPos1 = org.getNextInstructionPosition(org.getIp(), org.getDv(), environment);
+        environment.setMolecule(new Molecule(Config.TYPE_DATA, 0), argPos1); // %DR0
+        int[] argPos2 = org.getNextInstructionPosition(argPos1, org.getDv(), environment);
+        environment.setMolecule(new Molecule(Config.TYPE_DATA, 42), argPos2);
+        return org;
+    }
 }
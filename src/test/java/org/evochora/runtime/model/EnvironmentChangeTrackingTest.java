@@ -201,6 +201,33 @@ class EnvironmentChangeTrackingTest {
         assertEquals(3, changes.cardinality());
     }
     
+    // ========================================================================
+    // Disabled Tracking (fast-forward)
+    // ========================================================================
+    
+    @Test
+    void disabledTracking_recordsNothing() {
+        env.setChangeTrackingEnabled(false);
+        env.setMolecule(Molecule.fromInt(100), 1, new int[]{3, 7});
+        env.setOwnerId(5, new int[]{2, 3});
+        
+        assertFalse(env.isChangeTrackingEnabled());
+        assertTrue(env.getChangedIndices().isEmpty());
+    }
+    
+    @Test
+    void reenablingTracking_startsFromEmptySet() {
+        env.setMolecule(Molecule.fromInt(100), new int[]{0, 0});
+        env.setChangeTrackingEnabled(false);
+        env.setChangeTrackingEnabled(true);
+        
+        assertTrue(env.getChangedIndices().isEmpty());
+        
+        env.setMolecule(Molecule.fromInt(100), new int[]{1, 1});
+        assertEquals(1, env.getChangedIndices().cardinality());
+        assertTrue(env.getChangedIndices().get(11));
+    }
+    
     // ========================================================================
     // getTotalCells
     // ========================================================================
@@ -0,0 +1,117 @@
+package org.evochora.runtime.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.evochora.runtime.Simulation;
+import org.evochora.runtime.isa.Instruction;
+import org.evochora.runtime.isa.RegisterBank;
+import org.evochora.runtime.model.Environment;
+import org.evochora.runtime.model.Organism;
+import org.evochora.test.utils.SimulationTestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrganismSnapshot}: the state carried by an organism migration restores
+ * an equal organism and shares nothing with the organism it was taken from.
+ */
+@Tag("unit")
+class OrganismSnapshotTest {
+
+    private Simulation simulation;
+
+    @BeforeAll
+    static void init() {
+        Instruction.init();
+    }
+
+    @BeforeEach
+    void setUp() {
+        simulation = SimulationTestUtils.createSimulation(new Environment(new int[]{20, 20}, true));
+    }
+
+    @Test
+    void restore_reproducesTheOrganism() {
+        Organism organism = populatedOrganism();
+
+        Organism restored = OrganismSnapshot.of(organism).restore(simulation);
+
+        assertThat(restored).isNotSameAs(organism);
+        assertThat(describe(restored)).isEqualTo(describe(organism));
+    }
+
+    @Test
+    void snapshot_sharesNoStateWithTheOrganism() {
+        Organism organism = populatedOrganism();
+        List<String> before = describe(organism);
+        OrganismSnapshot snapshot = OrganismSnapshot.of(organism);
+
+        organism.getLocationStack().peek()[0] = 99;
+        ((int[]) organism.getDataStack().peek())[0] = 99;
+        organism.getCallStack().peek().absoluteReturnIp()[0] = 99;
+        organism.getCallStack().peek().savedRegisters()[0] = 99;
+        organism.getPersistentRegisterState().get(Organism.MAIN_LEVEL_LABEL_HASH)[0] = 99;
+        Organism first = snapshot.restore(simulation);
+        first.getDataStack().push(5);
+        first.getLocationStack().peek()[1] = 99;
+
+        assertThat(describe(snapshot.restore(simulation))).isEqualTo(before);
+    }
+
+    private Organism populatedOrganism() {
+        Organism organism = Organism.create(simulation, new int[]{4, 7}, 1_000);
+        organism.setParentId(3);
+        organism.setProgramId("prog");
+        organism.setGenomeHash(12345L);
+        organism.setDv(new int[]{0, 1});
+        organism.takeEr(100);
+        organism.addSr(25);
+        organism.setMr(6);
+        organism.setDp(1, new int[]{8, 9});
+        organism.setActiveDpIndex(1);
+        organism.writeOperand(0, 100);
+        organism.writeOperand(RegisterBank.PDR.base, 10);
+        organism.getDataStack().push(42);
+        organism.getDataStack().push(new int[]{1, 2});
+        organism.getLocationStack().push(new int[]{3, 4});
+        organism.getCallStack().push(new Organism.ProcFrame(
+                77, new int[]{5, 5}, new int[]{4, 4}, new Object[]{17, new int[]{6, 6}}, Map.of(0, 1)));
+        organism.getPersistentRegisterState().put(77, new Object[]{11, new int[]{2, 3}});
+        organism.setCurrentProcLabelHash(77);
+        organism.instructionFailed("Test failure");
+        return organism;
+    }
+
+    /** The organism's state as comparable strings; arrays are compared by content. */
+    private static List<String> describe(Organism organism) {
+        List<String> state = new ArrayList<>();
+        state.add(organism.getId() + "/" + organism.getParentId() + "/" + organism.getBirthTick()
+                + "/" + organism.getProgramId() + "/" + organism.getGenomeHash() + "/" + organism.getDeathTick());
+        state.add(Arrays.toString(organism.getIp()) + Arrays.toString(organism.getDv())
+                + Arrays.toString(organism.getInitialPosition()));
+        state.add(organism.getEr() + "/" + organism.getSr() + "/" + organism.getMr());
+        state.add(Arrays.deepToString(organism.getDps().toArray()) + "@" + organism.getActiveDpIndex());
+        state.add(Arrays.deepToString(organism.getRegisters()));
+        state.add(Arrays.deepToString(organism.getDataStack().toArray()));
+        state.add(Arrays.deepToString(organism.getLocationStack().toArray()));
+        for (Organism.ProcFrame frame : organism.getCallStack()) {
+            state.add(frame.labelHash() + Arrays.toString(frame.absoluteReturnIp())
+                    + Arrays.toString(frame.absoluteCallIp()) + Arrays.deepToString(frame.savedRegisters())
+                    + frame.parameterBindings());
+        }
+        organism.getPersistentRegisterState().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> state.add(entry.getKey() + "=" + Arrays.deepToString(entry.getValue())));
+        state.add(organism.getCurrentProcLabelHash() + "/" + organism.isStackSavedDirty()
+                + "/" + organism.isPersistentDirty());
+        state.add(organism.isDead() + "/" + organism.isInstructionFailed() + "/" + organism.getFailureReason());
+        return state;
+    }
+}
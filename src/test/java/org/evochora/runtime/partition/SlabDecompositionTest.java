@@ -0,0 +1,96 @@
+package org.evochora.runtime.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.evochora.runtime.model.EnvironmentProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SlabDecomposition}, {@link HaloRegion} and the round semantics of
+ * {@link LoopbackPartitionTransport}.
+ */
+@Tag("unit")
+class SlabDecompositionTest {
+
+    private final EnvironmentProperties properties = new EnvironmentProperties(new int[]{10, 4}, true);
+
+    @Test
+    void slabsCoverTheFirstAxisEvenly() {
+        SlabDecomposition decomposition = new SlabDecomposition(properties, 3);
+
+        assertThat(decomposition.getSlabStart(0)).isZero();
+        assertThat(decomposition.getSlabEnd(0)).isEqualTo(3);
+        assertThat(decomposition.getSlabEnd(1)).isEqualTo(6);
+        assertThat(decomposition.getSlabEnd(2)).isEqualTo(10);
+        assertThat(decomposition.ownerOf(new int[]{5, 3})).isEqualTo(1);
+        assertThat(decomposition.ownerOfSlice(-1)).as("wraps toroidally").isEqualTo(2);
+        assertThat(decomposition.ownerOfFlatIndex(properties.toFlatIndex(new int[]{6, 2}))).isEqualTo(2);
+    }
+
+    @Test
+    void partitionCountMustFitTheFirstAxis() {
+        assertThatThrownBy(() -> new SlabDecomposition(properties, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlabDecomposition(properties, 11)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void haloSlicesBorderTheSlab() {
+        SlabDecomposition decomposition = new SlabDecomposition(properties, 3);
+
+        assertThat(decomposition.getHaloSlices(0)).containsExactly(9, 3);
+        assertThat(decomposition.getHaloSlices(1)).containsExactly(2, 6);
+        assertThat(decomposition.getHaloSlices(2)).containsExactly(5, 0);
+        assertThat(new SlabDecomposition(properties, 2).getHaloSlices(0))
+                .as("both neighbours are the other partition").containsExactly(9, 5);
+        assertThat(new SlabDecomposition(properties, 1).getHaloSlices(0)).isEmpty();
+    }
+
+    @Test
+    void haloSlicesStopAtTheEdgesOfABoundedWorld() {
+        SlabDecomposition decomposition = new SlabDecomposition(new EnvironmentProperties(new int[]{10, 4}, false), 3);
+
+        assertThat(decomposition.getHaloSlices(0)).containsExactly(3);
+        assertThat(decomposition.getHaloSlices(1)).containsExactly(2, 6);
+        assertThat(decomposition.getHaloSlices(2)).containsExactly(5);
+    }
+
+    @Test
+    void haloRegion_keepsTheLastUpdateOfEachCell() {
+        SlabDecomposition decomposition = new SlabDecomposition(properties, 3);
+        HaloRegion halo = new HaloRegion(decomposition, 1);
+        int lower = properties.toFlatIndex(new int[]{2, 1});
+        int upper = properties.toFlatIndex(new int[]{6, 3});
+
+        halo.apply(new PartitionMessage.HaloUpdate(new int[]{lower, upper}, new int[]{11, 12}, new int[]{1, 2}));
+        halo.apply(new PartitionMessage.HaloUpdate(new int[]{upper}, new int[]{13}, new int[]{0}));
+
+        assertThat(halo.getMoleculeInt(lower)).isEqualTo(11);
+        assertThat(halo.getOwnerId(lower)).isEqualTo(1);
+        assertThat(halo.getMoleculeInt(upper)).isEqualTo(13);
+        assertThat(halo.getOwnerId(upper)).isZero();
+        assertThat(halo.getMoleculeInt(properties.toFlatIndex(new int[]{2, 0}))).as("never updated").isZero();
+        int own = properties.toFlatIndex(new int[]{4, 0});
+        assertThat(halo.contains(own)).isFalse();
+        assertThatThrownBy(() -> halo.getMoleculeInt(own)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void transport_deliversOnlyAtRoundBoundary() {
+        LoopbackPartitionTransport transport = new LoopbackPartitionTransport(2);
+        PartitionMessage fromOne = new PartitionMessage.ConflictVerdict(7, true);
+        PartitionMessage fromZero = new PartitionMessage.ConflictVerdict(3, false);
+
+        transport.send(1, 0, fromOne);
+        transport.send(0, 0, fromZero);
+        assertThat(transport.receive(0)).isEmpty();
+
+        transport.deliver();
+        assertThat(transport.receive(0)).as("ordered by sender").containsExactly(fromZero, fromOne);
+        assertThat(transport.receive(1)).isEmpty();
+
+        transport.deliver();
+        assertThat(transport.receive(0)).as("a round's messages are dropped by the next round").isEmpty();
+    }
+}